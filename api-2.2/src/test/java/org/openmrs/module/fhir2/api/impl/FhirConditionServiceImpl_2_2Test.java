@@ -45,6 +45,7 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.openmrs.Condition;
 import org.openmrs.module.fhir2.FhirConstants;
 import org.openmrs.module.fhir2.api.dao.FhirConditionDao;
+import org.openmrs.module.fhir2.api.search.KeysetPage;
 import org.openmrs.module.fhir2.api.search.SearchQuery;
 import org.openmrs.module.fhir2.api.search.SearchQueryBundleProvider;
 import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
@@ -156,8 +157,8 @@ public class FhirConditionServiceImpl_2_2Test {
 		        .addParameter(FhirConstants.DATE_RANGE_SEARCH_HANDLER, "onsetDate", onsetDate)
 		        .addParameter(FhirConstants.DATE_RANGE_SEARCH_HANDLER, "dateCreated", recordDate).setSortSpec(sort);
 		
-		when(dao.getResultUuids(any())).thenReturn(Collections.singletonList(CONDITION_UUID));
-		when(dao.search(any(), any(), anyInt(), anyInt())).thenReturn(Collections.singletonList(openmrsCondition));
+		when(dao.getSearchResultsCount(any())).thenReturn(1);
+		when(dao.searchPage(any(), any(), anyInt(), anyInt())).thenReturn(new KeysetPage<>(Collections.singletonList(openmrsCondition), null));
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, conditionTranslator));
 		when(conditionTranslator.toFhirResource(openmrsCondition)).thenReturn(fhirCondition);
@@ -9,24 +9,76 @@
  */
 package org.openmrs.module.fhir2;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 import lombok.extern.slf4j.Slf4j;
+import org.openmrs.api.GlobalPropertyListener;
+import org.openmrs.api.context.Context;
 import org.openmrs.module.BaseModuleActivator;
+import org.openmrs.module.DaemonToken;
+import org.openmrs.module.DaemonTokenAware;
+import org.openmrs.module.fhir2.api.FhirGlobalPropertyService;
+import org.openmrs.module.fhir2.api.subscriptions.SubscriptionRegistry;
 
 /**
  * This class contains the logic that is run every time this module is either started or shutdown
  */
 @SuppressWarnings("unused")
 @Slf4j
-public class FhirActivator extends BaseModuleActivator {
+public class FhirActivator extends BaseModuleActivator implements DaemonTokenAware {
+	
+	private static DaemonToken daemonToken;
+	
+	/**
+	 * @return the token used to run background tasks, such as bulk exports, as the daemon user
+	 */
+	public static DaemonToken getDaemonToken() {
+		return daemonToken;
+	}
+	
+	@Override
+	public void setDaemonToken(DaemonToken token) {
+		daemonToken = token;
+	}
 	
 	@Override
 	public void started() {
+		for (SubscriptionRegistry subscriptionRegistry : Context.getRegisteredComponents(SubscriptionRegistry.class)) {
+			subscriptionRegistry.start();
+		}
+		
+		for (GlobalPropertyListener listener : getGlobalPropertyListeners()) {
+			Context.getAdministrationService().addGlobalPropertyListener(listener);
+		}
+		
 		log.info("Started FHIR");
 	}
 	
+	@Override
+	public void willStop() {
+		for (SubscriptionRegistry subscriptionRegistry : Context.getRegisteredComponents(SubscriptionRegistry.class)) {
+			subscriptionRegistry.stop();
+		}
+		
+		for (GlobalPropertyListener listener : getGlobalPropertyListeners()) {
+			Context.getAdministrationService().removeGlobalPropertyListener(listener);
+		}
+	}
+	
 	@Override
 	public void stopped() {
 		log.info("Shutdown FHIR");
 	}
 	
+	/**
+	 * @return the global property services of this module that cache global properties and so need
+	 *         to be told when one changes
+	 */
+	private static List<GlobalPropertyListener> getGlobalPropertyListeners() {
+		return Context.getRegisteredComponents(FhirGlobalPropertyService.class).stream()
+		        .filter(GlobalPropertyListener.class::isInstance).map(GlobalPropertyListener.class::cast)
+		        .collect(Collectors.toList());
+	}
+	
 }
@@ -0,0 +1,97 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import java.io.Serializable;
+import java.util.Date;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * The stored state of a Bulk Data {@code $export} job, so that its status can be polled on any node
+ * and survives a restart. The exported files themselves are written to the application data
+ * directory of the node running the job.
+ */
+@Data
+@NoArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Entity
+@Table(name = "fhir_bulk_export_job")
+public class FhirBulkExportJob implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@EqualsAndHashCode.Include
+	@Id
+	@GeneratedValue(strategy = GenerationType.AUTO)
+	@Column(name = "bulk_export_job_id")
+	private Integer id;
+	
+	@Column(name = "job_id", nullable = false, unique = true, length = 38)
+	private String jobId;
+	
+	@Column(name = "request", nullable = false, length = 1024)
+	private String request;
+	
+	/**
+	 * The uuid of the user who requested the export
+	 */
+	@Column(name = "requested_by", length = 38)
+	private String requestedBy;
+	
+	@Column(name = "export_level", nullable = false, length = 16)
+	private String level;
+	
+	@Column(name = "group_id", length = 38)
+	private String groupId;
+	
+	/**
+	 * The exported resource types, separated by commas
+	 */
+	@Column(name = "resource_types", nullable = false)
+	private String resourceTypes;
+	
+	@Column(name = "since")
+	private Date since;
+	
+	@Column(name = "transaction_time", nullable = false)
+	private Date transactionTime;
+	
+	@Column(name = "status", nullable = false, length = 16)
+	private String status;
+	
+	@Column(name = "exported_count", nullable = false)
+	private Long exportedCount;
+	
+	/**
+	 * The number of resources written for each exported resource type, as {@code type=count} pairs
+	 * separated by commas
+	 */
+	@Column(name = "outputs", length = 1024)
+	private String outputs;
+	
+	@Column(name = "error_message", length = 1024)
+	private String errorMessage;
+	
+	@Column(name = "completed_time")
+	private Date completedTime;
+	
+	@Column(name = "expires", nullable = false)
+	private Date expires;
+}
@@ -0,0 +1,67 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import java.io.Serializable;
+import java.util.Date;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * An entry in the change log of FHIR resources. Entries are written in the same transaction as the
+ * change to the underlying OpenMRS object, just before it commits, and are numbered by the database
+ * as they are inserted, so that consumers can follow the log by asking for the entries after the last
+ * one they have seen. Numbers left unused by transactions that roll back are never filled in.
+ */
+@Data
+@NoArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Entity
+@Table(name = "fhir_change")
+public class FhirChange implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public enum Operation {
+		CREATE,
+		UPDATE,
+		DELETE
+	}
+	
+	@EqualsAndHashCode.Include
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "change_id")
+	private Long id;
+	
+	@Column(name = "resource_type", nullable = false, length = 64)
+	private String resourceType;
+	
+	@Column(name = "resource_uuid", nullable = false, length = 38)
+	private String resourceUuid;
+	
+	@Enumerated(EnumType.STRING)
+	@Column(name = "operation", nullable = false, length = 16)
+	private Operation operation;
+	
+	@Column(name = "date_changed", nullable = false)
+	private Date dateChanged;
+}
@@ -100,6 +100,19 @@ public class FhirConstants {
 	
 	public static final String OPENMRS_FHIR_MAXIMUM_PAGE_SIZE = "fhir2.paging.maximum";
 	
+	public static final String OPENMRS_FHIR_KEYSET_PAGING = "fhir2.paging.keyset";
+	
+	public static final String OPENMRS_FHIR_PAGING_TTL = "fhir2.paging.ttl";
+	
+	public static final String OPENMRS_FHIR_PAGING_STREAMING = "fhir2.paging.streaming";
+	
+	public static final String OPENMRS_FHIR_PAGING_PARALLEL_TRANSLATION = "fhir2.paging.parallelTranslation";
+	
+	public static final String OPENMRS_FHIR_CHANGES_RETENTION_DAYS = "fhir2.changes.retentionDays";
+	
+	public static final String OPENMRS_FHIR_SUBSCRIPTIONS_ALLOW_INTERNAL_ENDPOINTS =
+	        "fhir2.subscriptions.allowInternalEndpoints";
+	
 	public static final String ALLERGY_INTOLERANCE = "AllergyIntolerance";
 	
 	public static final String ENCOUNTER = "Encounter";
@@ -126,6 +139,10 @@ public class FhirConstants {
 	
 	public static final String MEDICATION = "Medication";
 	
+	public static final String MEDICATION_REQUEST = "MedicationRequest";
+	
+	public static final String SUBSCRIPTION = "Subscription";
+	
 	public static final String DIAGNOSTIC_REPORT_CATEGORY_LAB = "LAB";
 	
 	public static final String PERSON_ATTRIBUTE_TYPE_PROPERTY = "fhir2.personAttributeTypeUuid";
@@ -227,4 +244,14 @@ public class FhirConstants {
 	public static final String BASED_ON_REFERENCE_SEARCH_HANDLER = "based.on.reference.search.handler";
 	
 	public static final String OWNER_REFERENCE_SEARCH_HANDLER = "owner.reference.search.handler";
+	
+	public static final String COMMON_SEARCH_HANDLER = "common.search.handler";
+	
+	public static final String INCLUDE_SEARCH_HANDLER = "include.search.handler";
+	
+	public static final String REVERSE_INCLUDE_SEARCH_HANDLER = "revinclude.search.handler";
+	
+	public static final String ID_PROPERTY = "_id.property";
+	
+	public static final String LAST_UPDATED_PROPERTY = "_lastUpdated.property";
 }
@@ -0,0 +1,58 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Lob;
+import javax.persistence.Table;
+
+import java.io.Serializable;
+import java.util.Date;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * The stored state of a search, used to serve subsequent pages of the search from any node. Only
+ * the search parameters and the paging cursors are stored, not the search results.
+ */
+@Data
+@NoArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Entity
+@Table(name = "fhir_paged_search")
+public class FhirPagedSearch implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@EqualsAndHashCode.Include
+	@Id
+	@GeneratedValue(strategy = GenerationType.AUTO)
+	@Column(name = "paged_search_id")
+	private Integer id;
+	
+	@Column(name = "search_id", nullable = false, unique = true, length = 38)
+	private String searchId;
+	
+	@Lob
+	@Column(name = "search_state", nullable = false)
+	private byte[] searchState;
+	
+	@Column(name = "date_created", nullable = false)
+	private Date dateCreated;
+	
+	@Column(name = "expires", nullable = false)
+	private Date expires;
+}
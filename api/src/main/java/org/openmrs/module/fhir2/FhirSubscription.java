@@ -0,0 +1,85 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import java.util.Date;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import org.openmrs.BaseOpenmrsMetadata;
+
+/**
+ * A rest-hook subscription to changes to the resources matching its criteria. Matching changes are
+ * posted to the endpoint of the subscription.
+ */
+@Data
+@NoArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true, callSuper = false)
+@Entity
+@Table(name = "fhir_subscription")
+public class FhirSubscription extends BaseOpenmrsMetadata {
+	
+	// Based on https://www.hl7.org/fhir/R4/subscription.html
+	public enum SubscriptionStatus {
+		REQUESTED,
+		ACTIVE,
+		ERROR,
+		OFF
+	}
+	
+	private static final long serialVersionUID = 1L;
+	
+	@EqualsAndHashCode.Include
+	@Id
+	@GeneratedValue(strategy = GenerationType.AUTO)
+	@Column(name = "subscription_id")
+	private Integer id;
+	
+	@Column(name = "status", nullable = false)
+	@Enumerated(EnumType.STRING)
+	private SubscriptionStatus status;
+	
+	/**
+	 * The search criteria a resource must match to be notified, e.g. {@code Observation?code=...}
+	 */
+	@Column(name = "criteria", nullable = false, length = 1024)
+	private String criteria;
+	
+	@Column(name = "reason")
+	private String reason;
+	
+	/**
+	 * The url notifications are posted to
+	 */
+	@Column(name = "endpoint", nullable = false, length = 1024)
+	private String endpoint;
+	
+	/**
+	 * The HTTP headers to add to each notification, one {@code Name: value} pair per line
+	 */
+	@Column(name = "header", length = 1024)
+	private String header;
+	
+	@Column(name = "error")
+	private String error;
+	
+	@Column(name = "end_date")
+	private Date end;
+}
@@ -13,6 +13,7 @@ import org.hl7.fhir.r4.model.AllergyIntolerance;
 
 import ca.uhn.fhir.rest.api.SortSpec;
 import ca.uhn.fhir.rest.api.server.IBundleProvider;
+import ca.uhn.fhir.rest.param.DateRangeParam;
 import ca.uhn.fhir.rest.param.ReferenceAndListParam;
 import ca.uhn.fhir.rest.param.TokenAndListParam;
 
@@ -20,5 +21,12 @@ public interface FhirAllergyIntoleranceService extends FhirService<AllergyIntole
 	
 	IBundleProvider searchForAllergies(ReferenceAndListParam patientReference, TokenAndListParam category,
 	        TokenAndListParam allergen, TokenAndListParam severity, TokenAndListParam manifestationCode,
-			TokenAndListParam clinicalStatus, SortSpec sort);
+	        TokenAndListParam clinicalStatus, SortSpec sort, DateRangeParam lastUpdated);
+	
+	default IBundleProvider searchForAllergies(ReferenceAndListParam patientReference, TokenAndListParam category,
+	        TokenAndListParam allergen, TokenAndListParam severity, TokenAndListParam manifestationCode,
+	        TokenAndListParam clinicalStatus, SortSpec sort) {
+		return searchForAllergies(patientReference, category, allergen, severity, manifestationCode, clinicalStatus,
+		    sort, null);
+	}
 }
@@ -0,0 +1,62 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api;
+
+import java.io.File;
+import java.util.Date;
+import java.util.Set;
+
+import org.openmrs.module.fhir2.api.export.BulkExportJob;
+
+/**
+ * Runs FHIR Bulk Data {@code $export} requests in the background, writing each exported resource
+ * type to a gzip-compressed NDJSON file
+ */
+public interface FhirBulkExportService {
+	
+	/**
+	 * @return the resource types which can be exported
+	 */
+	Set<String> getSupportedResourceTypes();
+	
+	/**
+	 * Starts a new export in the background
+	 *
+	 * @param request the kick-off request, as reported in the export manifest
+	 * @param level whether to export all data, all patient data or the data for a group of patients
+	 * @param groupId the uuid of the cohort to export for group level exports
+	 * @param resourceTypes the resource types to export or an empty set to export all supported types
+	 * @param since if not null, only resources updated since this time are exported
+	 * @return the job tracking this export
+	 */
+	BulkExportJob startExport(String request, BulkExportJob.Level level, String groupId, Set<String> resourceTypes,
+	        Date since);
+	
+	/**
+	 * @param jobId the id of the job
+	 * @return the job or null if there is no such job or it was requested by another user
+	 */
+	BulkExportJob getJob(String jobId);
+	
+	/**
+	 * Stops the given job if it is still running and deletes any files it has written
+	 *
+	 * @param jobId the id of the job
+	 * @return true if the job existed
+	 */
+	boolean cancelExport(String jobId);
+	
+	/**
+	 * @param jobId the id of the job
+	 * @param fileName the name of one of the files written by the job
+	 * @return the file or null if the job did not write such a file
+	 */
+	File getOutputFile(String jobId, String fileName);
+}
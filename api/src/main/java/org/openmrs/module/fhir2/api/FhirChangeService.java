@@ -0,0 +1,37 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api;
+
+import org.hl7.fhir.r4.model.Parameters;
+
+/**
+ * Exposes the change log of FHIR resources, which records every creation, update and deletion of
+ * the OpenMRS objects backing them in the order their transactions committed.
+ */
+public interface FhirChangeService {
+	
+	/**
+	 * Gets a page of the change log. Each change is returned as a {@code change} parameter with the
+	 * parts {@code sequence}, {@code resourceType}, {@code id}, {@code operation} and
+	 * {@code timestamp}. The {@code next} parameter holds the sequence number to ask for the following
+	 * page with and {@code more} whether there may be further changes. Sequence numbers are returned as
+	 * strings, as they may not fit in a FHIR integer.
+	 * <p>
+	 * Changes written in the last few seconds are held back until any change numbered before them has
+	 * committed, and changes older than the {@code fhir2.changes.retentionDays} global property are
+	 * purged, so consumers must follow the log at least that often.
+	 *
+	 * @param since the sequence number of the last change already seen, or null to start at the
+	 *            beginning of the log
+	 * @param count the maximum number of changes to return, or null for the default
+	 * @return the changes after {@code since}, oldest first
+	 */
+	Parameters getChanges(Long since, Integer count);
+}
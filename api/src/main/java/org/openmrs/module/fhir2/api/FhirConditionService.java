@@ -24,7 +24,13 @@ public interface FhirConditionService extends FhirService<Condition> {
 	
 	IBundleProvider searchConditions(ReferenceAndListParam patientParam, TokenAndListParam code,
 	        TokenAndListParam clinicalStatus, DateRangeParam onsetDate, QuantityAndListParam onsetAge,
-	        DateRangeParam recordedDate, @Sort SortSpec sort);
+	        DateRangeParam recordedDate, @Sort SortSpec sort, DateRangeParam lastUpdated);
+	
+	default IBundleProvider searchConditions(ReferenceAndListParam patientParam, TokenAndListParam code,
+	        TokenAndListParam clinicalStatus, DateRangeParam onsetDate, QuantityAndListParam onsetAge,
+	        DateRangeParam recordedDate, @Sort SortSpec sort) {
+		return searchConditions(patientParam, code, clinicalStatus, onsetDate, onsetAge, recordedDate, sort, null);
+	}
 	
 	Condition saveCondition(@NotNull Condition condition);
 }
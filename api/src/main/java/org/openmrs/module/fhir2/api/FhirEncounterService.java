@@ -11,6 +11,9 @@ package org.openmrs.module.fhir2.api;
 
 import javax.validation.constraints.NotNull;
 
+import java.util.HashSet;
+
+import ca.uhn.fhir.model.api.Include;
 import ca.uhn.fhir.rest.api.server.IBundleProvider;
 import ca.uhn.fhir.rest.param.DateRangeParam;
 import ca.uhn.fhir.rest.param.ReferenceAndListParam;
@@ -21,5 +24,12 @@ public interface FhirEncounterService extends FhirService<Encounter> {
 	Encounter get(@NotNull String uuid);
 	
 	IBundleProvider searchForEncounters(DateRangeParam date, ReferenceAndListParam location,
-	        ReferenceAndListParam participant, ReferenceAndListParam subject);
+	        ReferenceAndListParam participant, ReferenceAndListParam subject, HashSet<Include> includes,
+	        HashSet<Include> revIncludes, DateRangeParam lastUpdated);
+	
+	default IBundleProvider searchForEncounters(DateRangeParam date, ReferenceAndListParam location,
+	        ReferenceAndListParam participant, ReferenceAndListParam subject, HashSet<Include> includes,
+	        HashSet<Include> revIncludes) {
+		return searchForEncounters(date, location, participant, subject, includes, revIncludes, null);
+	}
 }
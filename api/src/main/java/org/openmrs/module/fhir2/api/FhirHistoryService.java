@@ -0,0 +1,49 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api;
+
+import javax.validation.constraints.NotNull;
+
+import java.util.List;
+
+import org.hl7.fhir.instance.model.api.IAnyResource;
+
+/**
+ * Stores every version of the resources created, updated or deleted through the FHIR API so that
+ * their history and previous versions can be read without reconstructing them from the OpenMRS
+ * objects. The versions of each resource are numbered 1, 2, 3, ... in the order they are stored, and
+ * a stored version is never changed.
+ */
+public interface FhirHistoryService {
+	
+	/**
+	 * Stores the given resource as the next version of the resource with its id and sets its
+	 * {@code meta.versionId} to the number of that version.
+	 *
+	 * @param resource the resource to store, which must have an id and {@code meta.lastUpdated}
+	 */
+	void saveVersion(@NotNull IAnyResource resource);
+	
+	/**
+	 * @param resourceType the type of the resource
+	 * @param uuid the uuid of the resource
+	 * @param versionId the version to get
+	 * @return the resource as it was at the given version, or null if that version was not stored
+	 */
+	<T extends IAnyResource> T getVersion(@NotNull Class<T> resourceType, @NotNull String uuid,
+	        @NotNull String versionId);
+	
+	/**
+	 * @param resourceType the type of the resource
+	 * @param uuid the uuid of the resource
+	 * @return the stored versions of the resource, newest first
+	 */
+	<T extends IAnyResource> List<T> getHistory(@NotNull Class<T> resourceType, @NotNull String uuid);
+}
@@ -11,6 +11,7 @@ package org.openmrs.module.fhir2.api;
 
 import ca.uhn.fhir.rest.api.SortSpec;
 import ca.uhn.fhir.rest.api.server.IBundleProvider;
+import ca.uhn.fhir.rest.param.DateRangeParam;
 import ca.uhn.fhir.rest.param.ReferenceAndListParam;
 import ca.uhn.fhir.rest.param.StringAndListParam;
 import ca.uhn.fhir.rest.param.TokenAndListParam;
@@ -20,5 +21,11 @@ public interface FhirLocationService extends FhirService<Location> {
 	
 	IBundleProvider searchForLocations(StringAndListParam name, StringAndListParam city, StringAndListParam country,
 	        StringAndListParam postalCode, StringAndListParam state, TokenAndListParam tag, ReferenceAndListParam parent,
-	        SortSpec sort);
+	        SortSpec sort, DateRangeParam lastUpdated);
+	
+	default IBundleProvider searchForLocations(StringAndListParam name, StringAndListParam city,
+	        StringAndListParam country, StringAndListParam postalCode, StringAndListParam state, TokenAndListParam tag,
+	        ReferenceAndListParam parent, SortSpec sort) {
+		return searchForLocations(name, city, country, postalCode, state, tag, parent, sort, null);
+	}
 }
@@ -11,7 +11,11 @@ package org.openmrs.module.fhir2.api;
 
 import javax.validation.constraints.NotNull;
 
+import java.util.HashSet;
+
+import ca.uhn.fhir.model.api.Include;
 import ca.uhn.fhir.rest.api.server.IBundleProvider;
+import ca.uhn.fhir.rest.param.DateRangeParam;
 import ca.uhn.fhir.rest.param.ReferenceAndListParam;
 import ca.uhn.fhir.rest.param.TokenAndListParam;
 import org.hl7.fhir.r4.model.MedicationRequest;
@@ -23,5 +27,13 @@ public interface FhirMedicationRequestService extends FhirService<MedicationRequ
 	
 	IBundleProvider searchForMedicationRequests(ReferenceAndListParam patientReference,
 	        ReferenceAndListParam encounterReference, TokenAndListParam code, ReferenceAndListParam participantReference,
-	        ReferenceAndListParam medicationReference);
+	        ReferenceAndListParam medicationReference, HashSet<Include> includes,
+	        DateRangeParam lastUpdated);
+	
+	default IBundleProvider searchForMedicationRequests(ReferenceAndListParam patientReference,
+	        ReferenceAndListParam encounterReference, TokenAndListParam code, ReferenceAndListParam participantReference,
+	        ReferenceAndListParam medicationReference, HashSet<Include> includes) {
+		return searchForMedicationRequests(patientReference, encounterReference, code, participantReference,
+		    medicationReference, includes, null);
+	}
 }
@@ -10,12 +10,18 @@
 package org.openmrs.module.fhir2.api;
 
 import ca.uhn.fhir.rest.api.server.IBundleProvider;
+import ca.uhn.fhir.rest.param.DateRangeParam;
 import ca.uhn.fhir.rest.param.TokenAndListParam;
 import org.hl7.fhir.r4.model.Medication;
 
 public interface FhirMedicationService extends FhirService<Medication> {
 	
 	IBundleProvider searchForMedications(TokenAndListParam code, TokenAndListParam dosageForm,
-	        TokenAndListParam ingredientCode, TokenAndListParam status);
+	        TokenAndListParam ingredientCode, TokenAndListParam status, DateRangeParam lastUpdated);
+	
+	default IBundleProvider searchForMedications(TokenAndListParam code, TokenAndListParam dosageForm,
+	        TokenAndListParam ingredientCode, TokenAndListParam status) {
+		return searchForMedications(code, dosageForm, ingredientCode, status, null);
+	}
 	
 }
@@ -11,6 +11,11 @@ package org.openmrs.module.fhir2.api;
 
 import javax.validation.constraints.NotNull;
 
+import java.util.HashSet;
+import java.util.List;
+
+import ca.uhn.fhir.model.api.Include;
+import ca.uhn.fhir.rest.api.MethodOutcome;
 import ca.uhn.fhir.rest.api.SortSpec;
 import ca.uhn.fhir.rest.api.server.IBundleProvider;
 import ca.uhn.fhir.rest.param.DateRangeParam;
@@ -20,6 +25,7 @@ import ca.uhn.fhir.rest.param.ReferenceParam;
 import ca.uhn.fhir.rest.param.StringAndListParam;
 import ca.uhn.fhir.rest.param.TokenAndListParam;
 import org.hl7.fhir.r4.model.Observation;
+import org.hl7.fhir.r4.model.OperationOutcome;
 
 public interface FhirObservationService extends FhirService<Observation> {
 	
@@ -28,5 +34,26 @@ public interface FhirObservationService extends FhirService<Observation> {
 	IBundleProvider searchForObservations(ReferenceAndListParam encounterReference, ReferenceAndListParam patientReference,
 	        ReferenceParam hasMemberReference, TokenAndListParam valueConcept, DateRangeParam valueDateParam,
 	        QuantityAndListParam valueQuantityParam, StringAndListParam valueStringParam, DateRangeParam date,
-	        TokenAndListParam code, TokenAndListParam category, SortSpec sort);
+	        TokenAndListParam code, TokenAndListParam category, SortSpec sort, HashSet<Include> includes,
+	        DateRangeParam lastUpdated);
+	
+	default IBundleProvider searchForObservations(ReferenceAndListParam encounterReference,
+	        ReferenceAndListParam patientReference, ReferenceParam hasMemberReference, TokenAndListParam valueConcept,
+	        DateRangeParam valueDateParam, QuantityAndListParam valueQuantityParam, StringAndListParam valueStringParam,
+	        DateRangeParam date, TokenAndListParam code, TokenAndListParam category, SortSpec sort,
+	        HashSet<Include> includes) {
+		return searchForObservations(encounterReference, patientReference, hasMemberReference, valueConcept,
+		    valueDateParam, valueQuantityParam, valueStringParam, date, code, category, sort, includes, null);
+	}
+	
+	/**
+	 * Creates all of the given observations in a single transaction. Each observation is translated
+	 * and validated on its own, so an invalid observation is reported in its outcome rather than
+	 * failing the whole collection.
+	 *
+	 * @param observations the observations to create
+	 * @return one outcome per observation, in the same order as the observations; successful outcomes
+	 *         carry the id of the created observation, failed outcomes an {@link OperationOutcome}
+	 */
+	List<MethodOutcome> createObservations(@NotNull List<Observation> observations);
 }
@@ -29,5 +29,13 @@ public interface FhirPatientService extends FhirService<Patient> {
 	IBundleProvider searchForPatients(StringAndListParam name, StringAndListParam given, StringAndListParam family,
 	        TokenAndListParam identifier, TokenAndListParam gender, DateRangeParam birthDate, DateRangeParam deathDate,
 	        TokenAndListParam deceased, StringAndListParam city, StringAndListParam state, StringAndListParam postalCode,
-	        StringAndListParam country, SortSpec sort);
+	        StringAndListParam country, SortSpec sort, DateRangeParam lastUpdated);
+	
+	default IBundleProvider searchForPatients(StringAndListParam name, StringAndListParam given,
+	        StringAndListParam family, TokenAndListParam identifier, TokenAndListParam gender, DateRangeParam birthDate,
+	        DateRangeParam deathDate, TokenAndListParam deceased, StringAndListParam city, StringAndListParam state,
+	        StringAndListParam postalCode, StringAndListParam country, SortSpec sort) {
+		return searchForPatients(name, given, family, identifier, gender, birthDate, deathDate, deceased, city, state,
+		    postalCode, country, sort, null);
+	}
 }
@@ -20,6 +20,12 @@ public interface FhirPersonService extends FhirService<Person> {
 	
 	IBundleProvider searchForPeople(StringAndListParam name, TokenAndListParam gender, DateRangeParam birthDate,
 	        StringAndListParam city, StringAndListParam state, StringAndListParam postalCode, StringAndListParam country,
-	        SortSpec sort);
+	        SortSpec sort, DateRangeParam lastUpdated);
+	
+	default IBundleProvider searchForPeople(StringAndListParam name, TokenAndListParam gender, DateRangeParam birthDate,
+	        StringAndListParam city, StringAndListParam state, StringAndListParam postalCode, StringAndListParam country,
+	        SortSpec sort) {
+		return searchForPeople(name, gender, birthDate, city, state, postalCode, country, sort, null);
+	}
 	
 }
@@ -10,6 +10,7 @@
 package org.openmrs.module.fhir2.api;
 
 import ca.uhn.fhir.rest.api.server.IBundleProvider;
+import ca.uhn.fhir.rest.param.DateRangeParam;
 import ca.uhn.fhir.rest.param.StringAndListParam;
 import ca.uhn.fhir.rest.param.TokenAndListParam;
 import org.hl7.fhir.r4.model.Practitioner;
@@ -18,6 +19,12 @@ public interface FhirPractitionerService extends FhirService<Practitioner> {
 	
 	IBundleProvider searchForPractitioners(StringAndListParam name, TokenAndListParam identifier, StringAndListParam given,
 	        StringAndListParam family, StringAndListParam city, StringAndListParam state, StringAndListParam postalCode,
-	        StringAndListParam country);
+	        StringAndListParam country, DateRangeParam lastUpdated);
+	
+	default IBundleProvider searchForPractitioners(StringAndListParam name, TokenAndListParam identifier,
+	        StringAndListParam given, StringAndListParam family, StringAndListParam city, StringAndListParam state,
+	        StringAndListParam postalCode, StringAndListParam country) {
+		return searchForPractitioners(name, identifier, given, family, city, state, postalCode, country, null);
+	}
 	
 }
@@ -20,5 +20,11 @@ public interface FhirRelatedPersonService extends FhirService<RelatedPerson> {
 	
 	IBundleProvider searchForRelatedPeople(StringAndListParam name, TokenAndListParam gender, DateRangeParam birthDate,
 	        StringAndListParam city, StringAndListParam state, StringAndListParam postalCode, StringAndListParam country,
-	        SortSpec sort);
+	        SortSpec sort, DateRangeParam lastUpdated);
+	
+	default IBundleProvider searchForRelatedPeople(StringAndListParam name, TokenAndListParam gender,
+	        DateRangeParam birthDate, StringAndListParam city, StringAndListParam state, StringAndListParam postalCode,
+	        StringAndListParam country, SortSpec sort) {
+		return searchForRelatedPeople(name, gender, birthDate, city, state, postalCode, country, sort, null);
+	}
 }
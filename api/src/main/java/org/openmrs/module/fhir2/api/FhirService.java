@@ -11,12 +11,38 @@ package org.openmrs.module.fhir2.api;
 
 import javax.validation.constraints.NotNull;
 
+import java.util.Date;
+import java.util.List;
+
 import org.hl7.fhir.instance.model.api.IAnyResource;
 
 public interface FhirService<T extends IAnyResource> {
 	
 	T get(@NotNull String uuid);
 	
+	/**
+	 * Determines when the resource with the given uuid was last updated without loading or
+	 * translating it, so that conditional reads can be answered cheaply.
+	 *
+	 * @param uuid the uuid of the resource
+	 * @return the time the resource was last updated, or null if there is no such resource
+	 */
+	Date getLastUpdated(@NotNull String uuid);
+	
+	/**
+	 * @param uuid the uuid of the resource
+	 * @param versionId the version of the resource
+	 * @return the resource as it was at the given version, or null if that version is not known
+	 */
+	T getVersion(@NotNull String uuid, @NotNull String versionId);
+	
+	/**
+	 * @param uuid the uuid of the resource
+	 * @return the versions of the resource, newest first, starting with its current state; empty if
+	 *         the resource does not exist
+	 */
+	List<T> getHistory(@NotNull String uuid);
+	
 	T create(T newResource);
 	
 	T update(String uuid, T updatedResource);
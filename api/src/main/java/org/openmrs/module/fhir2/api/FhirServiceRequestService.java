@@ -10,10 +10,15 @@
 package org.openmrs.module.fhir2.api;
 
 import ca.uhn.fhir.rest.api.server.IBundleProvider;
+import ca.uhn.fhir.rest.param.DateRangeParam;
 import org.hl7.fhir.r4.model.ServiceRequest;
 
 public interface FhirServiceRequestService extends FhirService<ServiceRequest> {
 	
-	IBundleProvider searchForServiceRequests();
+	IBundleProvider searchForServiceRequests(DateRangeParam lastUpdated);
+	
+	default IBundleProvider searchForServiceRequests() {
+		return searchForServiceRequests(null);
+	}
 	
 }
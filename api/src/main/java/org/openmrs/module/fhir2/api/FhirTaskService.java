@@ -9,8 +9,13 @@
  */
 package org.openmrs.module.fhir2.api;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 import ca.uhn.fhir.rest.api.SortSpec;
 import ca.uhn.fhir.rest.api.server.IBundleProvider;
+import ca.uhn.fhir.rest.param.DateRangeParam;
 import ca.uhn.fhir.rest.param.ReferenceAndListParam;
 import ca.uhn.fhir.rest.param.TokenAndListParam;
 import org.hl7.fhir.r4.model.Task;
@@ -30,5 +35,22 @@ public interface FhirTaskService extends FhirService<Task> {
 	 * @return the collection of Tasks that match the search parameters
 	 */
 	IBundleProvider searchForTasks(ReferenceAndListParam basedOnReference, ReferenceAndListParam ownerReference,
-	        TokenAndListParam status, SortSpec sort);
+	        TokenAndListParam status, SortSpec sort, DateRangeParam lastUpdated);
+	
+	default IBundleProvider searchForTasks(ReferenceAndListParam basedOnReference, ReferenceAndListParam ownerReference,
+	        TokenAndListParam status, SortSpec sort) {
+		return searchForTasks(basedOnReference, ownerReference, status, sort, null);
+	}
+	
+	/**
+	 * Get the tasks based on each of the given resources using a single lookup. This is intended for
+	 * translators that need the tasks for a whole page of resources at once; only the id, status and
+	 * owner of the returned tasks are set.
+	 *
+	 * @param basedOnType the type of the resources the tasks are based on, e.g. "ServiceRequest"
+	 * @param basedOnIds the ids of the resources the tasks are based on
+	 * @return the Tasks grouped by the id of the resource they are based on; every requested id is
+	 *         present in the map, mapped to an empty list if no tasks reference it
+	 */
+	Map<String, List<Task>> getTasksByBasedOn(String basedOnType, Collection<String> basedOnIds);
 }
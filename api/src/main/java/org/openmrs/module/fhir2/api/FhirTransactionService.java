@@ -0,0 +1,38 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api;
+
+import org.hl7.fhir.r4.model.Bundle;
+
+/**
+ * Processes the entries of {@code batch} and {@code transaction} Bundles posted to the base of the
+ * server by delegating each entry to the {@link FhirService} for its resource type
+ */
+public interface FhirTransactionService {
+	
+	/**
+	 * Processes all of the entries of a transaction Bundle in a single database transaction. Entries
+	 * may refer to resources created by other entries using the {@code urn:uuid:} full url of those
+	 * entries. If any entry fails, none of the changes are kept.
+	 *
+	 * @param bundle a Bundle of type {@code transaction}
+	 * @return a Bundle of type {@code transaction-response} with an entry for each entry in the request
+	 */
+	Bundle processTransaction(Bundle bundle);
+	
+	/**
+	 * Processes each of the entries of a batch Bundle independently. An entry failing does not affect
+	 * the other entries; its failure is reported in the corresponding response entry instead.
+	 *
+	 * @param bundle a Bundle of type {@code batch}
+	 * @return a Bundle of type {@code batch-response} with an entry for each entry in the request
+	 */
+	Bundle processBatch(Bundle bundle);
+}
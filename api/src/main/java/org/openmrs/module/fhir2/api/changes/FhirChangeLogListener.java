@@ -0,0 +1,326 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.changes;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import lombok.AccessLevel;
+import lombok.Setter;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.event.service.spi.DuplicationStrategy;
+import org.hibernate.event.service.spi.EventListenerGroup;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.openmrs.Allergy;
+import org.openmrs.Cohort;
+import org.openmrs.Drug;
+import org.openmrs.DrugOrder;
+import org.openmrs.Encounter;
+import org.openmrs.Location;
+import org.openmrs.Obs;
+import org.openmrs.OpenmrsObject;
+import org.openmrs.Patient;
+import org.openmrs.PatientIdentifier;
+import org.openmrs.Person;
+import org.openmrs.PersonAddress;
+import org.openmrs.PersonAttribute;
+import org.openmrs.PersonName;
+import org.openmrs.Provider;
+import org.openmrs.Relationship;
+import org.openmrs.Retireable;
+import org.openmrs.TestOrder;
+import org.openmrs.Voidable;
+import org.openmrs.module.fhir2.FhirChange;
+import org.openmrs.module.fhir2.FhirTask;
+import org.openmrs.module.fhir2.api.subscriptions.ActiveSubscription;
+import org.openmrs.module.fhir2.api.subscriptions.SubscriptionDispatcher;
+import org.openmrs.module.fhir2.api.subscriptions.SubscriptionRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes an entry to the FHIR change log whenever an OpenMRS object backing a FHIR resource is
+ * created, updated or deleted. Hibernate calls this listener while it is flushing the change; the
+ * entries of a transaction are collected and inserted just before it commits, using the same JDBC
+ * connection, so they are committed or rolled back along with the change itself.
+ * <p/>
+ * The entries are numbered by the database as they are inserted, without any lock shared between
+ * transactions, and are timestamped at the same time. Since the inserts are the last statements of
+ * the transaction, an entry becomes visible at most a moment after any entry numbered after it; the
+ * {@link org.openmrs.module.fhir2.api.FhirChangeService} only returns entries once they are old
+ * enough for every lower-numbered entry to have committed.
+ * <p/>
+ * Changes matching an active subscription are handed to the {@link SubscriptionDispatcher} once the
+ * transaction has committed.
+ */
+@Component
+@Setter(AccessLevel.PACKAGE)
+public class FhirChangeLogListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+	
+	private static final long serialVersionUID = 1L;
+	
+	// checked in order, so subclasses must come before their superclasses
+	private static final Map<Class<?>, String> RESOURCE_TYPES = new LinkedHashMap<>();
+	
+	static {
+		RESOURCE_TYPES.put(Patient.class, "Patient");
+		RESOURCE_TYPES.put(Person.class, "Person");
+		RESOURCE_TYPES.put(Encounter.class, "Encounter");
+		RESOURCE_TYPES.put(Obs.class, "Observation");
+		RESOURCE_TYPES.put(Location.class, "Location");
+		RESOURCE_TYPES.put(Provider.class, "Practitioner");
+		RESOURCE_TYPES.put(DrugOrder.class, "MedicationRequest");
+		RESOURCE_TYPES.put(TestOrder.class, "ServiceRequest");
+		RESOURCE_TYPES.put(Drug.class, "Medication");
+		RESOURCE_TYPES.put(Allergy.class, "AllergyIntolerance");
+		RESOURCE_TYPES.put(Relationship.class, "RelatedPerson");
+		RESOURCE_TYPES.put(Cohort.class, "Group");
+		RESOURCE_TYPES.put(FhirTask.class, "Task");
+	}
+	
+	@Autowired
+	@Qualifier("sessionFactory")
+	private SessionFactory sessionFactory;
+	
+	@Autowired(required = false)
+	private SubscriptionRegistry subscriptionRegistry;
+	
+	@Autowired(required = false)
+	private SubscriptionDispatcher subscriptionDispatcher;
+	
+	// the entries of each session's current transaction; weak, as a session may be closed without completing one
+	private final Map<EventSource, PendingChanges> pendingChanges = Collections.synchronizedMap(new WeakHashMap<>());
+	
+	private volatile boolean enabled = true;
+	
+	@PostConstruct
+	public void registerListener() {
+		EventListenerRegistry registry = ((SessionFactoryImplementor) sessionFactory).getServiceRegistry()
+		        .getService(EventListenerRegistry.class);
+		
+		register(registry.getEventListenerGroup(EventType.POST_INSERT));
+		register(registry.getEventListenerGroup(EventType.POST_UPDATE));
+		register(registry.getEventListenerGroup(EventType.POST_DELETE));
+	}
+	
+	/**
+	 * Hibernate 4 cannot remove a listener from a listener group, so a stopped instance stays registered
+	 * but does nothing until the next instance replaces it, see {@link #register(EventListenerGroup)}
+	 */
+	@PreDestroy
+	public void unregisterListener() {
+		enabled = false;
+		pendingChanges.clear();
+	}
+	
+	@Override
+	public void onPostInsert(PostInsertEvent event) {
+		log(event.getSession(), event.getEntity(), FhirChange.Operation.CREATE);
+	}
+	
+	@Override
+	public void onPostUpdate(PostUpdateEvent event) {
+		Object entity = event.getEntity();
+		if ((entity instanceof Voidable && Boolean.TRUE.equals(((Voidable) entity).getVoided()))
+		        || (entity instanceof Retireable && Boolean.TRUE.equals(((Retireable) entity).getRetired()))) {
+			log(event.getSession(), entity, FhirChange.Operation.DELETE);
+		} else {
+			log(event.getSession(), entity, FhirChange.Operation.UPDATE);
+		}
+	}
+	
+	@Override
+	public void onPostDelete(PostDeleteEvent event) {
+		log(event.getSession(), event.getEntity(), FhirChange.Operation.DELETE);
+	}
+	
+	@Override
+	public boolean requiresPostCommitHanding(EntityPersister persister) {
+		return false;
+	}
+	
+	protected void log(EventSource session, Object entity, FhirChange.Operation operation) {
+		if (!enabled) {
+			return;
+		}
+		
+		// changes to the names, addresses, etc. of a person are changes to the person's resource
+		Object owner = getOwner(entity);
+		if (owner != entity) {
+			entity = owner;
+			operation = FhirChange.Operation.UPDATE;
+		}
+		
+		String resourceType = getResourceType(entity);
+		if (resourceType == null || ((OpenmrsObject) entity).getUuid() == null) {
+			return;
+		}
+		
+		FhirChange change = new FhirChange();
+		change.setResourceType(resourceType);
+		change.setResourceUuid(((OpenmrsObject) entity).getUuid());
+		change.setOperation(operation);
+		
+		// matched now, while the state of the object is the one being committed
+		List<ActiveSubscription> subscriptions = Collections.emptyList();
+		if (subscriptionRegistry != null && subscriptionDispatcher != null) {
+			subscriptions = subscriptionRegistry.match(resourceType, entity);
+		}
+		
+		pendingChanges.computeIfAbsent(session, PendingChanges::new).add(change, subscriptions);
+	}
+	
+	protected Object getOwner(Object entity) {
+		if (entity instanceof PatientIdentifier) {
+			return ((PatientIdentifier) entity).getPatient();
+		} else if (entity instanceof PersonName) {
+			return ((PersonName) entity).getPerson();
+		} else if (entity instanceof PersonAddress) {
+			return ((PersonAddress) entity).getPerson();
+		} else if (entity instanceof PersonAttribute) {
+			return ((PersonAttribute) entity).getPerson();
+		}
+		
+		return entity;
+	}
+	
+	protected String getResourceType(Object entity) {
+		if (!(entity instanceof OpenmrsObject)) {
+			return null;
+		}
+		
+		// the person of a name or address is not necessarily loaded as a patient
+		if (entity instanceof Person && Boolean.TRUE.equals(((Person) entity).getIsPatient())) {
+			return "Patient";
+		}
+		
+		for (Map.Entry<Class<?>, String> resourceType : RESOURCE_TYPES.entrySet()) {
+			if (resourceType.getKey().isInstance(entity)) {
+				return resourceType.getValue();
+			}
+		}
+		
+		return null;
+	}
+	
+	@SuppressWarnings("unchecked")
+	private <L> void register(EventListenerGroup<L> group) {
+		// a restarted module loads this class again in a new class loader, so listeners and strategies are
+		// matched by class name; the group keeps only one strategy, as they are equal to each other
+		group.addDuplicationStrategy(new ReplaceByClassName());
+		group.appendListener((L) this);
+	}
+	
+	/**
+	 * Replaces the listener registered by a previous instance of this class
+	 */
+	private static class ReplaceByClassName implements DuplicationStrategy {
+		
+		@Override
+		public boolean areMatch(Object listener, Object original) {
+			return listener.getClass().getName().equals(original.getClass().getName());
+		}
+		
+		@Override
+		public Action getAction() {
+			return Action.REPLACE_ORIGINAL;
+		}
+		
+		@Override
+		public boolean equals(Object obj) {
+			return obj != null && obj.getClass().getName().equals(getClass().getName());
+		}
+		
+		@Override
+		public int hashCode() {
+			return getClass().getName().hashCode();
+		}
+	}
+	
+	/**
+	 * The entries of one transaction, written just before it commits
+	 */
+	private class PendingChanges implements BeforeTransactionCompletionProcess, AfterTransactionCompletionProcess {
+		
+		private final EventSource session;
+		
+		private final List<FhirChange> changes = new ArrayList<>();
+		
+		private final Map<FhirChange, List<ActiveSubscription>> subscriptions = new IdentityHashMap<>();
+		
+		PendingChanges(EventSource session) {
+			this.session = session;
+			session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) this);
+			session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) this);
+		}
+		
+		void add(FhirChange change, List<ActiveSubscription> matches) {
+			changes.add(change);
+			if (!matches.isEmpty()) {
+				subscriptions.put(change, matches);
+			}
+		}
+		
+		@Override
+		public void doBeforeTransactionCompletion(SessionImplementor sessionImplementor) {
+			pendingChanges.remove(session);
+			if (changes.isEmpty()) {
+				return;
+			}
+			
+			// a stateless session does not take part in the session's flush and does not raise events itself
+			StatelessSession statelessSession = sessionImplementor.getFactory()
+			        .openStatelessSession(sessionImplementor.connection());
+			try {
+				Date dateChanged = new Date();
+				for (FhirChange change : changes) {
+					change.setDateChanged(dateChanged);
+					statelessSession.insert(change);
+				}
+			}
+			finally {
+				statelessSession.close();
+			}
+		}
+		
+		@Override
+		public void doAfterTransactionCompletion(boolean success, SessionImplementor sessionImplementor) {
+			pendingChanges.remove(session);
+			if (success && subscriptionDispatcher != null) {
+				subscriptions.forEach(
+				    (change, matches) -> matches.forEach(subscription -> subscriptionDispatcher.dispatch(subscription, change)));
+			}
+		}
+	}
+}
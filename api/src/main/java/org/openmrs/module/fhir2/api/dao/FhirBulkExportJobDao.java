@@ -0,0 +1,57 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.dao;
+
+import javax.validation.constraints.NotNull;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import org.openmrs.module.fhir2.FhirBulkExportJob;
+
+public interface FhirBulkExportJobDao {
+	
+	/**
+	 * Gets the stored export job with the given id, provided it has not yet expired
+	 *
+	 * @param jobId the id of the job
+	 * @return the stored job, if any
+	 */
+	Optional<FhirBulkExportJob> getJob(@NotNull String jobId);
+	
+	/**
+	 * Saves the job and commits it straight away, so that other nodes see its progress while it runs
+	 *
+	 * @param job the job to save
+	 * @return the saved job
+	 */
+	FhirBulkExportJob saveJob(@NotNull FhirBulkExportJob job);
+	
+	/**
+	 * Records the progress of a running job unless it has been cancelled in the meantime
+	 *
+	 * @param jobId the id of the job
+	 * @param exportedCount the number of resources exported so far
+	 * @param expires the new expiry date of the job
+	 * @return false if the job has been cancelled or no longer exists
+	 */
+	boolean updateProgress(@NotNull String jobId, long exportedCount, @NotNull Date expires);
+	
+	void deleteJob(@NotNull String jobId);
+	
+	/**
+	 * Removes all stored jobs that expired before the given date
+	 *
+	 * @param before the cut-off date
+	 * @return the ids of the jobs removed
+	 */
+	List<String> purgeExpiredJobs(@NotNull Date before);
+}
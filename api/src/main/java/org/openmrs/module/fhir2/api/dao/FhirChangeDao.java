@@ -0,0 +1,38 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.dao;
+
+import javax.validation.constraints.NotNull;
+
+import java.util.Date;
+import java.util.List;
+
+import org.openmrs.module.fhir2.FhirChange;
+
+public interface FhirChangeDao {
+	
+	/**
+	 * Gets the entries of the change log which were written after the given one, oldest first
+	 *
+	 * @param since the sequence number of the last entry already seen, or null to start at the
+	 *            beginning of the log
+	 * @param count the maximum number of entries to return
+	 * @return the entries after {@code since}
+	 */
+	List<FhirChange> getChanges(Long since, int count);
+	
+	/**
+	 * Deletes the entries of the change log written before the given time
+	 *
+	 * @param before the time the entries to delete were written before
+	 * @return the number of entries deleted
+	 */
+	int purgeChanges(@NotNull Date before);
+}
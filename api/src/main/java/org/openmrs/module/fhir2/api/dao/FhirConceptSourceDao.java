@@ -23,4 +23,6 @@ public interface FhirConceptSourceDao {
 	Optional<FhirConceptSource> getFhirConceptSourceByUrl(@NotNull String url);
 	
 	Optional<FhirConceptSource> getFhirConceptSourceByConceptSourceName(@NotNull String sourceName);
+	
+	FhirConceptSource saveFhirConceptSource(@NotNull FhirConceptSource fhirConceptSource);
 }
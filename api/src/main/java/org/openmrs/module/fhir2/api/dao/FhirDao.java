@@ -13,10 +13,14 @@ import javax.validation.constraints.NotNull;
 
 import java.io.Serializable;
 import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.openmrs.Auditable;
 import org.openmrs.OpenmrsObject;
+import org.openmrs.module.fhir2.api.search.KeysetPage;
+import org.openmrs.module.fhir2.api.search.SearchCursor;
 import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
 
 /**
@@ -26,8 +30,36 @@ public interface FhirDao<T extends OpenmrsObject & Auditable> extends Serializab
 	
 	T get(@NotNull String uuid);
 	
+	/**
+	 * Loads all of the objects with the given uuids with a single query. Uuids which do not match any
+	 * object are ignored.
+	 *
+	 * @param uuids the uuids of the objects to load
+	 * @return the matching objects, in no particular order
+	 */
+	List<T> get(@NotNull Collection<String> uuids);
+	
+	/**
+	 * Fetches only the audit dates of the object with the given uuid.
+	 *
+	 * @param uuid the uuid of the object
+	 * @return the time the object was last changed, or created if it has never been changed, or null
+	 *         if there is no such object
+	 */
+	Date getLastUpdated(@NotNull String uuid);
+	
 	T createOrUpdate(T newEntry);
 	
+	/**
+	 * Saves all of the given objects in the current session, flushing the session and evicting the
+	 * saved objects every {@code hibernate.jdbc.batch_size} objects so that the inserts can be sent in
+	 * JDBC batches and the session does not grow with the size of the collection. The objects are
+	 * detached once this returns.
+	 *
+	 * @param newEntries the objects to save
+	 */
+	void createOrUpdateAll(@NotNull Collection<T> newEntries);
+	
 	T delete(@NotNull String uuid);
 	
 	List<String> getResultUuids(SearchParameterMap theParams);
@@ -39,4 +71,74 @@ public interface FhirDao<T extends OpenmrsObject & Auditable> extends Serializab
 	}
 	
 	Collection<T> search(SearchParameterMap theParams, List<String> matchingResourceUuids, int firstResult, int lastResult);
+	
+	/**
+	 * Fetches a single page of results for the given search. If a cursor is supplied, the page
+	 * starts immediately after the row the cursor points to; otherwise the page starts at
+	 * {@code firstResult}.
+	 *
+	 * @param theParams the parameters for this search
+	 * @param cursor the cursor returned with the previous page or null
+	 * @param firstResult the offset to start from if no cursor is available
+	 * @param maxResults the maximum number of results to return
+	 * @return the requested page and a cursor pointing at its last row
+	 */
+	KeysetPage<T> searchPage(SearchParameterMap theParams, SearchCursor cursor, int firstResult, int maxResults);
+	
+	/**
+	 * Passes every object matching the given search to the consumer, one batch at a time, without
+	 * holding the full result set in memory. This is intended for exports rather than interactive
+	 * searches, so no sorting is applied. The session is flushed and cleared after each batch, so
+	 * objects loaded in the session before the call are detached by it.
+	 *
+	 * @param theParams the parameters for this search
+	 * @param batchSize the maximum number of objects passed to the consumer at once
+	 * @param consumer the consumer to receive each batch
+	 */
+	void scroll(SearchParameterMap theParams, int batchSize, Consumer<List<T>> consumer);
+	
+	/**
+	 * Counts the distinct objects matching the given search without loading them
+	 *
+	 * @param theParams the parameters for this search
+	 * @return the number of matching objects
+	 */
+	int getSearchResultsCount(SearchParameterMap theParams);
+	
+	/**
+	 * Estimates the number of distinct objects matching the given search. Implementations may return
+	 * an exact count where no cheaper estimate is available.
+	 *
+	 * @param theParams the parameters for this search
+	 * @return the estimated number of matching objects
+	 */
+	default int getSearchResultsCountEstimate(SearchParameterMap theParams) {
+		return getSearchResultsCount(theParams);
+	}
+	
+	/**
+	 * @return true if searches for this type should be paged by seeking on the sort key rather than
+	 *         by loading all matching uuids
+	 */
+	default boolean isKeysetPagingEnabled() {
+		return false;
+	}
+	
+	/**
+	 * @return true if the objects loaded by {@link #searchPage} and {@link #get(Collection)} have every
+	 *         association their translator reads already initialized, so that translating them does
+	 *         not load further objects one at a time
+	 */
+	default boolean hasCompleteFetchPlan() {
+		return false;
+	}
+	
+	/**
+	 * Detaches objects which are no longer needed from the current session so that processing a
+	 * large number of results one page at a time does not accumulate them in memory
+	 *
+	 * @param objects the objects to detach
+	 */
+	default void evict(Collection<T> objects) {
+	}
 }
@@ -0,0 +1,38 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.dao;
+
+import javax.validation.constraints.NotNull;
+
+import java.util.Date;
+import java.util.Optional;
+
+import org.openmrs.module.fhir2.FhirPagedSearch;
+
+public interface FhirPagedSearchDao {
+	
+	/**
+	 * Gets the stored search with the given id, provided it has not yet expired
+	 *
+	 * @param searchId the id of the search
+	 * @return the stored search, if any
+	 */
+	Optional<FhirPagedSearch> getPagedSearch(@NotNull String searchId);
+	
+	FhirPagedSearch savePagedSearch(@NotNull FhirPagedSearch pagedSearch);
+	
+	/**
+	 * Removes all stored searches that expired before the given date
+	 *
+	 * @param before the cut-off date
+	 * @return the number of searches removed
+	 */
+	int purgeExpiredSearches(@NotNull Date before);
+}
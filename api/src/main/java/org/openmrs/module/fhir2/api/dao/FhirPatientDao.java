@@ -11,6 +11,9 @@ package org.openmrs.module.fhir2.api.dao;
 
 import javax.validation.constraints.NotNull;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.openmrs.Patient;
 import org.openmrs.PatientIdentifierType;
 
@@ -18,6 +21,8 @@ public interface FhirPatientDao extends FhirDao<Patient> {
 	
 	Patient getPatientById(@NotNull Integer id);
 	
+	List<String> getPatientUuidsByIds(@NotNull Collection<Integer> ids);
+	
 	Patient get(@NotNull String uuid);
 	
 	PatientIdentifierType getPatientIdentifierTypeByNameOrUuid(String name, String uuid);
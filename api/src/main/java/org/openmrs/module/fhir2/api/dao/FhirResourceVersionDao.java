@@ -0,0 +1,58 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.dao;
+
+import javax.validation.constraints.NotNull;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.openmrs.module.fhir2.FhirResourceVersion;
+
+public interface FhirResourceVersionDao {
+	
+	/**
+	 * Gets a single stored version of a resource
+	 *
+	 * @param resourceType the type of the resource
+	 * @param resourceUuid the uuid of the resource
+	 * @param versionNumber the number of the version to get
+	 * @return the stored version, if any
+	 */
+	Optional<FhirResourceVersion> getVersion(@NotNull String resourceType, @NotNull String resourceUuid,
+	        int versionNumber);
+	
+	/**
+	 * Gets the number of the latest stored version of a resource
+	 *
+	 * @param resourceType the type of the resource
+	 * @param resourceUuid the uuid of the resource
+	 * @return the highest version number stored for the resource, or 0 if there is none
+	 */
+	int getLatestVersionNumber(@NotNull String resourceType, @NotNull String resourceUuid);
+	
+	/**
+	 * Gets all stored versions of a resource
+	 *
+	 * @param resourceType the type of the resource
+	 * @param resourceUuid the uuid of the resource
+	 * @return the stored versions, newest first
+	 */
+	List<FhirResourceVersion> getVersions(@NotNull String resourceType, @NotNull String resourceUuid);
+	
+	/**
+	 * Inserts a new version. Versions are never updated; inserting a version number which is already
+	 * stored for the resource fails.
+	 *
+	 * @param version the version to insert
+	 * @return the inserted version
+	 */
+	FhirResourceVersion saveVersion(@NotNull FhirResourceVersion version);
+}
@@ -0,0 +1,22 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.dao;
+
+import java.util.List;
+
+import org.openmrs.module.fhir2.FhirSubscription;
+
+public interface FhirSubscriptionDao extends FhirDao<FhirSubscription> {
+	
+	/**
+	 * @return the subscriptions which are active and have not been deleted
+	 */
+	List<FhirSubscription> getActiveSubscriptions();
+}
@@ -9,8 +9,25 @@
  */
 package org.openmrs.module.fhir2.api.dao;
 
+import javax.validation.constraints.NotNull;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 import org.openmrs.module.fhir2.FhirTask;
 
 public interface FhirTaskDao extends FhirDao<FhirTask> {
 	
+	/**
+	 * Retrieves all tasks based on any of the given references in a single query. Only the uuid, status
+	 * and owner of each task are read; the returned tasks are not attached to the session and their
+	 * other properties are not set.
+	 *
+	 * @param type the type of the referenced resource, e.g. "ServiceRequest"
+	 * @param references the ids of the referenced resources
+	 * @return the matching tasks grouped by the id of the resource they are based on; references
+	 *         without any tasks are absent from the map
+	 */
+	Map<String, List<FhirTask>> getTasksByBasedOnReferences(@NotNull String type, @NotNull Collection<String> references);
 }
@@ -23,6 +23,8 @@ import static org.hibernate.criterion.Restrictions.lt;
 import static org.hibernate.criterion.Restrictions.ne;
 import static org.hibernate.criterion.Restrictions.not;
 import static org.hibernate.criterion.Restrictions.or;
+import static org.hibernate.criterion.Restrictions.sqlRestriction;
+import static org.hibernate.criterion.Subqueries.notExists;
 import static org.hibernate.criterion.Subqueries.propertyEq;
 
 import javax.validation.constraints.NotNull;
@@ -61,9 +63,11 @@ import ca.uhn.fhir.rest.param.StringParam;
 import ca.uhn.fhir.rest.param.TokenAndListParam;
 import ca.uhn.fhir.rest.param.TokenOrListParam;
 import ca.uhn.fhir.rest.param.TokenParam;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.Setter;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.commons.lang3.time.DateUtils;
@@ -72,6 +76,7 @@ import org.hibernate.criterion.Criterion;
 import org.hibernate.criterion.DetachedCriteria;
 import org.hibernate.criterion.MatchMode;
 import org.hibernate.criterion.Order;
+import org.hibernate.criterion.Projections;
 import org.hibernate.internal.CriteriaImpl;
 import org.hibernate.sql.JoinType;
 import org.hl7.fhir.exceptions.FHIRException;
@@ -79,7 +84,10 @@ import org.hl7.fhir.r4.model.Location;
 import org.hl7.fhir.r4.model.Patient;
 import org.hl7.fhir.r4.model.Practitioner;
 import org.hl7.fhir.r4.model.codesystems.AdministrativeGender;
+import org.openmrs.PersonAddress;
 import org.openmrs.module.fhir2.FhirConceptSource;
+import org.openmrs.module.fhir2.api.mappings.ConceptSourceMap;
+import org.springframework.beans.factory.annotation.Autowired;
 
 /**
  * <p>
@@ -158,6 +166,10 @@ public abstract class BaseDao {
 	
 	private static final BigDecimal APPROX_RANGE = new BigDecimal("0.1");
 	
+	@Autowired
+	@Setter(AccessLevel.PACKAGE)
+	private ConceptSourceMap conceptSourceMap;
+	
 	/**
 	 * Converts an {@link Iterable} to a {@link Stream}
 	 *
@@ -813,6 +825,36 @@ public abstract class BaseDao {
 		return Optional.of(and(toCriteriaArray(criterionList.stream())));
 	}
 	
+	/**
+	 * Restricts a left join on person addresses to a single address per person, so that sorting by an
+	 * address field returns each person once. The preferred address is used if there is one, otherwise
+	 * the first address which is not voided and otherwise the first address.
+	 *
+	 * @param alias the alias of the joined addresses
+	 * @param personIdColumn the SQL column holding the id of the person the addresses belong to
+	 * @return the restriction to add to the criteria
+	 */
+	protected Criterion handleSortAddress(@NotNull String alias, @NotNull String personIdColumn) {
+		String idProperty = alias + ".personAddressId";
+		return or(isNull(idProperty),
+		    propertyEq(idProperty,
+		        addressesOf("pa1", personIdColumn).add(eq("pa1.preferred", true)).add(eq("pa1.voided", false))
+		                .setProjection(Projections.min("pa1.personAddressId"))),
+		    and(notExists(addressesOf("pa2", personIdColumn).add(eq("pa2.preferred", true)).add(eq("pa2.voided", false))
+		            .setProjection(Projections.id())),
+		        propertyEq(idProperty, addressesOf("pa3", personIdColumn).add(eq("pa3.voided", false))
+		                .setProjection(Projections.min("pa3.personAddressId")))),
+		    and(notExists(addressesOf("pa4", personIdColumn).add(eq("pa4.voided", false)).setProjection(Projections.id())),
+		        propertyEq(idProperty,
+		            addressesOf("pa5", personIdColumn).setProjection(Projections.min("pa5.personAddressId")))));
+	}
+	
+	private static DetachedCriteria addressesOf(String alias, String personIdColumn) {
+		// WARNING this is fragile
+		return DetachedCriteria.forClass(PersonAddress.class, alias)
+		        .add(sqlRestriction(String.format("%s_.person_id = %s", alias, personIdColumn)));
+	}
+	
 	protected Optional<Criterion> handleMedicationReference(@NotNull String medicationAlias,
 	        ReferenceAndListParam medicationReference) {
 		if (medicationReference == null) {
@@ -858,16 +900,26 @@ public abstract class BaseDao {
 		return Optional.of(orderings);
 	}
 	
+	/**
+	 * Generates a criterion matching concept reference terms with the given codes in the concept source
+	 * mapped to the given system. The concept source is resolved using the {@link ConceptSourceMap};
+	 * only if the system is not known there is it resolved by a subquery against
+	 * {@link FhirConceptSource}.
+	 */
 	protected Criterion generateSystemQuery(String system, List<String> codes, String conceptReferenceTermAlias) {
-		DetachedCriteria conceptSourceCriteria = DetachedCriteria.forClass(FhirConceptSource.class).add(eq("url", system))
-		        .setProjection(property("conceptSource"));
+		Optional<Integer> conceptSourceId = conceptSourceMap == null ? Optional.empty()
+		        : conceptSourceMap.getConceptSourceId(system);
+		
+		Criterion conceptSourceCriterion = conceptSourceId
+		        .map(id -> eq(String.format("%s.conceptSource.conceptSourceId", conceptReferenceTermAlias), id))
+		        .orElseGet(() -> propertyEq(String.format("%s.conceptSource", conceptReferenceTermAlias),
+		            DetachedCriteria.forClass(FhirConceptSource.class).add(eq("url", system))
+		                    .setProjection(property("conceptSource"))));
 		
 		if (codes.size() > 1) {
-			return and(propertyEq(String.format("%s.conceptSource", conceptReferenceTermAlias), conceptSourceCriteria),
-			    in(String.format("%s.code", conceptReferenceTermAlias), codes));
+			return and(conceptSourceCriterion, in(String.format("%s.code", conceptReferenceTermAlias), codes));
 		} else {
-			return and(propertyEq(String.format("%s.conceptSource", conceptReferenceTermAlias), conceptSourceCriteria),
-			    eq(String.format("%s.code", conceptReferenceTermAlias), codes.get(0)));
+			return and(conceptSourceCriterion, eq(String.format("%s.code", conceptReferenceTermAlias), codes.get(0)));
 		}
 	}
 	
@@ -9,28 +9,75 @@
  */
 package org.openmrs.module.fhir2.api.dao.impl;
 
+import static org.hibernate.criterion.Restrictions.and;
 import static org.hibernate.criterion.Restrictions.eq;
+import static org.hibernate.criterion.Restrictions.gt;
 import static org.hibernate.criterion.Restrictions.in;
+import static org.hibernate.criterion.Restrictions.isNotNull;
+import static org.hibernate.criterion.Restrictions.isNull;
+import static org.hibernate.criterion.Restrictions.lt;
+import static org.hibernate.criterion.Restrictions.or;
 
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
+import ca.uhn.fhir.rest.param.DateParam;
+import ca.uhn.fhir.rest.param.DateRangeParam;
+import ca.uhn.fhir.rest.param.ParamPrefixEnum;
+import ca.uhn.fhir.rest.param.TokenAndListParam;
 import com.google.common.reflect.TypeToken;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.CacheMode;
 import org.hibernate.Criteria;
+import org.hibernate.FetchMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
 import org.hibernate.SessionFactory;
-import org.hibernate.criterion.DetachedCriteria;
+import org.hibernate.criterion.Criterion;
+import org.hibernate.criterion.Order;
+import org.hibernate.criterion.ProjectionList;
 import org.hibernate.criterion.Projections;
-import org.hibernate.criterion.Subqueries;
+import org.hibernate.criterion.Restrictions;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.dialect.Oracle8iDialect;
+import org.hibernate.dialect.PostgreSQL81Dialect;
+import org.hibernate.dialect.SQLServerDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metadata.ClassMetadata;
+import org.hibernate.persister.entity.AbstractEntityPersister;
 import org.openmrs.Auditable;
+import org.openmrs.Concept;
 import org.openmrs.OpenmrsObject;
+import org.openmrs.Patient;
+import org.openmrs.Person;
+import org.openmrs.Provider;
 import org.openmrs.Retireable;
 import org.openmrs.Voidable;
 import org.openmrs.module.fhir2.FhirConstants;
 import org.openmrs.module.fhir2.api.FhirGlobalPropertyService;
 import org.openmrs.module.fhir2.api.dao.FhirDao;
+import org.openmrs.module.fhir2.api.metrics.RequestTimings;
+import org.openmrs.module.fhir2.api.search.KeysetPage;
+import org.openmrs.module.fhir2.api.search.SearchCursor;
+import org.openmrs.module.fhir2.api.search.param.PropParam;
 import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -48,6 +95,12 @@ import org.springframework.transaction.annotation.Transactional;
 @SuppressWarnings("UnstableApiUsage")
 public abstract class BaseFhirDao<T extends OpenmrsObject & Auditable> extends BaseDao implements FhirDao<T> {
 	
+	// used when hibernate.jdbc.batch_size is not configured
+	private static final int DEFAULT_FLUSH_INTERVAL = 50;
+	
+	private static final String[] LAST_UPDATED_PROPERTIES = new String[] { "dateCreated", "dateChanged", "dateVoided",
+	        "dateRetired" };
+	
 	private final TypeToken<T> typeToken;
 	
 	@Autowired
@@ -69,8 +122,65 @@ public abstract class BaseFhirDao<T extends OpenmrsObject & Auditable> extends B
 	@Transactional(readOnly = true)
 	@SuppressWarnings("unchecked")
 	public T get(String uuid) {
-		return (T) sessionFactory.getCurrentSession().createCriteria(typeToken.getRawType()).add(eq("uuid", uuid))
-		        .uniqueResult();
+		return RequestTimings.time(RequestTimings.Phase.HYDRATION, () -> (T) sessionFactory.getCurrentSession()
+		        .createCriteria(typeToken.getRawType()).add(eq("uuid", uuid)).uniqueResult());
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public List<T> get(Collection<String> uuids) {
+		if (uuids.isEmpty()) {
+			return new ArrayList<>();
+		}
+		
+		return RequestTimings.time(RequestTimings.Phase.HYDRATION, () -> load("uuid", new ArrayList<>(uuids)));
+	}
+	
+	/**
+	 * Also takes into account the audit dates of the parts returned by {@link #getLastUpdatedParts()},
+	 * so that changing e.g. the name of a person changes the version of the resource even if the
+	 * person itself is not saved.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public Date getLastUpdated(String uuid) {
+		Map<Class<? extends Auditable>, String> parts = getLastUpdatedParts();
+		if (parts.isEmpty()) {
+			Object[] dates = (Object[]) sessionFactory.getCurrentSession().createCriteria(typeToken.getRawType())
+			        .add(eq("uuid", uuid))
+			        .setProjection(Projections.projectionList().add(Projections.property("dateChanged"))
+			                .add(Projections.property("dateCreated")))
+			        .uniqueResult();
+			if (dates == null) {
+				return null;
+			}
+			
+			return dates[0] != null ? (Date) dates[0] : (Date) dates[1];
+		}
+		
+		StringBuilder hql = new StringBuilder("select coalesce(o.dateChanged, o.dateCreated)");
+		for (Map.Entry<Class<? extends Auditable>, String> part : parts.entrySet()) {
+			hql.append(", (select max(coalesce(p.dateChanged, p.dateCreated)) from ").append(part.getKey().getName())
+			        .append(" p where p.").append(part.getValue()).append(" = o)");
+		}
+		hql.append(" from ").append(typeToken.getRawType().getName()).append(" o where o.uuid = :uuid");
+		
+		Object[] dates = (Object[]) sessionFactory.getCurrentSession().createQuery(hql.toString())
+		        .setParameter("uuid", uuid).uniqueResult();
+		if (dates == null) {
+			return null;
+		}
+		
+		return Arrays.stream(dates).filter(Objects::nonNull).map(Date.class::cast).max(Date::compareTo).orElse(null);
+	}
+	
+	/**
+	 * @return the objects whose changes count as changes to this DAO's objects, as the entity of each
+	 *         mapped to the property referring to the object it belongs to; the versions read from the
+	 *         translated resources must be computed from the same objects
+	 */
+	protected Map<Class<? extends Auditable>, String> getLastUpdatedParts() {
+		return Collections.emptyMap();
 	}
 	
 	@Override
@@ -79,6 +189,36 @@ public abstract class BaseFhirDao<T extends OpenmrsObject & Auditable> extends B
 		return newEntry;
 	}
 	
+	@Override
+	public void createOrUpdateAll(Collection<T> newEntries) {
+		Session session = sessionFactory.getCurrentSession();
+		int flushInterval = getFlushInterval();
+		List<T> pending = new ArrayList<>(flushInterval);
+		
+		for (T newEntry : newEntries) {
+			session.saveOrUpdate(newEntry);
+			pending.add(newEntry);
+			
+			if (pending.size() == flushInterval) {
+				flushAndEvict(session, pending);
+			}
+		}
+		
+		if (!pending.isEmpty()) {
+			flushAndEvict(session, pending);
+		}
+	}
+	
+	// only the saved objects are evicted, as the caller may still be using other objects of the session
+	private static void flushAndEvict(Session session, List<?> saved) {
+		session.flush();
+		for (Object entry : saved) {
+			session.evict(entry);
+		}
+		
+		saved.clear();
+	}
+	
 	@Override
 	public T delete(String uuid) {
 		T existing = get(uuid);
@@ -101,41 +241,549 @@ public abstract class BaseFhirDao<T extends OpenmrsObject & Auditable> extends B
 		return existing;
 	}
 	
+	/**
+	 * Returns the uuids of all objects matching the search in a single {@code select distinct} query.
+	 * No ordering is applied; callers that need ordered pages should use
+	 * {@link #searchPage(SearchParameterMap, SearchCursor, int, int)} instead.
+	 */
 	@Override
 	@SuppressWarnings("unchecked")
 	public List<String> getResultUuids(SearchParameterMap theParams) {
 		Criteria criteria = sessionFactory.getCurrentSession().createCriteria(typeToken.getRawType());
-		DetachedCriteria detachedCriteria = DetachedCriteria.forClass(typeToken.getRawType());
-		Criteria detachedExecutableCriteria = detachedCriteria.getExecutableCriteria(sessionFactory.getCurrentSession());
+		setupSearch(criteria, theParams);
+		criteria.setProjection(Projections.distinct(Projections.property("uuid")));
+		
+		return RequestTimings.time(RequestTimings.Phase.SEARCH_QUERY, (Supplier<List<String>>) criteria::list);
+	}
+	
+	@Override
+	public Integer getPreferredPageSize() {
+		return globalPropertyService.getGlobalProperty(FhirConstants.OPENMRS_FHIR_DEFAULT_PAGE_SIZE, 10);
+	}
+	
+	@Override
+	public boolean isKeysetPagingEnabled() {
+		return Boolean.parseBoolean(globalPropertyService.getGlobalProperty(FhirConstants.OPENMRS_FHIR_KEYSET_PAGING));
+	}
+	
+	/**
+	 * Counts the matching objects with a single {@code count(distinct id)} query. No sorting is
+	 * applied and no identifiers are transferred. The query is marked as cacheable so that, where the
+	 * query cache is enabled, repeated searches are answered without touching the tables until one of
+	 * them is modified.
+	 */
+	@Override
+	public int getSearchResultsCount(SearchParameterMap theParams) {
+		Criteria criteria = sessionFactory.getCurrentSession().createCriteria(typeToken.getRawType());
+		setupSearch(criteria, theParams);
+		criteria.setProjection(Projections.countDistinct(getIdPropertyName()));
+		criteria.setCacheable(true);
+		
+		Number count = RequestTimings.time(RequestTimings.Phase.SEARCH_QUERY, () -> (Number) criteria.uniqueResult());
+		return count == null ? 0 : count.intValue();
+	}
+	
+	/**
+	 * For unfiltered searches on MySQL, the estimate is taken from the table statistics maintained by
+	 * the database, which does not require scanning the table. In all other cases there is no portable
+	 * source of estimates, so this falls back to {@link #getSearchResultsCount(SearchParameterMap)}.
+	 */
+	@Override
+	public int getSearchResultsCountEstimate(SearchParameterMap theParams) {
+		boolean unfiltered = theParams.getParameters().stream().flatMap(entry -> entry.getValue().stream())
+		        .allMatch(param -> param.getParam() == null);
+		
+		if (unfiltered && sessionFactory instanceof SessionFactoryImplementor
+		        && ((SessionFactoryImplementor) sessionFactory).getDialect() instanceof MySQLDialect) {
+			ClassMetadata metadata = sessionFactory.getClassMetadata(typeToken.getRawType());
+			if (metadata instanceof AbstractEntityPersister) {
+				Number estimate = (Number) sessionFactory.getCurrentSession()
+				        .createSQLQuery("select table_rows from information_schema.tables "
+				                + "where table_schema = database() and table_name = :tableName")
+				        .setParameter("tableName", ((AbstractEntityPersister) metadata).getTableName()).uniqueResult();
+				
+				if (estimate != null) {
+					return estimate.intValue();
+				}
+			}
+		}
+		
+		return getSearchResultsCount(theParams);
+	}
+	
+	/**
+	 * Selects the identifiers and sort keys of a single page of results, seeking past the supplied
+	 * cursor if there is one, and then loads the entities for that page by primary key. Both the
+	 * memory used and the number of rows read are proportional to the page size rather than the size
+	 * of the full result set.
+	 * <p>
+	 * Rows are ordered by the orderings requested for the search followed by the identifier so that
+	 * every row has a unique position. Rows whose sort values are null are placed where the database
+	 * places them, which is known for the common dialects (see {@link #sortsNullsLow()}); for any other
+	 * dialect sorted pages are fetched using {@code firstResult} instead, since a seek predicate could
+	 * skip or repeat the rows with null sort values. Sorts on
+	 * a collection must join at most one row of the collection per object (see
+	 * {@link #handleSortAddress(String, String)}), otherwise an object would take up several rows of
+	 * the page.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public KeysetPage<T> searchPage(SearchParameterMap theParams, SearchCursor cursor, int firstResult, int maxResults) {
+		String idProperty = getIdPropertyName();
+		
+		Criteria criteria = sessionFactory.getCurrentSession().createCriteria(typeToken.getRawType());
+		setupSearch(criteria, theParams);
+		List<Order> orders = handleSort(criteria, theParams.getSortSpec(), this::paramToProps)
+		        .orElse(Collections.emptyList());
 		
-		setupSearchParams(detachedExecutableCriteria, theParams);
-		handleSort(detachedExecutableCriteria, theParams.getSortSpec());
+		Boolean nullsLow = orders.isEmpty() ? Boolean.TRUE : sortsNullsLow();
+		if (nullsLow != null && cursor != null && cursor.getSortValues() != null
+		        && cursor.getSortValues().length == orders.size()) {
+			criteria.add(seekPast(orders, idProperty, cursor, nullsLow));
+		} else if (firstResult > 0) {
+			criteria.setFirstResult(firstResult);
+		}
 		
-		detachedCriteria.setProjection(Projections.property("uuid"));
+		ProjectionList projections = Projections.projectionList();
+		orders.forEach(order -> projections.add(Projections.property(order.getPropertyName())));
+		projections.add(Projections.property(idProperty));
+		criteria.setProjection(Projections.distinct(projections));
 		
-		criteria.add(Subqueries.propertyIn("uuid", detachedCriteria));
-		criteria.setProjection(Projections.groupProperty("uuid"));
+		orders.forEach(criteria::addOrder);
+		criteria.addOrder(Order.asc(idProperty));
+		criteria.setMaxResults(maxResults);
 		
-		return criteria.list();
+		List<Object> rows = RequestTimings.time(RequestTimings.Phase.SEARCH_QUERY, (Supplier<List<Object>>) criteria::list);
+		if (rows.isEmpty()) {
+			return new KeysetPage<>(Collections.emptyList(), null);
+		}
+		
+		List<Serializable> ids = new ArrayList<>(rows.size());
+		for (Object row : rows) {
+			ids.add(rowId(row));
+		}
+		
+		Map<Serializable, Integer> positions = new HashMap<>(ids.size());
+		for (int i = 0; i < ids.size(); i++) {
+			positions.putIfAbsent(ids.get(i), i);
+		}
+		
+		List<T> results = RequestTimings.time(RequestTimings.Phase.HYDRATION, () -> load(idProperty, ids));
+		results.sort(Comparator.comparing((T result) -> positions.get(getId(result))));
+		
+		Object lastRow = rows.get(rows.size() - 1);
+		return new KeysetPage<>(results, new SearchCursor(rowSortValues(lastRow), rowId(lastRow)));
 	}
 	
+	/**
+	 * Reads the identifiers of the matching objects through a forward-only database cursor and loads
+	 * the objects for each batch of identifiers by primary key. The session is flushed and cleared
+	 * once the consumer has processed each batch, so the memory used depends only on the batch size.
+	 */
 	@Override
-	public Integer getPreferredPageSize() {
-		return globalPropertyService.getGlobalProperty(FhirConstants.OPENMRS_FHIR_DEFAULT_PAGE_SIZE, 10);
+	@Transactional(readOnly = true)
+	public void scroll(SearchParameterMap theParams, int batchSize, Consumer<List<T>> consumer) {
+		String idProperty = getIdPropertyName();
+		
+		Criteria criteria = sessionFactory.getCurrentSession().createCriteria(typeToken.getRawType());
+		setupSearch(criteria, theParams);
+		criteria.setProjection(Projections.distinct(Projections.property(idProperty)));
+		criteria.addOrder(Order.asc(idProperty));
+		criteria.setFetchSize(batchSize);
+		criteria.setCacheMode(CacheMode.IGNORE);
+		criteria.setReadOnly(true);
+		
+		ScrollableResults results = criteria.scroll(ScrollMode.FORWARD_ONLY);
+		try {
+			List<Serializable> ids = new ArrayList<>(batchSize);
+			while (results.next()) {
+				ids.add((Serializable) results.get(0));
+				
+				if (ids.size() >= batchSize) {
+					consumeBatch(idProperty, ids, consumer);
+					ids.clear();
+				}
+			}
+			
+			if (!ids.isEmpty()) {
+				consumeBatch(idProperty, ids, consumer);
+			}
+		}
+		finally {
+			results.close();
+		}
+	}
+	
+	@Override
+	public void evict(Collection<T> objects) {
+		Session session = sessionFactory.getCurrentSession();
+		objects.forEach(session::evict);
 	}
 	
 	@SuppressWarnings("unchecked")
 	public Collection<T> search(SearchParameterMap theParams, List matchingResourceUuids, int firstResult, int lastResult) {
-		return createCriteria(theParams).add(in("uuid", matchingResourceUuids.subList(firstResult, lastResult))).list();
+		Criteria criteria = createCriteria(theParams)
+		        .add(in("uuid", matchingResourceUuids.subList(firstResult, lastResult)));
+		setupFetchPlan(criteria);
+		
+		List<T> results = criteria.setResultTransformer(Criteria.DISTINCT_ROOT_ENTITY).list();
+		initializeAssociations(results);
+		return results;
 	}
 	
 	protected Criteria createCriteria(SearchParameterMap theParams) {
 		Criteria criteria = sessionFactory.getCurrentSession().createCriteria(typeToken.getRawType());
-		setupSearchParams(criteria, theParams);
+		setupSearch(criteria, theParams);
 		handleSort(criteria, theParams.getSortSpec());
 		return criteria;
 	}
 	
+	/**
+	 * Handles the parameters which apply to every resource type, i.e. {@code _id} and
+	 * {@code _lastUpdated}. These are added with the {@link FhirConstants#COMMON_SEARCH_HANDLER} key
+	 * and the name of the parameter as the property name.
+	 *
+	 * @param criteria the criteria object representing this search
+	 * @param theParams the parameters for this search
+	 */
+	protected void handleCommonSearchParameters(Criteria criteria, SearchParameterMap theParams) {
+		for (PropParam<?> param : theParams.getParameters(FhirConstants.COMMON_SEARCH_HANDLER)) {
+			switch (param.getPropertyName()) {
+				case FhirConstants.ID_PROPERTY:
+					handleAndListParam((TokenAndListParam) param.getParam(),
+					    token -> Optional.of(eq("uuid", token.getValue()))).ifPresent(criteria::add);
+					break;
+				case FhirConstants.LAST_UPDATED_PROPERTY:
+					handleLastUpdated((DateRangeParam) param.getParam()).ifPresent(criteria::add);
+					break;
+			}
+		}
+	}
+	
+	/**
+	 * Matches objects on the date they were last updated, i.e. the latest of the date they were
+	 * created, changed, voided or retired. Rather than comparing against the coalesced value, each
+	 * bound is expanded into comparisons on the individual columns so that the indexes on those
+	 * columns can be used: an object was updated after a date if any of its audit dates is after it
+	 * and was updated before a date if all of its audit dates that are set are before it.
+	 *
+	 * @param lastUpdated the date range to match
+	 * @return a {@link Criterion} matching objects last updated in the given range
+	 */
+	protected Optional<Criterion> handleLastUpdated(DateRangeParam lastUpdated) {
+		if (lastUpdated == null) {
+			return Optional.empty();
+		}
+		
+		List<String> properties = getLastUpdatedProperties();
+		
+		List<DateParam> bounds = new ArrayList<>(2);
+		if (lastUpdated.getLowerBound() != null) {
+			bounds.add(lastUpdated.getLowerBound());
+		}
+		
+		// a DateRangeParam built from a single eq parameter uses the same object for both bounds
+		if (lastUpdated.getUpperBound() != null && lastUpdated.getUpperBound() != lastUpdated.getLowerBound()) {
+			bounds.add(lastUpdated.getUpperBound());
+		}
+		
+		Criterion[] criteria = bounds.stream().map(bound -> handleLastUpdated(properties, bound))
+		        .filter(Optional::isPresent).map(Optional::get).toArray(Criterion[]::new);
+		
+		if (criteria.length == 0) {
+			return Optional.empty();
+		}
+		
+		return Optional.of(criteria.length == 1 ? criteria[0] : and(criteria));
+	}
+	
+	private Optional<Criterion> handleLastUpdated(List<String> properties, DateParam bound) {
+		if (bound.getPrefix() == null) {
+			return handleLastUpdated(properties, new DateParam(ParamPrefixEnum.EQUAL, bound.getValueAsString()));
+		}
+		
+		switch (bound.getPrefix()) {
+			case GREATERTHAN:
+			case GREATERTHAN_OR_EQUALS:
+			case STARTS_AFTER:
+				return updatedAfter(properties, bound);
+			case LESSTHAN:
+			case LESSTHAN_OR_EQUALS:
+			case ENDS_BEFORE:
+				return updatedBefore(properties, bound);
+			case EQUAL:
+				return updatedBetween(properties, bound);
+			case NOT_EQUAL:
+				return updatedBetween(properties, bound).map(Restrictions::not);
+		}
+		
+		return Optional.empty();
+	}
+	
+	private Optional<Criterion> updatedBetween(List<String> properties, DateParam bound) {
+		Optional<Criterion> after = updatedAfter(properties,
+		    new DateParam(ParamPrefixEnum.GREATERTHAN_OR_EQUALS, bound.getValueAsString()));
+		Optional<Criterion> before = updatedBefore(properties,
+		    new DateParam(ParamPrefixEnum.LESSTHAN, bound.getValueAsString()));
+		
+		if (after.isPresent() && before.isPresent()) {
+			return Optional.of(and(after.get(), before.get()));
+		}
+		
+		return Optional.empty();
+	}
+	
+	private Optional<Criterion> updatedAfter(List<String> properties, DateParam bound) {
+		Criterion[] criteria = properties.stream().map(property -> handleDate(property, bound))
+		        .filter(Optional::isPresent).map(Optional::get).toArray(Criterion[]::new);
+		
+		return criteria.length == 0 ? Optional.empty() : Optional.of(or(criteria));
+	}
+	
+	private Optional<Criterion> updatedBefore(List<String> properties, DateParam bound) {
+		Criterion[] criteria = properties.stream()
+		        .map(property -> handleDate(property, bound)
+		                .map(criterion -> "dateCreated".equals(property) ? criterion : or(isNull(property), criterion)))
+		        .filter(Optional::isPresent).map(Optional::get).toArray(Criterion[]::new);
+		
+		return criteria.length == 0 ? Optional.empty() : Optional.of(and(criteria));
+	}
+	
+	/**
+	 * @return the audit date properties of this DAO's entity, which together determine when an object
+	 *         was last updated
+	 */
+	protected List<String> getLastUpdatedProperties() {
+		List<String> properties = new ArrayList<>(4);
+		for (String property : LAST_UPDATED_PROPERTIES) {
+			if (hasProperty(property)) {
+				properties.add(property);
+			}
+		}
+		
+		return properties;
+	}
+	
+	protected boolean hasProperty(String propertyName) {
+		return Arrays.asList(sessionFactory.getClassMetadata(typeToken.getRawType()).getPropertyNames())
+		        .contains(propertyName);
+	}
+	
+	protected String getIdPropertyName() {
+		return sessionFactory.getClassMetadata(typeToken.getRawType()).getIdentifierPropertyName();
+	}
+	
+	protected Serializable getId(T entity) {
+		return sessionFactory.getCurrentSession().getIdentifier(entity);
+	}
+	
+	protected int getFlushInterval() {
+		if (sessionFactory instanceof SessionFactoryImplementor) {
+			int batchSize = ((SessionFactoryImplementor) sessionFactory).getSettings().getJdbcBatchSize();
+			if (batchSize > 0) {
+				return batchSize;
+			}
+		}
+		
+		return DEFAULT_FLUSH_INTERVAL;
+	}
+	
+	private void consumeBatch(String idProperty, List<Serializable> ids, Consumer<List<T>> consumer) {
+		List<T> batch = load(idProperty, ids);
+		consumer.accept(batch);
+		
+		// translating the batch loads associated objects as well, so the whole session is cleared
+		Session session = sessionFactory.getCurrentSession();
+		session.flush();
+		session.clear();
+	}
+	
+	/**
+	 * Loads the objects with the given identifiers using the fetch plan for this type
+	 */
+	@SuppressWarnings("unchecked")
+	private List<T> load(String idProperty, List<Serializable> ids) {
+		Criteria criteria = sessionFactory.getCurrentSession().createCriteria(typeToken.getRawType())
+		        .add(in(idProperty, ids));
+		setupFetchPlan(criteria);
+		
+		List<T> results = criteria.setResultTransformer(Criteria.DISTINCT_ROOT_ENTITY).list();
+		initializeAssociations(results);
+		return results;
+	}
+	
+	private void setupSearch(Criteria criteria, SearchParameterMap theParams) {
+		setupSearchParams(criteria, theParams);
+		handleCommonSearchParameters(criteria, theParams);
+	}
+	
+	/**
+	 * Determines where the database places null values when sorting without an explicit
+	 * {@code nulls first} or {@code nulls last}, which Hibernate does not expose.
+	 *
+	 * @return true if nulls sort before every other value (i.e. first in ascending order), false if
+	 *         they sort after every other value, or null if this is not known for the dialect in use
+	 */
+	protected Boolean sortsNullsLow() {
+		if (!(sessionFactory instanceof SessionFactoryImplementor)) {
+			return null;
+		}
+		
+		Dialect dialect = ((SessionFactoryImplementor) sessionFactory).getDialect();
+		if (dialect instanceof MySQLDialect || dialect instanceof H2Dialect || dialect instanceof SQLServerDialect) {
+			return true;
+		} else if (dialect instanceof PostgreSQL81Dialect || dialect instanceof Oracle8iDialect) {
+			return false;
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Generates a criterion matching only rows which sort after the row identified by the cursor, i.e.
+	 * {@code (a > :a) or (a = :a and b > :b) or ... or (a = :a and b = :b and id > :id)} with the
+	 * comparison reversed for descending orderings. Null values are matched with {@code is null} and
+	 * sort before or after every other value, as given by {@code nullsLow}.
+	 */
+	private Criterion seekPast(List<Order> orders, String idProperty, SearchCursor cursor, boolean nullsLow) {
+		Object[] sortValues = cursor.getSortValues();
+		List<Criterion> alternatives = new ArrayList<>(orders.size() + 1);
+		
+		for (int i = 0; i <= orders.size(); i++) {
+			List<Criterion> terms = new ArrayList<>(i + 1);
+			for (int j = 0; j < i; j++) {
+				String propertyName = orders.get(j).getPropertyName();
+				terms.add(sortValues[j] == null ? isNull(propertyName) : eq(propertyName, sortValues[j]));
+			}
+			
+			if (i < orders.size()) {
+				Criterion after = sortsAfter(orders.get(i), sortValues[i], nullsLow);
+				if (after == null) {
+					continue;
+				}
+				
+				terms.add(after);
+			} else {
+				terms.add(gt(idProperty, cursor.getId()));
+			}
+			
+			alternatives.add(and(terms.toArray(new Criterion[0])));
+		}
+		
+		return or(alternatives.toArray(new Criterion[0]));
+	}
+	
+	/**
+	 * @return a criterion matching the values of the ordered property which sort after the given
+	 *         value, or null if no value does
+	 */
+	private static Criterion sortsAfter(Order order, Object value, boolean nullsLow) {
+		String propertyName = order.getPropertyName();
+		boolean nullsLast = order.isAscending() != nullsLow;
+		
+		if (value == null) {
+			return nullsLast ? null : isNotNull(propertyName);
+		}
+		
+		Criterion after = order.isAscending() ? gt(propertyName, value) : lt(propertyName, value);
+		return nullsLast ? or(after, isNull(propertyName)) : after;
+	}
+	
+	private static Serializable rowId(Object row) {
+		if (row instanceof Object[]) {
+			Object[] columns = (Object[]) row;
+			return (Serializable) columns[columns.length - 1];
+		}
+		
+		return (Serializable) row;
+	}
+	
+	private static Object[] rowSortValues(Object row) {
+		if (row instanceof Object[]) {
+			Object[] columns = (Object[]) row;
+			return Arrays.copyOf(columns, columns.length - 1);
+		}
+		
+		return new Object[0];
+	}
+	
+	/**
+	 * Initializes the named associations of all of the given entities with a single query, so that they
+	 * are not loaded one entity at a time while the results are being translated. Each call should
+	 * name at most one collection (and any associations reachable from it) to avoid cartesian products.
+	 *
+	 * @param entityClass the mapped class of the entities
+	 * @param entities the entities to initialize; these must be associated with the current session
+	 * @param associationPaths the paths of the associations to fetch, e.g. {@code "names"} or
+	 *            {@code "conceptMappings.conceptReferenceTerm"}
+	 */
+	protected void batchInitialize(Class<?> entityClass, Collection<?> entities, String... associationPaths) {
+		Session session = sessionFactory.getCurrentSession();
+		List<Serializable> ids = entities.stream().filter(Objects::nonNull).map(session::getIdentifier).distinct()
+		        .collect(Collectors.toList());
+		
+		if (ids.isEmpty()) {
+			return;
+		}
+		
+		Criteria criteria = session.createCriteria(entityClass)
+		        .add(in(sessionFactory.getClassMetadata(entityClass).getIdentifierPropertyName(), ids));
+		for (String associationPath : associationPaths) {
+			criteria.setFetchMode(associationPath, FetchMode.JOIN);
+		}
+		
+		criteria.setResultTransformer(Criteria.DISTINCT_ROOT_ENTITY).list();
+	}
+	
+	/**
+	 * Initializes what translating a concept reads: its class, names and mappings
+	 */
+	protected void initializeConcepts(Collection<Concept> concepts) {
+		batchInitialize(Concept.class, concepts, "conceptClass", "conceptMappings", "conceptMappings.conceptReferenceTerm",
+		    "conceptMappings.conceptReferenceTerm.conceptSource");
+		batchInitialize(Concept.class, concepts, "names");
+	}
+	
+	/**
+	 * Initializes what a reference to a person or patient reads: the names and, for patients, the
+	 * identifiers
+	 */
+	protected void initializePeople(Collection<? extends Person> people) {
+		batchInitialize(Person.class, people, "names");
+		batchInitialize(Patient.class, people.stream().filter(p -> p instanceof Patient).collect(Collectors.toList()),
+		    "identifiers", "identifiers.identifierType");
+	}
+	
+	/**
+	 * Initializes what a reference to a provider reads: the names of the provider's person
+	 */
+	protected void initializeProviders(Collection<Provider> providers) {
+		batchInitialize(Provider.class, providers, "person");
+		initializePeople(providers.stream().filter(Objects::nonNull).map(Provider::getPerson).filter(Objects::nonNull)
+		        .collect(Collectors.toList()));
+	}
+	
+	/**
+	 * This is intended to be overridden by subclasses to join-fetch the single-valued associations that
+	 * the translator for this resource uses when a page of results is loaded
+	 *
+	 * @param criteria the criteria used to load the results
+	 */
+	protected void setupFetchPlan(Criteria criteria) {
+		
+	}
+	
+	/**
+	 * This is intended to be overridden by subclasses to initialize the collections that the translator
+	 * for this resource uses, typically by calling
+	 * {@link #batchInitialize(Class, Collection, String...)} once per collection
+	 *
+	 * @param results the page of results that has just been loaded
+	 */
+	protected void initializeAssociations(List<T> results) {
+		
+	}
+	
 	/**
 	 * This is intended to be overridden by subclasses to implement any special handling they might
 	 * require
@@ -25,6 +25,7 @@ import static org.hl7.fhir.r4.model.Person.SP_NAME;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -38,6 +39,8 @@ import org.hibernate.criterion.Subqueries;
 import org.hibernate.sql.JoinType;
 import org.openmrs.Auditable;
 import org.openmrs.OpenmrsObject;
+import org.openmrs.Person;
+import org.openmrs.PersonAddress;
 import org.openmrs.PersonName;
 import org.openmrs.module.fhir2.FhirConstants;
 import org.openmrs.module.fhir2.api.search.param.PropParam;
@@ -51,6 +54,14 @@ public abstract class BasePersonDao<T extends OpenmrsObject & Auditable> extends
 	 */
 	protected abstract String getSqlAlias();
 	
+	@Override
+	protected Map<Class<? extends Auditable>, String> getLastUpdatedParts() {
+		Map<Class<? extends Auditable>, String> parts = new LinkedHashMap<>();
+		parts.put(PersonName.class, "person");
+		parts.put(PersonAddress.class, "person");
+		return parts;
+	}
+	
 	@Override
 	protected Collection<Order> paramToProps(SortState sortState) {
 		String param = sortState.getParameter();
@@ -60,8 +71,12 @@ public abstract class BasePersonDao<T extends OpenmrsObject & Auditable> extends
 		}
 		
 		Criteria criteria = sortState.getCriteria();
-		if (param.startsWith("address") && lacksAlias(criteria, "pad")) {
-			criteria.createAlias("addresses", "pad", JoinType.LEFT_OUTER_JOIN);
+		if (param.startsWith("address")) {
+			// sorting uses its own join, as joining every address of a person would return the person once per address
+			if (lacksAlias(criteria, "spad")) {
+				criteria.createAlias("addresses", "spad", JoinType.LEFT_OUTER_JOIN);
+				criteria.add(handleSortAddress("spad", getSqlAlias() + ".person_id"));
+			}
 		} else if (param.equals(SP_NAME) || param.equals(SP_GIVEN) || param.equals(SP_FAMILY)) {
 			if (lacksAlias(criteria, "pn")) {
 				criteria.createAlias("names", "pn", JoinType.LEFT_OUTER_JOIN);
@@ -117,13 +132,13 @@ public abstract class BasePersonDao<T extends OpenmrsObject & Auditable> extends
 			case SP_BIRTHDATE:
 				return "birthdate";
 			case SP_ADDRESS_CITY:
-				return "pad.cityVillage";
+				return "spad.cityVillage";
 			case SP_ADDRESS_STATE:
-				return "pad.stateProvince";
+				return "spad.stateProvince";
 			case SP_ADDRESS_POSTALCODE:
-				return "pad.postalCode";
+				return "spad.postalCode";
 			case SP_ADDRESS_COUNTRY:
-				return "pad.country";
+				return "spad.country";
 			default:
 				return null;
 		}
@@ -157,4 +172,9 @@ public abstract class BasePersonDao<T extends OpenmrsObject & Auditable> extends
 		});
 	}
 	
+	@Override
+	protected void initializeAssociations(List<T> results) {
+		batchInitialize(Person.class, results, "names");
+		batchInitialize(Person.class, results, "addresses");
+	}
 }
@@ -0,0 +1,92 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.dao.impl;
+
+import static org.hibernate.criterion.Restrictions.eq;
+import static org.hibernate.criterion.Restrictions.gt;
+import static org.hibernate.criterion.Restrictions.lt;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import lombok.AccessLevel;
+import lombok.Setter;
+import org.hibernate.SessionFactory;
+import org.hibernate.criterion.Projections;
+import org.openmrs.module.fhir2.FhirBulkExportJob;
+import org.openmrs.module.fhir2.api.dao.FhirBulkExportJobDao;
+import org.openmrs.module.fhir2.api.export.BulkExportJob;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+@Setter(AccessLevel.PACKAGE)
+public class FhirBulkExportJobDaoImpl implements FhirBulkExportJobDao {
+	
+	@Autowired
+	@Qualifier("sessionFactory")
+	private SessionFactory sessionFactory;
+	
+	@Override
+	@Transactional(readOnly = true)
+	public Optional<FhirBulkExportJob> getJob(String jobId) {
+		return Optional.ofNullable((FhirBulkExportJob) sessionFactory.getCurrentSession()
+		        .createCriteria(FhirBulkExportJob.class).add(eq("jobId", jobId)).add(gt("expires", new Date()))
+		        .uniqueResult());
+	}
+	
+	@Override
+	@Transactional(propagation = Propagation.REQUIRES_NEW)
+	public FhirBulkExportJob saveJob(FhirBulkExportJob job) {
+		if (job.getId() == null) {
+			job.setId((Integer) sessionFactory.getCurrentSession().createCriteria(FhirBulkExportJob.class)
+			        .add(eq("jobId", job.getJobId())).setProjection(Projections.id()).uniqueResult());
+		}
+		
+		return (FhirBulkExportJob) sessionFactory.getCurrentSession().merge(job);
+	}
+	
+	@Override
+	@Transactional(propagation = Propagation.REQUIRES_NEW)
+	public boolean updateProgress(String jobId, long exportedCount, Date expires) {
+		return sessionFactory.getCurrentSession()
+		        .createQuery("update FhirBulkExportJob j set j.exportedCount = :exportedCount, j.expires = :expires "
+		                + "where j.jobId = :jobId and j.status <> :cancelled")
+		        .setLong("exportedCount", exportedCount).setTimestamp("expires", expires).setString("jobId", jobId)
+		        .setString("cancelled", BulkExportJob.Status.CANCELLED.name()).executeUpdate() > 0;
+	}
+	
+	@Override
+	@Transactional
+	public void deleteJob(String jobId) {
+		sessionFactory.getCurrentSession().createQuery("delete from FhirBulkExportJob j where j.jobId = :jobId")
+		        .setString("jobId", jobId).executeUpdate();
+	}
+	
+	@Override
+	@Transactional
+	@SuppressWarnings("unchecked")
+	public List<String> purgeExpiredJobs(Date before) {
+		List<String> jobIds = sessionFactory.getCurrentSession().createCriteria(FhirBulkExportJob.class)
+		        .add(lt("expires", before)).setProjection(Projections.property("jobId")).list();
+		
+		if (!jobIds.isEmpty()) {
+			sessionFactory.getCurrentSession()
+			        .createQuery("delete from FhirBulkExportJob j where j.jobId in (:jobIds)")
+			        .setParameterList("jobIds", jobIds).executeUpdate();
+		}
+		
+		return jobIds;
+	}
+}
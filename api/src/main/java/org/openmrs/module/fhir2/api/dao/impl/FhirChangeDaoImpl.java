@@ -0,0 +1,55 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.dao.impl;
+
+import static org.hibernate.criterion.Restrictions.gt;
+
+import java.util.Date;
+import java.util.List;
+
+import lombok.AccessLevel;
+import lombok.Setter;
+import org.hibernate.Criteria;
+import org.hibernate.SessionFactory;
+import org.hibernate.criterion.Order;
+import org.openmrs.module.fhir2.FhirChange;
+import org.openmrs.module.fhir2.api.dao.FhirChangeDao;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+@Setter(AccessLevel.PACKAGE)
+public class FhirChangeDaoImpl implements FhirChangeDao {
+	
+	@Autowired
+	@Qualifier("sessionFactory")
+	private SessionFactory sessionFactory;
+	
+	@Override
+	@Transactional(readOnly = true)
+	@SuppressWarnings("unchecked")
+	public List<FhirChange> getChanges(Long since, int count) {
+		Criteria criteria = sessionFactory.getCurrentSession().createCriteria(FhirChange.class);
+		if (since != null) {
+			criteria.add(gt("id", since));
+		}
+		
+		return criteria.addOrder(Order.asc("id")).setMaxResults(count).list();
+	}
+	
+	@Override
+	@Transactional
+	public int purgeChanges(Date before) {
+		return sessionFactory.getCurrentSession().createQuery("delete from FhirChange c where c.dateChanged < :before")
+		        .setTimestamp("before", before).executeUpdate();
+	}
+}
@@ -16,6 +16,7 @@ import java.util.Optional;
 
 import lombok.AccessLevel;
 import lombok.Setter;
+import org.hibernate.FetchMode;
 import org.hibernate.SessionFactory;
 import org.openmrs.module.fhir2.FhirConceptSource;
 import org.openmrs.module.fhir2.api.dao.FhirConceptSourceDao;
@@ -36,7 +37,8 @@ public class FhirConceptSourceDaoImpl implements FhirConceptSourceDao {
 	@Transactional(readOnly = true)
 	@SuppressWarnings("unchecked")
 	public Collection<FhirConceptSource> getFhirConceptSources() {
-		return sessionFactory.getCurrentSession().createCriteria(FhirConceptSource.class).list();
+		return sessionFactory.getCurrentSession().createCriteria(FhirConceptSource.class)
+		        .setFetchMode("conceptSource", FetchMode.JOIN).list();
 	}
 	
 	@Override
@@ -52,4 +54,10 @@ public class FhirConceptSourceDaoImpl implements FhirConceptSourceDao {
 		                .createAlias("conceptSource", "conceptSource").add(eq("conceptSource.name", sourceName))
 		                .add(eq("conceptSource.retired", false)).add(eq("retired", false)).uniqueResult());
 	}
+	
+	@Override
+	public FhirConceptSource saveFhirConceptSource(FhirConceptSource fhirConceptSource) {
+		sessionFactory.getCurrentSession().saveOrUpdate(fhirConceptSource);
+		return fhirConceptSource;
+	}
 }
@@ -9,12 +9,18 @@
  */
 package org.openmrs.module.fhir2.api.dao.impl;
 
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
 import ca.uhn.fhir.rest.param.DateRangeParam;
 import ca.uhn.fhir.rest.param.ReferenceAndListParam;
 import lombok.AccessLevel;
 import lombok.Setter;
 import org.hibernate.Criteria;
+import org.hibernate.FetchMode;
 import org.openmrs.Encounter;
+import org.openmrs.EncounterProvider;
 import org.openmrs.module.fhir2.FhirConstants;
 import org.openmrs.module.fhir2.api.dao.FhirEncounterDao;
 import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
@@ -47,4 +53,23 @@ public class FhirEncounterDaoImpl extends BaseFhirDao<Encounter> implements Fhir
 			}
 		});
 	}
+	
+	@Override
+	public boolean hasCompleteFetchPlan() {
+		return true;
+	}
+	
+	@Override
+	protected void setupFetchPlan(Criteria criteria) {
+		criteria.setFetchMode("patient", FetchMode.JOIN).setFetchMode("location", FetchMode.JOIN);
+	}
+	
+	@Override
+	protected void initializeAssociations(List<Encounter> results) {
+		initializePeople(results.stream().map(Encounter::getPatient).filter(Objects::nonNull).collect(Collectors.toList()));
+		
+		batchInitialize(Encounter.class, results, "encounterProviders", "encounterProviders.provider");
+		initializeProviders(results.stream().flatMap(encounter -> encounter.getEncounterProviders().stream())
+		        .map(EncounterProvider::getProvider).filter(Objects::nonNull).collect(Collectors.toList()));
+	}
 }
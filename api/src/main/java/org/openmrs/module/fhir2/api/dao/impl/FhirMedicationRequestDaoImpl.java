@@ -9,11 +9,17 @@
  */
 package org.openmrs.module.fhir2.api.dao.impl;
 
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
 import ca.uhn.fhir.rest.param.ReferenceAndListParam;
 import ca.uhn.fhir.rest.param.TokenAndListParam;
 import lombok.AccessLevel;
 import lombok.Setter;
 import org.hibernate.Criteria;
+import org.hibernate.FetchMode;
 import org.openmrs.DrugOrder;
 import org.openmrs.module.fhir2.FhirConstants;
 import org.openmrs.module.fhir2.api.dao.FhirMedicationRequestDao;
@@ -61,4 +67,21 @@ public class FhirMedicationRequestDaoImpl extends BaseFhirDao<DrugOrder> impleme
 		}
 	}
 	
+	@Override
+	public boolean hasCompleteFetchPlan() {
+		return true;
+	}
+	
+	@Override
+	protected void setupFetchPlan(Criteria criteria) {
+		criteria.setFetchMode("drug", FetchMode.JOIN).setFetchMode("orderer", FetchMode.JOIN)
+		        .setFetchMode("orderReason", FetchMode.JOIN).setFetchMode("route", FetchMode.JOIN);
+	}
+	
+	@Override
+	protected void initializeAssociations(List<DrugOrder> results) {
+		initializeConcepts(results.stream().flatMap(order -> Stream.of(order.getOrderReason(), order.getRoute()))
+		        .filter(Objects::nonNull).collect(Collectors.toList()));
+		initializeProviders(results.stream().map(DrugOrder::getOrderer).collect(Collectors.toList()));
+	}
 }
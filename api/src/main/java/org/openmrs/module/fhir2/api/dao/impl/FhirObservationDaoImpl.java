@@ -13,7 +13,11 @@ import static org.hibernate.criterion.Restrictions.eq;
 
 import javax.validation.constraints.NotNull;
 
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import ca.uhn.fhir.rest.param.DateRangeParam;
 import ca.uhn.fhir.rest.param.QuantityAndListParam;
@@ -23,6 +27,7 @@ import ca.uhn.fhir.rest.param.StringAndListParam;
 import ca.uhn.fhir.rest.param.TokenAndListParam;
 import ca.uhn.fhir.rest.param.TokenParam;
 import org.hibernate.Criteria;
+import org.hibernate.FetchMode;
 import org.hibernate.criterion.Criterion;
 import org.hl7.fhir.r4.model.Observation;
 import org.openmrs.Obs;
@@ -30,6 +35,7 @@ import org.openmrs.module.fhir2.FhirConstants;
 import org.openmrs.module.fhir2.api.dao.FhirObservationDao;
 import org.openmrs.module.fhir2.api.mappings.ObservationCategoryMap;
 import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
+import org.openmrs.module.fhir2.api.translators.RequestedElementsHolder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -151,6 +157,42 @@ public class FhirObservationDaoImpl extends BaseFhirDao<Obs> implements FhirObse
 		}
 	}
 	
+	@Override
+	protected void setupFetchPlan(Criteria criteria) {
+		criteria.setFetchMode("concept", FetchMode.JOIN).setFetchMode("valueCoded", FetchMode.JOIN);
+		
+		if (RequestedElementsHolder.isRequested("encounter")) {
+			criteria.setFetchMode("encounter", FetchMode.JOIN);
+		}
+		
+		if (RequestedElementsHolder.isRequested("subject")) {
+			criteria.setFetchMode("person", FetchMode.JOIN);
+		}
+		
+		if (RequestedElementsHolder.isRequested("basedOn")) {
+			criteria.setFetchMode("order", FetchMode.JOIN);
+		}
+	}
+	
+	@Override
+	public boolean hasCompleteFetchPlan() {
+		return true;
+	}
+	
+	@Override
+	protected void initializeAssociations(List<Obs> results) {
+		initializeConcepts(results.stream().flatMap(obs -> Stream.of(obs.getConcept(), obs.getValueCoded()))
+		        .filter(Objects::nonNull).collect(Collectors.toList()));
+		
+		if (RequestedElementsHolder.isRequested("subject")) {
+			initializePeople(results.stream().map(Obs::getPerson).collect(Collectors.toList()));
+		}
+		
+		if (RequestedElementsHolder.isRequested("hasMember")) {
+			batchInitialize(Obs.class, results, "groupMembers");
+		}
+	}
+	
 	@Override
 	protected String paramToProp(String paramName) {
 		if ("date".equals(paramName)) {
@@ -0,0 +1,58 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.dao.impl;
+
+import static org.hibernate.criterion.Restrictions.eq;
+import static org.hibernate.criterion.Restrictions.gt;
+
+import java.util.Date;
+import java.util.Optional;
+
+import lombok.AccessLevel;
+import lombok.Setter;
+import org.hibernate.SessionFactory;
+import org.openmrs.module.fhir2.FhirPagedSearch;
+import org.openmrs.module.fhir2.api.dao.FhirPagedSearchDao;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+@Setter(AccessLevel.PACKAGE)
+public class FhirPagedSearchDaoImpl implements FhirPagedSearchDao {
+	
+	@Autowired
+	@Qualifier("sessionFactory")
+	private SessionFactory sessionFactory;
+	
+	@Override
+	@Transactional(readOnly = true)
+	public Optional<FhirPagedSearch> getPagedSearch(String searchId) {
+		return Optional.ofNullable((FhirPagedSearch) sessionFactory.getCurrentSession()
+		        .createCriteria(FhirPagedSearch.class).add(eq("searchId", searchId)).add(gt("expires", new Date()))
+		        .uniqueResult());
+	}
+	
+	@Override
+	@Transactional
+	public FhirPagedSearch savePagedSearch(FhirPagedSearch pagedSearch) {
+		sessionFactory.getCurrentSession().saveOrUpdate(pagedSearch);
+		return pagedSearch;
+	}
+	
+	@Override
+	@Transactional
+	public int purgeExpiredSearches(Date before) {
+		return sessionFactory.getCurrentSession()
+		        .createQuery("delete from FhirPagedSearch s where s.expires < :before").setTimestamp("before", before)
+		        .executeUpdate();
+	}
+}
@@ -11,10 +11,14 @@ package org.openmrs.module.fhir2.api.dao.impl;
 
 import static org.hibernate.criterion.Restrictions.and;
 import static org.hibernate.criterion.Restrictions.eq;
+import static org.hibernate.criterion.Restrictions.in;
 import static org.hibernate.criterion.Restrictions.or;
 import static org.hl7.fhir.r4.model.Patient.SP_DEATH_DATE;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 
 import ca.uhn.fhir.rest.param.DateRangeParam;
@@ -23,7 +27,10 @@ import ca.uhn.fhir.rest.param.TokenAndListParam;
 import lombok.AccessLevel;
 import lombok.Setter;
 import org.hibernate.Criteria;
+import org.hibernate.criterion.Projections;
+import org.openmrs.Auditable;
 import org.openmrs.Patient;
+import org.openmrs.PatientIdentifier;
 import org.openmrs.PatientIdentifierType;
 import org.openmrs.module.fhir2.FhirConstants;
 import org.openmrs.module.fhir2.api.dao.FhirPatientDao;
@@ -41,6 +48,17 @@ public class FhirPatientDaoImpl extends BasePersonDao<Patient> implements FhirPa
 		        .uniqueResult();
 	}
 	
+	@Override
+	@SuppressWarnings("unchecked")
+	public List<String> getPatientUuidsByIds(Collection<Integer> ids) {
+		if (ids.isEmpty()) {
+			return Collections.emptyList();
+		}
+		
+		return getSessionFactory().getCurrentSession().createCriteria(Patient.class).add(in("patientId", ids))
+		        .setProjection(Projections.property("uuid")).list();
+	}
+	
 	@Override
 	@SuppressWarnings("unchecked")
 	public PatientIdentifierType getPatientIdentifierTypeByNameOrUuid(String name, String uuid) {
@@ -99,6 +117,13 @@ public class FhirPatientDaoImpl extends BasePersonDao<Patient> implements FhirPa
 		return "this_1_";
 	}
 	
+	@Override
+	protected Map<Class<? extends Auditable>, String> getLastUpdatedParts() {
+		Map<Class<? extends Auditable>, String> parts = super.getLastUpdatedParts();
+		parts.put(PatientIdentifier.class, "patient");
+		return parts;
+	}
+	
 	@Override
 	protected String paramToProp(String param) {
 		if (param.equalsIgnoreCase(SP_DEATH_DATE)) {
@@ -128,4 +153,10 @@ public class FhirPatientDaoImpl extends BasePersonDao<Patient> implements FhirPa
 		
 		handleNames(criteria, name, given, family);
 	}
+	
+	@Override
+	protected void initializeAssociations(List<Patient> results) {
+		super.initializeAssociations(results);
+		batchInitialize(Patient.class, results, "identifiers", "identifiers.identifierType");
+	}
 }
@@ -85,8 +85,12 @@ public class FhirRelatedPersonDaoImpl extends BaseFhirDao<Relationship> implemen
 		}
 		
 		Criteria criteria = sortState.getCriteria();
-		if (param.startsWith("address") && lacksAlias(criteria, "pad")) {
-			criteria.createAlias("m.addresses", "pad", JoinType.LEFT_OUTER_JOIN);
+		if (param.startsWith("address")) {
+			// sorting uses its own join, as joining every address of a person would return the person once per address
+			if (lacksAlias(criteria, "spad")) {
+				criteria.createAlias("m.addresses", "spad", JoinType.LEFT_OUTER_JOIN);
+				criteria.add(handleSortAddress("spad", "this_.person_a"));
+			}
 		} else if (param.equals(SP_NAME) || param.equals(SP_GIVEN) || param.equals(SP_FAMILY)) {
 			if (lacksAlias(criteria, "pn")) {
 				criteria.createAlias("m.names", "pn", JoinType.LEFT_OUTER_JOIN);
@@ -140,13 +144,13 @@ public class FhirRelatedPersonDaoImpl extends BaseFhirDao<Relationship> implemen
 			case SP_BIRTHDATE:
 				return "m.birthdate";
 			case SP_ADDRESS_CITY:
-				return "pad.cityVillage";
+				return "spad.cityVillage";
 			case SP_ADDRESS_STATE:
-				return "pad.stateProvince";
+				return "spad.stateProvince";
 			case SP_ADDRESS_POSTALCODE:
-				return "pad.postalCode";
+				return "spad.postalCode";
 			case SP_ADDRESS_COUNTRY:
-				return "pad.country";
+				return "spad.country";
 			default:
 				return null;
 		}
@@ -0,0 +1,69 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.dao.impl;
+
+import static org.hibernate.criterion.Restrictions.eq;
+
+import java.util.List;
+import java.util.Optional;
+
+import lombok.AccessLevel;
+import lombok.Setter;
+import org.hibernate.SessionFactory;
+import org.hibernate.criterion.Order;
+import org.hibernate.criterion.Projections;
+import org.openmrs.module.fhir2.FhirResourceVersion;
+import org.openmrs.module.fhir2.api.dao.FhirResourceVersionDao;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+@Setter(AccessLevel.PACKAGE)
+public class FhirResourceVersionDaoImpl implements FhirResourceVersionDao {
+	
+	@Autowired
+	@Qualifier("sessionFactory")
+	private SessionFactory sessionFactory;
+	
+	@Override
+	@Transactional(readOnly = true)
+	public Optional<FhirResourceVersion> getVersion(String resourceType, String resourceUuid, int versionNumber) {
+		return Optional.ofNullable((FhirResourceVersion) sessionFactory.getCurrentSession()
+		        .createCriteria(FhirResourceVersion.class).add(eq("resourceType", resourceType))
+		        .add(eq("resourceUuid", resourceUuid)).add(eq("versionNumber", versionNumber)).uniqueResult());
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public int getLatestVersionNumber(String resourceType, String resourceUuid) {
+		Number latest = (Number) sessionFactory.getCurrentSession().createCriteria(FhirResourceVersion.class)
+		        .add(eq("resourceType", resourceType)).add(eq("resourceUuid", resourceUuid))
+		        .setProjection(Projections.max("versionNumber")).uniqueResult();
+		return latest == null ? 0 : latest.intValue();
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	@SuppressWarnings("unchecked")
+	public List<FhirResourceVersion> getVersions(String resourceType, String resourceUuid) {
+		return sessionFactory.getCurrentSession().createCriteria(FhirResourceVersion.class)
+		        .add(eq("resourceType", resourceType)).add(eq("resourceUuid", resourceUuid))
+		        .addOrder(Order.desc("versionNumber")).list();
+	}
+	
+	@Override
+	@Transactional
+	public FhirResourceVersion saveVersion(FhirResourceVersion version) {
+		sessionFactory.getCurrentSession().save(version);
+		return version;
+	}
+}
@@ -9,8 +9,14 @@
  */
 package org.openmrs.module.fhir2.api.dao.impl;
 
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
 import lombok.AccessLevel;
 import lombok.Setter;
+import org.hibernate.Criteria;
+import org.hibernate.FetchMode;
 import org.openmrs.TestOrder;
 import org.openmrs.module.fhir2.api.dao.FhirServiceRequestDao;
 import org.springframework.stereotype.Component;
@@ -19,4 +25,16 @@ import org.springframework.stereotype.Component;
 @Setter(AccessLevel.PACKAGE)
 public class FhirServiceRequestDaoImpl extends BaseFhirDao<TestOrder> implements FhirServiceRequestDao<TestOrder> {
 	
+	@Override
+	protected void setupFetchPlan(Criteria criteria) {
+		criteria.setFetchMode("concept", FetchMode.JOIN).setFetchMode("patient", FetchMode.JOIN)
+		        .setFetchMode("orderer", FetchMode.JOIN);
+	}
+	
+	@Override
+	protected void initializeAssociations(List<TestOrder> results) {
+		initializeConcepts(results.stream().map(TestOrder::getConcept).filter(Objects::nonNull).collect(Collectors.toList()));
+		initializePeople(results.stream().map(TestOrder::getPatient).filter(Objects::nonNull).collect(Collectors.toList()));
+		initializeProviders(results.stream().map(TestOrder::getOrderer).collect(Collectors.toList()));
+	}
 }
@@ -15,7 +15,11 @@ import static org.hibernate.criterion.Restrictions.eq;
 import javax.validation.constraints.NotNull;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import ca.uhn.fhir.rest.param.ReferenceAndListParam;
@@ -28,6 +32,7 @@ import org.hibernate.Criteria;
 import org.hibernate.criterion.Criterion;
 import org.openmrs.api.db.DAOException;
 import org.openmrs.module.fhir2.FhirConstants;
+import org.openmrs.module.fhir2.FhirReference;
 import org.openmrs.module.fhir2.FhirTask;
 import org.openmrs.module.fhir2.api.dao.FhirTaskDao;
 import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
@@ -70,6 +75,39 @@ public class FhirTaskDaoImpl extends BaseFhirDao<FhirTask> implements FhirTaskDa
 		return task;
 	}
 	
+	@Override
+	@SuppressWarnings("unchecked")
+	public Map<String, List<FhirTask>> getTasksByBasedOnReferences(@NotNull String type,
+	        @NotNull Collection<String> references) {
+		if (references.isEmpty()) {
+			return Collections.emptyMap();
+		}
+		
+		// only the columns needed are selected, so that no task or reference is hydrated
+		List<Object[]> rows = getSessionFactory().getCurrentSession()
+		        .createQuery("select bo.reference, t.uuid, t.status, o.type, o.reference from FhirTask t "
+		                + "join t.basedOnReferences bo left join t.ownerReference o "
+		                + "where bo.type = :type and bo.reference in (:references) order by t.dateCreated, t.id")
+		        .setString("type", type).setParameterList("references", references).list();
+		
+		Map<String, List<FhirTask>> result = new LinkedHashMap<>();
+		for (Object[] row : rows) {
+			FhirTask task = new FhirTask();
+			task.setUuid((String) row[1]);
+			task.setStatus((FhirTask.TaskStatus) row[2]);
+			if (row[3] != null || row[4] != null) {
+				FhirReference owner = new FhirReference();
+				owner.setType((String) row[3]);
+				owner.setReference((String) row[4]);
+				task.setOwnerReference(owner);
+			}
+			
+			result.computeIfAbsent((String) row[0], k -> new ArrayList<>()).add(task);
+		}
+		
+		return result;
+	}
+	
 	@Override
 	protected String paramToProp(@NotNull String paramName) {
 		switch (paramName) {
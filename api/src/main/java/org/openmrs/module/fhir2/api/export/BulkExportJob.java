@@ -0,0 +1,116 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.export;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Tracks the state and output of a single Bulk Data {@code $export} request. Jobs are run in the
+ * background; their status is updated as they progress and may be read by other threads at any
+ * time.
+ */
+@Getter
+public class BulkExportJob {
+	
+	public enum Level {
+		SYSTEM,
+		PATIENT,
+		GROUP
+	}
+	
+	public enum Status {
+		ACCEPTED,
+		IN_PROGRESS,
+		COMPLETED,
+		ERROR,
+		CANCELLED
+	}
+	
+	/**
+	 * A single file written by an export
+	 */
+	@Data
+	@AllArgsConstructor
+	public static class Output {
+		
+		private String resourceType;
+		
+		private String fileName;
+		
+		private long count;
+	}
+	
+	private final String id;
+	
+	private final String request;
+	
+	/**
+	 * The uuid of the user who requested the export, the only one besides super users who may read it
+	 */
+	private final String requestedBy;
+	
+	private final Level level;
+	
+	private final String groupId;
+	
+	private final Set<String> resourceTypes;
+	
+	private final Date since;
+	
+	private final Date transactionTime;
+	
+	private final AtomicLong exportedCount = new AtomicLong();
+	
+	private final List<Output> outputs = new CopyOnWriteArrayList<>();
+	
+	@Setter
+	private volatile Status status = Status.ACCEPTED;
+	
+	@Setter
+	private volatile Date completedTime;
+	
+	@Setter
+	private volatile String errorMessage;
+	
+	public BulkExportJob(String request, String requestedBy, Level level, String groupId, Set<String> resourceTypes,
+	        Date since) {
+		this(UUID.randomUUID().toString(), request, requestedBy, level, groupId, resourceTypes, since, new Date());
+	}
+	
+	/**
+	 * Restores a job that was started earlier, possibly on another node
+	 */
+	public BulkExportJob(String id, String request, String requestedBy, Level level, String groupId,
+	        Set<String> resourceTypes, Date since, Date transactionTime) {
+		this.id = id;
+		this.transactionTime = transactionTime;
+		this.request = request;
+		this.requestedBy = requestedBy;
+		this.level = level;
+		this.groupId = groupId;
+		this.resourceTypes = Collections.unmodifiableSet(resourceTypes);
+		this.since = since;
+	}
+	
+	public boolean isFinished() {
+		return status == Status.COMPLETED || status == Status.ERROR || status == Status.CANCELLED;
+	}
+}
@@ -9,26 +9,107 @@
  */
 package org.openmrs.module.fhir2.api.impl;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+
 import ca.uhn.fhir.rest.server.exceptions.InvalidRequestException;
 import ca.uhn.fhir.rest.server.exceptions.MethodNotAllowedException;
+import com.google.common.reflect.TypeToken;
+import lombok.AccessLevel;
+import lombok.Setter;
 import org.hl7.fhir.instance.model.api.IAnyResource;
 import org.openmrs.Auditable;
 import org.openmrs.OpenmrsObject;
+import org.openmrs.module.fhir2.api.FhirHistoryService;
 import org.openmrs.module.fhir2.api.FhirService;
 import org.openmrs.module.fhir2.api.dao.FhirDao;
+import org.openmrs.module.fhir2.api.metrics.RequestTimings;
 import org.openmrs.module.fhir2.api.translators.OpenmrsFhirTranslator;
 import org.openmrs.module.fhir2.api.translators.UpdatableOpenmrsTranslator;
+import org.openmrs.module.fhir2.api.util.FhirUtils;
+import org.springframework.beans.factory.annotation.Autowired;
 
+@SuppressWarnings("UnstableApiUsage")
 public abstract class BaseFhirService<T extends IAnyResource, U extends OpenmrsObject & Auditable> implements FhirService<T> {
 	
+	private final TypeToken<T> resourceType = new TypeToken<T>(getClass()) {
+		
+	};
+	
+	@Autowired(required = false)
+	@Setter(AccessLevel.PACKAGE)
+	private FhirHistoryService historyService;
+	
 	@Override
 	public T get(String uuid) {
-		return getTranslator().toFhirResource(getDao().get(uuid));
+		U object = getDao().get(uuid);
+		return RequestTimings.time(RequestTimings.Phase.TRANSLATION, () -> getTranslator().toFhirResource(object));
+	}
+	
+	@Override
+	public Date getLastUpdated(String uuid) {
+		return getDao().getLastUpdated(uuid);
+	}
+	
+	/**
+	 * Returns the stored version with the given id or, if there is none, the current state of the
+	 * resource when the given id is the version id it is read with.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public T getVersion(String uuid, String versionId) {
+		if (historyService != null) {
+			T version = historyService.getVersion((Class<T>) resourceType.getRawType(), uuid, versionId);
+			if (version != null) {
+				return version;
+			}
+		}
+		
+		T current = get(uuid);
+		if (current != null && versionId.equals(current.getMeta().getVersionId())) {
+			return current;
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Returns the stored versions of the resource, preceded by its current state if that was not
+	 * written through the FHIR API and so is not stored yet.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public List<T> getHistory(String uuid) {
+		T current = get(uuid);
+		if (current == null) {
+			return Collections.emptyList();
+		}
+		
+		if (current.getMeta().getLastUpdated() == null) {
+			Date lastUpdated = getDao().getLastUpdated(uuid);
+			current.getMeta().setLastUpdated(lastUpdated);
+			current.getMeta().setVersionId(FhirUtils.getVersionId(lastUpdated));
+		}
+		
+		List<T> history = new ArrayList<>();
+		if (historyService != null) {
+			history.addAll(historyService.getHistory((Class<T>) resourceType.getRawType(), uuid));
+		}
+		
+		if (history.isEmpty() || !isSameVersion(history.get(0), current)) {
+			history.add(0, current);
+		}
+		
+		return history;
 	}
 	
 	@Override
 	public T create(T newResource) {
-		return getTranslator().toFhirResource(getDao().createOrUpdate(getTranslator().toOpenmrsType(newResource)));
+		U created = getDao().createOrUpdate(getTranslator().toOpenmrsType(newResource));
+		return saveVersion(created, getTranslator().toFhirResource(created));
 	}
 	
 	@Override
@@ -58,16 +139,47 @@ public abstract class BaseFhirService<T extends IAnyResource, U extends OpenmrsO
 		
 		if (translator instanceof UpdatableOpenmrsTranslator) {
 			UpdatableOpenmrsTranslator<U, T> updatableOpenmrsTranslator = (UpdatableOpenmrsTranslator<U, T>) translator;
-			return translator.toFhirResource(
-			    getDao().createOrUpdate(updatableOpenmrsTranslator.toOpenmrsType(existingObject, updatedResource)));
+			U updated = getDao()
+			        .createOrUpdate(updatableOpenmrsTranslator.toOpenmrsType(existingObject, updatedResource));
+			return saveVersion(updated, translator.toFhirResource(updated));
 		} else {
-			return translator.toFhirResource(getDao().createOrUpdate(translator.toOpenmrsType(updatedResource)));
+			U updated = getDao().createOrUpdate(translator.toOpenmrsType(updatedResource));
+			return saveVersion(updated, translator.toFhirResource(updated));
 		}
 	}
 	
 	@Override
 	public T delete(String uuid) {
-		return getTranslator().toFhirResource(getDao().delete(uuid));
+		U deleted = getDao().delete(uuid);
+		return saveVersion(deleted, getTranslator().toFhirResource(deleted));
+	}
+	
+	/**
+	 * Stores the version of the resource just written, which is given the next version number of the
+	 * resource. The audit dates of the object are read back from the database, which also flushes the
+	 * write, so that {@code meta.lastUpdated} matches the one computed when the resource is read later.
+	 */
+	protected T saveVersion(U object, T resource) {
+		if (historyService == null || object == null || resource == null) {
+			return resource;
+		}
+		
+		Date lastUpdated = getDao().getLastUpdated(object.getUuid());
+		resource.getMeta().setLastUpdated(lastUpdated != null ? lastUpdated : new Date());
+		historyService.saveVersion(resource);
+		
+		return resource;
+	}
+	
+	private static boolean isSameVersion(IAnyResource stored, IAnyResource current) {
+		if (Objects.equals(stored.getMeta().getVersionId(), current.getMeta().getVersionId())) {
+			return true;
+		}
+		
+		Date storedLastUpdated = stored.getMeta().getLastUpdated();
+		Date currentLastUpdated = current.getMeta().getLastUpdated();
+		return storedLastUpdated != null && currentLastUpdated != null
+		        && storedLastUpdated.getTime() == currentLastUpdated.getTime();
 	}
 	
 	protected abstract FhirDao<U> getDao();
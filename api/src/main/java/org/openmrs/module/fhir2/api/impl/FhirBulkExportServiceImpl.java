@@ -0,0 +1,501 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.impl;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+import ca.uhn.fhir.context.FhirContext;
+import ca.uhn.fhir.parser.IParser;
+import ca.uhn.fhir.rest.param.DateParam;
+import ca.uhn.fhir.rest.param.DateRangeParam;
+import ca.uhn.fhir.rest.param.ParamPrefixEnum;
+import ca.uhn.fhir.rest.param.ReferenceAndListParam;
+import ca.uhn.fhir.rest.param.ReferenceOrListParam;
+import ca.uhn.fhir.rest.param.ReferenceParam;
+import ca.uhn.fhir.rest.param.TokenAndListParam;
+import ca.uhn.fhir.rest.param.TokenOrListParam;
+import ca.uhn.fhir.rest.param.TokenParam;
+import ca.uhn.fhir.rest.server.exceptions.InvalidRequestException;
+import ca.uhn.fhir.rest.server.exceptions.ResourceNotFoundException;
+import com.google.common.collect.Lists;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.openmrs.Auditable;
+import org.openmrs.Cohort;
+import org.openmrs.OpenmrsObject;
+import org.openmrs.User;
+import org.openmrs.api.context.Context;
+import org.openmrs.api.context.Daemon;
+import org.openmrs.module.fhir2.FhirActivator;
+import org.openmrs.module.fhir2.FhirBulkExportJob;
+import org.openmrs.module.fhir2.FhirConstants;
+import org.openmrs.module.fhir2.api.FhirBulkExportService;
+import org.openmrs.module.fhir2.api.dao.FhirBulkExportJobDao;
+import org.openmrs.module.fhir2.api.dao.FhirDao;
+import org.openmrs.module.fhir2.api.dao.FhirEncounterDao;
+import org.openmrs.module.fhir2.api.dao.FhirObservationDao;
+import org.openmrs.module.fhir2.api.dao.FhirPatientDao;
+import org.openmrs.module.fhir2.api.export.BulkExportJob;
+import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
+import org.openmrs.module.fhir2.api.translators.BulkToFhirTranslator;
+import org.openmrs.module.fhir2.api.translators.EncounterTranslator;
+import org.openmrs.module.fhir2.api.translators.ObservationTranslator;
+import org.openmrs.module.fhir2.api.translators.PatientTranslator;
+import org.openmrs.module.fhir2.api.translators.ToFhirTranslator;
+import org.openmrs.util.OpenmrsUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs each export on a daemon thread, separately from the threads serving interactive requests.
+ * Every resource type is read with {@link FhirDao#scroll}, so the number of resources held in memory
+ * at once is bounded by the batch size, and written to {@code <type>.ndjson.gz} in a directory for the
+ * job inside the application data directory.
+ * <p>
+ * The state of each job is stored in the {@code fhir_bulk_export_job} table, so it can be polled
+ * from any node and after a restart. A job can only be read, downloaded or cancelled by the user who
+ * started it or by a super user; to anyone else it does not exist. Jobs expire, along with their
+ * files, a day after they were last updated; a job whose node stopped while it was running is
+ * therefore reported as in progress until it expires.
+ */
+@Slf4j
+@Component
+@Setter(AccessLevel.PACKAGE)
+public class FhirBulkExportServiceImpl implements FhirBulkExportService {
+	
+	private static final int BATCH_SIZE = 100;
+	
+	private static final int PATIENT_BATCH_SIZE = 500;
+	
+	private static final int MAX_RUNNING_EXPORTS = 2;
+	
+	private static final long JOB_RETENTION_MILLIS = TimeUnit.DAYS.toMillis(1);
+	
+	private static final String OUTPUT_DIRECTORY = "fhir2" + File.separator + "export";
+	
+	private static final String OUTPUT_EXTENSION = ".ndjson.gz";
+	
+	@Autowired
+	@Qualifier("fhirR4")
+	private FhirContext fhirContext;
+	
+	@Autowired
+	private FhirPatientDao patientDao;
+	
+	@Autowired
+	private PatientTranslator patientTranslator;
+	
+	@Autowired
+	private FhirEncounterDao encounterDao;
+	
+	@Autowired
+	private EncounterTranslator encounterTranslator;
+	
+	@Autowired
+	private FhirObservationDao observationDao;
+	
+	@Autowired
+	private ObservationTranslator observationTranslator;
+	
+	@Autowired
+	private FhirBulkExportJobDao jobDao;
+	
+	private Executor executor = task -> Daemon.runInDaemonThread(task, FhirActivator.getDaemonToken());
+	
+	private File outputDirectory;
+	
+	private final Semaphore runningExports = new Semaphore(MAX_RUNNING_EXPORTS);
+	
+	/**
+	 * The jobs running on this node, whose progress is only written to the database once per batch
+	 */
+	private final Map<String, BulkExportJob> runningJobs = new ConcurrentHashMap<>();
+	
+	@Override
+	public Set<String> getSupportedResourceTypes() {
+		return getExportedTypes().keySet();
+	}
+	
+	@Override
+	public BulkExportJob startExport(String request, BulkExportJob.Level level, String groupId, Set<String> resourceTypes,
+	        Date since) {
+		Set<String> supportedResourceTypes = getSupportedResourceTypes();
+		if (resourceTypes == null || resourceTypes.isEmpty()) {
+			resourceTypes = supportedResourceTypes;
+		}
+		
+		for (String resourceType : resourceTypes) {
+			if (!supportedResourceTypes.contains(resourceType)) {
+				throw new InvalidRequestException("Resource type " + resourceType + " cannot be exported");
+			}
+		}
+		
+		if (level == BulkExportJob.Level.GROUP && getCohort(groupId) == null) {
+			throw new ResourceNotFoundException("Could not find Group with Id " + groupId);
+		}
+		
+		purgeExpiredJobs();
+		
+		User user = getAuthenticatedUser();
+		BulkExportJob job = new BulkExportJob(request, user == null ? null : user.getUuid(), level, groupId,
+		        new LinkedHashSet<>(resourceTypes), since);
+		saveJob(job);
+		runningJobs.put(job.getId(), job);
+		executor.execute(() -> runExport(job));
+		
+		return job;
+	}
+	
+	@Override
+	public BulkExportJob getJob(String jobId) {
+		if (jobId == null) {
+			return null;
+		}
+		
+		BulkExportJob job = runningJobs.get(jobId);
+		if (job == null) {
+			job = jobDao.getJob(jobId).map(FhirBulkExportServiceImpl::toJob).orElse(null);
+		}
+		
+		if (job == null || job.getStatus() == BulkExportJob.Status.CANCELLED) {
+			return null;
+		}
+		
+		User user = getAuthenticatedUser();
+		if (user == null || (!user.isSuperUser() && !user.getUuid().equals(job.getRequestedBy()))) {
+			return null;
+		}
+		
+		return job;
+	}
+	
+	/**
+	 * Finished jobs are removed straight away. Jobs which are still running are marked as cancelled;
+	 * the node running the job notices this before its next batch and then removes it.
+	 */
+	@Override
+	public boolean cancelExport(String jobId) {
+		BulkExportJob job = getJob(jobId);
+		if (job == null) {
+			return false;
+		}
+		
+		if (job.isFinished()) {
+			jobDao.deleteJob(job.getId());
+			deleteJobDirectory(job.getId());
+		} else {
+			job.setStatus(BulkExportJob.Status.CANCELLED);
+			saveJob(job);
+		}
+		
+		return true;
+	}
+	
+	@Override
+	public File getOutputFile(String jobId, String fileName) {
+		BulkExportJob job = getJob(jobId);
+		if (job == null || job.getOutputs().stream().noneMatch(output -> output.getFileName().equals(fileName))) {
+			return null;
+		}
+		
+		return new File(getJobDirectory(job), fileName);
+	}
+	
+	private void runExport(BulkExportJob job) {
+		try {
+			runningExports.acquire();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			job.setStatus(BulkExportJob.Status.ERROR);
+			job.setCompletedTime(new Date());
+			runningJobs.remove(job.getId());
+			saveJob(job);
+			return;
+		}
+		
+		try {
+			if (job.getStatus() == BulkExportJob.Status.CANCELLED) {
+				return;
+			}
+			
+			job.setStatus(BulkExportJob.Status.IN_PROGRESS);
+			saveJob(job);
+			
+			File jobDirectory = getJobDirectory(job);
+			if (!jobDirectory.isDirectory() && !jobDirectory.mkdirs()) {
+				throw new IOException("Could not create directory " + jobDirectory);
+			}
+			
+			Map<String, ExportedType<?>> exportedTypes = getExportedTypes();
+			for (String resourceType : job.getResourceTypes()) {
+				export(job, jobDirectory, resourceType, exportedTypes.get(resourceType));
+				saveJob(job);
+			}
+			
+			job.setStatus(BulkExportJob.Status.COMPLETED);
+		}
+		catch (CancellationException e) {
+			log.debug("Export {} was cancelled", job.getId());
+		}
+		catch (Exception e) {
+			log.error("Export {} failed", job.getId(), e);
+			job.setErrorMessage(e.getMessage());
+			job.setStatus(BulkExportJob.Status.ERROR);
+		}
+		finally {
+			job.setCompletedTime(new Date());
+			runningExports.release();
+			runningJobs.remove(job.getId());
+			
+			if (job.getStatus() == BulkExportJob.Status.CANCELLED) {
+				jobDao.deleteJob(job.getId());
+				deleteJobDirectory(job.getId());
+			} else {
+				saveJob(job);
+			}
+		}
+	}
+	
+	private <T extends OpenmrsObject & Auditable> void export(BulkExportJob job, File jobDirectory, String resourceType,
+	        ExportedType<T> exportedType) throws IOException {
+		String fileName = resourceType + OUTPUT_EXTENSION;
+		File file = new File(jobDirectory, fileName);
+		IParser parser = fhirContext.newJsonParser().setPrettyPrint(false);
+		long[] count = { 0 };
+		
+		try (Writer writer = new BufferedWriter(
+		        new OutputStreamWriter(new GZIPOutputStream(new FileOutputStream(file)), StandardCharsets.UTF_8))) {
+			Consumer<List<T>> consumer = batch -> {
+				// this also picks up cancellations made on other nodes
+				if (job.getStatus() == BulkExportJob.Status.CANCELLED
+				        || !jobDao.updateProgress(job.getId(), job.getExportedCount().get(), getExpiry())) {
+					job.setStatus(BulkExportJob.Status.CANCELLED);
+					throw new CancellationException();
+				}
+				
+				try {
+					for (IBaseResource resource : exportedType.translate(batch)) {
+						parser.encodeResourceToWriter(resource, writer);
+						writer.write('\n');
+					}
+				}
+				catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+				
+				count[0] += batch.size();
+				job.getExportedCount().addAndGet(batch.size());
+			};
+			
+			if (job.getLevel() == BulkExportJob.Level.GROUP) {
+				for (List<Integer> patientIds : Lists.partition(getCohortMemberIds(job.getGroupId()), PATIENT_BATCH_SIZE)) {
+					List<String> patientUuids = patientDao.getPatientUuidsByIds(patientIds);
+					if (!patientUuids.isEmpty()) {
+						SearchParameterMap theParams = getSearchParams(job);
+						exportedType.patientFilter.accept(theParams, patientUuids);
+						exportedType.dao.scroll(theParams, BATCH_SIZE, consumer);
+					}
+				}
+			} else {
+				exportedType.dao.scroll(getSearchParams(job), BATCH_SIZE, consumer);
+			}
+		}
+		catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		
+		if (count[0] > 0) {
+			job.getOutputs().add(new BulkExportJob.Output(resourceType, fileName, count[0]));
+		} else if (!file.delete()) {
+			log.warn("Could not delete empty export file {}", file);
+		}
+	}
+	
+	private SearchParameterMap getSearchParams(BulkExportJob job) {
+		SearchParameterMap theParams = new SearchParameterMap();
+		if (job.getSince() != null) {
+			theParams.addParameter(FhirConstants.COMMON_SEARCH_HANDLER, FhirConstants.LAST_UPDATED_PROPERTY,
+			    new DateRangeParam().setLowerBound(new DateParam(ParamPrefixEnum.GREATERTHAN_OR_EQUALS, job.getSince())));
+		}
+		
+		return theParams;
+	}
+	
+	/**
+	 * All of the resource types that can currently be exported belong to the Patient compartment, so
+	 * a Patient level export covers the same resources as a system level export. Group level exports
+	 * are restricted to the members of the cohort with the Group's id.
+	 */
+	private Map<String, ExportedType<?>> getExportedTypes() {
+		Map<String, ExportedType<?>> exportedTypes = new LinkedHashMap<>();
+		exportedTypes.put(FhirConstants.PATIENT,
+		    new ExportedType<>(patientDao, patientTranslator, FhirBulkExportServiceImpl::filterByPatientId));
+		exportedTypes.put(FhirConstants.ENCOUNTER,
+		    new ExportedType<>(encounterDao, encounterTranslator, FhirBulkExportServiceImpl::filterByPatientReference));
+		exportedTypes.put(FhirConstants.OBSERVATION,
+		    new ExportedType<>(observationDao, observationTranslator, FhirBulkExportServiceImpl::filterByPatientReference));
+		return Collections.unmodifiableMap(exportedTypes);
+	}
+	
+	private static void filterByPatientId(SearchParameterMap theParams, List<String> patientUuids) {
+		TokenOrListParam patients = new TokenOrListParam();
+		patientUuids.forEach(uuid -> patients.add(new TokenParam(uuid)));
+		theParams.addParameter(FhirConstants.COMMON_SEARCH_HANDLER, FhirConstants.ID_PROPERTY,
+		    new TokenAndListParam().addAnd(patients));
+	}
+	
+	private static void filterByPatientReference(SearchParameterMap theParams, List<String> patientUuids) {
+		ReferenceOrListParam patients = new ReferenceOrListParam();
+		patientUuids.forEach(uuid -> patients.add(new ReferenceParam().setValue(uuid)));
+		theParams.addParameter(FhirConstants.PATIENT_REFERENCE_SEARCH_HANDLER, new ReferenceAndListParam().addAnd(patients));
+	}
+	
+	protected User getAuthenticatedUser() {
+		return Context.getAuthenticatedUser();
+	}
+	
+	protected Cohort getCohort(String groupId) {
+		return groupId == null ? null : Context.getCohortService().getCohortByUuid(groupId);
+	}
+	
+	private List<Integer> getCohortMemberIds(String groupId) {
+		Cohort cohort = getCohort(groupId);
+		if (cohort == null) {
+			throw new ResourceNotFoundException("Could not find Group with Id " + groupId);
+		}
+		
+		return new ArrayList<>(cohort.getMemberIds());
+	}
+	
+	private void purgeExpiredJobs() {
+		for (String jobId : jobDao.purgeExpiredJobs(new Date())) {
+			deleteJobDirectory(jobId);
+		}
+	}
+	
+	private void saveJob(BulkExportJob job) {
+		FhirBulkExportJob storedJob = new FhirBulkExportJob();
+		storedJob.setJobId(job.getId());
+		storedJob.setRequest(job.getRequest());
+		storedJob.setRequestedBy(job.getRequestedBy());
+		storedJob.setLevel(job.getLevel().name());
+		storedJob.setGroupId(job.getGroupId());
+		storedJob.setResourceTypes(String.join(",", job.getResourceTypes()));
+		storedJob.setSince(job.getSince());
+		storedJob.setTransactionTime(job.getTransactionTime());
+		storedJob.setStatus(job.getStatus().name());
+		storedJob.setExportedCount(job.getExportedCount().get());
+		storedJob.setOutputs(job.getOutputs().stream().map(output -> output.getResourceType() + "=" + output.getCount())
+		        .collect(Collectors.joining(",")));
+		storedJob.setErrorMessage(StringUtils.abbreviate(job.getErrorMessage(), 1024));
+		storedJob.setCompletedTime(job.getCompletedTime());
+		storedJob.setExpires(getExpiry());
+		jobDao.saveJob(storedJob);
+	}
+	
+	private static BulkExportJob toJob(FhirBulkExportJob storedJob) {
+		BulkExportJob job = new BulkExportJob(storedJob.getJobId(), storedJob.getRequest(), storedJob.getRequestedBy(),
+		        BulkExportJob.Level.valueOf(storedJob.getLevel()), storedJob.getGroupId(),
+		        new LinkedHashSet<>(Arrays.asList(storedJob.getResourceTypes().split(","))), storedJob.getSince(),
+		        storedJob.getTransactionTime());
+		job.setStatus(BulkExportJob.Status.valueOf(storedJob.getStatus()));
+		job.getExportedCount().set(storedJob.getExportedCount());
+		job.setErrorMessage(storedJob.getErrorMessage());
+		job.setCompletedTime(storedJob.getCompletedTime());
+		
+		if (StringUtils.isNotBlank(storedJob.getOutputs())) {
+			for (String output : storedJob.getOutputs().split(",")) {
+				String[] typeAndCount = output.split("=", 2);
+				job.getOutputs().add(new BulkExportJob.Output(typeAndCount[0], typeAndCount[0] + OUTPUT_EXTENSION,
+				        Long.parseLong(typeAndCount[1])));
+			}
+		}
+		
+		return job;
+	}
+	
+	private static Date getExpiry() {
+		return new Date(System.currentTimeMillis() + JOB_RETENTION_MILLIS);
+	}
+	
+	private File getJobDirectory(BulkExportJob job) {
+		return getJobDirectory(job.getId());
+	}
+	
+	private File getJobDirectory(String jobId) {
+		if (outputDirectory == null) {
+			outputDirectory = OpenmrsUtil.getDirectoryInApplicationDataDirectory(OUTPUT_DIRECTORY);
+		}
+		
+		return new File(outputDirectory, jobId);
+	}
+	
+	private void deleteJobDirectory(String jobId) {
+		File jobDirectory = getJobDirectory(jobId);
+		try {
+			if (jobDirectory.exists()) {
+				OpenmrsUtil.deleteDirectory(jobDirectory);
+			}
+		}
+		catch (IOException e) {
+			log.warn("Could not delete export directory {}", jobDirectory, e);
+		}
+	}
+	
+	@RequiredArgsConstructor
+	private static class ExportedType<T extends OpenmrsObject & Auditable> {
+		
+		private final FhirDao<T> dao;
+		
+		private final ToFhirTranslator<T, ? extends IBaseResource> translator;
+		
+		private final BiConsumer<SearchParameterMap, List<String>> patientFilter;
+		
+		@SuppressWarnings("unchecked")
+		List<? extends IBaseResource> translate(List<T> batch) {
+			if (translator instanceof BulkToFhirTranslator) {
+				return ((BulkToFhirTranslator<T, ? extends IBaseResource>) translator).toFhirResources(batch);
+			}
+			
+			return batch.stream().map(translator::toFhirResource).collect(Collectors.toList());
+		}
+	}
+}
@@ -0,0 +1,103 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.impl;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.AccessLevel;
+import lombok.Setter;
+import org.hl7.fhir.r4.model.BooleanType;
+import org.hl7.fhir.r4.model.CodeType;
+import org.hl7.fhir.r4.model.InstantType;
+import org.hl7.fhir.r4.model.Parameters;
+import org.hl7.fhir.r4.model.StringType;
+import org.openmrs.module.fhir2.FhirChange;
+import org.openmrs.module.fhir2.FhirConstants;
+import org.openmrs.module.fhir2.api.FhirChangeService;
+import org.openmrs.module.fhir2.api.FhirGlobalPropertyService;
+import org.openmrs.module.fhir2.api.dao.FhirChangeDao;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+@Transactional(readOnly = true)
+@Setter(AccessLevel.PACKAGE)
+public class FhirChangeServiceImpl implements FhirChangeService {
+	
+	private static final int DEFAULT_COUNT = 100;
+	
+	private static final int MAXIMUM_COUNT = 1000;
+	
+	/**
+	 * How long after it was written an entry is returned. Entries are written as the last statements
+	 * of their transactions, so every entry numbered before one this old has committed or been rolled
+	 * back, unless its commit took longer than this.
+	 */
+	static final long SETTLE_TIME = TimeUnit.SECONDS.toMillis(5);
+	
+	private static final long PURGE_INTERVAL = TimeUnit.HOURS.toMillis(1);
+	
+	@Autowired
+	private FhirChangeDao dao;
+	
+	@Autowired
+	private FhirGlobalPropertyService globalPropertyService;
+	
+	private final AtomicLong lastPurge = new AtomicLong();
+	
+	@Override
+	@Transactional
+	public Parameters getChanges(Long since, Integer count) {
+		purgeChanges();
+		
+		int pageSize = count == null || count < 1 ? DEFAULT_COUNT : Math.min(count, MAXIMUM_COUNT);
+		List<FhirChange> changes = dao.getChanges(since, pageSize);
+		boolean more = changes.size() == pageSize;
+		
+		// stop at the first entry that may still have uncommitted entries numbered before it
+		Date settled = new Date(System.currentTimeMillis() - SETTLE_TIME);
+		for (int i = 0; i < changes.size(); i++) {
+			if (changes.get(i).getDateChanged().after(settled)) {
+				changes = changes.subList(0, i);
+				more = true;
+				break;
+			}
+		}
+		
+		Parameters parameters = new Parameters();
+		for (FhirChange change : changes) {
+			Parameters.ParametersParameterComponent parameter = parameters.addParameter().setName("change");
+			parameter.addPart().setName("sequence").setValue(new StringType(change.getId().toString()));
+			parameter.addPart().setName("resourceType").setValue(new CodeType(change.getResourceType()));
+			parameter.addPart().setName("id").setValue(new StringType(change.getResourceUuid()));
+			parameter.addPart().setName("operation").setValue(new CodeType(change.getOperation().name().toLowerCase()));
+			parameter.addPart().setName("timestamp").setValue(new InstantType(change.getDateChanged()));
+		}
+		
+		long next = changes.isEmpty() ? (since == null ? 0 : since) : changes.get(changes.size() - 1).getId();
+		parameters.addParameter().setName("next").setValue(new StringType(Long.toString(next)));
+		parameters.addParameter().setName("more").setValue(new BooleanType(more));
+		
+		return parameters;
+	}
+	
+	private void purgeChanges() {
+		int retentionDays = globalPropertyService.getGlobalProperty(FhirConstants.OPENMRS_FHIR_CHANGES_RETENTION_DAYS, 30);
+		long now = System.currentTimeMillis();
+		long last = lastPurge.get();
+		if (retentionDays > 0 && now - last > PURGE_INTERVAL && lastPurge.compareAndSet(last, now)) {
+			dao.purgeChanges(new Date(now - TimeUnit.DAYS.toMillis(retentionDays)));
+		}
+	}
+}
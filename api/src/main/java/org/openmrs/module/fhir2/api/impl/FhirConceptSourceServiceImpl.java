@@ -17,9 +17,12 @@ import lombok.Setter;
 import org.openmrs.module.fhir2.FhirConceptSource;
 import org.openmrs.module.fhir2.api.FhirConceptSourceService;
 import org.openmrs.module.fhir2.api.dao.FhirConceptSourceDao;
+import org.openmrs.module.fhir2.api.mappings.ConceptSourceMap;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Component
 @Transactional
@@ -29,6 +32,9 @@ public class FhirConceptSourceServiceImpl implements FhirConceptSourceService {
 	@Autowired
 	private FhirConceptSourceDao dao;
 	
+	@Autowired
+	private ConceptSourceMap conceptSourceMap;
+	
 	@Override
 	@Transactional(readOnly = true)
 	public Collection<FhirConceptSource> getFhirConceptSources() {
@@ -46,4 +52,24 @@ public class FhirConceptSourceServiceImpl implements FhirConceptSourceService {
 	public Optional<FhirConceptSource> getFhirConceptSourceByConceptSourceName(String sourceName) {
 		return dao.getFhirConceptSourceByConceptSourceName(sourceName);
 	}
+	
+	@Override
+	public FhirConceptSource saveFhirConceptSource(FhirConceptSource fhirConceptSource) {
+		FhirConceptSource saved = dao.saveFhirConceptSource(fhirConceptSource);
+		
+		// reloaded once committed, so the map never holds a change that is rolled back
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+				
+				@Override
+				public void afterCommit() {
+					conceptSourceMap.refresh();
+				}
+			});
+		} else {
+			conceptSourceMap.refresh();
+		}
+		
+		return saved;
+	}
 }
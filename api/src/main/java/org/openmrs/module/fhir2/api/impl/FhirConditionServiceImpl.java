@@ -50,7 +50,7 @@ public class FhirConditionServiceImpl<U extends OpenmrsObject & Auditable> exten
 	@Override
 	public IBundleProvider searchConditions(ReferenceAndListParam patientParam, TokenAndListParam code,
 	        TokenAndListParam clinicalStatus, DateRangeParam onsetDate, QuantityAndListParam onsetAge,
-	        DateRangeParam recordedDate, SortSpec sort) {
+	        DateRangeParam recordedDate, SortSpec sort, DateRangeParam lastUpdated) {
 		throw new FhirNotImplementedException(MESSAGE);
 	}
 	
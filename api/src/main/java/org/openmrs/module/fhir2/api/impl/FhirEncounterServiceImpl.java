@@ -9,6 +9,9 @@
  */
 package org.openmrs.module.fhir2.api.impl;
 
+import java.util.HashSet;
+
+import ca.uhn.fhir.model.api.Include;
 import ca.uhn.fhir.rest.api.server.IBundleProvider;
 import ca.uhn.fhir.rest.param.DateRangeParam;
 import ca.uhn.fhir.rest.param.ReferenceAndListParam;
@@ -44,11 +47,15 @@ public class FhirEncounterServiceImpl extends BaseFhirService<Encounter, org.ope
 	@Override
 	@Transactional(readOnly = true)
 	public IBundleProvider searchForEncounters(DateRangeParam date, ReferenceAndListParam location,
-	        ReferenceAndListParam participant, ReferenceAndListParam subject) {
+	        ReferenceAndListParam participant, ReferenceAndListParam subject, HashSet<Include> includes,
+	        HashSet<Include> revIncludes, DateRangeParam lastUpdated) {
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.DATE_RANGE_SEARCH_HANDLER, date)
 		        .addParameter(FhirConstants.LOCATION_REFERENCE_SEARCH_HANDLER, location)
 		        .addParameter(FhirConstants.PARTICIPANT_REFERENCE_SEARCH_HANDLER, participant)
-		        .addParameter(FhirConstants.PATIENT_REFERENCE_SEARCH_HANDLER, subject);
+		        .addParameter(FhirConstants.PATIENT_REFERENCE_SEARCH_HANDLER, subject)
+		        .addParameter(FhirConstants.INCLUDE_SEARCH_HANDLER, includes)
+		        .addParameter(FhirConstants.REVERSE_INCLUDE_SEARCH_HANDLER, revIncludes)
+		        .addParameter(FhirConstants.COMMON_SEARCH_HANDLER, FhirConstants.LAST_UPDATED_PROPERTY, lastUpdated);
 		return searchQuery.getQueryResults(theParams, dao, translator);
 	}
 }
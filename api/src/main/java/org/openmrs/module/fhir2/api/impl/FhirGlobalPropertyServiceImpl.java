@@ -9,29 +9,52 @@
  */
 package org.openmrs.module.fhir2.api.impl;
 
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.StreamSupport;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.AccessLevel;
 import lombok.Setter;
+import org.openmrs.GlobalProperty;
 import org.openmrs.api.APIException;
+import org.openmrs.api.GlobalPropertyListener;
 import org.openmrs.module.fhir2.api.FhirGlobalPropertyService;
 import org.openmrs.module.fhir2.api.dao.FhirGlobalPropertyDao;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Global properties are read for almost every resource translated, so values (including the absence
+ * of a value) are cached. Entries are invalidated when the property is saved or deleted on this node
+ * and otherwise expire after a few minutes, so changes made on other nodes are eventually seen. This
+ * service is registered as a {@link GlobalPropertyListener} by the
+ * {@link org.openmrs.module.fhir2.FhirActivator} once the module has started.
+ */
 @Component
 @Transactional
 @Setter(AccessLevel.PACKAGE)
-public class FhirGlobalPropertyServiceImpl implements FhirGlobalPropertyService {
+public class FhirGlobalPropertyServiceImpl implements FhirGlobalPropertyService, GlobalPropertyListener {
+	
+	private static final int CACHE_MAXIMUM_SIZE = 500;
+	
+	private static final long CACHE_EXPIRY_MINUTES = 5;
 	
 	@Autowired
 	private FhirGlobalPropertyDao dao;
 	
+	private final Cache<String, Optional<String>> cache = Caffeine.newBuilder().maximumSize(CACHE_MAXIMUM_SIZE)
+	        .expireAfterWrite(CACHE_EXPIRY_MINUTES, TimeUnit.MINUTES).build();
+	
 	@Override
 	@Transactional(readOnly = true)
 	public String getGlobalProperty(String property) throws APIException {
-		return dao.getGlobalProperty(property);
+		return cache.get(property, p -> Optional.ofNullable(dao.getGlobalProperty(p))).orElse(null);
 	}
 	
 	@Override
@@ -48,12 +71,42 @@ public class FhirGlobalPropertyServiceImpl implements FhirGlobalPropertyService
 	@Override
 	@Transactional(readOnly = true)
 	public String getGlobalProperty(String property, String defaultValue) {
-		return this.getGlobalProperty(property) == null ? defaultValue : this.getGlobalProperty(property);
+		String value = getGlobalProperty(property);
+		return value == null ? defaultValue : value;
 	}
 	
 	@Override
 	@Transactional(readOnly = true)
 	public Map<String, String> getGlobalProperties(String... properties) {
-		return dao.getGlobalProperties(properties);
+		Map<String, Optional<String>> values = cache.getAll(Arrays.asList(properties), missing -> {
+			Map<String, String> found = dao.getGlobalProperties(toArray(missing));
+			
+			Map<String, Optional<String>> result = new HashMap<>();
+			missing.forEach(property -> result.put(property, Optional.ofNullable(found.get(property))));
+			return result;
+		});
+		
+		Map<String, String> globalProperties = new HashMap<>();
+		values.forEach((property, value) -> value.ifPresent(v -> globalProperties.put(property, v)));
+		return globalProperties;
+	}
+	
+	@Override
+	public boolean supportsPropertyName(String propertyName) {
+		return true;
+	}
+	
+	@Override
+	public void globalPropertyChanged(GlobalProperty newValue) {
+		cache.invalidate(newValue.getProperty());
+	}
+	
+	@Override
+	public void globalPropertyDeleted(String propertyName) {
+		cache.invalidate(propertyName);
+	}
+	
+	private static String[] toArray(Iterable<? extends String> properties) {
+		return StreamSupport.stream(properties.spliterator(), false).toArray(String[]::new);
 	}
 }
@@ -0,0 +1,114 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import ca.uhn.fhir.context.FhirContext;
+import ca.uhn.fhir.rest.server.exceptions.InvalidRequestException;
+import lombok.AccessLevel;
+import lombok.Setter;
+import org.hl7.fhir.instance.model.api.IAnyResource;
+import org.openmrs.module.fhir2.FhirResourceVersion;
+import org.openmrs.module.fhir2.api.FhirHistoryService;
+import org.openmrs.module.fhir2.api.dao.FhirResourceVersionDao;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+@Transactional
+@Setter(AccessLevel.PACKAGE)
+public class FhirHistoryServiceImpl implements FhirHistoryService {
+	
+	@Autowired
+	@Qualifier("fhirR4")
+	private FhirContext fhirContext;
+	
+	@Autowired
+	private FhirResourceVersionDao dao;
+	
+	@Override
+	public void saveVersion(IAnyResource resource) {
+		String resourceType = fhirContext.getResourceDefinition(resource).getName();
+		String uuid = resource.getIdElement().getIdPart();
+		if (uuid == null || resource.getMeta().getLastUpdated() == null) {
+			throw new InvalidRequestException("Only identified resources with a last updated date can be stored");
+		}
+		
+		int versionNumber = dao.getLatestVersionNumber(resourceType, uuid) + 1;
+		resource.getMeta().setVersionId(Integer.toString(versionNumber));
+		
+		FhirResourceVersion version = new FhirResourceVersion();
+		version.setResourceType(resourceType);
+		version.setResourceUuid(uuid);
+		version.setVersionNumber(versionNumber);
+		version.setLastUpdated(resource.getMeta().getLastUpdated());
+		version.setResource(compress(resource));
+		dao.saveVersion(version);
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public <T extends IAnyResource> T getVersion(Class<T> resourceType, String uuid, String versionId) {
+		int versionNumber;
+		try {
+			versionNumber = Integer.parseInt(versionId);
+		}
+		catch (NumberFormatException e) {
+			return null;
+		}
+		
+		return dao.getVersion(fhirContext.getResourceDefinition(resourceType).getName(), uuid, versionNumber)
+		        .map(version -> decompress(resourceType, version)).orElse(null);
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public <T extends IAnyResource> List<T> getHistory(Class<T> resourceType, String uuid) {
+		return dao.getVersions(fhirContext.getResourceDefinition(resourceType).getName(), uuid).stream()
+		        .map(version -> decompress(resourceType, version)).collect(Collectors.toList());
+	}
+	
+	private byte[] compress(IAnyResource resource) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(bytes), StandardCharsets.UTF_8)) {
+			fhirContext.newJsonParser().encodeResourceToWriter(resource, writer);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		
+		return bytes.toByteArray();
+	}
+	
+	private <T extends IAnyResource> T decompress(Class<T> resourceType, FhirResourceVersion version) {
+		try (Reader reader = new InputStreamReader(new GZIPInputStream(new ByteArrayInputStream(version.getResource())),
+		        StandardCharsets.UTF_8)) {
+			return fhirContext.newJsonParser().parseResource(resourceType, reader);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
@@ -11,6 +11,7 @@ package org.openmrs.module.fhir2.api.impl;
 
 import ca.uhn.fhir.rest.api.SortSpec;
 import ca.uhn.fhir.rest.api.server.IBundleProvider;
+import ca.uhn.fhir.rest.param.DateRangeParam;
 import ca.uhn.fhir.rest.param.ReferenceAndListParam;
 import ca.uhn.fhir.rest.param.StringAndListParam;
 import ca.uhn.fhir.rest.param.TokenAndListParam;
@@ -47,7 +48,7 @@ public class FhirLocationServiceImpl extends BaseFhirService<Location, org.openm
 	@Transactional(readOnly = true)
 	public IBundleProvider searchForLocations(StringAndListParam name, StringAndListParam city, StringAndListParam country,
 	        StringAndListParam postalCode, StringAndListParam state, TokenAndListParam tag, ReferenceAndListParam parent,
-	        SortSpec sort) {
+	        SortSpec sort, DateRangeParam lastUpdated) {
 		
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.NAME_SEARCH_HANDLER, name)
 		        .addParameter(FhirConstants.CITY_SEARCH_HANDLER, city)
@@ -55,7 +56,9 @@ public class FhirLocationServiceImpl extends BaseFhirService<Location, org.openm
 		        .addParameter(FhirConstants.COUNTRY_SEARCH_HANDLER, country)
 		        .addParameter(FhirConstants.POSTALCODE_SEARCH_HANDLER, postalCode)
 		        .addParameter(FhirConstants.LOCATION_REFERENCE_SEARCH_HANDLER, parent)
-		        .addParameter(FhirConstants.TAG_SEARCH_HANDLER, tag).setSortSpec(sort);
+		        .addParameter(FhirConstants.TAG_SEARCH_HANDLER, tag)
+		        .addParameter(FhirConstants.COMMON_SEARCH_HANDLER, FhirConstants.LAST_UPDATED_PROPERTY, lastUpdated)
+		        .setSortSpec(sort);
 		
 		return searchQuery.getQueryResults(theParams, dao, translator);
 	}
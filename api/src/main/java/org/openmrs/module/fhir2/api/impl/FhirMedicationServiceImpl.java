@@ -10,6 +10,7 @@
 package org.openmrs.module.fhir2.api.impl;
 
 import ca.uhn.fhir.rest.api.server.IBundleProvider;
+import ca.uhn.fhir.rest.param.DateRangeParam;
 import ca.uhn.fhir.rest.param.TokenAndListParam;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -44,12 +45,13 @@ public class FhirMedicationServiceImpl extends BaseFhirService<Medication, Drug>
 	@Override
 	@Transactional(readOnly = true)
 	public IBundleProvider searchForMedications(TokenAndListParam code, TokenAndListParam dosageForm,
-	        TokenAndListParam ingredientCode, TokenAndListParam status) {
+	        TokenAndListParam ingredientCode, TokenAndListParam status, DateRangeParam lastUpdated) {
 		
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.CODED_SEARCH_HANDLER, code)
 		        .addParameter(FhirConstants.DOSAGE_FORM_SEARCH_HANDLER, dosageForm)
 		        .addParameter(FhirConstants.INGREDIENT_SEARCH_HANDLER, ingredientCode)
-		        .addParameter(FhirConstants.BOOLEAN_SEARCH_HANDLER, status);
+		        .addParameter(FhirConstants.BOOLEAN_SEARCH_HANDLER, status)
+		        .addParameter(FhirConstants.COMMON_SEARCH_HANDLER, FhirConstants.LAST_UPDATED_PROPERTY, lastUpdated);
 		
 		return searchQuery.getQueryResults(theParams, dao, translator);
 	}
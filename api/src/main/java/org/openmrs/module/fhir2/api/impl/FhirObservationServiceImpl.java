@@ -9,6 +9,14 @@
  */
 package org.openmrs.module.fhir2.api.impl;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+import ca.uhn.fhir.model.api.Include;
+import ca.uhn.fhir.rest.api.MethodOutcome;
 import ca.uhn.fhir.rest.api.SortSpec;
 import ca.uhn.fhir.rest.api.server.IBundleProvider;
 import ca.uhn.fhir.rest.param.DateRangeParam;
@@ -17,10 +25,13 @@ import ca.uhn.fhir.rest.param.ReferenceAndListParam;
 import ca.uhn.fhir.rest.param.ReferenceParam;
 import ca.uhn.fhir.rest.param.StringAndListParam;
 import ca.uhn.fhir.rest.param.TokenAndListParam;
+import com.google.common.collect.Lists;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
+import org.hl7.fhir.r4.model.IdType;
 import org.hl7.fhir.r4.model.Observation;
+import org.hl7.fhir.r4.model.OperationOutcome;
 import org.openmrs.Obs;
 import org.openmrs.module.fhir2.FhirConstants;
 import org.openmrs.module.fhir2.api.FhirObservationService;
@@ -28,6 +39,7 @@ import org.openmrs.module.fhir2.api.dao.FhirObservationDao;
 import org.openmrs.module.fhir2.api.search.SearchQuery;
 import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
 import org.openmrs.module.fhir2.api.translators.ObservationTranslator;
+import org.openmrs.validator.ValidateUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
@@ -47,6 +59,9 @@ public class FhirObservationServiceImpl extends BaseFhirService<Observation, org
 	@Autowired
 	private SearchQuery<Obs, Observation, FhirObservationDao, ObservationTranslator> searchQuery;
 	
+	// bounds the number of translated observations held in memory while ingesting
+	private int ingestionChunkSize = 500;
+	
 	@Override
 	@Transactional(readOnly = true)
 	public Observation get(String uuid) {
@@ -58,7 +73,8 @@ public class FhirObservationServiceImpl extends BaseFhirService<Observation, org
 	public IBundleProvider searchForObservations(ReferenceAndListParam encounterReference,
 	        ReferenceAndListParam patientReference, ReferenceParam hasMemberReference, TokenAndListParam valueConcept,
 	        DateRangeParam valueDateParam, QuantityAndListParam valueQuantityParam, StringAndListParam valueStringParam,
-	        DateRangeParam date, TokenAndListParam code, TokenAndListParam category, SortSpec sort) {
+	        DateRangeParam date, TokenAndListParam code, TokenAndListParam category, SortSpec sort,
+	        HashSet<Include> includes, DateRangeParam lastUpdated) {
 		
 		SearchParameterMap theParams = new SearchParameterMap()
 		        .addParameter(FhirConstants.ENCOUNTER_REFERENCE_SEARCH_HANDLER, encounterReference)
@@ -70,8 +86,62 @@ public class FhirObservationServiceImpl extends BaseFhirService<Observation, org
 		        .addParameter(FhirConstants.VALUE_STRING_SEARCH_HANDLER, "valueText", valueStringParam)
 		        .addParameter(FhirConstants.QUANTITY_SEARCH_HANDLER, "valueNumeric", valueQuantityParam)
 		        .addParameter(FhirConstants.DATE_RANGE_SEARCH_HANDLER, "obsDatetime", date)
-		        .addParameter(FhirConstants.DATE_RANGE_SEARCH_HANDLER, "valueDatetime", valueDateParam).setSortSpec(sort);
+		        .addParameter(FhirConstants.DATE_RANGE_SEARCH_HANDLER, "valueDatetime", valueDateParam)
+		        .addParameter(FhirConstants.INCLUDE_SEARCH_HANDLER, includes)
+		        .addParameter(FhirConstants.COMMON_SEARCH_HANDLER, FhirConstants.LAST_UPDATED_PROPERTY, lastUpdated)
+		        .setSortSpec(sort);
 		
 		return searchQuery.getQueryResults(theParams, dao, translator);
 	}
+	
+	/**
+	 * Saves the observations a chunk at a time. An observation is only reported as created once its
+	 * chunk has been written; if writing a chunk fails, the exception is thrown and the transaction,
+	 * including the chunks already written, is rolled back.
+	 */
+	@Override
+	public List<MethodOutcome> createObservations(List<Observation> observations) {
+		List<MethodOutcome> outcomes = new ArrayList<>(observations.size());
+		
+		for (List<Observation> chunk : Lists.partition(observations, ingestionChunkSize)) {
+			// the outcomes of the valid observations are filled in once the chunk has been saved
+			int first = outcomes.size();
+			List<Obs> valid = new ArrayList<>(chunk.size());
+			for (Observation observation : chunk) {
+				if (!observation.hasIdElement() || observation.getIdElement().getIdPart() == null) {
+					observation.setId(UUID.randomUUID().toString());
+				}
+				
+				try {
+					Obs obs = translator.toOpenmrsType(observation);
+					ValidateUtil.validate(obs);
+					valid.add(obs);
+					outcomes.add(null);
+				}
+				catch (RuntimeException e) {
+					OperationOutcome operationOutcome = new OperationOutcome();
+					operationOutcome.addIssue().setSeverity(OperationOutcome.IssueSeverity.ERROR)
+					        .setCode(OperationOutcome.IssueType.INVALID).setDiagnostics(e.getMessage());
+					
+					MethodOutcome outcome = new MethodOutcome();
+					outcome.setCreated(false);
+					outcome.setOperationOutcome(operationOutcome);
+					outcomes.add(outcome);
+				}
+			}
+			
+			dao.createOrUpdateAll(valid);
+			
+			Iterator<Obs> saved = valid.iterator();
+			for (int i = first; i < outcomes.size(); i++) {
+				if (outcomes.get(i) == null) {
+					Obs obs = saved.next();
+					saveVersion(obs, translator.toFhirResource(obs));
+					outcomes.set(i, new MethodOutcome(new IdType(FhirConstants.OBSERVATION, obs.getUuid()), true));
+				}
+			}
+		}
+		
+		return outcomes;
+	}
 }
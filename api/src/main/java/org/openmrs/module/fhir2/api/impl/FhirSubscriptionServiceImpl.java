@@ -0,0 +1,119 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.impl;
+
+import ca.uhn.fhir.rest.server.exceptions.InvalidRequestException;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import org.hl7.fhir.r4.model.Subscription;
+import org.openmrs.module.fhir2.FhirSubscription;
+import org.openmrs.module.fhir2.api.FhirSubscriptionService;
+import org.openmrs.module.fhir2.api.dao.FhirSubscriptionDao;
+import org.openmrs.module.fhir2.api.subscriptions.ActiveSubscription;
+import org.openmrs.module.fhir2.api.subscriptions.SubscriptionEndpointValidator;
+import org.openmrs.module.fhir2.api.subscriptions.SubscriptionRegistry;
+import org.openmrs.module.fhir2.api.translators.SubscriptionTranslator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+@Transactional
+@Getter(AccessLevel.PROTECTED)
+@Setter(AccessLevel.PACKAGE)
+public class FhirSubscriptionServiceImpl extends BaseFhirService<Subscription, FhirSubscription> implements FhirSubscriptionService {
+	
+	@Autowired
+	private FhirSubscriptionDao dao;
+	
+	@Autowired
+	private SubscriptionTranslator translator;
+	
+	@Autowired
+	private SubscriptionRegistry registry;
+	
+	@Autowired
+	private SubscriptionEndpointValidator endpointValidator;
+	
+	@Override
+	public Subscription create(Subscription newResource) {
+		validate(newResource);
+		Subscription created = super.create(newResource);
+		register(created);
+		return created;
+	}
+	
+	@Override
+	public Subscription update(String uuid, Subscription updatedResource) {
+		validate(updatedResource);
+		Subscription updated = super.update(uuid, updatedResource);
+		register(updated);
+		return updated;
+	}
+	
+	@Override
+	public Subscription delete(String uuid) {
+		Subscription deleted = super.delete(uuid);
+		if (deleted != null) {
+			afterCommit(() -> registry.register(uuid, null));
+		}
+		
+		return deleted;
+	}
+	
+	private void validate(Subscription subscription) {
+		if (subscription == null) {
+			throw new InvalidRequestException("Subscription resource is required");
+		}
+		
+		if (subscription.getChannel().getType() != Subscription.SubscriptionChannelType.RESTHOOK) {
+			throw new InvalidRequestException("Only rest-hook subscriptions are supported");
+		}
+		
+		if (!subscription.getChannel().hasEndpoint()) {
+			throw new InvalidRequestException("Subscription endpoint is required");
+		}
+		
+		endpointValidator.validate(subscription.getChannel().getEndpoint());
+		
+		// the server activates the subscriptions it accepts
+		if (!subscription.hasStatus() || subscription.getStatus() == Subscription.SubscriptionStatus.REQUESTED) {
+			subscription.setStatus(Subscription.SubscriptionStatus.ACTIVE);
+		}
+	}
+	
+	private void register(Subscription subscription) {
+		if (subscription == null) {
+			return;
+		}
+		
+		// compiled now, so that invalid criteria reject the request and roll the transaction back
+		String uuid = subscription.getIdElement().getIdPart();
+		ActiveSubscription activeSubscription = registry.compile(dao.get(uuid));
+		afterCommit(() -> registry.register(uuid, activeSubscription));
+	}
+	
+	private static void afterCommit(Runnable runnable) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+				
+				@Override
+				public void afterCommit() {
+					runnable.run();
+				}
+			});
+		} else {
+			runnable.run();
+		}
+	}
+}
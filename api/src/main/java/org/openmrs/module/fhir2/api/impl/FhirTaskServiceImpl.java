@@ -9,8 +9,16 @@
  */
 package org.openmrs.module.fhir2.api.impl;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 import ca.uhn.fhir.rest.api.SortSpec;
 import ca.uhn.fhir.rest.api.server.IBundleProvider;
+import ca.uhn.fhir.rest.param.DateRangeParam;
 import ca.uhn.fhir.rest.param.ReferenceAndListParam;
 import ca.uhn.fhir.rest.param.TokenAndListParam;
 import lombok.AccessLevel;
@@ -55,13 +63,29 @@ public class FhirTaskServiceImpl extends BaseFhirService<Task, FhirTask> impleme
 	@Override
 	@Transactional(readOnly = true)
 	public IBundleProvider searchForTasks(ReferenceAndListParam basedOnReference, ReferenceAndListParam ownerReference,
-	        TokenAndListParam status, SortSpec sort) {
+	        TokenAndListParam status, SortSpec sort, DateRangeParam lastUpdated) {
 		
 		SearchParameterMap theParams = new SearchParameterMap()
 		        .addParameter(FhirConstants.BASED_ON_REFERENCE_SEARCH_HANDLER, basedOnReference)
 		        .addParameter(FhirConstants.OWNER_REFERENCE_SEARCH_HANDLER, ownerReference)
-		        .addParameter(FhirConstants.STATUS_SEARCH_HANDLER, status).setSortSpec(sort);
+		        .addParameter(FhirConstants.STATUS_SEARCH_HANDLER, status)
+		        .addParameter(FhirConstants.COMMON_SEARCH_HANDLER, FhirConstants.LAST_UPDATED_PROPERTY, lastUpdated)
+		        .setSortSpec(sort);
 		
 		return searchQuery.getQueryResults(theParams, dao, translator);
 	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public Map<String, List<Task>> getTasksByBasedOn(String basedOnType, Collection<String> basedOnIds) {
+		Map<String, List<FhirTask>> tasks = dao.getTasksByBasedOnReferences(basedOnType, basedOnIds);
+		
+		Map<String, List<Task>> result = new HashMap<>();
+		for (String basedOnId : basedOnIds) {
+			result.put(basedOnId, tasks.getOrDefault(basedOnId, Collections.emptyList()).stream()
+			        .map(translator::toFhirResource).collect(Collectors.toList()));
+		}
+		
+		return result;
+	}
 }
@@ -0,0 +1,415 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.impl;
+
+import javax.annotation.PreDestroy;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import ca.uhn.fhir.context.FhirContext;
+import ca.uhn.fhir.rest.server.exceptions.BaseServerResponseException;
+import ca.uhn.fhir.rest.server.exceptions.InvalidRequestException;
+import ca.uhn.fhir.rest.server.exceptions.ResourceNotFoundException;
+import lombok.AccessLevel;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.hl7.fhir.instance.model.api.IAnyResource;
+import org.hl7.fhir.r4.model.Bundle;
+import org.hl7.fhir.r4.model.Bundle.BundleEntryComponent;
+import org.hl7.fhir.r4.model.Bundle.BundleType;
+import org.hl7.fhir.r4.model.Bundle.HTTPVerb;
+import org.hl7.fhir.r4.model.IdType;
+import org.hl7.fhir.r4.model.OperationOutcome;
+import org.hl7.fhir.r4.model.Reference;
+import org.hl7.fhir.r4.model.Resource;
+import org.openmrs.api.context.Context;
+import org.openmrs.api.context.UserContext;
+import org.openmrs.module.fhir2.api.FhirService;
+import org.openmrs.module.fhir2.api.FhirTransactionService;
+import org.openmrs.module.fhir2.api.util.FhirRequestContext;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.ResolvableType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Delegates each Bundle entry to the {@link FhirService} for its resource type. The entries of a
+ * transaction are processed in the order required by the FHIR specification (deletes, creates,
+ * updates and then reads) in one database transaction and therefore one Hibernate session; creates
+ * are further ordered so that every entry is created after the entries it refers to. Entries of a
+ * batch are independent of each other, so they are processed concurrently, each in its own
+ * transaction, on a small pool of threads running as the user who posted the Bundle.
+ */
+@Slf4j
+@Component
+@Setter(AccessLevel.PACKAGE)
+public class FhirTransactionServiceImpl implements FhirTransactionService {
+	
+	private static final String URN_UUID = "urn:uuid:";
+	
+	private static final int BATCH_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+	
+	@Autowired
+	@Qualifier("fhirR4")
+	private FhirContext fhirContext;
+	
+	@Autowired
+	private List<FhirService<?>> services;
+	
+	private Executor executor;
+	
+	private volatile Map<String, FhirService<IAnyResource>> servicesByType;
+	
+	@Override
+	@Transactional
+	public Bundle processTransaction(Bundle bundle) {
+		List<BundleEntryComponent> entries = validate(bundle, BundleType.TRANSACTION);
+		Map<String, String> assignedReferences = assignIds(entries);
+		
+		List<Integer> order = getProcessingOrder(entries, assignedReferences);
+		entries.stream().map(BundleEntryComponent::getResource).forEach(r -> rewriteReferences(r, assignedReferences));
+		
+		BundleEntryComponent[] responses = new BundleEntryComponent[entries.size()];
+		for (int i : order) {
+			responses[i] = process(entries.get(i));
+		}
+		
+		Bundle response = new Bundle().setType(BundleType.TRANSACTIONRESPONSE);
+		for (BundleEntryComponent entry : responses) {
+			response.addEntry(entry);
+		}
+		
+		return response;
+	}
+	
+	@Override
+	public Bundle processBatch(Bundle bundle) {
+		List<BundleEntryComponent> entries = validate(bundle, BundleType.BATCH);
+		assignIds(entries);
+		
+		UserContext userContext = Context.getUserContext();
+		FhirRequestContext requestContext = FhirRequestContext.get();
+		Thread requestThread = Thread.currentThread();
+		
+		List<CompletableFuture<BundleEntryComponent>> futures = new ArrayList<>(entries.size());
+		for (BundleEntryComponent entry : entries) {
+			futures.add(CompletableFuture.supplyAsync(
+			    () -> processBatchEntry(requestThread, userContext, requestContext, entry), getExecutor()));
+		}
+		
+		Bundle response = new Bundle().setType(BundleType.BATCHRESPONSE);
+		futures.forEach(future -> response.addEntry(future.join()));
+		return response;
+	}
+	
+	@PreDestroy
+	public void shutdown() {
+		if (executor instanceof ExecutorService) {
+			((ExecutorService) executor).shutdownNow();
+		}
+	}
+	
+	private BundleEntryComponent processBatchEntry(Thread requestThread, UserContext userContext,
+	        FhirRequestContext requestContext, BundleEntryComponent entry) {
+		boolean workerThread = Thread.currentThread() != requestThread;
+		if (workerThread) {
+			Context.setUserContext(userContext);
+			FhirRequestContext.set(requestContext == null ? null : requestContext.forWorker());
+		}
+		
+		try {
+			return process(entry);
+		}
+		catch (BaseServerResponseException e) {
+			return errorResponse(e.getStatusCode(), e.getMessage());
+		}
+		catch (RuntimeException e) {
+			log.error("Unexpected error while processing batch entry", e);
+			return errorResponse(500, e.getMessage());
+		}
+		finally {
+			if (workerThread) {
+				Context.clearUserContext();
+				FhirRequestContext.clear();
+			}
+		}
+	}
+	
+	private BundleEntryComponent process(BundleEntryComponent entry) {
+		HTTPVerb method = entry.getRequest().getMethod();
+		if (method == null) {
+			throw new InvalidRequestException("Bundle entry is missing request.method");
+		}
+		
+		Resource resource = entry.getResource();
+		switch (method) {
+			case POST: {
+				if (resource == null) {
+					throw new InvalidRequestException("POST entry is missing a resource");
+				}
+				
+				return response("201 Created", getService(resource.fhirType()).create(resource));
+			}
+			case PUT: {
+				if (resource == null) {
+					throw new InvalidRequestException("PUT entry is missing a resource");
+				}
+				
+				IdType id = getRequestId(entry);
+				resource.setId(id.getIdPart());
+				return response("200 OK", getService(resource.fhirType()).update(id.getIdPart(), resource));
+			}
+			case DELETE: {
+				IdType id = getRequestId(entry);
+				if (getService(id.getResourceType()).delete(id.getIdPart()) == null) {
+					throw new ResourceNotFoundException(id);
+				}
+				
+				BundleEntryComponent response = new BundleEntryComponent();
+				response.getResponse().setStatus("204 No Content");
+				return response;
+			}
+			case GET: {
+				IdType id = getRequestId(entry);
+				IAnyResource result = getService(id.getResourceType()).get(id.getIdPart());
+				if (result == null) {
+					throw new ResourceNotFoundException(id);
+				}
+				
+				return response("200 OK", result);
+			}
+			default:
+				throw new InvalidRequestException("Bundle entries using " + method.toCode() + " are not supported");
+		}
+	}
+	
+	private static BundleEntryComponent response(String status, IAnyResource resource) {
+		BundleEntryComponent entry = new BundleEntryComponent();
+		entry.getResponse().setStatus(status);
+		
+		if (resource != null) {
+			entry.setResource((Resource) resource);
+			entry.getResponse().setLocation(resource.fhirType() + "/" + resource.getIdElement().getIdPart())
+			        .setLastModified(resource.getMeta().getLastUpdated());
+		}
+		
+		return entry;
+	}
+	
+	private static BundleEntryComponent errorResponse(int statusCode, String message) {
+		OperationOutcome outcome = new OperationOutcome();
+		outcome.addIssue().setSeverity(OperationOutcome.IssueSeverity.ERROR)
+		        .setCode(OperationOutcome.IssueType.PROCESSING).setDiagnostics(message);
+		
+		BundleEntryComponent entry = new BundleEntryComponent();
+		entry.getResponse().setStatus(Integer.toString(statusCode)).setOutcome(outcome);
+		return entry;
+	}
+	
+	private static List<BundleEntryComponent> validate(Bundle bundle, BundleType type) {
+		if (bundle == null || bundle.getType() != type) {
+			throw new InvalidRequestException("Expected a Bundle of type " + type.toCode());
+		}
+		
+		return bundle.getEntry();
+	}
+	
+	private static IdType getRequestId(BundleEntryComponent entry) {
+		String url = entry.getRequest().getUrl();
+		if (url == null || url.contains("?")) {
+			throw new InvalidRequestException(
+			        "Bundle entries must refer to a single resource, e.g. Patient/123; searches are not supported");
+		}
+		
+		IdType id = new IdType(url);
+		if (!id.hasResourceType() || !id.hasIdPart()) {
+			throw new InvalidRequestException("Invalid request url " + url);
+		}
+		
+		return id;
+	}
+	
+	/**
+	 * Assigns a new uuid to the resource of every POST entry, since the server is responsible for
+	 * choosing the ids of created resources
+	 *
+	 * @return the reference to use in place of the {@code urn:uuid:} full url of each created entry
+	 */
+	private static Map<String, String> assignIds(List<BundleEntryComponent> entries) {
+		Map<String, String> assignedReferences = new HashMap<>();
+		for (BundleEntryComponent entry : entries) {
+			if (entry.getRequest().getMethod() != HTTPVerb.POST || entry.getResource() == null) {
+				continue;
+			}
+			
+			String uuid = UUID.randomUUID().toString();
+			entry.getResource().setId(uuid);
+			
+			String fullUrl = entry.getFullUrl();
+			if (fullUrl != null && fullUrl.startsWith(URN_UUID)) {
+				assignedReferences.put(fullUrl, entry.getResource().fhirType() + "/" + uuid);
+			}
+		}
+		
+		return assignedReferences;
+	}
+	
+	private void rewriteReferences(Resource resource, Map<String, String> assignedReferences) {
+		if (resource == null || assignedReferences.isEmpty()) {
+			return;
+		}
+		
+		for (Reference reference : getReferences(resource)) {
+			String assigned = assignedReferences.get(reference.getReference());
+			if (assigned != null) {
+				reference.setReference(assigned);
+			}
+		}
+	}
+	
+	/**
+	 * Orders the entries of a transaction as required by the FHIR specification, i.e. all deletes,
+	 * then all creates, then all updates and finally all reads. Creates are sorted topologically so
+	 * that an entry referring to another entry's {@code urn:uuid:} is created after it.
+	 */
+	private List<Integer> getProcessingOrder(List<BundleEntryComponent> entries, Map<String, String> assignedReferences) {
+		List<Integer> deletes = new ArrayList<>();
+		List<Integer> creates = new ArrayList<>();
+		List<Integer> updates = new ArrayList<>();
+		List<Integer> reads = new ArrayList<>();
+		
+		for (int i = 0; i < entries.size(); i++) {
+			HTTPVerb method = entries.get(i).getRequest().getMethod();
+			if (method == HTTPVerb.DELETE) {
+				deletes.add(i);
+			} else if (method == HTTPVerb.POST) {
+				creates.add(i);
+			} else if (method == HTTPVerb.GET) {
+				reads.add(i);
+			} else {
+				updates.add(i);
+			}
+		}
+		
+		List<Integer> order = new ArrayList<>(entries.size());
+		order.addAll(deletes);
+		order.addAll(sortCreates(entries, creates, assignedReferences));
+		order.addAll(updates);
+		order.addAll(reads);
+		return order;
+	}
+	
+	private List<Integer> sortCreates(List<BundleEntryComponent> entries, List<Integer> creates,
+	        Map<String, String> assignedReferences) {
+		if (assignedReferences.isEmpty()) {
+			return creates;
+		}
+		
+		Map<String, Integer> indexByFullUrl = new HashMap<>();
+		creates.forEach(i -> indexByFullUrl.put(entries.get(i).getFullUrl(), i));
+		
+		Map<Integer, Set<Integer>> dependencies = new HashMap<>();
+		Map<Integer, List<Integer>> dependents = new HashMap<>();
+		for (int i : creates) {
+			Set<Integer> dependsOn = new LinkedHashSet<>();
+			for (Reference reference : getReferences(entries.get(i).getResource())) {
+				Integer target = indexByFullUrl.get(reference.getReference());
+				if (target != null && target != i) {
+					dependsOn.add(target);
+					dependents.computeIfAbsent(target, k -> new ArrayList<>()).add(i);
+				}
+			}
+			
+			dependencies.put(i, dependsOn);
+		}
+		
+		Deque<Integer> ready = new ArrayDeque<>();
+		creates.stream().filter(i -> dependencies.get(i).isEmpty()).forEach(ready::add);
+		
+		List<Integer> sorted = new ArrayList<>(creates.size());
+		while (!ready.isEmpty()) {
+			int next = ready.poll();
+			sorted.add(next);
+			
+			for (int dependent : dependents.getOrDefault(next, new ArrayList<>())) {
+				Set<Integer> remaining = dependencies.get(dependent);
+				remaining.remove(next);
+				if (remaining.isEmpty()) {
+					ready.add(dependent);
+				}
+			}
+		}
+		
+		if (sorted.size() != creates.size()) {
+			throw new InvalidRequestException("Transaction contains circular references between created resources");
+		}
+		
+		return sorted;
+	}
+	
+	private List<Reference> getReferences(Resource resource) {
+		if (resource == null) {
+			return new ArrayList<>();
+		}
+		
+		return fhirContext.newTerser().getAllPopulatedChildElementsOfType(resource, Reference.class);
+	}
+	
+	@SuppressWarnings("unchecked")
+	private FhirService<IAnyResource> getService(String resourceType) {
+		if (servicesByType == null) {
+			Map<String, FhirService<IAnyResource>> byType = new HashMap<>();
+			for (FhirService<?> service : services) {
+				Class<?> resourceClass = ResolvableType.forClass(AopUtils.getTargetClass(service)).as(FhirService.class)
+				        .resolveGeneric(0);
+				if (resourceClass != null) {
+					byType.putIfAbsent(resourceClass.getSimpleName(), (FhirService<IAnyResource>) service);
+				}
+			}
+			
+			servicesByType = byType;
+		}
+		
+		FhirService<IAnyResource> service = servicesByType.get(resourceType);
+		if (service == null) {
+			throw new InvalidRequestException("Resources of type " + resourceType + " are not supported");
+		}
+		
+		return service;
+	}
+	
+	private synchronized Executor getExecutor() {
+		if (executor == null) {
+			AtomicInteger threadNumber = new AtomicInteger();
+			executor = Executors.newFixedThreadPool(BATCH_THREADS, task -> {
+				Thread thread = new Thread(task, "fhir2-batch-" + threadNumber.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		
+		return executor;
+	}
+}
@@ -0,0 +1,34 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.mappings;
+
+import javax.validation.constraints.NotNull;
+
+import java.util.Optional;
+
+/**
+ * Maps between the names of OpenMRS concept sources and the FHIR system URLs configured for them
+ * in {@link org.openmrs.module.fhir2.FhirConceptSource}
+ */
+public interface ConceptSourceMap {
+	
+	Optional<String> getUrl(@NotNull String conceptSourceName);
+	
+	Optional<String> getConceptSourceName(@NotNull String url);
+	
+	Optional<Integer> getConceptSourceId(@NotNull String url);
+	
+	/**
+	 * Reloads the mapping from the database. Called whenever a concept source is saved through the
+	 * {@link org.openmrs.module.fhir2.api.FhirConceptSourceService}; changes made by other means are
+	 * picked up when the mapping is next reloaded periodically.
+	 */
+	void refresh();
+}
@@ -0,0 +1,111 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.mappings.impl;
+
+import javax.validation.constraints.NotNull;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.google.common.collect.ImmutableSortedMap;
+import lombok.AccessLevel;
+import lombok.Setter;
+import org.openmrs.ConceptSource;
+import org.openmrs.module.fhir2.FhirConceptSource;
+import org.openmrs.module.fhir2.api.dao.FhirConceptSourceDao;
+import org.openmrs.module.fhir2.api.mappings.ConceptSourceMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds every active {@link FhirConceptSource} in an immutable index which is replaced as a whole
+ * when it is reloaded, so lookups never block and never see a partially built index. The index is
+ * loaded on first use, reloaded whenever a concept source is saved through this module and reloaded
+ * periodically to pick up changes made elsewhere.
+ */
+@Component
+@Setter(AccessLevel.PACKAGE)
+public class ConceptSourceMapImpl implements ConceptSourceMap {
+	
+	private static final long REFRESH_INTERVAL = TimeUnit.MINUTES.toMillis(5);
+	
+	@Autowired
+	private FhirConceptSourceDao dao;
+	
+	private final AtomicReference<Index> index = new AtomicReference<>();
+	
+	@Override
+	public Optional<String> getUrl(@NotNull String conceptSourceName) {
+		return Optional.ofNullable(getIndex().nameToUrl.get(conceptSourceName));
+	}
+	
+	@Override
+	public Optional<String> getConceptSourceName(@NotNull String url) {
+		return Optional.ofNullable(getIndex().urlToName.get(url));
+	}
+	
+	@Override
+	public Optional<Integer> getConceptSourceId(@NotNull String url) {
+		return Optional.ofNullable(getIndex().urlToId.get(url));
+	}
+	
+	@Override
+	public void refresh() {
+		TreeMap<String, String> nameToUrl = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+		TreeMap<String, String> urlToName = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+		TreeMap<String, Integer> urlToId = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+		
+		for (FhirConceptSource fhirConceptSource : dao.getFhirConceptSources()) {
+			ConceptSource conceptSource = fhirConceptSource.getConceptSource();
+			if (Boolean.TRUE.equals(fhirConceptSource.getRetired()) || conceptSource == null
+			        || Boolean.TRUE.equals(conceptSource.getRetired())) {
+				continue;
+			}
+			
+			nameToUrl.putIfAbsent(conceptSource.getName(), fhirConceptSource.getUrl());
+			urlToName.putIfAbsent(fhirConceptSource.getUrl(), conceptSource.getName());
+			urlToId.putIfAbsent(fhirConceptSource.getUrl(), conceptSource.getConceptSourceId());
+		}
+		
+		index.set(new Index(ImmutableSortedMap.copyOfSorted(nameToUrl),
+		        ImmutableSortedMap.copyOfSorted(urlToName),
+		        ImmutableSortedMap.copyOfSorted(urlToId)));
+	}
+	
+	private Index getIndex() {
+		Index current = index.get();
+		if (current == null || System.currentTimeMillis() - current.loaded > REFRESH_INTERVAL) {
+			refresh();
+			current = index.get();
+		}
+		
+		return current;
+	}
+	
+	private static final class Index {
+		
+		private final long loaded = System.currentTimeMillis();
+		
+		private final Map<String, String> nameToUrl;
+		
+		private final Map<String, String> urlToName;
+		
+		private final Map<String, Integer> urlToId;
+		
+		private Index(Map<String, String> nameToUrl, Map<String, String> urlToName, Map<String, Integer> urlToId) {
+			this.nameToUrl = nameToUrl;
+			this.urlToName = urlToName;
+			this.urlToId = urlToId;
+		}
+	}
+}
@@ -0,0 +1,193 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.AccessLevel;
+import lombok.Setter;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Collects latency histograms for the requests handled by the FHIR servlet, labelled by resource
+ * type and operation, and exposes them in the Prometheus text format.
+ * <p>
+ * SQL statement counts are taken from the Hibernate {@link Statistics} of the session factory. They
+ * are only recorded while statistics are enabled and, as those statistics are global, they include
+ * any statements run concurrently by other threads.
+ * <p>
+ * The hit, miss and eviction counts of the caches used while handling requests are exposed as
+ * counters labelled by cache.
+ */
+@Component
+@Setter(AccessLevel.PACKAGE)
+public class FhirMetricsRegistry {
+	
+	private static final String REQUEST_DURATION = "fhir2_request_duration_seconds";
+	
+	private static final String PHASE_DURATION = "fhir2_request_phase_duration_seconds";
+	
+	private static final String SQL_STATEMENTS = "fhir2_request_sql_statements";
+	
+	private static final String CACHE_REQUESTS = "fhir2_cache_requests_total";
+	
+	private static final String CACHE_EVICTIONS = "fhir2_cache_evictions_total";
+	
+	private static final double[] DURATION_BUCKETS = { 0.001, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10 };
+	
+	private static final double[] STATEMENT_BUCKETS = { 1, 2, 5, 10, 25, 50, 100, 250, 500, 1000 };
+	
+	private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+	
+	@Autowired
+	@Qualifier("sessionFactory")
+	private SessionFactory sessionFactory;
+	
+	private final Map<List<String>, Histogram> requestDurations = new ConcurrentSkipListMap<>(
+	        FhirMetricsRegistry::compareLabels);
+	
+	private final Map<List<String>, Histogram> phaseDurations = new ConcurrentSkipListMap<>(
+	        FhirMetricsRegistry::compareLabels);
+	
+	private final Map<List<String>, Histogram> sqlStatements = new ConcurrentSkipListMap<>(
+	        FhirMetricsRegistry::compareLabels);
+	
+	private final Map<String, Supplier<CacheStats>> caches = new ConcurrentSkipListMap<>();
+	
+	/**
+	 * @return the number of statements prepared by Hibernate so far or -1 if statistics are disabled
+	 */
+	public long getStatementCount() {
+		Statistics statistics = sessionFactory.getStatistics();
+		return statistics.isStatisticsEnabled() ? statistics.getPrepareStatementCount() : -1;
+	}
+	
+	/**
+	 * Records a completed request
+	 *
+	 * @param resourceType the resource type the request was for, if any
+	 * @param operation the operation performed, e.g. {@code read} or {@code search-type}
+	 * @param elapsedNanos the time taken to handle the request
+	 * @param timings the time spent in each phase of the request
+	 * @param statements the number of SQL statements run or -1 if this is not known
+	 */
+	public void recordRequest(String resourceType, String operation, long elapsedNanos, RequestTimings.Timings timings,
+	        long statements) {
+		List<String> labels = Arrays.asList(resourceType == null ? "" : resourceType, operation == null ? "" : operation);
+		
+		requestDurations.computeIfAbsent(labels, key -> new Histogram(DURATION_BUCKETS))
+		        .observe(elapsedNanos / NANOS_PER_SECOND);
+		
+		if (timings != null) {
+			for (RequestTimings.Phase phase : RequestTimings.Phase.values()) {
+				List<String> phaseLabels = Arrays.asList(labels.get(0), labels.get(1), phase.getLabel());
+				phaseDurations.computeIfAbsent(phaseLabels, key -> new Histogram(DURATION_BUCKETS))
+				        .observe(timings.getNanos(phase) / NANOS_PER_SECOND);
+			}
+		}
+		
+		if (statements >= 0) {
+			sqlStatements.computeIfAbsent(labels, key -> new Histogram(STATEMENT_BUCKETS)).observe(statements);
+		}
+	}
+	
+	/**
+	 * Exposes the statistics of a cache used while handling requests
+	 *
+	 * @param name the name the cache is labelled with
+	 * @param stats supplies the current statistics of the cache
+	 */
+	public void registerCache(String name, Supplier<CacheStats> stats) {
+		caches.put(name, stats);
+	}
+	
+	public void writePrometheus(Writer writer) throws IOException {
+		writeHistograms(writer, REQUEST_DURATION, "Time taken to handle FHIR requests", requestDurations,
+		    "resource", "operation");
+		writeHistograms(writer, PHASE_DURATION,
+		    "Time spent querying, hydrating, translating and serializing while handling FHIR requests", phaseDurations,
+		    "resource", "operation", "phase");
+		writeHistograms(writer, SQL_STATEMENTS, "SQL statements prepared while handling FHIR requests", sqlStatements,
+		    "resource", "operation");
+		writeCaches(writer);
+		writer.flush();
+	}
+	
+	private void writeCaches(Writer writer) throws IOException {
+		if (caches.isEmpty()) {
+			return;
+		}
+		
+		StringBuilder requests = new StringBuilder();
+		StringBuilder evictions = new StringBuilder();
+		for (Map.Entry<String, Supplier<CacheStats>> entry : caches.entrySet()) {
+			CacheStats stats = entry.getValue().get();
+			String cache = "cache=\"" + escapeLabelValue(entry.getKey()) + "\"";
+			requests.append(CACHE_REQUESTS).append('{').append(cache).append(",result=\"hit\"} ")
+			        .append(stats.hitCount()).append('\n');
+			requests.append(CACHE_REQUESTS).append('{').append(cache).append(",result=\"miss\"} ")
+			        .append(stats.missCount()).append('\n');
+			evictions.append(CACHE_EVICTIONS).append('{').append(cache).append("} ").append(stats.evictionCount())
+			        .append('\n');
+		}
+		
+		writer.write("# HELP " + CACHE_REQUESTS + " Lookups in the caches used while handling FHIR requests\n");
+		writer.write("# TYPE " + CACHE_REQUESTS + " counter\n");
+		writer.write(requests.toString());
+		writer.write("# HELP " + CACHE_EVICTIONS + " Entries evicted from the caches used while handling FHIR requests\n");
+		writer.write("# TYPE " + CACHE_EVICTIONS + " counter\n");
+		writer.write(evictions.toString());
+	}
+	
+	private static void writeHistograms(Writer writer, String name, String help, Map<List<String>, Histogram> histograms,
+	        String... labelNames) throws IOException {
+		writer.write("# HELP " + name + " " + help + "\n");
+		writer.write("# TYPE " + name + " histogram\n");
+		
+		for (Map.Entry<List<String>, Histogram> entry : histograms.entrySet()) {
+			StringBuilder labels = new StringBuilder();
+			for (int i = 0; i < labelNames.length; i++) {
+				if (i > 0) {
+					labels.append(',');
+				}
+				labels.append(labelNames[i]).append("=\"").append(escapeLabelValue(entry.getKey().get(i))).append('"');
+			}
+			
+			entry.getValue().write(writer, name, labels.toString());
+		}
+	}
+	
+	private static String escapeLabelValue(String value) {
+		return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+	}
+	
+	private static int compareLabels(List<String> left, List<String> right) {
+		for (int i = 0; i < Math.min(left.size(), right.size()); i++) {
+			int result = left.get(i).compareTo(right.get(i));
+			if (result != 0) {
+				return result;
+			}
+		}
+		
+		return Integer.compare(left.size(), right.size());
+	}
+}
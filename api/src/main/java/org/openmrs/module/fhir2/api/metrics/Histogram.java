@@ -0,0 +1,78 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram with fixed bucket boundaries which may be updated concurrently without locking
+ */
+class Histogram {
+	
+	private final double[] bounds;
+	
+	private final LongAdder[] buckets;
+	
+	private final LongAdder count = new LongAdder();
+	
+	private final DoubleAdder sum = new DoubleAdder();
+	
+	Histogram(double[] bounds) {
+		this.bounds = bounds;
+		this.buckets = new LongAdder[bounds.length];
+		for (int i = 0; i < bounds.length; i++) {
+			buckets[i] = new LongAdder();
+		}
+	}
+	
+	void observe(double value) {
+		for (int i = 0; i < bounds.length; i++) {
+			if (value <= bounds[i]) {
+				buckets[i].increment();
+				break;
+			}
+		}
+		
+		count.increment();
+		sum.add(value);
+	}
+	
+	long getCount() {
+		return count.sum();
+	}
+	
+	double getSum() {
+		return sum.sum();
+	}
+	
+	/**
+	 * Writes the samples of this histogram in the Prometheus text format. Bucket counts are
+	 * cumulative, as Prometheus expects.
+	 *
+	 * @param writer the writer to write to
+	 * @param name the name of the metric
+	 * @param labels the labels of this histogram, formatted as {@code name="value",...}
+	 */
+	void write(Writer writer, String name, String labels) throws IOException {
+		long cumulative = 0;
+		for (int i = 0; i < bounds.length; i++) {
+			cumulative += buckets[i].sum();
+			writer.write(name + "_bucket{" + labels + ",le=\"" + bounds[i] + "\"} " + cumulative + "\n");
+		}
+		
+		long total = Math.max(cumulative, getCount());
+		writer.write(name + "_bucket{" + labels + ",le=\"+Inf\"} " + total + "\n");
+		writer.write(name + "_sum{" + labels + "} " + getSum() + "\n");
+		writer.write(name + "_count{" + labels + "} " + total + "\n");
+	}
+}
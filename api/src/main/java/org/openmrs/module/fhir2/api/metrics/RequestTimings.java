@@ -0,0 +1,105 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.metrics;
+
+import java.util.function.Supplier;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import org.openmrs.module.fhir2.api.util.FhirRequestContext;
+
+/**
+ * Accumulates the time spent in each phase of the request being processed by the current thread.
+ * Only the outermost timed section is counted, so a DAO call made while translating a resource is
+ * counted as translation time. Timing is a no-op unless it has been started for the current request;
+ * the timings are kept in its {@link FhirRequestContext}, so they end with the request.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class RequestTimings {
+	
+	@Getter
+	@RequiredArgsConstructor
+	public enum Phase {
+		
+		SEARCH_QUERY("query"),
+		HYDRATION("hydration"),
+		TRANSLATION("translation"),
+		SERIALIZATION("serialization");
+		
+		private final String label;
+	}
+	
+	/**
+	 * Starts timing the request being processed by the current thread, if there is one
+	 */
+	public static void start() {
+		FhirRequestContext context = FhirRequestContext.get();
+		if (context != null) {
+			context.setTimings(new Timings());
+		}
+	}
+	
+	/**
+	 * @return the timings recorded for the current request or null if timing was not started
+	 */
+	public static Timings get() {
+		FhirRequestContext context = FhirRequestContext.get();
+		return context == null ? null : context.getTimings();
+	}
+	
+	public static <T> T time(Phase phase, Supplier<T> supplier) {
+		Timings timings = get();
+		if (timings == null || timings.depth > 0) {
+			return supplier.get();
+		}
+		
+		long start = System.nanoTime();
+		timings.depth++;
+		try {
+			return supplier.get();
+		}
+		finally {
+			timings.depth--;
+			timings.record(phase, System.nanoTime() - start);
+		}
+	}
+	
+	public static void time(Phase phase, Runnable runnable) {
+		time(phase, () -> {
+			runnable.run();
+			return null;
+		});
+	}
+	
+	public static final class Timings {
+		
+		private final long[] nanos = new long[Phase.values().length];
+		
+		private int depth = 0;
+		
+		public void record(Phase phase, long elapsedNanos) {
+			nanos[phase.ordinal()] += elapsedNanos;
+		}
+		
+		public long getNanos(Phase phase) {
+			return nanos[phase.ordinal()];
+		}
+		
+		public long getTotalNanos() {
+			long total = 0;
+			for (long phaseNanos : nanos) {
+				total += phaseNanos;
+			}
+			return total;
+		}
+	}
+}
@@ -0,0 +1,33 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.search;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * A single page of search results along with the {@link SearchCursor} that can be used to fetch
+ * the page that follows it
+ *
+ * @param <T> the type of object contained in this page
+ */
+@Data
+@AllArgsConstructor
+public class KeysetPage<T> {
+	
+	private List<T> results;
+	
+	/**
+	 * The cursor pointing at the last row of this page or null if this page is empty
+	 */
+	private SearchCursor nextCursor;
+}
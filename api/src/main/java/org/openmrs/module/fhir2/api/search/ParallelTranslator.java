@@ -0,0 +1,244 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.search;
+
+import javax.annotation.PreDestroy;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.google.common.collect.Lists;
+import lombok.AccessLevel;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.LazyInitializationException;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.openmrs.Auditable;
+import org.openmrs.OpenmrsObject;
+import org.openmrs.api.context.Context;
+import org.openmrs.api.context.UserContext;
+import org.openmrs.module.fhir2.FhirConstants;
+import org.openmrs.module.fhir2.api.FhirGlobalPropertyService;
+import org.openmrs.module.fhir2.api.dao.FhirDao;
+import org.openmrs.module.fhir2.api.util.FhirRequestContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Translates large pages of search results on several threads. This is limited to DAOs which
+ * declare {@link FhirDao#hasCompleteFetchPlan()}: the page is loaded in the session of the request
+ * with everything its translator reads already initialized, the results are evicted from that
+ * session and the worker threads translate the detached results without a session of their own, so
+ * the page is neither loaded twice nor does each worker hold a database connection. Hibernate
+ * sessions must not be used by more than one thread, so the request session is never bound to the
+ * workers; a translator reading an association the fetch plan did not initialize fails with a
+ * {@link LazyInitializationException}, in which case the page is loaded again in the request session
+ * and translated on the request thread.
+ * <p>
+ * This is only used when enabled with the {@link FhirConstants#OPENMRS_FHIR_PAGING_PARALLEL_TRANSLATION}
+ * global property.
+ */
+@Slf4j
+@Component
+@Setter(AccessLevel.PACKAGE)
+public class ParallelTranslator {
+	
+	/**
+	 * Pages smaller than this are translated on the request thread
+	 */
+	static final int MINIMUM_PAGE_SIZE = 50;
+	
+	private static final int THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+	
+	private static final int QUEUE_SIZE = THREADS * 4;
+	
+	@Autowired
+	private FhirGlobalPropertyService globalPropertyService;
+	
+	
+	@Autowired
+	@Qualifier("sessionFactory")
+	private SessionFactory sessionFactory;
+	
+	private volatile ThreadPoolExecutor executor;
+	
+	public boolean isEnabled(FhirDao<?> dao, int pageSize) {
+		return pageSize >= MINIMUM_PAGE_SIZE && dao.hasCompleteFetchPlan() && Boolean.parseBoolean(
+		    globalPropertyService.getGlobalProperty(FhirConstants.OPENMRS_FHIR_PAGING_PARALLEL_TRANSLATION, "false"));
+	}
+	
+	/**
+	 * Translates the results, preserving their order
+	 *
+	 * @param results the results to translate, which must have been loaded in the current session;
+	 *            they are detached from it when this returns
+	 * @param dao the DAO used to load the results again if they cannot be translated detached
+	 * @param translation the translation to apply to each result
+	 * @return the translated results
+	 */
+	public <T extends OpenmrsObject & Auditable, U> List<U> translate(List<T> results, FhirDao<T> dao,
+	        Function<T, U> translation) {
+		Session session = sessionFactory.getCurrentSession();
+		if (session.isDirty()) {
+			// changes made by this request would be lost by evicting the results
+			return sequentially(results, translation);
+		}
+		
+		results.forEach(session::evict);
+		try {
+			return inParallel(results, translation);
+		}
+		catch (IllegalStateException e) {
+			if (!(e.getCause() instanceof LazyInitializationException)) {
+				throw e;
+			}
+			
+			log.warn("The fetch plan of {} does not cover everything its translator reads; translating sequentially",
+			    dao.getClass().getSimpleName(), e.getCause());
+			return sequentially(reload(results, dao), translation);
+		}
+	}
+	
+	private <T extends OpenmrsObject & Auditable, U> List<U> inParallel(List<T> results, Function<T, U> translation) {
+		Object[] translated = new Object[results.size()];
+		UserContext userContext = Context.getUserContext();
+		FhirRequestContext requestContext = FhirRequestContext.get();
+		Thread requestThread = Thread.currentThread();
+		
+		int chunkSize = (results.size() + THREADS - 1) / THREADS;
+		List<Future<?>> futures = new ArrayList<>(THREADS);
+		int offset = 0;
+		for (List<T> chunk : Lists.partition(results, chunkSize)) {
+			int chunkOffset = offset;
+			futures.add(getExecutor().submit(() -> {
+				// chunks are run on the request thread when the executor is saturated
+				if (Thread.currentThread() == requestThread) {
+					translateChunk(chunk, chunkOffset, translation, translated);
+				} else {
+					translateChunkOnWorker(userContext, requestContext, chunk, chunkOffset, translation, translated);
+				}
+			}));
+			offset += chunk.size();
+		}
+		
+		for (Future<?> future : futures) {
+			try {
+				future.get();
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while translating search results", e);
+			}
+			catch (ExecutionException e) {
+				throw new IllegalStateException("Failed to translate search results", e.getCause());
+			}
+		}
+		
+		List<U> resources = new ArrayList<>(translated.length);
+		for (Object resource : translated) {
+			@SuppressWarnings("unchecked")
+			U typedResource = (U) resource;
+			resources.add(typedResource);
+		}
+		
+		return resources;
+	}
+	
+	private static <T, U> void translateChunkOnWorker(UserContext userContext, FhirRequestContext requestContext,
+	        List<T> chunk, int offset, Function<T, U> translation, Object[] translated) {
+		Context.setUserContext(userContext);
+		FhirRequestContext.set(requestContext == null ? null : requestContext.forWorker());
+		try {
+			translateChunk(chunk, offset, translation, translated);
+		}
+		finally {
+			Context.clearUserContext();
+			FhirRequestContext.clear();
+		}
+	}
+	
+	private static <T extends OpenmrsObject & Auditable> List<T> reload(List<T> results, FhirDao<T> dao) {
+		Map<String, T> loaded = new HashMap<>();
+		dao.get(results.stream().map(OpenmrsObject::getUuid).collect(Collectors.toList()))
+		        .forEach(result -> loaded.put(result.getUuid(), result));
+		
+		List<T> reloaded = new ArrayList<>(results.size());
+		for (T result : results) {
+			T reloadedResult = loaded.get(result.getUuid());
+			if (reloadedResult == null) {
+				throw new IllegalStateException("Search result " + result.getUuid() + " could not be loaded");
+			}
+			reloaded.add(reloadedResult);
+		}
+		
+		return reloaded;
+	}
+	
+	private static <T, U> void translateChunk(List<T> chunk, int offset, Function<T, U> translation,
+	        Object[] translated) {
+		for (int i = 0; i < chunk.size(); i++) {
+			translated[offset + i] = translation.apply(chunk.get(i));
+		}
+	}
+	
+	private static <T, U> List<U> sequentially(List<T> results, Function<T, U> translation) {
+		List<U> resources = new ArrayList<>(results.size());
+		results.forEach(result -> resources.add(translation.apply(result)));
+		return resources;
+	}
+	
+	private ThreadPoolExecutor getExecutor() {
+		if (executor == null) {
+			synchronized (this) {
+				if (executor == null) {
+					// when the queue is full, chunks are translated on the request thread
+					executor = new ThreadPoolExecutor(THREADS, THREADS, 1, TimeUnit.MINUTES,
+					        new ArrayBlockingQueue<>(QUEUE_SIZE), new TranslationThreadFactory(),
+					        new ThreadPoolExecutor.CallerRunsPolicy());
+					executor.allowCoreThreadTimeOut(true);
+				}
+			}
+		}
+		
+		return executor;
+	}
+	
+	@PreDestroy
+	public void shutdown() {
+		if (executor != null) {
+			executor.shutdownNow();
+		}
+	}
+	
+	private static class TranslationThreadFactory implements ThreadFactory {
+		
+		private final AtomicInteger count = new AtomicInteger();
+		
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, "fhir2-translation-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+}
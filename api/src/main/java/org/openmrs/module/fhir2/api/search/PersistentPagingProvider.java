@@ -0,0 +1,254 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.search;
+
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import ca.uhn.fhir.context.FhirContext;
+import ca.uhn.fhir.rest.api.server.IBundleProvider;
+import ca.uhn.fhir.rest.api.server.RequestDetails;
+import ca.uhn.fhir.rest.server.FifoMemoryPagingProvider;
+import ca.uhn.fhir.rest.server.IPagingProvider;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.openmrs.module.fhir2.FhirConstants;
+import org.openmrs.module.fhir2.FhirPagedSearch;
+import org.openmrs.module.fhir2.api.FhirGlobalPropertyService;
+import org.openmrs.module.fhir2.api.dao.FhirDao;
+import org.openmrs.module.fhir2.api.dao.FhirPagedSearchDao;
+import org.openmrs.module.fhir2.api.translators.ToFhirTranslator;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.ResolvableType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+/**
+ * An {@link IPagingProvider} which stores searches in the database rather than on the heap, so that
+ * the paging links for a search can be served by any node and survive restarts. Only the
+ * {@link SearchState} of a {@link SearchQueryBundleProvider} is stored, and it is only rewritten
+ * when the search reads further than before; other bundle providers are held in memory as before.
+ * <p>
+ * The DAO and translator of a stored search are found again by the type of resource searched for:
+ * the DAO is the one implementing the {@code Fhir<type>Dao} interface, as the DAOs are named, and the
+ * translator is the one translating the objects of that DAO into the resource type. A search whose
+ * DAO and translator would not be found again this way is held in memory.
+ */
+@Slf4j
+@Component
+@Setter(AccessLevel.PACKAGE)
+public class PersistentPagingProvider implements IPagingProvider {
+	
+	private static final long PURGE_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+	
+	@Autowired
+	private FhirPagedSearchDao pagedSearchDao;
+	
+	@Autowired
+	private FhirGlobalPropertyService globalPropertyService;
+	
+	@Autowired
+	@Qualifier("fhirR4")
+	private FhirContext fhirContext;
+	
+	@Autowired
+	private List<FhirDao<?>> daos;
+	
+	@Autowired
+	private List<ToFhirTranslator<?, ?>> translators;
+	
+	@Autowired
+	private SearchQueryBundleProviderFactory bundleProviderFactory;
+	
+	private final FifoMemoryPagingProvider memoryPagingProvider = new FifoMemoryPagingProvider(100);
+	
+	private final Map<String, Optional<SearchComponents>> componentsByResourceType = new ConcurrentHashMap<>();
+	
+	private final AtomicLong lastPurge = new AtomicLong();
+	
+	@Override
+	public int getDefaultPageSize() {
+		return globalPropertyService.getGlobalProperty(FhirConstants.OPENMRS_FHIR_DEFAULT_PAGE_SIZE, 10);
+	}
+	
+	@Override
+	public int getMaximumPageSize() {
+		return globalPropertyService.getGlobalProperty(FhirConstants.OPENMRS_FHIR_MAXIMUM_PAGE_SIZE, 100);
+	}
+	
+	@Override
+	public IBundleProvider retrieveResultList(RequestDetails theRequestDetails, String theSearchId) {
+		IBundleProvider result = memoryPagingProvider.retrieveResultList(theRequestDetails, theSearchId);
+		if (result != null) {
+			return result;
+		}
+		
+		return pagedSearchDao.getPagedSearch(theSearchId).map(this::restore).orElse(null);
+	}
+	
+	@Override
+	public String storeResultList(RequestDetails theRequestDetails, IBundleProvider theList) {
+		purgeExpiredSearches();
+		
+		String resourceType = theList instanceof SearchQueryBundleProvider
+		        ? getResourceType((SearchQueryBundleProvider<?, ?>) theList)
+		        : null;
+		if (resourceType != null) {
+			SearchQueryBundleProvider<?, ?> search = (SearchQueryBundleProvider<?, ?>) theList;
+			
+			FhirPagedSearch pagedSearch = new FhirPagedSearch();
+			pagedSearch.setSearchId(search.getUuid());
+			pagedSearch.setDateCreated(new Date());
+			
+			if (save(pagedSearch, search, resourceType)) {
+				search.setStateListener(s -> save(pagedSearch, s, resourceType));
+				return pagedSearch.getSearchId();
+			}
+		}
+		
+		return memoryPagingProvider.storeResultList(theRequestDetails, theList);
+	}
+	
+	private boolean save(FhirPagedSearch pagedSearch, SearchQueryBundleProvider<?, ?> search, String resourceType) {
+		try {
+			pagedSearch.setSearchState(SearchStateFormat.write(search.getState(resourceType), fhirContext));
+		}
+		catch (IOException e) {
+			log.debug("Search {} cannot be serialized, it will be held in memory", search.getUuid(), e);
+			return false;
+		}
+		
+		pagedSearch.setExpires(new Date(System.currentTimeMillis() + TimeUnit.SECONDS
+		        .toMillis(globalPropertyService.getGlobalProperty(FhirConstants.OPENMRS_FHIR_PAGING_TTL, 3600))));
+		pagedSearchDao.savePagedSearch(pagedSearch);
+		return true;
+	}
+	
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private IBundleProvider restore(FhirPagedSearch pagedSearch) {
+		SearchState state;
+		try {
+			state = SearchStateFormat.read(pagedSearch.getSearchState(), fhirContext);
+		}
+		catch (IOException e) {
+			log.warn("Unable to restore search {}", pagedSearch.getSearchId(), e);
+			return null;
+		}
+		
+		SearchComponents components = findComponents(state.getResourceType());
+		if (components == null) {
+			log.warn("Unable to find the components needed to restore search {}", pagedSearch.getSearchId());
+			return null;
+		}
+		
+		String resourceType = state.getResourceType();
+		SearchQueryBundleProvider search = bundleProviderFactory.restore(state, (FhirDao) components.dao,
+		    (ToFhirTranslator) components.translator);
+		search.setStateListener(s -> save(pagedSearch, (SearchQueryBundleProvider<?, ?>) s, resourceType));
+		return search;
+	}
+	
+	/**
+	 * @return the type of resource the given search is stored with, or null if its DAO and translator
+	 *         would not be found again by that type
+	 */
+	private String getResourceType(SearchQueryBundleProvider<?, ?> search) {
+		String resourceType = getResourceType(ResolvableType.forClass(AopUtils.getTargetClass(search.getTranslator()))
+		        .as(ToFhirTranslator.class).resolveGeneric(1));
+		SearchComponents components = findComponents(resourceType);
+		if (components == null || components.dao != search.getDao() || components.translator != search.getTranslator()) {
+			return null;
+		}
+		
+		return resourceType;
+	}
+	
+	/**
+	 * @return the name of the R4 resource type of the given class, or null if it is not one
+	 */
+	@SuppressWarnings("unchecked")
+	private String getResourceType(Class<?> resourceClass) {
+		if (resourceClass == null || !IBaseResource.class.isAssignableFrom(resourceClass)
+		        || Modifier.isAbstract(resourceClass.getModifiers())) {
+			return null;
+		}
+		
+		try {
+			return fhirContext.getResourceDefinition((Class<? extends IBaseResource>) resourceClass).getName();
+		}
+		catch (RuntimeException e) {
+			return null;
+		}
+	}
+	
+	private SearchComponents findComponents(String resourceType) {
+		if (resourceType == null) {
+			return null;
+		}
+		
+		return componentsByResourceType.computeIfAbsent(resourceType, this::resolveComponents).orElse(null);
+	}
+	
+	private Optional<SearchComponents> resolveComponents(String resourceType) {
+		String daoInterface = "Fhir" + resourceType + "Dao";
+		List<FhirDao<?>> matchingDaos = daos.stream().filter(dao -> ClassUtils
+		        .getAllInterfacesForClassAsSet(AopUtils.getTargetClass(dao)).stream()
+		        .anyMatch(type -> type.getSimpleName().equals(daoInterface))).collect(Collectors.toList());
+		if (matchingDaos.size() != 1) {
+			return Optional.empty();
+		}
+		
+		FhirDao<?> dao = matchingDaos.get(0);
+		Class<?> objectClass = ResolvableType.forClass(AopUtils.getTargetClass(dao)).as(FhirDao.class).resolveGeneric(0);
+		List<ToFhirTranslator<?, ?>> matchingTranslators = translators.stream()
+		        .filter(translator -> translates(translator, objectClass, resourceType)).collect(Collectors.toList());
+		if (matchingTranslators.size() != 1) {
+			return Optional.empty();
+		}
+		
+		return Optional.of(new SearchComponents(dao, matchingTranslators.get(0)));
+	}
+	
+	private boolean translates(ToFhirTranslator<?, ?> translator, Class<?> objectClass, String resourceType) {
+		Class<?>[] types = ResolvableType.forClass(AopUtils.getTargetClass(translator)).as(ToFhirTranslator.class)
+		        .resolveGenerics();
+		return types.length == 2 && types[0] != null && types[0] == objectClass
+		        && resourceType.equals(getResourceType(types[1]));
+	}
+	
+	@AllArgsConstructor
+	private static class SearchComponents {
+		
+		private final FhirDao<?> dao;
+		
+		private final ToFhirTranslator<?, ?> translator;
+	}
+	
+	private void purgeExpiredSearches() {
+		long now = System.currentTimeMillis();
+		long last = lastPurge.get();
+		if (now - last > PURGE_INTERVAL && lastPurge.compareAndSet(last, now)) {
+			pagedSearchDao.purgeExpiredSearches(new Date(now));
+		}
+	}
+}
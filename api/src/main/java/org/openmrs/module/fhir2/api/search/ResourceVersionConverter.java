@@ -0,0 +1,28 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.search;
+
+import ca.uhn.fhir.context.FhirVersionEnum;
+import org.hl7.fhir.instance.model.api.IBaseResource;
+
+/**
+ * Converts the R4 resources returned by a search into the FHIR version the search was made with
+ */
+public interface ResourceVersionConverter {
+	
+	/**
+	 * Converts an R4 resource into its equivalent in the given FHIR version
+	 *
+	 * @param resource the R4 resource
+	 * @param version the FHIR version of the request that started the search
+	 * @return the converted resource, or {@code resource} itself if no conversion is needed
+	 */
+	IBaseResource convert(IBaseResource resource, FhirVersionEnum version);
+}
@@ -0,0 +1,36 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.search;
+
+import java.io.Serializable;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Identifies the position of the last row returned for a page of search results so that the next
+ * page can be fetched by seeking past it rather than by counting rows from the start of the result
+ * set.
+ * <p>
+ * The sort values are stored in the same order as the orderings applied to the search and the
+ * identifier is always the final tie-breaker.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchCursor implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private Object[] sortValues;
+	
+	private Serializable id;
+}
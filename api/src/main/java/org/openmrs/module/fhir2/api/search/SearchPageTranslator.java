@@ -0,0 +1,66 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.openmrs.Auditable;
+import org.openmrs.OpenmrsObject;
+import org.openmrs.module.fhir2.api.dao.FhirDao;
+import org.openmrs.module.fhir2.api.metrics.RequestTimings;
+import org.openmrs.module.fhir2.api.translators.BulkToFhirTranslator;
+import org.openmrs.module.fhir2.api.translators.ToFhirTranslator;
+
+/**
+ * Translates the pages of a search. Translators implementing {@link BulkToFhirTranslator} receive
+ * the whole page at once so they can load any related data with a single query; other translators
+ * may be run on several threads by the {@link ParallelTranslator}.
+ *
+ * @param <T> the type of object searched for
+ * @param <U> the type of resource it is translated to
+ */
+class SearchPageTranslator<T extends OpenmrsObject & Auditable, U extends IBaseResource> {
+	
+	private final FhirDao<T> dao;
+	
+	private final ToFhirTranslator<T, U> translator;
+	
+	private final ParallelTranslator parallelTranslator;
+	
+	SearchPageTranslator(FhirDao<T> dao, ToFhirTranslator<T, U> translator, ParallelTranslator parallelTranslator) {
+		this.dao = dao;
+		this.translator = translator;
+		this.parallelTranslator = parallelTranslator;
+	}
+	
+	ToFhirTranslator<T, U> getTranslator() {
+		return translator;
+	}
+	
+	List<IBaseResource> translate(List<T> results) {
+		return RequestTimings.time(RequestTimings.Phase.TRANSLATION, () -> doTranslate(results));
+	}
+	
+	@SuppressWarnings("unchecked")
+	private List<IBaseResource> doTranslate(List<T> results) {
+		if (translator instanceof BulkToFhirTranslator) {
+			return new ArrayList<>(((BulkToFhirTranslator<T, U>) translator).toFhirResources(results));
+		}
+		
+		if (parallelTranslator != null && parallelTranslator.isEnabled(dao, results.size())) {
+			return new ArrayList<>(parallelTranslator.translate(results, dao, translator::toFhirResource));
+		}
+		
+		return results.stream().map(translator::toFhirResource).collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,168 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.search;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import ca.uhn.fhir.rest.api.SearchTotalModeEnum;
+import org.openmrs.Auditable;
+import org.openmrs.OpenmrsObject;
+import org.openmrs.module.fhir2.api.dao.FhirDao;
+import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
+
+/**
+ * Fetches the pages of a search from its DAO and keeps track of how far the search has been read:
+ * the keyset cursors returned with each page, where the results end once a page has ended early,
+ * and the total. A listener is notified whenever this changes, so that the stored state of the
+ * search can be updated.
+ *
+ * @param <T> the type of object searched for
+ */
+class SearchPager<T extends OpenmrsObject & Auditable> {
+	
+	private final FhirDao<T> dao;
+	
+	private final SearchParameterMap theParams;
+	
+	/**
+	 * In keyset paging mode, the cursors returned for each page fetched so far, keyed by the index of
+	 * the first result of the following page
+	 */
+	private final Map<Integer, SearchCursor> cursors = new ConcurrentHashMap<>();
+	
+	private Integer count;
+	
+	/**
+	 * The number of results, once a page has ended before the number of results it was asked for
+	 */
+	private Integer end;
+	
+	/**
+	 * The number of results from the start of the search up to the end of the furthest page fetched
+	 */
+	private int fetched;
+	
+	private Runnable stateListener;
+	
+	SearchPager(FhirDao<T> dao, SearchParameterMap theParams) {
+		this.dao = dao;
+		this.theParams = theParams;
+	}
+	
+	/**
+	 * Restores how far a stored search had been read
+	 */
+	SearchPager(FhirDao<T> dao, SearchState state) {
+		this(dao, state.getTheParams());
+		this.cursors.putAll(state.getCursors());
+		this.count = state.getCount();
+		this.end = state.getEnd();
+		this.fetched = state.getFetched();
+	}
+	
+	FhirDao<T> getDao() {
+		return dao;
+	}
+	
+	int getPreferredPageSize() {
+		return dao.getPreferredPageSize();
+	}
+	
+	/**
+	 * @return the number of results that can still be read from {@code firstResult}, up to
+	 *         {@code maxResults}
+	 */
+	int getAvailable(int firstResult, int maxResults) {
+		return end == null ? maxResults : Math.min(maxResults, end - firstResult);
+	}
+	
+	/**
+	 * Fetches a page with {@link FhirDao#searchPage}. In keyset paging mode, the cursor returned with
+	 * the previous page is used so the database can seek directly to the start of the page.
+	 */
+	List<T> fetchPage(int firstResult, int maxResults) {
+		boolean keysetPaging = dao.isKeysetPagingEnabled();
+		KeysetPage<T> page = dao.searchPage(theParams, keysetPaging ? cursors.get(firstResult) : null, firstResult,
+		    maxResults);
+		
+		Integer previousEnd = end;
+		int previousFetched = fetched;
+		
+		int pageEnd = firstResult + page.getResults().size();
+		if (page.getResults().size() < maxResults) {
+			end = pageEnd;
+		}
+		fetched = Math.max(fetched, pageEnd);
+		
+		if (keysetPaging && page.getNextCursor() != null) {
+			cursors.put(pageEnd, page.getNextCursor());
+		}
+		
+		if (stateListener != null && (fetched > previousFetched || !Objects.equals(end, previousEnd))) {
+			stateListener.run();
+		}
+		
+		return page.getResults();
+	}
+	
+	/**
+	 * Returns the total number of results for the search as requested by the {@code _total}
+	 * parameter. With {@code _total=none} no total is calculated; with {@code _total=estimate} the
+	 * DAO's estimate is used. Otherwise, the total is calculated by a separate count query.
+	 * <p>
+	 * The count query is not the query used to fetch the pages, so once a page has ended early the
+	 * number of results actually returned is reported instead. A count below the number of results
+	 * already returned is known to be wrong, so no total is reported in that case.
+	 */
+	Integer size(SearchTotalModeEnum totalMode) {
+		if (totalMode == SearchTotalModeEnum.NONE) {
+			return null;
+		}
+		
+		if (end != null) {
+			return end;
+		}
+		
+		if (count == null) {
+			if (totalMode == SearchTotalModeEnum.ESTIMATED) {
+				count = dao.getSearchResultsCountEstimate(theParams);
+			} else {
+				count = dao.getSearchResultsCount(theParams);
+			}
+		}
+		
+		return count < fetched ? null : count;
+	}
+	
+	/**
+	 * @return true if the results are known to end at or before {@code offset}
+	 */
+	boolean isEnd(int offset) {
+		return end != null && offset >= end;
+	}
+	
+	void writeState(SearchState state) {
+		state.getCursors().putAll(cursors);
+		state.setCount(count);
+		state.setEnd(end);
+		state.setFetched(fetched);
+	}
+	
+	/**
+	 * Sets a listener to be notified whenever the search reads past the furthest result read so far
+	 * or finds where its results end, which are the only times its stored state needs to change
+	 */
+	void setStateListener(Runnable stateListener) {
+		this.stateListener = stateListener;
+	}
+}
@@ -13,11 +13,14 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 import java.io.Serializable;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
+import ca.uhn.fhir.context.FhirVersionEnum;
+import ca.uhn.fhir.rest.api.SearchTotalModeEnum;
 import ca.uhn.fhir.rest.api.server.IBundleProvider;
 import org.hl7.fhir.instance.model.api.IBaseResource;
 import org.hl7.fhir.instance.model.api.IPrimitiveType;
@@ -25,33 +28,74 @@ import org.hl7.fhir.r4.model.InstantType;
 import org.openmrs.Auditable;
 import org.openmrs.OpenmrsObject;
 import org.openmrs.module.fhir2.api.dao.FhirDao;
+import org.openmrs.module.fhir2.api.metrics.RequestTimings;
 import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
 import org.openmrs.module.fhir2.api.translators.ToFhirTranslator;
+import org.openmrs.module.fhir2.api.util.FhirRequestContext;
 
+/**
+ * The results of a search, fetched a page at a time. The work is done by collaborators created by the
+ * {@link SearchQueryBundleProviderFactory}: the {@link SearchPager} fetches the pages and tracks how
+ * far the search has been read, the {@link SearchPageTranslator} translates them, the
+ * {@link SearchQueryInclude} resolves {@code _include} and {@code _revinclude} and the
+ * {@link ResourceVersionConverter} converts the results of searches made by R3 clients. A search
+ * created with the public constructor has no includes or conversion and translates on one thread.
+ */
 public class SearchQueryBundleProvider<T extends OpenmrsObject & Auditable, U extends IBaseResource> implements IBundleProvider, Serializable {
 	
-	private static final long serialVersionUID = 3L;
+	private static final long serialVersionUID = 6L;
+	
+	private final transient SearchPager<T> pager;
+	
+	private final transient SearchPageTranslator<T, U> pageTranslator;
+	
+	private final transient SearchQueryInclude searchQueryInclude;
 	
-	private final FhirDao<T> dao;
+	private final transient ResourceVersionConverter versionConverter;
 	
 	private final Date datePublished;
 	
 	private final SearchParameterMap theParams;
 	
-	private final ToFhirTranslator<T, U> translator;
-	
 	private final UUID uuid;
 	
-	private transient Integer count;
+	private final SearchTotalModeEnum totalMode;
 	
-	private transient List<String> matchingResourceUuids;
+	private final FhirVersionEnum fhirVersion;
 	
 	public SearchQueryBundleProvider(SearchParameterMap theParams, FhirDao<T> dao, ToFhirTranslator<T, U> translator) {
-		this.dao = dao;
+		this(theParams, new SearchPager<>(dao, theParams), new SearchPageTranslator<>(dao, translator, null), null, null);
+	}
+	
+	SearchQueryBundleProvider(SearchParameterMap theParams, SearchPager<T> pager, SearchPageTranslator<T, U> pageTranslator,
+	        SearchQueryInclude searchQueryInclude, ResourceVersionConverter versionConverter) {
+		this.pager = pager;
+		this.pageTranslator = pageTranslator;
+		this.searchQueryInclude = searchQueryInclude;
+		this.versionConverter = versionConverter;
 		this.datePublished = new Date();
 		this.theParams = theParams;
-		this.translator = translator;
 		this.uuid = UUID.randomUUID();
+		
+		FhirRequestContext requestContext = FhirRequestContext.get();
+		this.totalMode = requestContext == null ? null : requestContext.getTotalMode();
+		this.fhirVersion = requestContext == null ? null : requestContext.getFhirVersion();
+	}
+	
+	/**
+	 * Restores a search stored by the {@link PersistentPagingProvider}
+	 */
+	SearchQueryBundleProvider(SearchState state, SearchPager<T> pager, SearchPageTranslator<T, U> pageTranslator,
+	        SearchQueryInclude searchQueryInclude, ResourceVersionConverter versionConverter) {
+		this.pager = pager;
+		this.pageTranslator = pageTranslator;
+		this.searchQueryInclude = searchQueryInclude;
+		this.versionConverter = versionConverter;
+		this.datePublished = state.getDatePublished();
+		this.theParams = state.getTheParams();
+		this.uuid = state.getUuid();
+		this.totalMode = state.getTotalMode();
+		this.fhirVersion = state.getFhirVersion();
 	}
 	
 	@Override
@@ -59,24 +103,70 @@ public class SearchQueryBundleProvider<T extends OpenmrsObject & Auditable, U ex
 		return new InstantType(datePublished);
 	}
 	
+	/**
+	 * Fetches and translates the requested page. If streaming is enabled for the current request, the
+	 * page is handed to {@link StreamingSearchHolder} instead of being loaded. Any resources requested
+	 * by {@code _include} or {@code _revinclude} are added after the matches. For searches made by R3
+	 * clients, each resource is then replaced by its R3 equivalent in place, so the R4 resources can
+	 * be collected while the rest of the page is converted.
+	 */
 	@Nonnull
 	@Override
 	public List<IBaseResource> getResources(int fromIndex, int toIndex) {
-		if (this.matchingResourceUuids == null) {
-			this.matchingResourceUuids = dao.getResultUuids(theParams);
+		int firstResult = Math.max(fromIndex, 0);
+		int maxResults = pager.getAvailable(firstResult,
+		    toIndex - firstResult > 0 ? toIndex - firstResult : preferredPageSize());
+		
+		if (maxResults <= 0) {
+			return Collections.emptyList();
+		}
+		
+		if (StreamingSearchHolder.defer(this, firstResult, maxResults)) {
+			return Collections.emptyList();
+		}
+		
+		List<IBaseResource> resources = pageTranslator.translate(pager.fetchPage(firstResult, maxResults));
+		if (searchQueryInclude != null && SearchQueryInclude.hasIncludes(theParams)) {
+			resources.addAll(searchQueryInclude.getIncludedResources(resources, theParams));
 		}
 		
-		int firstResult = 0;
-		if (fromIndex >= 0) {
-			firstResult = fromIndex;
+		if (fhirVersion != null && fhirVersion != FhirVersionEnum.R4) {
+			if (versionConverter == null) {
+				throw new IllegalStateException("No converter is available for " + fhirVersion + " search results");
+			}
+			
+			RequestTimings.time(RequestTimings.Phase.TRANSLATION,
+			    () -> resources.replaceAll(resource -> versionConverter.convert(resource, fhirVersion)));
 		}
 		
-		int lastResult = this.size();
-		if (toIndex - firstResult > 0) {
-			lastResult = Math.min(lastResult, toIndex);
+		return resources;
+	}
+	
+	/**
+	 * Loads and translates the results from {@code firstResult} to {@code firstResult + maxResults}
+	 * in chunks of at most {@code chunkSize}, passing each translated chunk to the consumer. The
+	 * entities of each chunk are evicted from the session once translated, so the memory used does
+	 * not grow with the number of results.
+	 */
+	public void streamResources(int firstResult, int maxResults, int chunkSize,
+	        Consumer<List<IBaseResource>> consumer) {
+		int offset = Math.max(firstResult, 0);
+		int last = offset + maxResults;
+		
+		while (offset < last) {
+			List<T> results = pager.fetchPage(offset, Math.min(chunkSize, last - offset));
+			if (results.isEmpty()) {
+				break;
+			}
+			
+			consumer.accept(pageTranslator.translate(results));
+			pager.getDao().evict(results);
+			offset += results.size();
+			
+			if (pager.isEnd(offset)) {
+				break;
+			}
 		}
-		return dao.search(this.theParams, this.matchingResourceUuids, firstResult, lastResult).stream()
-		        .map(translator::toFhirResource).collect(Collectors.toList());
 	}
 	
 	@Nullable
@@ -87,20 +177,48 @@ public class SearchQueryBundleProvider<T extends OpenmrsObject & Auditable, U ex
 	
 	@Override
 	public Integer preferredPageSize() {
-		return dao.getPreferredPageSize();
+		return pager.getPreferredPageSize();
 	}
 	
+	/**
+	 * Returns the total number of results for this search as requested by the {@code _total}
+	 * parameter, see {@link SearchPager#size(SearchTotalModeEnum)}
+	 */
 	@Nullable
 	@Override
 	public Integer size() {
-		if (this.matchingResourceUuids == null) {
-			this.matchingResourceUuids = dao.getResultUuids(theParams);
-		}
-		
-		if (count == null) {
-			count = this.matchingResourceUuids.size();
-		}
-		
-		return count;
+		return pager.size(totalMode);
+	}
+	
+	FhirDao<T> getDao() {
+		return pager.getDao();
+	}
+	
+	ToFhirTranslator<T, U> getTranslator() {
+		return pageTranslator.getTranslator();
+	}
+	
+	/**
+	 * @param resourceType the key the DAO and translator of this search are found by when it is
+	 *            restored
+	 * @return the state stored by the {@link PersistentPagingProvider} to restore this search
+	 */
+	SearchState getState(String resourceType) {
+		SearchState state = new SearchState();
+		state.setUuid(uuid);
+		state.setDatePublished(datePublished);
+		state.setTheParams(theParams);
+		state.setTotalMode(totalMode);
+		state.setFhirVersion(fhirVersion);
+		state.setResourceType(resourceType);
+		pager.writeState(state);
+		return state;
+	}
+	
+	/**
+	 * Sets a listener to be notified whenever the stored state of this search needs to change
+	 */
+	void setStateListener(Consumer<SearchQueryBundleProvider<T, U>> stateListener) {
+		pager.setStateListener(() -> stateListener.accept(this));
 	}
 }
@@ -0,0 +1,51 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.search;
+
+import lombok.AccessLevel;
+import lombok.Setter;
+import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.openmrs.Auditable;
+import org.openmrs.OpenmrsObject;
+import org.openmrs.module.fhir2.api.dao.FhirDao;
+import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
+import org.openmrs.module.fhir2.api.translators.ToFhirTranslator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates each {@link SearchQueryBundleProvider} along with the collaborators it needs, both for new
+ * searches and for searches restored by the {@link PersistentPagingProvider}
+ */
+@Component
+@Setter(AccessLevel.PACKAGE)
+public class SearchQueryBundleProviderFactory {
+	
+	@Autowired(required = false)
+	private ParallelTranslator parallelTranslator;
+	
+	@Autowired(required = false)
+	private SearchQueryInclude searchQueryInclude;
+	
+	@Autowired(required = false)
+	private ResourceVersionConverter versionConverter;
+	
+	public <T extends OpenmrsObject & Auditable, U extends IBaseResource> SearchQueryBundleProvider<T, U> create(
+	        SearchParameterMap theParams, FhirDao<T> dao, ToFhirTranslator<T, U> translator) {
+		return new SearchQueryBundleProvider<>(theParams, new SearchPager<>(dao, theParams),
+		        new SearchPageTranslator<>(dao, translator, parallelTranslator), searchQueryInclude, versionConverter);
+	}
+	
+	<T extends OpenmrsObject & Auditable, U extends IBaseResource> SearchQueryBundleProvider<T, U> restore(
+	        SearchState state, FhirDao<T> dao, ToFhirTranslator<T, U> translator) {
+		return new SearchQueryBundleProvider<>(state, new SearchPager<>(dao, state),
+		        new SearchPageTranslator<>(dao, translator, parallelTranslator), searchQueryInclude, versionConverter);
+	}
+}
@@ -0,0 +1,286 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import ca.uhn.fhir.model.api.Include;
+import ca.uhn.fhir.model.api.ResourceMetadataKeyEnum;
+import ca.uhn.fhir.model.valueset.BundleEntrySearchModeEnum;
+import ca.uhn.fhir.rest.param.ReferenceAndListParam;
+import ca.uhn.fhir.rest.param.ReferenceOrListParam;
+import ca.uhn.fhir.rest.param.ReferenceParam;
+import lombok.AccessLevel;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.hl7.fhir.instance.model.api.IAnyResource;
+import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.hl7.fhir.r4.model.Encounter;
+import org.hl7.fhir.r4.model.MedicationRequest;
+import org.hl7.fhir.r4.model.Observation;
+import org.hl7.fhir.r4.model.Reference;
+import org.openmrs.Auditable;
+import org.openmrs.Obs;
+import org.openmrs.OpenmrsObject;
+import org.openmrs.Provider;
+import org.openmrs.module.fhir2.FhirConstants;
+import org.openmrs.module.fhir2.api.dao.FhirDao;
+import org.openmrs.module.fhir2.api.dao.FhirEncounterDao;
+import org.openmrs.module.fhir2.api.dao.FhirLocationDao;
+import org.openmrs.module.fhir2.api.dao.FhirMedicationDao;
+import org.openmrs.module.fhir2.api.dao.FhirObservationDao;
+import org.openmrs.module.fhir2.api.dao.FhirPatientDao;
+import org.openmrs.module.fhir2.api.dao.FhirPractitionerDao;
+import org.openmrs.module.fhir2.api.search.param.PropParam;
+import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
+import org.openmrs.module.fhir2.api.translators.EncounterTranslator;
+import org.openmrs.module.fhir2.api.translators.LocationTranslator;
+import org.openmrs.module.fhir2.api.translators.MedicationTranslator;
+import org.openmrs.module.fhir2.api.translators.ObservationTranslator;
+import org.openmrs.module.fhir2.api.translators.PatientTranslator;
+import org.openmrs.module.fhir2.api.translators.PractitionerTranslator;
+import org.openmrs.module.fhir2.api.translators.ToFhirTranslator;
+import org.openmrs.module.fhir2.api.util.FhirRequestContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves the resources requested by the {@code _include} and {@code _revinclude} parameters of a
+ * search for a page of results. The references from every resource on the page are collected first
+ * so that each type of included resource is loaded with a single query, rather than one query per
+ * reference.
+ */
+@Slf4j
+@Component
+@Setter(AccessLevel.PACKAGE)
+public class SearchQueryInclude {
+	
+	/**
+	 * The maximum number of resources loaded for a single {@code _revinclude} on a page of results;
+	 * any further matches are left out of the page
+	 */
+	public static final int MAX_REVERSE_INCLUDED = 1000;
+	
+	@Autowired
+	private FhirPatientDao patientDao;
+	
+	@Autowired
+	private PatientTranslator patientTranslator;
+	
+	@Autowired
+	private FhirEncounterDao encounterDao;
+	
+	@Autowired
+	private EncounterTranslator encounterTranslator;
+	
+	@Autowired
+	private FhirLocationDao locationDao;
+	
+	@Autowired
+	private LocationTranslator locationTranslator;
+	
+	@Autowired
+	private FhirMedicationDao medicationDao;
+	
+	@Autowired
+	private MedicationTranslator medicationTranslator;
+	
+	@Autowired
+	private FhirPractitionerDao practitionerDao;
+	
+	@Autowired
+	private PractitionerTranslator<Provider> practitionerTranslator;
+	
+	@Autowired
+	private FhirObservationDao observationDao;
+	
+	@Autowired
+	private ObservationTranslator observationTranslator;
+	
+	/**
+	 * Determines whether the given search asks for any included resources
+	 */
+	public static boolean hasIncludes(SearchParameterMap theParams) {
+		return !getIncludes(theParams, FhirConstants.INCLUDE_SEARCH_HANDLER).isEmpty()
+		        || !getIncludes(theParams, FhirConstants.REVERSE_INCLUDE_SEARCH_HANDLER).isEmpty();
+	}
+	
+	/**
+	 * Loads the resources referenced by, or referencing, the given page of results as requested by the
+	 * {@code _include} and {@code _revinclude} parameters of the search. Each included resource is
+	 * marked with the {@code include} search mode so it is not counted as a match.
+	 * <p>
+	 * The elements requested through {@code _elements} or {@code _summary} are those of the resource
+	 * type searched for, so they are ignored while the included resources are translated.
+	 *
+	 * @param resources the page of results
+	 * @param theParams the parameters of the search
+	 * @return the included resources, excluding any that are already part of the page
+	 */
+	public List<IBaseResource> getIncludedResources(List<IBaseResource> resources, SearchParameterMap theParams) {
+		FhirRequestContext requestContext = FhirRequestContext.get();
+		Set<String> requestedElements = requestContext == null ? null : requestContext.getRequestedElements();
+		if (requestedElements == null) {
+			return loadIncludedResources(resources, theParams);
+		}
+		
+		requestContext.setRequestedElements(null);
+		try {
+			return loadIncludedResources(resources, theParams);
+		}
+		finally {
+			requestContext.setRequestedElements(requestedElements);
+		}
+	}
+	
+	private List<IBaseResource> loadIncludedResources(List<IBaseResource> resources, SearchParameterMap theParams) {
+		Map<String, Set<String>> referencedIds = new LinkedHashMap<>();
+		for (Include include : getIncludes(theParams, FhirConstants.INCLUDE_SEARCH_HANDLER)) {
+			for (IBaseResource resource : resources) {
+				for (Reference reference : getReferences(include, resource)) {
+					String type = reference.getReferenceElement().getResourceType();
+					String id = reference.getReferenceElement().getIdPart();
+					if (type == null && reference.getType() != null) {
+						type = reference.getType();
+					}
+					
+					if (type != null && id != null) {
+						referencedIds.computeIfAbsent(type, k -> new HashSet<>()).add(id);
+					}
+				}
+			}
+		}
+		
+		Map<String, IBaseResource> included = new LinkedHashMap<>();
+		referencedIds.forEach((type, ids) -> load(type, ids).forEach(r -> included.putIfAbsent(key(r), r)));
+		
+		for (Include revInclude : getIncludes(theParams, FhirConstants.REVERSE_INCLUDE_SEARCH_HANDLER)) {
+			getReverseIncluded(revInclude, resources).forEach(r -> included.putIfAbsent(key(r), r));
+		}
+		
+		resources.forEach(r -> included.remove(key(r)));
+		for (IBaseResource resource : included.values()) {
+			if (resource instanceof IAnyResource) {
+				ResourceMetadataKeyEnum.ENTRY_SEARCH_MODE.put((IAnyResource) resource, BundleEntrySearchModeEnum.INCLUDE);
+			}
+		}
+		
+		return new ArrayList<>(included.values());
+	}
+	
+	private List<Reference> getReferences(Include include, IBaseResource resource) {
+		List<Reference> references = new ArrayList<>();
+		String paramName = include.getParamName();
+		
+		if (resource instanceof Observation && FhirConstants.OBSERVATION.equals(include.getParamType())) {
+			Observation observation = (Observation) resource;
+			if (Observation.SP_PATIENT.equals(paramName) || Observation.SP_SUBJECT.equals(paramName)) {
+				references.add(observation.getSubject());
+			} else if (Observation.SP_ENCOUNTER.equals(paramName)) {
+				references.add(observation.getEncounter());
+			}
+		} else if (resource instanceof Encounter && FhirConstants.ENCOUNTER.equals(include.getParamType())) {
+			Encounter encounter = (Encounter) resource;
+			if (Encounter.SP_PATIENT.equals(paramName) || Encounter.SP_SUBJECT.equals(paramName)) {
+				references.add(encounter.getSubject());
+			} else if (Encounter.SP_LOCATION.equals(paramName)) {
+				encounter.getLocation().forEach(location -> references.add(location.getLocation()));
+			} else if (Encounter.SP_PARTICIPANT.equals(paramName)) {
+				encounter.getParticipant().forEach(participant -> references.add(participant.getIndividual()));
+			}
+		} else if (resource instanceof MedicationRequest && FhirConstants.MEDICATION_REQUEST.equals(include.getParamType())) {
+			MedicationRequest medicationRequest = (MedicationRequest) resource;
+			if (MedicationRequest.SP_PATIENT.equals(paramName) || MedicationRequest.SP_SUBJECT.equals(paramName)) {
+				references.add(medicationRequest.getSubject());
+			} else if (MedicationRequest.SP_ENCOUNTER.equals(paramName)) {
+				references.add(medicationRequest.getEncounter());
+			} else if (MedicationRequest.SP_MEDICATION.equals(paramName) && medicationRequest.hasMedicationReference()) {
+				references.add(medicationRequest.getMedicationReference());
+			} else if (MedicationRequest.SP_REQUESTER.equals(paramName)) {
+				references.add(medicationRequest.getRequester());
+			}
+		}
+		
+		return references;
+	}
+	
+	private List<? extends IBaseResource> load(String type, Collection<String> uuids) {
+		switch (type) {
+			case FhirConstants.PATIENT:
+				return load(patientDao, patientTranslator, uuids);
+			case FhirConstants.ENCOUNTER:
+				return load(encounterDao, encounterTranslator, uuids);
+			case FhirConstants.LOCATION:
+				return load(locationDao, locationTranslator, uuids);
+			case FhirConstants.MEDICATION:
+				return load(medicationDao, medicationTranslator, uuids);
+			case FhirConstants.PRACTITIONER:
+				return load(practitionerDao, practitionerTranslator, uuids);
+			default:
+				return new ArrayList<>();
+		}
+	}
+	
+	private List<IBaseResource> getReverseIncluded(Include revInclude, List<IBaseResource> resources) {
+		if (!FhirConstants.OBSERVATION.equals(revInclude.getParamType())
+		        || !Observation.SP_ENCOUNTER.equals(revInclude.getParamName())) {
+			return new ArrayList<>();
+		}
+		
+		ReferenceOrListParam encounters = new ReferenceOrListParam();
+		resources.stream().filter(resource -> resource instanceof Encounter)
+		        .forEach(resource -> encounters.add(new ReferenceParam(((Encounter) resource).getIdElement().getIdPart())));
+		if (encounters.getValuesAsQueryTokens().isEmpty()) {
+			return new ArrayList<>();
+		}
+		
+		SearchParameterMap observationParams = new SearchParameterMap()
+		        .addParameter(FhirConstants.ENCOUNTER_REFERENCE_SEARCH_HANDLER, new ReferenceAndListParam().addAnd(encounters));
+		List<Obs> observations = observationDao.searchPage(observationParams, null, 0, MAX_REVERSE_INCLUDED + 1)
+		        .getResults();
+		if (observations.size() > MAX_REVERSE_INCLUDED) {
+			log.warn("More than {} resources match {}; only the first {} are included", MAX_REVERSE_INCLUDED, revInclude,
+			    MAX_REVERSE_INCLUDED);
+			observations = observations.subList(0, MAX_REVERSE_INCLUDED);
+		}
+		
+		return observations.stream().map(observationTranslator::toFhirResource).collect(Collectors.toList());
+	}
+	
+	private static <T extends OpenmrsObject & Auditable, U extends IBaseResource> List<U> load(FhirDao<T> dao,
+	        ToFhirTranslator<T, U> translator, Collection<String> uuids) {
+		Function<T, U> translation = translator::toFhirResource;
+		return dao.get(uuids).stream().map(translation).collect(Collectors.toList());
+	}
+	
+	private static String key(IBaseResource resource) {
+		return resource.fhirType() + "/" + resource.getIdElement().getIdPart();
+	}
+	
+	@SuppressWarnings("unchecked")
+	private static Set<Include> getIncludes(SearchParameterMap theParams, String key) {
+		Set<Include> includes = new HashSet<>();
+		for (PropParam<?> param : theParams.getParameters(key)) {
+			if (param.getParam() != null) {
+				includes.addAll((Collection<Include>) param.getParam());
+			}
+		}
+		
+		return includes;
+	}
+}
@@ -0,0 +1,56 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.search;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import ca.uhn.fhir.context.FhirVersionEnum;
+import ca.uhn.fhir.rest.api.SearchTotalModeEnum;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
+
+/**
+ * The part of a {@link SearchQueryBundleProvider} stored by the {@link PersistentPagingProvider}:
+ * the search parameters, the paging cursors and how far the search has been read. The DAO and
+ * translator are not stored; they are found again by the type of resource searched for when the
+ * search is restored. See {@link SearchStateFormat} for how the state is written.
+ */
+@Data
+@NoArgsConstructor
+class SearchState {
+	
+	private UUID uuid;
+	
+	private Date datePublished;
+	
+	private SearchParameterMap theParams;
+	
+	private SearchTotalModeEnum totalMode;
+	
+	private FhirVersionEnum fhirVersion;
+	
+	/**
+	 * The name of the type of resource searched for, by which the {@link PersistentPagingProvider} finds
+	 * the DAO and translator of the search again
+	 */
+	private String resourceType;
+	
+	private Map<Integer, SearchCursor> cursors = new HashMap<>();
+	
+	private Integer count;
+	
+	private Integer end;
+	
+	private int fetched;
+}
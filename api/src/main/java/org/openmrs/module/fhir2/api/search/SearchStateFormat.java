@@ -0,0 +1,423 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.search;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import ca.uhn.fhir.context.FhirContext;
+import ca.uhn.fhir.context.FhirVersionEnum;
+import ca.uhn.fhir.model.api.IQueryParameterAnd;
+import ca.uhn.fhir.model.api.IQueryParameterOr;
+import ca.uhn.fhir.model.api.IQueryParameterType;
+import ca.uhn.fhir.model.api.Include;
+import ca.uhn.fhir.rest.api.QualifiedParamList;
+import ca.uhn.fhir.rest.api.SearchTotalModeEnum;
+import ca.uhn.fhir.rest.api.SortOrderEnum;
+import ca.uhn.fhir.rest.api.SortSpec;
+import ca.uhn.fhir.rest.param.DateParam;
+import ca.uhn.fhir.rest.param.DateRangeParam;
+import ca.uhn.fhir.rest.param.NumberAndListParam;
+import ca.uhn.fhir.rest.param.QuantityAndListParam;
+import ca.uhn.fhir.rest.param.QuantityParam;
+import ca.uhn.fhir.rest.param.ReferenceAndListParam;
+import ca.uhn.fhir.rest.param.ReferenceParam;
+import ca.uhn.fhir.rest.param.StringAndListParam;
+import ca.uhn.fhir.rest.param.StringParam;
+import ca.uhn.fhir.rest.param.TokenAndListParam;
+import ca.uhn.fhir.rest.param.TokenParam;
+import ca.uhn.fhir.rest.param.UriAndListParam;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.hl7.fhir.r4.model.CodeType;
+import org.hl7.fhir.r4.model.InstantType;
+import org.hl7.fhir.r4.model.IntegerType;
+import org.hl7.fhir.r4.model.Parameters;
+import org.hl7.fhir.r4.model.Parameters.ParametersParameterComponent;
+import org.hl7.fhir.r4.model.StringType;
+import org.openmrs.module.fhir2.api.search.param.PropParam;
+import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
+
+/**
+ * Reads and writes a {@link SearchState} as a FHIR Parameters resource encoded as JSON, so that a
+ * stored search does not depend on how the classes involved are serialized. Each search parameter
+ * is written as the search handler it was added for, its property name and the query tokens HAPI
+ * uses for it in a search URL, from which the parameter is parsed again. The sort order and the
+ * values of the paging cursors are written as text along with their type.
+ * <p>
+ * A search whose parameters or cursors hold any other kind of value cannot be written, and states
+ * written in any other format or format version are rejected when read; in both cases the search
+ * is simply not available from the database.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class SearchStateFormat {
+	
+	static final int FORMAT_VERSION = 2;
+	
+	static final String FORMAT_VERSION_PARAM = "formatVersion";
+	
+	private static final String INCLUDE_TYPE = "include";
+	
+	private static final String NULL_TYPE = "null";
+	
+	/**
+	 * The types of search parameter that can be written, by the name they are written with
+	 */
+	private static final Map<String, Class<? extends IQueryParameterType>> PARAM_TYPES = new LinkedHashMap<>();
+	
+	private static final Map<String, Class<? extends IQueryParameterAnd<?>>> AND_PARAM_TYPES = new LinkedHashMap<>();
+	
+	static {
+		AND_PARAM_TYPES.put("token", TokenAndListParam.class);
+		AND_PARAM_TYPES.put("string", StringAndListParam.class);
+		AND_PARAM_TYPES.put("reference", ReferenceAndListParam.class);
+		AND_PARAM_TYPES.put("quantity", QuantityAndListParam.class);
+		AND_PARAM_TYPES.put("number", NumberAndListParam.class);
+		AND_PARAM_TYPES.put("uri", UriAndListParam.class);
+		AND_PARAM_TYPES.put("dateRange", DateRangeParam.class);
+		
+		PARAM_TYPES.put("tokenValue", TokenParam.class);
+		PARAM_TYPES.put("stringValue", StringParam.class);
+		PARAM_TYPES.put("referenceValue", ReferenceParam.class);
+		PARAM_TYPES.put("quantityValue", QuantityParam.class);
+		PARAM_TYPES.put("dateValue", DateParam.class);
+	}
+	
+	static byte[] write(SearchState state, FhirContext fhirContext) throws IOException {
+		Parameters parameters = new Parameters();
+		parameters.addParameter().setName(FORMAT_VERSION_PARAM).setValue(new IntegerType(FORMAT_VERSION));
+		parameters.addParameter().setName("uuid").setValue(new StringType(state.getUuid().toString()));
+		parameters.addParameter().setName("published").setValue(new InstantType(state.getDatePublished()));
+		parameters.addParameter().setName("resourceType").setValue(new StringType(state.getResourceType()));
+		if (state.getTotalMode() != null) {
+			parameters.addParameter().setName("totalMode").setValue(new CodeType(state.getTotalMode().name()));
+		}
+		if (state.getFhirVersion() != null) {
+			parameters.addParameter().setName("fhirVersion").setValue(new CodeType(state.getFhirVersion().name()));
+		}
+		if (state.getCount() != null) {
+			parameters.addParameter().setName("count").setValue(new IntegerType(state.getCount()));
+		}
+		if (state.getEnd() != null) {
+			parameters.addParameter().setName("end").setValue(new IntegerType(state.getEnd()));
+		}
+		parameters.addParameter().setName("fetched").setValue(new IntegerType(state.getFetched()));
+		
+		for (SortSpec sort = state.getTheParams().getSortSpec(); sort != null; sort = sort.getChain()) {
+			ParametersParameterComponent component = parameters.addParameter().setName("sort");
+			component.addPart().setName("name").setValue(new StringType(sort.getParamName()));
+			if (sort.getOrder() != null) {
+				component.addPart().setName("order").setValue(new CodeType(sort.getOrder().name()));
+			}
+		}
+		
+		for (Map.Entry<String, List<PropParam<?>>> entry : state.getTheParams().getParameters()) {
+			for (PropParam<?> param : entry.getValue()) {
+				writeParam(parameters.addParameter().setName("param"), entry.getKey(), param, fhirContext);
+			}
+		}
+		
+		for (Map.Entry<Integer, SearchCursor> entry : state.getCursors().entrySet()) {
+			ParametersParameterComponent component = parameters.addParameter().setName("cursor");
+			component.addPart().setName("position").setValue(new IntegerType(entry.getKey()));
+			if (entry.getValue().getSortValues() != null) {
+				ParametersParameterComponent sortValues = component.addPart().setName("sortValues");
+				for (Object sortValue : entry.getValue().getSortValues()) {
+					writeValue(sortValues, sortValue);
+				}
+			}
+			writeValue(component.addPart().setName("id"), entry.getValue().getId());
+		}
+		
+		return fhirContext.newJsonParser().encodeResourceToString(parameters).getBytes(StandardCharsets.UTF_8);
+	}
+	
+	static SearchState read(byte[] bytes, FhirContext fhirContext) throws IOException {
+		try {
+			Parameters parameters = fhirContext.newJsonParser().parseResource(Parameters.class,
+			    new String(bytes, StandardCharsets.UTF_8));
+			
+			List<ParametersParameterComponent> components = parameters.getParameter();
+			String version = getValue(components, FORMAT_VERSION_PARAM);
+			if (!Integer.toString(FORMAT_VERSION).equals(version)) {
+				throw new IOException("Unsupported search state format " + version);
+			}
+			
+			SearchState state = new SearchState();
+			state.setUuid(UUID.fromString(getValue(components, "uuid")));
+			state.setDatePublished(((InstantType) get(components, "published").getValue()).getValue());
+			state.setResourceType(getValue(components, "resourceType"));
+			
+			String totalMode = getValue(components, "totalMode");
+			state.setTotalMode(totalMode == null ? null : SearchTotalModeEnum.valueOf(totalMode));
+			String fhirVersion = getValue(components, "fhirVersion");
+			state.setFhirVersion(fhirVersion == null ? null : FhirVersionEnum.valueOf(fhirVersion));
+			String count = getValue(components, "count");
+			state.setCount(count == null ? null : Integer.valueOf(count));
+			String end = getValue(components, "end");
+			state.setEnd(end == null ? null : Integer.valueOf(end));
+			state.setFetched(Integer.parseInt(getValue(components, "fetched")));
+			
+			SearchParameterMap theParams = new SearchParameterMap();
+			SortSpec lastSort = null;
+			for (ParametersParameterComponent component : getAll(components, "sort")) {
+				String order = getValue(component.getPart(), "order");
+				SortSpec sort = new SortSpec(getValue(component.getPart(), "name"),
+				        order == null ? null : SortOrderEnum.valueOf(order));
+				if (lastSort == null) {
+					theParams.setSortSpec(sort);
+				} else {
+					lastSort.setChain(sort);
+				}
+				lastSort = sort;
+			}
+			
+			for (ParametersParameterComponent component : getAll(components, "param")) {
+				readParam(theParams, component, fhirContext);
+			}
+			state.setTheParams(theParams);
+			
+			for (ParametersParameterComponent component : getAll(components, "cursor")) {
+				ParametersParameterComponent sortValues = get(component.getPart(), "sortValues");
+				Object[] values = null;
+				if (sortValues != null) {
+					List<Object> list = new ArrayList<>();
+					for (ParametersParameterComponent value : sortValues.getPart()) {
+						list.add(readValue(value));
+					}
+					values = list.toArray();
+				}
+				
+				Object id = readValue(get(component.getPart(), "id").getPart().get(0));
+				state.getCursors().put(Integer.valueOf(getValue(component.getPart(), "position")),
+				    new SearchCursor(values, (Serializable) id));
+			}
+			
+			return state;
+		}
+		catch (RuntimeException e) {
+			throw new IOException("The search state could not be read", e);
+		}
+	}
+	
+	private static void writeParam(ParametersParameterComponent component, String key, PropParam<?> propParam,
+	        FhirContext fhirContext) throws IOException {
+		component.addPart().setName("key").setValue(new StringType(key));
+		if (propParam.getPropertyName() != null) {
+			component.addPart().setName("property").setValue(new StringType(propParam.getPropertyName()));
+		}
+		
+		Object param = propParam.getParam();
+		if (param == null) {
+			return;
+		}
+		
+		if (param instanceof Collection) {
+			component.addPart().setName("type").setValue(new CodeType(INCLUDE_TYPE));
+			for (Object include : (Collection<?>) param) {
+				if (!(include instanceof Include)) {
+					throw new IOException("Search parameter " + key + " cannot be written");
+				}
+				
+				component.addPart().setName(((Include) include).isRecurse() ? "includeIterate" : "include")
+				        .setValue(new StringType(((Include) include).getValue()));
+			}
+			return;
+		}
+		
+		if (param instanceof IQueryParameterAnd) {
+			component.addPart().setName("type").setValue(new CodeType(getType(AND_PARAM_TYPES, param, key)));
+			for (IQueryParameterOr<?> or : ((IQueryParameterAnd<?>) param).getValuesAsQueryTokens()) {
+				writeOr(component.addPart().setName("and"), or.getValuesAsQueryTokens(), key, fhirContext);
+			}
+		} else {
+			component.addPart().setName("type").setValue(new CodeType(getType(PARAM_TYPES, param, key)));
+			writeOr(component.addPart().setName("and"), Collections.singletonList((IQueryParameterType) param), key,
+			    fhirContext);
+		}
+	}
+	
+	private static void writeOr(ParametersParameterComponent component, List<? extends IQueryParameterType> values,
+	        String key, FhirContext fhirContext) throws IOException {
+		String qualifier = values.isEmpty() ? null : values.get(0).getQueryParameterQualifier();
+		if (qualifier != null) {
+			component.addPart().setName("qualifier").setValue(new StringType(qualifier));
+		}
+		
+		for (IQueryParameterType value : values) {
+			if (!Objects.equals(qualifier, value.getQueryParameterQualifier())) {
+				throw new IOException("Search parameter " + key + " has values with different qualifiers");
+			}
+			
+			component.addPart().setName("or").setValue(new StringType(value.getValueAsQueryToken(fhirContext)));
+		}
+	}
+	
+	private static <C> String getType(Map<String, Class<? extends C>> types, Object param, String key)
+	        throws IOException {
+		for (Map.Entry<String, Class<? extends C>> type : types.entrySet()) {
+			if (type.getValue() == param.getClass()) {
+				return type.getKey();
+			}
+		}
+		
+		throw new IOException("Search parameter " + key + " of type " + param.getClass().getName() + " cannot be written");
+	}
+	
+	private static void readParam(SearchParameterMap theParams, ParametersParameterComponent component,
+	        FhirContext fhirContext) throws IOException {
+		List<ParametersParameterComponent> parts = component.getPart();
+		String key = getValue(parts, "key");
+		String propertyName = getValue(parts, "property");
+		String type = getValue(parts, "type");
+		
+		if (type == null) {
+			theParams.addParameter(key, propertyName, null);
+			return;
+		}
+		
+		if (INCLUDE_TYPE.equals(type)) {
+			HashSet<Include> includes = new HashSet<>();
+			getAll(parts, "include").forEach(include -> includes.add(new Include(include.getValue().primitiveValue())));
+			getAll(parts, "includeIterate")
+			        .forEach(include -> includes.add(new Include(include.getValue().primitiveValue(), true)));
+			theParams.addParameter(key, propertyName, includes);
+			return;
+		}
+		
+		List<QualifiedParamList> ands = new ArrayList<>();
+		for (ParametersParameterComponent and : getAll(parts, "and")) {
+			QualifiedParamList values = new QualifiedParamList();
+			values.setQualifier(getValue(and.getPart(), "qualifier"));
+			getAll(and.getPart(), "or").forEach(or -> values.add(or.getValue().primitiveValue()));
+			ands.add(values);
+		}
+		
+		if (AND_PARAM_TYPES.containsKey(type)) {
+			IQueryParameterAnd<?> param = newInstance(AND_PARAM_TYPES.get(type));
+			param.setValuesAsQueryTokens(fhirContext, key, ands);
+			theParams.addParameter(key, propertyName, (Serializable) param);
+		} else if (PARAM_TYPES.containsKey(type) && ands.size() == 1 && ands.get(0).size() == 1) {
+			IQueryParameterType param = newInstance(PARAM_TYPES.get(type));
+			param.setValueAsQueryToken(fhirContext, key, ands.get(0).getQualifier(), ands.get(0).get(0));
+			theParams.addParameter(key, propertyName, (Serializable) param);
+		} else {
+			throw new IOException("Search parameter " + key + " of type " + type + " cannot be read");
+		}
+	}
+	
+	private static <C> C newInstance(Class<? extends C> type) throws IOException {
+		try {
+			return type.newInstance();
+		}
+		catch (InstantiationException | IllegalAccessException e) {
+			throw new IOException("Unable to create a " + type.getName(), e);
+		}
+	}
+	
+	private static void writeValue(ParametersParameterComponent component, Object value) throws IOException {
+		if (value == null) {
+			component.addPart().setName(NULL_TYPE);
+			return;
+		}
+		
+		String type;
+		String text;
+		if (value instanceof String && !((String) value).isEmpty()) {
+			// empty strings are dropped from FHIR resources, so they cannot be told apart from no value
+			type = "string";
+			text = (String) value;
+		} else if (value instanceof Integer) {
+			type = "integer";
+			text = value.toString();
+		} else if (value instanceof Long) {
+			type = "long";
+			text = value.toString();
+		} else if (value instanceof Double) {
+			type = "double";
+			text = value.toString();
+		} else if (value instanceof BigDecimal) {
+			type = "decimal";
+			text = value.toString();
+		} else if (value instanceof Boolean) {
+			type = "boolean";
+			text = value.toString();
+		} else if (value instanceof Timestamp) {
+			type = "timestamp";
+			text = ((Timestamp) value).getTime() + ":" + ((Timestamp) value).getNanos();
+		} else if (value instanceof Date) {
+			type = "date";
+			text = Long.toString(((Date) value).getTime());
+		} else {
+			throw new IOException("Cursor value of type " + value.getClass().getName() + " cannot be written");
+		}
+		
+		component.addPart().setName(type).setValue(new StringType(text));
+	}
+	
+	private static Object readValue(ParametersParameterComponent component) throws IOException {
+		if (NULL_TYPE.equals(component.getName())) {
+			return null;
+		}
+		
+		String text = component.getValue().primitiveValue();
+		switch (component.getName()) {
+			case "string":
+				return text;
+			case "integer":
+				return Integer.valueOf(text);
+			case "long":
+				return Long.valueOf(text);
+			case "double":
+				return Double.valueOf(text);
+			case "decimal":
+				return new BigDecimal(text);
+			case "boolean":
+				return Boolean.valueOf(text);
+			case "timestamp":
+				String[] parts = text.split(":");
+				Timestamp timestamp = new Timestamp(Long.parseLong(parts[0]));
+				timestamp.setNanos(Integer.parseInt(parts[1]));
+				return timestamp;
+			case "date":
+				return new Date(Long.parseLong(text));
+			default:
+				throw new IOException("Cursor value of type " + component.getName() + " cannot be read");
+		}
+	}
+	
+	private static ParametersParameterComponent get(List<ParametersParameterComponent> components, String name) {
+		return components.stream().filter(c -> name.equals(c.getName())).findFirst().orElse(null);
+	}
+	
+	private static List<ParametersParameterComponent> getAll(List<ParametersParameterComponent> components,
+	        String name) {
+		return components.stream().filter(c -> name.equals(c.getName())).collect(Collectors.toList());
+	}
+	
+	private static String getValue(List<ParametersParameterComponent> components, String name) {
+		ParametersParameterComponent component = get(components, name);
+		return component == null || component.getValue() == null ? null : component.getValue().primitiveValue();
+	}
+}
@@ -0,0 +1,90 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.search;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.openmrs.module.fhir2.api.util.FhirRequestContext;
+
+/**
+ * Allows the servlet to take over writing the results of a search for the request being processed by
+ * the current thread. While streaming is enabled in the {@link FhirRequestContext}, the first page
+ * requested from a {@link SearchQueryBundleProvider} is not loaded; it is recorded in the context
+ * instead so that, once the rest of the response has been built, the results can be translated and
+ * written out one chunk at a time.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class StreamingSearchHolder {
+	
+	public static boolean isEnabled() {
+		FhirRequestContext context = FhirRequestContext.get();
+		return context != null && context.isStreaming();
+	}
+	
+	/**
+	 * Returns the page deferred while handling the current request, if any, and disables streaming so
+	 * that the page can then be loaded
+	 *
+	 * @return the deferred page or null if no page was deferred
+	 */
+	public static DeferredPage take() {
+		FhirRequestContext context = FhirRequestContext.get();
+		if (context == null) {
+			return null;
+		}
+		
+		DeferredPage deferredPage = context.getDeferredPage();
+		context.setStreaming(false);
+		context.setDeferredPage(null);
+		return deferredPage;
+	}
+	
+	/**
+	 * Records the requested page instead of loading it if streaming is enabled and no other page has
+	 * been deferred for the current request
+	 *
+	 * @return true if the page was deferred
+	 */
+	static boolean defer(SearchQueryBundleProvider<?, ?> bundleProvider, int firstResult, int maxResults) {
+		FhirRequestContext context = FhirRequestContext.get();
+		if (context == null || !context.isStreaming() || context.getDeferredPage() != null) {
+			return false;
+		}
+		
+		context.setDeferredPage(new DeferredPage(bundleProvider, firstResult, maxResults));
+		return true;
+	}
+	
+	/**
+	 * A page of search results whose loading has been deferred
+	 */
+	@AllArgsConstructor(access = AccessLevel.PRIVATE)
+	public static final class DeferredPage {
+		
+		private final SearchQueryBundleProvider<?, ?> bundleProvider;
+		
+		private final int firstResult;
+		
+		private final int maxResults;
+		
+		/**
+		 * Loads and translates the results on this page in chunks of at most {@code chunkSize},
+		 * passing each chunk to the consumer before the next one is loaded
+		 */
+		public void stream(int chunkSize, Consumer<List<IBaseResource>> consumer) {
+			bundleProvider.streamResources(firstResult, maxResults, chunkSize, consumer);
+		}
+	}
+}
@@ -0,0 +1,29 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.subscriptions;
+
+import java.util.List;
+
+import lombok.Value;
+
+/**
+ * An active subscription, as held in memory by the {@link SubscriptionRegistry}
+ */
+@Value
+public class ActiveSubscription {
+	
+	String uuid;
+	
+	String endpoint;
+	
+	List<String> headers;
+	
+	SubscriptionCriteria criteria;
+}
@@ -0,0 +1,36 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.subscriptions;
+
+import java.util.function.Predicate;
+
+import lombok.Getter;
+
+/**
+ * The criteria of a subscription, compiled into a predicate on the OpenMRS object backing a
+ * resource. Matching only compares ids and simple properties of the object, so it does not load
+ * anything from the database while Hibernate is flushing a change.
+ */
+public class SubscriptionCriteria {
+	
+	@Getter
+	private final String resourceType;
+	
+	private final Predicate<Object> predicate;
+	
+	SubscriptionCriteria(String resourceType, Predicate<Object> predicate) {
+		this.resourceType = resourceType;
+		this.predicate = predicate;
+	}
+	
+	public boolean matches(Object object) {
+		return predicate.test(object);
+	}
+}
@@ -0,0 +1,219 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.subscriptions;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import ca.uhn.fhir.rest.server.exceptions.InvalidRequestException;
+import lombok.AccessLevel;
+import lombok.Setter;
+import org.apache.commons.lang3.StringUtils;
+import org.hl7.fhir.r4.model.Observation;
+import org.hl7.fhir.r4.model.Task;
+import org.openmrs.Concept;
+import org.openmrs.Encounter;
+import org.openmrs.Obs;
+import org.openmrs.Patient;
+import org.openmrs.module.fhir2.FhirConceptSource;
+import org.openmrs.module.fhir2.FhirConstants;
+import org.openmrs.module.fhir2.FhirReference;
+import org.openmrs.module.fhir2.FhirTask;
+import org.openmrs.module.fhir2.api.FhirConceptService;
+import org.openmrs.module.fhir2.api.FhirConceptSourceService;
+import org.openmrs.module.fhir2.api.dao.FhirEncounterDao;
+import org.openmrs.module.fhir2.api.dao.FhirPatientDao;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Compiles the criteria of a subscription, e.g. {@code Observation?code=...&patient=...}, into a
+ * {@link SubscriptionCriteria}. The codes and references in the criteria are resolved to database
+ * ids once, here, so that matching a change only has to compare ids. Repeated parameters are
+ * combined with AND and comma-separated values with OR, as in a search.
+ * <p/>
+ * The supported parameters are {@code code}, {@code patient} (or {@code subject}) and
+ * {@code encounter} for Observations and {@code status} and {@code owner} for Tasks.
+ */
+@Component
+@Setter(AccessLevel.PACKAGE)
+public class SubscriptionCriteriaCompiler {
+	
+	@Autowired
+	private FhirConceptService conceptService;
+	
+	@Autowired
+	private FhirConceptSourceService conceptSourceService;
+	
+	@Autowired
+	private FhirPatientDao patientDao;
+	
+	@Autowired
+	private FhirEncounterDao encounterDao;
+	
+	/**
+	 * @param criteria the criteria of the subscription
+	 * @return the compiled criteria
+	 * @throws InvalidRequestException if the criteria are not supported or refer to unknown objects
+	 */
+	public SubscriptionCriteria compile(String criteria) {
+		if (StringUtils.isBlank(criteria)) {
+			throw new InvalidRequestException("Subscription criteria are required");
+		}
+		
+		String resourceType = StringUtils.substringBefore(criteria.trim(), "?");
+		String query = StringUtils.substringAfter(criteria.trim(), "?");
+		
+		Predicate<Object> predicate;
+		switch (resourceType) {
+			case FhirConstants.OBSERVATION:
+				predicate = Obs.class::isInstance;
+				break;
+			case FhirConstants.TASK:
+				predicate = FhirTask.class::isInstance;
+				break;
+			default:
+				throw new InvalidRequestException(
+				        "Subscriptions are only supported for Observation and Task resources, not " + resourceType);
+		}
+		
+		for (String parameter : StringUtils.split(query, '&')) {
+			String name = StringUtils.substringBefore(parameter, "=");
+			String value = decode(StringUtils.substringAfter(parameter, "="));
+			if (StringUtils.isBlank(value)) {
+				throw new InvalidRequestException("Subscription criteria parameter " + name + " has no value");
+			}
+			
+			Set<String> values = Arrays.stream(StringUtils.split(value, ',')).map(String::trim)
+			        .collect(Collectors.toSet());
+			if (resourceType.equals(FhirConstants.OBSERVATION)) {
+				predicate = predicate.and(compileObservationParameter(name, values));
+			} else {
+				predicate = predicate.and(compileTaskParameter(name, values));
+			}
+		}
+		
+		return new SubscriptionCriteria(resourceType, predicate);
+	}
+	
+	private Predicate<Object> compileObservationParameter(String name, Set<String> values) {
+		switch (name) {
+			case Observation.SP_CODE: {
+				Set<Integer> conceptIds = values.stream().map(this::getConceptId).collect(Collectors.toSet());
+				return object -> {
+					Concept concept = ((Obs) object).getConcept();
+					return concept != null && conceptIds.contains(concept.getConceptId());
+				};
+			}
+			case Observation.SP_PATIENT:
+			case Observation.SP_SUBJECT: {
+				Set<Integer> personIds = values.stream().map(this::getPatientId).collect(Collectors.toSet());
+				return object -> ((Obs) object).getPerson() != null
+				        && personIds.contains(((Obs) object).getPerson().getPersonId());
+			}
+			case Observation.SP_ENCOUNTER: {
+				Set<Integer> encounterIds = values.stream().map(this::getEncounterId).collect(Collectors.toSet());
+				return object -> ((Obs) object).getEncounter() != null
+				        && encounterIds.contains(((Obs) object).getEncounter().getEncounterId());
+			}
+			default:
+				throw unsupportedParameter(FhirConstants.OBSERVATION, name);
+		}
+	}
+	
+	private Predicate<Object> compileTaskParameter(String name, Set<String> values) {
+		switch (name) {
+			case Task.SP_STATUS: {
+				Set<FhirTask.TaskStatus> statuses = values.stream().map(this::getTaskStatus).collect(Collectors.toSet());
+				return object -> statuses.contains(((FhirTask) object).getStatus());
+			}
+			case Task.SP_OWNER: {
+				Set<String> owners = values.stream().map(SubscriptionCriteriaCompiler::getIdPart)
+				        .collect(Collectors.toSet());
+				return object -> {
+					FhirReference owner = ((FhirTask) object).getOwnerReference();
+					return owner != null && owner.getReference() != null
+					        && owners.contains(getIdPart(owner.getReference()));
+				};
+			}
+			default:
+				throw unsupportedParameter(FhirConstants.TASK, name);
+		}
+	}
+	
+	private Integer getConceptId(String token) {
+		Concept concept;
+		if (token.contains("|")) {
+			String system = StringUtils.substringBefore(token, "|");
+			String code = StringUtils.substringAfter(token, "|");
+			FhirConceptSource conceptSource = conceptSourceService.getFhirConceptSourceByUrl(system)
+			        .orElseThrow(() -> new InvalidRequestException("Unknown code system in subscription criteria: " + system));
+			concept = conceptService.getConceptBySourceNameAndCode(conceptSource.getConceptSource().getName(), code)
+			        .orElse(null);
+		} else {
+			concept = conceptService.get(token);
+		}
+		
+		if (concept == null) {
+			throw new InvalidRequestException("Unknown code in subscription criteria: " + token);
+		}
+		
+		return concept.getConceptId();
+	}
+	
+	private Integer getPatientId(String reference) {
+		Patient patient = patientDao.get(getIdPart(reference));
+		if (patient == null) {
+			throw new InvalidRequestException("Unknown patient in subscription criteria: " + reference);
+		}
+		
+		return patient.getPatientId();
+	}
+	
+	private Integer getEncounterId(String reference) {
+		Encounter encounter = encounterDao.get(getIdPart(reference));
+		if (encounter == null) {
+			throw new InvalidRequestException("Unknown encounter in subscription criteria: " + reference);
+		}
+		
+		return encounter.getEncounterId();
+	}
+	
+	private FhirTask.TaskStatus getTaskStatus(String status) {
+		try {
+			return FhirTask.TaskStatus.valueOf(status.replace("-", "_").toUpperCase());
+		}
+		catch (IllegalArgumentException e) {
+			throw new InvalidRequestException("Unknown task status in subscription criteria: " + status);
+		}
+	}
+	
+	private static String getIdPart(String reference) {
+		return reference.substring(reference.lastIndexOf('/') + 1);
+	}
+	
+	private static String decode(String value) {
+		try {
+			return URLDecoder.decode(value, "UTF-8");
+		}
+		catch (UnsupportedEncodingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	private static InvalidRequestException unsupportedParameter(String resourceType, String name) {
+		return new InvalidRequestException(
+		        "Subscription criteria parameter " + name + " is not supported for " + resourceType + " resources");
+	}
+}
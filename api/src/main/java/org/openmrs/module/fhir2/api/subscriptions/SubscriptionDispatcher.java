@@ -0,0 +1,346 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.subscriptions;
+
+import javax.annotation.PreDestroy;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import ca.uhn.fhir.context.FhirContext;
+import ca.uhn.fhir.rest.server.exceptions.InvalidRequestException;
+import lombok.AccessLevel;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.hl7.fhir.r4.model.Bundle;
+import org.openmrs.module.fhir2.FhirChange;
+import org.openmrs.module.fhir2.FhirConstants;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Delivers the changes matching a subscription to its endpoint. Changes are collected into batches
+ * per subscription, and each batch is posted as a single history bundle once it is full or has
+ * waited for the batch delay. Notifications only identify the changed resources; the endpoint reads
+ * the resources it is interested in. A batch that cannot be delivered is retried with an
+ * exponentially increasing delay before it is given up. Batches are only held in memory, so any still
+ * waiting to be sent or retried when the dispatcher is shut down are logged with the first change they
+ * contain; the subscriber can catch up from there with the {@code $changes} operation.
+ */
+@Slf4j
+@Component
+@Setter(AccessLevel.PACKAGE)
+public class SubscriptionDispatcher {
+	
+	static final int DEFAULT_BATCH_SIZE = 100;
+	
+	static final long DEFAULT_BATCH_DELAY = 1000;
+	
+	static final int DEFAULT_MAX_ATTEMPTS = 5;
+	
+	static final long DEFAULT_INITIAL_BACKOFF = 1000;
+	
+	private static final int TIMEOUT = 10000;
+	
+	private static final int THREADS = 2;
+	
+	@Autowired
+	@Qualifier("fhirR4")
+	private FhirContext fhirContext;
+	
+	@Autowired(required = false)
+	private SubscriptionEndpointValidator endpointValidator;
+	
+	private int batchSize = DEFAULT_BATCH_SIZE;
+	
+	private long batchDelay = DEFAULT_BATCH_DELAY;
+	
+	private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+	
+	private long initialBackoff = DEFAULT_INITIAL_BACKOFF;
+	
+	// guarded by itself
+	private final Map<String, Batch> batches = new HashMap<>();
+	
+	// batches waiting on the executor to be sent or retried
+	private final Set<Batch> queued = ConcurrentHashMap.newKeySet();
+	
+	private volatile ScheduledExecutorService executor;
+	
+	/**
+	 * Queues a change for delivery to a subscription. This never blocks on the endpoint.
+	 *
+	 * @param subscription the subscription the change matched
+	 * @param change the change to deliver
+	 */
+	public void dispatch(ActiveSubscription subscription, FhirChange change) {
+		Batch full = null;
+		synchronized (batches) {
+			Batch batch = batches.get(subscription.getUuid());
+			if (batch == null) {
+				Batch newBatch = new Batch(subscription);
+				try {
+					getExecutor().schedule(() -> flush(newBatch), batchDelay, TimeUnit.MILLISECONDS);
+				}
+				catch (RejectedExecutionException e) {
+					newBatch.changes.add(change);
+					logDropped(newBatch);
+					return;
+				}
+				
+				batches.put(subscription.getUuid(), newBatch);
+				batch = newBatch;
+			}
+			
+			batch.changes.add(change);
+			if (batch.changes.size() >= batchSize) {
+				batches.remove(subscription.getUuid());
+				full = batch;
+			}
+		}
+		
+		if (full != null) {
+			schedule(full, 1, 0);
+		}
+	}
+	
+	private void flush(Batch batch) {
+		synchronized (batches) {
+			// a full batch has already been sent
+			if (!batches.remove(batch.subscription.getUuid(), batch)) {
+				return;
+			}
+		}
+		
+		send(batch, 1);
+	}
+	
+	private void schedule(Batch batch, int attempt, long delay) {
+		queued.add(batch);
+		try {
+			getExecutor().schedule(() -> send(batch, attempt), delay, TimeUnit.MILLISECONDS);
+		}
+		catch (RejectedExecutionException e) {
+			// the dispatcher has been shut down
+			queued.remove(batch);
+			logDropped(batch);
+		}
+	}
+	
+	private void send(Batch batch, int attempt) {
+		queued.remove(batch);
+		String uuid = batch.subscription.getUuid();
+		try {
+			if (endpointValidator != null) {
+				endpointValidator.validate(batch.subscription.getEndpoint());
+			}
+		}
+		catch (InvalidRequestException e) {
+			log.error("Not delivering {} changes to subscription {}: {}", batch.changes.size(), uuid, e.getMessage());
+			return;
+		}
+		
+		try {
+			int status = post(batch);
+			if (status >= 200 && status < 300) {
+				return;
+			}
+			
+			log.warn("Endpoint of subscription {} responded with status {}", uuid, status);
+		}
+		catch (IOException | RuntimeException e) {
+			log.warn("Could not deliver notification for subscription {}: {}", uuid, e.getMessage());
+		}
+		
+		if (attempt >= maxAttempts) {
+			log.error("Giving up delivering {} changes to subscription {} after {} attempts", batch.changes.size(), uuid,
+			    attempt);
+			return;
+		}
+		
+		schedule(batch, attempt + 1, initialBackoff << (attempt - 1));
+	}
+	
+	private int post(Batch batch) throws IOException {
+		byte[] body = fhirContext.newJsonParser().encodeResourceToString(toBundle(batch))
+		        .getBytes(StandardCharsets.UTF_8);
+		
+		URLConnection urlConnection = new URL(batch.subscription.getEndpoint()).openConnection();
+		if (!(urlConnection instanceof HttpURLConnection)) {
+			throw new IOException("Subscription endpoint is not an http or https URL");
+		}
+		
+		HttpURLConnection connection = (HttpURLConnection) urlConnection;
+		try {
+			// a redirect could lead to a host the endpoint was not checked against
+			connection.setInstanceFollowRedirects(false);
+			connection.setRequestMethod("POST");
+			connection.setDoOutput(true);
+			connection.setConnectTimeout(TIMEOUT);
+			connection.setReadTimeout(TIMEOUT);
+			connection.setRequestProperty("Content-Type", "application/fhir+json; charset=UTF-8");
+			for (String header : batch.subscription.getHeaders()) {
+				String name = StringUtils.substringBefore(header, ":").trim();
+				if (!name.isEmpty()) {
+					connection.setRequestProperty(name, StringUtils.substringAfter(header, ":").trim());
+				}
+			}
+			
+			connection.setFixedLengthStreamingMode(body.length);
+			try (OutputStream out = connection.getOutputStream()) {
+				out.write(body);
+			}
+			
+			int status = connection.getResponseCode();
+			// reads the response, so the connection can be reused
+			try (InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+				if (in != null) {
+					byte[] buffer = new byte[1024];
+					while (in.read(buffer) >= 0) {
+						// discard
+					}
+				}
+			}
+			
+			return status;
+		}
+		finally {
+			connection.disconnect();
+		}
+	}
+	
+	Bundle toBundle(Batch batch) {
+		Bundle bundle = new Bundle();
+		bundle.setType(Bundle.BundleType.HISTORY);
+		bundle.setTimestamp(new Date());
+		bundle.addLink().setRelation("subscription")
+		        .setUrl(FhirConstants.SUBSCRIPTION + "/" + batch.subscription.getUuid());
+		
+		for (FhirChange change : batch.changes) {
+			String url = change.getResourceType() + "/" + change.getResourceUuid();
+			Bundle.BundleEntryComponent entry = bundle.addEntry().setFullUrl(url);
+			
+			switch (change.getOperation()) {
+				case CREATE:
+					entry.getRequest().setMethod(Bundle.HTTPVerb.POST).setUrl(change.getResourceType());
+					entry.getResponse().setStatus("201 Created").setLocation(url);
+					break;
+				case UPDATE:
+					entry.getRequest().setMethod(Bundle.HTTPVerb.PUT).setUrl(url);
+					entry.getResponse().setStatus("200 OK");
+					break;
+				case DELETE:
+					entry.getRequest().setMethod(Bundle.HTTPVerb.DELETE).setUrl(url);
+					entry.getResponse().setStatus("204 No Content");
+					break;
+			}
+			
+			entry.getResponse().setLastModified(change.getDateChanged());
+		}
+		
+		bundle.setTotal(bundle.getEntry().size());
+		return bundle;
+	}
+	
+	private ScheduledExecutorService getExecutor() {
+		if (executor == null) {
+			synchronized (this) {
+				if (executor == null) {
+					ScheduledThreadPoolExecutor scheduledExecutor = new ScheduledThreadPoolExecutor(THREADS,
+					        new DispatcherThreadFactory());
+					scheduledExecutor.setRemoveOnCancelPolicy(true);
+					executor = scheduledExecutor;
+				}
+			}
+		}
+		
+		return executor;
+	}
+	
+	@PreDestroy
+	public void shutdown() {
+		if (executor != null) {
+			executor.shutdownNow();
+		}
+		
+		drainPending().forEach(SubscriptionDispatcher::logDropped);
+	}
+	
+	/**
+	 * Removes and returns the batches that are waiting to be sent or retried
+	 */
+	List<Batch> drainPending() {
+		List<Batch> pending = new ArrayList<>();
+		synchronized (batches) {
+			pending.addAll(batches.values());
+			batches.clear();
+		}
+		
+		for (Batch batch : queued) {
+			if (queued.remove(batch)) {
+				pending.add(batch);
+			}
+		}
+		
+		return pending;
+	}
+	
+	private static void logDropped(Batch batch) {
+		log.error("Dropping {} undelivered changes for subscription {} at shutdown, starting with change {}",
+		    batch.changes.size(), batch.subscription.getUuid(), batch.changes.isEmpty() ? null : batch.changes.get(0).getId());
+	}
+	
+	static class Batch {
+		
+		private final ActiveSubscription subscription;
+		
+		private final List<FhirChange> changes = new ArrayList<>();
+		
+		Batch(ActiveSubscription subscription) {
+			this.subscription = subscription;
+		}
+		
+		List<FhirChange> getChanges() {
+			return changes;
+		}
+	}
+	
+	private static class DispatcherThreadFactory implements ThreadFactory {
+		
+		private final AtomicInteger count = new AtomicInteger();
+		
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, "fhir2-subscription-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+}
@@ -0,0 +1,88 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.subscriptions;
+
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.UnknownHostException;
+
+import ca.uhn.fhir.rest.server.exceptions.InvalidRequestException;
+import lombok.AccessLevel;
+import lombok.Setter;
+import org.apache.commons.lang3.StringUtils;
+import org.openmrs.module.fhir2.FhirConstants;
+import org.openmrs.module.fhir2.api.FhirGlobalPropertyService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Checks the endpoints notifications are posted to. Only http and https endpoints are accepted and,
+ * unless the {@code fhir2.subscriptions.allowInternalEndpoints} global property is true, only those
+ * whose host resolves to public addresses, so that a subscription cannot be used to make the server
+ * send requests to itself or to other hosts on its internal network. Endpoints are checked both when
+ * a subscription is saved and before each notification, as the addresses of a host may change.
+ */
+@Component
+@Setter(AccessLevel.PACKAGE)
+public class SubscriptionEndpointValidator {
+	
+	@Autowired
+	private FhirGlobalPropertyService globalPropertyService;
+	
+	/**
+	 * @param endpoint the endpoint of a subscription
+	 * @throws InvalidRequestException if notifications may not be posted to the endpoint
+	 */
+	public void validate(String endpoint) {
+		URI uri;
+		try {
+			uri = new URI(endpoint);
+		}
+		catch (URISyntaxException e) {
+			throw new InvalidRequestException("Subscription endpoint is not a valid URL");
+		}
+		
+		if (!"http".equalsIgnoreCase(uri.getScheme()) && !"https".equalsIgnoreCase(uri.getScheme())) {
+			throw new InvalidRequestException("Subscription endpoint must be an http or https URL");
+		}
+		
+		if (StringUtils.isBlank(uri.getHost())) {
+			throw new InvalidRequestException("Subscription endpoint must name a host");
+		}
+		
+		if (Boolean.parseBoolean(
+		    globalPropertyService.getGlobalProperty(FhirConstants.OPENMRS_FHIR_SUBSCRIPTIONS_ALLOW_INTERNAL_ENDPOINTS))) {
+			return;
+		}
+		
+		InetAddress[] addresses;
+		try {
+			addresses = InetAddress.getAllByName(uri.getHost());
+		}
+		catch (UnknownHostException e) {
+			throw new InvalidRequestException("Subscription endpoint host " + uri.getHost() + " cannot be resolved");
+		}
+		
+		for (InetAddress address : addresses) {
+			if (isInternal(address)) {
+				throw new InvalidRequestException("Subscription endpoint host " + uri.getHost() + " is an internal address");
+			}
+		}
+	}
+	
+	static boolean isInternal(InetAddress address) {
+		return address.isAnyLocalAddress() || address.isLoopbackAddress() || address.isLinkLocalAddress()
+		        || address.isSiteLocalAddress() || address.isMulticastAddress()
+		        // IPv6 unique local addresses, fc00::/7, which Java does not count as site local
+		        || (address instanceof Inet6Address && (address.getAddress()[0] & 0xfe) == 0xfc);
+	}
+}
@@ -0,0 +1,173 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.subscriptions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import ca.uhn.fhir.rest.server.exceptions.InvalidRequestException;
+import lombok.AccessLevel;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.openmrs.api.context.Daemon;
+import org.openmrs.module.fhir2.FhirActivator;
+import org.openmrs.module.fhir2.FhirSubscription;
+import org.openmrs.module.fhir2.api.dao.FhirSubscriptionDao;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds the active subscriptions in memory, with their criteria compiled, so that every change can
+ * be matched against them without querying the database. A subscription saved on this server is
+ * registered as soon as it commits; the subscriptions are also reloaded from the database every
+ * minute while the registry is started, so that each server of a cluster picks up those saved on the
+ * others.
+ */
+@Slf4j
+@Component
+@Setter(AccessLevel.PACKAGE)
+public class SubscriptionRegistry {
+	
+	static final long RELOAD_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+	
+	@Autowired
+	private FhirSubscriptionDao dao;
+	
+	@Autowired
+	private SubscriptionCriteriaCompiler criteriaCompiler;
+	
+	private Executor executor = task -> Daemon.runInDaemonThread(task, FhirActivator.getDaemonToken());
+	
+	private final Map<String, ActiveSubscription> subscriptions = new ConcurrentHashMap<>();
+	
+	private ScheduledExecutorService reloadExecutor;
+	
+	/**
+	 * Loads the active subscriptions now and then every {@link #RELOAD_INTERVAL} until
+	 * {@link #stop()} is called
+	 */
+	public synchronized void start() {
+		if (reloadExecutor == null) {
+			reloadExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "fhir2-subscription-reload");
+				thread.setDaemon(true);
+				return thread;
+			});
+			reloadExecutor.scheduleWithFixedDelay(this::reload, 0, RELOAD_INTERVAL, TimeUnit.MILLISECONDS);
+		}
+	}
+	
+	public synchronized void stop() {
+		if (reloadExecutor != null) {
+			reloadExecutor.shutdownNow();
+			reloadExecutor = null;
+		}
+	}
+	
+	/**
+	 * Loads the active subscriptions from the database in the background
+	 */
+	public void reload() {
+		try {
+			executor.execute(this::load);
+		}
+		catch (RuntimeException e) {
+			// thrown on the reload thread, which would otherwise stop reloading
+			log.warn("Could not reload subscriptions", e);
+		}
+	}
+	
+	void load() {
+		Map<String, ActiveSubscription> loaded = new HashMap<>();
+		for (FhirSubscription subscription : dao.getActiveSubscriptions()) {
+			try {
+				loaded.put(subscription.getUuid(), compile(subscription));
+			}
+			catch (InvalidRequestException e) {
+				log.warn("Ignoring subscription {} with invalid criteria: {}", subscription.getUuid(), e.getMessage());
+			}
+		}
+		
+		subscriptions.keySet().retainAll(loaded.keySet());
+		subscriptions.putAll(loaded);
+	}
+	
+	/**
+	 * @param subscription the subscription to compile
+	 * @return the active subscription, or {@code null} if the subscription is not active
+	 * @throws InvalidRequestException if the criteria of the subscription are not supported
+	 */
+	public ActiveSubscription compile(FhirSubscription subscription) {
+		if (subscription == null || subscription.getStatus() != FhirSubscription.SubscriptionStatus.ACTIVE
+		        || Boolean.TRUE.equals(subscription.getRetired())) {
+			return null;
+		}
+		
+		List<String> headers = subscription.getHeader() == null ? Collections.emptyList()
+		        : Arrays.stream(subscription.getHeader().split("\n")).filter(StringUtils::isNotBlank)
+		                .collect(Collectors.toList());
+		
+		return new ActiveSubscription(subscription.getUuid(), subscription.getEndpoint(), headers,
+		        criteriaCompiler.compile(subscription.getCriteria()));
+	}
+	
+	/**
+	 * @param uuid the uuid of the subscription
+	 * @param subscription the compiled subscription, or {@code null} to stop matching the subscription
+	 */
+	public void register(String uuid, ActiveSubscription subscription) {
+		if (subscription == null) {
+			subscriptions.remove(uuid);
+		} else {
+			subscriptions.put(uuid, subscription);
+		}
+	}
+	
+	/**
+	 * @param resourceType the type of the resource that changed
+	 * @param object the OpenMRS object backing the resource
+	 * @return the active subscriptions whose criteria match the object
+	 */
+	public List<ActiveSubscription> match(String resourceType, Object object) {
+		if (subscriptions.isEmpty()) {
+			return Collections.emptyList();
+		}
+		
+		List<ActiveSubscription> matches = new ArrayList<>();
+		for (ActiveSubscription subscription : subscriptions.values()) {
+			if (!subscription.getCriteria().getResourceType().equals(resourceType)) {
+				continue;
+			}
+			
+			try {
+				if (subscription.getCriteria().matches(object)) {
+					matches.add(subscription);
+				}
+			}
+			catch (RuntimeException e) {
+				// a subscription must never cause the change itself to fail
+				log.warn("Could not match {} against subscription {}", resourceType, subscription.getUuid(), e);
+			}
+		}
+		
+		return matches;
+	}
+}
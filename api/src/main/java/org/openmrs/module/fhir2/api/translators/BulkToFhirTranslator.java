@@ -0,0 +1,31 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.translators;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A {@link ToFhirTranslator} which can translate a group of OpenMRS data elements at once, allowing
+ * it to load any data shared by the group with a single query instead of once per element
+ *
+ * @param <T> OpenMRS data type
+ * @param <U> FHIR resource type
+ */
+public interface BulkToFhirTranslator<T, U> extends ToFhirTranslator<T, U> {
+	
+	/**
+	 * Maps a collection of OpenMRS data elements to FHIR resources
+	 *
+	 * @param data the OpenMRS data elements to translate
+	 * @return the corresponding FHIR resources, in the iteration order of the supplied collection
+	 */
+	List<U> toFhirResources(Collection<T> data);
+}
@@ -0,0 +1,30 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.translators;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.openmrs.module.fhir2.api.util.FhirRequestContext;
+
+/**
+ * Tells translators whether the request being processed by the current thread needs the contained
+ * {@link org.hl7.fhir.r4.model.Provenance} resources describing who created and last changed each
+ * resource. Building them requires resolving the users involved, so translators only add them when
+ * they have been requested. Outside of a FHIR request, where there is no {@link FhirRequestContext},
+ * they are always added.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ContainedProvenanceHolder {
+	
+	public static boolean isRequested() {
+		FhirRequestContext context = FhirRequestContext.get();
+		return context == null || context.getContainedProvenance() == null || context.getContainedProvenance();
+	}
+}
@@ -0,0 +1,52 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.translators;
+
+import java.util.Set;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.openmrs.module.fhir2.api.util.FhirRequestContext;
+
+/**
+ * Tells translators which top-level elements the client asked for, via {@code _elements} or
+ * {@code _summary}, in the request being processed by the current thread, so they can skip building
+ * elements that would be removed from the response anyway. The names are taken from the
+ * {@link FhirRequestContext}; without one, every element is considered requested.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class RequestedElementsHolder {
+	
+	/**
+	 * Determines whether the given element should be populated. For choice elements like
+	 * {@code value[x]} the element name without the suffix should be passed and any of the typed
+	 * variants, e.g. {@code valueQuantity}, also counts as requesting it.
+	 *
+	 * @param element the name of the element
+	 * @return true if the element was requested
+	 */
+	public static boolean isRequested(String element) {
+		FhirRequestContext context = FhirRequestContext.get();
+		Set<String> elements = context == null ? null : context.getRequestedElements();
+		if (elements == null || elements.contains(element)) {
+			return true;
+		}
+		
+		int length = element.length();
+		for (String requested : elements) {
+			if (requested.length() > length && requested.startsWith(element)
+			        && Character.isUpperCase(requested.charAt(length))) {
+				return true;
+			}
+		}
+		
+		return false;
+	}
+}
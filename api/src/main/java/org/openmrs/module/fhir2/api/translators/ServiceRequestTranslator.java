@@ -9,10 +9,13 @@
  */
 package org.openmrs.module.fhir2.api.translators;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.hl7.fhir.r4.model.ServiceRequest;
 import org.openmrs.TestOrder;
 
-public interface ServiceRequestTranslator<T> extends OpenmrsFhirTranslator<T, ServiceRequest> {
+public interface ServiceRequestTranslator<T> extends OpenmrsFhirTranslator<T, ServiceRequest>, BulkToFhirTranslator<T, ServiceRequest> {
 	
 	/**
 	 * Maps a {@link TestOrder} to a {@link ServiceRequest}
@@ -22,4 +25,14 @@ public interface ServiceRequestTranslator<T> extends OpenmrsFhirTranslator<T, Se
 	 */
 	@Override
 	ServiceRequest toFhirResource(T order);
+	
+	/**
+	 * Maps a page of {@link TestOrder}s to {@link ServiceRequest}s, looking up the associated tasks for
+	 * all orders at once
+	 *
+	 * @param orders the OpenMRS Orders to translate
+	 * @return the corresponding FHIR ServiceRequests
+	 */
+	@Override
+	List<ServiceRequest> toFhirResources(Collection<T> orders);
 }
@@ -0,0 +1,41 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.translators;
+
+import org.hl7.fhir.r4.model.Subscription;
+import org.openmrs.module.fhir2.FhirSubscription;
+
+public interface SubscriptionTranslator extends OpenmrsFhirUpdatableTranslator<FhirSubscription, Subscription> {
+	
+	/**
+	 * Maps a {@link FhirSubscription} to a {@link Subscription}
+	 *
+	 * @param openmrsSubscription the subscription to translate
+	 * @return the corresponding FHIR Subscription
+	 */
+	Subscription toFhirResource(FhirSubscription openmrsSubscription);
+	
+	/**
+	 * Maps a {@link Subscription} to a {@link FhirSubscription}
+	 *
+	 * @param fhirSubscription the FHIR Subscription to map
+	 * @return the corresponding OpenMRS subscription
+	 */
+	FhirSubscription toOpenmrsType(Subscription fhirSubscription);
+	
+	/**
+	 * Maps a {@link Subscription} to an existing {@link FhirSubscription}
+	 *
+	 * @param currentSubscription the OpenMRS subscription to update
+	 * @param fhirSubscription the FHIR Subscription to map
+	 * @return the updated OpenMRS subscription
+	 */
+	FhirSubscription toOpenmrsType(FhirSubscription currentSubscription, Subscription fhirSubscription);
+}
@@ -28,9 +28,11 @@ import org.openmrs.module.fhir2.api.translators.AllergyIntoleranceCriticalityTra
 import org.openmrs.module.fhir2.api.translators.AllergyIntoleranceSeverityTranslator;
 import org.openmrs.module.fhir2.api.translators.AllergyIntoleranceTranslator;
 import org.openmrs.module.fhir2.api.translators.ConceptTranslator;
+import org.openmrs.module.fhir2.api.translators.ContainedProvenanceHolder;
 import org.openmrs.module.fhir2.api.translators.PatientReferenceTranslator;
 import org.openmrs.module.fhir2.api.translators.PractitionerReferenceTranslator;
 import org.openmrs.module.fhir2.api.translators.ProvenanceTranslator;
+import org.openmrs.module.fhir2.api.util.FhirUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -84,7 +86,7 @@ public class AllergyIntoleranceTranslatorImpl extends BaseReferenceHandlingTrans
 		allergy.setPatient(patientReferenceTranslator.toFhirResource(omrsAllergy.getPatient()));
 		allergy.setRecorder(practitionerReferenceTranslator.toFhirResource(omrsAllergy.getCreator()));
 		allergy.setRecordedDate(omrsAllergy.getDateCreated());
-		allergy.getMeta().setLastUpdated(omrsAllergy.getDateChanged());
+		FhirUtils.setLastUpdated(allergy, omrsAllergy);
 		allergy.setType(AllergyIntolerance.AllergyIntoleranceType.ALLERGY);
 		allergy.setCode(getAllergySubstance(omrsAllergy.getAllergen()));
 		allergy.addNote(new Annotation().setText(omrsAllergy.getComment()));
@@ -95,8 +97,10 @@ public class AllergyIntoleranceTranslatorImpl extends BaseReferenceHandlingTrans
 		reactionComponent.setManifestation(getManifestation(omrsAllergy.getReactions()));
 		reactionComponent.setSeverity(severityTranslator.toFhirResource(omrsAllergy.getSeverity()));
 		allergy.addReaction(reactionComponent);
-		allergy.addContained(provenanceTranslator.getCreateProvenance(omrsAllergy));
-		allergy.addContained(provenanceTranslator.getUpdateProvenance(omrsAllergy));
+		if (ContainedProvenanceHolder.isRequested()) {
+			allergy.addContained(provenanceTranslator.getCreateProvenance(omrsAllergy));
+			allergy.addContained(provenanceTranslator.getUpdateProvenance(omrsAllergy));
+		}
 		
 		return allergy;
 	}
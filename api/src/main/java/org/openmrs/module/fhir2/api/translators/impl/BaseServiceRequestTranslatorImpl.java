@@ -10,40 +10,51 @@
 package org.openmrs.module.fhir2.api.translators.impl;
 
 import java.util.Collection;
-import java.util.stream.Collectors;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
-import ca.uhn.fhir.rest.api.server.IBundleProvider;
-import ca.uhn.fhir.rest.param.ReferenceAndListParam;
-import ca.uhn.fhir.rest.param.ReferenceOrListParam;
-import ca.uhn.fhir.rest.param.ReferenceParam;
 import lombok.AccessLevel;
 import lombok.Setter;
 import org.hl7.fhir.r4.model.Reference;
 import org.hl7.fhir.r4.model.ServiceRequest;
 import org.hl7.fhir.r4.model.Task;
+import org.openmrs.module.fhir2.FhirConstants;
 import org.openmrs.module.fhir2.api.FhirTaskService;
 import org.springframework.beans.factory.annotation.Autowired;
 
 @Setter(AccessLevel.PROTECTED)
 public class BaseServiceRequestTranslatorImpl {
 	
-	private static final int START_INDEX = 0;
-	
-	private static final int END_INDEX = 10;
-	
 	@Autowired
 	private FhirTaskService taskService;
 	
-	protected ServiceRequest.ServiceRequestStatus determineServiceRequestStatus(String orderUuid) {
-		IBundleProvider results = taskService.searchForTasks(new ReferenceAndListParam().addAnd(
-		    new ReferenceOrListParam().add(new ReferenceParam("ServiceRequest", null, orderUuid))), null, null, null);
-		
-		Collection<Task> serviceRequestTasks = results.getResources(START_INDEX, END_INDEX).stream().map(p -> (Task) p)
-		        .collect(Collectors.toList());
+	/**
+	 * Loads the tasks based on each of the given orders with a single lookup
+	 *
+	 * @param orderUuids the uuids of the orders
+	 * @return the tasks keyed by the uuid of the order they are based on
+	 */
+	protected Map<String, List<Task>> getServiceRequestTasks(Collection<String> orderUuids) {
+		return taskService.getTasksByBasedOn(FhirConstants.SERVICE_REQUEST, orderUuids);
+	}
+	
+	protected List<Task> getServiceRequestTasks(String orderUuid) {
+		if (orderUuid == null) {
+			return Collections.emptyList();
+		}
 		
+		return getServiceRequestTasks(Collections.singleton(orderUuid)).getOrDefault(orderUuid, Collections.emptyList());
+	}
+	
+	protected ServiceRequest.ServiceRequestStatus determineServiceRequestStatus(String orderUuid) {
+		return determineServiceRequestStatus(getServiceRequestTasks(orderUuid));
+	}
+	
+	protected ServiceRequest.ServiceRequestStatus determineServiceRequestStatus(Collection<Task> serviceRequestTasks) {
 		ServiceRequest.ServiceRequestStatus serviceRequestStatus = ServiceRequest.ServiceRequestStatus.UNKNOWN;
 		
-		if (serviceRequestTasks.size() != 1) {
+		if (serviceRequestTasks == null || serviceRequestTasks.size() != 1) {
 			return serviceRequestStatus;
 		}
 		
@@ -67,13 +78,11 @@ public class BaseServiceRequestTranslatorImpl {
 	}
 	
 	protected Reference determineServiceRequestPerformer(String orderUuid) {
-		IBundleProvider results = taskService.searchForTasks(new ReferenceAndListParam().addAnd(
-		    new ReferenceOrListParam().add(new ReferenceParam("ServiceRequest", null, orderUuid))), null, null, null);
-		
-		Collection<Task> serviceRequestTasks = results.getResources(START_INDEX, END_INDEX).stream().map(p -> (Task) p)
-		        .collect(Collectors.toList());
-		
-		if (serviceRequestTasks.size() != 1) {
+		return determineServiceRequestPerformer(getServiceRequestTasks(orderUuid));
+	}
+	
+	protected Reference determineServiceRequestPerformer(Collection<Task> serviceRequestTasks) {
+		if (serviceRequestTasks == null || serviceRequestTasks.size() != 1) {
 			return null;
 		}
 		
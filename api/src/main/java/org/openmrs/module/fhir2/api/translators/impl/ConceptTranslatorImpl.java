@@ -9,9 +9,17 @@
  */
 package org.openmrs.module.fhir2.api.translators.impl;
 
-import java.util.concurrent.atomic.AtomicReference;
+import javax.annotation.PostConstruct;
 
+import java.util.Date;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import lombok.AccessLevel;
+import lombok.Data;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.hl7.fhir.r4.model.CodeableConcept;
@@ -24,8 +32,9 @@ import org.openmrs.ConceptName;
 import org.openmrs.ConceptReferenceTerm;
 import org.openmrs.module.fhir2.FhirConstants;
 import org.openmrs.module.fhir2.api.FhirConceptService;
-import org.openmrs.module.fhir2.api.FhirConceptSourceService;
 import org.openmrs.module.fhir2.api.FhirUserDefaultProperties;
+import org.openmrs.module.fhir2.api.mappings.ConceptSourceMap;
+import org.openmrs.module.fhir2.api.metrics.FhirMetricsRegistry;
 import org.openmrs.module.fhir2.api.translators.ConceptTranslator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -35,28 +44,68 @@ import org.springframework.stereotype.Component;
 @Setter(AccessLevel.PACKAGE)
 public class ConceptTranslatorImpl implements ConceptTranslator {
 	
+	private static final int CACHE_MAXIMUM_SIZE = 1000;
+	
+	private static final long CACHE_EXPIRY_MINUTES = 10;
+	
 	@Autowired
 	private FhirConceptService conceptService;
 	
 	@Autowired
-	private FhirConceptSourceService conceptSourceService;
+	private ConceptSourceMap conceptSourceMap;
 	
 	@Autowired
 	private FhirUserDefaultProperties userDefaultProperties;
 	
+	@Autowired(required = false)
+	private FhirMetricsRegistry metricsRegistry;
+	
+	/**
+	 * Translated concepts, keyed by the concept's uuid and last change and the locale used for the
+	 * display names. OpenMRS does not update the concept's {@code dateChanged} when only its names or
+	 * mappings are edited, so such edits, like changes to concept sources, are only reflected once the
+	 * entry expires.
+	 */
+	private final Cache<ConceptCacheKey, CodeableConcept> cache = Caffeine.newBuilder().maximumSize(CACHE_MAXIMUM_SIZE)
+	        .expireAfterWrite(CACHE_EXPIRY_MINUTES, TimeUnit.MINUTES).recordStats().build();
+	
 	@Override
 	public CodeableConcept toFhirResource(Concept concept) {
 		if (concept == null) {
 			return null;
 		}
 		
+		if (concept.getUuid() == null) {
+			return createCodeableConcept(concept);
+		}
+		
+		ConceptCacheKey key = new ConceptCacheKey(concept.getUuid(), userDefaultProperties.getDefaultLocale(),
+		        concept.getDateChanged());
+		return cache.get(key, k -> createCodeableConcept(concept)).copy();
+	}
+	
+	@PostConstruct
+	public void registerCacheMetrics() {
+		if (metricsRegistry != null) {
+			metricsRegistry.registerCache("concept", this::getCacheStats);
+		}
+	}
+	
+	/**
+	 * @return the hit and miss statistics of the cache of translated concepts
+	 */
+	public CacheStats getCacheStats() {
+		return cache.stats();
+	}
+	
+	private CodeableConcept createCodeableConcept(Concept concept) {
 		CodeableConcept codeableConcept = new CodeableConcept();
 		// TODO fix this so it refers to a specific system
 		addConceptCoding(codeableConcept.addCoding(), null, concept.getUuid(), concept);
 		
 		for (ConceptMap mapping : concept.getConceptMappings()) {
 			ConceptReferenceTerm crt = mapping.getConceptReferenceTerm();
-			String sourceUrl = conceptSourceToURL(crt.getConceptSource().getName());
+			String sourceUrl = conceptSourceMap.getUrl(crt.getConceptSource().getName()).orElse(null);
 			if (sourceUrl == null) {
 				continue;
 			}
@@ -81,7 +130,7 @@ public class ConceptTranslatorImpl implements ConceptTranslator {
 				continue;
 			}
 			
-			String codingSource = conceptURLToSource(coding.getSystem());
+			String codingSource = conceptSourceMap.getConceptSourceName(coding.getSystem()).orElse(null);
 			if (codingSource == null) {
 				continue;
 			}
@@ -117,16 +166,13 @@ public class ConceptTranslatorImpl implements ConceptTranslator {
 		}
 	}
 	
-	private String conceptSourceToURL(String conceptSourceName) {
-		final AtomicReference<String> url = new AtomicReference<>(null);
-		conceptSourceService.getFhirConceptSourceByConceptSourceName(conceptSourceName)
-		        .ifPresent(cs -> url.set(cs.getUrl()));
-		return url.get();
-	}
-	
-	private String conceptURLToSource(String url) {
-		final AtomicReference<String> sourceName = new AtomicReference<>(null);
-		conceptSourceService.getFhirConceptSourceByUrl(url).ifPresent(cs -> sourceName.set(cs.getConceptSource().getName()));
-		return sourceName.get();
+	@Data
+	private static final class ConceptCacheKey {
+		
+		private final String uuid;
+		
+		private final Locale locale;
+		
+		private final Date dateChanged;
 	}
 }
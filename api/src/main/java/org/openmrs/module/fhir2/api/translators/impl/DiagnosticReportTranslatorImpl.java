@@ -24,6 +24,7 @@ import org.openmrs.module.fhir2.api.translators.DiagnosticReportTranslator;
 import org.openmrs.module.fhir2.api.translators.EncounterReferenceTranslator;
 import org.openmrs.module.fhir2.api.translators.ObservationReferenceTranslator;
 import org.openmrs.module.fhir2.api.translators.PatientReferenceTranslator;
+import org.openmrs.module.fhir2.api.util.FhirUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -56,7 +57,7 @@ public class DiagnosticReportTranslatorImpl implements DiagnosticReportTranslato
 		
 		setResourceElements(obsGroup, diagnosticReport);
 		
-		diagnosticReport.getMeta().setLastUpdated(obsGroup.getDateChanged());
+		FhirUtils.setLastUpdated(diagnosticReport, obsGroup);
 		
 		return diagnosticReport;
 	}
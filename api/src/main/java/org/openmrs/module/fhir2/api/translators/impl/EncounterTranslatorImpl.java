@@ -18,11 +18,13 @@ import lombok.AccessLevel;
 import lombok.Setter;
 import org.hl7.fhir.r4.model.Encounter;
 import org.openmrs.EncounterProvider;
+import org.openmrs.module.fhir2.api.translators.ContainedProvenanceHolder;
 import org.openmrs.module.fhir2.api.translators.EncounterLocationTranslator;
 import org.openmrs.module.fhir2.api.translators.EncounterParticipantTranslator;
 import org.openmrs.module.fhir2.api.translators.EncounterTranslator;
 import org.openmrs.module.fhir2.api.translators.PatientReferenceTranslator;
 import org.openmrs.module.fhir2.api.translators.ProvenanceTranslator;
+import org.openmrs.module.fhir2.api.util.FhirUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -56,9 +58,11 @@ public class EncounterTranslatorImpl implements EncounterTranslator {
 		        .collect(Collectors.toList()));
 		encounter.setLocation(
 		    Collections.singletonList(encounterLocationTranslator.toFhirResource(openMrsEncounter.getLocation())));
-		encounter.getMeta().setLastUpdated(openMrsEncounter.getDateChanged());
-		encounter.addContained(provenanceTranslator.getCreateProvenance(openMrsEncounter));
-		encounter.addContained(provenanceTranslator.getUpdateProvenance(openMrsEncounter));
+		FhirUtils.setLastUpdated(encounter, openMrsEncounter);
+		if (ContainedProvenanceHolder.isRequested()) {
+			encounter.addContained(provenanceTranslator.getCreateProvenance(openMrsEncounter));
+			encounter.addContained(provenanceTranslator.getUpdateProvenance(openMrsEncounter));
+		}
 		
 		return encounter;
 	}
@@ -26,10 +26,13 @@ import org.openmrs.LocationTag;
 import org.openmrs.module.fhir2.FhirConstants;
 import org.openmrs.module.fhir2.api.FhirGlobalPropertyService;
 import org.openmrs.module.fhir2.api.dao.FhirLocationDao;
+import org.openmrs.module.fhir2.api.translators.ContainedProvenanceHolder;
 import org.openmrs.module.fhir2.api.translators.LocationAddressTranslator;
 import org.openmrs.module.fhir2.api.translators.LocationTranslator;
 import org.openmrs.module.fhir2.api.translators.ProvenanceTranslator;
+import org.openmrs.module.fhir2.api.translators.RequestedElementsHolder;
 import org.openmrs.module.fhir2.api.translators.TelecomTranslator;
+import org.openmrs.module.fhir2.api.util.FhirUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -82,7 +85,9 @@ public class LocationTranslatorImpl extends BaseReferenceHandlingTranslator impl
 				fhirLocation.setStatus(Location.LocationStatus.INACTIVE);
 			}
 			
-			fhirLocation.setTelecom(getLocationContactDetails(openmrsLocation));
+			if (RequestedElementsHolder.isRequested("telecom")) {
+				fhirLocation.setTelecom(getLocationContactDetails(openmrsLocation));
+			}
 			
 			if (openmrsLocation.getTags() != null) {
 				for (LocationTag tag : openmrsLocation.getTags()) {
@@ -94,9 +99,11 @@ public class LocationTranslatorImpl extends BaseReferenceHandlingTranslator impl
 				fhirLocation.setPartOf(createLocationReference(openmrsLocation.getParentLocation()));
 			}
 			
-			fhirLocation.getMeta().setLastUpdated(openmrsLocation.getDateChanged());
-			fhirLocation.addContained(provenanceTranslator.getCreateProvenance(openmrsLocation));
-			fhirLocation.addContained(provenanceTranslator.getUpdateProvenance(openmrsLocation));
+			FhirUtils.setLastUpdated(fhirLocation, openmrsLocation);
+			if (ContainedProvenanceHolder.isRequested()) {
+				fhirLocation.addContained(provenanceTranslator.getCreateProvenance(openmrsLocation));
+				fhirLocation.addContained(provenanceTranslator.getUpdateProvenance(openmrsLocation));
+			}
 		}
 		return fhirLocation;
 	}
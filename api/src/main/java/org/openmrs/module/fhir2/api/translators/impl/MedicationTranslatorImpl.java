@@ -25,6 +25,7 @@ import org.openmrs.DrugIngredient;
 import org.openmrs.module.fhir2.FhirConstants;
 import org.openmrs.module.fhir2.api.translators.ConceptTranslator;
 import org.openmrs.module.fhir2.api.translators.MedicationTranslator;
+import org.openmrs.module.fhir2.api.util.FhirUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -51,7 +52,7 @@ public class MedicationTranslatorImpl implements MedicationTranslator {
 			medication.addIngredient(ingredient.setItem(conceptTranslator.toFhirResource(val.getIngredient())));
 		}
 		
-		medication.getMeta().setLastUpdated(drug.getDateChanged());
+		FhirUtils.setLastUpdated(medication, drug);
 		
 		if (drug.getRetired()) {
 			medication.setStatus(Medication.MedicationStatus.INACTIVE);
@@ -21,6 +21,7 @@ import org.openmrs.Obs;
 import org.openmrs.Patient;
 import org.openmrs.Person;
 import org.openmrs.module.fhir2.api.translators.ConceptTranslator;
+import org.openmrs.module.fhir2.api.translators.ContainedProvenanceHolder;
 import org.openmrs.module.fhir2.api.translators.EncounterReferenceTranslator;
 import org.openmrs.module.fhir2.api.translators.ObservationBasedOnReferenceTranslator;
 import org.openmrs.module.fhir2.api.translators.ObservationCategoryTranslator;
@@ -33,6 +34,8 @@ import org.openmrs.module.fhir2.api.translators.ObservationTranslator;
 import org.openmrs.module.fhir2.api.translators.ObservationValueTranslator;
 import org.openmrs.module.fhir2.api.translators.PatientReferenceTranslator;
 import org.openmrs.module.fhir2.api.translators.ProvenanceTranslator;
+import org.openmrs.module.fhir2.api.translators.RequestedElementsHolder;
+import org.openmrs.module.fhir2.api.util.FhirUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -86,10 +89,12 @@ public class ObservationTranslatorImpl implements ObservationTranslator {
 		obs.setId(observation.getUuid());
 		obs.setStatus(observationStatusTranslator.toFhirResource(observation));
 		
-		obs.setEncounter(encounterReferenceTranslator.toFhirResource(observation.getEncounter()));
+		if (RequestedElementsHolder.isRequested("encounter")) {
+			obs.setEncounter(encounterReferenceTranslator.toFhirResource(observation.getEncounter()));
+		}
 		
 		Person obsPerson = observation.getPerson();
-		if (obsPerson != null) {
+		if (obsPerson != null && RequestedElementsHolder.isRequested("subject")) {
 			try {
 				obs.setSubject(patientReferenceTranslator.toFhirResource((Patient) observation.getPerson()));
 			}
@@ -97,31 +102,41 @@ public class ObservationTranslatorImpl implements ObservationTranslator {
 		}
 		
 		obs.setCode(conceptTranslator.toFhirResource(observation.getConcept()));
-		obs.addCategory(categoryTranslator.toFhirResource(observation.getConcept()));
+		if (RequestedElementsHolder.isRequested("category")) {
+			obs.addCategory(categoryTranslator.toFhirResource(observation.getConcept()));
+		}
 		
-		if (observation.isObsGrouping()) {
+		if (observation.isObsGrouping() && RequestedElementsHolder.isRequested("hasMember")) {
 			for (Obs groupObs : observation.getGroupMembers()) {
 				obs.addHasMember(observationReferenceTranslator.toFhirResource(groupObs));
 			}
 		}
 		
-		obs.setValue(observationValueTranslator.toFhirResource(observation));
+		if (RequestedElementsHolder.isRequested("value")) {
+			obs.setValue(observationValueTranslator.toFhirResource(observation));
+		}
 		
-		obs.addInterpretation(interpretationTranslator.toFhirResource(observation));
+		if (RequestedElementsHolder.isRequested("interpretation")) {
+			obs.addInterpretation(interpretationTranslator.toFhirResource(observation));
+		}
 		
-		if (observation.getValueNumeric() != null) {
+		if (observation.getValueNumeric() != null && RequestedElementsHolder.isRequested("referenceRange")) {
 			Concept concept = observation.getConcept();
 			if (concept instanceof ConceptNumeric) {
 				obs.setReferenceRange(referenceRangeTranslator.toFhirResource((ConceptNumeric) concept));
 			}
 			
 		}
-		obs.getMeta().setLastUpdated(observation.getDateChanged());
-		obs.addContained(provenanceTranslator.getCreateProvenance(observation));
-		obs.addContained(provenanceTranslator.getUpdateProvenance(observation));
+		FhirUtils.setLastUpdated(obs, observation);
+		if (ContainedProvenanceHolder.isRequested()) {
+			obs.addContained(provenanceTranslator.getCreateProvenance(observation));
+			obs.addContained(provenanceTranslator.getUpdateProvenance(observation));
+		}
 		obs.setIssued(observation.getDateCreated());
 		obs.setEffective(datetimeTranslator.toFhirResource(observation));
-		obs.addBasedOn(basedOnReferenceTranslator.toFhirResource(observation.getOrder()));
+		if (RequestedElementsHolder.isRequested("basedOn")) {
+			obs.addBasedOn(basedOnReferenceTranslator.toFhirResource(observation.getOrder()));
+		}
 		
 		return obs;
 	}
@@ -34,13 +34,16 @@ import org.openmrs.PersonName;
 import org.openmrs.module.fhir2.FhirConstants;
 import org.openmrs.module.fhir2.api.FhirGlobalPropertyService;
 import org.openmrs.module.fhir2.api.dao.FhirPersonDao;
+import org.openmrs.module.fhir2.api.translators.ContainedProvenanceHolder;
 import org.openmrs.module.fhir2.api.translators.GenderTranslator;
 import org.openmrs.module.fhir2.api.translators.PatientIdentifierTranslator;
 import org.openmrs.module.fhir2.api.translators.PatientTranslator;
 import org.openmrs.module.fhir2.api.translators.PersonAddressTranslator;
 import org.openmrs.module.fhir2.api.translators.PersonNameTranslator;
 import org.openmrs.module.fhir2.api.translators.ProvenanceTranslator;
+import org.openmrs.module.fhir2.api.translators.RequestedElementsHolder;
 import org.openmrs.module.fhir2.api.translators.TelecomTranslator;
+import org.openmrs.module.fhir2.api.util.FhirUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -105,10 +108,15 @@ public class PatientTranslatorImpl implements PatientTranslator {
 			for (PersonAddress address : openmrsPatient.getAddresses()) {
 				patient.addAddress(addressTranslator.toFhirResource(address));
 			}
-			patient.setTelecom(getPatientContactDetails(openmrsPatient));
-			patient.getMeta().setLastUpdated(openmrsPatient.getDateChanged());
-			patient.addContained(provenanceTranslator.getCreateProvenance(openmrsPatient));
-			patient.addContained(provenanceTranslator.getUpdateProvenance(openmrsPatient));
+			if (RequestedElementsHolder.isRequested("telecom")) {
+				patient.setTelecom(getPatientContactDetails(openmrsPatient));
+			}
+			FhirUtils.setLastUpdated(patient, openmrsPatient, openmrsPatient.getNames(), openmrsPatient.getAddresses(),
+			    openmrsPatient.getIdentifiers());
+			if (ContainedProvenanceHolder.isRequested()) {
+				patient.addContained(provenanceTranslator.getCreateProvenance(openmrsPatient));
+				patient.addContained(provenanceTranslator.getUpdateProvenance(openmrsPatient));
+			}
 		}
 		
 		return patient;
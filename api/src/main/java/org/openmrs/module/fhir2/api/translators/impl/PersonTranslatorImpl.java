@@ -21,6 +21,7 @@ import org.openmrs.Person;
 import org.openmrs.PersonAddress;
 import org.openmrs.PersonName;
 import org.openmrs.module.fhir2.api.dao.FhirPatientDao;
+import org.openmrs.module.fhir2.api.translators.ContainedProvenanceHolder;
 import org.openmrs.module.fhir2.api.translators.GenderTranslator;
 import org.openmrs.module.fhir2.api.translators.PatientReferenceTranslator;
 import org.openmrs.module.fhir2.api.translators.PersonAddressTranslator;
@@ -28,6 +29,8 @@ import org.openmrs.module.fhir2.api.translators.PersonNameTranslator;
 import org.openmrs.module.fhir2.api.translators.PersonTelecomTranslator;
 import org.openmrs.module.fhir2.api.translators.PersonTranslator;
 import org.openmrs.module.fhir2.api.translators.ProvenanceTranslator;
+import org.openmrs.module.fhir2.api.translators.RequestedElementsHolder;
+import org.openmrs.module.fhir2.api.util.FhirUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -75,15 +78,19 @@ public class PersonTranslatorImpl implements PersonTranslator {
 			for (PersonAddress address : openmrsPerson.getAddresses()) {
 				person.addAddress(addressTranslator.toFhirResource(address));
 			}
-			person.setTelecom(telecomTranslator.toFhirResource(openmrsPerson));
+			if (RequestedElementsHolder.isRequested("telecom")) {
+				person.setTelecom(telecomTranslator.toFhirResource(openmrsPerson));
+			}
 			
 			if (openmrsPerson.getIsPatient()) {
 				person.addLink(new org.hl7.fhir.r4.model.Person.PersonLinkComponent()
 				        .setTarget(patientReferenceTranslator.toFhirResource(patientDao.get(openmrsPerson.getUuid()))));
 			}
-			person.getMeta().setLastUpdated(openmrsPerson.getDateChanged());
-			person.addContained(provenanceTranslator.getCreateProvenance(openmrsPerson));
-			person.addContained(provenanceTranslator.getUpdateProvenance(openmrsPerson));
+			FhirUtils.setLastUpdated(person, openmrsPerson, openmrsPerson.getNames(), openmrsPerson.getAddresses());
+			if (ContainedProvenanceHolder.isRequested()) {
+				person.addContained(provenanceTranslator.getCreateProvenance(openmrsPerson));
+				person.addContained(provenanceTranslator.getUpdateProvenance(openmrsPerson));
+			}
 		}
 		return person;
 	}
@@ -29,12 +29,15 @@ import org.openmrs.ProviderAttribute;
 import org.openmrs.module.fhir2.FhirConstants;
 import org.openmrs.module.fhir2.api.FhirGlobalPropertyService;
 import org.openmrs.module.fhir2.api.dao.FhirPractitionerDao;
+import org.openmrs.module.fhir2.api.translators.ContainedProvenanceHolder;
 import org.openmrs.module.fhir2.api.translators.GenderTranslator;
 import org.openmrs.module.fhir2.api.translators.PersonAddressTranslator;
 import org.openmrs.module.fhir2.api.translators.PersonNameTranslator;
 import org.openmrs.module.fhir2.api.translators.PractitionerTranslator;
 import org.openmrs.module.fhir2.api.translators.ProvenanceTranslator;
+import org.openmrs.module.fhir2.api.translators.RequestedElementsHolder;
 import org.openmrs.module.fhir2.api.translators.TelecomTranslator;
+import org.openmrs.module.fhir2.api.util.FhirUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -101,7 +104,9 @@ public class PractitionerTranslatorProviderImpl implements PractitionerTranslato
 		
 		practitioner.setId(provider.getUuid());
 		practitioner.setActive(provider.getRetired());
-		practitioner.setTelecom(getProviderContactDetails(provider));
+		if (RequestedElementsHolder.isRequested("telecom")) {
+			practitioner.setTelecom(getProviderContactDetails(provider));
+		}
 		
 		if (provider.getPerson() != null) {
 			practitioner.setBirthDate(provider.getPerson().getBirthdate());
@@ -115,9 +120,11 @@ public class PractitionerTranslatorProviderImpl implements PractitionerTranslato
 				practitioner.addAddress(addressTranslator.toFhirResource(address));
 			}
 		}
-		practitioner.getMeta().setLastUpdated(provider.getDateChanged());
-		practitioner.addContained(provenanceTranslator.getCreateProvenance(provider));
-		practitioner.addContained(provenanceTranslator.getUpdateProvenance(provider));
+		FhirUtils.setLastUpdated(practitioner, provider);
+		if (ContainedProvenanceHolder.isRequested()) {
+			practitioner.addContained(provenanceTranslator.getCreateProvenance(provider));
+			practitioner.addContained(provenanceTranslator.getUpdateProvenance(provider));
+		}
 		
 		return practitioner;
 	}
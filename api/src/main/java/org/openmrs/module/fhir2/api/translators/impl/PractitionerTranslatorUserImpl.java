@@ -21,6 +21,7 @@ import org.openmrs.module.fhir2.api.translators.GenderTranslator;
 import org.openmrs.module.fhir2.api.translators.PersonAddressTranslator;
 import org.openmrs.module.fhir2.api.translators.PersonNameTranslator;
 import org.openmrs.module.fhir2.api.translators.PractitionerTranslator;
+import org.openmrs.module.fhir2.api.util.FhirUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -57,7 +58,7 @@ public class PractitionerTranslatorUserImpl implements PractitionerTranslator<Us
 				practitioner.addAddress(addressTranslator.toFhirResource(address));
 			}
 		}
-		practitioner.getMeta().setLastUpdated(user.getDateChanged());
+		FhirUtils.setLastUpdated(practitioner, user);
 		
 		return practitioner;
 	}
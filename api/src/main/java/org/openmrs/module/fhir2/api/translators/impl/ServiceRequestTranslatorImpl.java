@@ -9,18 +9,25 @@
  */
 package org.openmrs.module.fhir2.api.translators.impl;
 
+import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 import lombok.AccessLevel;
 import lombok.Setter;
 import org.hl7.fhir.r4.model.Period;
 import org.hl7.fhir.r4.model.ServiceRequest;
+import org.hl7.fhir.r4.model.Task;
 import org.openmrs.Provider;
 import org.openmrs.TestOrder;
 import org.openmrs.module.fhir2.api.translators.ConceptTranslator;
 import org.openmrs.module.fhir2.api.translators.PatientReferenceTranslator;
 import org.openmrs.module.fhir2.api.translators.PractitionerReferenceTranslator;
 import org.openmrs.module.fhir2.api.translators.ServiceRequestTranslator;
+import org.openmrs.module.fhir2.api.util.FhirUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -43,11 +50,26 @@ public class ServiceRequestTranslatorImpl extends BaseServiceRequestTranslatorIm
 			return null;
 		}
 		
+		return toFhirResource(order, getServiceRequestTasks(order.getUuid()));
+	}
+	
+	@Override
+	public List<ServiceRequest> toFhirResources(Collection<TestOrder> orders) {
+		Map<String, List<Task>> tasks = getServiceRequestTasks(orders.stream().filter(Objects::nonNull)
+		        .map(TestOrder::getUuid).filter(Objects::nonNull).collect(Collectors.toSet()));
+		
+		return orders.stream()
+		        .map(order -> order == null ? null
+		                : toFhirResource(order, tasks.getOrDefault(order.getUuid(), Collections.emptyList())))
+		        .collect(Collectors.toList());
+	}
+	
+	private ServiceRequest toFhirResource(TestOrder order, List<Task> tasks) {
 		ServiceRequest serviceRequest = new ServiceRequest();
 		
 		serviceRequest.setId(order.getUuid());
 		
-		serviceRequest.setStatus(determineServiceRequestStatus(order.getUuid()));
+		serviceRequest.setStatus(determineServiceRequestStatus(tasks));
 		
 		serviceRequest.setCode(conceptTranslator.toFhirResource(order.getConcept()));
 		
@@ -57,12 +79,12 @@ public class ServiceRequestTranslatorImpl extends BaseServiceRequestTranslatorIm
 		
 		serviceRequest.setRequester(providerReferenceTranslator.toFhirResource(order.getOrderer()));
 		
-		serviceRequest.setPerformer(Collections.singletonList(determineServiceRequestPerformer(order.getUuid())));
+		serviceRequest.setPerformer(Collections.singletonList(determineServiceRequestPerformer(tasks)));
 		
 		serviceRequest
 		        .setOccurrence(new Period().setStart(order.getEffectiveStartDate()).setEnd(order.getEffectiveStopDate()));
 		
-		serviceRequest.getMeta().setLastUpdated(order.getDateChanged());
+		FhirUtils.setLastUpdated(serviceRequest, order);
 		
 		return serviceRequest;
 	}
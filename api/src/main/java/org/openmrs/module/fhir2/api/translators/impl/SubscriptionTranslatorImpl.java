@@ -0,0 +1,109 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.translators.impl;
+
+import java.util.stream.Collectors;
+
+import lombok.AccessLevel;
+import lombok.Setter;
+import org.apache.commons.lang3.StringUtils;
+import org.hl7.fhir.r4.model.StringType;
+import org.hl7.fhir.r4.model.Subscription;
+import org.openmrs.module.fhir2.FhirConstants;
+import org.openmrs.module.fhir2.FhirSubscription;
+import org.openmrs.module.fhir2.api.translators.SubscriptionTranslator;
+import org.openmrs.module.fhir2.api.util.FhirUtils;
+import org.springframework.stereotype.Component;
+
+@Component
+@Setter(AccessLevel.PACKAGE)
+public class SubscriptionTranslatorImpl implements SubscriptionTranslator {
+	
+	@Override
+	public Subscription toFhirResource(FhirSubscription openmrsSubscription) {
+		Subscription fhirSubscription = null;
+		
+		if (openmrsSubscription != null) {
+			fhirSubscription = new Subscription();
+			setFhirSubscriptionFields(openmrsSubscription, fhirSubscription);
+		}
+		
+		return fhirSubscription;
+	}
+	
+	@Override
+	public FhirSubscription toOpenmrsType(Subscription fhirSubscription) {
+		FhirSubscription openmrsSubscription = null;
+		
+		if (fhirSubscription != null) {
+			openmrsSubscription = new FhirSubscription();
+			setOpenmrsSubscriptionFields(openmrsSubscription, fhirSubscription);
+		}
+		
+		return openmrsSubscription;
+	}
+	
+	@Override
+	public FhirSubscription toOpenmrsType(FhirSubscription openmrsSubscription, Subscription fhirSubscription) {
+		if (fhirSubscription != null) {
+			if (openmrsSubscription == null) {
+				openmrsSubscription = new FhirSubscription();
+			}
+			setOpenmrsSubscriptionFields(openmrsSubscription, fhirSubscription);
+		}
+		
+		return openmrsSubscription;
+	}
+	
+	private void setFhirSubscriptionFields(FhirSubscription openmrsSubscription, Subscription fhirSubscription) {
+		fhirSubscription.setId(openmrsSubscription.getUuid());
+		
+		if (openmrsSubscription.getStatus() != null) {
+			fhirSubscription.setStatus(Subscription.SubscriptionStatus.valueOf(openmrsSubscription.getStatus().name()));
+		}
+		
+		fhirSubscription.setCriteria(openmrsSubscription.getCriteria());
+		fhirSubscription.setReason(openmrsSubscription.getReason());
+		fhirSubscription.setError(openmrsSubscription.getError());
+		fhirSubscription.setEnd(openmrsSubscription.getEnd());
+		
+		// the headers usually hold credentials for the endpoint, so they are never returned
+		Subscription.SubscriptionChannelComponent channel = fhirSubscription.getChannel();
+		channel.setType(Subscription.SubscriptionChannelType.RESTHOOK);
+		channel.setEndpoint(openmrsSubscription.getEndpoint());
+		
+		FhirUtils.setLastUpdated(fhirSubscription, openmrsSubscription);
+	}
+	
+	private void setOpenmrsSubscriptionFields(FhirSubscription openmrsSubscription, Subscription fhirSubscription) {
+		if (openmrsSubscription.getUuid() == null) {
+			openmrsSubscription.setUuid(fhirSubscription.getIdElement().getIdPart());
+		}
+		
+		if (fhirSubscription.hasStatus()) {
+			openmrsSubscription.setStatus(FhirSubscription.SubscriptionStatus.valueOf(fhirSubscription.getStatus().name()));
+		}
+		
+		openmrsSubscription.setCriteria(fhirSubscription.getCriteria());
+		openmrsSubscription.setReason(fhirSubscription.getReason());
+		openmrsSubscription.setError(fhirSubscription.getError());
+		openmrsSubscription.setEnd(fhirSubscription.getEnd());
+		
+		Subscription.SubscriptionChannelComponent channel = fhirSubscription.getChannel();
+		openmrsSubscription.setEndpoint(channel.getEndpoint());
+		// as the headers are not returned, a subscription updated without them keeps its current ones
+		if (channel.hasHeader()) {
+			openmrsSubscription.setHeader(StringUtils
+			        .trimToNull(channel.getHeader().stream().map(StringType::getValue).collect(Collectors.joining("\n"))));
+		}
+		
+		openmrsSubscription.setName(FhirConstants.SUBSCRIPTION + "/" + openmrsSubscription.getUuid());
+	}
+}
@@ -24,9 +24,11 @@ import org.openmrs.module.fhir2.FhirTask;
 import org.openmrs.module.fhir2.FhirTaskInput;
 import org.openmrs.module.fhir2.FhirTaskOutput;
 import org.openmrs.module.fhir2.api.translators.ConceptTranslator;
+import org.openmrs.module.fhir2.api.translators.ContainedProvenanceHolder;
 import org.openmrs.module.fhir2.api.translators.ProvenanceTranslator;
 import org.openmrs.module.fhir2.api.translators.ReferenceTranslator;
 import org.openmrs.module.fhir2.api.translators.TaskTranslator;
+import org.openmrs.module.fhir2.api.util.FhirUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -50,8 +52,10 @@ public class TaskTranslatorImpl implements TaskTranslator {
 		if (openmrsTask != null) {
 			fhirTask = new Task();
 			setFhirTaskFields(openmrsTask, fhirTask);
-			fhirTask.addContained(provenanceTranslator.getCreateProvenance(openmrsTask));
-			fhirTask.addContained(provenanceTranslator.getUpdateProvenance(openmrsTask));
+			if (ContainedProvenanceHolder.isRequested()) {
+				fhirTask.addContained(provenanceTranslator.getCreateProvenance(openmrsTask));
+				fhirTask.addContained(provenanceTranslator.getUpdateProvenance(openmrsTask));
+			}
 		}
 		
 		return fhirTask;
@@ -122,7 +126,7 @@ public class TaskTranslatorImpl implements TaskTranslator {
 		
 		fhirTask.setLastModified(openmrsTask.getDateChanged());
 		
-		fhirTask.getMeta().setLastUpdated(openmrsTask.getDateChanged());
+		FhirUtils.setLastUpdated(fhirTask, openmrsTask);
 	}
 	
 	private void setOpenmrsTaskFields(FhirTask openmrsTask, Task fhirTask) {
@@ -0,0 +1,109 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.util;
+
+import java.util.Set;
+
+import ca.uhn.fhir.context.FhirVersionEnum;
+import ca.uhn.fhir.rest.api.SearchTotalModeEnum;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.openmrs.module.fhir2.api.metrics.RequestTimings;
+import org.openmrs.module.fhir2.api.search.StreamingSearchHolder;
+
+/**
+ * Everything the API needs to know about the FHIR request being processed by the current thread. The
+ * servlet sets a context at the start of each request and clears it once the response has been
+ * written, so no state can leak into the next request served by the thread. Outside of a request
+ * there is no context and the API falls back to its defaults: every element and the contained
+ * Provenance resources are built, totals are counted and results are returned as R4 resources.
+ * <p>
+ * The values describing the request are read by the
+ * {@link org.openmrs.module.fhir2.api.search.SearchQueryBundleProvider} and through
+ * {@link org.openmrs.module.fhir2.api.translators.ContainedProvenanceHolder},
+ * {@link org.openmrs.module.fhir2.api.translators.RequestedElementsHolder},
+ * {@link StreamingSearchHolder} and {@link RequestTimings}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public final class FhirRequestContext {
+	
+	private static final ThreadLocal<FhirRequestContext> CURRENT = new ThreadLocal<>();
+	
+	/**
+	 * How the total of a search should be calculated, from the {@code _total} parameter
+	 */
+	private SearchTotalModeEnum totalMode;
+	
+	/**
+	 * The FHIR version served to the client; search results are returned in this version
+	 */
+	private FhirVersionEnum fhirVersion;
+	
+	/**
+	 * Whether the contained Provenance resources should be built, or null if they always should be
+	 */
+	private Boolean containedProvenance;
+	
+	/**
+	 * The names of the top-level elements the client asked for, or null if every element is requested
+	 */
+	private Set<String> requestedElements;
+	
+	/**
+	 * Whether the first page of search results may be deferred so that it can be streamed
+	 */
+	private boolean streaming;
+	
+	private StreamingSearchHolder.DeferredPage deferredPage;
+	
+	/**
+	 * The time spent in each phase of the request, or null if it is not being timed
+	 */
+	private RequestTimings.Timings timings;
+	
+	/**
+	 * @return the context of the request being processed by the current thread, or null if there is
+	 *         none
+	 */
+	public static FhirRequestContext get() {
+		return CURRENT.get();
+	}
+	
+	public static void set(FhirRequestContext context) {
+		if (context == null) {
+			CURRENT.remove();
+		} else {
+			CURRENT.set(context);
+		}
+	}
+	
+	public static void clear() {
+		CURRENT.remove();
+	}
+	
+	/**
+	 * Creates the context for a thread doing part of the work of this request, e.g. translating some
+	 * of the search results. Only the values describing what the client asked for are shared; the
+	 * worker neither streams results nor records timings, which belong to the request thread.
+	 *
+	 * @return a new context describing the same request as this one
+	 */
+	public FhirRequestContext forWorker() {
+		FhirRequestContext context = new FhirRequestContext();
+		context.setTotalMode(totalMode);
+		context.setFhirVersion(fhirVersion);
+		context.setContainedProvenance(containedProvenance);
+		context.setRequestedElements(requestedElements);
+		return context;
+	}
+}
@@ -10,6 +10,11 @@
 package org.openmrs.module.fhir2.api.util;
 
 import java.security.SecureRandom;
+import java.util.Collection;
+import java.util.Date;
+
+import org.hl7.fhir.r4.model.Resource;
+import org.openmrs.Auditable;
 
 public class FhirUtils {
 	
@@ -25,4 +30,62 @@ public class FhirUtils {
 		
 		return Long.toHexString(MSB | generator.nextLong()) + Long.toHexString(MSB | generator.nextLong());
 	}
+	
+	/**
+	 * @return the time the object was last changed, or the time it was created if it has never been
+	 *         changed
+	 */
+	public static Date getLastUpdated(Auditable object) {
+		return object.getDateChanged() != null ? object.getDateChanged() : object.getDateCreated();
+	}
+	
+	/**
+	 * @return the latest time the object or any of its parts was last updated
+	 */
+	@SafeVarargs
+	public static Date getLastUpdated(Auditable object, Collection<? extends Auditable>... parts) {
+		Date lastUpdated = getLastUpdated(object);
+		for (Collection<? extends Auditable> part : parts) {
+			for (Auditable partObject : part) {
+				Date partLastUpdated = getLastUpdated(partObject);
+				if (partLastUpdated != null && (lastUpdated == null || partLastUpdated.after(lastUpdated))) {
+					lastUpdated = partLastUpdated;
+				}
+			}
+		}
+		
+		return lastUpdated;
+	}
+	
+	/**
+	 * The version of a resource is the time its OpenMRS object was last updated, so it changes every
+	 * time the object is saved and can be compared with a client's ETag without loading the object.
+	 *
+	 * @return the version id for a resource last updated at the given time
+	 */
+	public static String getVersionId(Date lastUpdated) {
+		return lastUpdated == null ? null : Long.toString(lastUpdated.getTime());
+	}
+	
+	/**
+	 * Sets {@code meta.lastUpdated} and {@code meta.versionId} of a resource translated from the
+	 * given object.
+	 */
+	public static void setLastUpdated(Resource resource, Auditable object) {
+		setLastUpdated(resource, getLastUpdated(object));
+	}
+	
+	/**
+	 * Sets {@code meta.lastUpdated} and {@code meta.versionId} of a resource translated from the
+	 * given object and its parts, which must be those the DAO of the object takes into account.
+	 */
+	@SafeVarargs
+	public static void setLastUpdated(Resource resource, Auditable object, Collection<? extends Auditable>... parts) {
+		setLastUpdated(resource, getLastUpdated(object, parts));
+	}
+	
+	private static void setLastUpdated(Resource resource, Date lastUpdated) {
+		resource.getMeta().setLastUpdated(lastUpdated);
+		resource.getMeta().setVersionId(getVersionId(lastUpdated));
+	}
 }
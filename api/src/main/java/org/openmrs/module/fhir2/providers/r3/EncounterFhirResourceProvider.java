@@ -84,12 +84,14 @@ public class EncounterFhirResourceProvider implements IResourceProvider {
 	                Patient.SP_FAMILY,
 	                Patient.SP_NAME }, targetTypes = Patient.class) ReferenceAndListParam subjectReference,
 	        @OptionalParam(name = Encounter.SP_PATIENT, chainWhitelist = { "", Patient.SP_IDENTIFIER, Patient.SP_GIVEN,
-	                Patient.SP_FAMILY, Patient.SP_NAME }, targetTypes = Patient.class) ReferenceAndListParam patientParam) {
+	                Patient.SP_FAMILY, Patient.SP_NAME }, targetTypes = Patient.class) ReferenceAndListParam patientParam,
+	        @OptionalParam(name = "_lastUpdated") DateRangeParam lastUpdated) {
 		if (patientParam != null) {
 			subjectReference = patientParam;
 		}
 		
-		return encounterService.searchForEncounters(date, location, participantReference, subjectReference);
+		return encounterService.searchForEncounters(date, location, participantReference, subjectReference, null, null,
+		    lastUpdated);
 	}
 	
 }
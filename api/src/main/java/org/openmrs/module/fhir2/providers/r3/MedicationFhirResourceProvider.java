@@ -21,6 +21,7 @@ import ca.uhn.fhir.rest.annotation.Search;
 import ca.uhn.fhir.rest.annotation.Update;
 import ca.uhn.fhir.rest.api.MethodOutcome;
 import ca.uhn.fhir.rest.api.server.IBundleProvider;
+import ca.uhn.fhir.rest.param.DateRangeParam;
 import ca.uhn.fhir.rest.param.TokenAndListParam;
 import ca.uhn.fhir.rest.server.IResourceProvider;
 import ca.uhn.fhir.rest.server.exceptions.ResourceNotFoundException;
@@ -66,8 +67,9 @@ public class MedicationFhirResourceProvider implements IResourceProvider {
 	public IBundleProvider searchForMedication(@OptionalParam(name = Medication.SP_CODE) TokenAndListParam code,
 	        @OptionalParam(name = Medication.SP_FORM) TokenAndListParam dosageForm,
 	        @OptionalParam(name = Medication.SP_STATUS) TokenAndListParam status,
-	        @OptionalParam(name = Medication.SP_INGREDIENT_CODE) TokenAndListParam ingredientCode) {
-		return medicationService.searchForMedications(code, dosageForm, ingredientCode, status);
+	        @OptionalParam(name = Medication.SP_INGREDIENT_CODE) TokenAndListParam ingredientCode,
+	        @OptionalParam(name = "_lastUpdated") DateRangeParam lastUpdated) {
+		return medicationService.searchForMedications(code, dosageForm, ingredientCode, status, lastUpdated);
 	}
 	
 	@Create
@@ -11,6 +11,7 @@ package org.openmrs.module.fhir2.providers.r4;
 
 import javax.validation.constraints.NotNull;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import ca.uhn.fhir.rest.annotation.Create;
@@ -24,6 +25,7 @@ import ca.uhn.fhir.rest.annotation.Sort;
 import ca.uhn.fhir.rest.api.MethodOutcome;
 import ca.uhn.fhir.rest.api.SortSpec;
 import ca.uhn.fhir.rest.api.server.IBundleProvider;
+import ca.uhn.fhir.rest.param.DateRangeParam;
 import ca.uhn.fhir.rest.param.ReferenceAndListParam;
 import ca.uhn.fhir.rest.param.TokenAndListParam;
 import ca.uhn.fhir.rest.server.IResourceProvider;
@@ -55,10 +57,12 @@ public class AllergyIntoleranceFhirResourceProvider implements IResourceProvider
 		return AllergyIntolerance.class;
 	}
 	
-	@Read
+	@Read(version = true)
 	@SuppressWarnings("unused")
 	public AllergyIntolerance getAllergyIntoleranceByUuid(@IdParam @NotNull IdType id) {
-		AllergyIntolerance allergy = fhirAllergyIntoleranceService.get(id.getIdPart());
+		AllergyIntolerance allergy = id.hasVersionIdPart()
+		        ? fhirAllergyIntoleranceService.getVersion(id.getIdPart(), id.getVersionIdPart())
+		        : fhirAllergyIntoleranceService.get(id.getIdPart());
 		if (allergy == null) {
 			throw new ResourceNotFoundException("Could not find allergy with Id " + id.getIdPart());
 		}
@@ -68,11 +72,11 @@ public class AllergyIntoleranceFhirResourceProvider implements IResourceProvider
 	@History
 	@SuppressWarnings("unused")
 	public List<Resource> getAllergyIntoleranceHistoryById(@IdParam @NotNull IdType id) {
-		AllergyIntolerance allergy = fhirAllergyIntoleranceService.get(id.getIdPart());
-		if (allergy == null) {
+		List<AllergyIntolerance> history = fhirAllergyIntoleranceService.getHistory(id.getIdPart());
+		if (history.isEmpty()) {
 			throw new ResourceNotFoundException("Could not find allergy with Id " + id.getIdPart());
 		}
-		return allergy.getContained();
+		return new ArrayList<>(history);
 	}
 	
 	@Search
@@ -89,12 +93,13 @@ public class AllergyIntoleranceFhirResourceProvider implements IResourceProvider
 	        @OptionalParam(name = AllergyIntolerance.SP_CODE) TokenAndListParam allergen,
 	        @OptionalParam(name = AllergyIntolerance.SP_SEVERITY) TokenAndListParam severity,
 	        @OptionalParam(name = AllergyIntolerance.SP_MANIFESTATION) TokenAndListParam manifestationCode,
-	        @OptionalParam(name = AllergyIntolerance.SP_CLINICAL_STATUS) TokenAndListParam clinicalStatus, @Sort SortSpec sort) {
+	        @OptionalParam(name = AllergyIntolerance.SP_CLINICAL_STATUS) TokenAndListParam clinicalStatus,
+	        @OptionalParam(name = "_lastUpdated") DateRangeParam lastUpdated, @Sort SortSpec sort) {
 		if (patientReference == null) {
 			patientReference = subjectReference;
 		}
 		return fhirAllergyIntoleranceService.searchForAllergies(patientReference, category, allergen, severity,
-		    manifestationCode, clinicalStatus, sort);
+		    manifestationCode, clinicalStatus, sort, lastUpdated);
 	}
 	
 	@Create
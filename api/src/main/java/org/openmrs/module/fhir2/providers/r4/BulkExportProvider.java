@@ -0,0 +1,239 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.providers.r4;
+
+import javax.servlet.http.HttpServletResponse;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import ca.uhn.fhir.context.FhirContext;
+import ca.uhn.fhir.rest.annotation.IdParam;
+import ca.uhn.fhir.rest.annotation.Operation;
+import ca.uhn.fhir.rest.annotation.OperationParam;
+import ca.uhn.fhir.rest.api.Constants;
+import ca.uhn.fhir.rest.server.exceptions.InvalidRequestException;
+import ca.uhn.fhir.rest.server.exceptions.ResourceNotFoundException;
+import ca.uhn.fhir.rest.server.servlet.ServletRequestDetails;
+import lombok.AccessLevel;
+import lombok.Setter;
+import org.apache.commons.lang3.StringEscapeUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.hl7.fhir.r4.model.Group;
+import org.hl7.fhir.r4.model.IdType;
+import org.hl7.fhir.r4.model.InstantType;
+import org.hl7.fhir.r4.model.OperationOutcome;
+import org.hl7.fhir.r4.model.Patient;
+import org.hl7.fhir.r4.model.StringType;
+import org.openmrs.module.fhir2.api.FhirBulkExportService;
+import org.openmrs.module.fhir2.api.export.BulkExportJob;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Implements the asynchronous request pattern of the FHIR Bulk Data Access specification. A kick-off
+ * request, which must be sent with {@code Prefer: respond-async}, starts an export and returns the
+ * location of its status endpoint; the status endpoint returns the manifest of the exported files
+ * once the export has finished, and each file can then be downloaded through
+ * {@code $export-download}. A DELETE request to the status endpoint cancels the export; as HAPI only
+ * routes operations invoked with GET or POST, the servlet passes it to {@link #cancelExport}.
+ */
+@Component
+@Setter(AccessLevel.PACKAGE)
+public class BulkExportProvider {
+	
+	public static final String EXPORT = "$export";
+	
+	public static final String EXPORT_POLL_STATUS = "$export-poll-status";
+	
+	public static final String EXPORT_DOWNLOAD = "$export-download";
+	
+	public static final String PARAM_JOB_ID = "_jobId";
+	
+	public static final String PARAM_FILE = "_file";
+	
+	private static final String HEADER_PROGRESS = "X-Progress";
+	
+	private static final String HEADER_RETRY_AFTER = "Retry-After";
+	
+	private static final String PREFER_RESPOND_ASYNC = "respond-async";
+	
+	private static final String CONTENT_TYPE_NDJSON = "application/fhir+ndjson";
+	
+	private static final Set<String> OUTPUT_FORMATS = new LinkedHashSet<>(
+	        Arrays.asList(CONTENT_TYPE_NDJSON, "application/ndjson", "ndjson"));
+	
+	private static final int RETRY_AFTER_SECONDS = 10;
+	
+	@Autowired
+	private FhirBulkExportService bulkExportService;
+	
+	@Autowired
+	@Qualifier("fhirR4")
+	private FhirContext fhirContext;
+	
+	@Operation(name = EXPORT, manualResponse = true, idempotent = true)
+	@SuppressWarnings("unused")
+	public void exportSystem(@OperationParam(name = "_outputFormat") StringType outputFormat,
+	        @OperationParam(name = "_since") InstantType since, @OperationParam(name = "_type") StringType type,
+	        ServletRequestDetails theRequestDetails) {
+		startExport(BulkExportJob.Level.SYSTEM, null, outputFormat, since, type, theRequestDetails);
+	}
+	
+	@Operation(name = EXPORT, type = Patient.class, manualResponse = true, idempotent = true)
+	@SuppressWarnings("unused")
+	public void exportPatients(@OperationParam(name = "_outputFormat") StringType outputFormat,
+	        @OperationParam(name = "_since") InstantType since, @OperationParam(name = "_type") StringType type,
+	        ServletRequestDetails theRequestDetails) {
+		startExport(BulkExportJob.Level.PATIENT, null, outputFormat, since, type, theRequestDetails);
+	}
+	
+	@Operation(name = EXPORT, type = Group.class, manualResponse = true, idempotent = true)
+	@SuppressWarnings("unused")
+	public void exportGroup(@IdParam IdType id, @OperationParam(name = "_outputFormat") StringType outputFormat,
+	        @OperationParam(name = "_since") InstantType since, @OperationParam(name = "_type") StringType type,
+	        ServletRequestDetails theRequestDetails) {
+		startExport(BulkExportJob.Level.GROUP, id.getIdPart(), outputFormat, since, type, theRequestDetails);
+	}
+	
+	@Operation(name = EXPORT_POLL_STATUS, manualResponse = true, idempotent = true)
+	@SuppressWarnings("unused")
+	public void getExportStatus(@OperationParam(name = PARAM_JOB_ID) StringType jobId,
+	        ServletRequestDetails theRequestDetails) throws IOException {
+		BulkExportJob job = getJob(jobId);
+		HttpServletResponse response = theRequestDetails.getServletResponse();
+		
+		switch (job.getStatus()) {
+			case COMPLETED:
+				response.setStatus(HttpServletResponse.SC_OK);
+				response.setContentType(Constants.CT_JSON);
+				response.setCharacterEncoding(Constants.CHARSET_NAME_UTF8);
+				try (Writer writer = response.getWriter()) {
+					writer.write(toManifest(job, theRequestDetails.getFhirServerBase()));
+				}
+				break;
+			case ERROR:
+				writeOutcome(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, OperationOutcome.IssueType.EXCEPTION,
+				    job.getErrorMessage());
+				break;
+			default:
+				response.setStatus(HttpServletResponse.SC_ACCEPTED);
+				response.setHeader(HEADER_PROGRESS, job.getExportedCount().get() + " resources exported");
+				response.setHeader(HEADER_RETRY_AFTER, String.valueOf(RETRY_AFTER_SECONDS));
+				break;
+		}
+	}
+	
+	@Operation(name = EXPORT_DOWNLOAD, manualResponse = true, idempotent = true)
+	@SuppressWarnings("unused")
+	public void downloadExport(@OperationParam(name = PARAM_JOB_ID) StringType jobId,
+	        @OperationParam(name = PARAM_FILE) StringType fileName, ServletRequestDetails theRequestDetails)
+	        throws IOException {
+		BulkExportJob job = getJob(jobId);
+		File file = fileName == null ? null : bulkExportService.getOutputFile(job.getId(), fileName.getValue());
+		if (file == null || !file.isFile()) {
+			throw new ResourceNotFoundException("Could not find export file " + (fileName == null ? null : fileName.getValue()));
+		}
+		
+		HttpServletResponse response = theRequestDetails.getServletResponse();
+		response.setStatus(HttpServletResponse.SC_OK);
+		response.setContentType(CONTENT_TYPE_NDJSON);
+		response.setHeader(Constants.HEADER_CONTENT_ENCODING, Constants.ENCODING_GZIP);
+		response.setContentLengthLong(file.length());
+		Files.copy(file.toPath(), response.getOutputStream());
+	}
+	
+	/**
+	 * Cancels an export in response to a DELETE request to its status endpoint
+	 *
+	 * @param jobId the {@code _jobId} parameter of the request
+	 * @param response the response to write
+	 */
+	public void cancelExport(String jobId, HttpServletResponse response) throws IOException {
+		if (jobId != null && bulkExportService.cancelExport(jobId)) {
+			response.setStatus(HttpServletResponse.SC_ACCEPTED);
+		} else {
+			writeOutcome(response, HttpServletResponse.SC_NOT_FOUND, OperationOutcome.IssueType.NOTFOUND,
+			    "Could not find export job " + jobId);
+		}
+	}
+	
+	private void startExport(BulkExportJob.Level level, String groupId, StringType outputFormat, InstantType since,
+	        StringType type, ServletRequestDetails theRequestDetails) {
+		String prefer = theRequestDetails.getHeader(Constants.HEADER_PREFER);
+		if (prefer == null || Arrays.stream(prefer.split(",")).map(String::trim).noneMatch(PREFER_RESPOND_ASYNC::equals)) {
+			throw new InvalidRequestException("$export requests must be sent with the Prefer: respond-async header");
+		}
+		
+		if (outputFormat != null && !OUTPUT_FORMATS.contains(outputFormat.getValue())) {
+			throw new InvalidRequestException("Unsupported _outputFormat " + outputFormat.getValue());
+		}
+		
+		Set<String> resourceTypes = null;
+		if (type != null && StringUtils.isNotBlank(type.getValue())) {
+			resourceTypes = Arrays.stream(type.getValue().split(",")).map(String::trim).filter(StringUtils::isNotEmpty)
+			        .collect(Collectors.toCollection(LinkedHashSet::new));
+		}
+		
+		Date sinceDate = since == null ? null : since.getValue();
+		BulkExportJob job = bulkExportService.startExport(theRequestDetails.getCompleteUrl(), level, groupId, resourceTypes,
+		    sinceDate);
+		
+		HttpServletResponse response = theRequestDetails.getServletResponse();
+		response.setStatus(HttpServletResponse.SC_ACCEPTED);
+		response.setHeader(Constants.HEADER_CONTENT_LOCATION,
+		    theRequestDetails.getFhirServerBase() + "/" + EXPORT_POLL_STATUS + "?" + PARAM_JOB_ID + "=" + job.getId());
+	}
+	
+	private BulkExportJob getJob(StringType jobId) {
+		BulkExportJob job = jobId == null ? null : bulkExportService.getJob(jobId.getValue());
+		if (job == null) {
+			throw new ResourceNotFoundException("Could not find export job " + (jobId == null ? null : jobId.getValue()));
+		}
+		return job;
+	}
+	
+	private String toManifest(BulkExportJob job, String serverBase) {
+		String output = job.getOutputs().stream()
+		        .map(file -> "{\"type\":\"" + file.getResourceType() + "\",\"url\":\""
+		                + escape(serverBase + "/" + EXPORT_DOWNLOAD + "?" + PARAM_JOB_ID + "=" + job.getId() + "&"
+		                        + PARAM_FILE + "=" + file.getFileName())
+		                + "\",\"count\":" + file.getCount() + "}")
+		        .collect(Collectors.joining(","));
+		
+		return "{\"transactionTime\":\"" + new InstantType(job.getTransactionTime()).getValueAsString() + "\",\"request\":\""
+		        + escape(job.getRequest()) + "\",\"requiresAccessToken\":true,\"output\":[" + output + "],\"error\":[]}";
+	}
+	
+	private void writeOutcome(HttpServletResponse response, int status, OperationOutcome.IssueType code,
+	        String diagnostics) throws IOException {
+		OperationOutcome outcome = new OperationOutcome();
+		outcome.addIssue().setSeverity(OperationOutcome.IssueSeverity.ERROR).setCode(code).setDiagnostics(diagnostics);
+		
+		response.setStatus(status);
+		response.setContentType(Constants.CT_FHIR_JSON_NEW);
+		response.setCharacterEncoding(Constants.CHARSET_NAME_UTF8);
+		try (Writer writer = response.getWriter()) {
+			fhirContext.newJsonParser().encodeResourceToWriter(outcome, writer);
+		}
+	}
+	
+	private static String escape(String value) {
+		return StringEscapeUtils.escapeJson(value);
+	}
+}
@@ -0,0 +1,55 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.providers.r4;
+
+import ca.uhn.fhir.rest.annotation.Operation;
+import ca.uhn.fhir.rest.annotation.OperationParam;
+import ca.uhn.fhir.rest.server.exceptions.InvalidRequestException;
+import lombok.AccessLevel;
+import lombok.Setter;
+import org.hl7.fhir.r4.model.IntegerType;
+import org.hl7.fhir.r4.model.Parameters;
+import org.hl7.fhir.r4.model.StringType;
+import org.openmrs.module.fhir2.api.FhirChangeService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Implements {@code $changes}, which pages through the change log of FHIR resources by sequence
+ * number. Consumers pass the {@code next} value of each page as {@code since} to get the following
+ * one, so following the log costs in proportion to the number of changes rather than the size of the
+ * database.
+ */
+@Component
+@Setter(AccessLevel.PACKAGE)
+public class ChangesProvider {
+	
+	public static final String CHANGES = "$changes";
+	
+	@Autowired
+	private FhirChangeService changeService;
+	
+	@Operation(name = CHANGES, idempotent = true)
+	@SuppressWarnings("unused")
+	public Parameters getChanges(@OperationParam(name = "since") StringType since,
+	        @OperationParam(name = "_count") IntegerType count) {
+		Long sinceSequence = null;
+		if (since != null && since.getValue() != null) {
+			try {
+				sinceSequence = Long.valueOf(since.getValue());
+			}
+			catch (NumberFormatException e) {
+				throw new InvalidRequestException("The since parameter must be a sequence number returned as next");
+			}
+		}
+		
+		return changeService.getChanges(sinceSequence, count == null ? null : count.getValue());
+	}
+}
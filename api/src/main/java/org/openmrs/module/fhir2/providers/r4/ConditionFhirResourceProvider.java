@@ -11,6 +11,7 @@ package org.openmrs.module.fhir2.providers.r4;
 
 import javax.validation.constraints.NotNull;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import ca.uhn.fhir.rest.annotation.Create;
@@ -56,9 +57,10 @@ public class ConditionFhirResourceProvider implements IResourceProvider {
 		return Condition.class;
 	}
 	
-	@Read
+	@Read(version = true)
 	public Condition getConditionByUuid(@IdParam @NotNull IdType id) {
-		Condition condition = conditionService.get(id.getIdPart());
+		Condition condition = id.hasVersionIdPart() ? conditionService.getVersion(id.getIdPart(), id.getVersionIdPart())
+		        : conditionService.get(id.getIdPart());
 		if (condition == null) {
 			throw new ResourceNotFoundException("Could not find condition with Id " + id.getIdPart());
 		}
@@ -67,11 +69,11 @@ public class ConditionFhirResourceProvider implements IResourceProvider {
 	
 	@History
 	public List<Resource> getConditionHistoryById(@IdParam @NotNull IdType id) {
-		Condition condition = conditionService.get(id.getIdPart());
-		if (condition == null) {
+		List<Condition> history = conditionService.getHistory(id.getIdPart());
+		if (history.isEmpty()) {
 			throw new ResourceNotFoundException("Could not find condition with Id " + id.getIdPart());
 		}
-		return condition.getContained();
+		return new ArrayList<>(history);
 	}
 	
 	@Create
@@ -89,13 +91,14 @@ public class ConditionFhirResourceProvider implements IResourceProvider {
 	        @OptionalParam(name = Condition.SP_CLINICAL_STATUS) TokenAndListParam clinicalStatus,
 	        @OptionalParam(name = Condition.SP_ONSET_DATE) DateRangeParam onsetDate,
 	        @OptionalParam(name = Condition.SP_ONSET_AGE) QuantityAndListParam onsetAge,
-	        @OptionalParam(name = Condition.SP_RECORDED_DATE) DateRangeParam recordedDate, @Sort SortSpec sort) {
+	        @OptionalParam(name = Condition.SP_RECORDED_DATE) DateRangeParam recordedDate,
+	        @OptionalParam(name = "_lastUpdated") DateRangeParam lastUpdated, @Sort SortSpec sort) {
 		if (patientParam == null) {
 			patientParam = subjectParam;
 		}
 		
 		return conditionService.searchConditions(patientParam, code, clinicalStatus, onsetDate, onsetAge, recordedDate,
-		    sort);
+		    sort, lastUpdated);
 	}
 	
 }
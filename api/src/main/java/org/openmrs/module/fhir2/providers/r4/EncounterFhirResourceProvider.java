@@ -11,10 +11,14 @@ package org.openmrs.module.fhir2.providers.r4;
 
 import javax.validation.constraints.NotNull;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 
+import ca.uhn.fhir.model.api.Include;
 import ca.uhn.fhir.rest.annotation.History;
 import ca.uhn.fhir.rest.annotation.IdParam;
+import ca.uhn.fhir.rest.annotation.IncludeParam;
 import ca.uhn.fhir.rest.annotation.OptionalParam;
 import ca.uhn.fhir.rest.annotation.Read;
 import ca.uhn.fhir.rest.annotation.Search;
@@ -29,6 +33,7 @@ import org.hl7.fhir.instance.model.api.IBaseResource;
 import org.hl7.fhir.r4.model.Encounter;
 import org.hl7.fhir.r4.model.IdType;
 import org.hl7.fhir.r4.model.Location;
+import org.hl7.fhir.r4.model.Observation;
 import org.hl7.fhir.r4.model.Patient;
 import org.hl7.fhir.r4.model.Practitioner;
 import org.hl7.fhir.r4.model.Resource;
@@ -50,9 +55,10 @@ public class EncounterFhirResourceProvider implements IResourceProvider {
 		return Encounter.class;
 	}
 	
-	@Read
+	@Read(version = true)
 	public Encounter getEncounterByUuid(@IdParam @NotNull IdType id) {
-		Encounter encounter = encounterService.get(id.getIdPart());
+		Encounter encounter = id.hasVersionIdPart() ? encounterService.getVersion(id.getIdPart(), id.getVersionIdPart())
+		        : encounterService.get(id.getIdPart());
 		if (encounter == null) {
 			throw new ResourceNotFoundException("Could not find encounter with Id " + id.getIdPart());
 		}
@@ -62,11 +68,11 @@ public class EncounterFhirResourceProvider implements IResourceProvider {
 	@History
 	@SuppressWarnings("unused")
 	public List<Resource> getEncounterHistoryById(@IdParam @NotNull IdType id) {
-		Encounter encounter = encounterService.get(id.getIdPart());
-		if (encounter == null) {
+		List<Encounter> history = encounterService.getHistory(id.getIdPart());
+		if (history.isEmpty()) {
 			throw new ResourceNotFoundException("Could not find encounter with Id " + id.getIdPart());
 		}
-		return encounter.getContained();
+		return new ArrayList<>(history);
 	}
 	
 	@Search
@@ -81,12 +87,19 @@ public class EncounterFhirResourceProvider implements IResourceProvider {
 	                Patient.SP_FAMILY,
 	                Patient.SP_NAME }, targetTypes = Patient.class) ReferenceAndListParam subjectReference,
 	        @OptionalParam(name = Encounter.SP_PATIENT, chainWhitelist = { "", Patient.SP_IDENTIFIER, Patient.SP_GIVEN,
-	                Patient.SP_FAMILY, Patient.SP_NAME }, targetTypes = Patient.class) ReferenceAndListParam patientParam) {
+	                Patient.SP_FAMILY, Patient.SP_NAME }, targetTypes = Patient.class) ReferenceAndListParam patientParam,
+	        @OptionalParam(name = "_lastUpdated") DateRangeParam lastUpdated,
+	        @IncludeParam(allow = { "Encounter:" + Encounter.SP_PATIENT, "Encounter:" + Encounter.SP_SUBJECT,
+	                "Encounter:" + Encounter.SP_LOCATION,
+	                "Encounter:" + Encounter.SP_PARTICIPANT }) HashSet<Include> includes,
+	        @IncludeParam(reverse = true, allow = {
+	                "Observation:" + Observation.SP_ENCOUNTER }) HashSet<Include> revIncludes) {
 		if (patientParam != null) {
 			subjectReference = patientParam;
 		}
 		
-		return encounterService.searchForEncounters(date, location, participantReference, subjectReference);
+		return encounterService.searchForEncounters(date, location, participantReference, subjectReference, includes,
+		    revIncludes, lastUpdated);
 	}
 	
 }
@@ -11,6 +11,7 @@ package org.openmrs.module.fhir2.providers.r4;
 
 import javax.validation.constraints.NotNull;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import ca.uhn.fhir.rest.annotation.History;
@@ -21,6 +22,7 @@ import ca.uhn.fhir.rest.annotation.Search;
 import ca.uhn.fhir.rest.annotation.Sort;
 import ca.uhn.fhir.rest.api.SortSpec;
 import ca.uhn.fhir.rest.api.server.IBundleProvider;
+import ca.uhn.fhir.rest.param.DateRangeParam;
 import ca.uhn.fhir.rest.param.ReferenceAndListParam;
 import ca.uhn.fhir.rest.param.StringAndListParam;
 import ca.uhn.fhir.rest.param.TokenAndListParam;
@@ -50,10 +52,11 @@ public class LocationFhirResourceProvider implements IResourceProvider {
 		return Location.class;
 	}
 	
-	@Read
+	@Read(version = true)
 	@SuppressWarnings("unused")
 	public Location getLocationById(@IdParam @NotNull IdType id) {
-		Location location = fhirLocationService.get(id.getIdPart());
+		Location location = id.hasVersionIdPart() ? fhirLocationService.getVersion(id.getIdPart(), id.getVersionIdPart())
+		        : fhirLocationService.get(id.getIdPart());
 		if (location == null) {
 			throw new ResourceNotFoundException("Could not find location with Id " + id.getIdPart());
 		}
@@ -63,11 +66,11 @@ public class LocationFhirResourceProvider implements IResourceProvider {
 	@History
 	@SuppressWarnings("unused")
 	public List<Resource> getLocationHistoryById(@IdParam @NotNull IdType id) {
-		Location location = fhirLocationService.get(id.getIdPart());
-		if (location == null) {
+		List<Location> history = fhirLocationService.getHistory(id.getIdPart());
+		if (history.isEmpty()) {
 			throw new ResourceNotFoundException("Could not find location with Id " + id.getIdPart());
 		}
-		return location.getContained();
+		return new ArrayList<>(history);
 	}
 	
 	@Search
@@ -80,7 +83,8 @@ public class LocationFhirResourceProvider implements IResourceProvider {
 	        @OptionalParam(name = Location.SP_PARTOF, chainWhitelist = { "", Location.SP_NAME, Location.SP_ADDRESS_CITY,
 	                Location.SP_ADDRESS_STATE, Location.SP_ADDRESS_COUNTRY,
 	                Location.SP_ADDRESS_POSTALCODE }, targetTypes = Location.class) ReferenceAndListParam parent,
-	        @Sort SortSpec sort) {
-		return fhirLocationService.searchForLocations(name, city, country, postalCode, state, tag, parent, sort);
+	        @OptionalParam(name = "_lastUpdated") DateRangeParam lastUpdated, @Sort SortSpec sort) {
+		return fhirLocationService.searchForLocations(name, city, country, postalCode, state, tag, parent, sort,
+		    lastUpdated);
 	}
 }
@@ -11,11 +11,16 @@ package org.openmrs.module.fhir2.providers.r4;
 
 import javax.validation.constraints.NotNull;
 
+import java.util.HashSet;
+
+import ca.uhn.fhir.model.api.Include;
 import ca.uhn.fhir.rest.annotation.IdParam;
+import ca.uhn.fhir.rest.annotation.IncludeParam;
 import ca.uhn.fhir.rest.annotation.OptionalParam;
 import ca.uhn.fhir.rest.annotation.Read;
 import ca.uhn.fhir.rest.annotation.Search;
 import ca.uhn.fhir.rest.api.server.IBundleProvider;
+import ca.uhn.fhir.rest.param.DateRangeParam;
 import ca.uhn.fhir.rest.param.ReferenceAndListParam;
 import ca.uhn.fhir.rest.param.TokenAndListParam;
 import ca.uhn.fhir.rest.server.IResourceProvider;
@@ -73,12 +78,17 @@ public class MedicationRequestFhirResourceProvider implements IResourceProvider
 	                Practitioner.SP_GIVEN, Practitioner.SP_FAMILY,
 	                Practitioner.SP_NAME }, targetTypes = Practitioner.class) ReferenceAndListParam participantReference,
 	        @OptionalParam(name = MedicationRequest.SP_MEDICATION, chainWhitelist = {
-	                "" }, targetTypes = Medication.class) ReferenceAndListParam medicationReference) {
+	                "" }, targetTypes = Medication.class) ReferenceAndListParam medicationReference,
+	        @OptionalParam(name = "_lastUpdated") DateRangeParam lastUpdated,
+	        @IncludeParam(allow = { "MedicationRequest:" + MedicationRequest.SP_PATIENT,
+	                "MedicationRequest:" + MedicationRequest.SP_SUBJECT, "MedicationRequest:" + MedicationRequest.SP_ENCOUNTER,
+	                "MedicationRequest:" + MedicationRequest.SP_MEDICATION,
+	                "MedicationRequest:" + MedicationRequest.SP_REQUESTER }) HashSet<Include> includes) {
 		if (patientReference == null) {
 			patientReference = subjectReference;
 		}
 		return fhirMedicationRequestService.searchForMedicationRequests(patientReference, encounterReference, code,
-		    participantReference, medicationReference);
+		    participantReference, medicationReference, includes, lastUpdated);
 	}
 	
 }
@@ -11,10 +11,14 @@ package org.openmrs.module.fhir2.providers.r4;
 
 import javax.validation.constraints.NotNull;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 
+import ca.uhn.fhir.model.api.Include;
 import ca.uhn.fhir.rest.annotation.History;
 import ca.uhn.fhir.rest.annotation.IdParam;
+import ca.uhn.fhir.rest.annotation.IncludeParam;
 import ca.uhn.fhir.rest.annotation.OptionalParam;
 import ca.uhn.fhir.rest.annotation.Read;
 import ca.uhn.fhir.rest.annotation.Search;
@@ -56,9 +60,11 @@ public class ObservationFhirResourceProvider implements IResourceProvider {
 		return Observation.class;
 	}
 	
-	@Read
+	@Read(version = true)
 	public Observation getObservationById(@IdParam @NotNull IdType id) {
-		Observation observation = observationService.get(id.getIdPart());
+		Observation observation = id.hasVersionIdPart()
+		        ? observationService.getVersion(id.getIdPart(), id.getVersionIdPart())
+		        : observationService.get(id.getIdPart());
 		if (observation == null) {
 			throw new ResourceNotFoundException("Could not find Observation with Id " + id.getIdPart());
 		}
@@ -67,11 +73,11 @@ public class ObservationFhirResourceProvider implements IResourceProvider {
 	
 	@History
 	public List<Resource> getObservationHistoryById(@IdParam @NotNull IdType id) {
-		Observation observation = observationService.get(id.getIdPart());
-		if (observation == null) {
+		List<Observation> history = observationService.getHistory(id.getIdPart());
+		if (history.isEmpty()) {
 			throw new ResourceNotFoundException("Could not find Observation with Id " + id.getIdPart());
 		}
-		return observation.getContained();
+		return new ArrayList<>(history);
 	}
 	
 	@Search
@@ -91,11 +97,15 @@ public class ObservationFhirResourceProvider implements IResourceProvider {
 	        @OptionalParam(name = Observation.SP_CODE) TokenAndListParam code,
 	        @OptionalParam(name = Observation.SP_CATEGORY) TokenAndListParam category, @Sort SortSpec sort,
 	        @OptionalParam(name = Observation.SP_PATIENT, chainWhitelist = { "", Patient.SP_IDENTIFIER, Patient.SP_GIVEN,
-	                Patient.SP_FAMILY, Patient.SP_NAME }, targetTypes = Patient.class) ReferenceAndListParam patientParam) {
+	                Patient.SP_FAMILY, Patient.SP_NAME }, targetTypes = Patient.class) ReferenceAndListParam patientParam,
+	        @OptionalParam(name = "_lastUpdated") DateRangeParam lastUpdated,
+	        @IncludeParam(allow = { "Observation:" + Observation.SP_PATIENT, "Observation:" + Observation.SP_SUBJECT,
+	                "Observation:" + Observation.SP_ENCOUNTER }) HashSet<Include> includes) {
 		if (patientParam != null) {
 			patientReference = patientParam;
 		}
 		return observationService.searchForObservations(encounterReference, patientReference, hasMemberReference,
-		    valueConcept, valueDateParam, valueQuantityParam, valueStringParam, date, code, category, sort);
+		    valueConcept, valueDateParam, valueQuantityParam, valueStringParam, date, code, category, sort, includes,
+		    lastUpdated);
 	}
 }
@@ -11,6 +11,7 @@ package org.openmrs.module.fhir2.providers.r4;
 
 import javax.validation.constraints.NotNull;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import ca.uhn.fhir.rest.annotation.History;
@@ -50,10 +51,11 @@ public class PatientFhirResourceProvider implements IResourceProvider {
 		return Patient.class;
 	}
 	
-	@Read
+	@Read(version = true)
 	@SuppressWarnings("unused")
 	public Patient getPatientById(@IdParam @NotNull IdType id) {
-		Patient patient = patientService.get(id.getIdPart());
+		Patient patient = id.hasVersionIdPart() ? patientService.getVersion(id.getIdPart(), id.getVersionIdPart())
+		        : patientService.get(id.getIdPart());
 		if (patient == null) {
 			throw new ResourceNotFoundException("Could not find patient with Id " + id.getIdPart());
 		}
@@ -63,11 +65,11 @@ public class PatientFhirResourceProvider implements IResourceProvider {
 	@History
 	@SuppressWarnings("unused")
 	public List<Resource> getPatientResourceHistory(@IdParam @NotNull IdType id) {
-		Patient patient = patientService.get(id.getIdPart());
-		if (patient == null) {
+		List<Patient> history = patientService.getHistory(id.getIdPart());
+		if (history.isEmpty()) {
 			throw new ResourceNotFoundException("Could not find patient with Id " + id.getIdPart());
 		}
-		return patient.getContained();
+		return new ArrayList<>(history);
 	}
 	
 	@Search
@@ -83,8 +85,9 @@ public class PatientFhirResourceProvider implements IResourceProvider {
 	        @OptionalParam(name = Patient.SP_ADDRESS_CITY) StringAndListParam city,
 	        @OptionalParam(name = Patient.SP_ADDRESS_STATE) StringAndListParam state,
 	        @OptionalParam(name = Patient.SP_ADDRESS_POSTALCODE) StringAndListParam postalCode,
-	        @OptionalParam(name = Patient.SP_ADDRESS_COUNTRY) StringAndListParam country, @Sort SortSpec sort) {
+	        @OptionalParam(name = Patient.SP_ADDRESS_COUNTRY) StringAndListParam country,
+	        @OptionalParam(name = "_lastUpdated") DateRangeParam lastUpdated, @Sort SortSpec sort) {
 		return patientService.searchForPatients(name, given, family, identifier, gender, birthDate, deathDate, deceased,
-		    city, state, postalCode, country, sort);
+		    city, state, postalCode, country, sort, lastUpdated);
 	}
 }
@@ -11,6 +11,7 @@ package org.openmrs.module.fhir2.providers.r4;
 
 import javax.validation.constraints.NotNull;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import ca.uhn.fhir.rest.annotation.History;
@@ -50,10 +51,11 @@ public class PersonFhirResourceProvider implements IResourceProvider {
 		return Person.class;
 	}
 	
-	@Read
+	@Read(version = true)
 	@SuppressWarnings("unused")
 	public Person getPersonById(@IdParam IdType id) {
-		Person person = fhirPersonService.get(id.getIdPart());
+		Person person = id.hasVersionIdPart() ? fhirPersonService.getVersion(id.getIdPart(), id.getVersionIdPart())
+		        : fhirPersonService.get(id.getIdPart());
 		if (person == null) {
 			throw new ResourceNotFoundException("Could not find Person with Id " + id.getIdPart());
 		}
@@ -63,11 +65,11 @@ public class PersonFhirResourceProvider implements IResourceProvider {
 	@History
 	@SuppressWarnings("unused")
 	public List<Resource> getPersonHistoryById(@IdParam @NotNull IdType id) {
-		Person person = fhirPersonService.get(id.getIdPart());
-		if (person == null) {
+		List<Person> history = fhirPersonService.getHistory(id.getIdPart());
+		if (history.isEmpty()) {
 			throw new ResourceNotFoundException("Could not find person with Id " + id.getIdPart());
 		}
-		return person.getContained();
+		return new ArrayList<>(history);
 	}
 	
 	@Search
@@ -78,8 +80,10 @@ public class PersonFhirResourceProvider implements IResourceProvider {
 	        @OptionalParam(name = Person.SP_ADDRESS_CITY) StringAndListParam city,
 	        @OptionalParam(name = Person.SP_ADDRESS_STATE) StringAndListParam state,
 	        @OptionalParam(name = Person.SP_ADDRESS_POSTALCODE) StringAndListParam postalCode,
-	        @OptionalParam(name = Person.SP_ADDRESS_COUNTRY) StringAndListParam country, @Sort SortSpec sort) {
-		return fhirPersonService.searchForPeople(name, gender, birthDate, city, state, postalCode, country, sort);
+	        @OptionalParam(name = Person.SP_ADDRESS_COUNTRY) StringAndListParam country,
+	        @OptionalParam(name = "_lastUpdated") DateRangeParam lastUpdated, @Sort SortSpec sort) {
+		return fhirPersonService.searchForPeople(name, gender, birthDate, city, state, postalCode, country, sort,
+		    lastUpdated);
 	}
 	
 }
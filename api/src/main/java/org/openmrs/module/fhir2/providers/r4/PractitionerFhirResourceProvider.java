@@ -11,6 +11,7 @@ package org.openmrs.module.fhir2.providers.r4;
 
 import javax.validation.constraints.NotNull;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import ca.uhn.fhir.rest.annotation.History;
@@ -19,6 +20,7 @@ import ca.uhn.fhir.rest.annotation.OptionalParam;
 import ca.uhn.fhir.rest.annotation.Read;
 import ca.uhn.fhir.rest.annotation.Search;
 import ca.uhn.fhir.rest.api.server.IBundleProvider;
+import ca.uhn.fhir.rest.param.DateRangeParam;
 import ca.uhn.fhir.rest.param.StringAndListParam;
 import ca.uhn.fhir.rest.param.TokenAndListParam;
 import ca.uhn.fhir.rest.server.IResourceProvider;
@@ -47,10 +49,12 @@ public class PractitionerFhirResourceProvider implements IResourceProvider {
 		return Practitioner.class;
 	}
 	
-	@Read
+	@Read(version = true)
 	@SuppressWarnings("unused")
 	public Practitioner getPractitionerById(@IdParam @NotNull IdType id) {
-		Practitioner practitioner = practitionerService.get(id.getIdPart());
+		Practitioner practitioner = id.hasVersionIdPart()
+		        ? practitionerService.getVersion(id.getIdPart(), id.getVersionIdPart())
+		        : practitionerService.get(id.getIdPart());
 		if (practitioner == null) {
 			throw new ResourceNotFoundException("Could not find practitioner with Id " + id.getIdPart());
 		}
@@ -60,11 +64,11 @@ public class PractitionerFhirResourceProvider implements IResourceProvider {
 	@History
 	@SuppressWarnings("unused")
 	public List<Resource> getPractitionerHistoryById(@IdParam @NotNull IdType id) {
-		Practitioner practitioner = practitionerService.get(id.getIdPart());
-		if (practitioner == null) {
+		List<Practitioner> history = practitionerService.getHistory(id.getIdPart());
+		if (history.isEmpty()) {
 			throw new ResourceNotFoundException("Could not find practitioner with Id " + id.getIdPart());
 		}
-		return practitioner.getContained();
+		return new ArrayList<>(history);
 	}
 	
 	@Search
@@ -75,7 +79,9 @@ public class PractitionerFhirResourceProvider implements IResourceProvider {
 	        @OptionalParam(name = Practitioner.SP_ADDRESS_CITY) StringAndListParam city,
 	        @OptionalParam(name = Practitioner.SP_ADDRESS_STATE) StringAndListParam state,
 	        @OptionalParam(name = Practitioner.SP_ADDRESS_POSTALCODE) StringAndListParam postalCode,
-	        @OptionalParam(name = Practitioner.SP_ADDRESS_COUNTRY) StringAndListParam country) {
-		return practitionerService.searchForPractitioners(name, identifier, given, family, city, state, postalCode, country);
+	        @OptionalParam(name = Practitioner.SP_ADDRESS_COUNTRY) StringAndListParam country,
+	        @OptionalParam(name = "_lastUpdated") DateRangeParam lastUpdated) {
+		return practitionerService.searchForPractitioners(name, identifier, given, family, city, state, postalCode, country,
+		    lastUpdated);
 	}
 }
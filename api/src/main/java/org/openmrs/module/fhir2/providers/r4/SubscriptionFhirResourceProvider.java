@@ -0,0 +1,74 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.providers.r4;
+
+import ca.uhn.fhir.rest.annotation.Create;
+import ca.uhn.fhir.rest.annotation.Delete;
+import ca.uhn.fhir.rest.annotation.IdParam;
+import ca.uhn.fhir.rest.annotation.Read;
+import ca.uhn.fhir.rest.annotation.ResourceParam;
+import ca.uhn.fhir.rest.annotation.Update;
+import ca.uhn.fhir.rest.api.MethodOutcome;
+import ca.uhn.fhir.rest.server.IResourceProvider;
+import ca.uhn.fhir.rest.server.exceptions.ResourceNotFoundException;
+import lombok.AccessLevel;
+import lombok.Setter;
+import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.hl7.fhir.r4.model.IdType;
+import org.hl7.fhir.r4.model.OperationOutcome;
+import org.hl7.fhir.r4.model.Subscription;
+import org.openmrs.module.fhir2.api.FhirSubscriptionService;
+import org.openmrs.module.fhir2.providers.util.FhirProviderUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+@Component("subscriptionFhirR4ResourceProvider")
+@Qualifier("fhirResources")
+@Setter(AccessLevel.PACKAGE)
+public class SubscriptionFhirResourceProvider implements IResourceProvider {
+	
+	@Autowired
+	private FhirSubscriptionService service;
+	
+	@Override
+	public Class<? extends IBaseResource> getResourceType() {
+		return Subscription.class;
+	}
+	
+	@Read(version = true)
+	public Subscription getSubscriptionById(@IdParam IdType id) {
+		Subscription subscription = id.hasVersionIdPart() ? service.getVersion(id.getIdPart(), id.getVersionIdPart())
+		        : service.get(id.getIdPart());
+		if (subscription == null) {
+			throw new ResourceNotFoundException("Could not find Subscription with Id " + id.getIdPart());
+		}
+		return subscription;
+	}
+	
+	@Create
+	public MethodOutcome createSubscription(@ResourceParam Subscription newSubscription) {
+		return FhirProviderUtils.buildCreate(service.create(newSubscription));
+	}
+	
+	@Update
+	public MethodOutcome updateSubscription(@IdParam IdType id, @ResourceParam Subscription subscription) {
+		return FhirProviderUtils.buildUpdate(service.update(id.getIdPart(), subscription));
+	}
+	
+	@Delete
+	public OperationOutcome deleteSubscription(@IdParam IdType id) {
+		Subscription subscription = service.delete(id.getIdPart());
+		if (subscription == null) {
+			throw new ResourceNotFoundException("Could not find Subscription with Id " + id.getIdPart() + " to delete");
+		}
+		return FhirProviderUtils.buildDelete(subscription);
+	}
+}
@@ -9,6 +9,7 @@
  */
 package org.openmrs.module.fhir2.providers.r4;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import ca.uhn.fhir.rest.annotation.Create;
@@ -24,6 +25,7 @@ import ca.uhn.fhir.rest.annotation.Update;
 import ca.uhn.fhir.rest.api.MethodOutcome;
 import ca.uhn.fhir.rest.api.SortSpec;
 import ca.uhn.fhir.rest.api.server.IBundleProvider;
+import ca.uhn.fhir.rest.param.DateRangeParam;
 import ca.uhn.fhir.rest.param.ReferenceAndListParam;
 import ca.uhn.fhir.rest.param.TokenAndListParam;
 import ca.uhn.fhir.rest.server.IResourceProvider;
@@ -54,9 +56,10 @@ public class TaskFhirResourceProvider implements IResourceProvider {
 		return Task.class;
 	}
 	
-	@Read
+	@Read(version = true)
 	public Task getTaskById(@IdParam IdType id) {
-		Task task = service.get(id.getIdPart());
+		Task task = id.hasVersionIdPart() ? service.getVersion(id.getIdPart(), id.getVersionIdPart())
+		        : service.get(id.getIdPart());
 		if (task == null) {
 			throw new ResourceNotFoundException("Could not find Task with Id " + id.getIdPart());
 		}
@@ -65,11 +68,11 @@ public class TaskFhirResourceProvider implements IResourceProvider {
 	
 	@History
 	public List<Resource> getTaskHistoryById(@IdParam IdType id) {
-		Task task = service.get(id.getIdPart());
-		if (task == null) {
+		List<Task> history = service.getHistory(id.getIdPart());
+		if (history.isEmpty()) {
 			throw new ResourceNotFoundException("Could not find Task with Id " + id.getIdPart());
 		}
-		return task.getContained();
+		return new ArrayList<>(history);
 	}
 	
 	@Create
@@ -95,7 +98,8 @@ public class TaskFhirResourceProvider implements IResourceProvider {
 	public IBundleProvider searchTasks(
 	        @OptionalParam(name = Task.SP_BASED_ON, chainWhitelist = { "" }) ReferenceAndListParam basedOnReference,
 	        @OptionalParam(name = Task.SP_OWNER, chainWhitelist = { "" }) ReferenceAndListParam ownerReference,
-	        @OptionalParam(name = Task.SP_STATUS) TokenAndListParam status, @Sort SortSpec sort) {
-		return service.searchForTasks(basedOnReference, ownerReference, status, sort);
+	        @OptionalParam(name = Task.SP_STATUS) TokenAndListParam status,
+	        @OptionalParam(name = "_lastUpdated") DateRangeParam lastUpdated, @Sort SortSpec sort) {
+		return service.searchForTasks(basedOnReference, ownerReference, status, sort, lastUpdated);
 	}
 }
@@ -0,0 +1,45 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.providers.r4;
+
+import ca.uhn.fhir.rest.annotation.Transaction;
+import ca.uhn.fhir.rest.annotation.TransactionParam;
+import ca.uhn.fhir.rest.server.exceptions.InvalidRequestException;
+import lombok.AccessLevel;
+import lombok.Setter;
+import org.hl7.fhir.r4.model.Bundle;
+import org.openmrs.module.fhir2.api.FhirTransactionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Handles {@code batch} and {@code transaction} Bundles posted to the base of the server
+ */
+@Component
+@Setter(AccessLevel.PACKAGE)
+public class TransactionProvider {
+	
+	@Autowired
+	private FhirTransactionService transactionService;
+	
+	@Transaction
+	@SuppressWarnings("unused")
+	public Bundle transaction(@TransactionParam Bundle bundle) {
+		if (bundle.getType() == Bundle.BundleType.TRANSACTION) {
+			return transactionService.processTransaction(bundle);
+		}
+		
+		if (bundle.getType() == Bundle.BundleType.BATCH) {
+			return transactionService.processBatch(bundle);
+		}
+		
+		throw new InvalidRequestException("Only Bundles of type batch or transaction can be posted to the server");
+	}
+}
@@ -0,0 +1,50 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.providers.util;
+
+import ca.uhn.fhir.model.api.ResourceMetadataKeyEnum;
+import ca.uhn.fhir.model.valueset.BundleEntrySearchModeEnum;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.hl7.fhir.convertors.VersionConvertor_30_40;
+import org.hl7.fhir.exceptions.FHIRException;
+import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.hl7.fhir.r4.model.Resource;
+import org.hl7.fhir.r4.model.Task;
+
+/**
+ * Converts the R4 resources produced by the translators into the resources returned to R3 clients.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class FhirVersionConverter {
+	
+	/**
+	 * Converts an R4 resource to its R3 equivalent, keeping the search mode of the Bundle entry it
+	 * will be returned in
+	 *
+	 * @param resource the R4 resource
+	 * @return the R3 resource
+	 */
+	public static org.hl7.fhir.dstu3.model.Resource convertToR3(IBaseResource resource) throws FHIRException {
+		org.hl7.fhir.dstu3.model.Resource converted;
+		if (resource instanceof Task) {
+			converted = TaskVersionConverter.convertTask((Task) resource);
+		} else {
+			converted = VersionConvertor_30_40.convertResource((Resource) resource, false);
+		}
+		
+		BundleEntrySearchModeEnum searchMode = ResourceMetadataKeyEnum.ENTRY_SEARCH_MODE.get((Resource) resource);
+		if (searchMode != null) {
+			ResourceMetadataKeyEnum.ENTRY_SEARCH_MODE.put(converted, searchMode);
+		}
+		
+		return converted;
+	}
+}
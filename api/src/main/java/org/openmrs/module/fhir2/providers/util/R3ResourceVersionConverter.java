@@ -0,0 +1,36 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.providers.util;
+
+import ca.uhn.fhir.context.FhirVersionEnum;
+import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.openmrs.module.fhir2.api.search.ResourceVersionConverter;
+import org.springframework.stereotype.Component;
+
+/**
+ * Converts the results of searches made through the R3 providers, which share the R4 services.
+ * <p>
+ * Every R3 result is still translated to R4 first and then converted, so R3 searches allocate both
+ * object graphs for each resource. Translating OpenMRS objects directly into DSTU3 resources would
+ * need a DSTU3 counterpart of each translator and of the translators they use, and has not been
+ * done. {@code SearchVersionBenchmark} measures what the conversion costs.
+ */
+@Component
+public class R3ResourceVersionConverter implements ResourceVersionConverter {
+	
+	@Override
+	public IBaseResource convert(IBaseResource resource, FhirVersionEnum version) {
+		if (version == FhirVersionEnum.DSTU3) {
+			return FhirVersionConverter.convertToR3(resource);
+		}
+		
+		return resource;
+	}
+}
@@ -0,0 +1,147 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.dao.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasProperty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+
+import java.util.Date;
+import java.util.List;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.ActionQueue;
+import org.hibernate.event.spi.EventSource;
+import org.junit.Before;
+import org.junit.Test;
+import org.openmrs.Location;
+import org.openmrs.api.context.Context;
+import org.openmrs.module.fhir2.FhirChange;
+import org.openmrs.module.fhir2.TestFhirSpringConfiguration;
+import org.openmrs.test.BaseModuleContextSensitiveTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+
+@ContextConfiguration(classes = TestFhirSpringConfiguration.class, inheritLocations = false)
+public class FhirChangeDaoImplTest extends BaseModuleContextSensitiveTest {
+	
+	private FhirChangeDaoImpl dao;
+	
+	@Autowired
+	private SessionFactory sessionFactory;
+	
+	@Before
+	public void setup() {
+		dao = new FhirChangeDaoImpl();
+		dao.setSessionFactory(sessionFactory);
+	}
+	
+	@Test
+	public void getChanges_shouldReturnCreatedObjects() {
+		Location location = saveLocation("Change Log Location");
+		commit();
+		
+		assertThat(dao.getChanges(null, 100), hasItem(allOf(hasProperty("resourceType", equalTo("Location")),
+		    hasProperty("resourceUuid", equalTo(location.getUuid())),
+		    hasProperty("operation", equalTo(FhirChange.Operation.CREATE)))));
+	}
+	
+	@Test
+	public void getChanges_shouldReturnRetiredObjectsAsDeleted() {
+		Location location = saveLocation("Change Log Location");
+		Context.getLocationService().retireLocation(location, "for testing");
+		commit();
+		
+		assertThat(dao.getChanges(null, 100), hasItem(allOf(hasProperty("resourceUuid", equalTo(location.getUuid())),
+		    hasProperty("operation", equalTo(FhirChange.Operation.DELETE)))));
+	}
+	
+	@Test
+	public void getChanges_shouldReturnChangesAfterTheGivenSequenceInOrder() {
+		saveLocation("First Location");
+		Location second = saveLocation("Second Location");
+		Location third = saveLocation("Third Location");
+		commit();
+		
+		List<FhirChange> changes = dao.getChanges(null, 100);
+		Long first = changes.get(changes.size() - 3).getId();
+		
+		List<FhirChange> page = dao.getChanges(first, 100);
+		assertThat(page, hasSize(2));
+		assertThat(page, contains(hasProperty("resourceUuid", equalTo(second.getUuid())),
+		    hasProperty("resourceUuid", equalTo(third.getUuid()))));
+		
+		assertThat(dao.getChanges(first, 1), contains(hasProperty("resourceUuid", equalTo(second.getUuid()))));
+	}
+	
+	@Test
+	public void getChanges_shouldNotReturnChangesBeforeTheirTransactionCommits() {
+		Location location = saveLocation("Uncommitted Location");
+		
+		assertThat(dao.getChanges(null, 100), not(hasItem(hasProperty("resourceUuid", equalTo(location.getUuid())))));
+		
+		commit();
+		
+		assertThat(dao.getChanges(null, 100), hasItem(hasProperty("resourceUuid", equalTo(location.getUuid()))));
+	}
+	
+	@Test
+	public void getChanges_shouldNumberChangesOfLaterTransactionsAfterEarlierOnes() {
+		Location first = saveLocation("First Location");
+		commit();
+		Long firstId = dao.getChanges(null, 100).stream().filter(c -> c.getResourceUuid().equals(first.getUuid()))
+		        .findFirst().get().getId();
+		
+		Location second = saveLocation("Second Location");
+		commit();
+		
+		assertThat(dao.getChanges(firstId, 100), contains(hasProperty("resourceUuid", equalTo(second.getUuid()))));
+	}
+	
+	@Test
+	public void purgeChanges_shouldDeleteChangesWrittenBeforeTheGivenTime() {
+		Location location = saveLocation("Purged Location");
+		commit();
+		
+		dao.purgeChanges(new Date(System.currentTimeMillis() - 60000));
+		assertThat(dao.getChanges(null, 100), hasItem(hasProperty("resourceUuid", equalTo(location.getUuid()))));
+		
+		dao.purgeChanges(new Date(System.currentTimeMillis() + 60000));
+		assertThat(dao.getChanges(null, 100), empty());
+	}
+	
+	private Location saveLocation(String name) {
+		Location location = new Location();
+		location.setName(name);
+		Context.getLocationService().saveLocation(location);
+		sessionFactory.getCurrentSession().flush();
+		return location;
+	}
+	
+	/**
+	 * Runs the work Hibernate does just before and after committing, as the test transaction itself is
+	 * rolled back
+	 */
+	private void commit() {
+		Session session = sessionFactory.getCurrentSession();
+		session.flush();
+		
+		ActionQueue actionQueue = ((EventSource) session).getActionQueue();
+		actionQueue.beforeTransactionCompletion();
+		actionQueue.afterTransactionCompletion(true);
+	}
+}
@@ -10,10 +10,14 @@
 package org.openmrs.module.fhir2.api.dao.impl;
 
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 
+import java.util.Collections;
+
+import org.hibernate.Hibernate;
 import org.hibernate.SessionFactory;
 import org.junit.Before;
 import org.junit.Test;
@@ -59,4 +63,16 @@ public class FhirEncounterDaoImplTest extends BaseModuleContextSensitiveTest {
 		Encounter encounter = dao.get(UNKNOWN_ENCOUNTER_UUID);
 		assertThat(encounter, nullValue());
 	}
+	
+	@Test
+	public void get_shouldInitializeTheAssociationsTheTranslatorReads() {
+		sessionFactory.getCurrentSession().clear();
+		
+		Encounter encounter = dao.get(Collections.singletonList(ENCOUNTER_UUID)).get(0);
+		
+		assertThat(Hibernate.isInitialized(encounter.getPatient()), is(true));
+		assertThat(Hibernate.isInitialized(encounter.getPatient().getNames()), is(true));
+		assertThat(Hibernate.isInitialized(encounter.getPatient().getIdentifiers()), is(true));
+		assertThat(Hibernate.isInitialized(encounter.getEncounterProviders()), is(true));
+	}
 }
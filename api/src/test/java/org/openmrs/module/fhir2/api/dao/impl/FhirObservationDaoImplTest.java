@@ -10,24 +10,50 @@
 package org.openmrs.module.fhir2.api.dao.impl;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 
+import ca.uhn.fhir.rest.api.SortOrderEnum;
+import ca.uhn.fhir.rest.api.SortSpec;
+import ca.uhn.fhir.rest.param.DateParam;
+import ca.uhn.fhir.rest.param.DateRangeParam;
+import ca.uhn.fhir.rest.param.ParamPrefixEnum;
 import ca.uhn.fhir.rest.param.TokenAndListParam;
 import ca.uhn.fhir.rest.param.TokenParam;
+import org.apache.commons.lang3.time.DateUtils;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.Before;
 import org.junit.Test;
+import org.openmrs.Concept;
+import org.openmrs.ConceptMap;
 import org.openmrs.Obs;
+import org.openmrs.Patient;
+import org.openmrs.Person;
+import org.openmrs.api.context.Context;
 import org.openmrs.module.fhir2.FhirConstants;
 import org.openmrs.module.fhir2.TestFhirSpringConfiguration;
 import org.openmrs.module.fhir2.api.dao.FhirObservationDao;
+import org.openmrs.module.fhir2.api.search.KeysetPage;
+import org.openmrs.module.fhir2.api.search.SearchCursor;
 import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
 import org.openmrs.test.BaseModuleContextSensitiveTest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.test.context.ContextConfiguration;
 
 @ContextConfiguration(classes = TestFhirSpringConfiguration.class, inheritLocations = false)
@@ -41,9 +67,19 @@ public class FhirObservationDaoImplTest extends BaseModuleContextSensitiveTest {
 	
 	private static final String OBS_CONCEPT_ID = "5089";
 	
+	/**
+	 * The number of statements needed to select and hydrate a page of observations: the id query, the
+	 * entity query and one query per collection initialized by the fetch plan
+	 */
+	private static final long MAX_STATEMENTS_PER_PAGE = 7;
+	
 	@Autowired
 	private FhirObservationDao dao;
 	
+	@Autowired
+	@Qualifier("sessionFactory")
+	private SessionFactory sessionFactory;
+	
 	@Before
 	public void setup() throws Exception {
 		executeDataSet(OBS_DATA_XML);
@@ -80,4 +116,216 @@ public class FhirObservationDaoImplTest extends BaseModuleContextSensitiveTest {
 		assertThat(obs, notNullValue());
 	}
 	
+	@Test
+	public void getSearchResultsCount_shouldCountDistinctMatchingObs() {
+		TokenAndListParam code = new TokenAndListParam().addAnd(new TokenParam().setValue(OBS_CONCEPT_ID));
+		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.CODED_SEARCH_HANDLER, code);
+		
+		assertThat(dao.getSearchResultsCount(theParams), equalTo(dao.getResultUuids(theParams).size()));
+	}
+	
+	@Test
+	public void getSearchResultsCountEstimate_shouldFallBackToCountWithoutStatistics() {
+		SearchParameterMap theParams = new SearchParameterMap();
+		
+		assertThat(dao.getSearchResultsCountEstimate(theParams), equalTo(dao.getResultUuids(theParams).size()));
+	}
+	
+	@Test
+	public void searchPage_shouldSeekThroughAllResultsWithoutDuplicates() {
+		SearchParameterMap theParams = new SearchParameterMap();
+		
+		assertThat(pageThroughUuids(theParams, 3), containsInAnyOrder(dao.getResultUuids(theParams).toArray()));
+	}
+	
+	@Test
+	public void searchPage_shouldSeekThroughSortedResultsWithoutDuplicates() {
+		SearchParameterMap theParams = new SearchParameterMap()
+		        .setSortSpec(new SortSpec("date", SortOrderEnum.DESC));
+		
+		List<String> expected = new ArrayList<>();
+		dao.searchPage(theParams, null, 0, dao.getSearchResultsCount(theParams)).getResults()
+		        .forEach(obs -> expected.add(obs.getUuid()));
+		
+		assertThat(expected, hasSize(dao.getResultUuids(theParams).size()));
+		assertThat(pageThroughUuids(theParams, 4), contains(expected.toArray()));
+	}
+	
+	@Test
+	public void searchPage_shouldReturnSameResultsAsSearchingByResultUuids() {
+		SearchParameterMap theParams = new SearchParameterMap();
+		List<String> matchingUuids = dao.getResultUuids(theParams);
+		
+		List<String> expected = new ArrayList<>();
+		dao.search(theParams, matchingUuids, 0, matchingUuids.size()).forEach(obs -> expected.add(obs.getUuid()));
+		
+		List<String> actual = new ArrayList<>();
+		dao.searchPage(theParams, null, 0, matchingUuids.size()).getResults().forEach(obs -> actual.add(obs.getUuid()));
+		
+		assertThat(actual, hasSize(dao.getSearchResultsCount(theParams)));
+		assertThat(actual, containsInAnyOrder(expected.toArray()));
+	}
+	
+	@Test
+	public void searchPage_shouldReturnNoCursorForEmptyPage() {
+		TokenAndListParam code = new TokenAndListParam().addAnd(new TokenParam().setValue("this-is-not-a-concept"));
+		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.CODED_SEARCH_HANDLER, code);
+		
+		KeysetPage<Obs> page = dao.searchPage(theParams, null, 0, 10);
+		
+		assertThat(page.getResults(), hasSize(0));
+		assertThat(page.getNextCursor(), nullValue());
+	}
+	
+	@Test
+	public void searchPage_shouldHydrateAPageInAConstantNumberOfStatements() {
+		SearchParameterMap theParams = new SearchParameterMap();
+		
+		assertThat(statementsToHydrate(theParams, 2), lessThanOrEqualTo(MAX_STATEMENTS_PER_PAGE));
+		assertThat(statementsToHydrate(theParams, 100), lessThanOrEqualTo(MAX_STATEMENTS_PER_PAGE));
+	}
+	
+	@Test
+	public void scroll_shouldVisitAllResultsInBatches() {
+		SearchParameterMap theParams = new SearchParameterMap();
+		List<String> uuids = new ArrayList<>();
+		
+		dao.scroll(theParams, 3, batch -> {
+			assertThat(batch.size(), lessThanOrEqualTo(3));
+			batch.forEach(obs -> uuids.add(obs.getUuid()));
+		});
+		
+		assertThat(uuids, hasSize(dao.getSearchResultsCount(theParams)));
+		assertThat(uuids, containsInAnyOrder(dao.getResultUuids(theParams).toArray()));
+	}
+	
+	@Test
+	public void scroll_shouldClearTheSessionAfterEachBatch() {
+		List<Obs> results = new ArrayList<>();
+		
+		dao.scroll(new SearchParameterMap(), 3, results::addAll);
+		
+		assertThat(results, not(empty()));
+		assertThat(sessionFactory.getCurrentSession().contains(results.get(0)), is(false));
+		assertThat(sessionFactory.getCurrentSession().getStatistics().getEntityCount(), equalTo(0));
+	}
+	
+	@Test
+	public void scroll_shouldOnlyVisitResultsUpdatedSinceLastUpdatedLowerBound() {
+		DateRangeParam lastUpdated = new DateRangeParam()
+		        .setLowerBound(new DateParam(ParamPrefixEnum.GREATERTHAN_OR_EQUALS, new Date()));
+		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.COMMON_SEARCH_HANDLER,
+		    FhirConstants.LAST_UPDATED_PROPERTY, lastUpdated);
+		List<Obs> results = new ArrayList<>();
+		
+		dao.scroll(theParams, 3, results::addAll);
+		
+		assertThat(results, empty());
+	}
+	
+	@Test
+	public void getResultUuids_shouldMatchObsVoidedSinceLastUpdatedLowerBound() {
+		Date anHourAgo = DateUtils.addHours(new Date(), -1);
+		voidObs(OBS_UUID);
+		
+		DateRangeParam lastUpdated = new DateRangeParam()
+		        .setLowerBound(new DateParam(ParamPrefixEnum.GREATERTHAN_OR_EQUALS, anHourAgo));
+		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.COMMON_SEARCH_HANDLER,
+		    FhirConstants.LAST_UPDATED_PROPERTY, lastUpdated);
+		
+		assertThat(dao.getResultUuids(theParams), hasItem(OBS_UUID));
+	}
+	
+	@Test
+	public void getResultUuids_shouldNotMatchObsVoidedAfterLastUpdatedUpperBound() {
+		Date anHourAgo = DateUtils.addHours(new Date(), -1);
+		
+		DateRangeParam lastUpdated = new DateRangeParam()
+		        .setUpperBound(new DateParam(ParamPrefixEnum.LESSTHAN_OR_EQUALS, anHourAgo));
+		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.COMMON_SEARCH_HANDLER,
+		    FhirConstants.LAST_UPDATED_PROPERTY, lastUpdated);
+		
+		assertThat(dao.getResultUuids(theParams), hasItem(OBS_UUID));
+		
+		voidObs(OBS_UUID);
+		
+		assertThat(dao.getResultUuids(theParams), not(hasItem(OBS_UUID)));
+	}
+	
+	@Test
+	public void createOrUpdateAll_shouldSaveAllObsAcrossSeveralFlushes() {
+		Person person = Context.getPersonService().getPerson(7);
+		Concept concept = Context.getConceptService().getConcept(OBS_CONCEPT_ID);
+		List<Obs> newObs = new ArrayList<>();
+		for (int i = 0; i < 120; i++) {
+			Obs obs = new Obs(person, concept, new Date(), null);
+			obs.setValueNumeric((double) i);
+			newObs.add(obs);
+		}
+		
+		dao.createOrUpdateAll(newObs);
+		
+		List<String> uuids = new ArrayList<>();
+		newObs.forEach(obs -> uuids.add(obs.getUuid()));
+		assertThat(sessionFactory.getCurrentSession().contains(newObs.get(0)), equalTo(false));
+		assertThat(sessionFactory.getCurrentSession().contains(person), equalTo(true));
+		assertThat(dao.get(uuids), hasSize(newObs.size()));
+	}
+	
+	private long statementsToHydrate(SearchParameterMap theParams, int pageSize) {
+		sessionFactory.getCurrentSession().flush();
+		sessionFactory.getCurrentSession().clear();
+		sessionFactory.getCache().evictAllRegions();
+		
+		Statistics statistics = sessionFactory.getStatistics();
+		boolean statisticsEnabled = statistics.isStatisticsEnabled();
+		statistics.setStatisticsEnabled(true);
+		statistics.clear();
+		
+		try {
+			for (Obs obs : dao.searchPage(theParams, null, 0, pageSize).getResults()) {
+				for (ConceptMap mapping : obs.getConcept().getConceptMappings()) {
+					mapping.getConceptReferenceTerm().getConceptSource().getName();
+				}
+				obs.getConcept().getNames().size();
+				obs.getConcept().getConceptClass().getUuid();
+				obs.getPerson().getNames().size();
+				if (obs.getPerson() instanceof Patient) {
+					((Patient) obs.getPerson()).getIdentifiers().size();
+				}
+				if (obs.getEncounter() != null) {
+					obs.getEncounter().getUuid();
+				}
+				obs.isObsGrouping();
+			}
+			
+			return statistics.getPrepareStatementCount();
+		}
+		finally {
+			statistics.setStatisticsEnabled(statisticsEnabled);
+		}
+	}
+	
+	private List<String> pageThroughUuids(SearchParameterMap theParams, int pageSize) {
+		List<String> uuids = new ArrayList<>();
+		SearchCursor cursor = null;
+		
+		do {
+			KeysetPage<Obs> page = dao.searchPage(theParams, cursor, uuids.size(), pageSize);
+			assertThat(page.getResults().size(), lessThanOrEqualTo(pageSize));
+			
+			page.getResults().forEach(obs -> uuids.add(obs.getUuid()));
+			cursor = page.getNextCursor();
+		} while (cursor != null);
+		
+		return uuids;
+	}
+	
+	private void voidObs(String uuid) {
+		Obs obs = dao.get(uuid);
+		obs.setVoided(true);
+		obs.setVoidReason("for testing");
+		obs.setDateVoided(new Date());
+		sessionFactory.getCurrentSession().flush();
+	}
 }
@@ -10,15 +10,36 @@
 package org.openmrs.module.fhir2.api.dao.impl;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
+import static org.hl7.fhir.r4.model.Patient.SP_ADDRESS_CITY;
+import static org.hl7.fhir.r4.model.Patient.SP_BIRTHDATE;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+
+import ca.uhn.fhir.rest.api.SortOrderEnum;
+import ca.uhn.fhir.rest.api.SortSpec;
+import org.hibernate.Hibernate;
 import org.hibernate.SessionFactory;
 import org.junit.Before;
 import org.junit.Test;
 import org.openmrs.Patient;
 import org.openmrs.module.fhir2.TestFhirSpringConfiguration;
+import org.openmrs.module.fhir2.api.search.KeysetPage;
+import org.openmrs.module.fhir2.api.search.SearchCursor;
+import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
+import org.openmrs.module.fhir2.api.util.FhirUtils;
 import org.openmrs.test.BaseModuleContextSensitiveTest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.ContextConfiguration;
@@ -34,6 +55,13 @@ public class FhirPatientDaoImplTest extends BaseModuleContextSensitiveTest {
 	        "org/openmrs/api/include/PatientServiceTest-findPatients.xml",
 	        "org/openmrs/module/fhir2/api/dao/impl/FhirPatientDaoImplTest_address_data.xml" };
 	
+	private static final String MULTIPLE_ADDRESSES_DATA_FILE = "org/openmrs/module/fhir2/api/dao/impl/"
+	        + "FhirPatientDaoImplTest_multiple_addresses_data.xml";
+	
+	private static final String JOHNSON_CITY_PATIENT_UUID = "5456995a-6862-11ea-bc55-0242ac130003";
+	
+	private static final String SANTA_CRUZ_PATIENT_UUID = "54569c70-6862-11ea-bc55-0242ac130003";
+	
 	private FhirPatientDaoImpl dao;
 	
 	@Autowired
@@ -57,6 +85,65 @@ public class FhirPatientDaoImplTest extends BaseModuleContextSensitiveTest {
 		assertThat(result.getId(), equalTo(4));
 	}
 	
+	@Test
+	public void get_shouldInitializeNamesAddressesAndIdentifiers() {
+		sessionFactory.getCurrentSession().clear();
+		
+		Patient result = dao.get(Collections.singletonList(PATIENT_UUID)).get(0);
+		
+		assertThat(Hibernate.isInitialized(result.getNames()), is(true));
+		assertThat(Hibernate.isInitialized(result.getAddresses()), is(true));
+		assertThat(Hibernate.isInitialized(result.getIdentifiers()), is(true));
+	}
+	
+	@Test
+	public void searchPage_shouldReturnPatientsWithSeveralAddressesOnceWhenSortingByAddress() throws Exception {
+		executeDataSet(MULTIPLE_ADDRESSES_DATA_FILE);
+		SearchParameterMap theParams = new SearchParameterMap()
+		        .setSortSpec(new SortSpec(SP_ADDRESS_CITY, SortOrderEnum.ASC));
+		
+		List<String> uuids = new ArrayList<>();
+		SearchCursor cursor = null;
+		do {
+			KeysetPage<Patient> page = dao.searchPage(theParams, cursor, uuids.size(), 2);
+			assertThat(page.getResults().size(), lessThanOrEqualTo(2));
+			
+			page.getResults().forEach(patient -> uuids.add(patient.getUuid()));
+			cursor = page.getNextCursor();
+		} while (cursor != null);
+		
+		assertThat(new HashSet<>(uuids), hasSize(uuids.size()));
+		assertThat(uuids, hasSize(dao.getSearchResultsCount(theParams)));
+		// patients are sorted by their preferred address
+		assertThat(uuids.indexOf(JOHNSON_CITY_PATIENT_UUID), lessThan(uuids.indexOf(SANTA_CRUZ_PATIENT_UUID)));
+	}
+	
+	@Test
+	public void searchPage_shouldSeekPastPatientsWithoutBirthdate() {
+		Patient patient = dao.get(PATIENT_UUID);
+		patient.setBirthdate(null);
+		sessionFactory.getCurrentSession().flush();
+		
+		for (SortOrderEnum order : SortOrderEnum.values()) {
+			SearchParameterMap theParams = new SearchParameterMap().setSortSpec(new SortSpec(SP_BIRTHDATE, order));
+			
+			List<String> expected = new ArrayList<>();
+			dao.searchPage(theParams, null, 0, dao.getSearchResultsCount(theParams)).getResults()
+			        .forEach(result -> expected.add(result.getUuid()));
+			
+			List<String> uuids = new ArrayList<>();
+			SearchCursor cursor = null;
+			do {
+				KeysetPage<Patient> page = dao.searchPage(theParams, cursor, uuids.size(), 2);
+				page.getResults().forEach(result -> uuids.add(result.getUuid()));
+				cursor = page.getNextCursor();
+			} while (cursor != null);
+			
+			assertThat(expected, hasItem(PATIENT_UUID));
+			assertThat(uuids, contains(expected.toArray()));
+		}
+	}
+	
 	@Test
 	public void getPatientById_shouldReturnNullIfPatientNotFound() {
 		assertThat(dao.getPatientById(0), nullValue());
@@ -76,4 +163,29 @@ public class FhirPatientDaoImplTest extends BaseModuleContextSensitiveTest {
 		
 		assertThat(result, nullValue());
 	}
+	
+	@Test
+	public void getLastUpdated_shouldReturnLastUpdatedTimeOfPatient() {
+		Patient patient = dao.get(PATIENT_UUID);
+		
+		assertThat(dao.getLastUpdated(PATIENT_UUID), equalTo(FhirUtils.getLastUpdated(patient, patient.getNames(),
+		    patient.getAddresses(), patient.getIdentifiers())));
+	}
+	
+	@Test
+	public void getLastUpdated_shouldIncludeChangesToTheNamesOfThePatient() {
+		Date nameChanged = new Date(dao.getLastUpdated(PATIENT_UUID).getTime() + 60000);
+		sessionFactory.getCurrentSession()
+		        .createSQLQuery("update person_name set date_changed = :dateChanged where person_id = "
+		                + "(select person_id from person where uuid = :uuid)")
+		        .setTimestamp("dateChanged", nameChanged).setString("uuid", PATIENT_UUID).executeUpdate();
+		sessionFactory.getCurrentSession().clear();
+		
+		assertThat(dao.getLastUpdated(PATIENT_UUID).getTime(), equalTo(nameChanged.getTime()));
+	}
+	
+	@Test
+	public void getLastUpdated_shouldReturnNullIfPatientNotFound() {
+		assertThat(dao.getLastUpdated(BAD_PATIENT_UUID), nullValue());
+	}
 }
@@ -15,10 +15,14 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasProperty;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
 import org.hibernate.SessionFactory;
 import org.junit.Before;
@@ -46,6 +50,10 @@ public class FhirTaskDaoImplTest extends BaseModuleContextSensitiveTest {
 	
 	private static final String BASED_ON_ORDER_UUID = "7d96f25c-4949-4f72-9931-d808fbc226de";
 	
+	private static final String BASED_ON_TASK_UUID = "3dc9f4a7-44dc-4b29-adfd-a8b297a41f33";
+	
+	private static final String OTHER_ORDER_UUID = "cbcb84f3-4576-452f-ba74-7cdeaa9aa602";
+	
 	private static final FhirTask.TaskStatus NEW_STATUS = FhirTask.TaskStatus.ACCEPTED;
 	
 	private static final FhirTask.TaskIntent TASK_INTENT = FhirTask.TaskIntent.ORDER;
@@ -281,4 +289,24 @@ public class FhirTaskDaoImplTest extends BaseModuleContextSensitiveTest {
 		assertThat(result.getBasedOnReferences().size(), greaterThan(0));
 	}
 	
+	
+	@Test
+	public void getTasksByBasedOnReferences_shouldReturnTasksGroupedByReference() {
+		Map<String, List<FhirTask>> result = dao.getTasksByBasedOnReferences(FhirConstants.SERVICE_REQUEST,
+		    Arrays.asList(BASED_ON_ORDER_UUID, OTHER_ORDER_UUID));
+		
+		assertThat(result, notNullValue());
+		assertThat(result.get(BASED_ON_ORDER_UUID), hasSize(1));
+		assertThat(result.get(BASED_ON_ORDER_UUID).get(0).getUuid(), equalTo(BASED_ON_TASK_UUID));
+		assertThat(result.get(BASED_ON_ORDER_UUID).get(0).getStatus(), equalTo(dao.get(BASED_ON_TASK_UUID).getStatus()));
+		assertThat(result.containsKey(OTHER_ORDER_UUID), equalTo(false));
+	}
+	
+	@Test
+	public void getTasksByBasedOnReferences_shouldIgnoreReferencesOfOtherTypes() {
+		Map<String, List<FhirTask>> result = dao.getTasksByBasedOnReferences(FhirConstants.PRACTITIONER,
+		    Collections.singleton(BASED_ON_ORDER_UUID));
+		
+		assertThat(result.isEmpty(), equalTo(true));
+	}
 }
@@ -21,8 +21,6 @@ import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
 
 import ca.uhn.fhir.rest.api.server.IBundleProvider;
@@ -43,6 +41,7 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.openmrs.Allergy;
 import org.openmrs.module.fhir2.FhirConstants;
 import org.openmrs.module.fhir2.api.dao.FhirAllergyIntoleranceDao;
+import org.openmrs.module.fhir2.api.search.KeysetPage;
 import org.openmrs.module.fhir2.api.search.SearchQuery;
 import org.openmrs.module.fhir2.api.search.SearchQueryBundleProvider;
 import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
@@ -117,7 +116,7 @@ public class FhirAllergyIntoleranceServiceImplTest {
 	
 	@Test
 	public void searchForAllergies_shouldSearchForAllergiesByIdentifier() {
-		Collection<Allergy> allergies = new ArrayList<>();
+		List<Allergy> allergies = new ArrayList<>();
 		allergies.add(omrsAllergy);
 		ReferenceAndListParam patientParam = new ReferenceAndListParam();
 		ReferenceParam referenceParam = new ReferenceParam();
@@ -130,8 +129,8 @@ public class FhirAllergyIntoleranceServiceImplTest {
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.PATIENT_REFERENCE_SEARCH_HANDLER,
 		    patientParam);
 		
-		when(allergyIntoleranceDao.search(any(), any(), anyInt(), anyInt())).thenReturn(allergies);
-		when(allergyIntoleranceDao.getResultUuids(any())).thenReturn(Collections.singletonList(ALLERGY_UUID));
+		when(allergyIntoleranceDao.searchPage(any(), any(), anyInt(), anyInt())).thenReturn(new KeysetPage<>(allergies, null));
+		when(allergyIntoleranceDao.getSearchResultsCount(any())).thenReturn(1);
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, allergyIntoleranceDao, translator));
 		when(translator.toFhirResource(omrsAllergy)).thenReturn(fhirAllergy);
@@ -147,7 +146,7 @@ public class FhirAllergyIntoleranceServiceImplTest {
 	
 	@Test
 	public void searchForAllergies_shouldSearchForAllergiesByPatientGivenName() {
-		Collection<Allergy> allergies = new ArrayList<>();
+		List<Allergy> allergies = new ArrayList<>();
 		allergies.add(omrsAllergy);
 		ReferenceAndListParam patientParam = new ReferenceAndListParam();
 		ReferenceParam referenceParam = new ReferenceParam();
@@ -160,8 +159,8 @@ public class FhirAllergyIntoleranceServiceImplTest {
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.PATIENT_REFERENCE_SEARCH_HANDLER,
 		    patientParam);
 		
-		when(allergyIntoleranceDao.search(any(), any(), anyInt(), anyInt())).thenReturn(allergies);
-		when(allergyIntoleranceDao.getResultUuids(any())).thenReturn(Collections.singletonList(ALLERGY_UUID));
+		when(allergyIntoleranceDao.searchPage(any(), any(), anyInt(), anyInt())).thenReturn(new KeysetPage<>(allergies, null));
+		when(allergyIntoleranceDao.getSearchResultsCount(any())).thenReturn(1);
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, allergyIntoleranceDao, translator));
 		when(translator.toFhirResource(omrsAllergy)).thenReturn(fhirAllergy);
@@ -177,7 +176,7 @@ public class FhirAllergyIntoleranceServiceImplTest {
 	
 	@Test
 	public void searchForAllergies_shouldSearchForAllergiesByPatientFamilyName() {
-		Collection<Allergy> allergies = new ArrayList<>();
+		List<Allergy> allergies = new ArrayList<>();
 		allergies.add(omrsAllergy);
 		ReferenceAndListParam patientParam = new ReferenceAndListParam();
 		ReferenceParam referenceParam = new ReferenceParam();
@@ -190,8 +189,8 @@ public class FhirAllergyIntoleranceServiceImplTest {
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.PATIENT_REFERENCE_SEARCH_HANDLER,
 		    patientParam);
 		
-		when(allergyIntoleranceDao.search(any(), any(), anyInt(), anyInt())).thenReturn(allergies);
-		when(allergyIntoleranceDao.getResultUuids(any())).thenReturn(Collections.singletonList(ALLERGY_UUID));
+		when(allergyIntoleranceDao.searchPage(any(), any(), anyInt(), anyInt())).thenReturn(new KeysetPage<>(allergies, null));
+		when(allergyIntoleranceDao.getSearchResultsCount(any())).thenReturn(1);
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, allergyIntoleranceDao, translator));
 		when(translator.toFhirResource(omrsAllergy)).thenReturn(fhirAllergy);
@@ -207,7 +206,7 @@ public class FhirAllergyIntoleranceServiceImplTest {
 	
 	@Test
 	public void searchForAllergies_shouldSearchForAllergiesByPatientName() {
-		Collection<Allergy> allergies = new ArrayList<>();
+		List<Allergy> allergies = new ArrayList<>();
 		allergies.add(omrsAllergy);
 		ReferenceAndListParam patientParam = new ReferenceAndListParam();
 		ReferenceParam referenceParam = new ReferenceParam();
@@ -220,8 +219,8 @@ public class FhirAllergyIntoleranceServiceImplTest {
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.PATIENT_REFERENCE_SEARCH_HANDLER,
 		    patientParam);
 		
-		when(allergyIntoleranceDao.search(any(), any(), anyInt(), anyInt())).thenReturn(allergies);
-		when(allergyIntoleranceDao.getResultUuids(any())).thenReturn(Collections.singletonList(ALLERGY_UUID));
+		when(allergyIntoleranceDao.searchPage(any(), any(), anyInt(), anyInt())).thenReturn(new KeysetPage<>(allergies, null));
+		when(allergyIntoleranceDao.getSearchResultsCount(any())).thenReturn(1);
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, allergyIntoleranceDao, translator));
 		when(translator.toFhirResource(omrsAllergy)).thenReturn(fhirAllergy);
@@ -237,7 +236,7 @@ public class FhirAllergyIntoleranceServiceImplTest {
 	
 	@Test
 	public void searchForAllergies_shouldSearchForAllergiesByCategory() {
-		Collection<Allergy> allergies = new ArrayList<>();
+		List<Allergy> allergies = new ArrayList<>();
 		allergies.add(omrsAllergy);
 		
 		TokenAndListParam category = new TokenAndListParam();
@@ -246,8 +245,8 @@ public class FhirAllergyIntoleranceServiceImplTest {
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.CATEGORY_SEARCH_HANDLER,
 		    category);
 		
-		when(allergyIntoleranceDao.search(any(), any(), anyInt(), anyInt())).thenReturn(allergies);
-		when(allergyIntoleranceDao.getResultUuids(any())).thenReturn(Collections.singletonList(ALLERGY_UUID));
+		when(allergyIntoleranceDao.searchPage(any(), any(), anyInt(), anyInt())).thenReturn(new KeysetPage<>(allergies, null));
+		when(allergyIntoleranceDao.getSearchResultsCount(any())).thenReturn(1);
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, allergyIntoleranceDao, translator));
 		when(translator.toFhirResource(omrsAllergy)).thenReturn(fhirAllergy);
@@ -263,7 +262,7 @@ public class FhirAllergyIntoleranceServiceImplTest {
 	
 	@Test
 	public void searchForAllergies_shouldSearchForAllergiesByAllergen() {
-		Collection<Allergy> allergies = new ArrayList<>();
+		List<Allergy> allergies = new ArrayList<>();
 		allergies.add(omrsAllergy);
 		
 		TokenAndListParam allergen = new TokenAndListParam();
@@ -272,8 +271,8 @@ public class FhirAllergyIntoleranceServiceImplTest {
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.ALLERGEN_SEARCH_HANDLER,
 		    allergen);
 		
-		when(allergyIntoleranceDao.search(any(), any(), anyInt(), anyInt())).thenReturn(allergies);
-		when(allergyIntoleranceDao.getResultUuids(any())).thenReturn(Collections.singletonList(ALLERGY_UUID));
+		when(allergyIntoleranceDao.searchPage(any(), any(), anyInt(), anyInt())).thenReturn(new KeysetPage<>(allergies, null));
+		when(allergyIntoleranceDao.getSearchResultsCount(any())).thenReturn(1);
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, allergyIntoleranceDao, translator));
 		when(translator.toFhirResource(omrsAllergy)).thenReturn(fhirAllergy);
@@ -289,7 +288,7 @@ public class FhirAllergyIntoleranceServiceImplTest {
 	
 	@Test
 	public void searchForAllergies_shouldSearchForAllergiesBySeverity() {
-		Collection<Allergy> allergies = new ArrayList<>();
+		List<Allergy> allergies = new ArrayList<>();
 		allergies.add(omrsAllergy);
 		
 		TokenAndListParam severity = new TokenAndListParam();
@@ -298,8 +297,8 @@ public class FhirAllergyIntoleranceServiceImplTest {
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.SEVERITY_SEARCH_HANDLER,
 		    severity);
 		
-		when(allergyIntoleranceDao.search(any(), any(), anyInt(), anyInt())).thenReturn(allergies);
-		when(allergyIntoleranceDao.getResultUuids(any())).thenReturn(Collections.singletonList(ALLERGY_UUID));
+		when(allergyIntoleranceDao.searchPage(any(), any(), anyInt(), anyInt())).thenReturn(new KeysetPage<>(allergies, null));
+		when(allergyIntoleranceDao.getSearchResultsCount(any())).thenReturn(1);
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, allergyIntoleranceDao, translator));
 		when(translator.toFhirResource(omrsAllergy)).thenReturn(fhirAllergy);
@@ -315,7 +314,7 @@ public class FhirAllergyIntoleranceServiceImplTest {
 	
 	@Test
 	public void searchForAllergies_shouldSearchForAllergiesByManifestation() {
-		Collection<Allergy> allergies = new ArrayList<>();
+		List<Allergy> allergies = new ArrayList<>();
 		allergies.add(omrsAllergy);
 		
 		TokenAndListParam manifestation = new TokenAndListParam();
@@ -324,8 +323,8 @@ public class FhirAllergyIntoleranceServiceImplTest {
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.CODED_SEARCH_HANDLER,
 		    manifestation);
 		
-		when(allergyIntoleranceDao.search(any(), any(), anyInt(), anyInt())).thenReturn(allergies);
-		when(allergyIntoleranceDao.getResultUuids(any())).thenReturn(Collections.singletonList(ALLERGY_UUID));
+		when(allergyIntoleranceDao.searchPage(any(), any(), anyInt(), anyInt())).thenReturn(new KeysetPage<>(allergies, null));
+		when(allergyIntoleranceDao.getSearchResultsCount(any())).thenReturn(1);
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, allergyIntoleranceDao, translator));
 		when(translator.toFhirResource(omrsAllergy)).thenReturn(fhirAllergy);
@@ -341,7 +340,7 @@ public class FhirAllergyIntoleranceServiceImplTest {
 	
 	@Test
 	public void searchForAllergies_shouldSearchForAllergiesByClinicalStatus() {
-		Collection<Allergy> allergies = new ArrayList<>();
+		List<Allergy> allergies = new ArrayList<>();
 		allergies.add(omrsAllergy);
 		
 		TokenAndListParam status = new TokenAndListParam();
@@ -349,8 +348,8 @@ public class FhirAllergyIntoleranceServiceImplTest {
 		
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.BOOLEAN_SEARCH_HANDLER, status);
 		
-		when(allergyIntoleranceDao.search(any(), any(), anyInt(), anyInt())).thenReturn(allergies);
-		when(allergyIntoleranceDao.getResultUuids(any())).thenReturn(Collections.singletonList(ALLERGY_UUID));
+		when(allergyIntoleranceDao.searchPage(any(), any(), anyInt(), anyInt())).thenReturn(new KeysetPage<>(allergies, null));
+		when(allergyIntoleranceDao.getSearchResultsCount(any())).thenReturn(1);
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, allergyIntoleranceDao, translator));
 		when(translator.toFhirResource(omrsAllergy)).thenReturn(fhirAllergy);
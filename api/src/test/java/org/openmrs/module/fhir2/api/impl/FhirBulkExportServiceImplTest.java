@@ -0,0 +1,379 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+import ca.uhn.fhir.context.FhirContext;
+import ca.uhn.fhir.rest.server.exceptions.InvalidRequestException;
+import ca.uhn.fhir.rest.server.exceptions.ResourceNotFoundException;
+import org.hl7.fhir.r4.model.Patient;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.openmrs.Cohort;
+import org.openmrs.Role;
+import org.openmrs.User;
+import org.openmrs.module.fhir2.FhirBulkExportJob;
+import org.openmrs.module.fhir2.FhirConstants;
+import org.openmrs.module.fhir2.api.dao.FhirBulkExportJobDao;
+import org.openmrs.module.fhir2.api.dao.FhirDao;
+import org.openmrs.module.fhir2.api.dao.FhirEncounterDao;
+import org.openmrs.module.fhir2.api.dao.FhirObservationDao;
+import org.openmrs.module.fhir2.api.dao.FhirPatientDao;
+import org.openmrs.module.fhir2.api.export.BulkExportJob;
+import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
+import org.openmrs.module.fhir2.api.translators.EncounterTranslator;
+import org.openmrs.module.fhir2.api.translators.ObservationTranslator;
+import org.openmrs.module.fhir2.api.translators.PatientTranslator;
+import org.openmrs.util.RoleConstants;
+
+@RunWith(MockitoJUnitRunner.class)
+public class FhirBulkExportServiceImplTest {
+	
+	private static final String PATIENT_UUID = "a7e04421-525f-442f-8138-05b619d16def";
+	
+	private static final String GROUP_UUID = "985ff1a2-c2ef-49fd-836f-8a1d936d9ef9";
+	
+	private static final String REQUEST = "http://localhost/ws/fhir2/R4/$export";
+	
+	private static final String USER_UUID = "1010d442-e134-11de-babe-001e378eb67e";
+	
+	private static final String OTHER_USER_UUID = "c98a1558-e131-11de-babe-001e378eb67e";
+	
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+	
+	@Mock
+	private FhirPatientDao patientDao;
+	
+	@Mock
+	private PatientTranslator patientTranslator;
+	
+	@Mock
+	private FhirEncounterDao encounterDao;
+	
+	@Mock
+	private EncounterTranslator encounterTranslator;
+	
+	@Mock
+	private FhirObservationDao observationDao;
+	
+	@Mock
+	private ObservationTranslator observationTranslator;
+	
+	private InMemoryBulkExportJobDao jobDao;
+	
+	private Cohort cohort;
+	
+	private User user;
+	
+	private FhirBulkExportServiceImpl bulkExportService;
+	
+	@Before
+	public void setup() throws IOException {
+		user = new User();
+		user.setUuid(USER_UUID);
+		
+		bulkExportService = new FhirBulkExportServiceImpl() {
+			
+			@Override
+			protected User getAuthenticatedUser() {
+				return user;
+			}
+			
+			@Override
+			protected Cohort getCohort(String groupId) {
+				return GROUP_UUID.equals(groupId) ? cohort : null;
+			}
+		};
+		
+		bulkExportService.setFhirContext(FhirContext.forR4());
+		bulkExportService.setPatientDao(patientDao);
+		bulkExportService.setPatientTranslator(patientTranslator);
+		bulkExportService.setEncounterDao(encounterDao);
+		bulkExportService.setEncounterTranslator(encounterTranslator);
+		bulkExportService.setObservationDao(observationDao);
+		bulkExportService.setObservationTranslator(observationTranslator);
+		jobDao = new InMemoryBulkExportJobDao();
+		bulkExportService.setJobDao(jobDao);
+		bulkExportService.setExecutor(Runnable::run);
+		bulkExportService.setOutputDirectory(temporaryFolder.newFolder());
+	}
+	
+	@Test
+	public void startExport_shouldWriteAnNdjsonFileForEachExportedResourceType() throws IOException {
+		org.openmrs.Patient openmrsPatient = new org.openmrs.Patient();
+		openmrsPatient.setUuid(PATIENT_UUID);
+		Patient patient = new Patient();
+		patient.setId(PATIENT_UUID);
+		when(patientTranslator.toFhirResource(openmrsPatient)).thenReturn(patient);
+		scrollReturns(patientDao, openmrsPatient);
+		
+		BulkExportJob job = bulkExportService.startExport(REQUEST, BulkExportJob.Level.SYSTEM, null, null, null);
+		
+		assertThat(job.getStatus(), equalTo(BulkExportJob.Status.COMPLETED));
+		assertThat(job.getExportedCount().get(), equalTo(1L));
+		assertThat(job.getOutputs(), hasSize(1));
+		assertThat(job.getOutputs().get(0).getResourceType(), equalTo(FhirConstants.PATIENT));
+		assertThat(job.getOutputs().get(0).getCount(), equalTo(1L));
+		
+		File file = bulkExportService.getOutputFile(job.getId(), job.getOutputs().get(0).getFileName());
+		assertThat(file, notNullValue());
+		
+		List<String> lines = readLines(file);
+		assertThat(lines, hasSize(1));
+		assertThat(lines.get(0), containsString(PATIENT_UUID));
+	}
+	
+	@Test
+	public void startExport_shouldOnlyExportRequestedResourceTypes() {
+		BulkExportJob job = bulkExportService.startExport(REQUEST, BulkExportJob.Level.SYSTEM, null,
+		    Collections.singleton(FhirConstants.OBSERVATION), null);
+		
+		assertThat(job.getResourceTypes(), contains(FhirConstants.OBSERVATION));
+		assertThat(job.getOutputs(), empty());
+		verify(observationDao).scroll(any(), anyInt(), any());
+	}
+	
+	@Test(expected = InvalidRequestException.class)
+	public void startExport_shouldRejectUnsupportedResourceTypes() {
+		bulkExportService.startExport(REQUEST, BulkExportJob.Level.SYSTEM, null,
+		    Collections.singleton(FhirConstants.MEDICATION), null);
+	}
+	
+	@Test(expected = ResourceNotFoundException.class)
+	public void startExport_shouldThrowIfGroupDoesNotExist() {
+		bulkExportService.startExport(REQUEST, BulkExportJob.Level.GROUP, "not-a-group", null, null);
+	}
+	
+	@Test
+	public void startExport_shouldFilterByLastUpdatedWhenSinceIsGiven() {
+		BulkExportJob job = bulkExportService.startExport(REQUEST, BulkExportJob.Level.SYSTEM, null,
+		    Collections.singleton(FhirConstants.ENCOUNTER), new Date());
+		
+		ArgumentCaptor<SearchParameterMap> captor = ArgumentCaptor.forClass(SearchParameterMap.class);
+		verify(encounterDao).scroll(captor.capture(), anyInt(), any());
+		
+		assertThat(job.getStatus(), equalTo(BulkExportJob.Status.COMPLETED));
+		assertThat(captor.getValue().getParameters(FhirConstants.COMMON_SEARCH_HANDLER), hasSize(1));
+		assertThat(captor.getValue().getParameters(FhirConstants.COMMON_SEARCH_HANDLER).get(0).getPropertyName(),
+		    equalTo(FhirConstants.LAST_UPDATED_PROPERTY));
+	}
+	
+	@Test
+	public void startExport_shouldRestrictGroupExportsToCohortMembers() {
+		cohort = new Cohort(Arrays.asList(1, 2));
+		when(patientDao.getPatientUuidsByIds(any())).thenReturn(Collections.singletonList(PATIENT_UUID));
+		
+		BulkExportJob job = bulkExportService.startExport(REQUEST, BulkExportJob.Level.GROUP, GROUP_UUID,
+		    Collections.singleton(FhirConstants.OBSERVATION), null);
+		
+		ArgumentCaptor<SearchParameterMap> captor = ArgumentCaptor.forClass(SearchParameterMap.class);
+		verify(observationDao).scroll(captor.capture(), eq(100), any());
+		
+		assertThat(job.getStatus(), equalTo(BulkExportJob.Status.COMPLETED));
+		assertThat(captor.getValue().getParameters(FhirConstants.PATIENT_REFERENCE_SEARCH_HANDLER), hasSize(1));
+	}
+	
+	@Test
+	public void startExport_shouldRecordFailures() {
+		doAnswer(invocation -> {
+			throw new IllegalStateException("Export failed");
+		}).when(patientDao).scroll(any(), anyInt(), any());
+		
+		BulkExportJob job = bulkExportService.startExport(REQUEST, BulkExportJob.Level.PATIENT, null,
+		    Collections.singleton(FhirConstants.PATIENT), null);
+		
+		assertThat(job.getStatus(), equalTo(BulkExportJob.Status.ERROR));
+		assertThat(job.getErrorMessage(), equalTo("Export failed"));
+	}
+	
+	@Test
+	public void getJob_shouldReadJobsStartedOnAnotherNode() {
+		org.openmrs.Patient openmrsPatient = new org.openmrs.Patient();
+		Patient patient = new Patient();
+		patient.setId(PATIENT_UUID);
+		when(patientTranslator.toFhirResource(openmrsPatient)).thenReturn(patient);
+		scrollReturns(patientDao, openmrsPatient);
+		BulkExportJob job = bulkExportService.startExport(REQUEST, BulkExportJob.Level.SYSTEM, null,
+		    Collections.singleton(FhirConstants.PATIENT), null);
+		
+		FhirBulkExportServiceImpl otherNode = new FhirBulkExportServiceImpl() {
+			
+			@Override
+			protected User getAuthenticatedUser() {
+				return user;
+			}
+		};
+		otherNode.setJobDao(jobDao);
+		BulkExportJob storedJob = otherNode.getJob(job.getId());
+		
+		assertThat(storedJob, notNullValue());
+		assertThat(storedJob.getStatus(), equalTo(BulkExportJob.Status.COMPLETED));
+		assertThat(storedJob.getRequest(), equalTo(REQUEST));
+		assertThat(storedJob.getRequestedBy(), equalTo(USER_UUID));
+		assertThat(storedJob.getResourceTypes(), contains(FhirConstants.PATIENT));
+		assertThat(storedJob.getExportedCount().get(), equalTo(1L));
+		assertThat(storedJob.getOutputs(), equalTo(job.getOutputs()));
+	}
+	
+	@Test
+	@SuppressWarnings("unchecked")
+	public void startExport_shouldStopWhenTheJobIsCancelledOnAnotherNode() {
+		org.openmrs.Patient openmrsPatient = new org.openmrs.Patient();
+		doAnswer(invocation -> {
+			jobDao.jobs.values().forEach(job -> job.setStatus(BulkExportJob.Status.CANCELLED.name()));
+			((Consumer<List<org.openmrs.Patient>>) invocation.getArgument(2))
+			        .accept(Collections.singletonList(openmrsPatient));
+			return null;
+		}).when(patientDao).scroll(any(), anyInt(), any());
+		
+		BulkExportJob job = bulkExportService.startExport(REQUEST, BulkExportJob.Level.SYSTEM, null,
+		    Collections.singleton(FhirConstants.PATIENT), null);
+		
+		assertThat(job.getStatus(), equalTo(BulkExportJob.Status.CANCELLED));
+		assertThat(job.getExportedCount().get(), equalTo(0L));
+		assertThat(jobDao.jobs.isEmpty(), is(true));
+	}
+	
+	@Test
+	public void cancelExport_shouldRemoveTheJob() {
+		BulkExportJob job = bulkExportService.startExport(REQUEST, BulkExportJob.Level.SYSTEM, null, null, null);
+		
+		assertThat(bulkExportService.cancelExport(job.getId()), is(true));
+		assertThat(bulkExportService.getJob(job.getId()), nullValue());
+		assertThat(bulkExportService.cancelExport(job.getId()), is(false));
+	}
+	
+	@Test
+	public void getJob_shouldNotReturnJobsRequestedByAnotherUser() {
+		BulkExportJob job = bulkExportService.startExport(REQUEST, BulkExportJob.Level.SYSTEM, null, null, null);
+		
+		user = new User();
+		user.setUuid(OTHER_USER_UUID);
+		
+		assertThat(bulkExportService.getJob(job.getId()), nullValue());
+		assertThat(bulkExportService.cancelExport(job.getId()), is(false));
+	}
+	
+	@Test
+	public void getJob_shouldReturnJobsRequestedByAnotherUserToSuperUsers() {
+		BulkExportJob job = bulkExportService.startExport(REQUEST, BulkExportJob.Level.SYSTEM, null, null, null);
+		
+		user = new User();
+		user.setUuid(OTHER_USER_UUID);
+		user.addRole(new Role(RoleConstants.SUPERUSER));
+		
+		assertThat(bulkExportService.getJob(job.getId()), notNullValue());
+	}
+	
+	@Test
+	public void getOutputFile_shouldReturnNullForFilesNotWrittenByTheJob() {
+		BulkExportJob job = bulkExportService.startExport(REQUEST, BulkExportJob.Level.SYSTEM, null, null, null);
+		
+		assertThat(job.getOutputs(), empty());
+		assertThat(bulkExportService.getOutputFile(job.getId(), "../" + FhirConstants.PATIENT + ".ndjson.gz"), nullValue());
+		assertThat(bulkExportService.getSupportedResourceTypes(), not(empty()));
+	}
+	
+	@SuppressWarnings("unchecked")
+	private static <T> void scrollReturns(FhirDao<?> dao, T result) {
+		doAnswer(invocation -> {
+			((Consumer<List<T>>) invocation.getArgument(2)).accept(Collections.singletonList(result));
+			return null;
+		}).when(dao).scroll(any(), anyInt(), any());
+	}
+	
+	private static class InMemoryBulkExportJobDao implements FhirBulkExportJobDao {
+		
+		private final Map<String, FhirBulkExportJob> jobs = new HashMap<>();
+		
+		@Override
+		public Optional<FhirBulkExportJob> getJob(String jobId) {
+			return Optional.ofNullable(jobs.get(jobId));
+		}
+		
+		@Override
+		public FhirBulkExportJob saveJob(FhirBulkExportJob job) {
+			jobs.put(job.getJobId(), job);
+			return job;
+		}
+		
+		@Override
+		public boolean updateProgress(String jobId, long exportedCount, Date expires) {
+			FhirBulkExportJob job = jobs.get(jobId);
+			if (job == null || BulkExportJob.Status.CANCELLED.name().equals(job.getStatus())) {
+				return false;
+			}
+			
+			job.setExportedCount(exportedCount);
+			job.setExpires(expires);
+			return true;
+		}
+		
+		@Override
+		public void deleteJob(String jobId) {
+			jobs.remove(jobId);
+		}
+		
+		@Override
+		public List<String> purgeExpiredJobs(Date before) {
+			List<String> expired = jobs.values().stream().filter(job -> job.getExpires().before(before))
+			        .map(FhirBulkExportJob::getJobId).collect(Collectors.toList());
+			expired.forEach(jobs::remove);
+			return expired;
+		}
+	}
+	
+	private static List<String> readLines(File file) throws IOException {
+		try (BufferedReader reader = new BufferedReader(
+		        new InputStreamReader(new GZIPInputStream(new FileInputStream(file)), StandardCharsets.UTF_8))) {
+			return reader.lines().collect(Collectors.toList());
+		}
+	}
+}
@@ -0,0 +1,156 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.hl7.fhir.r4.model.BooleanType;
+import org.hl7.fhir.r4.model.Parameters;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.openmrs.module.fhir2.FhirChange;
+import org.openmrs.module.fhir2.FhirConstants;
+import org.openmrs.module.fhir2.api.FhirGlobalPropertyService;
+import org.openmrs.module.fhir2.api.dao.FhirChangeDao;
+
+@RunWith(MockitoJUnitRunner.class)
+public class FhirChangeServiceImplTest {
+	
+	private static final String PATIENT_UUID = "a7e04421-525f-442f-8138-05b619d16def";
+	
+	private static final String OBS_UUID = "39fb7f47-e80a-4056-9285-bd798be13c63";
+	
+	private static final Date SETTLED = new Date(System.currentTimeMillis() - 2 * FhirChangeServiceImpl.SETTLE_TIME);
+	
+	@Mock
+	private FhirChangeDao dao;
+	
+	@Mock
+	private FhirGlobalPropertyService globalPropertyService;
+	
+	private FhirChangeServiceImpl changeService;
+	
+	@Before
+	public void setup() {
+		changeService = new FhirChangeServiceImpl();
+		changeService.setDao(dao);
+		changeService.setGlobalPropertyService(globalPropertyService);
+		
+		when(globalPropertyService.getGlobalProperty(FhirConstants.OPENMRS_FHIR_CHANGES_RETENTION_DAYS, 30))
+		        .thenReturn(30);
+	}
+	
+	@Test
+	public void getChanges_shouldReturnChangesAndNextSequence() {
+		when(dao.getChanges(10L, 2)).thenReturn(
+		    Arrays.asList(change(11, "Patient", PATIENT_UUID, FhirChange.Operation.UPDATE, SETTLED),
+		        change(12, "Observation", OBS_UUID, FhirChange.Operation.CREATE, SETTLED)));
+		
+		Parameters result = changeService.getChanges(10L, 2);
+		
+		List<Parameters.ParametersParameterComponent> changes = result.getParameter().stream()
+		        .filter(p -> "change".equals(p.getName())).collect(Collectors.toList());
+		assertThat(changes, hasSize(2));
+		assertThat(part(changes.get(0), "sequence"), equalTo("11"));
+		assertThat(part(changes.get(0), "resourceType"), equalTo("Patient"));
+		assertThat(part(changes.get(0), "id"), equalTo(PATIENT_UUID));
+		assertThat(part(changes.get(0), "operation"), equalTo("update"));
+		assertThat(part(changes.get(1), "id"), equalTo(OBS_UUID));
+		assertThat(result.getParameter("next").primitiveValue(), equalTo("12"));
+		assertThat(((BooleanType) result.getParameter("more")).getValue(), equalTo(true));
+	}
+	
+	@Test
+	public void getChanges_shouldReturnGivenSequenceWhenThereAreNoChanges() {
+		when(dao.getChanges(12L, 100)).thenReturn(Collections.emptyList());
+		
+		Parameters result = changeService.getChanges(12L, null);
+		
+		assertThat(result.getParameter(), hasSize(2));
+		assertThat(result.getParameter("next").primitiveValue(), equalTo("12"));
+		assertThat(((BooleanType) result.getParameter("more")).getValue(), equalTo(false));
+	}
+	
+	@Test
+	public void getChanges_shouldHoldBackChangesFromTheFirstRecentOne() {
+		when(dao.getChanges(10L, 100)).thenReturn(
+		    Arrays.asList(change(11, "Patient", PATIENT_UUID, FhirChange.Operation.UPDATE, SETTLED),
+		        change(13, "Observation", OBS_UUID, FhirChange.Operation.CREATE, new Date()),
+		        change(14, "Observation", OBS_UUID, FhirChange.Operation.UPDATE, SETTLED)));
+		
+		Parameters result = changeService.getChanges(10L, null);
+		
+		assertThat(result.getParameter().stream().filter(p -> "change".equals(p.getName())).count(), equalTo(1L));
+		assertThat(result.getParameter("next").primitiveValue(), equalTo("11"));
+		assertThat(((BooleanType) result.getParameter("more")).getValue(), equalTo(true));
+	}
+	
+	@Test
+	public void getChanges_shouldPurgeChangesOlderThanTheRetentionPeriod() {
+		changeService.getChanges(null, null);
+		changeService.getChanges(null, null);
+		
+		verify(dao, times(1)).purgeChanges(argThat(
+		    before -> before.getTime() <= System.currentTimeMillis() - TimeUnit.DAYS.toMillis(30)));
+	}
+	
+	@Test
+	public void getChanges_shouldNotPurgeChangesWithoutARetentionPeriod() {
+		when(globalPropertyService.getGlobalProperty(FhirConstants.OPENMRS_FHIR_CHANGES_RETENTION_DAYS, 30))
+		        .thenReturn(0);
+		
+		changeService.getChanges(null, null);
+		
+		verify(dao, never()).purgeChanges(any());
+	}
+	
+	@Test
+	public void getChanges_shouldLimitTheNumberOfChanges() {
+		changeService.getChanges(null, 1000000);
+		
+		verify(dao).getChanges(isNull(), eq(1000));
+	}
+	
+	private static FhirChange change(long id, String resourceType, String uuid, FhirChange.Operation operation,
+	        Date dateChanged) {
+		FhirChange change = new FhirChange();
+		change.setId(id);
+		change.setResourceType(resourceType);
+		change.setResourceUuid(uuid);
+		change.setOperation(operation);
+		change.setDateChanged(dateChanged);
+		return change;
+	}
+	
+	private static String part(Parameters.ParametersParameterComponent parameter, String name) {
+		return parameter.getPart().stream().filter(p -> name.equals(p.getName())).findFirst()
+		        .map(p -> p.getValue().primitiveValue()).orElse(null);
+	}
+}
@@ -15,6 +15,7 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
@@ -29,6 +30,7 @@ import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.openmrs.module.fhir2.FhirConceptSource;
 import org.openmrs.module.fhir2.api.dao.FhirConceptSourceDao;
+import org.openmrs.module.fhir2.api.mappings.ConceptSourceMap;
 
 @RunWith(MockitoJUnitRunner.class)
 public class FhirConceptSourceServiceImplTest {
@@ -36,12 +38,16 @@ public class FhirConceptSourceServiceImplTest {
 	@Mock
 	private FhirConceptSourceDao dao;
 	
+	@Mock
+	private ConceptSourceMap conceptSourceMap;
+	
 	private FhirConceptSourceServiceImpl fhirConceptSourceService;
 	
 	@Before
 	public void setup() {
 		fhirConceptSourceService = new FhirConceptSourceServiceImpl();
 		fhirConceptSourceService.setDao(dao);
+		fhirConceptSourceService.setConceptSourceMap(conceptSourceMap);
 	}
 	
 	@Test
@@ -104,4 +110,15 @@ public class FhirConceptSourceServiceImplTest {
 		
 		assertThat(result.isPresent(), is(false));
 	}
+	
+	@Test
+	public void saveFhirConceptSource_shouldRefreshTheConceptSourceMap() {
+		FhirConceptSource source = new FhirConceptSource();
+		when(dao.saveFhirConceptSource(source)).thenReturn(source);
+		
+		FhirConceptSource result = fhirConceptSourceService.saveFhirConceptSource(source);
+		
+		assertThat(result, equalTo(source));
+		verify(conceptSourceMap).refresh();
+	}
 }
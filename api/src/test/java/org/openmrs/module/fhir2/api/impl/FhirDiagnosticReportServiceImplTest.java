@@ -21,7 +21,6 @@ import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
@@ -37,6 +36,7 @@ import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.openmrs.Obs;
 import org.openmrs.module.fhir2.api.dao.FhirDiagnosticReportDao;
+import org.openmrs.module.fhir2.api.search.KeysetPage;
 import org.openmrs.module.fhir2.api.search.SearchQuery;
 import org.openmrs.module.fhir2.api.search.SearchQueryBundleProvider;
 import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
@@ -185,8 +185,8 @@ public class FhirDiagnosticReportServiceImplTest {
 		
 		SearchParameterMap theParams = new SearchParameterMap();
 		
-		when(dao.search(any(), any(), anyInt(), anyInt())).thenReturn(obsList);
-		when(dao.getResultUuids(any())).thenReturn(Collections.singletonList(UUID));
+		when(dao.searchPage(any(), any(), anyInt(), anyInt())).thenReturn(new KeysetPage<>(obsList, null));
+		when(dao.getSearchResultsCount(any())).thenReturn(1);
 		when(translator.toFhirResource(obs)).thenReturn(diagnosticReport);
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, translator));
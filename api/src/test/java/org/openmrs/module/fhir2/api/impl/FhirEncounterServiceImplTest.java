@@ -20,8 +20,6 @@ import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
 
 import ca.uhn.fhir.rest.api.server.IBundleProvider;
@@ -43,6 +41,7 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.openmrs.Encounter;
 import org.openmrs.module.fhir2.FhirConstants;
 import org.openmrs.module.fhir2.api.dao.FhirEncounterDao;
+import org.openmrs.module.fhir2.api.search.KeysetPage;
 import org.openmrs.module.fhir2.api.search.SearchQuery;
 import org.openmrs.module.fhir2.api.search.SearchQueryBundleProvider;
 import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
@@ -110,7 +109,7 @@ public class FhirEncounterServiceImplTest {
 	
 	@Test
 	public void searchForEncounter_shouldReturnCollectionOfEncounterByDate() {
-		Collection<Encounter> encounters = new ArrayList<>();
+		List<Encounter> encounters = new ArrayList<>();
 		DateRangeParam dateRangeParam = new DateRangeParam(new DateParam(ENCOUNTER_DATETIME));
 		
 		encounters.add(openMrsEncounter);
@@ -119,13 +118,13 @@ public class FhirEncounterServiceImplTest {
 		    dateRangeParam);
 		
 		fhirEncounter.setId(ENCOUNTER_UUID);
-		when(dao.search(any(), any(), anyInt(), anyInt())).thenReturn(encounters);
-		when(dao.getResultUuids(any())).thenReturn(Collections.singletonList(ENCOUNTER_UUID));
+		when(dao.searchPage(any(), any(), anyInt(), anyInt())).thenReturn(new KeysetPage<>(encounters, null));
+		when(dao.getSearchResultsCount(any())).thenReturn(1);
 		when(encounterTranslator.toFhirResource(openMrsEncounter)).thenReturn(fhirEncounter);
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, encounterTranslator));
 		
-		IBundleProvider results = encounterService.searchForEncounters(dateRangeParam, null, null, null);
+		IBundleProvider results = encounterService.searchForEncounters(dateRangeParam, null, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -141,20 +140,20 @@ public class FhirEncounterServiceImplTest {
 		location.addValue(new ReferenceOrListParam()
 		        .add(new ReferenceParam().setValue(ENCOUNTER_ADDRESS_STATE).setChain(Location.SP_ADDRESS_STATE)));
 		
-		Collection<Encounter> encounters = new ArrayList<>();
+		List<Encounter> encounters = new ArrayList<>();
 		encounters.add(openMrsEncounter);
 		fhirEncounter.setId(ENCOUNTER_UUID);
 		
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.LOCATION_REFERENCE_SEARCH_HANDLER,
 		    location);
 		
-		when(dao.search(any(), any(), anyInt(), anyInt())).thenReturn(encounters);
-		when(dao.getResultUuids(any())).thenReturn(Collections.singletonList(ENCOUNTER_UUID));
+		when(dao.searchPage(any(), any(), anyInt(), anyInt())).thenReturn(new KeysetPage<>(encounters, null));
+		when(dao.getSearchResultsCount(any())).thenReturn(1);
 		when(encounterTranslator.toFhirResource(openMrsEncounter)).thenReturn(fhirEncounter);
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, encounterTranslator));
 		
-		IBundleProvider results = encounterService.searchForEncounters(null, location, null, null);
+		IBundleProvider results = encounterService.searchForEncounters(null, location, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -170,7 +169,7 @@ public class FhirEncounterServiceImplTest {
 		participant.addValue(new ReferenceOrListParam()
 		        .add(new ReferenceParam().setValue(PARTICIPANT_IDENTIFIER).setChain(Practitioner.SP_IDENTIFIER)));
 		
-		Collection<Encounter> encounters = new ArrayList<>();
+		List<Encounter> encounters = new ArrayList<>();
 		encounters.add(openMrsEncounter);
 		
 		fhirEncounter.setId(ENCOUNTER_UUID);
@@ -178,13 +177,13 @@ public class FhirEncounterServiceImplTest {
 		SearchParameterMap theParams = new SearchParameterMap()
 		        .addParameter(FhirConstants.PARTICIPANT_REFERENCE_SEARCH_HANDLER, participant);
 		
-		when(dao.search(any(), any(), anyInt(), anyInt())).thenReturn(encounters);
-		when(dao.getResultUuids(any())).thenReturn(Collections.singletonList(ENCOUNTER_UUID));
+		when(dao.searchPage(any(), any(), anyInt(), anyInt())).thenReturn(new KeysetPage<>(encounters, null));
+		when(dao.getSearchResultsCount(any())).thenReturn(1);
 		when(encounterTranslator.toFhirResource(openMrsEncounter)).thenReturn(fhirEncounter);
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, encounterTranslator));
 		
-		IBundleProvider results = encounterService.searchForEncounters(null, null, participant, null);
+		IBundleProvider results = encounterService.searchForEncounters(null, null, participant, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -200,7 +199,7 @@ public class FhirEncounterServiceImplTest {
 		subject.addValue(
 		    new ReferenceOrListParam().add(new ReferenceParam().setValue(PATIENT_FAMILY_NAME).setChain(Patient.SP_FAMILY)));
 		
-		Collection<Encounter> encounters = new ArrayList<>();
+		List<Encounter> encounters = new ArrayList<>();
 		encounters.add(openMrsEncounter);
 		
 		fhirEncounter.setId(ENCOUNTER_UUID);
@@ -208,13 +207,13 @@ public class FhirEncounterServiceImplTest {
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.PATIENT_REFERENCE_SEARCH_HANDLER,
 		    subject);
 		
-		when(dao.search(any(), any(), anyInt(), anyInt())).thenReturn(encounters);
-		when(dao.getResultUuids(any())).thenReturn(Collections.singletonList(ENCOUNTER_UUID));
+		when(dao.searchPage(any(), any(), anyInt(), anyInt())).thenReturn(new KeysetPage<>(encounters, null));
+		when(dao.getSearchResultsCount(any())).thenReturn(1);
 		when(encounterTranslator.toFhirResource(openMrsEncounter)).thenReturn(fhirEncounter);
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, encounterTranslator));
 		
-		IBundleProvider results = encounterService.searchForEncounters(null, null, null, subject);
+		IBundleProvider results = encounterService.searchForEncounters(null, null, null, subject, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
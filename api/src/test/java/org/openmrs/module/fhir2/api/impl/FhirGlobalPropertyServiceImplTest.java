@@ -16,6 +16,8 @@ import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.HashMap;
@@ -27,6 +29,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.openmrs.GlobalProperty;
 import org.openmrs.module.fhir2.FhirConstants;
 import org.openmrs.module.fhir2.api.FhirGlobalPropertyService;
 import org.openmrs.module.fhir2.api.dao.FhirGlobalPropertyDao;
@@ -126,10 +129,67 @@ public class FhirGlobalPropertyServiceImplTest {
 	
 	@Test
 	public void shouldThrowNumberFormatException() {
-		when(globalPropertyService.getGlobalProperty(DEFAULT_PAGE_SIZE, DEFAULT_PAGE_SIZE_STRING_VALUE))
-		        .thenReturn("Invalid");
+		when(fhirGlobalPropertyDao.getGlobalProperty(DEFAULT_PAGE_SIZE)).thenReturn("Invalid");
 		Integer result = globalPropertyService.getGlobalProperty(DEFAULT_PAGE_SIZE, 0);
 		assertThat(result, notNullValue());
 		assertThat(result, is(0));
 	}
+	
+	@Test
+	public void shouldCacheGlobalPropertyValues() {
+		when(fhirGlobalPropertyDao.getGlobalProperty(PERSON_ATTRIBUTE_TYPE_VALUE)).thenReturn(PERSON_ATTRIBUTE_TYPE_UUID);
+		
+		globalPropertyService.getGlobalProperty(PERSON_ATTRIBUTE_TYPE_VALUE);
+		String result = globalPropertyService.getGlobalProperty(PERSON_ATTRIBUTE_TYPE_VALUE, "default");
+		
+		assertThat(result, equalTo(PERSON_ATTRIBUTE_TYPE_UUID));
+		verify(fhirGlobalPropertyDao, times(1)).getGlobalProperty(PERSON_ATTRIBUTE_TYPE_VALUE);
+	}
+	
+	@Test
+	public void shouldCacheMissingGlobalPropertyValues() {
+		globalPropertyService.getGlobalProperty(PERSON_ATTRIBUTE_TYPE_VALUE);
+		String result = globalPropertyService.getGlobalProperty(PERSON_ATTRIBUTE_TYPE_VALUE);
+		
+		assertThat(result, nullValue());
+		verify(fhirGlobalPropertyDao, times(1)).getGlobalProperty(PERSON_ATTRIBUTE_TYPE_VALUE);
+	}
+	
+	@Test
+	public void shouldReloadGlobalPropertyWhenChanged() {
+		when(fhirGlobalPropertyDao.getGlobalProperty(PERSON_ATTRIBUTE_TYPE_VALUE)).thenReturn(PERSON_ATTRIBUTE_TYPE_UUID,
+		    GLOBAL_PROPERTY_MODERATE);
+		
+		globalPropertyService.getGlobalProperty(PERSON_ATTRIBUTE_TYPE_VALUE);
+		globalPropertyService.globalPropertyChanged(new GlobalProperty(PERSON_ATTRIBUTE_TYPE_VALUE, GLOBAL_PROPERTY_MODERATE));
+		
+		assertThat(globalPropertyService.getGlobalProperty(PERSON_ATTRIBUTE_TYPE_VALUE), equalTo(GLOBAL_PROPERTY_MODERATE));
+	}
+	
+	@Test
+	public void shouldReloadGlobalPropertyWhenDeleted() {
+		when(fhirGlobalPropertyDao.getGlobalProperty(PERSON_ATTRIBUTE_TYPE_VALUE)).thenReturn(PERSON_ATTRIBUTE_TYPE_UUID,
+		    (String) null);
+		
+		globalPropertyService.getGlobalProperty(PERSON_ATTRIBUTE_TYPE_VALUE);
+		globalPropertyService.globalPropertyDeleted(PERSON_ATTRIBUTE_TYPE_VALUE);
+		
+		assertThat(globalPropertyService.getGlobalProperty(PERSON_ATTRIBUTE_TYPE_VALUE), nullValue());
+	}
+	
+	@Test
+	public void shouldOnlyLoadUncachedGlobalPropertiesInBulk() {
+		Map<String, String> uuids = new HashMap<>();
+		uuids.put(FhirConstants.GLOBAL_PROPERTY_SEVERE, GLOBAL_PROPERTY_MODERATE);
+		when(fhirGlobalPropertyDao.getGlobalProperty(FhirConstants.GLOBAL_PROPERTY_MODERATE))
+		        .thenReturn(GLOBAL_PROPERTY_MODERATE);
+		when(fhirGlobalPropertyDao.getGlobalProperties(FhirConstants.GLOBAL_PROPERTY_SEVERE)).thenReturn(uuids);
+		
+		globalPropertyService.getGlobalProperty(FhirConstants.GLOBAL_PROPERTY_MODERATE);
+		Map<String, String> values = globalPropertyService.getGlobalProperties(FhirConstants.GLOBAL_PROPERTY_MODERATE,
+		    FhirConstants.GLOBAL_PROPERTY_SEVERE);
+		
+		assertThat(values.size(), is(2));
+		assertThat(values.get(FhirConstants.GLOBAL_PROPERTY_MODERATE), equalTo(GLOBAL_PROPERTY_MODERATE));
+	}
 }
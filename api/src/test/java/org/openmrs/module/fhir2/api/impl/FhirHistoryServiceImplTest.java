@@ -0,0 +1,132 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+import java.util.Optional;
+
+import ca.uhn.fhir.context.FhirContext;
+import ca.uhn.fhir.rest.server.exceptions.InvalidRequestException;
+import org.hl7.fhir.r4.model.Patient;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.openmrs.module.fhir2.FhirResourceVersion;
+import org.openmrs.module.fhir2.api.dao.FhirResourceVersionDao;
+
+@RunWith(MockitoJUnitRunner.class)
+public class FhirHistoryServiceImplTest {
+	
+	private static final String PATIENT_UUID = "a7e04421-525f-442f-8138-05b619d16def";
+	
+	private static final String VERSION_ID = "3";
+	
+	@Mock
+	private FhirResourceVersionDao dao;
+	
+	@Captor
+	private ArgumentCaptor<FhirResourceVersion> versionCaptor;
+	
+	private FhirHistoryServiceImpl historyService;
+	
+	@Before
+	public void setup() {
+		historyService = new FhirHistoryServiceImpl();
+		historyService.setFhirContext(FhirContext.forR4());
+		historyService.setDao(dao);
+	}
+	
+	@Test
+	public void shouldStoreAndReadVersionOfResource() {
+		when(dao.getLatestVersionNumber("Patient", PATIENT_UUID)).thenReturn(2);
+		Patient patient = patient("Sanchez");
+		
+		historyService.saveVersion(patient);
+		
+		verify(dao).saveVersion(versionCaptor.capture());
+		FhirResourceVersion version = versionCaptor.getValue();
+		assertThat(version.getResourceType(), equalTo("Patient"));
+		assertThat(version.getResourceUuid(), equalTo(PATIENT_UUID));
+		assertThat(version.getVersionNumber(), equalTo(3));
+		assertThat(patient.getMeta().getVersionId(), equalTo(VERSION_ID));
+		
+		when(dao.getVersion("Patient", PATIENT_UUID, 3)).thenReturn(Optional.of(version));
+		Patient result = historyService.getVersion(Patient.class, PATIENT_UUID, VERSION_ID);
+		
+		assertThat(result.getIdElement().getIdPart(), equalTo(PATIENT_UUID));
+		assertThat(result.getMeta().getVersionId(), equalTo(VERSION_ID));
+		assertThat(result.getNameFirstRep().getFamily(), equalTo("Sanchez"));
+	}
+	
+	@Test
+	public void shouldReturnNullForUnknownVersion() {
+		when(dao.getVersion("Patient", PATIENT_UUID, 3)).thenReturn(Optional.empty());
+		
+		assertThat(historyService.getVersion(Patient.class, PATIENT_UUID, VERSION_ID), nullValue());
+	}
+	
+	@Test
+	public void shouldReturnNullForVersionIdWhichIsNotAVersionNumber() {
+		assertThat(historyService.getVersion(Patient.class, PATIENT_UUID, "1590000000000"), nullValue());
+	}
+	
+	@Test
+	public void shouldNumberEachStoredVersionAfterTheLatestOne() {
+		when(dao.getLatestVersionNumber("Patient", PATIENT_UUID)).thenReturn(0, 1);
+		
+		historyService.saveVersion(patient("Sanchez"));
+		historyService.saveVersion(patient("Sanchez"));
+		
+		verify(dao, times(2)).saveVersion(versionCaptor.capture());
+		assertThat(versionCaptor.getAllValues().get(0).getVersionNumber(), equalTo(1));
+		assertThat(versionCaptor.getAllValues().get(1).getVersionNumber(), equalTo(2));
+	}
+	
+	@Test
+	public void shouldReturnStoredVersionsInOrder() {
+		when(dao.getLatestVersionNumber("Patient", PATIENT_UUID)).thenReturn(1, 0);
+		historyService.saveVersion(patient("Smith"));
+		historyService.saveVersion(patient("Sanchez"));
+		verify(dao, times(2)).saveVersion(versionCaptor.capture());
+		when(dao.getVersions("Patient", PATIENT_UUID)).thenReturn(versionCaptor.getAllValues());
+		
+		assertThat(historyService.getHistory(Patient.class, PATIENT_UUID), hasSize(2));
+		assertThat(historyService.getHistory(Patient.class, PATIENT_UUID).get(0).getNameFirstRep().getFamily(),
+		    equalTo("Smith"));
+	}
+	
+	@Test(expected = InvalidRequestException.class)
+	public void shouldNotStoreUnversionedResource() {
+		Patient patient = new Patient();
+		patient.setId(PATIENT_UUID);
+		
+		historyService.saveVersion(patient);
+	}
+	
+	private Patient patient(String familyName) {
+		Patient patient = new Patient();
+		patient.setId(PATIENT_UUID);
+		patient.getMeta().setLastUpdated(new Date());
+		patient.addName().setFamily(familyName);
+		return patient;
+	}
+}
@@ -10,14 +10,17 @@
 package org.openmrs.module.fhir2.api.impl;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasProperty;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
@@ -37,11 +40,14 @@ import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.openmrs.Location;
 import org.openmrs.LocationTag;
+import org.openmrs.module.fhir2.api.FhirHistoryService;
 import org.openmrs.module.fhir2.api.dao.FhirLocationDao;
+import org.openmrs.module.fhir2.api.search.KeysetPage;
 import org.openmrs.module.fhir2.api.search.SearchQuery;
 import org.openmrs.module.fhir2.api.search.SearchQueryBundleProvider;
 import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
 import org.openmrs.module.fhir2.api.translators.LocationTranslator;
+import org.openmrs.module.fhir2.api.util.FhirUtils;
 
 @RunWith(MockitoJUnitRunner.class)
 public class FhirLocationServiceImplTest {
@@ -74,6 +80,9 @@ public class FhirLocationServiceImplTest {
 	@Mock
 	LocationTranslator locationTranslator;
 	
+	@Mock
+	FhirHistoryService historyService;
+	
 	@Mock
 	SearchQuery<Location, org.hl7.fhir.r4.model.Location, FhirLocationDao, LocationTranslator> searchQuery;
 	
@@ -89,6 +98,7 @@ public class FhirLocationServiceImplTest {
 		fhirLocationService.setDao(locationDao);
 		fhirLocationService.setTranslator(locationTranslator);
 		fhirLocationService.setSearchQuery(searchQuery);
+		fhirLocationService.setHistoryService(historyService);
 		
 		location = new Location();
 		location.setUuid(LOCATION_UUID);
@@ -126,17 +136,92 @@ public class FhirLocationServiceImplTest {
 		assertThat(result.getDescription(), equalTo(LOCATION_DESCRIPTION));
 	}
 	
+	@Test
+	public void getHistory_shouldStartWithTheCurrentStateIfItIsNotStored() {
+		Date lastUpdated = new Date();
+		org.hl7.fhir.r4.model.Location storedVersion = new org.hl7.fhir.r4.model.Location();
+		storedVersion.setId(LOCATION_UUID);
+		storedVersion.getMeta().setVersionId(FhirUtils.getVersionId(new Date(lastUpdated.getTime() - 1000)));
+		when(locationDao.get(LOCATION_UUID)).thenReturn(location);
+		when(locationDao.getLastUpdated(LOCATION_UUID)).thenReturn(lastUpdated);
+		when(locationTranslator.toFhirResource(location)).thenReturn(fhirLocation);
+		when(historyService.getHistory(org.hl7.fhir.r4.model.Location.class, LOCATION_UUID))
+		        .thenReturn(Collections.singletonList(storedVersion));
+		
+		List<org.hl7.fhir.r4.model.Location> history = fhirLocationService.getHistory(LOCATION_UUID);
+		
+		assertThat(history, contains(fhirLocation, storedVersion));
+		assertThat(history.get(0).getMeta().getVersionId(), equalTo(FhirUtils.getVersionId(lastUpdated)));
+	}
+	
+	@Test
+	public void getHistory_shouldNotRepeatTheCurrentStateIfItIsStored() {
+		fhirLocation.getMeta().setVersionId("1");
+		org.hl7.fhir.r4.model.Location storedVersion = new org.hl7.fhir.r4.model.Location();
+		storedVersion.setId(LOCATION_UUID);
+		storedVersion.getMeta().setVersionId("1");
+		when(locationDao.get(LOCATION_UUID)).thenReturn(location);
+		when(locationTranslator.toFhirResource(location)).thenReturn(fhirLocation);
+		when(historyService.getHistory(org.hl7.fhir.r4.model.Location.class, LOCATION_UUID))
+		        .thenReturn(Collections.singletonList(storedVersion));
+		
+		assertThat(fhirLocationService.getHistory(LOCATION_UUID), contains(storedVersion));
+	}
+	
+	@Test
+	public void getHistory_shouldNotRepeatTheCurrentStateIfItIsStoredWithTheSameLastUpdated() {
+		Date lastUpdated = new Date();
+		fhirLocation.getMeta().setVersionId(FhirUtils.getVersionId(lastUpdated)).setLastUpdated(lastUpdated);
+		org.hl7.fhir.r4.model.Location storedVersion = new org.hl7.fhir.r4.model.Location();
+		storedVersion.setId(LOCATION_UUID);
+		storedVersion.getMeta().setVersionId("2").setLastUpdated(new Date(lastUpdated.getTime()));
+		when(locationDao.get(LOCATION_UUID)).thenReturn(location);
+		when(locationTranslator.toFhirResource(location)).thenReturn(fhirLocation);
+		when(historyService.getHistory(org.hl7.fhir.r4.model.Location.class, LOCATION_UUID))
+		        .thenReturn(Collections.singletonList(storedVersion));
+		
+		assertThat(fhirLocationService.getHistory(LOCATION_UUID), contains(storedVersion));
+	}
+	
+	@Test
+	public void getVersion_shouldReturnTheCurrentStateForTheVersionIdItIsReadWith() {
+		fhirLocation.getMeta().setVersionId("1590000000000");
+		when(locationDao.get(LOCATION_UUID)).thenReturn(location);
+		when(locationTranslator.toFhirResource(location)).thenReturn(fhirLocation);
+		
+		assertThat(fhirLocationService.getVersion(LOCATION_UUID, "1590000000000"), equalTo(fhirLocation));
+		assertThat(fhirLocationService.getVersion(LOCATION_UUID, "1580000000000"), nullValue());
+	}
+	
+	@Test
+	public void delete_shouldStoreTheDeletedVersion() {
+		Date lastUpdated = new Date();
+		when(locationDao.delete(LOCATION_UUID)).thenReturn(location);
+		when(locationDao.getLastUpdated(LOCATION_UUID)).thenReturn(lastUpdated);
+		when(locationTranslator.toFhirResource(location)).thenReturn(fhirLocation);
+		
+		fhirLocationService.delete(LOCATION_UUID);
+		
+		verify(historyService).saveVersion(fhirLocation);
+		assertThat(fhirLocation.getMeta().getLastUpdated(), equalTo(lastUpdated));
+	}
+	
+	@Test
+	public void getHistory_shouldReturnNoVersionsForAnUnknownLocation() {
+		assertThat(fhirLocationService.getHistory(LOCATION_UUID), empty());
+	}
+	
 	@Test
 	public void searchForLocations_shouldReturnLocationsByParameters() {
 		List<Location> locations = new ArrayList<>();
 		locations.add(location);
 		
 		SearchParameterMap theParams = new SearchParameterMap();
-		when(locationDao.getResultUuids(any())).thenReturn(Collections.singletonList(LOCATION_UUID));
+		when(locationDao.getSearchResultsCount(any())).thenReturn(1);
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, locationDao, locationTranslator));
 		when(locationTranslator.toFhirResource(location)).thenReturn(fhirLocation);
-		when(locationDao.search(any(), any(), anyInt(), anyInt())).thenReturn(locations);
+		when(locationDao.searchPage(any(), any(), anyInt(), anyInt())).thenReturn(new KeysetPage<>(locations, null));
 		
 		IBundleProvider results = fhirLocationService.searchForLocations(null, null, null, null, null, null, null, null);
 		
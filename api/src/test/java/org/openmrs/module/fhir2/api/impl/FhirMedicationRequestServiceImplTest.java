@@ -21,8 +21,6 @@ import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
 
 import ca.uhn.fhir.rest.api.server.IBundleProvider;
@@ -47,6 +45,7 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.openmrs.DrugOrder;
 import org.openmrs.module.fhir2.FhirConstants;
 import org.openmrs.module.fhir2.api.dao.FhirMedicationRequestDao;
+import org.openmrs.module.fhir2.api.search.KeysetPage;
 import org.openmrs.module.fhir2.api.search.SearchQuery;
 import org.openmrs.module.fhir2.api.search.SearchQueryBundleProvider;
 import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
@@ -116,7 +115,7 @@ public class FhirMedicationRequestServiceImplTest {
 		participant.addValue(
 		    new ReferenceOrListParam().add(new ReferenceParam().setValue("1").setChain(Practitioner.SP_IDENTIFIER)));
 		
-		Collection<DrugOrder> drugOrders = new ArrayList<>();
+		List<DrugOrder> drugOrders = new ArrayList<>();
 		
 		drugOrders.add(drugOrder);
 		
@@ -125,14 +124,14 @@ public class FhirMedicationRequestServiceImplTest {
 		SearchParameterMap theParams = new SearchParameterMap()
 		        .addParameter(FhirConstants.PARTICIPANT_REFERENCE_SEARCH_HANDLER, participant);
 		
-		when(dao.search(any(), any(), anyInt(), anyInt())).thenReturn(drugOrders);
-		when(dao.getResultUuids(any())).thenReturn(Collections.singletonList(MEDICATION_REQUEST_UUID));
+		when(dao.searchPage(any(), any(), anyInt(), anyInt())).thenReturn(new KeysetPage<>(drugOrders, null));
+		when(dao.getSearchResultsCount(any())).thenReturn(1);
 		when(medicationRequestTranslator.toFhirResource(drugOrder)).thenReturn(medicationRequest);
 		
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, medicationRequestTranslator));
 		
-		IBundleProvider results = medicationRequestService.searchForMedicationRequests(null, null, null, participant, null);
+		IBundleProvider results = medicationRequestService.searchForMedicationRequests(null, null, null, participant, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -147,7 +146,7 @@ public class FhirMedicationRequestServiceImplTest {
 		
 		subject.addValue(new ReferenceOrListParam().add(new ReferenceParam().setValue("john").setChain(Patient.SP_FAMILY)));
 		
-		Collection<DrugOrder> drugOrders = new ArrayList<>();
+		List<DrugOrder> drugOrders = new ArrayList<>();
 		
 		drugOrders.add(drugOrder);
 		
@@ -156,13 +155,13 @@ public class FhirMedicationRequestServiceImplTest {
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.PATIENT_REFERENCE_SEARCH_HANDLER,
 		    subject);
 		
-		when(dao.search(any(), any(), anyInt(), anyInt())).thenReturn(drugOrders);
-		when(dao.getResultUuids(any())).thenReturn(Collections.singletonList(MEDICATION_REQUEST_UUID));
+		when(dao.searchPage(any(), any(), anyInt(), anyInt())).thenReturn(new KeysetPage<>(drugOrders, null));
+		when(dao.getSearchResultsCount(any())).thenReturn(1);
 		when(medicationRequestTranslator.toFhirResource(drugOrder)).thenReturn(medicationRequest);
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, medicationRequestTranslator));
 		
-		IBundleProvider results = medicationRequestService.searchForMedicationRequests(subject, null, null, null, null);
+		IBundleProvider results = medicationRequestService.searchForMedicationRequests(subject, null, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -178,7 +177,7 @@ public class FhirMedicationRequestServiceImplTest {
 		medication.addValue(new ReferenceOrListParam()
 		        .add(new ReferenceParam().setValue("jdjshd-ksksk").setChain(Medication.SP_IDENTIFIER)));
 		
-		Collection<DrugOrder> drugOrders = new ArrayList<>();
+		List<DrugOrder> drugOrders = new ArrayList<>();
 		
 		drugOrders.add(drugOrder);
 		
@@ -187,13 +186,13 @@ public class FhirMedicationRequestServiceImplTest {
 		SearchParameterMap theParams = new SearchParameterMap()
 		        .addParameter(FhirConstants.MEDICATION_REFERENCE_SEARCH_HANDLER, medication);
 		
-		when(dao.search(any(), any(), anyInt(), anyInt())).thenReturn(drugOrders);
+		when(dao.searchPage(any(), any(), anyInt(), anyInt())).thenReturn(new KeysetPage<>(drugOrders, null));
 		when(medicationRequestTranslator.toFhirResource(drugOrder)).thenReturn(medicationRequest);
-		when(dao.getResultUuids(any())).thenReturn(Collections.singletonList(MEDICATION_REQUEST_UUID));
+		when(dao.getSearchResultsCount(any())).thenReturn(1);
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, medicationRequestTranslator));
 		
-		IBundleProvider results = medicationRequestService.searchForMedicationRequests(null, null, null, null, medication);
+		IBundleProvider results = medicationRequestService.searchForMedicationRequests(null, null, null, null, medication, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -206,7 +205,7 @@ public class FhirMedicationRequestServiceImplTest {
 	public void searchForMedicationRequest_shouldReturnCollectionOfMedicationRequestByMedicationCode() {
 		TokenAndListParam code = new TokenAndListParam();
 		code.addAnd(new TokenOrListParam().addOr(new TokenParam().setValue("25363")));
-		Collection<DrugOrder> drugOrders = new ArrayList<>();
+		List<DrugOrder> drugOrders = new ArrayList<>();
 		
 		drugOrders.add(drugOrder);
 		
@@ -214,13 +213,13 @@ public class FhirMedicationRequestServiceImplTest {
 		
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.CODED_SEARCH_HANDLER, code);
 		
-		when(dao.search(any(), any(), anyInt(), anyInt())).thenReturn(drugOrders);
-		when(dao.getResultUuids(any())).thenReturn(Collections.singletonList(MEDICATION_REQUEST_UUID));
+		when(dao.searchPage(any(), any(), anyInt(), anyInt())).thenReturn(new KeysetPage<>(drugOrders, null));
+		when(dao.getSearchResultsCount(any())).thenReturn(1);
 		when(medicationRequestTranslator.toFhirResource(drugOrder)).thenReturn(medicationRequest);
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, medicationRequestTranslator));
 		
-		IBundleProvider results = medicationRequestService.searchForMedicationRequests(null, null, code, null, null);
+		IBundleProvider results = medicationRequestService.searchForMedicationRequests(null, null, code, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -236,7 +235,7 @@ public class FhirMedicationRequestServiceImplTest {
 		encounter.addValue(new ReferenceOrListParam()
 		        .add(new ReferenceParam().setValue("jdjdj-kdkdkkd-kddd").setChain(Encounter.SP_IDENTIFIER)));
 		
-		Collection<DrugOrder> drugOrders = new ArrayList<>();
+		List<DrugOrder> drugOrders = new ArrayList<>();
 		
 		drugOrders.add(drugOrder);
 		
@@ -245,14 +244,14 @@ public class FhirMedicationRequestServiceImplTest {
 		SearchParameterMap theParams = new SearchParameterMap()
 		        .addParameter(FhirConstants.ENCOUNTER_REFERENCE_SEARCH_HANDLER, encounter);
 		
-		when(dao.search(any(), any(), anyInt(), anyInt())).thenReturn(drugOrders);
-		when(dao.getResultUuids(any())).thenReturn(Collections.singletonList(MEDICATION_REQUEST_UUID));
+		when(dao.searchPage(any(), any(), anyInt(), anyInt())).thenReturn(new KeysetPage<>(drugOrders, null));
+		when(dao.getSearchResultsCount(any())).thenReturn(1);
 		when(medicationRequestTranslator.toFhirResource(drugOrder)).thenReturn(medicationRequest);
 		
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, medicationRequestTranslator));
 		
-		IBundleProvider results = medicationRequestService.searchForMedicationRequests(null, encounter, null, null, null);
+		IBundleProvider results = medicationRequestService.searchForMedicationRequests(null, encounter, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -21,8 +21,6 @@ import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
 
 import ca.uhn.fhir.rest.api.server.IBundleProvider;
@@ -41,6 +39,7 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.openmrs.Drug;
 import org.openmrs.module.fhir2.FhirConstants;
 import org.openmrs.module.fhir2.api.dao.FhirMedicationDao;
+import org.openmrs.module.fhir2.api.search.KeysetPage;
 import org.openmrs.module.fhir2.api.search.SearchQuery;
 import org.openmrs.module.fhir2.api.search.SearchQueryBundleProvider;
 import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
@@ -111,7 +110,7 @@ public class FhirMedicationServiceImplTest {
 	
 	@Test
 	public void searchForMedications_shouldSearchMedicationsByCode() {
-		Collection<Drug> medications = new ArrayList<>();
+		List<Drug> medications = new ArrayList<>();
 		medications.add(drug);
 		
 		TokenAndListParam code = new TokenAndListParam();
@@ -119,8 +118,8 @@ public class FhirMedicationServiceImplTest {
 		
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.CODED_SEARCH_HANDLER, code);
 		
-		when(medicationDao.getResultUuids(any())).thenReturn(Collections.singletonList(MEDICATION_UUID));
-		when(medicationDao.search(any(), any(), anyInt(), anyInt())).thenReturn(medications);
+		when(medicationDao.getSearchResultsCount(any())).thenReturn(1);
+		when(medicationDao.searchPage(any(), any(), anyInt(), anyInt())).thenReturn(new KeysetPage<>(medications, null));
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, medicationDao, medicationTranslator));
 		when(medicationTranslator.toFhirResource(drug)).thenReturn(medication);
@@ -136,7 +135,7 @@ public class FhirMedicationServiceImplTest {
 	
 	@Test
 	public void searchForMedications_shouldSearchMedicationsByDosageForm() {
-		Collection<Drug> medications = new ArrayList<>();
+		List<Drug> medications = new ArrayList<>();
 		medications.add(drug);
 		
 		TokenAndListParam dosageForm = new TokenAndListParam();
@@ -145,8 +144,8 @@ public class FhirMedicationServiceImplTest {
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.DOSAGE_FORM_SEARCH_HANDLER,
 		    dosageForm);
 		
-		when(medicationDao.getResultUuids(any())).thenReturn(Collections.singletonList(MEDICATION_UUID));
-		when(medicationDao.search(any(), any(), anyInt(), anyInt())).thenReturn(medications);
+		when(medicationDao.getSearchResultsCount(any())).thenReturn(1);
+		when(medicationDao.searchPage(any(), any(), anyInt(), anyInt())).thenReturn(new KeysetPage<>(medications, null));
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, medicationDao, medicationTranslator));
 		when(medicationTranslator.toFhirResource(drug)).thenReturn(medication);
@@ -162,7 +161,7 @@ public class FhirMedicationServiceImplTest {
 	
 	@Test
 	public void searchForMedications_shouldSearchMedicationsByIngredientCode() {
-		Collection<Drug> medications = new ArrayList<>();
+		List<Drug> medications = new ArrayList<>();
 		medications.add(drug);
 		
 		TokenAndListParam ingredientCode = new TokenAndListParam();
@@ -171,8 +170,8 @@ public class FhirMedicationServiceImplTest {
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.INGREDIENT_SEARCH_HANDLER,
 		    ingredientCode);
 		
-		when(medicationDao.getResultUuids(any())).thenReturn(Collections.singletonList(MEDICATION_UUID));
-		when(medicationDao.search(any(), any(), anyInt(), anyInt())).thenReturn(medications);
+		when(medicationDao.getSearchResultsCount(any())).thenReturn(1);
+		when(medicationDao.searchPage(any(), any(), anyInt(), anyInt())).thenReturn(new KeysetPage<>(medications, null));
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, medicationDao, medicationTranslator));
 		when(medicationTranslator.toFhirResource(drug)).thenReturn(medication);
@@ -188,7 +187,7 @@ public class FhirMedicationServiceImplTest {
 	
 	@Test
 	public void searchForMedications_shouldSearchMedicationsByStatus() {
-		Collection<Drug> medications = new ArrayList<>();
+		List<Drug> medications = new ArrayList<>();
 		medications.add(drug);
 		
 		TokenAndListParam status = new TokenAndListParam();
@@ -196,8 +195,8 @@ public class FhirMedicationServiceImplTest {
 		
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.BOOLEAN_SEARCH_HANDLER, status);
 		
-		when(medicationDao.getResultUuids(any())).thenReturn(Collections.singletonList(MEDICATION_UUID));
-		when(medicationDao.search(any(), any(), anyInt(), anyInt())).thenReturn(medications);
+		when(medicationDao.getSearchResultsCount(any())).thenReturn(1);
+		when(medicationDao.searchPage(any(), any(), anyInt(), anyInt())).thenReturn(new KeysetPage<>(medications, null));
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, medicationDao, medicationTranslator));
 		when(medicationTranslator.toFhirResource(drug)).thenReturn(medication);
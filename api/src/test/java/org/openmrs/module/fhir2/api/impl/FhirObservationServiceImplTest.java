@@ -15,20 +15,32 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
+import ca.uhn.fhir.rest.api.MethodOutcome;
 import ca.uhn.fhir.rest.api.server.IBundleProvider;
 import ca.uhn.fhir.rest.param.ReferenceAndListParam;
 import ca.uhn.fhir.rest.param.ReferenceOrListParam;
 import ca.uhn.fhir.rest.param.ReferenceParam;
+import ca.uhn.fhir.rest.server.exceptions.InvalidRequestException;
+import org.hibernate.exception.ConstraintViolationException;
 import org.hl7.fhir.instance.model.api.IBaseResource;
 import org.hl7.fhir.r4.model.Observation;
+import org.hl7.fhir.r4.model.OperationOutcome;
 import org.hl7.fhir.r4.model.Patient;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -36,11 +48,14 @@ import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.openmrs.Obs;
 import org.openmrs.module.fhir2.FhirConstants;
+import org.openmrs.module.fhir2.api.FhirHistoryService;
 import org.openmrs.module.fhir2.api.dao.FhirObservationDao;
+import org.openmrs.module.fhir2.api.search.KeysetPage;
 import org.openmrs.module.fhir2.api.search.SearchQuery;
 import org.openmrs.module.fhir2.api.search.SearchQueryBundleProvider;
 import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
 import org.openmrs.module.fhir2.api.translators.ObservationTranslator;
+import org.openmrs.validator.ValidateUtil;
 
 @RunWith(MockitoJUnitRunner.class)
 public class FhirObservationServiceImplTest {
@@ -58,14 +73,24 @@ public class FhirObservationServiceImplTest {
 	@Mock
 	private ObservationTranslator translator;
 	
+	@Mock
+	private FhirHistoryService historyService;
+	
 	private FhirObservationServiceImpl fhirObservationService;
 	
 	@Before
 	public void setup() {
+		ValidateUtil.setDisableValidation(true);
 		fhirObservationService = new FhirObservationServiceImpl();
 		fhirObservationService.setDao(dao);
 		fhirObservationService.setSearchQuery(searchQuery);
 		fhirObservationService.setTranslator(translator);
+		fhirObservationService.setHistoryService(historyService);
+	}
+	
+	@After
+	public void tearDown() {
+		ValidateUtil.setDisableValidation(false);
 	}
 	
 	@Test
@@ -102,22 +127,80 @@ public class FhirObservationServiceImplTest {
 		theParams.addParameter(FhirConstants.PATIENT_REFERENCE_SEARCH_HANDLER, patientReference);
 		
 		when(dao.getPreferredPageSize()).thenReturn(10);
-		when(dao.getResultUuids(any())).thenReturn(Collections.singletonList(OBS_UUID));
-		when(dao.search(any(), any(), anyInt(), anyInt())).thenReturn(Collections.singletonList(obs));
+		when(dao.getSearchResultsCount(any())).thenReturn(1);
+		when(dao.searchPage(any(), any(), anyInt(), anyInt())).thenReturn(new KeysetPage<>(Collections.singletonList(obs), null));
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, translator));
 		when(translator.toFhirResource(obs)).thenReturn(observation);
 		
 		IBundleProvider results = fhirObservationService.searchForObservations(null, patientReference, null, null, null,
-		    null, null, null, null, null, null);
+		    null, null, null, null, null, null, null);
 		
 		assertThat(results, notNullValue());
 		assertThat(results.size(), equalTo(1));
 		assertThat(results.preferredPageSize(), equalTo(10));
 		
-		List<IBaseResource> resultList = results.getResources(1, 10);
+		List<IBaseResource> resultList = results.getResources(0, 10);
 		
 		assertThat(resultList, not(empty()));
 		assertThat(resultList, hasSize(equalTo(1)));
 	}
+	
+	@Test
+	public void createObservations_shouldReportAnOutcomeForEachObservation() {
+		Observation valid = new Observation();
+		valid.setId(OBS_UUID);
+		Observation invalid = new Observation();
+		Obs obs = new Obs();
+		obs.setUuid(OBS_UUID);
+		Observation saved = new Observation();
+		saved.setId(OBS_UUID);
+		when(translator.toOpenmrsType(valid)).thenReturn(obs);
+		when(translator.toOpenmrsType(invalid)).thenThrow(new InvalidRequestException("Invalid observation"));
+		when(translator.toFhirResource(obs)).thenReturn(saved);
+		
+		List<MethodOutcome> outcomes = fhirObservationService.createObservations(Arrays.asList(valid, invalid));
+		
+		assertThat(outcomes, hasSize(2));
+		assertThat(outcomes.get(0).getCreated(), equalTo(true));
+		assertThat(outcomes.get(0).getId().getIdPart(), equalTo(OBS_UUID));
+		assertThat(outcomes.get(1).getCreated(), equalTo(false));
+		assertThat(((OperationOutcome) outcomes.get(1).getOperationOutcome()).getIssueFirstRep().getDiagnostics(),
+		    equalTo("Invalid observation"));
+		verify(dao).createOrUpdateAll(Collections.singletonList(obs));
+		verify(historyService).saveVersion(saved);
+	}
+	
+	@Test
+	public void createObservations_shouldNotReportObservationsOfAChunkThatFailedToSave() {
+		Observation observation = new Observation();
+		Obs obs = new Obs();
+		when(translator.toOpenmrsType(observation)).thenReturn(obs);
+		doThrow(new ConstraintViolationException("Duplicate entry", null, null)).when(dao).createOrUpdateAll(any());
+		
+		try {
+			fhirObservationService.createObservations(Collections.singletonList(observation));
+			fail("Expected the failure to save the chunk to be thrown");
+		}
+		catch (ConstraintViolationException e) {
+			verify(historyService, never()).saveVersion(any());
+		}
+	}
+	
+	@Test
+	public void createObservations_shouldSaveObservationsInChunks() {
+		fhirObservationService.setIngestionChunkSize(2);
+		List<Observation> observations = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			Observation observation = new Observation();
+			observations.add(observation);
+			when(translator.toOpenmrsType(observation)).thenReturn(new Obs());
+		}
+		
+		List<MethodOutcome> outcomes = fhirObservationService.createObservations(observations);
+		
+		assertThat(outcomes, hasSize(5));
+		assertThat(observations.get(0).getIdElement().getIdPart(), notNullValue());
+		verify(dao, times(3)).createOrUpdateAll(any());
+	}
 }
@@ -24,8 +24,6 @@ import static org.mockito.Mockito.when;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
@@ -47,6 +45,7 @@ import org.openmrs.PersonAddress;
 import org.openmrs.PersonName;
 import org.openmrs.module.fhir2.FhirConstants;
 import org.openmrs.module.fhir2.api.dao.FhirPatientDao;
+import org.openmrs.module.fhir2.api.search.KeysetPage;
 import org.openmrs.module.fhir2.api.search.SearchQuery;
 import org.openmrs.module.fhir2.api.search.SearchQueryBundleProvider;
 import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
@@ -149,14 +148,14 @@ public class FhirPatientServiceImplTest {
 	
 	@Test
 	public void searchForPatients_shouldSearchForPatientsByName() {
-		Collection<Patient> patients = new ArrayList<>();
+		List<Patient> patients = new ArrayList<>();
 		patients.add(patient);
 		StringAndListParam stringAndListParam = new StringAndListParam().addAnd(new StringParam(PATIENT_GIVEN_NAME));
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.NAME_SEARCH_HANDLER,
 		    stringAndListParam);
 		
-		when(dao.getResultUuids(any())).thenReturn(Collections.singletonList(PATIENT_UUID));
-		when(dao.search(any(), any(), anyInt(), anyInt())).thenReturn(patients);
+		when(dao.getSearchResultsCount(any())).thenReturn(1);
+		when(dao.searchPage(any(), any(), anyInt(), anyInt())).thenReturn(new KeysetPage<>(patients, null));
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, patientTranslator));
 		when(patientTranslator.toFhirResource(patient)).thenReturn(fhirPatient);
@@ -172,14 +171,14 @@ public class FhirPatientServiceImplTest {
 	
 	@Test
 	public void searchForPatients_shouldSearchForPatientsByGivenName() {
-		Collection<Patient> patients = new ArrayList<>();
+		List<Patient> patients = new ArrayList<>();
 		patients.add(patient);
 		StringAndListParam stringAndListParam = new StringAndListParam().addAnd(new StringParam(PATIENT_GIVEN_NAME));
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.NAME_SEARCH_HANDLER,
 		    stringAndListParam);
 		
-		when(dao.getResultUuids(any())).thenReturn(Collections.singletonList(PATIENT_UUID));
-		when(dao.search(any(), any(), anyInt(), anyInt())).thenReturn(patients);
+		when(dao.getSearchResultsCount(any())).thenReturn(1);
+		when(dao.searchPage(any(), any(), anyInt(), anyInt())).thenReturn(new KeysetPage<>(patients, null));
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, patientTranslator));
 		when(patientTranslator.toFhirResource(patient)).thenReturn(fhirPatient);
@@ -196,15 +195,15 @@ public class FhirPatientServiceImplTest {
 	
 	@Test
 	public void searchForPatients_shouldSearchForPatientsByFamilyName() {
-		Collection<Patient> patients = new ArrayList<>();
+		List<Patient> patients = new ArrayList<>();
 		patients.add(patient);
 		StringAndListParam stringAndListParam = new StringAndListParam().addAnd(new StringParam(PATIENT_FAMILY_NAME));
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.NAME_SEARCH_HANDLER,
 		    stringAndListParam);
 		
 		when(dao.getPreferredPageSize()).thenReturn(10);
-		when(dao.getResultUuids(any())).thenReturn(Collections.singletonList(PATIENT_UUID));
-		when(dao.search(any(), any(), anyInt(), anyInt())).thenReturn(patients);
+		when(dao.getSearchResultsCount(any())).thenReturn(1);
+		when(dao.searchPage(any(), any(), anyInt(), anyInt())).thenReturn(new KeysetPage<>(patients, null));
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, patientTranslator));
 		when(patientTranslator.toFhirResource(patient)).thenReturn(fhirPatient);
@@ -220,14 +219,14 @@ public class FhirPatientServiceImplTest {
 	
 	@Test
 	public void searchForPatients_shouldReturnCollectionOfPatientsForPartialMatchOnGivenName() {
-		Collection<Patient> patients = new ArrayList<>();
+		List<Patient> patients = new ArrayList<>();
 		patients.add(patient);
 		StringAndListParam stringAndListParam = new StringAndListParam().addAnd(new StringParam(PATIENT_PARTIAL_GIVEN_NAME));
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.NAME_SEARCH_HANDLER,
 		    stringAndListParam);
 		
-		when(dao.getResultUuids(any())).thenReturn(Collections.singletonList(PATIENT_UUID));
-		when(dao.search(any(), any(), anyInt(), anyInt())).thenReturn(patients);
+		when(dao.getSearchResultsCount(any())).thenReturn(1);
+		when(dao.searchPage(any(), any(), anyInt(), anyInt())).thenReturn(new KeysetPage<>(patients, null));
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, patientTranslator));
 		when(patientTranslator.toFhirResource(patient)).thenReturn(fhirPatient);
@@ -242,15 +241,15 @@ public class FhirPatientServiceImplTest {
 	
 	@Test
 	public void searchForPatients_shouldReturnCollectionOfPatientsForPartialMatchOnFamilyName() {
-		Collection<Patient> patients = new ArrayList<>();
+		List<Patient> patients = new ArrayList<>();
 		patients.add(patient);
 		StringAndListParam stringAndListParam = new StringAndListParam()
 		        .addAnd(new StringParam(PATIENT_PARTIAL_FAMILY_NAME));
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.NAME_SEARCH_HANDLER,
 		    stringAndListParam);
 		
-		when(dao.getResultUuids(any())).thenReturn(Collections.singletonList(PATIENT_UUID));
-		when(dao.search(any(), any(), anyInt(), anyInt())).thenReturn(patients);
+		when(dao.getSearchResultsCount(any())).thenReturn(1);
+		when(dao.searchPage(any(), any(), anyInt(), anyInt())).thenReturn(new KeysetPage<>(patients, null));
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, patientTranslator));
 		when(patientTranslator.toFhirResource(patient)).thenReturn(fhirPatient);
@@ -270,8 +269,7 @@ public class FhirPatientServiceImplTest {
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.NAME_SEARCH_HANDLER,
 		    stringAndListParam);
 		
-		when(dao.getResultUuids(any())).thenReturn(Collections.emptyList());
-		when(dao.search(any(), any(), anyInt(), anyInt())).thenReturn(Collections.emptyList());
+		when(dao.getSearchResultsCount(any())).thenReturn(0);
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, patientTranslator));
 		
@@ -290,8 +288,7 @@ public class FhirPatientServiceImplTest {
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.NAME_SEARCH_HANDLER,
 		    stringAndListParam);
 		
-		when(dao.getResultUuids(any())).thenReturn(Collections.emptyList());
-		when(dao.search(any(), any(), anyInt(), anyInt())).thenReturn(Collections.emptyList());
+		when(dao.getSearchResultsCount(any())).thenReturn(0);
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, patientTranslator));
 		
@@ -309,8 +306,7 @@ public class FhirPatientServiceImplTest {
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.NAME_SEARCH_HANDLER,
 		    stringAndListParam);
 		
-		when(dao.getResultUuids(any())).thenReturn(Collections.emptyList());
-		when(dao.search(any(), any(), anyInt(), anyInt())).thenReturn(Collections.emptyList());
+		when(dao.getSearchResultsCount(any())).thenReturn(0);
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, patientTranslator));
 		
@@ -323,14 +319,14 @@ public class FhirPatientServiceImplTest {
 	
 	@Test
 	public void searchForPatients_shouldReturnCollectionOfPatientWhenPatientGenderMatched() {
-		Collection<Patient> patients = new ArrayList<>();
+		List<Patient> patients = new ArrayList<>();
 		patients.add(patient);
 		TokenAndListParam tokenAndListParam = new TokenAndListParam().addAnd(new TokenParam(GENDER));
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.NAME_SEARCH_HANDLER,
 		    tokenAndListParam);
 		
-		when(dao.search(any(), any(), anyInt(), anyInt())).thenReturn(patients);
-		when(dao.getResultUuids(any())).thenReturn(Collections.singletonList(PATIENT_UUID));
+		when(dao.searchPage(any(), any(), anyInt(), anyInt())).thenReturn(new KeysetPage<>(patients, null));
+		when(dao.getSearchResultsCount(any())).thenReturn(1);
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, patientTranslator));
 		when(patientTranslator.toFhirResource(patient)).thenReturn(fhirPatient);
@@ -349,8 +345,7 @@ public class FhirPatientServiceImplTest {
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.NAME_SEARCH_HANDLER,
 		    tokenAndListParam);
 		
-		when(dao.getResultUuids(any())).thenReturn(Collections.emptyList());
-		when(dao.search(any(), any(), anyInt(), anyInt())).thenReturn(Collections.emptyList());
+		when(dao.getSearchResultsCount(any())).thenReturn(0);
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, patientTranslator));
 		
@@ -366,15 +361,15 @@ public class FhirPatientServiceImplTest {
 		Date birthDate = dateFormatter.parse(DATE);
 		patient.setBirthdate(birthDate);
 		
-		Collection<Patient> patients = new ArrayList<>();
+		List<Patient> patients = new ArrayList<>();
 		patients.add(patient);
 		
 		DateRangeParam dateRangeParam = new DateRangeParam().setLowerBound(DATE).setUpperBound(DATE);
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.DATE_RANGE_SEARCH_HANDLER,
 		    dateRangeParam);
 		
-		when(dao.getResultUuids(any())).thenReturn(Collections.singletonList(PATIENT_UUID));
-		when(dao.search(any(), any(), anyInt(), anyInt())).thenReturn(patients);
+		when(dao.getSearchResultsCount(any())).thenReturn(1);
+		when(dao.searchPage(any(), any(), anyInt(), anyInt())).thenReturn(new KeysetPage<>(patients, null));
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, patientTranslator));
 		when(patientTranslator.toFhirResource(patient)).thenReturn(fhirPatient);
@@ -393,8 +388,7 @@ public class FhirPatientServiceImplTest {
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.NAME_SEARCH_HANDLER,
 		    dateRangeParam);
 		
-		when(dao.getResultUuids(any())).thenReturn(Collections.emptyList());
-		when(dao.search(any(), any(), anyInt(), anyInt())).thenReturn(Collections.emptyList());
+		when(dao.getSearchResultsCount(any())).thenReturn(0);
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, patientTranslator));
 		
@@ -410,15 +404,15 @@ public class FhirPatientServiceImplTest {
 		Date deathDate = dateFormatter.parse(DATE);
 		patient.setDeathDate(deathDate);
 		
-		Collection<Patient> patients = new ArrayList<>();
+		List<Patient> patients = new ArrayList<>();
 		patients.add(patient);
 		
 		DateRangeParam dateRangeParam = new DateRangeParam().setLowerBound(DATE).setUpperBound(DATE);
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.DATE_RANGE_SEARCH_HANDLER,
 		    dateRangeParam);
 		
-		when(dao.getResultUuids(any())).thenReturn(Collections.singletonList(PATIENT_UUID));
-		when(dao.search(any(), any(), anyInt(), anyInt())).thenReturn(patients);
+		when(dao.getSearchResultsCount(any())).thenReturn(1);
+		when(dao.searchPage(any(), any(), anyInt(), anyInt())).thenReturn(new KeysetPage<>(patients, null));
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, patientTranslator));
 		when(patientTranslator.toFhirResource(patient)).thenReturn(fhirPatient);
@@ -437,8 +431,7 @@ public class FhirPatientServiceImplTest {
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.NAME_SEARCH_HANDLER,
 		    dateRangeParam);
 		
-		when(dao.getResultUuids(any())).thenReturn(Collections.emptyList());
-		when(dao.search(any(), any(), anyInt(), anyInt())).thenReturn(Collections.emptyList());
+		when(dao.getSearchResultsCount(any())).thenReturn(0);
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, patientTranslator));
 		
@@ -451,14 +444,14 @@ public class FhirPatientServiceImplTest {
 	
 	@Test
 	public void searchForPatients_shouldReturnCollectionOfPatientWhenPatientCityMatched() {
-		Collection<Patient> patients = new ArrayList<>();
+		List<Patient> patients = new ArrayList<>();
 		patients.add(patient);
 		StringAndListParam stringAndListParam = new StringAndListParam().addAnd(new StringParam(CITY));
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.NAME_SEARCH_HANDLER, "city",
 		    stringAndListParam);
 		
-		when(dao.getResultUuids(any())).thenReturn(Collections.singletonList(PATIENT_UUID));
-		when(dao.search(any(), any(), anyInt(), anyInt())).thenReturn(patients);
+		when(dao.getSearchResultsCount(any())).thenReturn(1);
+		when(dao.searchPage(any(), any(), anyInt(), anyInt())).thenReturn(new KeysetPage<>(patients, null));
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, patientTranslator));
 		when(patientTranslator.toFhirResource(patient)).thenReturn(fhirPatient);
@@ -477,8 +470,7 @@ public class FhirPatientServiceImplTest {
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.NAME_SEARCH_HANDLER, "city",
 		    stringAndListParam);
 		
-		when(dao.getResultUuids(any())).thenReturn(Collections.emptyList());
-		when(dao.search(any(), any(), anyInt(), anyInt())).thenReturn(Collections.emptyList());
+		when(dao.getSearchResultsCount(any())).thenReturn(0);
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, patientTranslator));
 		
@@ -491,14 +483,14 @@ public class FhirPatientServiceImplTest {
 	
 	@Test
 	public void searchForPatients_shouldReturnCollectionOfPatientWhenPatientStateMatched() {
-		Collection<Patient> patients = new ArrayList<>();
+		List<Patient> patients = new ArrayList<>();
 		patients.add(patient);
 		StringAndListParam stringAndListParam = new StringAndListParam().addAnd(new StringParam(STATE));
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.NAME_SEARCH_HANDLER, "state",
 		    stringAndListParam);
 		
-		when(dao.getResultUuids(any())).thenReturn(Collections.singletonList(PATIENT_UUID));
-		when(dao.search(any(), any(), anyInt(), anyInt())).thenReturn(patients);
+		when(dao.getSearchResultsCount(any())).thenReturn(1);
+		when(dao.searchPage(any(), any(), anyInt(), anyInt())).thenReturn(new KeysetPage<>(patients, null));
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, patientTranslator));
 		when(patientTranslator.toFhirResource(patient)).thenReturn(fhirPatient);
@@ -517,8 +509,7 @@ public class FhirPatientServiceImplTest {
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.NAME_SEARCH_HANDLER, "state",
 		    stringAndListParam);
 		
-		when(dao.getResultUuids(any())).thenReturn(Collections.emptyList());
-		when(dao.search(any(), any(), anyInt(), anyInt())).thenReturn(Collections.emptyList());
+		when(dao.getSearchResultsCount(any())).thenReturn(0);
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, patientTranslator));
 		
@@ -531,14 +522,14 @@ public class FhirPatientServiceImplTest {
 	
 	@Test
 	public void searchForPatients_shouldReturnCollectionOfPatientWhenPatientPostalCodeMatched() {
-		Collection<Patient> patients = new ArrayList<>();
+		List<Patient> patients = new ArrayList<>();
 		patients.add(patient);
 		StringAndListParam stringAndListParam = new StringAndListParam().addAnd(new StringParam(POSTAL_CODE));
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.NAME_SEARCH_HANDLER, "postalCode",
 		    stringAndListParam);
 		
-		when(dao.getResultUuids(any())).thenReturn(Collections.singletonList(PATIENT_UUID));
-		when(dao.search(any(), any(), anyInt(), anyInt())).thenReturn(patients);
+		when(dao.getSearchResultsCount(any())).thenReturn(1);
+		when(dao.searchPage(any(), any(), anyInt(), anyInt())).thenReturn(new KeysetPage<>(patients, null));
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, patientTranslator));
 		when(patientTranslator.toFhirResource(patient)).thenReturn(fhirPatient);
@@ -557,8 +548,7 @@ public class FhirPatientServiceImplTest {
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.NAME_SEARCH_HANDLER, "postalCode",
 		    stringAndListParam);
 		
-		when(dao.getResultUuids(any())).thenReturn(Collections.emptyList());
-		when(dao.search(any(), any(), anyInt(), anyInt())).thenReturn(Collections.emptyList());
+		when(dao.getSearchResultsCount(any())).thenReturn(0);
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, patientTranslator));
 		
@@ -570,14 +560,14 @@ public class FhirPatientServiceImplTest {
 	
 	@Test
 	public void searchForPatients_shouldReturnCollectionOfPatientWhenPatientCountryMatched() {
-		Collection<Patient> patients = new ArrayList<>();
+		List<Patient> patients = new ArrayList<>();
 		patients.add(patient);
 		StringAndListParam stringAndListParam = new StringAndListParam().addAnd(new StringParam(COUNTRY));
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.NAME_SEARCH_HANDLER, "country",
 		    stringAndListParam);
 		
-		when(dao.getResultUuids(any())).thenReturn(Collections.singletonList(PATIENT_UUID));
-		when(dao.search(any(), any(), anyInt(), anyInt())).thenReturn(patients);
+		when(dao.getSearchResultsCount(any())).thenReturn(1);
+		when(dao.searchPage(any(), any(), anyInt(), anyInt())).thenReturn(new KeysetPage<>(patients, null));
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, patientTranslator));
 		when(patientTranslator.toFhirResource(patient)).thenReturn(fhirPatient);
@@ -596,8 +586,7 @@ public class FhirPatientServiceImplTest {
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.NAME_SEARCH_HANDLER,
 		    stringAndListParam);
 		
-		when(dao.getResultUuids(any())).thenReturn(Collections.emptyList());
-		when(dao.search(any(), any(), anyInt(), anyInt())).thenReturn(Collections.emptyList());
+		when(dao.getSearchResultsCount(any())).thenReturn(0);
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, patientTranslator));
 		
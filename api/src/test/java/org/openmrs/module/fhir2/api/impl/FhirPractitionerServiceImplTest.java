@@ -39,6 +39,7 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.openmrs.Provider;
 import org.openmrs.module.fhir2.FhirConstants;
 import org.openmrs.module.fhir2.api.dao.FhirPractitionerDao;
+import org.openmrs.module.fhir2.api.search.KeysetPage;
 import org.openmrs.module.fhir2.api.search.SearchQuery;
 import org.openmrs.module.fhir2.api.search.SearchQueryBundleProvider;
 import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
@@ -139,8 +140,8 @@ public class FhirPractitionerServiceImplTest {
 		StringAndListParam name = new StringAndListParam().addAnd(new StringOrListParam().add(new StringParam(NAME)));
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.PRACTITIONER_NAME_SEARCH_HANDLER,
 		    name);
-		when(practitionerDao.getResultUuids(any())).thenReturn(Collections.singletonList(UUID));
-		when(practitionerDao.search(any(), any(), anyInt(), anyInt())).thenReturn(Collections.singletonList(provider));
+		when(practitionerDao.getSearchResultsCount(any())).thenReturn(1);
+		when(practitionerDao.searchPage(any(), any(), anyInt(), anyInt())).thenReturn(new KeysetPage<>(Collections.singletonList(provider), null));
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, practitionerDao, practitionerTranslator));
 		when(practitionerTranslator.toFhirResource(provider)).thenReturn(practitioner);
@@ -160,8 +161,7 @@ public class FhirPractitionerServiceImplTest {
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.PRACTITIONER_NAME_SEARCH_HANDLER,
 		    name);
 		
-		when(practitionerDao.getResultUuids(any())).thenReturn(Collections.emptyList());
-		when(practitionerDao.search(any(), any(), anyInt(), anyInt())).thenReturn(Collections.emptyList());
+		when(practitionerDao.getSearchResultsCount(any())).thenReturn(0);
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, practitionerDao, practitionerTranslator));
 		
@@ -179,8 +179,8 @@ public class FhirPractitionerServiceImplTest {
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.IDENTIFIER_SEARCH_HANDLER,
 		    identifier);
 		
-		when(practitionerDao.getResultUuids(any())).thenReturn(Collections.singletonList(UUID));
-		when(practitionerDao.search(any(), any(), anyInt(), anyInt())).thenReturn(Collections.singletonList(provider));
+		when(practitionerDao.getSearchResultsCount(any())).thenReturn(1);
+		when(practitionerDao.searchPage(any(), any(), anyInt(), anyInt())).thenReturn(new KeysetPage<>(Collections.singletonList(provider), null));
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, practitionerDao, practitionerTranslator));
 		when(practitionerTranslator.toFhirResource(provider)).thenReturn(practitioner);
@@ -201,8 +201,7 @@ public class FhirPractitionerServiceImplTest {
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.IDENTIFIER_SEARCH_HANDLER,
 		    identifier);
 		
-		when(practitionerDao.getResultUuids(any())).thenReturn(Collections.emptyList());
-		when(practitionerDao.search(any(), any(), anyInt(), anyInt())).thenReturn(Collections.emptyList());
+		when(practitionerDao.getSearchResultsCount(any())).thenReturn(0);
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, practitionerDao, practitionerTranslator));
 		
@@ -221,8 +220,8 @@ public class FhirPractitionerServiceImplTest {
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.NAME_SEARCH_HANDLER,
 		    FhirConstants.GIVEN_PROPERTY, givenName);
 		
-		when(practitionerDao.getResultUuids(any())).thenReturn(Collections.singletonList(UUID));
-		when(practitionerDao.search(any(), any(), anyInt(), anyInt())).thenReturn(Collections.singletonList(provider));
+		when(practitionerDao.getSearchResultsCount(any())).thenReturn(1);
+		when(practitionerDao.searchPage(any(), any(), anyInt(), anyInt())).thenReturn(new KeysetPage<>(Collections.singletonList(provider), null));
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, practitionerDao, practitionerTranslator));
 		when(practitionerTranslator.toFhirResource(provider)).thenReturn(practitioner);
@@ -243,8 +242,7 @@ public class FhirPractitionerServiceImplTest {
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.NAME_SEARCH_HANDLER,
 		    FhirConstants.GIVEN_PROPERTY, givenName);
 		
-		when(practitionerDao.getResultUuids(any())).thenReturn(Collections.emptyList());
-		when(practitionerDao.search(any(), any(), anyInt(), anyInt())).thenReturn(Collections.emptyList());
+		when(practitionerDao.getSearchResultsCount(any())).thenReturn(0);
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, practitionerDao, practitionerTranslator));
 		
@@ -263,8 +261,8 @@ public class FhirPractitionerServiceImplTest {
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.NAME_SEARCH_HANDLER,
 		    FhirConstants.FAMILY_PROPERTY, familyName);
 		
-		when(practitionerDao.getResultUuids(any())).thenReturn(Collections.singletonList(UUID));
-		when(practitionerDao.search(any(), any(), anyInt(), anyInt())).thenReturn(Collections.singletonList(provider));
+		when(practitionerDao.getSearchResultsCount(any())).thenReturn(1);
+		when(practitionerDao.searchPage(any(), any(), anyInt(), anyInt())).thenReturn(new KeysetPage<>(Collections.singletonList(provider), null));
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, practitionerDao, practitionerTranslator));
 		when(practitionerTranslator.toFhirResource(provider)).thenReturn(practitioner);
@@ -285,8 +283,7 @@ public class FhirPractitionerServiceImplTest {
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.NAME_SEARCH_HANDLER,
 		    FhirConstants.FAMILY_PROPERTY, familyName);
 		
-		when(practitionerDao.getResultUuids(any())).thenReturn(Collections.emptyList());
-		when(practitionerDao.search(any(), any(), anyInt(), anyInt())).thenReturn(Collections.emptyList());
+		when(practitionerDao.getSearchResultsCount(any())).thenReturn(0);
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, practitionerDao, practitionerTranslator));
 		
@@ -305,8 +302,8 @@ public class FhirPractitionerServiceImplTest {
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.ADDRESS_SEARCH_HANDLER,
 		    FhirConstants.CITY_PROPERTY, city);
 		
-		when(practitionerDao.getResultUuids(any())).thenReturn(Collections.singletonList(UUID));
-		when(practitionerDao.search(any(), any(), anyInt(), anyInt())).thenReturn(Collections.singletonList(provider));
+		when(practitionerDao.getSearchResultsCount(any())).thenReturn(1);
+		when(practitionerDao.searchPage(any(), any(), anyInt(), anyInt())).thenReturn(new KeysetPage<>(Collections.singletonList(provider), null));
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, practitionerDao, practitionerTranslator));
 		when(practitionerTranslator.toFhirResource(provider)).thenReturn(practitioner);
@@ -326,8 +323,7 @@ public class FhirPractitionerServiceImplTest {
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.ADDRESS_SEARCH_HANDLER,
 		    FhirConstants.CITY_PROPERTY, city);
 		
-		when(practitionerDao.getResultUuids(any())).thenReturn(Collections.emptyList());
-		when(practitionerDao.search(any(), any(), anyInt(), anyInt())).thenReturn(Collections.emptyList());
+		when(practitionerDao.getSearchResultsCount(any())).thenReturn(0);
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, practitionerDao, practitionerTranslator));
 		
@@ -345,8 +341,8 @@ public class FhirPractitionerServiceImplTest {
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.ADDRESS_SEARCH_HANDLER,
 		    FhirConstants.STATE_PROPERTY, state);
 		
-		when(practitionerDao.getResultUuids(any())).thenReturn(Collections.singletonList(UUID));
-		when(practitionerDao.search(any(), any(), anyInt(), anyInt())).thenReturn(Collections.singletonList(provider));
+		when(practitionerDao.getSearchResultsCount(any())).thenReturn(1);
+		when(practitionerDao.searchPage(any(), any(), anyInt(), anyInt())).thenReturn(new KeysetPage<>(Collections.singletonList(provider), null));
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, practitionerDao, practitionerTranslator));
 		when(practitionerTranslator.toFhirResource(provider)).thenReturn(practitioner);
@@ -367,8 +363,7 @@ public class FhirPractitionerServiceImplTest {
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.ADDRESS_SEARCH_HANDLER,
 		    FhirConstants.STATE_PROPERTY, state);
 		
-		when(practitionerDao.getResultUuids(any())).thenReturn(Collections.emptyList());
-		when(practitionerDao.search(any(), any(), anyInt(), anyInt())).thenReturn(Collections.emptyList());
+		when(practitionerDao.getSearchResultsCount(any())).thenReturn(0);
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, practitionerDao, practitionerTranslator));
 		
@@ -387,8 +382,8 @@ public class FhirPractitionerServiceImplTest {
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.ADDRESS_SEARCH_HANDLER,
 		    FhirConstants.POSTAL_CODE_PROPERTY, postalCode);
 		
-		when(practitionerDao.getResultUuids(any())).thenReturn(Collections.singletonList(UUID));
-		when(practitionerDao.search(any(), any(), anyInt(), anyInt())).thenReturn(Collections.singletonList(provider));
+		when(practitionerDao.getSearchResultsCount(any())).thenReturn(1);
+		when(practitionerDao.searchPage(any(), any(), anyInt(), anyInt())).thenReturn(new KeysetPage<>(Collections.singletonList(provider), null));
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, practitionerDao, practitionerTranslator));
 		when(practitionerTranslator.toFhirResource(provider)).thenReturn(practitioner);
@@ -409,8 +404,7 @@ public class FhirPractitionerServiceImplTest {
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.ADDRESS_SEARCH_HANDLER,
 		    FhirConstants.POSTAL_CODE_PROPERTY, postalCode);
 		
-		when(practitionerDao.getResultUuids(any())).thenReturn(Collections.emptyList());
-		when(practitionerDao.search(any(), any(), anyInt(), anyInt())).thenReturn(Collections.emptyList());
+		when(practitionerDao.getSearchResultsCount(any())).thenReturn(0);
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, practitionerDao, practitionerTranslator));
 		
@@ -429,8 +423,8 @@ public class FhirPractitionerServiceImplTest {
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.ADDRESS_SEARCH_HANDLER,
 		    FhirConstants.COUNTRY_PROPERTY, country);
 		
-		when(practitionerDao.getResultUuids(any())).thenReturn(Collections.singletonList(UUID));
-		when(practitionerDao.search(any(), any(), anyInt(), anyInt())).thenReturn(Collections.singletonList(provider));
+		when(practitionerDao.getSearchResultsCount(any())).thenReturn(1);
+		when(practitionerDao.searchPage(any(), any(), anyInt(), anyInt())).thenReturn(new KeysetPage<>(Collections.singletonList(provider), null));
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, practitionerDao, practitionerTranslator));
 		when(practitionerTranslator.toFhirResource(provider)).thenReturn(practitioner);
@@ -451,8 +445,7 @@ public class FhirPractitionerServiceImplTest {
 		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.ADDRESS_SEARCH_HANDLER,
 		    FhirConstants.COUNTRY_PROPERTY, country);
 		
-		when(practitionerDao.getResultUuids(any())).thenReturn(Collections.emptyList());
-		when(practitionerDao.search(any(), any(), anyInt(), anyInt())).thenReturn(Collections.emptyList());
+		when(practitionerDao.getSearchResultsCount(any())).thenReturn(0);
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, practitionerDao, practitionerTranslator));
 		
@@ -14,6 +14,7 @@ import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasProperty;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.mockito.ArgumentMatchers.any;
@@ -21,9 +22,10 @@ import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import ca.uhn.fhir.rest.api.server.IBundleProvider;
 import ca.uhn.fhir.rest.server.exceptions.InvalidRequestException;
@@ -35,8 +37,10 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.openmrs.module.fhir2.FhirConstants;
 import org.openmrs.module.fhir2.FhirTask;
 import org.openmrs.module.fhir2.api.dao.FhirTaskDao;
+import org.openmrs.module.fhir2.api.search.KeysetPage;
 import org.openmrs.module.fhir2.api.search.SearchQuery;
 import org.openmrs.module.fhir2.api.search.SearchQueryBundleProvider;
 import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
@@ -61,6 +65,10 @@ public class FhirTaskServiceImplTest {
 	
 	private static final FhirTask.TaskIntent OPENMRS_TASK_INTENT = FhirTask.TaskIntent.ORDER;
 	
+	private static final String ORDER_UUID = "7d96f25c-4949-4f72-9931-d808fbc226de";
+	
+	private static final String OTHER_ORDER_UUID = "cbcb84f3-4576-452f-ba74-7cdeaa9aa602";
+	
 	private static final int START_INDEX = 0;
 	
 	private static final int END_INDEX = 10;
@@ -183,7 +191,7 @@ public class FhirTaskServiceImplTest {
 	
 	@Test
 	public void searchForTasks_shouldReturnTasksByParameters() {
-		Collection<FhirTask> openmrsTasks = new ArrayList<>();
+		List<FhirTask> openmrsTasks = new ArrayList<>();
 		FhirTask openmrsTask = new FhirTask();
 		
 		openmrsTask.setUuid(TASK_UUID);
@@ -194,8 +202,8 @@ public class FhirTaskServiceImplTest {
 		
 		SearchParameterMap theParams = new SearchParameterMap();
 		
-		when(dao.getResultUuids(any())).thenReturn(Collections.singletonList(TASK_UUID));
-		when(dao.search(any(), any(), anyInt(), anyInt())).thenReturn(openmrsTasks);
+		when(dao.getSearchResultsCount(any())).thenReturn(1);
+		when(dao.searchPage(any(), any(), anyInt(), anyInt())).thenReturn(new KeysetPage<>(openmrsTasks, null));
 		when(searchQuery.getQueryResults(any(), any(), any()))
 		        .thenReturn(new SearchQueryBundleProvider<>(theParams, dao, translator));
 		when(translator.toFhirResource(openmrsTask)).thenReturn(task);
@@ -208,4 +216,25 @@ public class FhirTaskServiceImplTest {
 		assertThat(resultList, not(empty()));
 		assertThat(resultList, hasItem(hasProperty("id", equalTo(TASK_UUID))));
 	}
+	
+	@Test
+	public void getTasksByBasedOn_shouldReturnTranslatedTasksForEachReference() {
+		FhirTask task = new FhirTask();
+		task.setUuid(TASK_UUID);
+		org.hl7.fhir.r4.model.Task translatedTask = new org.hl7.fhir.r4.model.Task();
+		translatedTask.setId(TASK_UUID);
+		
+		List<String> orderUuids = Arrays.asList(ORDER_UUID, OTHER_ORDER_UUID);
+		
+		when(dao.getTasksByBasedOnReferences(FhirConstants.SERVICE_REQUEST, orderUuids))
+		        .thenReturn(Collections.singletonMap(ORDER_UUID, Collections.singletonList(task)));
+		when(translator.toFhirResource(task)).thenReturn(translatedTask);
+		
+		Map<String, List<Task>> result = fhirTaskService.getTasksByBasedOn(FhirConstants.SERVICE_REQUEST, orderUuids);
+		
+		assertThat(result, notNullValue());
+		assertThat(result.get(ORDER_UUID), hasSize(1));
+		assertThat(result.get(ORDER_UUID).get(0), equalTo(translatedTask));
+		assertThat(result.get(OTHER_ORDER_UUID), empty());
+	}
 }
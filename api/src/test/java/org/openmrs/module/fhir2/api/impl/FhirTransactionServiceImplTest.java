@@ -0,0 +1,123 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+
+import ca.uhn.fhir.context.FhirContext;
+import ca.uhn.fhir.rest.server.exceptions.InvalidRequestException;
+import org.hl7.fhir.r4.model.Bundle;
+import org.hl7.fhir.r4.model.Encounter;
+import org.hl7.fhir.r4.model.Observation;
+import org.hl7.fhir.r4.model.Reference;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.openmrs.api.context.Context;
+import org.openmrs.api.context.UserContext;
+import org.openmrs.module.fhir2.api.FhirEncounterService;
+import org.openmrs.module.fhir2.api.FhirObservationService;
+
+@RunWith(MockitoJUnitRunner.class)
+public class FhirTransactionServiceImplTest {
+	
+	private static final String OBSERVATION_UUID = "39fb7f47-e80a-4056-9285-bd798be13c63";
+	
+	private static final String ENCOUNTER_FULL_URL = "urn:uuid:6519d653-393b-4118-9c83-a3715b82d4ac";
+	
+	@Mock
+	private FhirEncounterService encounterService;
+	
+	@Mock
+	private FhirObservationService observationService;
+	
+	private FhirTransactionServiceImpl transactionService;
+	
+	@Before
+	public void setup() {
+		transactionService = new FhirTransactionServiceImpl();
+		transactionService.setFhirContext(FhirContext.forR4());
+		transactionService.setServices(Arrays.asList(encounterService, observationService));
+		transactionService.setExecutor(Runnable::run);
+		
+		Context.setUserContext(new UserContext());
+	}
+	
+	@After
+	public void tearDown() {
+		Context.clearUserContext();
+	}
+	
+	@Test
+	public void processTransaction_shouldCreateReferencedEntriesFirstAndResolveTheirReferences() {
+		when(encounterService.create(any())).thenAnswer(invocation -> invocation.getArgument(0));
+		when(observationService.create(any())).thenAnswer(invocation -> invocation.getArgument(0));
+		
+		Observation observation = new Observation();
+		observation.setEncounter(new Reference(ENCOUNTER_FULL_URL));
+		Encounter encounter = new Encounter();
+		
+		Bundle bundle = new Bundle().setType(Bundle.BundleType.TRANSACTION);
+		bundle.addEntry().setResource(observation).getRequest().setMethod(Bundle.HTTPVerb.POST).setUrl("Observation");
+		bundle.addEntry().setFullUrl(ENCOUNTER_FULL_URL).setResource(encounter).getRequest()
+		        .setMethod(Bundle.HTTPVerb.POST).setUrl("Encounter");
+		
+		Bundle response = transactionService.processTransaction(bundle);
+		
+		InOrder inOrder = inOrder(encounterService, observationService);
+		inOrder.verify(encounterService).create(encounter);
+		inOrder.verify(observationService).create(observation);
+		
+		assertThat(observation.getEncounter().getReference(),
+		    equalTo("Encounter/" + encounter.getIdElement().getIdPart()));
+		assertThat(response.getType(), equalTo(Bundle.BundleType.TRANSACTIONRESPONSE));
+		assertThat(response.getEntry(), hasSize(2));
+		assertThat(response.getEntry().get(0).getResponse().getStatus(), equalTo("201 Created"));
+		assertThat(response.getEntry().get(1).getResponse().getLocation(),
+		    equalTo("Encounter/" + encounter.getIdElement().getIdPart()));
+	}
+	
+	@Test(expected = InvalidRequestException.class)
+	public void processTransaction_shouldRejectBundlesOfOtherTypes() {
+		transactionService.processTransaction(new Bundle().setType(Bundle.BundleType.BATCH));
+	}
+	
+	@Test
+	public void processBatch_shouldReportFailedEntriesWithoutFailingTheBatch() {
+		Observation observation = new Observation();
+		observation.setId(OBSERVATION_UUID);
+		when(observationService.get(OBSERVATION_UUID)).thenReturn(observation);
+		
+		Bundle bundle = new Bundle().setType(Bundle.BundleType.BATCH);
+		bundle.addEntry().getRequest().setMethod(Bundle.HTTPVerb.GET).setUrl("Observation/" + OBSERVATION_UUID);
+		bundle.addEntry().getRequest().setMethod(Bundle.HTTPVerb.GET).setUrl("Observation/missing");
+		
+		Bundle response = transactionService.processBatch(bundle);
+		
+		assertThat(response.getType(), equalTo(Bundle.BundleType.BATCHRESPONSE));
+		assertThat(response.getEntry(), hasSize(2));
+		assertThat(response.getEntry().get(0).getResponse().getStatus(), equalTo("200 OK"));
+		assertThat(response.getEntry().get(0).getResource(), equalTo(observation));
+		assertThat(response.getEntry().get(1).getResponse().getStatus(), equalTo("404"));
+		assertThat(response.getEntry().get(1).getResponse().getOutcome(), notNullValue());
+	}
+}
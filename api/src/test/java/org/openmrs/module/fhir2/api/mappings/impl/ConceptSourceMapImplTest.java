@@ -0,0 +1,91 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.mappings.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.openmrs.module.fhir2.FhirConceptSource;
+import org.openmrs.module.fhir2.FhirTestConstants;
+import org.openmrs.module.fhir2.TestFhirSpringConfiguration;
+import org.openmrs.module.fhir2.api.dao.FhirConceptSourceDao;
+import org.openmrs.test.BaseModuleContextSensitiveTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+
+@ContextConfiguration(classes = TestFhirSpringConfiguration.class, inheritLocations = false)
+public class ConceptSourceMapImplTest extends BaseModuleContextSensitiveTest {
+	
+	private static final String CONCEPT_SOURCE_FHIR_DATA = "org/openmrs/module/fhir2/api/dao/impl/FhirConceptSourceDaoImplTest_initial_data.xml";
+	
+	private static final Integer LOINC_CONCEPT_SOURCE_ID = 6;
+	
+	private static final String NEW_CIEL_URL = "https://openconceptlab.org/orgs/CIEL/sources/CIEL";
+	
+	@Autowired
+	private FhirConceptSourceDao dao;
+	
+	private ConceptSourceMapImpl conceptSourceMap;
+	
+	@Before
+	public void setup() throws Exception {
+		executeDataSet(CONCEPT_SOURCE_FHIR_DATA);
+		
+		conceptSourceMap = new ConceptSourceMapImpl();
+		conceptSourceMap.setDao(dao);
+	}
+	
+	@Test
+	public void getUrl_shouldReturnUrlForConceptSourceName() {
+		assertThat(conceptSourceMap.getUrl("LOINC"), equalTo(Optional.of(FhirTestConstants.LOINC_SYSTEM_URL)));
+		assertThat(conceptSourceMap.getUrl("CIEL"), equalTo(Optional.of(FhirTestConstants.CIEL_SYSTEM_URN)));
+	}
+	
+	@Test
+	public void getUrl_shouldReturnEmptyForUnknownConceptSourceName() {
+		assertThat(conceptSourceMap.getUrl("Unknown").isPresent(), is(false));
+	}
+	
+	@Test
+	public void getConceptSourceName_shouldReturnConceptSourceNameForUrl() {
+		assertThat(conceptSourceMap.getConceptSourceName(FhirTestConstants.LOINC_SYSTEM_URL),
+		    equalTo(Optional.of("LOINC")));
+	}
+	
+	@Test
+	public void getConceptSourceName_shouldReturnEmptyForUnknownUrl() {
+		assertThat(conceptSourceMap.getConceptSourceName("https://www.example.com").isPresent(), is(false));
+	}
+	
+	@Test
+	public void getConceptSourceId_shouldReturnConceptSourceIdForUrl() {
+		assertThat(conceptSourceMap.getConceptSourceId(FhirTestConstants.LOINC_SYSTEM_URL),
+		    equalTo(Optional.of(LOINC_CONCEPT_SOURCE_ID)));
+	}
+	
+	@Test
+	public void refresh_shouldPickUpSavedConceptSources() {
+		assertThat(conceptSourceMap.getUrl("CIEL"), equalTo(Optional.of(FhirTestConstants.CIEL_SYSTEM_URN)));
+		
+		FhirConceptSource ciel = dao.getFhirConceptSourceByConceptSourceName("CIEL").get();
+		ciel.setUrl(NEW_CIEL_URL);
+		dao.saveFhirConceptSource(ciel);
+		conceptSourceMap.refresh();
+		
+		assertThat(conceptSourceMap.getUrl("CIEL"), equalTo(Optional.of(NEW_CIEL_URL)));
+		assertThat(conceptSourceMap.getConceptSourceName(NEW_CIEL_URL), equalTo(Optional.of("CIEL")));
+		assertThat(conceptSourceMap.getConceptSourceName(FhirTestConstants.CIEL_SYSTEM_URN).isPresent(), is(false));
+	}
+}
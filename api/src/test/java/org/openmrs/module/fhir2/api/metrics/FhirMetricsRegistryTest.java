@@ -0,0 +1,135 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.metrics;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.openmrs.module.fhir2.api.util.FhirRequestContext;
+
+@RunWith(MockitoJUnitRunner.class)
+public class FhirMetricsRegistryTest {
+	
+	@Mock
+	private SessionFactory sessionFactory;
+	
+	@Mock
+	private Statistics statistics;
+	
+	private FhirMetricsRegistry metricsRegistry;
+	
+	@Before
+	public void setup() {
+		metricsRegistry = new FhirMetricsRegistry();
+		metricsRegistry.setSessionFactory(sessionFactory);
+		FhirRequestContext.set(new FhirRequestContext());
+	}
+	
+	@After
+	public void tearDown() {
+		FhirRequestContext.clear();
+	}
+	
+	@Test
+	public void getStatementCount_shouldReturnPreparedStatementCountWhenStatisticsAreEnabled() {
+		when(sessionFactory.getStatistics()).thenReturn(statistics);
+		when(statistics.isStatisticsEnabled()).thenReturn(true);
+		when(statistics.getPrepareStatementCount()).thenReturn(42L);
+		
+		assertThat(metricsRegistry.getStatementCount(), equalTo(42L));
+	}
+	
+	@Test
+	public void getStatementCount_shouldReturnMinusOneWhenStatisticsAreDisabled() {
+		when(sessionFactory.getStatistics()).thenReturn(statistics);
+		when(statistics.isStatisticsEnabled()).thenReturn(false);
+		
+		assertThat(metricsRegistry.getStatementCount(), equalTo(-1L));
+	}
+	
+	@Test
+	public void writePrometheus_shouldWriteHistogramsForRecordedRequests() throws IOException {
+		RequestTimings.start();
+		RequestTimings.get().record(RequestTimings.Phase.TRANSLATION, TimeUnit.MILLISECONDS.toNanos(3));
+		
+		metricsRegistry.recordRequest("Observation", "search-type", TimeUnit.MILLISECONDS.toNanos(20),
+		    RequestTimings.get(), 7);
+		
+		StringWriter writer = new StringWriter();
+		metricsRegistry.writePrometheus(writer);
+		String output = writer.toString();
+		
+		assertThat(output, containsString("# TYPE fhir2_request_duration_seconds histogram"));
+		assertThat(output, containsString(
+		    "fhir2_request_duration_seconds_bucket{resource=\"Observation\",operation=\"search-type\",le=\"0.025\"} 1"));
+		assertThat(output, containsString(
+		    "fhir2_request_duration_seconds_bucket{resource=\"Observation\",operation=\"search-type\",le=\"0.01\"} 0"));
+		assertThat(output, containsString(
+		    "fhir2_request_phase_duration_seconds_bucket{resource=\"Observation\",operation=\"search-type\",phase=\"translation\",le=\"0.005\"} 1"));
+		assertThat(output, containsString(
+		    "fhir2_request_sql_statements_bucket{resource=\"Observation\",operation=\"search-type\",le=\"10.0\"} 1"));
+		assertThat(output,
+		    containsString("fhir2_request_sql_statements_count{resource=\"Observation\",operation=\"search-type\"} 1"));
+	}
+	
+	@Test
+	public void writePrometheus_shouldNotRecordStatementsWhenUnknown() throws IOException {
+		metricsRegistry.recordRequest("Patient", "read", TimeUnit.MILLISECONDS.toNanos(2), null, -1);
+		
+		StringWriter writer = new StringWriter();
+		metricsRegistry.writePrometheus(writer);
+		
+		assertThat(writer.toString(),
+		    containsString("fhir2_request_duration_seconds_count{resource=\"Patient\",operation=\"read\"} 1"));
+		assertThat(writer.toString(), not(containsString("fhir2_request_sql_statements_count{resource=\"Patient\"")));
+	}
+	
+	@Test
+	public void writePrometheus_shouldWriteCountersForRegisteredCaches() throws IOException {
+		metricsRegistry.registerCache("concept", () -> new CacheStats(3, 1, 1, 0, 5, 2, 0));
+		
+		StringWriter writer = new StringWriter();
+		metricsRegistry.writePrometheus(writer);
+		String output = writer.toString();
+		
+		assertThat(output, containsString("# TYPE fhir2_cache_requests_total counter"));
+		assertThat(output, containsString("fhir2_cache_requests_total{cache=\"concept\",result=\"hit\"} 3"));
+		assertThat(output, containsString("fhir2_cache_requests_total{cache=\"concept\",result=\"miss\"} 1"));
+		assertThat(output, containsString("fhir2_cache_evictions_total{cache=\"concept\"} 2"));
+	}
+	
+	@Test
+	public void time_shouldOnlyCountTheOutermostSection() {
+		RequestTimings.start();
+		
+		RequestTimings.time(RequestTimings.Phase.TRANSLATION,
+		    () -> RequestTimings.time(RequestTimings.Phase.HYDRATION, () -> "nested"));
+		
+		assertThat(RequestTimings.get().getNanos(RequestTimings.Phase.HYDRATION), equalTo(0L));
+		assertThat(RequestTimings.get().getTotalNanos(),
+		    equalTo(RequestTimings.get().getNanos(RequestTimings.Phase.TRANSLATION)));
+	}
+}
@@ -0,0 +1,175 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.search;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.hibernate.LazyInitializationException;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.openmrs.Obs;
+import org.openmrs.api.context.Context;
+import org.openmrs.api.context.UserContext;
+import org.openmrs.module.fhir2.FhirConstants;
+import org.openmrs.module.fhir2.api.FhirGlobalPropertyService;
+import org.openmrs.module.fhir2.api.dao.FhirObservationDao;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ParallelTranslatorTest {
+	
+	private static final int PAGE_SIZE = 120;
+	
+	@Mock
+	private FhirGlobalPropertyService globalPropertyService;
+	
+	@Mock
+	private SessionFactory sessionFactory;
+	
+	@Mock
+	private Session session;
+	
+	@Mock
+	private FhirObservationDao dao;
+	
+	private ParallelTranslator parallelTranslator;
+	
+	@Before
+	public void setup() {
+		parallelTranslator = new ParallelTranslator();
+		parallelTranslator.setGlobalPropertyService(globalPropertyService);
+		parallelTranslator.setSessionFactory(sessionFactory);
+		
+		Context.setUserContext(new UserContext());
+	}
+	
+	@After
+	public void tearDown() {
+		parallelTranslator.shutdown();
+		Context.clearUserContext();
+	}
+	
+	@Test
+	public void isEnabled_shouldOnlyBeEnabledForLargePagesWhenTheGlobalPropertyIsSet() {
+		when(dao.hasCompleteFetchPlan()).thenReturn(true);
+		when(globalPropertyService.getGlobalProperty(FhirConstants.OPENMRS_FHIR_PAGING_PARALLEL_TRANSLATION, "false"))
+		        .thenReturn("true");
+		
+		assertThat(parallelTranslator.isEnabled(dao, ParallelTranslator.MINIMUM_PAGE_SIZE), is(true));
+		assertThat(parallelTranslator.isEnabled(dao, ParallelTranslator.MINIMUM_PAGE_SIZE - 1), is(false));
+	}
+	
+	@Test
+	public void isEnabled_shouldBeDisabledByDefault() {
+		when(dao.hasCompleteFetchPlan()).thenReturn(true);
+		when(globalPropertyService.getGlobalProperty(FhirConstants.OPENMRS_FHIR_PAGING_PARALLEL_TRANSLATION, "false"))
+		        .thenReturn("false");
+		
+		assertThat(parallelTranslator.isEnabled(dao, PAGE_SIZE), is(false));
+	}
+	
+	@Test
+	public void isEnabled_shouldBeDisabledForDaosWithoutACompleteFetchPlan() {
+		when(dao.hasCompleteFetchPlan()).thenReturn(false);
+		
+		assertThat(parallelTranslator.isEnabled(dao, PAGE_SIZE), is(false));
+	}
+	
+	@Test
+	public void translate_shouldTranslateTheDetachedResultsInOrder() {
+		when(sessionFactory.getCurrentSession()).thenReturn(session);
+		List<Obs> results = createObs(PAGE_SIZE);
+		
+		Thread requestThread = Thread.currentThread();
+		List<String> translated = parallelTranslator.translate(results, dao, obs -> {
+			if (Thread.currentThread() != requestThread) {
+				assertThat(TransactionSynchronizationManager.hasResource(sessionFactory), is(false));
+			}
+			return obs.getUuid();
+		});
+		
+		assertThat(translated, equalTo(results.stream().map(Obs::getUuid).collect(Collectors.toList())));
+		results.forEach(obs -> verify(session).evict(obs));
+		verify(session, never()).clear();
+		verify(sessionFactory, never()).openSession();
+		verify(dao, never()).get(anyCollection());
+	}
+	
+	@Test
+	public void translate_shouldReloadAndTranslateSequentiallyIfTheFetchPlanIsIncomplete() {
+		when(sessionFactory.getCurrentSession()).thenReturn(session);
+		List<Obs> results = createObs(PAGE_SIZE);
+		when(dao.get(anyCollection())).thenAnswer(invocation -> {
+			Collection<String> uuids = invocation.getArgument(0);
+			List<Obs> loaded = uuids.stream().map(uuid -> {
+				Obs obs = new Obs();
+				obs.setUuid(uuid);
+				obs.setComment("loaded");
+				return obs;
+			}).collect(Collectors.toList());
+			// the DAO does not guarantee the order of the results
+			Collections.reverse(loaded);
+			return loaded;
+		});
+		
+		List<String> translated = parallelTranslator.translate(results, dao, obs -> {
+			if (!"loaded".equals(obs.getComment())) {
+				throw new LazyInitializationException("could not initialize proxy - no Session");
+			}
+			return obs.getUuid();
+		});
+		
+		assertThat(translated, equalTo(results.stream().map(Obs::getUuid).collect(Collectors.toList())));
+	}
+	
+	@Test
+	public void translate_shouldTranslateOnTheRequestThreadIfTheSessionIsDirty() {
+		when(sessionFactory.getCurrentSession()).thenReturn(session);
+		when(session.isDirty()).thenReturn(true);
+		List<Obs> results = createObs(2);
+		
+		Thread requestThread = Thread.currentThread();
+		List<Boolean> onRequestThread = parallelTranslator.translate(results, dao,
+		    obs -> Thread.currentThread() == requestThread);
+		
+		assertThat(onRequestThread, contains(true, true));
+		verify(sessionFactory, never()).openSession();
+	}
+	
+	private static List<Obs> createObs(int count) {
+		List<Obs> results = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			Obs obs = new Obs();
+			obs.setUuid("obs-" + i);
+			obs.setComment("comment " + i);
+			results.add(obs);
+		}
+		return results;
+	}
+}
@@ -0,0 +1,219 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.search;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import ca.uhn.fhir.context.FhirContext;
+import ca.uhn.fhir.rest.api.server.IBundleProvider;
+import ca.uhn.fhir.rest.param.TokenAndListParam;
+import ca.uhn.fhir.rest.param.TokenParam;
+import ca.uhn.fhir.rest.server.SimpleBundleProvider;
+import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.hl7.fhir.r4.model.IntegerType;
+import org.hl7.fhir.r4.model.Observation;
+import org.hl7.fhir.r4.model.Parameters;
+import org.junit.Before;
+import org.junit.Test;
+import org.openmrs.Obs;
+import org.openmrs.module.fhir2.FhirConstants;
+import org.openmrs.module.fhir2.FhirPagedSearch;
+import org.openmrs.module.fhir2.TestFhirSpringConfiguration;
+import org.openmrs.module.fhir2.api.dao.FhirObservationDao;
+import org.openmrs.module.fhir2.api.dao.FhirPagedSearchDao;
+import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
+import org.openmrs.module.fhir2.api.translators.ObservationTranslator;
+import org.openmrs.test.BaseModuleContextSensitiveTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.test.context.ContextConfiguration;
+
+@ContextConfiguration(classes = TestFhirSpringConfiguration.class, inheritLocations = false)
+public class PersistentPagingProviderTest extends BaseModuleContextSensitiveTest {
+	
+	private static final String OBS_DATA_XML = "org/openmrs/module/fhir2/api/dao/impl/FhirObservationDaoImplTest_initial_data_suppl.xml";
+	
+	private static final String OBS_CONCEPT_ID = "5089";
+	
+	private static final String EXPIRED_SEARCH_ID = "e5f3d1a0-0a43-4f0e-9f2c-3b3d0a6e4f51";
+	
+	private static final String OBSERVATION = "Observation";
+	
+	private static final String OTHER_FORMAT_SEARCH_ID = "0c6f8e2b-7d4a-4b1e-a3f5-9e2d6c8b1a47";
+	
+	@Autowired
+	private PersistentPagingProvider pagingProvider;
+	
+	@Autowired
+	@Qualifier("fhirR4")
+	private FhirContext fhirContext;
+	
+	@Autowired
+	private FhirPagedSearchDao pagedSearchDao;
+	
+	@Autowired
+	private FhirObservationDao observationDao;
+	
+	@Autowired
+	private ObservationTranslator observationTranslator;
+	
+	@Before
+	public void setup() throws Exception {
+		executeDataSet(OBS_DATA_XML);
+	}
+	
+	@Test
+	public void storeResultList_shouldStoreSearchInTheDatabase() {
+		SearchQueryBundleProvider<Obs, Observation> search = new SearchQueryBundleProvider<>(new SearchParameterMap(),
+		        observationDao, observationTranslator);
+		
+		String searchId = pagingProvider.storeResultList(null, search);
+		
+		assertThat(searchId, equalTo(search.getUuid()));
+		assertThat(pagedSearchDao.getPagedSearch(searchId).isPresent(), is(true));
+	}
+	
+	@Test
+	public void retrieveResultList_shouldRestoreStoredSearch() {
+		TokenAndListParam code = new TokenAndListParam().addAnd(new TokenParam().setValue(OBS_CONCEPT_ID));
+		SearchQueryBundleProvider<Obs, Observation> search = new SearchQueryBundleProvider<>(
+		        new SearchParameterMap().addParameter(FhirConstants.CODED_SEARCH_HANDLER, code), observationDao,
+		        observationTranslator);
+		
+		String searchId = pagingProvider.storeResultList(null, search);
+		IBundleProvider result = pagingProvider.retrieveResultList(null, searchId);
+		
+		assertThat(result, notNullValue());
+		assertThat(result, not(sameInstance(search)));
+		assertThat(result.size(), equalTo(search.size()));
+		assertThat(toIds(result.getResources(0, 10)), equalTo(toIds(search.getResources(0, 10))));
+	}
+	
+	@Test
+	public void retrieveResultList_shouldRestoreHowFarTheSearchHasBeenRead() {
+		SearchQueryBundleProvider<Obs, Observation> search = new SearchQueryBundleProvider<>(new SearchParameterMap(),
+		        observationDao, observationTranslator);
+		
+		String searchId = pagingProvider.storeResultList(null, search);
+		search.getResources(0, 1000);
+		
+		SearchState restored = ((SearchQueryBundleProvider<?, ?>) pagingProvider.retrieveResultList(null, searchId))
+		        .getState(OBSERVATION);
+		
+		assertThat(restored.getEnd(), notNullValue());
+		assertThat(restored.getEnd(), equalTo(search.getState(OBSERVATION).getEnd()));
+		assertThat(restored.getFetched(), equalTo(search.getState(OBSERVATION).getFetched()));
+	}
+	
+	@Test
+	public void storeResultList_shouldOnlyUpdateStoredSearchWhenTheSearchReadsFurther() {
+		SearchQueryBundleProvider<Obs, Observation> search = new SearchQueryBundleProvider<>(new SearchParameterMap(),
+		        observationDao, observationTranslator);
+		
+		String searchId = pagingProvider.storeResultList(null, search);
+		search.getResources(0, 1);
+		byte[] searchState = pagedSearchDao.getPagedSearch(searchId).get().getSearchState();
+		
+		search.getResources(0, 1);
+		assertThat(pagedSearchDao.getPagedSearch(searchId).get().getSearchState(), sameInstance(searchState));
+		
+		search.getResources(1, 2);
+		assertThat(pagedSearchDao.getPagedSearch(searchId).get().getSearchState(), not(sameInstance(searchState)));
+	}
+	
+	@Test
+	public void retrieveResultList_shouldReturnNullForSearchStoredInAnotherFormat() {
+		Parameters parameters = new Parameters();
+		parameters.addParameter().setName(SearchStateFormat.FORMAT_VERSION_PARAM)
+		        .setValue(new IntegerType(SearchStateFormat.FORMAT_VERSION + 1));
+		saveSearchState(OTHER_FORMAT_SEARCH_ID,
+		    fhirContext.newJsonParser().encodeResourceToString(parameters).getBytes(StandardCharsets.UTF_8));
+		
+		assertThat(pagingProvider.retrieveResultList(null, OTHER_FORMAT_SEARCH_ID), nullValue());
+	}
+	
+	@Test
+	public void retrieveResultList_shouldReturnNullForJavaSerializedSearch() throws Exception {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeInt(1);
+		}
+		saveSearchState(OTHER_FORMAT_SEARCH_ID, bytes.toByteArray());
+		
+		assertThat(pagingProvider.retrieveResultList(null, OTHER_FORMAT_SEARCH_ID), nullValue());
+	}
+	
+	@Test
+	public void storeResultList_shouldStoreTheTypeOfResourceSearchedFor() throws Exception {
+		SearchQueryBundleProvider<Obs, Observation> search = new SearchQueryBundleProvider<>(new SearchParameterMap(),
+		        observationDao, observationTranslator);
+		
+		String searchId = pagingProvider.storeResultList(null, search);
+		SearchState state = SearchStateFormat.read(pagedSearchDao.getPagedSearch(searchId).get().getSearchState(),
+		    fhirContext);
+		
+		assertThat(state.getResourceType(), equalTo(OBSERVATION));
+	}
+	
+	@Test
+	public void retrieveResultList_shouldReturnNullForUnknownSearch() {
+		assertThat(pagingProvider.retrieveResultList(null, EXPIRED_SEARCH_ID), nullValue());
+	}
+	
+	@Test
+	public void retrieveResultList_shouldReturnNullForExpiredSearch() {
+		FhirPagedSearch pagedSearch = new FhirPagedSearch();
+		pagedSearch.setSearchId(EXPIRED_SEARCH_ID);
+		pagedSearch.setSearchState(new byte[0]);
+		pagedSearch.setDateCreated(new Date(0));
+		pagedSearch.setExpires(new Date(1000));
+		pagedSearchDao.savePagedSearch(pagedSearch);
+		
+		assertThat(pagingProvider.retrieveResultList(null, EXPIRED_SEARCH_ID), nullValue());
+		assertThat(pagedSearchDao.purgeExpiredSearches(new Date()), equalTo(1));
+	}
+	
+	@Test
+	public void storeResultList_shouldHoldOtherBundleProvidersInMemory() {
+		IBundleProvider bundleProvider = new SimpleBundleProvider(Collections.singletonList(new Observation()));
+		
+		String searchId = pagingProvider.storeResultList(null, bundleProvider);
+		
+		assertThat(pagedSearchDao.getPagedSearch(searchId).isPresent(), is(false));
+		assertThat(pagingProvider.retrieveResultList(null, searchId), sameInstance(bundleProvider));
+	}
+	
+	private void saveSearchState(String searchId, byte[] searchState) {
+		FhirPagedSearch pagedSearch = new FhirPagedSearch();
+		pagedSearch.setSearchId(searchId);
+		pagedSearch.setSearchState(searchState);
+		pagedSearch.setDateCreated(new Date());
+		pagedSearch.setExpires(new Date(System.currentTimeMillis() + 60000));
+		pagedSearchDao.savePagedSearch(pagedSearch);
+	}
+	
+	private static List<String> toIds(List<IBaseResource> resources) {
+		return resources.stream().map(r -> r.getIdElement().getIdPart()).collect(Collectors.toList());
+	}
+}
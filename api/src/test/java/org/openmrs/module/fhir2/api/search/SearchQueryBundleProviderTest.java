@@ -11,14 +11,31 @@ package org.openmrs.module.fhir2.api.search;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 
+import ca.uhn.fhir.context.FhirVersionEnum;
+import ca.uhn.fhir.rest.api.SearchTotalModeEnum;
 import org.exparity.hamcrest.date.DateMatchers;
+import org.hl7.fhir.instance.model.api.IBaseResource;
 import org.hl7.fhir.instance.model.api.IPrimitiveType;
 import org.hl7.fhir.r4.model.Observation;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -28,6 +45,8 @@ import org.openmrs.Obs;
 import org.openmrs.module.fhir2.api.dao.FhirObservationDao;
 import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
 import org.openmrs.module.fhir2.api.translators.ObservationTranslator;
+import org.openmrs.module.fhir2.api.util.FhirRequestContext;
+import org.openmrs.module.fhir2.providers.util.R3ResourceVersionConverter;
 
 @RunWith(MockitoJUnitRunner.class)
 public class SearchQueryBundleProviderTest {
@@ -40,12 +59,24 @@ public class SearchQueryBundleProviderTest {
 	
 	private SearchQueryBundleProvider<Obs, Observation> searchQueryBundleProvider;
 	
+	private SearchParameterMap theParams;
+	
+	private FhirRequestContext requestContext;
+	
 	@Before
 	public void setup() {
-		SearchParameterMap theParams = new SearchParameterMap();
+		requestContext = new FhirRequestContext();
+		FhirRequestContext.set(requestContext);
+		
+		theParams = new SearchParameterMap();
 		searchQueryBundleProvider = new SearchQueryBundleProvider<>(theParams, observationDao, translator);
 	}
 	
+	@After
+	public void tearDown() {
+		FhirRequestContext.clear();
+	}
+	
 	@Test
 	public void shouldReturnPreferredPageSize() {
 		when(observationDao.getPreferredPageSize()).thenReturn(10);
@@ -64,4 +95,146 @@ public class SearchQueryBundleProviderTest {
 	public void shouldReturnRandomUuid() {
 		assertThat(searchQueryBundleProvider.getUuid(), notNullValue());
 	}
+	
+	@Test
+	public void shouldSeekPastPreviousPageWhenKeysetPagingEnabled() {
+		Obs first = new Obs(1);
+		Obs second = new Obs(2);
+		Obs third = new Obs(3);
+		SearchCursor cursor = new SearchCursor(new Object[0], 2);
+		
+		when(observationDao.isKeysetPagingEnabled()).thenReturn(true);
+		when(observationDao.searchPage(eq(theParams), isNull(), eq(0), eq(2)))
+		        .thenReturn(new KeysetPage<>(Arrays.asList(first, second), cursor));
+		when(observationDao.searchPage(eq(theParams), eq(cursor), eq(2), eq(2)))
+		        .thenReturn(new KeysetPage<>(Collections.singletonList(third), new SearchCursor(new Object[0], 3)));
+		when(translator.toFhirResource(any(Obs.class))).thenReturn(new Observation());
+		
+		List<IBaseResource> firstPage = searchQueryBundleProvider.getResources(0, 2);
+		List<IBaseResource> secondPage = searchQueryBundleProvider.getResources(2, 4);
+		
+		assertThat(firstPage, hasSize(2));
+		assertThat(secondPage, hasSize(1));
+		verify(observationDao, never()).search(any(), any(), anyInt(), anyInt());
+	}
+	
+	@Test
+	public void shouldReportNumberOfResultsReturnedOnceAPageEndsEarly() {
+		when(observationDao.getSearchResultsCount(theParams)).thenReturn(5);
+		when(observationDao.searchPage(eq(theParams), isNull(), eq(0), eq(10)))
+		        .thenReturn(new KeysetPage<>(Arrays.asList(new Obs(1), new Obs(2), new Obs(3)), null));
+		when(translator.toFhirResource(any(Obs.class))).thenReturn(new Observation());
+		
+		assertThat(searchQueryBundleProvider.size(), equalTo(5));
+		assertThat(searchQueryBundleProvider.getResources(0, 10), hasSize(3));
+		assertThat(searchQueryBundleProvider.size(), equalTo(3));
+		assertThat(searchQueryBundleProvider.getResources(3, 13), hasSize(0));
+		verify(observationDao, never()).searchPage(any(), any(), eq(3), anyInt());
+	}
+	
+	@Test
+	public void shouldNotReportACountBelowTheNumberOfResultsReturned() {
+		when(observationDao.getSearchResultsCount(theParams)).thenReturn(1);
+		when(observationDao.searchPage(eq(theParams), isNull(), eq(0), eq(2)))
+		        .thenReturn(new KeysetPage<>(Arrays.asList(new Obs(1), new Obs(2)), null));
+		when(translator.toFhirResource(any(Obs.class))).thenReturn(new Observation());
+		
+		assertThat(searchQueryBundleProvider.getResources(0, 2), hasSize(2));
+		assertThat(searchQueryBundleProvider.size(), nullValue());
+	}
+	
+	@Test
+	public void shouldReturnR3ResourcesForR3Searches() {
+		requestContext.setFhirVersion(FhirVersionEnum.DSTU3);
+		SearchQueryBundleProviderFactory factory = new SearchQueryBundleProviderFactory();
+		factory.setVersionConverter(new R3ResourceVersionConverter());
+		searchQueryBundleProvider = factory.create(theParams, observationDao, translator);
+		
+		Obs obs = new Obs(1);
+		Observation observation = new Observation();
+		observation.setId("39fb7f47-e80a-4056-9285-bd798be13c63");
+		observation.setStatus(Observation.ObservationStatus.FINAL);
+		when(observationDao.searchPage(eq(theParams), isNull(), eq(0), eq(1)))
+		        .thenReturn(new KeysetPage<>(Collections.singletonList(obs), null));
+		when(translator.toFhirResource(obs)).thenReturn(observation);
+		
+		List<IBaseResource> resources = searchQueryBundleProvider.getResources(0, 1);
+		
+		assertThat(resources, hasSize(1));
+		assertThat(resources.get(0), instanceOf(org.hl7.fhir.dstu3.model.Observation.class));
+		assertThat(resources.get(0).getIdElement().getIdPart(), equalTo(observation.getIdElement().getIdPart()));
+	}
+	
+	@Test
+	public void shouldFallBackToOffsetWhenNoCursorIsKnown() {
+		when(observationDao.isKeysetPagingEnabled()).thenReturn(true);
+		when(observationDao.searchPage(eq(theParams), isNull(), eq(20), eq(10)))
+		        .thenReturn(new KeysetPage<>(Collections.emptyList(), null));
+		
+		assertThat(searchQueryBundleProvider.getResources(20, 30), hasSize(0));
+	}
+	
+	@Test
+	public void shouldNotCalculateTotalWhenTotalModeIsNone() {
+		requestContext.setTotalMode(SearchTotalModeEnum.NONE);
+		searchQueryBundleProvider = new SearchQueryBundleProvider<>(theParams, observationDao, translator);
+		
+		assertThat(searchQueryBundleProvider.size(), nullValue());
+		verify(observationDao, never()).getSearchResultsCount(any());
+		verify(observationDao, never()).getResultUuids(any());
+	}
+	
+	@Test
+	public void shouldUseEstimateWhenTotalModeIsEstimate() {
+		requestContext.setTotalMode(SearchTotalModeEnum.ESTIMATED);
+		searchQueryBundleProvider = new SearchQueryBundleProvider<>(theParams, observationDao, translator);
+		when(observationDao.getSearchResultsCountEstimate(theParams)).thenReturn(400000);
+		
+		assertThat(searchQueryBundleProvider.size(), equalTo(400000));
+		verify(observationDao, never()).getResultUuids(any());
+	}
+	
+	@Test
+	public void shouldUseCountQueryForTotalWhenKeysetPagingEnabled() {
+		when(observationDao.isKeysetPagingEnabled()).thenReturn(true);
+		when(observationDao.getSearchResultsCount(theParams)).thenReturn(12);
+		
+		assertThat(searchQueryBundleProvider.size(), equalTo(12));
+		assertThat(searchQueryBundleProvider.size(), equalTo(12));
+		verify(observationDao, never()).getResultUuids(any());
+	}
+	
+	@Test
+	public void shouldDeferPageWhenStreamingIsEnabled() {
+		requestContext.setStreaming(true);
+		
+		assertThat(searchQueryBundleProvider.getResources(0, 10), hasSize(0));
+		verify(observationDao, never()).searchPage(any(), any(), anyInt(), anyInt());
+		
+		StreamingSearchHolder.DeferredPage deferredPage = StreamingSearchHolder.take();
+		assertThat(deferredPage, notNullValue());
+		assertThat(StreamingSearchHolder.isEnabled(), equalTo(false));
+	}
+	
+	@Test
+	public void shouldStreamDeferredPageInChunks() {
+		List<Obs> firstChunk = Arrays.asList(new Obs(1), new Obs(2));
+		List<Obs> secondChunk = Collections.singletonList(new Obs(3));
+		
+		when(observationDao.searchPage(eq(theParams), isNull(), eq(0), eq(2)))
+		        .thenReturn(new KeysetPage<>(firstChunk, null));
+		when(observationDao.searchPage(eq(theParams), isNull(), eq(2), eq(2)))
+		        .thenReturn(new KeysetPage<>(secondChunk, null));
+		when(translator.toFhirResource(any(Obs.class))).thenReturn(new Observation());
+		
+		requestContext.setStreaming(true);
+		searchQueryBundleProvider.getResources(0, 10);
+		
+		List<Integer> chunkSizes = new ArrayList<>();
+		StreamingSearchHolder.take().stream(2, chunk -> chunkSizes.add(chunk.size()));
+		
+		assertThat(chunkSizes, equalTo(Arrays.asList(2, 1)));
+		verify(observationDao).evict(firstChunk);
+		verify(observationDao).evict(secondChunk);
+	}
 }
@@ -0,0 +1,217 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.search;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import ca.uhn.fhir.model.api.Include;
+import ca.uhn.fhir.model.api.ResourceMetadataKeyEnum;
+import ca.uhn.fhir.model.valueset.BundleEntrySearchModeEnum;
+import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.hl7.fhir.r4.model.Encounter;
+import org.hl7.fhir.r4.model.Observation;
+import org.hl7.fhir.r4.model.Patient;
+import org.hl7.fhir.r4.model.Reference;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.openmrs.Obs;
+import org.openmrs.module.fhir2.FhirConstants;
+import org.openmrs.module.fhir2.api.dao.FhirObservationDao;
+import org.openmrs.module.fhir2.api.dao.FhirPatientDao;
+import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
+import org.openmrs.module.fhir2.api.translators.ObservationTranslator;
+import org.openmrs.module.fhir2.api.translators.PatientTranslator;
+import org.openmrs.module.fhir2.api.translators.RequestedElementsHolder;
+import org.openmrs.module.fhir2.api.util.FhirRequestContext;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SearchQueryIncludeTest {
+	
+	private static final String PATIENT_UUID = "5946f880-b197-400b-9caa-a3c661d23041";
+	
+	private static final String ENCOUNTER_UUID = "6519d653-393b-4118-9c83-a3715b82d4ac";
+	
+	private static final String OBS_UUID = "39fb7f47-e80a-4056-9285-bd798be13c63";
+	
+	@Mock
+	private FhirPatientDao patientDao;
+	
+	@Mock
+	private PatientTranslator patientTranslator;
+	
+	@Mock
+	private FhirObservationDao observationDao;
+	
+	@Mock
+	private ObservationTranslator observationTranslator;
+	
+	private SearchQueryInclude searchQueryInclude;
+	
+	@Before
+	public void setup() {
+		searchQueryInclude = new SearchQueryInclude();
+		searchQueryInclude.setPatientDao(patientDao);
+		searchQueryInclude.setPatientTranslator(patientTranslator);
+		searchQueryInclude.setObservationDao(observationDao);
+		searchQueryInclude.setObservationTranslator(observationTranslator);
+	}
+	
+	@Test
+	public void hasIncludes_shouldOnlyBeTrueWhenIncludesAreRequested() {
+		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.INCLUDE_SEARCH_HANDLER, null);
+		assertThat(SearchQueryInclude.hasIncludes(theParams), equalTo(false));
+		
+		theParams.addParameter(FhirConstants.INCLUDE_SEARCH_HANDLER, includes("Observation:patient"));
+		assertThat(SearchQueryInclude.hasIncludes(theParams), equalTo(true));
+	}
+	
+	@Test
+	public void getIncludedResources_shouldLoadEachReferencedResourceOnce() {
+		org.openmrs.Patient openmrsPatient = new org.openmrs.Patient();
+		openmrsPatient.setUuid(PATIENT_UUID);
+		Patient patient = new Patient();
+		patient.setId(PATIENT_UUID);
+		
+		when(patientDao.get(Collections.singleton(PATIENT_UUID))).thenReturn(Collections.singletonList(openmrsPatient));
+		when(patientTranslator.toFhirResource(openmrsPatient)).thenReturn(patient);
+		
+		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.INCLUDE_SEARCH_HANDLER,
+		    includes("Observation:patient"));
+		
+		List<IBaseResource> included = searchQueryInclude
+		        .getIncludedResources(Arrays.asList(observation("obs1"), observation("obs2")), theParams);
+		
+		assertThat(included, contains(patient));
+		assertThat(ResourceMetadataKeyEnum.ENTRY_SEARCH_MODE.get(patient), equalTo(BundleEntrySearchModeEnum.INCLUDE));
+	}
+	
+	@Test
+	public void getIncludedResources_shouldTranslateEveryElementOfTheIncludedResources() {
+		FhirRequestContext requestContext = new FhirRequestContext();
+		Set<String> requestedElements = Collections.singleton("code");
+		requestContext.setRequestedElements(requestedElements);
+		FhirRequestContext.set(requestContext);
+		
+		org.openmrs.Patient openmrsPatient = new org.openmrs.Patient();
+		openmrsPatient.setUuid(PATIENT_UUID);
+		when(patientDao.get(Collections.singleton(PATIENT_UUID))).thenReturn(Collections.singletonList(openmrsPatient));
+		when(patientTranslator.toFhirResource(openmrsPatient)).thenAnswer(invocation -> {
+			assertThat(RequestedElementsHolder.isRequested("name"), equalTo(true));
+			return new Patient().setId(PATIENT_UUID);
+		});
+		
+		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.INCLUDE_SEARCH_HANDLER,
+		    includes("Observation:patient"));
+		
+		try {
+			assertThat(searchQueryInclude.getIncludedResources(Collections.singletonList(observation("obs1")), theParams),
+			    hasSize(1));
+			assertThat(requestContext.getRequestedElements(), equalTo(requestedElements));
+		}
+		finally {
+			FhirRequestContext.clear();
+		}
+	}
+	
+	@Test
+	public void getIncludedResources_shouldIgnoreReferencesThatWereNotRequested() {
+		SearchParameterMap theParams = new SearchParameterMap().addParameter(FhirConstants.INCLUDE_SEARCH_HANDLER,
+		    includes("Observation:encounter"));
+		
+		List<IBaseResource> included = searchQueryInclude.getIncludedResources(
+		    Collections.singletonList(new Observation().setSubject(new Reference("Patient/" + PATIENT_UUID))), theParams);
+		
+		assertThat(included, empty());
+		verify(patientDao, never()).get(any(Collection.class));
+	}
+	
+	@Test
+	public void getIncludedResources_shouldLoadObservationsReferencingTheEncounters() {
+		Encounter encounter = new Encounter();
+		encounter.setId(ENCOUNTER_UUID);
+		Obs obs = new Obs();
+		obs.setUuid(OBS_UUID);
+		Observation observation = new Observation();
+		observation.setId(OBS_UUID);
+		
+		when(observationDao.searchPage(any(), isNull(), eq(0), eq(SearchQueryInclude.MAX_REVERSE_INCLUDED + 1)))
+		        .thenReturn(new KeysetPage<>(Collections.singletonList(obs), null));
+		when(observationTranslator.toFhirResource(obs)).thenReturn(observation);
+		
+		SearchParameterMap theParams = new SearchParameterMap()
+		        .addParameter(FhirConstants.REVERSE_INCLUDE_SEARCH_HANDLER, includes("Observation:encounter"));
+		
+		List<IBaseResource> included = searchQueryInclude.getIncludedResources(new ArrayList<>(
+		        Collections.singletonList(encounter)), theParams);
+		
+		assertThat(included, hasSize(1));
+		assertThat(included, contains(observation));
+	}
+	
+	@Test
+	public void getIncludedResources_shouldLimitTheNumberOfObservationsReferencingTheEncounters() {
+		Encounter encounter = new Encounter();
+		encounter.setId(ENCOUNTER_UUID);
+		
+		List<Obs> observations = new ArrayList<>();
+		for (int i = 0; i <= SearchQueryInclude.MAX_REVERSE_INCLUDED; i++) {
+			observations.add(new Obs(i));
+		}
+		
+		when(observationDao.searchPage(any(), isNull(), eq(0), eq(SearchQueryInclude.MAX_REVERSE_INCLUDED + 1)))
+		        .thenReturn(new KeysetPage<>(observations, null));
+		when(observationTranslator.toFhirResource(any(Obs.class)))
+		        .thenAnswer(invocation -> observation(invocation.<Obs> getArgument(0).getUuid()));
+		
+		SearchParameterMap theParams = new SearchParameterMap()
+		        .addParameter(FhirConstants.REVERSE_INCLUDE_SEARCH_HANDLER, includes("Observation:encounter"));
+		
+		List<IBaseResource> included = searchQueryInclude.getIncludedResources(new ArrayList<>(
+		        Collections.singletonList(encounter)), theParams);
+		
+		assertThat(included, hasSize(SearchQueryInclude.MAX_REVERSE_INCLUDED));
+	}
+	
+	private static Observation observation(String id) {
+		Observation observation = new Observation();
+		observation.setId(id);
+		observation.setSubject(new Reference().setReference("Patient/" + PATIENT_UUID).setType(FhirConstants.PATIENT));
+		return observation;
+	}
+	
+	private static HashSet<Include> includes(String... values) {
+		HashSet<Include> includes = new HashSet<>();
+		for (String value : values) {
+			includes.add(new Include(value));
+		}
+		return includes;
+	}
+}
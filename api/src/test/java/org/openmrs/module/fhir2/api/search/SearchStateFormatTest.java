@@ -0,0 +1,202 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.search;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayContaining;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import ca.uhn.fhir.context.FhirContext;
+import ca.uhn.fhir.context.FhirVersionEnum;
+import ca.uhn.fhir.model.api.Include;
+import ca.uhn.fhir.rest.api.SearchTotalModeEnum;
+import ca.uhn.fhir.rest.api.SortOrderEnum;
+import ca.uhn.fhir.rest.api.SortSpec;
+import ca.uhn.fhir.rest.param.DateParam;
+import ca.uhn.fhir.rest.param.DateRangeParam;
+import ca.uhn.fhir.rest.param.ParamPrefixEnum;
+import ca.uhn.fhir.rest.param.StringAndListParam;
+import ca.uhn.fhir.rest.param.StringOrListParam;
+import ca.uhn.fhir.rest.param.StringParam;
+import ca.uhn.fhir.rest.param.TokenAndListParam;
+import ca.uhn.fhir.rest.param.TokenOrListParam;
+import ca.uhn.fhir.rest.param.TokenParam;
+import org.junit.Before;
+import org.junit.Test;
+import org.openmrs.module.fhir2.FhirConstants;
+import org.openmrs.module.fhir2.api.search.param.PropParam;
+import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
+
+public class SearchStateFormatTest {
+	
+	private static final FhirContext FHIR_CONTEXT = FhirContext.forR4();
+	
+	private static final String CODE_SYSTEM = "http://loinc.org";
+	
+	private static final String CODE = "5089-8";
+	
+	private static final String OTHER_CODE = "5090-6";
+	
+	private static final String NAME = "Wa";
+	
+	private SearchState state;
+	
+	@Before
+	public void setup() {
+		state = new SearchState();
+		state.setUuid(UUID.randomUUID());
+		state.setDatePublished(new Date(1600000000000L));
+		state.setTheParams(new SearchParameterMap());
+		state.setResourceType("Observation");
+	}
+	
+	@Test
+	public void shouldRoundTripTheProgressOfTheSearch() throws IOException {
+		state.setTotalMode(SearchTotalModeEnum.ACCURATE);
+		state.setFhirVersion(FhirVersionEnum.DSTU3);
+		state.setCount(120);
+		state.setEnd(130);
+		state.setFetched(60);
+		
+		SearchState result = roundTrip(state);
+		
+		assertThat(result.getUuid(), equalTo(state.getUuid()));
+		assertThat(result.getDatePublished(), equalTo(state.getDatePublished()));
+		assertThat(result.getResourceType(), equalTo("Observation"));
+		assertThat(result.getTotalMode(), equalTo(SearchTotalModeEnum.ACCURATE));
+		assertThat(result.getFhirVersion(), equalTo(FhirVersionEnum.DSTU3));
+		assertThat(result.getCount(), equalTo(120));
+		assertThat(result.getEnd(), equalTo(130));
+		assertThat(result.getFetched(), equalTo(60));
+	}
+	
+	@Test
+	public void shouldRoundTripAnUnfinishedSearch() throws IOException {
+		SearchState result = roundTrip(state);
+		
+		assertThat(result.getTotalMode(), nullValue());
+		assertThat(result.getFhirVersion(), nullValue());
+		assertThat(result.getCount(), nullValue());
+		assertThat(result.getEnd(), nullValue());
+	}
+	
+	@Test
+	public void shouldRoundTripSearchParameters() throws IOException {
+		TokenAndListParam code = new TokenAndListParam().addAnd(
+		    new TokenOrListParam().add(new TokenParam(CODE_SYSTEM, CODE)).add(new TokenParam(CODE_SYSTEM, OTHER_CODE)));
+		StringAndListParam name = new StringAndListParam()
+		        .addAnd(new StringOrListParam().add(new StringParam(NAME, true)));
+		DateRangeParam date = new DateRangeParam(new DateParam(ParamPrefixEnum.GREATERTHAN_OR_EQUALS, "2020-01-01"),
+		        new DateParam(ParamPrefixEnum.LESSTHAN, "2020-02-01"));
+		state.getTheParams().addParameter(FhirConstants.CODED_SEARCH_HANDLER, code)
+		        .addParameter(FhirConstants.NAME_SEARCH_HANDLER, "name", name)
+		        .addParameter(FhirConstants.DATE_RANGE_SEARCH_HANDLER, "obsDatetime", date)
+		        .addParameter(FhirConstants.DATE_RANGE_SEARCH_HANDLER, "dateCreated", new DateParam("2020-03-01"));
+		
+		SearchParameterMap result = roundTrip(state).getTheParams();
+		
+		TokenAndListParam resultCode = (TokenAndListParam) getParam(result, FhirConstants.CODED_SEARCH_HANDLER, 0);
+		assertThat(resultCode.getValuesAsQueryTokens(), hasSize(1));
+		assertThat(resultCode.getValuesAsQueryTokens().get(0).getValuesAsQueryTokens().stream()
+		        .map(t -> t.getSystem() + "|" + t.getValue()).collect(Collectors.toList()),
+		    containsInAnyOrder(CODE_SYSTEM + "|" + CODE, CODE_SYSTEM + "|" + OTHER_CODE));
+		
+		List<PropParam<?>> names = result.getParameters(FhirConstants.NAME_SEARCH_HANDLER);
+		assertThat(names.get(0).getPropertyName(), equalTo("name"));
+		StringParam resultName = ((StringAndListParam) names.get(0).getParam()).getValuesAsQueryTokens().get(0)
+		        .getValuesAsQueryTokens().get(0);
+		assertThat(resultName.getValue(), equalTo(NAME));
+		assertThat(resultName.isExact(), equalTo(true));
+		
+		DateRangeParam resultDate = (DateRangeParam) getParam(result, FhirConstants.DATE_RANGE_SEARCH_HANDLER, 0);
+		assertThat(resultDate.getLowerBound().getValueAsString(), equalTo("2020-01-01"));
+		assertThat(resultDate.getLowerBound().getPrefix(), equalTo(ParamPrefixEnum.GREATERTHAN_OR_EQUALS));
+		assertThat(resultDate.getUpperBound().getValueAsString(), equalTo("2020-02-01"));
+		assertThat(resultDate.getUpperBound().getPrefix(), equalTo(ParamPrefixEnum.LESSTHAN));
+		
+		DateParam resultDateCreated = (DateParam) getParam(result, FhirConstants.DATE_RANGE_SEARCH_HANDLER, 1);
+		assertThat(resultDateCreated.getValueAsString(), equalTo("2020-03-01"));
+	}
+	
+	@Test
+	public void shouldRoundTripIncludesAndSorting() throws IOException {
+		HashSet<Include> includes = new HashSet<>();
+		includes.add(new Include("Observation:patient"));
+		includes.add(new Include("Observation:has-member", true));
+		state.getTheParams().addParameter(FhirConstants.INCLUDE_SEARCH_HANDLER, includes);
+		state.getTheParams().setSortSpec(new SortSpec("date", SortOrderEnum.DESC, new SortSpec("_id")));
+		
+		SearchParameterMap result = roundTrip(state).getTheParams();
+		
+		@SuppressWarnings("unchecked")
+		HashSet<Include> resultIncludes = (HashSet<Include>) getParam(result, FhirConstants.INCLUDE_SEARCH_HANDLER, 0);
+		assertThat(resultIncludes.stream().map(i -> i.getValue() + ":" + i.isRecurse()).collect(Collectors.toList()),
+		    containsInAnyOrder("Observation:patient:false", "Observation:has-member:true"));
+		assertThat(result.getSortSpec().getParamName(), equalTo("date"));
+		assertThat(result.getSortSpec().getOrder(), equalTo(SortOrderEnum.DESC));
+		assertThat(result.getSortSpec().getChain().getParamName(), equalTo("_id"));
+	}
+	
+	@Test
+	public void shouldRoundTripCursors() throws IOException {
+		Timestamp timestamp = new Timestamp(1600000000123L);
+		timestamp.setNanos(123456789);
+		state.getCursors().put(50, new SearchCursor(new Object[] { timestamp, "Bp", null }, 7));
+		state.getCursors().put(100, new SearchCursor(null, 12L));
+		
+		SearchState result = roundTrip(state);
+		
+		assertThat(result.getCursors().keySet(), containsInAnyOrder(50, 100));
+		assertThat(result.getCursors().get(50).getSortValues(), arrayContaining(timestamp, "Bp", null));
+		assertThat(result.getCursors().get(50).getId(), equalTo(7));
+		assertThat(result.getCursors().get(100).getSortValues(), nullValue());
+		assertThat(result.getCursors().get(100).getId(), equalTo(12L));
+	}
+	
+	@Test(expected = IOException.class)
+	public void shouldNotWriteSearchParametersOfUnknownTypes() throws IOException {
+		state.getTheParams().addParameter(FhirConstants.CODED_SEARCH_HANDLER, new Date());
+		
+		SearchStateFormat.write(state, FHIR_CONTEXT);
+	}
+	
+	@Test(expected = IOException.class)
+	public void shouldNotReadJavaSerializedSearches() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeInt(1);
+			out.writeObject(Arrays.asList(CODE, OTHER_CODE));
+		}
+		
+		SearchStateFormat.read(bytes.toByteArray(), FHIR_CONTEXT);
+	}
+	
+	private static SearchState roundTrip(SearchState state) throws IOException {
+		return SearchStateFormat.read(SearchStateFormat.write(state, FHIR_CONTEXT), FHIR_CONTEXT);
+	}
+	
+	private static Object getParam(SearchParameterMap theParams, String key, int index) {
+		return theParams.getParameters(key).get(index).getParam();
+	}
+}
@@ -0,0 +1,146 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.subscriptions;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import ca.uhn.fhir.rest.server.exceptions.InvalidRequestException;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.openmrs.Concept;
+import org.openmrs.ConceptSource;
+import org.openmrs.Obs;
+import org.openmrs.Patient;
+import org.openmrs.module.fhir2.FhirConceptSource;
+import org.openmrs.module.fhir2.FhirReference;
+import org.openmrs.module.fhir2.FhirTask;
+import org.openmrs.module.fhir2.api.FhirConceptService;
+import org.openmrs.module.fhir2.api.FhirConceptSourceService;
+import org.openmrs.module.fhir2.api.dao.FhirEncounterDao;
+import org.openmrs.module.fhir2.api.dao.FhirPatientDao;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SubscriptionCriteriaCompilerTest {
+	
+	private static final String CONCEPT_UUID = "5085AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA";
+	
+	private static final String PATIENT_UUID = "a7e04421-525f-442f-8138-05b619d16def";
+	
+	private static final String LOINC_URL = "http://loinc.org";
+	
+	@Mock
+	private FhirConceptService conceptService;
+	
+	@Mock
+	private FhirConceptSourceService conceptSourceService;
+	
+	@Mock
+	private FhirPatientDao patientDao;
+	
+	@Mock
+	private FhirEncounterDao encounterDao;
+	
+	private SubscriptionCriteriaCompiler compiler;
+	
+	@Before
+	public void setup() {
+		compiler = new SubscriptionCriteriaCompiler();
+		compiler.setConceptService(conceptService);
+		compiler.setConceptSourceService(conceptSourceService);
+		compiler.setPatientDao(patientDao);
+		compiler.setEncounterDao(encounterDao);
+	}
+	
+	@Test
+	public void compile_shouldMatchObservationsByCodeAndPatient() {
+		when(conceptService.get(CONCEPT_UUID)).thenReturn(concept(5085));
+		Patient patient = new Patient(7);
+		when(patientDao.get(PATIENT_UUID)).thenReturn(patient);
+		
+		SubscriptionCriteria criteria = compiler.compile("Observation?code=" + CONCEPT_UUID + "&patient=Patient/" + PATIENT_UUID);
+		
+		assertThat(criteria.getResourceType(), equalTo("Observation"));
+		assertThat(criteria.matches(obs(5085, 7)), is(true));
+		assertThat(criteria.matches(obs(5086, 7)), is(false));
+		assertThat(criteria.matches(obs(5085, 8)), is(false));
+		assertThat(criteria.matches(new FhirTask()), is(false));
+	}
+	
+	@Test
+	public void compile_shouldMatchAnyOfCommaSeparatedCodes() {
+		ConceptSource loinc = new ConceptSource();
+		loinc.setName("LOINC");
+		FhirConceptSource conceptSource = new FhirConceptSource();
+		conceptSource.setConceptSource(loinc);
+		when(conceptSourceService.getFhirConceptSourceByUrl(LOINC_URL)).thenReturn(Optional.of(conceptSource));
+		when(conceptService.getConceptBySourceNameAndCode("LOINC", "8480-6")).thenReturn(Optional.of(concept(5085)));
+		when(conceptService.getConceptBySourceNameAndCode("LOINC", "8462-4")).thenReturn(Optional.of(concept(5086)));
+		
+		SubscriptionCriteria criteria = compiler.compile("Observation?code=http%3A%2F%2Floinc.org%7C8480-6,"
+		        + "http%3A%2F%2Floinc.org%7C8462-4");
+		
+		assertThat(criteria.matches(obs(5085, 7)), is(true));
+		assertThat(criteria.matches(obs(5086, 7)), is(true));
+		assertThat(criteria.matches(obs(5087, 7)), is(false));
+	}
+	
+	@Test
+	public void compile_shouldMatchTasksByStatusAndOwner() {
+		SubscriptionCriteria criteria = compiler.compile("Task?status=requested,accepted&owner=Practitioner/123");
+		
+		FhirTask task = new FhirTask();
+		task.setStatus(FhirTask.TaskStatus.ACCEPTED);
+		FhirReference owner = new FhirReference();
+		owner.setReference("Practitioner/123");
+		task.setOwnerReference(owner);
+		assertThat(criteria.matches(task), is(true));
+		
+		task.setStatus(FhirTask.TaskStatus.COMPLETED);
+		assertThat(criteria.matches(task), is(false));
+		
+		task.setStatus(FhirTask.TaskStatus.REQUESTED);
+		task.setOwnerReference(null);
+		assertThat(criteria.matches(task), is(false));
+	}
+	
+	@Test(expected = InvalidRequestException.class)
+	public void compile_shouldRejectUnsupportedResourceTypes() {
+		compiler.compile("Patient?name=John");
+	}
+	
+	@Test(expected = InvalidRequestException.class)
+	public void compile_shouldRejectUnsupportedParameters() {
+		compiler.compile("Observation?value-quantity=gt100");
+	}
+	
+	@Test(expected = InvalidRequestException.class)
+	public void compile_shouldRejectUnknownCodes() {
+		compiler.compile("Observation?code=" + CONCEPT_UUID);
+	}
+	
+	private static Concept concept(int conceptId) {
+		return new Concept(conceptId);
+	}
+	
+	private static Obs obs(int conceptId, int personId) {
+		Obs obs = new Obs();
+		obs.setConcept(concept(conceptId));
+		obs.setPerson(new Patient(personId));
+		return obs;
+	}
+}
@@ -0,0 +1,201 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.subscriptions;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import ca.uhn.fhir.context.FhirContext;
+import com.sun.net.httpserver.HttpServer;
+import org.hl7.fhir.r4.model.Bundle;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openmrs.module.fhir2.FhirChange;
+
+public class SubscriptionDispatcherTest {
+	
+	private static final String SUBSCRIPTION_UUID = "0f7a8ba6-6a5e-4d4f-9d8a-3b4c1b8c2a11";
+	
+	private static final String OBS_UUID = "39fb7f47-e80a-4056-9285-bd798be13c63";
+	
+	private static final String OTHER_OBS_UUID = "e26cea2c-1b9f-4afe-b211-f3ef6c88af6f";
+	
+	private static final FhirContext fhirContext = FhirContext.forR4();
+	
+	private final List<Bundle> received = new CopyOnWriteArrayList<>();
+	
+	private final List<String> authorizations = new CopyOnWriteArrayList<>();
+	
+	private final AtomicInteger failures = new AtomicInteger();
+	
+	private CountDownLatch latch;
+	
+	private HttpServer server;
+	
+	private SubscriptionDispatcher dispatcher;
+	
+	private ActiveSubscription subscription;
+	
+	@Before
+	public void setup() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/notify", exchange -> {
+			String body = read(exchange.getRequestBody());
+			if (failures.getAndDecrement() > 0) {
+				exchange.sendResponseHeaders(500, -1);
+			} else {
+				received.add(fhirContext.newJsonParser().parseResource(Bundle.class, body));
+				authorizations.add(exchange.getRequestHeaders().getFirst("Authorization"));
+				exchange.sendResponseHeaders(200, -1);
+				latch.countDown();
+			}
+			exchange.close();
+		});
+		server.start();
+		
+		dispatcher = new SubscriptionDispatcher();
+		dispatcher.setFhirContext(fhirContext);
+		dispatcher.setBatchDelay(50);
+		dispatcher.setInitialBackoff(10);
+		
+		subscription = new ActiveSubscription(SUBSCRIPTION_UUID,
+		        "http://localhost:" + server.getAddress().getPort() + "/notify",
+		        Collections.singletonList("Authorization: Bearer secret"), null);
+	}
+	
+	@After
+	public void tearDown() {
+		dispatcher.shutdown();
+		server.stop(0);
+	}
+	
+	@Test
+	public void dispatch_shouldPostChangesInOneBatch() throws InterruptedException {
+		latch = new CountDownLatch(1);
+		
+		dispatcher.dispatch(subscription, change(1, OBS_UUID, FhirChange.Operation.CREATE));
+		dispatcher.dispatch(subscription, change(2, OTHER_OBS_UUID, FhirChange.Operation.UPDATE));
+		
+		assertThat(latch.await(5, TimeUnit.SECONDS), is(true));
+		assertThat(received, hasSize(1));
+		
+		Bundle bundle = received.get(0);
+		assertThat(bundle.getType(), equalTo(Bundle.BundleType.HISTORY));
+		assertThat(bundle.getLink("subscription").getUrl(), equalTo("Subscription/" + SUBSCRIPTION_UUID));
+		assertThat(bundle.getEntry().stream().map(Bundle.BundleEntryComponent::getFullUrl).collect(Collectors.toList()),
+		    contains("Observation/" + OBS_UUID, "Observation/" + OTHER_OBS_UUID));
+		assertThat(bundle.getEntry().get(0).getRequest().getMethod(), equalTo(Bundle.HTTPVerb.POST));
+		assertThat(bundle.getEntry().get(1).getRequest().getMethod(), equalTo(Bundle.HTTPVerb.PUT));
+		assertThat(authorizations.get(0), equalTo("Bearer secret"));
+	}
+	
+	@Test
+	public void dispatch_shouldPostFullBatchesWithoutWaiting() throws InterruptedException {
+		latch = new CountDownLatch(2);
+		dispatcher.setBatchSize(2);
+		dispatcher.setBatchDelay(TimeUnit.MINUTES.toMillis(1));
+		
+		for (int i = 1; i <= 4; i++) {
+			dispatcher.dispatch(subscription, change(i, OBS_UUID, FhirChange.Operation.UPDATE));
+		}
+		
+		assertThat(latch.await(5, TimeUnit.SECONDS), is(true));
+		assertThat(received, hasSize(2));
+		assertThat(received.get(0).getEntry(), hasSize(2));
+		assertThat(received.get(1).getEntry(), hasSize(2));
+	}
+	
+	@Test
+	public void dispatch_shouldRetryFailedDeliveries() throws InterruptedException {
+		latch = new CountDownLatch(1);
+		failures.set(2);
+		
+		dispatcher.dispatch(subscription, change(1, OBS_UUID, FhirChange.Operation.DELETE));
+		
+		assertThat(latch.await(5, TimeUnit.SECONDS), is(true));
+		assertThat(received, hasSize(1));
+		assertThat(received.get(0).getEntry().get(0).getRequest().getMethod(), equalTo(Bundle.HTTPVerb.DELETE));
+	}
+	
+	@Test
+	public void drainPending_shouldReturnBatchesWaitingToBeSent() {
+		dispatcher.setBatchDelay(TimeUnit.MINUTES.toMillis(1));
+		
+		dispatcher.dispatch(subscription, change(1, OBS_UUID, FhirChange.Operation.CREATE));
+		dispatcher.dispatch(subscription, change(2, OTHER_OBS_UUID, FhirChange.Operation.UPDATE));
+		
+		List<SubscriptionDispatcher.Batch> pending = dispatcher.drainPending();
+		assertThat(pending, hasSize(1));
+		assertThat(pending.get(0).getChanges(), hasSize(2));
+		assertThat(dispatcher.drainPending(), empty());
+	}
+	
+	@Test
+	public void drainPending_shouldReturnBatchesWaitingToBeRetried() throws InterruptedException {
+		failures.set(100);
+		dispatcher.setBatchSize(1);
+		dispatcher.setInitialBackoff(TimeUnit.MINUTES.toMillis(1));
+		
+		dispatcher.dispatch(subscription, change(1, OBS_UUID, FhirChange.Operation.DELETE));
+		
+		long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+		while (failures.get() == 100 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		
+		List<SubscriptionDispatcher.Batch> pending = Collections.emptyList();
+		while (pending.isEmpty() && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+			pending = dispatcher.drainPending();
+		}
+		
+		assertThat(pending, hasSize(1));
+		assertThat(pending.get(0).getChanges().get(0).getId(), equalTo(1L));
+	}
+	
+	private static FhirChange change(long id, String uuid, FhirChange.Operation operation) {
+		FhirChange change = new FhirChange();
+		change.setId(id);
+		change.setResourceType("Observation");
+		change.setResourceUuid(uuid);
+		change.setOperation(operation);
+		change.setDateChanged(new Date());
+		return change;
+	}
+	
+	private static String read(InputStream in) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[1024];
+		int read;
+		while ((read = in.read(buffer)) >= 0) {
+			out.write(buffer, 0, read);
+		}
+		return new String(out.toByteArray(), StandardCharsets.UTF_8);
+	}
+}
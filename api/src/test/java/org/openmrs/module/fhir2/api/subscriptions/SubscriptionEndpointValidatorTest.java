@@ -0,0 +1,80 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.subscriptions;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+
+import java.net.InetAddress;
+
+import ca.uhn.fhir.rest.server.exceptions.InvalidRequestException;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.openmrs.module.fhir2.FhirConstants;
+import org.openmrs.module.fhir2.api.FhirGlobalPropertyService;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SubscriptionEndpointValidatorTest {
+	
+	@Mock
+	private FhirGlobalPropertyService globalPropertyService;
+	
+	private SubscriptionEndpointValidator validator;
+	
+	@Before
+	public void setup() {
+		validator = new SubscriptionEndpointValidator();
+		validator.setGlobalPropertyService(globalPropertyService);
+	}
+	
+	@Test(expected = InvalidRequestException.class)
+	public void validate_shouldRejectEndpointsThatAreNotHttp() {
+		validator.validate("file:///etc/passwd");
+	}
+	
+	@Test(expected = InvalidRequestException.class)
+	public void validate_shouldRejectEndpointsWithoutHost() {
+		validator.validate("http:/notify");
+	}
+	
+	@Test(expected = InvalidRequestException.class)
+	public void validate_shouldRejectInternalEndpoints() {
+		validator.validate("http://127.0.0.1:8080/openmrs/ws/rest/v1/user");
+	}
+	
+	@Test
+	public void validate_shouldAcceptInternalEndpointsIfAllowed() {
+		when(globalPropertyService.getGlobalProperty(FhirConstants.OPENMRS_FHIR_SUBSCRIPTIONS_ALLOW_INTERNAL_ENDPOINTS))
+		        .thenReturn("true");
+		
+		validator.validate("http://127.0.0.1:8080/notify");
+	}
+	
+	@Test
+	public void isInternal_shouldRecogniseInternalAddresses() throws Exception {
+		assertThat(SubscriptionEndpointValidator.isInternal(InetAddress.getByName("127.0.0.1")), is(true));
+		assertThat(SubscriptionEndpointValidator.isInternal(InetAddress.getByName("10.1.2.3")), is(true));
+		assertThat(SubscriptionEndpointValidator.isInternal(InetAddress.getByName("192.168.0.1")), is(true));
+		assertThat(SubscriptionEndpointValidator.isInternal(InetAddress.getByName("169.254.169.254")), is(true));
+		assertThat(SubscriptionEndpointValidator.isInternal(InetAddress.getByName("0.0.0.0")), is(true));
+		assertThat(SubscriptionEndpointValidator.isInternal(InetAddress.getByName("::1")), is(true));
+		assertThat(SubscriptionEndpointValidator.isInternal(InetAddress.getByName("fd00::1")), is(true));
+	}
+	
+	@Test
+	public void isInternal_shouldNotRejectPublicAddresses() throws Exception {
+		assertThat(SubscriptionEndpointValidator.isInternal(InetAddress.getByName("93.184.216.34")), is(false));
+		assertThat(SubscriptionEndpointValidator.isInternal(InetAddress.getByName("2606:2800:220:1::1")), is(false));
+	}
+}
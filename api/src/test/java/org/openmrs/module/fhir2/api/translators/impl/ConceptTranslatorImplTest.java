@@ -18,13 +18,17 @@ import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Date;
 import java.util.Locale;
 import java.util.Optional;
 
@@ -45,8 +49,8 @@ import org.openmrs.module.fhir2.FhirConceptSource;
 import org.openmrs.module.fhir2.FhirConstants;
 import org.openmrs.module.fhir2.FhirTestConstants;
 import org.openmrs.module.fhir2.api.FhirConceptService;
-import org.openmrs.module.fhir2.api.FhirConceptSourceService;
 import org.openmrs.module.fhir2.api.FhirUserDefaultProperties;
+import org.openmrs.module.fhir2.api.mappings.ConceptSourceMap;
 
 @RunWith(MockitoJUnitRunner.class)
 public class ConceptTranslatorImplTest {
@@ -59,7 +63,7 @@ public class ConceptTranslatorImplTest {
 	private FhirConceptService conceptService;
 	
 	@Mock
-	private FhirConceptSourceService conceptSourceService;
+	private ConceptSourceMap conceptSourceMap;
 	
 	@Mock
 	private FhirUserDefaultProperties userDefaultProperties;
@@ -73,7 +77,7 @@ public class ConceptTranslatorImplTest {
 	public void setup() {
 		conceptTranslator = new ConceptTranslatorImpl();
 		conceptTranslator.setConceptService(conceptService);
-		conceptTranslator.setConceptSourceService(conceptSourceService);
+		conceptTranslator.setConceptSourceMap(conceptSourceMap);
 		conceptTranslator.setUserDefaultProperties(userDefaultProperties);
 	}
 	
@@ -98,6 +102,32 @@ public class ConceptTranslatorImplTest {
 		assertThat(result.getCoding().get(0).getDisplay(), equalTo(CONCEPT_NAME));
 	}
 	
+	@Test
+	public void shouldReturnCopyOfCachedCodeableConceptForSameConcept() {
+		when(concept.getUuid()).thenReturn(CONCEPT_UUID);
+		
+		CodeableConcept first = conceptTranslator.toFhirResource(concept);
+		CodeableConcept second = conceptTranslator.toFhirResource(concept);
+		
+		assertThat(second, not(sameInstance(first)));
+		assertThat(second.equalsDeep(first), is(true));
+		assertThat(conceptTranslator.getCacheStats().hitCount(), equalTo(1L));
+		assertThat(conceptTranslator.getCacheStats().missCount(), equalTo(1L));
+		verify(concept, times(1)).getConceptMappings();
+	}
+	
+	@Test
+	public void shouldRetranslateConceptWhenConceptHasChanged() {
+		when(concept.getUuid()).thenReturn(CONCEPT_UUID);
+		when(concept.getDateChanged()).thenReturn(new Date(1000), new Date(2000));
+		
+		conceptTranslator.toFhirResource(concept);
+		conceptTranslator.toFhirResource(concept);
+		
+		assertThat(conceptTranslator.getCacheStats().missCount(), equalTo(2L));
+		verify(concept, times(2)).getConceptMappings();
+	}
+	
 	@Test
 	public void shouldTranslateLOINCMappingForLOINCMappedConcept() {
 		Collection<ConceptMap> conceptMaps = new ArrayList<>();
@@ -115,7 +145,7 @@ public class ConceptTranslatorImplTest {
 		loincConceptSource.setName("LOINC");
 		loinc.setConceptSource(loincConceptSource);
 		loinc.setUrl(FhirTestConstants.LOINC_SYSTEM_URL);
-		when(conceptSourceService.getFhirConceptSourceByConceptSourceName("LOINC")).thenReturn(Optional.of(loinc));
+		when(conceptSourceMap.getUrl("LOINC")).thenReturn(Optional.of(loinc.getUrl()));
 		
 		CodeableConcept result = conceptTranslator.toFhirResource(concept);
 		assertThat(result, notNullValue());
@@ -142,7 +172,7 @@ public class ConceptTranslatorImplTest {
 		cielConceptSource.setName("CIEL");
 		ciel.setConceptSource(cielConceptSource);
 		ciel.setUrl(FhirTestConstants.CIEL_SYSTEM_URN);
-		when(conceptSourceService.getFhirConceptSourceByConceptSourceName("CIEL")).thenReturn(Optional.of(ciel));
+		when(conceptSourceMap.getUrl("CIEL")).thenReturn(Optional.of(ciel.getUrl()));
 		
 		CodeableConcept result = conceptTranslator.toFhirResource(concept);
 		assertThat(result, notNullValue());
@@ -163,7 +193,7 @@ public class ConceptTranslatorImplTest {
 		when(conceptReferenceTerm.getConceptSource()).thenReturn(conceptSource);
 		when(conceptSource.getName()).thenReturn("Unknown");
 		when(concept.getConceptMappings()).thenReturn(conceptMaps);
-		when(conceptSourceService.getFhirConceptSourceByConceptSourceName("Unknown")).thenReturn(Optional.empty());
+		when(conceptSourceMap.getUrl("Unknown")).thenReturn(Optional.empty());
 		
 		CodeableConcept result = conceptTranslator.toFhirResource(concept);
 		assertThat(result, notNullValue());
@@ -213,8 +243,8 @@ public class ConceptTranslatorImplTest {
 		FhirConceptSource fhirLoincSource = new FhirConceptSource();
 		fhirLoincSource.setConceptSource(loinc);
 		fhirLoincSource.setUrl(FhirTestConstants.LOINC_SYSTEM_URL);
-		when(conceptSourceService.getFhirConceptSourceByUrl(FhirTestConstants.LOINC_SYSTEM_URL))
-		        .thenReturn(Optional.of(fhirLoincSource));
+		when(conceptSourceMap.getConceptSourceName(FhirTestConstants.LOINC_SYSTEM_URL))
+		        .thenReturn(Optional.of(fhirLoincSource.getConceptSource().getName()));
 		
 		Concept result = conceptTranslator.toOpenmrsType(codeableConcept);
 		assertThat(result, notNullValue());
@@ -253,8 +283,8 @@ public class ConceptTranslatorImplTest {
 		FhirConceptSource fhirLoincSource = new FhirConceptSource();
 		fhirLoincSource.setConceptSource(loinc);
 		fhirLoincSource.setUrl(FhirTestConstants.LOINC_SYSTEM_URL);
-		when(conceptSourceService.getFhirConceptSourceByUrl(FhirTestConstants.LOINC_SYSTEM_URL))
-		        .thenReturn(Optional.of(fhirLoincSource));
+		when(conceptSourceMap.getConceptSourceName(FhirTestConstants.LOINC_SYSTEM_URL))
+		        .thenReturn(Optional.of(fhirLoincSource.getConceptSource().getName()));
 		
 		Concept result = conceptTranslator.toOpenmrsType(codeableConcept);
 		assertThat(result, equalTo(loincConcept));
@@ -283,8 +313,8 @@ public class ConceptTranslatorImplTest {
 		FhirConceptSource fhirCielSource = new FhirConceptSource();
 		fhirCielSource.setConceptSource(ciel);
 		fhirCielSource.setUrl(FhirTestConstants.CIEL_SYSTEM_URN);
-		when(conceptSourceService.getFhirConceptSourceByUrl(FhirTestConstants.CIEL_SYSTEM_URN))
-		        .thenReturn(Optional.of(fhirCielSource));
+		when(conceptSourceMap.getConceptSourceName(FhirTestConstants.CIEL_SYSTEM_URN))
+		        .thenReturn(Optional.of(fhirCielSource.getConceptSource().getName()));
 		
 		Concept result = conceptTranslator.toOpenmrsType(codeableConcept);
 		assertThat(result, notNullValue());
@@ -300,7 +330,7 @@ public class ConceptTranslatorImplTest {
 		Coding cielCoding = codeableConcept.addCoding();
 		cielCoding.setSystem("Unknown");
 		cielCoding.setCode("1650");
-		when(conceptSourceService.getFhirConceptSourceByUrl("Unknown")).thenReturn(Optional.empty());
+		when(conceptSourceMap.getConceptSourceName("Unknown")).thenReturn(Optional.empty());
 		
 		Concept result = conceptTranslator.toOpenmrsType(codeableConcept);
 		assertThat(result, nullValue());
@@ -336,7 +366,7 @@ public class ConceptTranslatorImplTest {
 		loincConceptSource.setName("LOINC");
 		loinc.setConceptSource(loincConceptSource);
 		loinc.setUrl(FhirTestConstants.LOINC_SYSTEM_URL);
-		when(conceptSourceService.getFhirConceptSourceByConceptSourceName("LOINC")).thenReturn(Optional.of(loinc));
+		when(conceptSourceMap.getUrl("LOINC")).thenReturn(Optional.of(loinc.getUrl()));
 		
 		CodeableConcept result = conceptTranslator.toFhirResource(concept);
 		assertThat(result, notNullValue());
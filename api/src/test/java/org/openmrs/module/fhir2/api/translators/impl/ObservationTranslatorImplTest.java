@@ -26,8 +26,10 @@ import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 
 import org.exparity.hamcrest.date.DateMatchers;
@@ -63,6 +65,7 @@ import org.openmrs.module.fhir2.api.translators.ObservationStatusTranslator;
 import org.openmrs.module.fhir2.api.translators.ObservationValueTranslator;
 import org.openmrs.module.fhir2.api.translators.PatientReferenceTranslator;
 import org.openmrs.module.fhir2.api.translators.ProvenanceTranslator;
+import org.openmrs.module.fhir2.api.util.FhirRequestContext;
 import org.openmrs.module.fhir2.api.util.FhirUtils;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -472,4 +475,52 @@ public class ObservationTranslatorImplTest {
 		        .anyMatch(resource -> resource.getResourceType().name().equals(Provenance.class.getSimpleName())),
 		    is(true));
 	}
+	
+	@Test
+	public void shouldNotAddProvenanceResourcesWhenNotRequested() {
+		Obs obs = new Obs();
+		obs.setUuid(OBS_UUID);
+		FhirRequestContext requestContext = new FhirRequestContext();
+		requestContext.setContainedProvenance(false);
+		FhirRequestContext.set(requestContext);
+		
+		org.hl7.fhir.r4.model.Observation result;
+		try {
+			result = observationTranslator.toFhirResource(obs);
+		}
+		finally {
+			FhirRequestContext.clear();
+		}
+		
+		assertThat(result, notNullValue());
+		assertThat(result.getContained(), empty());
+		verify(provenanceTranslator, never()).getCreateProvenance(any());
+		verify(provenanceTranslator, never()).getUpdateProvenance(any());
+	}
+	
+	@Test
+	public void shouldOnlyTranslateRequestedElements() {
+		Obs observation = new Obs();
+		observation.setUuid(OBS_UUID);
+		observation.setValueNumeric(130d);
+		when(observationValueTranslator.toFhirResource(observation)).thenReturn(new Quantity(130d));
+		FhirRequestContext requestContext = new FhirRequestContext();
+		requestContext.setRequestedElements(new HashSet<>(Arrays.asList("id", "meta", "status", "code", "valueQuantity")));
+		FhirRequestContext.set(requestContext);
+		
+		org.hl7.fhir.r4.model.Observation result;
+		try {
+			result = observationTranslator.toFhirResource(observation);
+		}
+		finally {
+			FhirRequestContext.clear();
+		}
+		
+		assertThat(result, notNullValue());
+		assertThat(result.getValueQuantity(), notNullValue());
+		verify(encounterReferenceTranslator, never()).toFhirResource(any());
+		verify(interpretationTranslator, never()).toFhirResource(any());
+		verify(referenceRangeTranslator, never()).toFhirResource(any());
+		verify(basedOnReferenceTranslator, never()).toFhirResource(any());
+	}
 }
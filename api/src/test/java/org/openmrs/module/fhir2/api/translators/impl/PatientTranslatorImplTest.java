@@ -393,6 +393,20 @@ public class PatientTranslatorImplTest {
 		assertThat(result.getMeta().getLastUpdated(), DateMatchers.sameDay(new Date()));
 	}
 	
+	@Test
+	public void shouldTranslateLatestDateChangedOfPatientAndNamesToLastUpdatedDate() {
+		org.openmrs.Patient patient = new org.openmrs.Patient();
+		patient.setDateChanged(new Date(1000000L));
+		PersonName name = new PersonName();
+		name.setDateChanged(new Date(2000000L));
+		patient.addName(name);
+		
+		Patient result = patientTranslator.toFhirResource(patient);
+		
+		assertThat(result.getMeta().getLastUpdated(), equalTo(new Date(2000000L)));
+		assertThat(result.getMeta().getVersionId(), equalTo("2000000"));
+	}
+	
 	@Test
 	public void shouldAddProvenanceResources() {
 		org.openmrs.Patient patient = new org.openmrs.Patient();
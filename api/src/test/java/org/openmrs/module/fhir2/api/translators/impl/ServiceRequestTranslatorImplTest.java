@@ -17,14 +17,18 @@ import static org.hamcrest.Matchers.hasProperty;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
-import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 
 import org.exparity.hamcrest.date.DateMatchers;
 import org.hl7.fhir.r4.model.CodeableConcept;
@@ -48,13 +52,14 @@ import org.openmrs.module.fhir2.api.FhirTaskService;
 import org.openmrs.module.fhir2.api.translators.ConceptTranslator;
 import org.openmrs.module.fhir2.api.translators.PatientReferenceTranslator;
 import org.openmrs.module.fhir2.api.translators.PractitionerReferenceTranslator;
-import org.openmrs.module.fhir2.providers.r4.MockIBundleProvider;
 
 @RunWith(MockitoJUnitRunner.class)
 public class ServiceRequestTranslatorImplTest {
 	
 	private static final String SERVICE_REQUEST_UUID = "4e4851c3-c265-400e-acc9-1f1b0ac7f9c4";
 	
+	private static final String OTHER_SERVICE_REQUEST_UUID = "6a0a2c1b-7f3e-4b8e-9d51-2c4e8a1f0b37";
+	
 	private static final String LOINC_CODE = "1000-1";
 	
 	private static final String PATIENT_UUID = "14d4f066-15f5-102d-96e4-000c29c2a5d7";
@@ -63,10 +68,6 @@ public class ServiceRequestTranslatorImplTest {
 	
 	private static final String ORGANIZATION_UUID = "44f7a79e-1de6-4b0b-9daf-bbcb7ed18b7e";
 	
-	private static final int PREFERRED_PAGE_SIZE = 10;
-	
-	private static final int COUNT = 1;
-	
 	private ServiceRequestTranslatorImpl translator;
 	
 	@Mock
@@ -94,9 +95,6 @@ public class ServiceRequestTranslatorImplTest {
 	public void toFhirResource_shouldTranslateOpenmrsTestOrderToFhirServiceRequest() {
 		TestOrder order = new TestOrder();
 		
-		when(taskService.searchForTasks(any(), any(), any(), any()))
-		        .thenReturn(new MockIBundleProvider<>(Collections.emptyList(), PREFERRED_PAGE_SIZE, COUNT));
-		
 		ServiceRequest result = translator.toFhirResource(order);
 		
 		assertThat(result, notNullValue());
@@ -110,8 +108,8 @@ public class ServiceRequestTranslatorImplTest {
 		
 		List<Task> tasks = setUpBasedOnScenario(Task.TaskStatus.REQUESTED);
 		
-		when(taskService.searchForTasks(any(), any(), any(), any()))
-		        .thenReturn(new MockIBundleProvider<>(tasks, PREFERRED_PAGE_SIZE, COUNT));
+		when(taskService.getTasksByBasedOn(FhirConstants.SERVICE_REQUEST, Collections.singleton(SERVICE_REQUEST_UUID)))
+		        .thenReturn(Collections.singletonMap(SERVICE_REQUEST_UUID, tasks));
 		
 		ServiceRequest result = translator.toFhirResource(newOrder);
 		
@@ -126,8 +124,8 @@ public class ServiceRequestTranslatorImplTest {
 		
 		List<Task> tasks = setUpBasedOnScenario(Task.TaskStatus.REJECTED);
 		
-		when(taskService.searchForTasks(any(), any(), any(), any()))
-		        .thenReturn(new MockIBundleProvider<>(tasks, PREFERRED_PAGE_SIZE, COUNT));
+		when(taskService.getTasksByBasedOn(FhirConstants.SERVICE_REQUEST, Collections.singleton(SERVICE_REQUEST_UUID)))
+		        .thenReturn(Collections.singletonMap(SERVICE_REQUEST_UUID, tasks));
 		
 		ServiceRequest result = translator.toFhirResource(newOrder);
 		
@@ -142,8 +140,8 @@ public class ServiceRequestTranslatorImplTest {
 		
 		List<Task> tasks = setUpBasedOnScenario(Task.TaskStatus.ACCEPTED);
 		
-		when(taskService.searchForTasks(any(), any(), any(), any()))
-		        .thenReturn(new MockIBundleProvider<>(tasks, PREFERRED_PAGE_SIZE, COUNT));
+		when(taskService.getTasksByBasedOn(FhirConstants.SERVICE_REQUEST, Collections.singleton(SERVICE_REQUEST_UUID)))
+		        .thenReturn(Collections.singletonMap(SERVICE_REQUEST_UUID, tasks));
 		
 		ServiceRequest result = translator.toFhirResource(newOrder);
 		
@@ -158,8 +156,8 @@ public class ServiceRequestTranslatorImplTest {
 		
 		List<Task> tasks = setUpBasedOnScenario(Task.TaskStatus.COMPLETED);
 		
-		when(taskService.searchForTasks(any(), any(), any(), any()))
-		        .thenReturn(new MockIBundleProvider<>(tasks, PREFERRED_PAGE_SIZE, COUNT));
+		when(taskService.getTasksByBasedOn(FhirConstants.SERVICE_REQUEST, Collections.singleton(SERVICE_REQUEST_UUID)))
+		        .thenReturn(Collections.singletonMap(SERVICE_REQUEST_UUID, tasks));
 		
 		ServiceRequest result = translator.toFhirResource(newOrder);
 		
@@ -174,8 +172,8 @@ public class ServiceRequestTranslatorImplTest {
 		
 		List<Task> tasks = setUpBasedOnScenario(Task.TaskStatus.DRAFT);
 		
-		when(taskService.searchForTasks(any(), any(), any(), any()))
-		        .thenReturn(new MockIBundleProvider<>(tasks, PREFERRED_PAGE_SIZE, COUNT));
+		when(taskService.getTasksByBasedOn(FhirConstants.SERVICE_REQUEST, Collections.singleton(SERVICE_REQUEST_UUID)))
+		        .thenReturn(Collections.singletonMap(SERVICE_REQUEST_UUID, tasks));
 		
 		ServiceRequest result = translator.toFhirResource(newOrder);
 		
@@ -188,8 +186,8 @@ public class ServiceRequestTranslatorImplTest {
 		TestOrder newOrder = new TestOrder();
 		newOrder.setUuid(SERVICE_REQUEST_UUID);
 		
-		when(taskService.searchForTasks(any(), any(), any(), any()))
-		        .thenReturn(new MockIBundleProvider<>(Collections.emptyList(), PREFERRED_PAGE_SIZE, COUNT));
+		when(taskService.getTasksByBasedOn(FhirConstants.SERVICE_REQUEST, Collections.singleton(SERVICE_REQUEST_UUID)))
+		        .thenReturn(Collections.singletonMap(SERVICE_REQUEST_UUID, Collections.emptyList()));
 		
 		ServiceRequest result = translator.toFhirResource(newOrder);
 		
@@ -214,8 +212,8 @@ public class ServiceRequestTranslatorImplTest {
 		
 		List<Task> tasks = Arrays.asList(firstTask, secondTask);
 		
-		when(taskService.searchForTasks(any(), any(), any(), any()))
-		        .thenReturn(new MockIBundleProvider<>(tasks, PREFERRED_PAGE_SIZE, COUNT));
+		when(taskService.getTasksByBasedOn(FhirConstants.SERVICE_REQUEST, Collections.singleton(SERVICE_REQUEST_UUID)))
+		        .thenReturn(Collections.singletonMap(SERVICE_REQUEST_UUID, tasks));
 		
 		ServiceRequest result = translator.toFhirResource(newOrder);
 		
@@ -230,9 +228,6 @@ public class ServiceRequestTranslatorImplTest {
 		
 		testOrder.setConcept(openmrsConcept);
 		
-		when(taskService.searchForTasks(any(), any(), any(), any()))
-		        .thenReturn(new MockIBundleProvider<>(Collections.emptyList(), PREFERRED_PAGE_SIZE, COUNT));
-		
 		CodeableConcept codeableConcept = new CodeableConcept();
 		Coding loincCoding = codeableConcept.addCoding();
 		loincCoding.setSystem(FhirTestConstants.LOINC_SYSTEM_URL);
@@ -257,9 +252,6 @@ public class ServiceRequestTranslatorImplTest {
 		testOrder.setDateActivated(fromDate);
 		testOrder.setAutoExpireDate(toDate);
 		
-		when(taskService.searchForTasks(any(), any(), any(), any()))
-		        .thenReturn(new MockIBundleProvider<>(Collections.emptyList(), PREFERRED_PAGE_SIZE, COUNT));
-		
 		Period result = translator.toFhirResource(testOrder).getOccurrencePeriod();
 		
 		assertThat(result, notNullValue());
@@ -274,9 +266,6 @@ public class ServiceRequestTranslatorImplTest {
 		
 		testOrder.setAutoExpireDate(toDate);
 		
-		when(taskService.searchForTasks(any(), any(), any(), any()))
-		        .thenReturn(new MockIBundleProvider<>(Collections.emptyList(), PREFERRED_PAGE_SIZE, COUNT));
-		
 		Period result = translator.toFhirResource(testOrder).getOccurrencePeriod();
 		
 		assertThat(result, notNullValue());
@@ -291,9 +280,6 @@ public class ServiceRequestTranslatorImplTest {
 		
 		testOrder.setDateActivated(fromDate);
 		
-		when(taskService.searchForTasks(any(), any(), any(), any()))
-		        .thenReturn(new MockIBundleProvider<>(Collections.emptyList(), PREFERRED_PAGE_SIZE, COUNT));
-		
 		Period result = translator.toFhirResource(testOrder).getOccurrencePeriod();
 		
 		assertThat(result, notNullValue());
@@ -311,9 +297,6 @@ public class ServiceRequestTranslatorImplTest {
 		testOrder.setScheduledDate(fromDate);
 		testOrder.setAutoExpireDate(toDate);
 		
-		when(taskService.searchForTasks(any(), any(), any(), any()))
-		        .thenReturn(new MockIBundleProvider<>(Collections.emptyList(), PREFERRED_PAGE_SIZE, COUNT));
-		
 		Period result = translator.toFhirResource(testOrder).getOccurrencePeriod();
 		
 		assertThat(result, notNullValue());
@@ -332,8 +315,8 @@ public class ServiceRequestTranslatorImplTest {
 		order.setPatient(subject);
 		subjectReference.setType(FhirConstants.PATIENT).setReference(FhirConstants.PATIENT + "/" + PATIENT_UUID);
 		
-		when(taskService.searchForTasks(any(), any(), any(), any()))
-		        .thenReturn(new MockIBundleProvider<>(Collections.emptyList(), PREFERRED_PAGE_SIZE, COUNT));
+		when(taskService.getTasksByBasedOn(FhirConstants.SERVICE_REQUEST, Collections.singleton(SERVICE_REQUEST_UUID)))
+		        .thenReturn(Collections.singletonMap(SERVICE_REQUEST_UUID, Collections.emptyList()));
 		when(patientReferenceTranslator.toFhirResource(subject)).thenReturn(subjectReference);
 		
 		Reference result = translator.toFhirResource(order).getSubject();
@@ -347,8 +330,8 @@ public class ServiceRequestTranslatorImplTest {
 		TestOrder order = new TestOrder();
 		order.setUuid(SERVICE_REQUEST_UUID);
 		
-		when(taskService.searchForTasks(any(), any(), any(), any())).thenReturn(
-		    new MockIBundleProvider<>(setUpPerformerScenario(ORGANIZATION_UUID), PREFERRED_PAGE_SIZE, COUNT));
+		when(taskService.getTasksByBasedOn(FhirConstants.SERVICE_REQUEST, Collections.singleton(SERVICE_REQUEST_UUID)))
+		        .thenReturn(Collections.singletonMap(SERVICE_REQUEST_UUID, setUpPerformerScenario(ORGANIZATION_UUID)));
 		
 		Collection<Reference> result = translator.toFhirResource(order).getPerformer();
 		
@@ -370,8 +353,8 @@ public class ServiceRequestTranslatorImplTest {
 		requesterReference.setType(FhirConstants.PRACTITIONER)
 		        .setReference(FhirConstants.PRACTITIONER + "/" + PRACTITIONER_UUID);
 		
-		when(taskService.searchForTasks(any(), any(), any(), any()))
-		        .thenReturn(new MockIBundleProvider<>(Collections.emptyList(), PREFERRED_PAGE_SIZE, COUNT));
+		when(taskService.getTasksByBasedOn(FhirConstants.SERVICE_REQUEST, Collections.singleton(SERVICE_REQUEST_UUID)))
+		        .thenReturn(Collections.singletonMap(SERVICE_REQUEST_UUID, Collections.emptyList()));
 		when(practitionerReferenceTranslator.toFhirResource(requester)).thenReturn(requesterReference);
 		
 		Reference result = translator.toFhirResource(order).getRequester();
@@ -380,6 +363,33 @@ public class ServiceRequestTranslatorImplTest {
 		assertThat(result.getReference(), containsString(PRACTITIONER_UUID));
 	}
 	
+	@Test
+	public void toFhirResources_shouldLoadTasksForAllOrdersAtOnce() {
+		TestOrder firstOrder = new TestOrder();
+		firstOrder.setUuid(SERVICE_REQUEST_UUID);
+		TestOrder secondOrder = new TestOrder();
+		secondOrder.setUuid(OTHER_SERVICE_REQUEST_UUID);
+		
+		Map<String, List<Task>> tasks = new HashMap<>();
+		tasks.put(SERVICE_REQUEST_UUID, setUpBasedOnScenario(Task.TaskStatus.COMPLETED));
+		tasks.put(OTHER_SERVICE_REQUEST_UUID, Collections.emptyList());
+		
+		when(taskService.getTasksByBasedOn(FhirConstants.SERVICE_REQUEST,
+		    new HashSet<>(Arrays.asList(SERVICE_REQUEST_UUID, OTHER_SERVICE_REQUEST_UUID)))).thenReturn(tasks);
+		
+		List<ServiceRequest> result = translator.toFhirResources(Arrays.asList(firstOrder, secondOrder));
+		
+		assertThat(result, hasSize(2));
+		assertThat(result.get(0).getId(), equalTo(SERVICE_REQUEST_UUID));
+		assertThat(result.get(0).getStatus(), equalTo(ServiceRequest.ServiceRequestStatus.COMPLETED));
+		assertThat(result.get(1).getId(), equalTo(OTHER_SERVICE_REQUEST_UUID));
+		assertThat(result.get(1).getStatus(), equalTo(ServiceRequest.ServiceRequestStatus.UNKNOWN));
+		
+		verify(taskService).getTasksByBasedOn(FhirConstants.SERVICE_REQUEST,
+		    new HashSet<>(Arrays.asList(SERVICE_REQUEST_UUID, OTHER_SERVICE_REQUEST_UUID)));
+		verifyNoMoreInteractions(taskService);
+	}
+	
 	private List<Task> setUpBasedOnScenario(Task.TaskStatus status) {
 		Reference basedOnRef = new Reference();
 		Task task = new Task();
@@ -408,9 +418,6 @@ public class ServiceRequestTranslatorImplTest {
 		TestOrder order = new TestOrder();
 		order.setDateChanged(new Date());
 		
-		when(taskService.searchForTasks(any(), any(), any(), any()))
-		        .thenReturn(new MockIBundleProvider<>(Collections.emptyList(), PREFERRED_PAGE_SIZE, COUNT));
-		
 		ServiceRequest result = translator.toFhirResource(order);
 		assertThat(result, notNullValue());
 		assertThat(result.getMeta().getLastUpdated(), DateMatchers.sameDay(new Date()));
@@ -0,0 +1,110 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.api.translators.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import org.hl7.fhir.r4.model.Subscription;
+import org.junit.Before;
+import org.junit.Test;
+import org.openmrs.module.fhir2.FhirSubscription;
+
+public class SubscriptionTranslatorImplTest {
+	
+	private static final String SUBSCRIPTION_UUID = "0f7a8ba6-6a5e-4d4f-9d8a-3b4c1b8c2a11";
+	
+	private static final String CRITERIA = "Observation?code=5085AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA";
+	
+	private static final String ENDPOINT = "https://example.org/notify";
+	
+	private SubscriptionTranslatorImpl subscriptionTranslator;
+	
+	@Before
+	public void setup() {
+		subscriptionTranslator = new SubscriptionTranslatorImpl();
+	}
+	
+	@Test
+	public void toFhirResource_shouldTranslateNullToNull() {
+		assertThat(subscriptionTranslator.toFhirResource(null), nullValue());
+	}
+	
+	@Test
+	public void toFhirResource_shouldTranslateOpenmrsSubscriptionToFhirSubscription() {
+		FhirSubscription subscription = new FhirSubscription();
+		subscription.setUuid(SUBSCRIPTION_UUID);
+		subscription.setStatus(FhirSubscription.SubscriptionStatus.ACTIVE);
+		subscription.setCriteria(CRITERIA);
+		subscription.setEndpoint(ENDPOINT);
+		subscription.setHeader("Authorization: Bearer secret\nX-Source: openmrs");
+		
+		Subscription result = subscriptionTranslator.toFhirResource(subscription);
+		
+		assertThat(result.getId(), equalTo(SUBSCRIPTION_UUID));
+		assertThat(result.getStatus(), equalTo(Subscription.SubscriptionStatus.ACTIVE));
+		assertThat(result.getCriteria(), equalTo(CRITERIA));
+		assertThat(result.getChannel().getType(), equalTo(Subscription.SubscriptionChannelType.RESTHOOK));
+		assertThat(result.getChannel().getEndpoint(), equalTo(ENDPOINT));
+		assertThat(result.getChannel().hasHeader(), is(false));
+	}
+	
+	@Test
+	public void toOpenmrsType_shouldTranslateFhirSubscriptionToOpenmrsSubscription() {
+		Subscription subscription = new Subscription();
+		subscription.setStatus(Subscription.SubscriptionStatus.REQUESTED);
+		subscription.setCriteria(CRITERIA);
+		subscription.getChannel().setType(Subscription.SubscriptionChannelType.RESTHOOK).setEndpoint(ENDPOINT)
+		        .addHeader("Authorization: Bearer secret").addHeader("X-Source: openmrs");
+		
+		FhirSubscription result = subscriptionTranslator.toOpenmrsType(subscription);
+		
+		assertThat(result.getStatus(), equalTo(FhirSubscription.SubscriptionStatus.REQUESTED));
+		assertThat(result.getCriteria(), equalTo(CRITERIA));
+		assertThat(result.getEndpoint(), equalTo(ENDPOINT));
+		assertThat(result.getHeader(), equalTo("Authorization: Bearer secret\nX-Source: openmrs"));
+		assertThat(result.getName(), equalTo("Subscription/" + result.getUuid()));
+	}
+	
+	@Test
+	public void toOpenmrsType_shouldUpdateExistingSubscription() {
+		FhirSubscription existing = new FhirSubscription();
+		existing.setUuid(SUBSCRIPTION_UUID);
+		existing.setStatus(FhirSubscription.SubscriptionStatus.ACTIVE);
+		
+		Subscription subscription = new Subscription();
+		subscription.setStatus(Subscription.SubscriptionStatus.OFF);
+		subscription.setCriteria(CRITERIA);
+		subscription.getChannel().setEndpoint(ENDPOINT);
+		
+		FhirSubscription result = subscriptionTranslator.toOpenmrsType(existing, subscription);
+		
+		assertThat(result.getUuid(), equalTo(SUBSCRIPTION_UUID));
+		assertThat(result.getStatus(), equalTo(FhirSubscription.SubscriptionStatus.OFF));
+		assertThat(result.getHeader(), nullValue());
+	}
+	
+	@Test
+	public void toOpenmrsType_shouldKeepExistingHeadersIfNoneAreGiven() {
+		FhirSubscription existing = new FhirSubscription();
+		existing.setUuid(SUBSCRIPTION_UUID);
+		existing.setHeader("Authorization: Bearer secret");
+		
+		Subscription subscription = new Subscription();
+		subscription.setStatus(Subscription.SubscriptionStatus.OFF);
+		subscription.getChannel().setEndpoint(ENDPOINT);
+		
+		FhirSubscription result = subscriptionTranslator.toOpenmrsType(existing, subscription);
+		
+		assertThat(result.getHeader(), equalTo("Authorization: Bearer secret"));
+	}
+}
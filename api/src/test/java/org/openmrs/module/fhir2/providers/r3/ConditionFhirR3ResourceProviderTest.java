@@ -167,10 +167,10 @@ public class ConditionFhirR3ResourceProviderTest extends BaseFhirR3ProvenanceRes
 		SortSpec sort = new SortSpec("sort param");
 		
 		when(conditionService.searchConditions(patientReference, codeList, clinicalList, onsetDate, onsetAge, recordDate,
-		    sort)).thenReturn(new MockIBundleProvider<>(Collections.singletonList(condition), 10, 1));
+		    sort, null)).thenReturn(new MockIBundleProvider<>(Collections.singletonList(condition), 10, 1));
 		
 		IBundleProvider result = resourceProvider.searchConditions(patientReference, subjectReference, codeList,
-		    clinicalList, onsetDate, onsetAge, recordDate, sort);
+		    clinicalList, onsetDate, onsetAge, recordDate, null, sort);
 		
 		List<IBaseResource> resultList = get(result);
 		
@@ -201,10 +201,10 @@ public class ConditionFhirR3ResourceProviderTest extends BaseFhirR3ProvenanceRes
 		SortSpec sort = new SortSpec("sort param");
 		
 		when(conditionService.searchConditions(subjectReference, codeList, clinicalList, onsetDate, onsetAge, recordDate,
-		    sort)).thenReturn(new MockIBundleProvider<>(Collections.singletonList(condition), 10, 1));
+		    sort, null)).thenReturn(new MockIBundleProvider<>(Collections.singletonList(condition), 10, 1));
 		
 		IBundleProvider result = resourceProvider.searchConditions(null, subjectReference, codeList, clinicalList, onsetDate,
-		    onsetAge, recordDate, sort);
+		    onsetAge, recordDate, null, sort);
 		
 		List<IBaseResource> resultList = get(result);
 		
@@ -17,6 +17,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 
 import java.util.Collections;
@@ -176,10 +177,10 @@ public class DiagnosticReportFhirResourceProviderTest extends BaseFhirR3Provenan
 	
 	@Test
 	public void findDiagnosticReports_shouldReturnMatchingBundleOfDiagnosticReports() {
-		when(service.searchForDiagnosticReports(any(), any(), any(), any(), any())).thenReturn(
+		when(service.searchForDiagnosticReports(any(), any(), any(), any(), any(), isNull())).thenReturn(
 		    new MockIBundleProvider<>(Collections.singletonList(diagnosticReport), PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchForDiagnosticReports(null, null, null, null, null, null);
+		IBundleProvider results = resourceProvider.searchForDiagnosticReports(null, null, null, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -195,10 +196,10 @@ public class DiagnosticReportFhirResourceProviderTest extends BaseFhirR3Provenan
 		ReferenceAndListParam subject = new ReferenceAndListParam();
 		subject.addValue(new ReferenceOrListParam().add(new ReferenceParam().setChain(Patient.SP_NAME)));
 		
-		when(service.searchForDiagnosticReports(any(), any(), any(), any(), any())).thenReturn(
+		when(service.searchForDiagnosticReports(any(), any(), any(), any(), any(), isNull())).thenReturn(
 		    new MockIBundleProvider<>(Collections.singletonList(diagnosticReport), PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchForDiagnosticReports(null, null, subject, null, null, null);
+		IBundleProvider results = resourceProvider.searchForDiagnosticReports(null, null, subject, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -113,13 +113,13 @@ public class EncounterFhirResourceProviderTest extends BaseFhirR3ProvenanceResou
 	public void searchEncounters_shouldReturnMatchingEncounters() {
 		List<org.hl7.fhir.r4.model.Encounter> encounters = new ArrayList<>();
 		encounters.add(encounter);
-		when(encounterService.searchForEncounters(any(), any(), any(), any()))
+		when(encounterService.searchForEncounters(any(), any(), any(), any(), any(), any(), isNull()))
 		        .thenReturn(new MockIBundleProvider<>(encounters, PREFERRED_SIZE, COUNT));
 		
 		ReferenceAndListParam subjectReference = new ReferenceAndListParam();
 		subjectReference.addValue(new ReferenceOrListParam().add(new ReferenceParam().setChain(Patient.SP_NAME)));
 		
-		IBundleProvider results = resourceProvider.searchEncounter(null, null, null, subjectReference, null);
+		IBundleProvider results = resourceProvider.searchEncounter(null, null, null, subjectReference, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -133,13 +133,13 @@ public class EncounterFhirResourceProviderTest extends BaseFhirR3ProvenanceResou
 	public void searchEncounters_shouldReturnMatchingEncountersWhenPatientParamIsSpecified() {
 		List<org.hl7.fhir.r4.model.Encounter> encounters = new ArrayList<>();
 		encounters.add(encounter);
-		when(encounterService.searchForEncounters(any(), any(), any(), any()))
+		when(encounterService.searchForEncounters(any(), any(), any(), any(), any(), any(), isNull()))
 		        .thenReturn(new MockIBundleProvider<>(encounters, PREFERRED_SIZE, COUNT));
 		
 		ReferenceAndListParam patientParam = new ReferenceAndListParam();
 		patientParam.addValue(new ReferenceOrListParam().add(new ReferenceParam().setChain(Patient.SP_NAME)));
 		
-		IBundleProvider results = resourceProvider.searchEncounter(null, null, null, null, patientParam);
+		IBundleProvider results = resourceProvider.searchEncounter(null, null, null, null, patientParam, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -142,10 +142,10 @@ public class LocationFhirResourceProviderTest extends BaseFhirR3ProvenanceResour
 		StringAndListParam nameParam = new StringAndListParam()
 		        .addAnd(new StringOrListParam().add(new StringParam(LOCATION_NAME)));
 		when(locationService.searchForLocations(argThat(Matchers.is(nameParam)), isNull(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull()))
+		    isNull(), isNull(), isNull(), isNull()))
 		            .thenReturn(new MockIBundleProvider<>(Collections.singletonList(location), PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchLocations(nameParam, null, null, null, null, null, null, null);
+		IBundleProvider results = resourceProvider.searchLocations(nameParam, null, null, null, null, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -159,10 +159,10 @@ public class LocationFhirResourceProviderTest extends BaseFhirR3ProvenanceResour
 	public void findLocationsByCity_shouldReturnMatchingBundleOfLocations() {
 		StringAndListParam cityParam = new StringAndListParam().addAnd(new StringOrListParam().add(new StringParam(CITY)));
 		when(locationService.searchForLocations(isNull(), argThat(Matchers.is(cityParam)), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull()))
+		    isNull(), isNull(), isNull(), isNull()))
 		            .thenReturn(new MockIBundleProvider<>(Collections.singletonList(location), PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchLocations(null, cityParam, null, null, null, null, null, null);
+		IBundleProvider results = resourceProvider.searchLocations(null, cityParam, null, null, null, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -177,10 +177,10 @@ public class LocationFhirResourceProviderTest extends BaseFhirR3ProvenanceResour
 		StringAndListParam countryParam = new StringAndListParam()
 		        .addAnd(new StringOrListParam().add(new StringParam(COUNTRY)));
 		when(locationService.searchForLocations(isNull(), isNull(), argThat(Matchers.is(countryParam)), isNull(), isNull(),
-		    isNull(), isNull(), isNull()))
+		    isNull(), isNull(), isNull(), isNull()))
 		            .thenReturn(new MockIBundleProvider<>(Collections.singletonList(location), PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchLocations(null, null, countryParam, null, null, null, null, null);
+		IBundleProvider results = resourceProvider.searchLocations(null, null, countryParam, null, null, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -194,10 +194,10 @@ public class LocationFhirResourceProviderTest extends BaseFhirR3ProvenanceResour
 	public void findLocationsByState_shouldReturnMatchingBundleOfLocations() {
 		StringAndListParam stateParam = new StringAndListParam().addAnd(new StringOrListParam().add(new StringParam(STATE)));
 		when(locationService.searchForLocations(isNull(), isNull(), isNull(), isNull(), argThat(Matchers.is(stateParam)),
-		    isNull(), isNull(), isNull()))
+		    isNull(), isNull(), isNull(), isNull()))
 		            .thenReturn(new MockIBundleProvider<>(Collections.singletonList(location), PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchLocations(null, null, null, null, stateParam, null, null, null);
+		IBundleProvider results = resourceProvider.searchLocations(null, null, null, null, stateParam, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -212,10 +212,10 @@ public class LocationFhirResourceProviderTest extends BaseFhirR3ProvenanceResour
 		StringAndListParam postalCodeParam = new StringAndListParam()
 		        .addAnd(new StringOrListParam().add(new StringParam(POSTAL_CODE)));
 		when(locationService.searchForLocations(isNull(), isNull(), isNull(), argThat(Matchers.is(postalCodeParam)),
-		    isNull(), isNull(), isNull(), isNull()))
+		    isNull(), isNull(), isNull(), isNull(), isNull()))
 		            .thenReturn(new MockIBundleProvider<>(Collections.singletonList(location), PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchLocations(null, null, null, postalCodeParam, null, null, null,
+		IBundleProvider results = resourceProvider.searchLocations(null, null, null, postalCodeParam, null, null, null, null,
 		    null);
 		
 		List<IBaseResource> resultList = get(results);
@@ -231,10 +231,10 @@ public class LocationFhirResourceProviderTest extends BaseFhirR3ProvenanceResour
 		TokenAndListParam tag = new TokenAndListParam()
 		        .addAnd(new TokenOrListParam(FhirConstants.OPENMRS_FHIR_EXT_LOCATION_TAG, LOGIN_LOCATION_TAG_NAME));
 		when(locationService.searchForLocations(isNull(), isNull(), isNull(), isNull(), isNull(), argThat(Matchers.is(tag)),
-		    isNull(), isNull()))
+		    isNull(), isNull(), isNull()))
 		            .thenReturn(new MockIBundleProvider<>(Collections.singletonList(location), PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchLocations(null, null, null, null, null, tag, null, null);
+		IBundleProvider results = resourceProvider.searchLocations(null, null, null, null, null, tag, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -252,10 +252,10 @@ public class LocationFhirResourceProviderTest extends BaseFhirR3ProvenanceResour
 		    new ReferenceOrListParam().add(new ReferenceParam().setValue("chulaimbo").setChain(Location.SP_NAME)));
 		
 		when(locationService.searchForLocations(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    argThat(Matchers.is(locationParentName)), isNull()))
+		    argThat(Matchers.is(locationParentName)), isNull(), isNull()))
 		            .thenReturn(new MockIBundleProvider<>(Collections.singletonList(location), PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchLocations(null, null, null, null, null, null, locationParentName,
+		IBundleProvider results = resourceProvider.searchLocations(null, null, null, null, null, null, locationParentName, null,
 		    null);
 		
 		List<IBaseResource> resultList = get(results);
@@ -272,10 +272,10 @@ public class LocationFhirResourceProviderTest extends BaseFhirR3ProvenanceResour
 		    new ReferenceOrListParam().add(new ReferenceParam().setValue("kampala").setChain(Location.SP_ADDRESS_CITY)));
 		
 		when(locationService.searchForLocations(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    argThat(Matchers.is(locationParentCity)), isNull()))
+		    argThat(Matchers.is(locationParentCity)), isNull(), isNull()))
 		            .thenReturn(new MockIBundleProvider<>(Collections.singletonList(location), PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchLocations(null, null, null, null, null, null, locationParentCity,
+		IBundleProvider results = resourceProvider.searchLocations(null, null, null, null, null, null, locationParentCity, null,
 		    null);
 		
 		List<IBaseResource> resultList = get(results);
@@ -292,10 +292,10 @@ public class LocationFhirResourceProviderTest extends BaseFhirR3ProvenanceResour
 		    new ReferenceOrListParam().add(new ReferenceParam().setValue("uganda").setChain(Location.SP_ADDRESS_COUNTRY)));
 		
 		when(locationService.searchForLocations(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    argThat(Matchers.is(locationParentCountry)), isNull()))
+		    argThat(Matchers.is(locationParentCountry)), isNull(), isNull()))
 		            .thenReturn(new MockIBundleProvider<>(Collections.singletonList(location), PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchLocations(null, null, null, null, null, null, locationParentCountry,
+		IBundleProvider results = resourceProvider.searchLocations(null, null, null, null, null, null, locationParentCountry, null,
 		    null);
 		
 		List<IBaseResource> resultList = get(results);
@@ -312,11 +312,11 @@ public class LocationFhirResourceProviderTest extends BaseFhirR3ProvenanceResour
 		        .add(new ReferenceParam().setValue("234-30100").setChain(Location.SP_ADDRESS_POSTALCODE)));
 		
 		when(locationService.searchForLocations(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    argThat(Matchers.is(locationParentPostalCode)), isNull()))
+		    argThat(Matchers.is(locationParentPostalCode)), isNull(), isNull()))
 		            .thenReturn(new MockIBundleProvider<>(Collections.singletonList(location), PREFERRED_PAGE_SIZE, COUNT));
 		
 		IBundleProvider results = resourceProvider.searchLocations(null, null, null, null, null, null,
-		    locationParentPostalCode, null);
+		    locationParentPostalCode, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -332,10 +332,10 @@ public class LocationFhirResourceProviderTest extends BaseFhirR3ProvenanceResour
 		        .add(new ReferenceParam().setValue("najjanankumbi").setChain(Location.SP_ADDRESS_STATE)));
 		
 		when(locationService.searchForLocations(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    argThat(Matchers.is(locationParentState)), isNull()))
+		    argThat(Matchers.is(locationParentState)), isNull(), isNull()))
 		            .thenReturn(new MockIBundleProvider<>(Collections.singletonList(location), PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchLocations(null, null, null, null, null, null, locationParentState,
+		IBundleProvider results = resourceProvider.searchLocations(null, null, null, null, null, null, locationParentState, null,
 		    null);
 		
 		List<IBaseResource> resultList = get(results);
@@ -349,13 +349,13 @@ public class LocationFhirResourceProviderTest extends BaseFhirR3ProvenanceResour
 	public void searchLocations_shouldReturnMatchingBundleOfLocations() {
 		List<Location> locations = new ArrayList<>();
 		locations.add(location);
-		when(locationService.searchForLocations(any(), any(), any(), any(), any(), any(), any(), any()))
+		when(locationService.searchForLocations(any(), any(), any(), any(), any(), any(), any(), any(), isNull()))
 		        .thenReturn(new MockIBundleProvider<>(locations, PREFERRED_PAGE_SIZE, COUNT));
 		
 		StringAndListParam location = new StringAndListParam()
 		        .addAnd(new StringOrListParam().add(new StringParam(LOCATION_NAME)));
 		
-		IBundleProvider resultLocations = resourceProvider.searchLocations(location, null, null, null, null, null, null,
+		IBundleProvider resultLocations = resourceProvider.searchLocations(location, null, null, null, null, null, null, null,
 		    null);
 		
 		List<IBaseResource> resultList = get(resultLocations);
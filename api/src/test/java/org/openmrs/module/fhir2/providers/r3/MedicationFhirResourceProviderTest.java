@@ -114,10 +114,10 @@ public class MedicationFhirResourceProviderTest {
 		TokenAndListParam code = new TokenAndListParam();
 		code.addAnd(new TokenOrListParam().addOr(new TokenParam().setValue(CODE)));
 		
-		when(fhirMedicationService.searchForMedications(argThat(is(code)), isNull(), isNull(), isNull()))
+		when(fhirMedicationService.searchForMedications(argThat(is(code)), isNull(), isNull(), isNull(), isNull()))
 		        .thenReturn(new MockIBundleProvider<>(Collections.singletonList(medication), PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchForMedication(code, null, null, null);
+		IBundleProvider results = resourceProvider.searchForMedication(code, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -131,10 +131,10 @@ public class MedicationFhirResourceProviderTest {
 		TokenAndListParam dosageFormCode = new TokenAndListParam();
 		dosageFormCode.addAnd(new TokenOrListParam().addOr(new TokenParam().setValue(CODE)));
 		
-		when(fhirMedicationService.searchForMedications(isNull(), argThat(is(dosageFormCode)), isNull(), isNull()))
+		when(fhirMedicationService.searchForMedications(isNull(), argThat(is(dosageFormCode)), isNull(), isNull(), isNull()))
 		        .thenReturn(new MockIBundleProvider<>(Collections.singletonList(medication), PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchForMedication(null, dosageFormCode, null, null);
+		IBundleProvider results = resourceProvider.searchForMedication(null, dosageFormCode, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -148,10 +148,10 @@ public class MedicationFhirResourceProviderTest {
 		TokenAndListParam status = new TokenAndListParam();
 		status.addAnd(new TokenOrListParam().addOr(new TokenParam().setValue("active")));
 		
-		when(fhirMedicationService.searchForMedications(isNull(), isNull(), isNull(), argThat(is(status))))
+		when(fhirMedicationService.searchForMedications(isNull(), isNull(), isNull(), argThat(is(status)), isNull()))
 		        .thenReturn(new MockIBundleProvider<>(Collections.singletonList(medication), PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchForMedication(null, null, status, null);
+		IBundleProvider results = resourceProvider.searchForMedication(null, null, status, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -165,10 +165,10 @@ public class MedicationFhirResourceProviderTest {
 		TokenAndListParam ingredientCode = new TokenAndListParam();
 		ingredientCode.addAnd(new TokenOrListParam().addOr(new TokenParam().setValue(CODE)));
 		
-		when(fhirMedicationService.searchForMedications(isNull(), isNull(), argThat(is(ingredientCode)), isNull()))
+		when(fhirMedicationService.searchForMedications(isNull(), isNull(), argThat(is(ingredientCode)), isNull(), isNull()))
 		        .thenReturn(new MockIBundleProvider<>(Collections.singletonList(medication), PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchForMedication(null, null, null, ingredientCode);
+		IBundleProvider results = resourceProvider.searchForMedication(null, null, null, ingredientCode, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
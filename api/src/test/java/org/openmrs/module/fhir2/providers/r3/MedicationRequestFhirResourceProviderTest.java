@@ -97,7 +97,7 @@ public class MedicationRequestFhirResourceProviderTest {
 	@Test
 	public void searchMedicationRequest_shouldReturnMatchingMedicationRequestUsingCode() {
 		
-		when(fhirMedicationRequestService.searchForMedicationRequests(any(), any(), any(), any(), any()))
+		when(fhirMedicationRequestService.searchForMedicationRequests(any(), any(), any(), any(), any(), any(), isNull()))
 		        .thenReturn(new MockIBundleProvider<>(Collections.singletonList(medicationRequest), 10, 1));
 		
 		TokenAndListParam code = new TokenAndListParam();
@@ -105,7 +105,7 @@ public class MedicationRequestFhirResourceProviderTest {
 		codingToken.setValue("1000");
 		code.addAnd(codingToken);
 		
-		IBundleProvider results = resourceProvider.searchForMedicationRequests(null, null, null, code, null, null);
+		IBundleProvider results = resourceProvider.searchForMedicationRequests(null, null, null, code, null, null, null);
 		
 		List<IBaseResource> resources = getResources(results, 1, 5);
 		
@@ -119,13 +119,14 @@ public class MedicationRequestFhirResourceProviderTest {
 	@Test
 	public void searchMedicationRequest_shouldReturnMatchingMedicationRequestWhenPatientParamIsSpecified() {
 		
-		when(fhirMedicationRequestService.searchForMedicationRequests(any(), any(), any(), any(), any()))
+		when(fhirMedicationRequestService.searchForMedicationRequests(any(), any(), any(), any(), any(), any(), isNull()))
 		        .thenReturn(new MockIBundleProvider<>(Collections.singletonList(medicationRequest), 10, 1));
 		
 		ReferenceAndListParam patientParam = new ReferenceAndListParam();
 		patientParam.addValue(new ReferenceOrListParam().add(new ReferenceParam().setChain(Patient.SP_NAME)));
 		
-		IBundleProvider results = resourceProvider.searchForMedicationRequests(patientParam, null, null, null, null, null);
+		IBundleProvider results = resourceProvider.searchForMedicationRequests(patientParam, null, null, null, null, null,
+		    null);
 		
 		List<IBaseResource> resources = getResources(results, 1, 5);
 		
@@ -139,14 +140,14 @@ public class MedicationRequestFhirResourceProviderTest {
 	@Test
 	public void searchMedicationRequest_shouldReturnMatchingMedicationRequestWhenMedicationParamIsSpecified() {
 		
-		when(fhirMedicationRequestService.searchForMedicationRequests(any(), any(), any(), any(), any()))
+		when(fhirMedicationRequestService.searchForMedicationRequests(any(), any(), any(), any(), any(), any(), isNull()))
 		        .thenReturn(new MockIBundleProvider<>(Collections.singletonList(medicationRequest), 10, 1));
 		
 		ReferenceAndListParam medicationParam = new ReferenceAndListParam();
 		medicationParam.addValue(new ReferenceOrListParam().add(new ReferenceParam().setChain(Medication.SP_RES_ID)));
 		
 		IBundleProvider results = resourceProvider.searchForMedicationRequests(null, null, null, null, null,
-		    medicationParam);
+		    medicationParam, null);
 		
 		List<IBaseResource> resources = getResources(results, 1, 5);
 		
@@ -160,14 +161,14 @@ public class MedicationRequestFhirResourceProviderTest {
 	@Test
 	public void searchMedicationRequest_shouldReturnMatchingMedicationRequestWhenParticipantParamIsSpecified() {
 		
-		when(fhirMedicationRequestService.searchForMedicationRequests(any(), any(), any(), any(), any()))
+		when(fhirMedicationRequestService.searchForMedicationRequests(any(), any(), any(), any(), any(), any(), isNull()))
 		        .thenReturn(new MockIBundleProvider<>(Collections.singletonList(medicationRequest), 10, 1));
 		
 		ReferenceAndListParam participantParam = new ReferenceAndListParam();
 		participantParam.addValue(new ReferenceOrListParam().add(new ReferenceParam().setChain(Practitioner.SP_NAME)));
 		
 		IBundleProvider results = resourceProvider.searchForMedicationRequests(null, null, null, null, participantParam,
-		    null);
+		    null, null);
 		
 		List<IBaseResource> resources = getResources(results, 1, 5);
 		
@@ -181,13 +182,14 @@ public class MedicationRequestFhirResourceProviderTest {
 	@Test
 	public void searchMedicationRequest_shouldReturnMatchingMedicationRequestWhenEncounterParamIsSpecified() {
 		
-		when(fhirMedicationRequestService.searchForMedicationRequests(any(), any(), any(), any(), any()))
+		when(fhirMedicationRequestService.searchForMedicationRequests(any(), any(), any(), any(), any(), any(), isNull()))
 		        .thenReturn(new MockIBundleProvider<>(Collections.singletonList(medicationRequest), 10, 1));
 		
 		ReferenceAndListParam encounterParam = new ReferenceAndListParam();
 		encounterParam.addValue(new ReferenceOrListParam().add(new ReferenceParam().setChain(Encounter.SP_IDENTIFIER)));
 		
-		IBundleProvider results = resourceProvider.searchForMedicationRequests(null, null, encounterParam, null, null, null);
+		IBundleProvider results = resourceProvider.searchForMedicationRequests(null, null, encounterParam, null, null, null,
+		    null);
 		
 		List<IBaseResource> resources = getResources(results, 1, 5);
 		
@@ -115,7 +115,7 @@ public class ObservationFhirResourceProviderTest extends BaseFhirR3ProvenanceRes
 		observation.setId(OBSERVATION_UUID);
 		
 		when(observationService.searchForObservations(any(), any(), any(), any(), any(), any(), any(), any(), any(), any(),
-		    any())).thenReturn(new MockIBundleProvider<>(Collections.singletonList(observation), 10, 1));
+		    any(), any(), isNull())).thenReturn(new MockIBundleProvider<>(Collections.singletonList(observation), 10, 1));
 		
 		TokenAndListParam code = new TokenAndListParam();
 		TokenParam codingToken = new TokenParam();
@@ -123,7 +123,7 @@ public class ObservationFhirResourceProviderTest extends BaseFhirR3ProvenanceRes
 		code.addAnd(codingToken);
 		
 		IBundleProvider results = resourceProvider.searchObservations(null, null, null, null, null, null, null, null, null,
-		    code, null, null);
+		    code, null, null, null);
 		assertThat(results, notNullValue());
 		assertThat(results.getResources(1, 5), hasSize(equalTo(1)));
 		assertThat(results.getResources(1, 5).get(0), notNullValue());
@@ -138,13 +138,13 @@ public class ObservationFhirResourceProviderTest extends BaseFhirR3ProvenanceRes
 		observation.setId(OBSERVATION_UUID);
 		
 		when(observationService.searchForObservations(any(), any(), any(), any(), any(), any(), any(), any(), any(), any(),
-		    any())).thenReturn(new MockIBundleProvider<>(Collections.singletonList(observation), 10, 1));
+		    any(), any(), isNull())).thenReturn(new MockIBundleProvider<>(Collections.singletonList(observation), 10, 1));
 		
 		ReferenceAndListParam patientParam = new ReferenceAndListParam();
 		patientParam.addValue(new ReferenceOrListParam().add(new ReferenceParam().setChain(Patient.SP_NAME)));
 		
 		IBundleProvider results = resourceProvider.searchObservations(null, patientParam, null, null, null, null, null, null,
-		    null, null, null, null);
+		    null, null, null, null, null);
 		assertThat(results, notNullValue());
 		assertThat(results.getResources(1, 5), hasSize(equalTo(1)));
 		assertThat(results.getResources(1, 5).get(0), notNullValue());
@@ -136,11 +136,11 @@ public class PatientFhirR3ResourceProviderTest extends BaseFhirR3ProvenanceResou
 	public void searchPatients_shouldReturnMatchingBundleOfPatientsByName() {
 		StringAndListParam nameParam = new StringAndListParam().addAnd(new StringOrListParam().add(new StringParam(NAME)));
 		when(patientService.searchForPatients(argThat(is(nameParam)), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull()))
+		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull()))
 		            .thenReturn(new MockIBundleProvider<>(Collections.singletonList(patient), 10, 1));
 		
 		IBundleProvider results = patientFhirResourceProvider.searchPatients(nameParam, null, null, null, null, null, null,
-		    null, null, null, null, null, null);
+		    null, null, null, null, null, null, null);
 		List<IBaseResource> resources = getResources(results);
 		
 		assertThat(resources, notNullValue());
@@ -154,11 +154,11 @@ public class PatientFhirR3ResourceProviderTest extends BaseFhirR3ProvenanceResou
 		StringAndListParam givenNameParam = new StringAndListParam()
 		        .addAnd(new StringOrListParam().add(new StringParam(NAME)));
 		when(patientService.searchForPatients(isNull(), argThat(is(givenNameParam)), isNull(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull()))
+		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull()))
 		            .thenReturn(new MockIBundleProvider<>(Collections.singletonList(patient), 10, 1));
 		
 		IBundleProvider results = patientFhirResourceProvider.searchPatients(null, givenNameParam, null, null, null, null,
-		    null, null, null, null, null, null, null);
+		    null, null, null, null, null, null, null, null);
 		List<IBaseResource> resources = getResources(results);
 		
 		assertThat(resources, notNullValue());
@@ -172,11 +172,11 @@ public class PatientFhirR3ResourceProviderTest extends BaseFhirR3ProvenanceResou
 		StringAndListParam familyNameParam = new StringAndListParam()
 		        .addAnd(new StringOrListParam().add(new StringParam(FAMILY_NAME)));
 		when(patientService.searchForPatients(isNull(), isNull(), argThat(is(familyNameParam)), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull()))
+		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull()))
 		            .thenReturn(new MockIBundleProvider<>(Collections.singletonList(patient), 10, 1));
 		
 		IBundleProvider results = patientFhirResourceProvider.searchPatients(null, null, familyNameParam, null, null, null,
-		    null, null, null, null, null, null, null);
+		    null, null, null, null, null, null, null, null);
 		List<IBaseResource> resources = getResources(results);
 		
 		assertThat(resources, notNullValue());
@@ -189,11 +189,11 @@ public class PatientFhirR3ResourceProviderTest extends BaseFhirR3ProvenanceResou
 	public void searchPatients_shouldReturnMatchingBundleOfPatientsByIdentifier() {
 		TokenAndListParam identifierParam = new TokenAndListParam().addAnd(new TokenOrListParam().add(IDENTIFIER));
 		when(patientService.searchForPatients(isNull(), isNull(), isNull(), argThat(is(identifierParam)), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull()))
+		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull()))
 		            .thenReturn(new MockIBundleProvider<>(Collections.singletonList(patient), 10, 1));
 		
 		IBundleProvider results = patientFhirResourceProvider.searchPatients(null, null, null, identifierParam, null, null,
-		    null, null, null, null, null, null, null);
+		    null, null, null, null, null, null, null, null);
 		List<IBaseResource> resources = getResources(results);
 		
 		assertThat(resources, notNullValue());
@@ -206,11 +206,11 @@ public class PatientFhirR3ResourceProviderTest extends BaseFhirR3ProvenanceResou
 	public void searchForPatients_shouldReturnMatchingBundleOfPatientsByGender() {
 		TokenAndListParam genderParam = new TokenAndListParam().addAnd(new TokenOrListParam().add(GENDER));
 		when(patientService.searchForPatients(isNull(), isNull(), isNull(), isNull(), argThat(is(genderParam)), isNull(),
-		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull()))
+		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull()))
 		            .thenReturn(new MockIBundleProvider<>(Collections.singletonList(patient), 10, 1));
 		
 		IBundleProvider results = patientFhirResourceProvider.searchPatients(null, null, null, null, genderParam, null, null,
-		    null, null, null, null, null, null);
+		    null, null, null, null, null, null, null);
 		List<IBaseResource> resources = getResources(results);
 		
 		assertThat(resources, notNullValue());
@@ -223,11 +223,11 @@ public class PatientFhirR3ResourceProviderTest extends BaseFhirR3ProvenanceResou
 	public void searchForPatients_shouldReturnMatchingBundleOfPatientsByBirthDate() {
 		DateRangeParam birthDateParam = new DateRangeParam().setLowerBound(BIRTH_DATE).setUpperBound(BIRTH_DATE);
 		when(patientService.searchForPatients(isNull(), isNull(), isNull(), isNull(), isNull(), argThat(is(birthDateParam)),
-		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull()))
+		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull()))
 		            .thenReturn(new MockIBundleProvider<>(Collections.singletonList(patient), 10, 1));
 		
 		IBundleProvider results = patientFhirResourceProvider.searchPatients(null, null, null, null, null, birthDateParam,
-		    null, null, null, null, null, null, null);
+		    null, null, null, null, null, null, null, null);
 		List<IBaseResource> resources = getResources(results);
 		
 		assertThat(resources, notNullValue());
@@ -240,11 +240,11 @@ public class PatientFhirR3ResourceProviderTest extends BaseFhirR3ProvenanceResou
 	public void searchForPatients_shouldReturnMatchingBundleOfPatientsByDeathDate() {
 		DateRangeParam deathDateParam = new DateRangeParam().setLowerBound(DEATH_DATE).setUpperBound(DEATH_DATE);
 		when(patientService.searchForPatients(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    argThat(is(deathDateParam)), isNull(), isNull(), isNull(), isNull(), isNull(), isNull()))
+		    argThat(is(deathDateParam)), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull()))
 		            .thenReturn(new MockIBundleProvider<>(Collections.singletonList(patient), 10, 1));
 		
 		IBundleProvider results = patientFhirResourceProvider.searchPatients(null, null, null, null, null, null,
-		    deathDateParam, null, null, null, null, null, null);
+		    deathDateParam, null, null, null, null, null, null, null);
 		List<IBaseResource> resources = getResources(results);
 		
 		assertThat(resources, notNullValue());
@@ -257,11 +257,11 @@ public class PatientFhirR3ResourceProviderTest extends BaseFhirR3ProvenanceResou
 	public void searchForPatients_shouldReturnMatchingBundleOfPatientsByDeceased() {
 		TokenAndListParam deceasedParam = new TokenAndListParam().addAnd(new TokenOrListParam().add("true"));
 		when(patientService.searchForPatients(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    argThat(is(deceasedParam)), isNull(), isNull(), isNull(), isNull(), isNull()))
+		    argThat(is(deceasedParam)), isNull(), isNull(), isNull(), isNull(), isNull(), isNull()))
 		            .thenReturn(new MockIBundleProvider<>(Collections.singletonList(patient), 10, 1));
 		
 		IBundleProvider results = patientFhirResourceProvider.searchPatients(null, null, null, null, null, null, null,
-		    deceasedParam, null, null, null, null, null);
+		    deceasedParam, null, null, null, null, null, null);
 		List<IBaseResource> resources = getResources(results);
 		
 		assertThat(resources, notNullValue());
@@ -274,11 +274,11 @@ public class PatientFhirR3ResourceProviderTest extends BaseFhirR3ProvenanceResou
 	public void searchForPatients_shouldReturnMatchingBundleOfPatientsByCity() {
 		StringAndListParam cityParam = new StringAndListParam().addAnd(new StringOrListParam().add(new StringParam(CITY)));
 		when(patientService.searchForPatients(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    argThat(is(cityParam)), isNull(), isNull(), isNull(), isNull()))
+		    argThat(is(cityParam)), isNull(), isNull(), isNull(), isNull(), isNull()))
 		            .thenReturn(new MockIBundleProvider<>(Collections.singletonList(patient), 10, 1));
 		
 		IBundleProvider results = patientFhirResourceProvider.searchPatients(null, null, null, null, null, null, null, null,
-		    cityParam, null, null, null, null);
+		    cityParam, null, null, null, null, null);
 		List<IBaseResource> resources = getResources(results);
 		
 		assertThat(resources, notNullValue());
@@ -291,11 +291,11 @@ public class PatientFhirR3ResourceProviderTest extends BaseFhirR3ProvenanceResou
 	public void searchForPatients_shouldReturnMatchingBundleOfPatientsByState() {
 		StringAndListParam stateParam = new StringAndListParam().addAnd(new StringOrListParam().add(new StringParam(STATE)));
 		when(patientService.searchForPatients(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    isNull(), argThat(is(stateParam)), isNull(), isNull(), isNull()))
+		    isNull(), argThat(is(stateParam)), isNull(), isNull(), isNull(), isNull()))
 		            .thenReturn(new MockIBundleProvider<>(Collections.singletonList(patient), 10, 1));
 		
 		IBundleProvider results = patientFhirResourceProvider.searchPatients(null, null, null, null, null, null, null, null,
-		    null, stateParam, null, null, null);
+		    null, stateParam, null, null, null, null);
 		List<IBaseResource> resources = getResources(results);
 		
 		assertThat(resources, notNullValue());
@@ -309,11 +309,11 @@ public class PatientFhirR3ResourceProviderTest extends BaseFhirR3ProvenanceResou
 		StringAndListParam postalCodeParam = new StringAndListParam()
 		        .addAnd(new StringOrListParam().add(new StringParam(POSTAL_CODE)));
 		when(patientService.searchForPatients(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), argThat(is(postalCodeParam)), isNull(), isNull()))
+		    isNull(), isNull(), argThat(is(postalCodeParam)), isNull(), isNull(), isNull()))
 		            .thenReturn(new MockIBundleProvider<>(Collections.singletonList(patient), 10, 1));
 		
 		IBundleProvider results = patientFhirResourceProvider.searchPatients(null, null, null, null, null, null, null, null,
-		    null, null, postalCodeParam, null, null);
+		    null, null, postalCodeParam, null, null, null);
 		List<IBaseResource> resources = getResources(results);
 		
 		assertThat(resources, notNullValue());
@@ -327,11 +327,11 @@ public class PatientFhirR3ResourceProviderTest extends BaseFhirR3ProvenanceResou
 		StringAndListParam countryParam = new StringAndListParam()
 		        .addAnd(new StringOrListParam().add(new StringParam(COUNTRY)));
 		when(patientService.searchForPatients(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), argThat(is(countryParam)), isNull()))
+		    isNull(), isNull(), isNull(), argThat(is(countryParam)), isNull(), isNull()))
 		            .thenReturn(new MockIBundleProvider<>(Collections.singletonList(patient), 10, 1));
 		
 		IBundleProvider results = patientFhirResourceProvider.searchPatients(null, null, null, null, null, null, null, null,
-		    null, null, null, countryParam, null);
+		    null, null, null, countryParam, null, null);
 		List<IBaseResource> resources = getResources(results);
 		
 		assertThat(resources, notNullValue());
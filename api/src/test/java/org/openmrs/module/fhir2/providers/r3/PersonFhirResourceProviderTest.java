@@ -141,10 +141,10 @@ public class PersonFhirResourceProviderTest extends BaseFhirR3ProvenanceResource
 		StringAndListParam nameParam = new StringAndListParam()
 		        .addAnd(new StringOrListParam().add(new StringParam(GIVEN_NAME)));
 		when(fhirPersonService.searchForPeople(argThat(is(nameParam)), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    isNull(), isNull()))
+		    isNull(), isNull(), isNull()))
 		            .thenReturn(new MockIBundleProvider<>(Collections.singletonList(person), PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchPeople(nameParam, null, null, null, null, null, null, null);
+		IBundleProvider results = resourceProvider.searchPeople(nameParam, null, null, null, null, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -157,10 +157,10 @@ public class PersonFhirResourceProviderTest extends BaseFhirR3ProvenanceResource
 	public void searchForPeople_shouldReturnMatchingBundleOfPeopleByGender() {
 		TokenAndListParam genderParam = new TokenAndListParam().addAnd(new TokenOrListParam().add(GENDER));
 		when(fhirPersonService.searchForPeople(isNull(), argThat(is(genderParam)), isNull(), isNull(), isNull(), isNull(),
-		    isNull(), isNull()))
+		    isNull(), isNull(), isNull()))
 		            .thenReturn(new MockIBundleProvider<>(Collections.singletonList(person), PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchPeople(null, genderParam, null, null, null, null, null, null);
+		IBundleProvider results = resourceProvider.searchPeople(null, genderParam, null, null, null, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -173,10 +173,10 @@ public class PersonFhirResourceProviderTest extends BaseFhirR3ProvenanceResource
 	public void searchForPeople_shouldReturnMatchingBundleOfPeopleByBirthDate() {
 		DateRangeParam birthDateParam = new DateRangeParam().setLowerBound(BIRTH_DATE).setUpperBound(BIRTH_DATE);
 		when(fhirPersonService.searchForPeople(isNull(), isNull(), argThat(is(birthDateParam)), isNull(), isNull(), isNull(),
-		    isNull(), isNull()))
+		    isNull(), isNull(), isNull()))
 		            .thenReturn(new MockIBundleProvider<>(Collections.singletonList(person), PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchPeople(null, null, birthDateParam, null, null, null, null, null);
+		IBundleProvider results = resourceProvider.searchPeople(null, null, birthDateParam, null, null, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -189,10 +189,10 @@ public class PersonFhirResourceProviderTest extends BaseFhirR3ProvenanceResource
 	public void searchForPeople_shouldReturnMatchingBundleOfPeopleByCity() {
 		StringAndListParam cityParam = new StringAndListParam().addAnd(new StringOrListParam().add(new StringParam(CITY)));
 		when(fhirPersonService.searchForPeople(isNull(), isNull(), isNull(), argThat(is(cityParam)), isNull(), isNull(),
-		    isNull(), isNull()))
+		    isNull(), isNull(), isNull()))
 		            .thenReturn(new MockIBundleProvider<>(Collections.singletonList(person), PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchPeople(null, null, null, cityParam, null, null, null, null);
+		IBundleProvider results = resourceProvider.searchPeople(null, null, null, cityParam, null, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -205,10 +205,10 @@ public class PersonFhirResourceProviderTest extends BaseFhirR3ProvenanceResource
 	public void searchForPeople_shouldReturnMatchingBundleOfPeopleByState() {
 		StringAndListParam stateParam = new StringAndListParam().addAnd(new StringOrListParam().add(new StringParam(STATE)));
 		when(fhirPersonService.searchForPeople(isNull(), isNull(), isNull(), isNull(), argThat(is(stateParam)), isNull(),
-		    isNull(), isNull()))
+		    isNull(), isNull(), isNull()))
 		            .thenReturn(new MockIBundleProvider<>(Collections.singletonList(person), PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchPeople(null, null, null, null, stateParam, null, null, null);
+		IBundleProvider results = resourceProvider.searchPeople(null, null, null, null, stateParam, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -222,10 +222,10 @@ public class PersonFhirResourceProviderTest extends BaseFhirR3ProvenanceResource
 		StringAndListParam postalCodeParam = new StringAndListParam()
 		        .addAnd(new StringOrListParam().add(new StringParam(POSTAL_CODE)));
 		when(fhirPersonService.searchForPeople(isNull(), isNull(), isNull(), isNull(), isNull(),
-		    argThat(is(postalCodeParam)), isNull(), isNull()))
+		    argThat(is(postalCodeParam)), isNull(), isNull(), isNull()))
 		            .thenReturn(new MockIBundleProvider<>(Collections.singletonList(person), PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchPeople(null, null, null, null, null, postalCodeParam, null, null);
+		IBundleProvider results = resourceProvider.searchPeople(null, null, null, null, null, postalCodeParam, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -239,10 +239,10 @@ public class PersonFhirResourceProviderTest extends BaseFhirR3ProvenanceResource
 		StringAndListParam countryParam = new StringAndListParam()
 		        .addAnd(new StringOrListParam().add(new StringParam(COUNTRY)));
 		when(fhirPersonService.searchForPeople(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    argThat(is(countryParam)), isNull()))
+		    argThat(is(countryParam)), isNull(), isNull()))
 		            .thenReturn(new MockIBundleProvider<>(Collections.singletonList(person), PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchPeople(null, null, null, null, null, null, countryParam, null);
+		IBundleProvider results = resourceProvider.searchPeople(null, null, null, null, null, null, countryParam, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
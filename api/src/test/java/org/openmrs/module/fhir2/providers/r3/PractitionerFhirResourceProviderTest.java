@@ -162,11 +162,11 @@ public class PractitionerFhirResourceProviderTest extends BaseFhirR3ProvenanceRe
 		StringAndListParam nameParam = new StringAndListParam()
 		        .addAnd(new StringOrListParam().add(new StringParam(GIVEN_NAME)));
 		when(practitionerService.searchForPractitioners(argThat(is(nameParam)), isNull(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull())).thenReturn(
+		    isNull(), isNull(), isNull(), isNull())).thenReturn(
 		        new MockIBundleProvider<>(Collections.singletonList(practitioner), PREFERRED_PAGE_SIZE, COUNT));
 		
 		IBundleProvider results = resourceProvider.searchForPractitioners(nameParam, null, null, null, null, null, null,
-		    null);
+		    null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -180,11 +180,11 @@ public class PractitionerFhirResourceProviderTest extends BaseFhirR3ProvenanceRe
 		StringAndListParam nameParam = new StringAndListParam()
 		        .addAnd(new StringOrListParam().add(new StringParam(WRONG_NAME)));
 		when(practitionerService.searchForPractitioners(argThat(is(nameParam)), isNull(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull()))
+		    isNull(), isNull(), isNull(), isNull()))
 		            .thenReturn(new MockIBundleProvider<>(Collections.emptyList(), PREFERRED_PAGE_SIZE, COUNT));
 		
 		IBundleProvider results = resourceProvider.searchForPractitioners(nameParam, null, null, null, null, null, null,
-		    null);
+		    null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -196,11 +196,11 @@ public class PractitionerFhirResourceProviderTest extends BaseFhirR3ProvenanceRe
 	public void findPractitionersByIdentifier_shouldReturnMatchingBundleOfPractitioners() {
 		TokenAndListParam identifier = new TokenAndListParam().addAnd(new TokenOrListParam().add(PRACTITIONER_IDENTIFIER));
 		when(practitionerService.searchForPractitioners(isNull(), argThat(is(identifier)), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull())).thenReturn(
+		    isNull(), isNull(), isNull(), isNull())).thenReturn(
 		        new MockIBundleProvider<>(Collections.singletonList(practitioner), PREFERRED_PAGE_SIZE, COUNT));
 		
 		IBundleProvider results = practitionerService.searchForPractitioners(null, identifier, null, null, null, null, null,
-		    null);
+		    null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -214,11 +214,11 @@ public class PractitionerFhirResourceProviderTest extends BaseFhirR3ProvenanceRe
 		TokenAndListParam identifier = new TokenAndListParam()
 		        .addAnd(new TokenOrListParam().add(WRONG_PRACTITIONER_IDENTIFIER));
 		when(practitionerService.searchForPractitioners(isNull(), argThat(is(identifier)), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull()))
+		    isNull(), isNull(), isNull(), isNull()))
 		            .thenReturn(new MockIBundleProvider<>(Collections.emptyList(), PREFERRED_PAGE_SIZE, COUNT));
 		
 		IBundleProvider results = practitionerService.searchForPractitioners(null, identifier, null, null, null, null, null,
-		    null);
+		    null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -230,11 +230,11 @@ public class PractitionerFhirResourceProviderTest extends BaseFhirR3ProvenanceRe
 	public void findPractitionersByGivenName_shouldReturnMatchingBundleOfPractitioners() {
 		StringAndListParam givenName = new StringAndListParam().addAnd(new StringParam(PRACTITIONER_GIVEN_NAME));
 		when(practitionerService.searchForPractitioners(isNull(), isNull(), argThat(is(givenName)), isNull(), isNull(),
-		    isNull(), isNull(), isNull())).thenReturn(
+		    isNull(), isNull(), isNull(), isNull())).thenReturn(
 		        new MockIBundleProvider<>(Collections.singletonList(practitioner), PREFERRED_PAGE_SIZE, COUNT));
 		
 		IBundleProvider results = practitionerService.searchForPractitioners(null, null, givenName, null, null, null, null,
-		    null);
+		    null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -247,11 +247,11 @@ public class PractitionerFhirResourceProviderTest extends BaseFhirR3ProvenanceRe
 	public void findPractitionersByWrongGivenName_shouldReturnBundleWithEmptyEntries() {
 		StringAndListParam givenName = new StringAndListParam().addAnd(new StringParam(WRONG_GIVEN_NAME));
 		when(practitionerService.searchForPractitioners(isNull(), isNull(), argThat(is(givenName)), isNull(), isNull(),
-		    isNull(), isNull(), isNull()))
+		    isNull(), isNull(), isNull(), isNull()))
 		            .thenReturn(new MockIBundleProvider<>(Collections.emptyList(), PREFERRED_PAGE_SIZE, COUNT));
 		
 		IBundleProvider results = practitionerService.searchForPractitioners(null, null, givenName, null, null, null, null,
-		    null);
+		    null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -263,11 +263,11 @@ public class PractitionerFhirResourceProviderTest extends BaseFhirR3ProvenanceRe
 	public void findPractitionersByFamilyName_shouldReturnMatchingBundleOfPractitioners() {
 		StringAndListParam familyName = new StringAndListParam().addAnd(new StringParam(PRACTITIONER_FAMILY_NAME));
 		when(practitionerService.searchForPractitioners(isNull(), isNull(), isNull(), argThat(is(familyName)), isNull(),
-		    isNull(), isNull(), isNull())).thenReturn(
+		    isNull(), isNull(), isNull(), isNull())).thenReturn(
 		        new MockIBundleProvider<>(Collections.singletonList(practitioner), PREFERRED_PAGE_SIZE, COUNT));
 		
 		IBundleProvider results = practitionerService.searchForPractitioners(null, null, null, familyName, null, null, null,
-		    null);
+		    null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -280,11 +280,11 @@ public class PractitionerFhirResourceProviderTest extends BaseFhirR3ProvenanceRe
 	public void findPractitionersByWrongFamilyName_shouldReturnBundleWithEmptyEntries() {
 		StringAndListParam familyName = new StringAndListParam().addAnd(new StringParam(WRONG_FAMILY_NAME));
 		when(practitionerService.searchForPractitioners(isNull(), isNull(), isNull(), argThat(is(familyName)), isNull(),
-		    isNull(), isNull(), isNull()))
+		    isNull(), isNull(), isNull(), isNull()))
 		            .thenReturn(new MockIBundleProvider<>(Collections.emptyList(), PREFERRED_PAGE_SIZE, COUNT));
 		
 		IBundleProvider results = practitionerService.searchForPractitioners(null, null, null, familyName, null, null, null,
-		    null);
+		    null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -296,10 +296,10 @@ public class PractitionerFhirResourceProviderTest extends BaseFhirR3ProvenanceRe
 	public void findPractitionersByAddressCity_shouldReturnMatchingBundleOfPractitioners() {
 		StringAndListParam city = new StringAndListParam().addAnd(new StringParam(CITY));
 		when(practitionerService.searchForPractitioners(isNull(), isNull(), isNull(), isNull(), argThat(is(city)), isNull(),
-		    isNull(), isNull())).thenReturn(
+		    isNull(), isNull(), isNull())).thenReturn(
 		        new MockIBundleProvider<>(Collections.singletonList(practitioner), PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = practitionerService.searchForPractitioners(null, null, null, null, city, null, null, null);
+		IBundleProvider results = practitionerService.searchForPractitioners(null, null, null, null, city, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -312,9 +312,10 @@ public class PractitionerFhirResourceProviderTest extends BaseFhirR3ProvenanceRe
 	public void findPractitionersByWrongAddressCity_shouldReturnBundleWithEmptyEntries() {
 		StringAndListParam city = new StringAndListParam().addAnd(new StringParam(WRONG_CITY));
 		when(practitionerService.searchForPractitioners(isNull(), isNull(), isNull(), isNull(), argThat(is(city)), isNull(),
-		    isNull(), isNull())).thenReturn(new MockIBundleProvider<>(Collections.emptyList(), PREFERRED_PAGE_SIZE, COUNT));
+		    isNull(), isNull(), isNull())).thenReturn(new MockIBundleProvider<>(Collections.emptyList(), PREFERRED_PAGE_SIZE,
+		    COUNT));
 		
-		IBundleProvider results = practitionerService.searchForPractitioners(null, null, null, null, city, null, null, null);
+		IBundleProvider results = practitionerService.searchForPractitioners(null, null, null, null, city, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -326,11 +327,11 @@ public class PractitionerFhirResourceProviderTest extends BaseFhirR3ProvenanceRe
 	public void findPractitionersByAddressState_shouldReturnMatchingBundleOfPractitioners() {
 		StringAndListParam state = new StringAndListParam().addAnd(new StringParam(STATE));
 		when(practitionerService.searchForPractitioners(isNull(), isNull(), isNull(), isNull(), isNull(), argThat(is(state)),
-		    isNull(), isNull())).thenReturn(
+		    isNull(), isNull(), isNull())).thenReturn(
 		        new MockIBundleProvider<>(Collections.singletonList(practitioner), PREFERRED_PAGE_SIZE, COUNT));
 		
 		IBundleProvider results = practitionerService.searchForPractitioners(null, null, null, null, null, state, null,
-		    null);
+		    null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -343,10 +344,11 @@ public class PractitionerFhirResourceProviderTest extends BaseFhirR3ProvenanceRe
 	public void findPractitionersByWrongAddressState_shouldReturnBundleWithEmptyEntries() {
 		StringAndListParam state = new StringAndListParam().addAnd(new StringParam(WRONG_STATE));
 		when(practitionerService.searchForPractitioners(isNull(), isNull(), isNull(), isNull(), isNull(), argThat(is(state)),
-		    isNull(), isNull())).thenReturn(new MockIBundleProvider<>(Collections.emptyList(), PREFERRED_PAGE_SIZE, COUNT));
+		    isNull(), isNull(), isNull())).thenReturn(new MockIBundleProvider<>(Collections.emptyList(), PREFERRED_PAGE_SIZE,
+		    COUNT));
 		
 		IBundleProvider results = practitionerService.searchForPractitioners(null, null, null, null, null, state, null,
-		    null);
+		    null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -358,11 +360,11 @@ public class PractitionerFhirResourceProviderTest extends BaseFhirR3ProvenanceRe
 	public void findPractitionersByAddressPostalCode_shouldReturnMatchingBundleOfPractitioners() {
 		StringAndListParam postalCode = new StringAndListParam().addAnd(new StringParam(POSTAL_CODE));
 		when(practitionerService.searchForPractitioners(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    argThat(is(postalCode)), isNull())).thenReturn(
+		    argThat(is(postalCode)), isNull(), isNull())).thenReturn(
 		        new MockIBundleProvider<>(Collections.singletonList(practitioner), PREFERRED_PAGE_SIZE, COUNT));
 		
 		IBundleProvider results = practitionerService.searchForPractitioners(null, null, null, null, null, null, postalCode,
-		    null);
+		    null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -375,11 +377,11 @@ public class PractitionerFhirResourceProviderTest extends BaseFhirR3ProvenanceRe
 	public void findPractitionersByWrongAddressPostalCode_shouldReturnBundleWithEmptyEntries() {
 		StringAndListParam postalCode = new StringAndListParam().addAnd(new StringParam(WRONG_POSTAL_CODE));
 		when(practitionerService.searchForPractitioners(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    argThat(is(postalCode)), isNull()))
+		    argThat(is(postalCode)), isNull(), isNull()))
 		            .thenReturn(new MockIBundleProvider<>(Collections.emptyList(), PREFERRED_PAGE_SIZE, COUNT));
 		
 		IBundleProvider results = practitionerService.searchForPractitioners(null, null, null, null, null, null, postalCode,
-		    null);
+		    null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -391,11 +393,11 @@ public class PractitionerFhirResourceProviderTest extends BaseFhirR3ProvenanceRe
 	public void findPractitionersByAddressCountry_shouldReturnMatchingBundleOfPractitioners() {
 		StringAndListParam country = new StringAndListParam().addAnd(new StringParam(COUNTRY));
 		when(practitionerService.searchForPractitioners(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    argThat(is(country)))).thenReturn(
+		    argThat(is(country)), isNull())).thenReturn(
 		        new MockIBundleProvider<>(Collections.singletonList(practitioner), PREFERRED_PAGE_SIZE, COUNT));
 		
 		IBundleProvider results = practitionerService.searchForPractitioners(null, null, null, null, null, null, null,
-		    country);
+		    country, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -408,11 +410,11 @@ public class PractitionerFhirResourceProviderTest extends BaseFhirR3ProvenanceRe
 	public void findPractitionersByWrongAddressCountry_shouldReturnBundleWithEmptyEntries() {
 		StringAndListParam country = new StringAndListParam().addAnd(new StringParam(WRONG_COUNTRY));
 		when(practitionerService.searchForPractitioners(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    argThat(is(country))))
+		    argThat(is(country)), isNull()))
 		            .thenReturn(new MockIBundleProvider<>(Collections.emptyList(), PREFERRED_PAGE_SIZE, COUNT));
 		
 		IBundleProvider results = practitionerService.searchForPractitioners(null, null, null, null, null, null, null,
-		    country);
+		    country, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
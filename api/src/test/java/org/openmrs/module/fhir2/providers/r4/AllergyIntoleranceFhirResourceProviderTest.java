@@ -38,7 +38,6 @@ import org.hl7.fhir.instance.model.api.IBaseResource;
 import org.hl7.fhir.r4.model.AllergyIntolerance;
 import org.hl7.fhir.r4.model.IdType;
 import org.hl7.fhir.r4.model.Patient;
-import org.hl7.fhir.r4.model.Provenance;
 import org.hl7.fhir.r4.model.Resource;
 import org.junit.Before;
 import org.junit.Test;
@@ -122,15 +121,15 @@ public class AllergyIntoleranceFhirResourceProviderTest extends BaseFhirProvenan
 	}
 	
 	@Test
-	public void getAllergyIntoleranceHistory_shouldReturnProvenanceResources() {
+	public void getAllergyIntoleranceHistory_shouldReturnVersionsOfTheResource() {
 		IdType id = new IdType();
 		id.setValue(ALLERGY_UUID);
-		when(service.get(ALLERGY_UUID)).thenReturn(allergyIntolerance);
+		when(service.getHistory(ALLERGY_UUID)).thenReturn(Collections.singletonList(allergyIntolerance));
 		
 		List<Resource> resources = resourceProvider.getAllergyIntoleranceHistoryById(id);
 		assertThat(resources, not(empty()));
 		assertThat(resources.stream().findAny().isPresent(), is(true));
-		assertThat(resources.stream().findAny().get().getResourceType().name(), equalTo(Provenance.class.getSimpleName()));
+		assertThat(resources.stream().findAny().get().getResourceType().name(), equalTo(AllergyIntolerance.class.getSimpleName()));
 	}
 	
 	@Test(expected = ResourceNotFoundException.class)
@@ -148,10 +147,11 @@ public class AllergyIntoleranceFhirResourceProviderTest extends BaseFhirProvenan
 		patient.addValue(
 		    new ReferenceOrListParam().add(new ReferenceParam().setValue("M4001-1").setChain(Patient.SP_IDENTIFIER)));
 		
-		when(service.searchForAllergies(argThat(is(patient)), isNull(), isNull(), isNull(), isNull(), isNull(), isNull())).thenReturn(
+		when(service.searchForAllergies(argThat(is(patient)), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
+		    isNull())).thenReturn(
 		    new MockIBundleProvider<>(Collections.singletonList(allergyIntolerance), PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchForAllergies(patient, null, null, null, null, null, null, null);
+		IBundleProvider results = resourceProvider.searchForAllergies(patient, null, null, null, null, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -166,10 +166,11 @@ public class AllergyIntoleranceFhirResourceProviderTest extends BaseFhirProvenan
 		ReferenceAndListParam patient = new ReferenceAndListParam();
 		patient.addValue(new ReferenceOrListParam().add(new ReferenceParam().setValue("John").setChain(Patient.SP_GIVEN)));
 		
-		when(service.searchForAllergies(argThat(is(patient)), isNull(), isNull(), isNull(), isNull(), isNull(), isNull())).thenReturn(
+		when(service.searchForAllergies(argThat(is(patient)), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
+		    isNull())).thenReturn(
 		    new MockIBundleProvider<>(Collections.singletonList(allergyIntolerance), PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchForAllergies(patient, null, null, null, null, null, null, null);
+		IBundleProvider results = resourceProvider.searchForAllergies(patient, null, null, null, null, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -184,10 +185,11 @@ public class AllergyIntoleranceFhirResourceProviderTest extends BaseFhirProvenan
 		ReferenceAndListParam patient = new ReferenceAndListParam();
 		patient.addValue(new ReferenceOrListParam().add(new ReferenceParam().setValue("John").setChain(Patient.SP_FAMILY)));
 		
-		when(service.searchForAllergies(argThat(is(patient)), isNull(), isNull(), isNull(), isNull(), isNull(), isNull())).thenReturn(
+		when(service.searchForAllergies(argThat(is(patient)), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
+		    isNull())).thenReturn(
 		    new MockIBundleProvider<>(Collections.singletonList(allergyIntolerance), PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchForAllergies(patient, null, null, null, null, null, null, null);
+		IBundleProvider results = resourceProvider.searchForAllergies(patient, null, null, null, null, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -203,10 +205,11 @@ public class AllergyIntoleranceFhirResourceProviderTest extends BaseFhirProvenan
 		patient.addValue(
 		    new ReferenceOrListParam().add(new ReferenceParam().setValue("John Doe").setChain(Patient.SP_NAME)));
 		
-		when(service.searchForAllergies(argThat(is(patient)), isNull(), isNull(), isNull(), isNull(), isNull(), isNull())).thenReturn(
+		when(service.searchForAllergies(argThat(is(patient)), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
+		    isNull())).thenReturn(
 		    new MockIBundleProvider<>(Collections.singletonList(allergyIntolerance), PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchForAllergies(patient, null, null, null, null, null, null, null);
+		IBundleProvider results = resourceProvider.searchForAllergies(patient, null, null, null, null, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -221,10 +224,11 @@ public class AllergyIntoleranceFhirResourceProviderTest extends BaseFhirProvenan
 		ReferenceAndListParam subject = new ReferenceAndListParam();
 		subject.addValue(new ReferenceOrListParam().add(new ReferenceParam().setValue("John").setChain(Patient.SP_GIVEN)));
 		
-		when(service.searchForAllergies(argThat(is(subject)), isNull(), isNull(), isNull(), isNull(), isNull(), isNull())).thenReturn(
+		when(service.searchForAllergies(argThat(is(subject)), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
+		    isNull())).thenReturn(
 		    new MockIBundleProvider<>(Collections.singletonList(allergyIntolerance), PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchForAllergies(null, subject, null, null, null, null, null, null);
+		IBundleProvider results = resourceProvider.searchForAllergies(null, subject, null, null, null, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -239,10 +243,11 @@ public class AllergyIntoleranceFhirResourceProviderTest extends BaseFhirProvenan
 		TokenAndListParam category = new TokenAndListParam();
 		category.addAnd(new TokenOrListParam().addOr(new TokenParam().setValue("food")));
 		
-		when(service.searchForAllergies(isNull(), argThat(is(category)), isNull(), isNull(), isNull(), isNull(), isNull())).thenReturn(
+		when(service.searchForAllergies(isNull(), argThat(is(category)), isNull(), isNull(), isNull(), isNull(), isNull(),
+		    isNull())).thenReturn(
 		    new MockIBundleProvider<>(Collections.singletonList(allergyIntolerance), PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchForAllergies(null, null, category, null, null, null, null, null);
+		IBundleProvider results = resourceProvider.searchForAllergies(null, null, category, null, null, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -257,10 +262,11 @@ public class AllergyIntoleranceFhirResourceProviderTest extends BaseFhirProvenan
 		TokenAndListParam allergen = new TokenAndListParam();
 		allergen.addAnd(new TokenOrListParam().addOr(new TokenParam().setValue(CODED_ALLERGEN_UUID)));
 		
-		when(service.searchForAllergies(isNull(), isNull(), argThat(is(allergen)), isNull(), isNull(), isNull(), isNull())).thenReturn(
+		when(service.searchForAllergies(isNull(), isNull(), argThat(is(allergen)), isNull(), isNull(), isNull(), isNull(),
+		    isNull())).thenReturn(
 		    new MockIBundleProvider<>(Collections.singletonList(allergyIntolerance), PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchForAllergies(null, null, null, allergen, null, null, null, null);
+		IBundleProvider results = resourceProvider.searchForAllergies(null, null, null, allergen, null, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -275,10 +281,11 @@ public class AllergyIntoleranceFhirResourceProviderTest extends BaseFhirProvenan
 		TokenAndListParam severity = new TokenAndListParam();
 		severity.addAnd(new TokenOrListParam().addOr(new TokenParam().setValue(SEVERITY_CONCEPT_UUID)));
 		
-		when(service.searchForAllergies(isNull(), isNull(), isNull(), argThat(is(severity)), isNull(), isNull(), isNull())).thenReturn(
+		when(service.searchForAllergies(isNull(), isNull(), isNull(), argThat(is(severity)), isNull(), isNull(), isNull(),
+		    isNull())).thenReturn(
 		    new MockIBundleProvider<>(Collections.singletonList(allergyIntolerance), PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchForAllergies(null, null, null, null, severity, null, null, null);
+		IBundleProvider results = resourceProvider.searchForAllergies(null, null, null, null, severity, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -293,11 +300,13 @@ public class AllergyIntoleranceFhirResourceProviderTest extends BaseFhirProvenan
 		TokenAndListParam manifestation = new TokenAndListParam();
 		manifestation.addAnd(new TokenOrListParam().addOr(new TokenParam().setValue(CODED_REACTION_UUID)));
 		
-		when(service.searchForAllergies(isNull(), isNull(), isNull(), isNull(), argThat(is(manifestation)), isNull(), isNull()))
+		when(service.searchForAllergies(isNull(), isNull(), isNull(), isNull(), argThat(is(manifestation)), isNull(), isNull(),
+		    isNull()))
 		        .thenReturn(
 		            new MockIBundleProvider<>(Collections.singletonList(allergyIntolerance), PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchForAllergies(null, null, null, null, null, manifestation, null, null);
+		IBundleProvider results = resourceProvider.searchForAllergies(null, null, null, null, null, manifestation, null, null,
+		    null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -312,10 +321,11 @@ public class AllergyIntoleranceFhirResourceProviderTest extends BaseFhirProvenan
 		TokenAndListParam status = new TokenAndListParam();
 		status.addAnd(new TokenOrListParam().addOr(new TokenParam().setValue("active")));
 		
-		when(service.searchForAllergies(isNull(), isNull(), isNull(), isNull(), isNull(), argThat(is(status)), isNull())).thenReturn(
+		when(service.searchForAllergies(isNull(), isNull(), isNull(), isNull(), isNull(), argThat(is(status)), isNull(),
+		    isNull())).thenReturn(
 		    new MockIBundleProvider<>(Collections.singletonList(allergyIntolerance), PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchForAllergies(null, null, null, null, null, null, status, null);
+		IBundleProvider results = resourceProvider.searchForAllergies(null, null, null, null, null, null, status, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -41,7 +41,6 @@ import org.hl7.fhir.instance.model.api.IBaseResource;
 import org.hl7.fhir.r4.model.Condition;
 import org.hl7.fhir.r4.model.IdType;
 import org.hl7.fhir.r4.model.Patient;
-import org.hl7.fhir.r4.model.Provenance;
 import org.hl7.fhir.r4.model.Resource;
 import org.junit.Before;
 import org.junit.Test;
@@ -113,16 +112,16 @@ public class ConditionFhirResourceProviderTest extends BaseFhirProvenanceResourc
 	}
 	
 	@Test
-	public void getConditionHistory_shouldReturnProvenanceResources() {
+	public void getConditionHistory_shouldReturnVersionsOfTheResource() {
 		IdType id = new IdType();
 		id.setValue(CONDITION_UUID);
-		when(conditionService.get(CONDITION_UUID)).thenReturn(condition);
+		when(conditionService.getHistory(CONDITION_UUID)).thenReturn(Collections.singletonList(condition));
 		
 		List<Resource> resources = resourceProvider.getConditionHistoryById(id);
 		assertThat(resources, not(empty()));
 		assertThat(resources.stream().findAny().isPresent(), is(true));
 		assertThat(resources.stream().findAny().get().getResourceType().name(),
-		    Matchers.equalTo(Provenance.class.getSimpleName()));
+		    Matchers.equalTo(Condition.class.getSimpleName()));
 	}
 	
 	@Test(expected = ResourceNotFoundException.class)
@@ -168,10 +167,10 @@ public class ConditionFhirResourceProviderTest extends BaseFhirProvenanceResourc
 		SortSpec sort = new SortSpec("sort param");
 		
 		when(conditionService.searchConditions(patientReference, codeList, clinicalList, onsetDate, onsetAge, recordDate,
-		    sort)).thenReturn(new MockIBundleProvider<>(Collections.singletonList(condition), 10, 1));
+		    sort, null)).thenReturn(new MockIBundleProvider<>(Collections.singletonList(condition), 10, 1));
 		
 		IBundleProvider result = resourceProvider.searchConditions(patientReference, subjectReference, codeList,
-		    clinicalList, onsetDate, onsetAge, recordDate, sort);
+		    clinicalList, onsetDate, onsetAge, recordDate, null, sort);
 		
 		List<IBaseResource> resultList = get(result);
 		
@@ -202,10 +201,10 @@ public class ConditionFhirResourceProviderTest extends BaseFhirProvenanceResourc
 		SortSpec sort = new SortSpec("sort param");
 		
 		when(conditionService.searchConditions(subjectReference, codeList, clinicalList, onsetDate, onsetAge, recordDate,
-		    sort)).thenReturn(new MockIBundleProvider<>(Collections.singletonList(condition), 10, 1));
+		    sort, null)).thenReturn(new MockIBundleProvider<>(Collections.singletonList(condition), 10, 1));
 		
 		IBundleProvider result = resourceProvider.searchConditions(null, subjectReference, codeList, clinicalList, onsetDate,
-		    onsetAge, recordDate, sort);
+		    onsetAge, recordDate, null, sort);
 		
 		List<IBaseResource> resultList = get(result);
 		
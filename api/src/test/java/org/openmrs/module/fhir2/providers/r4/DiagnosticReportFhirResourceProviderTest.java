@@ -16,6 +16,7 @@ import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 
 import java.util.Collections;
@@ -163,10 +164,10 @@ public class DiagnosticReportFhirResourceProviderTest {
 	
 	@Test
 	public void findDiagnosticReports_shouldReturnMatchingBundleOfDiagnosticReports() {
-		when(service.searchForDiagnosticReports(any(), any(), any(), any(), any())).thenReturn(
+		when(service.searchForDiagnosticReports(any(), any(), any(), any(), any(), isNull())).thenReturn(
 		    new MockIBundleProvider<>(Collections.singletonList(diagnosticReport), PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchForDiagnosticReports(null, null, null, null, null, null);
+		IBundleProvider results = resourceProvider.searchForDiagnosticReports(null, null, null, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -182,10 +183,10 @@ public class DiagnosticReportFhirResourceProviderTest {
 		ReferenceAndListParam subject = new ReferenceAndListParam();
 		subject.addValue(new ReferenceOrListParam().add(new ReferenceParam().setChain(Patient.SP_NAME)));
 		
-		when(service.searchForDiagnosticReports(any(), any(), any(), any(), any())).thenReturn(
+		when(service.searchForDiagnosticReports(any(), any(), any(), any(), any(), isNull())).thenReturn(
 		    new MockIBundleProvider<>(Collections.singletonList(diagnosticReport), PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchForDiagnosticReports(null, null, subject, null, null, null);
+		IBundleProvider results = resourceProvider.searchForDiagnosticReports(null, null, subject, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -21,6 +21,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import ca.uhn.fhir.rest.api.server.IBundleProvider;
@@ -33,7 +34,6 @@ import org.hl7.fhir.instance.model.api.IBaseResource;
 import org.hl7.fhir.r4.model.Encounter;
 import org.hl7.fhir.r4.model.IdType;
 import org.hl7.fhir.r4.model.Patient;
-import org.hl7.fhir.r4.model.Provenance;
 import org.hl7.fhir.r4.model.Resource;
 import org.junit.Before;
 import org.junit.Test;
@@ -113,13 +113,14 @@ public class EncounterFhirResourceProviderTest extends BaseFhirProvenanceResourc
 	public void searchEncounters_shouldReturnMatchingEncounters() {
 		List<Encounter> encounters = new ArrayList<>();
 		encounters.add(encounter);
-		when(encounterService.searchForEncounters(any(), any(), any(), any()))
+		when(encounterService.searchForEncounters(any(), any(), any(), any(), any(), any(), isNull()))
 		        .thenReturn(new MockIBundleProvider<>(encounters, PREFERRED_SIZE, COUNT));
 		
 		ReferenceAndListParam subjectReference = new ReferenceAndListParam();
 		subjectReference.addValue(new ReferenceOrListParam().add(new ReferenceParam().setChain(Patient.SP_NAME)));
 		
-		IBundleProvider results = resourceProvider.searchEncounter(null, null, null, subjectReference, null);
+		IBundleProvider results = resourceProvider.searchEncounter(null, null, null, subjectReference, null, null, null,
+		    null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -133,13 +134,13 @@ public class EncounterFhirResourceProviderTest extends BaseFhirProvenanceResourc
 	public void searchEncounters_shouldReturnMatchingEncountersWhenPatientParamIsSpecified() {
 		List<org.hl7.fhir.r4.model.Encounter> encounters = new ArrayList<>();
 		encounters.add(encounter);
-		when(encounterService.searchForEncounters(any(), any(), any(), any()))
+		when(encounterService.searchForEncounters(any(), any(), any(), any(), any(), any(), isNull()))
 		        .thenReturn(new MockIBundleProvider<>(encounters, PREFERRED_SIZE, COUNT));
 		
 		ReferenceAndListParam patientParam = new ReferenceAndListParam();
 		patientParam.addValue(new ReferenceOrListParam().add(new ReferenceParam().setChain(Patient.SP_NAME)));
 		
-		IBundleProvider results = resourceProvider.searchEncounter(null, null, null, null, patientParam);
+		IBundleProvider results = resourceProvider.searchEncounter(null, null, null, null, patientParam, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -150,16 +151,16 @@ public class EncounterFhirResourceProviderTest extends BaseFhirProvenanceResourc
 	}
 	
 	@Test
-	public void getEncounterHistory_shouldReturnProvenanceResources() {
+	public void getEncounterHistory_shouldReturnVersionsOfTheResource() {
 		IdType id = new IdType();
 		id.setValue(ENCOUNTER_UUID);
-		when(encounterService.get(ENCOUNTER_UUID)).thenReturn(encounter);
+		when(encounterService.getHistory(ENCOUNTER_UUID)).thenReturn(Collections.singletonList(encounter));
 		
 		List<Resource> resources = resourceProvider.getEncounterHistoryById(id);
 		assertThat(resources, not(empty()));
 		assertThat(resources.stream().findAny().isPresent(), is(true));
 		assertThat(resources.stream().findAny().get().getResourceType().name(),
-		    Matchers.equalTo(Provenance.class.getSimpleName()));
+		    Matchers.equalTo(Encounter.class.getSimpleName()));
 	}
 	
 	@Test(expected = ResourceNotFoundException.class)
@@ -35,7 +35,6 @@ import org.hamcrest.Matchers;
 import org.hl7.fhir.dstu3.model.Patient;
 import org.hl7.fhir.r4.model.IdType;
 import org.hl7.fhir.r4.model.Observation;
-import org.hl7.fhir.r4.model.Provenance;
 import org.hl7.fhir.r4.model.Resource;
 import org.junit.Before;
 import org.junit.Test;
@@ -107,7 +106,7 @@ public class ObservationFhirResourceProviderTest extends BaseFhirProvenanceResou
 		observation.setId(OBSERVATION_UUID);
 		
 		when(observationService.searchForObservations(any(), any(), any(), any(), any(), any(), any(), any(), any(), any(),
-		    any())).thenReturn(new MockIBundleProvider<>(Collections.singletonList(observation), 10, 1));
+		    any(), any(), isNull())).thenReturn(new MockIBundleProvider<>(Collections.singletonList(observation), 10, 1));
 		
 		TokenAndListParam code = new TokenAndListParam();
 		TokenParam codingToken = new TokenParam();
@@ -115,7 +114,7 @@ public class ObservationFhirResourceProviderTest extends BaseFhirProvenanceResou
 		code.addAnd(codingToken);
 		
 		IBundleProvider results = resourceProvider.searchObservations(null, null, null, null, null, null, null, null, code,
-		    null, null, null);
+		    null, null, null, null, null);
 		assertThat(results, notNullValue());
 		assertThat(results.getResources(1, 5), hasSize(equalTo(1)));
 		assertThat(results.getResources(1, 5).get(0), notNullValue());
@@ -130,13 +129,13 @@ public class ObservationFhirResourceProviderTest extends BaseFhirProvenanceResou
 		observation.setId(OBSERVATION_UUID);
 		
 		when(observationService.searchForObservations(any(), any(), any(), any(), any(), any(), any(), any(), any(), any(),
-		    any())).thenReturn(new MockIBundleProvider<>(Collections.singletonList(observation), 10, 1));
+		    any(), any(), isNull())).thenReturn(new MockIBundleProvider<>(Collections.singletonList(observation), 10, 1));
 		
 		ReferenceAndListParam patientParam = new ReferenceAndListParam();
 		patientParam.addValue(new ReferenceOrListParam().add(new ReferenceParam().setChain(Patient.SP_NAME)));
 		
 		IBundleProvider results = resourceProvider.searchObservations(null, null, null, null, null, null, null, null, null,
-		    null, null, patientParam);
+		    null, null, patientParam, null, null);
 		assertThat(results, notNullValue());
 		assertThat(results.getResources(1, 5), hasSize(equalTo(1)));
 		assertThat(results.getResources(1, 5).get(0), notNullValue());
@@ -148,25 +147,25 @@ public class ObservationFhirResourceProviderTest extends BaseFhirProvenanceResou
 	public void getPatientResourceHistory_shouldReturnListOfResource() {
 		IdType id = new IdType();
 		id.setValue(OBSERVATION_UUID);
-		when(observationService.get(OBSERVATION_UUID)).thenReturn(observation);
+		when(observationService.getHistory(OBSERVATION_UUID)).thenReturn(Collections.singletonList(observation));
 		
 		List<Resource> resources = resourceProvider.getObservationHistoryById(id);
 		assertThat(resources, Matchers.notNullValue());
 		assertThat(resources, not(empty()));
-		assertThat(resources.size(), Matchers.equalTo(2));
+		assertThat(resources.size(), Matchers.equalTo(1));
 	}
 	
 	@Test
-	public void getPatientResourceHistory_shouldReturnProvenanceResources() {
+	public void getPatientResourceHistory_shouldReturnVersionsOfTheResource() {
 		IdType id = new IdType();
 		id.setValue(OBSERVATION_UUID);
-		when(observationService.get(OBSERVATION_UUID)).thenReturn(observation);
+		when(observationService.getHistory(OBSERVATION_UUID)).thenReturn(Collections.singletonList(observation));
 		
 		List<Resource> resources = resourceProvider.getObservationHistoryById(id);
 		assertThat(resources, not(empty()));
 		assertThat(resources.stream().findAny().isPresent(), is(true));
 		assertThat(resources.stream().findAny().get().getResourceType().name(),
-		    Matchers.equalTo(Provenance.class.getSimpleName()));
+		    Matchers.equalTo(Observation.class.getSimpleName()));
 	}
 	
 	@Test(expected = ResourceNotFoundException.class)
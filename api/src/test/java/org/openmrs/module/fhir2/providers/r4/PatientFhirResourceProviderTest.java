@@ -38,7 +38,6 @@ import org.hl7.fhir.r4.model.Enumerations;
 import org.hl7.fhir.r4.model.HumanName;
 import org.hl7.fhir.r4.model.IdType;
 import org.hl7.fhir.r4.model.Patient;
-import org.hl7.fhir.r4.model.Provenance;
 import org.hl7.fhir.r4.model.Resource;
 import org.junit.Before;
 import org.junit.Test;
@@ -125,6 +124,18 @@ public class PatientFhirResourceProviderTest extends BaseFhirProvenanceResourceT
 		assertThat(result.getId(), equalTo(PATIENT_UUID));
 	}
 	
+	@Test
+	public void getPatientById_shouldReturnRequestedVersionOfPatient() {
+		Patient version = new Patient();
+		version.setId(PATIENT_UUID);
+		version.getMeta().setVersionId("1590000000000");
+		when(patientService.getVersion(PATIENT_UUID, "1590000000000")).thenReturn(version);
+		
+		Patient result = resourceProvider.getPatientById(new IdType("Patient", PATIENT_UUID, "1590000000000"));
+		
+		assertThat(result, equalTo(version));
+	}
+	
 	@Test(expected = ResourceNotFoundException.class)
 	public void getPatientByWithWrongId_shouldThrowResourceNotFoundException() {
 		IdType idType = new IdType();
@@ -137,11 +148,11 @@ public class PatientFhirResourceProviderTest extends BaseFhirProvenanceResourceT
 	public void searchPatients_shouldReturnMatchingBundleOfPatientsByName() {
 		StringAndListParam nameParam = new StringAndListParam().addAnd(new StringOrListParam().add(new StringParam(NAME)));
 		when(patientService.searchForPatients(argThat(is(nameParam)), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull()))
+		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull()))
 		            .thenReturn(new MockIBundleProvider<>(Collections.singletonList(patient), 10, 1));
 		
 		IBundleProvider results = resourceProvider.searchPatients(nameParam, null, null, null, null, null, null, null, null,
-		    null, null, null, null);
+		    null, null, null, null, null);
 		List<IBaseResource> resources = getResources(results);
 		
 		assertThat(resources, notNullValue());
@@ -155,11 +166,11 @@ public class PatientFhirResourceProviderTest extends BaseFhirProvenanceResourceT
 		StringAndListParam givenNameParam = new StringAndListParam()
 		        .addAnd(new StringOrListParam().add(new StringParam(NAME)));
 		when(patientService.searchForPatients(isNull(), argThat(is(givenNameParam)), isNull(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull()))
+		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull()))
 		            .thenReturn(new MockIBundleProvider<>(Collections.singletonList(patient), 10, 1));
 		
 		IBundleProvider results = resourceProvider.searchPatients(null, givenNameParam, null, null, null, null, null, null,
-		    null, null, null, null, null);
+		    null, null, null, null, null, null);
 		List<IBaseResource> resources = getResources(results);
 		
 		assertThat(resources, notNullValue());
@@ -173,11 +184,11 @@ public class PatientFhirResourceProviderTest extends BaseFhirProvenanceResourceT
 		StringAndListParam familyNameParam = new StringAndListParam()
 		        .addAnd(new StringOrListParam().add(new StringParam(FAMILY_NAME)));
 		when(patientService.searchForPatients(isNull(), isNull(), argThat(is(familyNameParam)), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull()))
+		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull()))
 		            .thenReturn(new MockIBundleProvider<>(Collections.singletonList(patient), 10, 1));
 		
 		IBundleProvider results = resourceProvider.searchPatients(null, null, familyNameParam, null, null, null, null, null,
-		    null, null, null, null, null);
+		    null, null, null, null, null, null);
 		List<IBaseResource> resources = getResources(results);
 		
 		assertThat(resources, notNullValue());
@@ -190,11 +201,11 @@ public class PatientFhirResourceProviderTest extends BaseFhirProvenanceResourceT
 	public void searchPatients_shouldReturnMatchingBundleOfPatientsByIdentifier() {
 		TokenAndListParam identifierParam = new TokenAndListParam().addAnd(new TokenOrListParam().add(IDENTIFIER));
 		when(patientService.searchForPatients(isNull(), isNull(), isNull(), argThat(is(identifierParam)), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull()))
+		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull()))
 		            .thenReturn(new MockIBundleProvider<>(Collections.singletonList(patient), 10, 1));
 		
 		IBundleProvider results = resourceProvider.searchPatients(null, null, null, identifierParam, null, null, null, null,
-		    null, null, null, null, null);
+		    null, null, null, null, null, null);
 		List<IBaseResource> resources = getResources(results);
 		
 		assertThat(resources, notNullValue());
@@ -207,11 +218,11 @@ public class PatientFhirResourceProviderTest extends BaseFhirProvenanceResourceT
 	public void searchForPatients_shouldReturnMatchingBundleOfPatientsByGender() {
 		TokenAndListParam genderParam = new TokenAndListParam().addAnd(new TokenOrListParam().add(GENDER));
 		when(patientService.searchForPatients(isNull(), isNull(), isNull(), isNull(), argThat(is(genderParam)), isNull(),
-		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull()))
+		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull()))
 		            .thenReturn(new MockIBundleProvider<>(Collections.singletonList(patient), 10, 1));
 		
 		IBundleProvider results = resourceProvider.searchPatients(null, null, null, null, genderParam, null, null, null,
-		    null, null, null, null, null);
+		    null, null, null, null, null, null);
 		List<IBaseResource> resources = getResources(results);
 		
 		assertThat(resources, notNullValue());
@@ -224,11 +235,11 @@ public class PatientFhirResourceProviderTest extends BaseFhirProvenanceResourceT
 	public void searchForPatients_shouldReturnMatchingBundleOfPatientsByBirthDate() {
 		DateRangeParam birthDateParam = new DateRangeParam().setLowerBound(BIRTH_DATE).setUpperBound(BIRTH_DATE);
 		when(patientService.searchForPatients(isNull(), isNull(), isNull(), isNull(), isNull(), argThat(is(birthDateParam)),
-		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull()))
+		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull()))
 		            .thenReturn(new MockIBundleProvider<>(Collections.singletonList(patient), 10, 1));
 		
 		IBundleProvider results = resourceProvider.searchPatients(null, null, null, null, null, birthDateParam, null, null,
-		    null, null, null, null, null);
+		    null, null, null, null, null, null);
 		List<IBaseResource> resources = getResources(results);
 		
 		assertThat(resources, notNullValue());
@@ -241,11 +252,11 @@ public class PatientFhirResourceProviderTest extends BaseFhirProvenanceResourceT
 	public void searchForPatients_shouldReturnMatchingBundleOfPatientsByDeathDate() {
 		DateRangeParam deathDateParam = new DateRangeParam().setLowerBound(DEATH_DATE).setUpperBound(DEATH_DATE);
 		when(patientService.searchForPatients(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    argThat(is(deathDateParam)), isNull(), isNull(), isNull(), isNull(), isNull(), isNull()))
+		    argThat(is(deathDateParam)), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull()))
 		            .thenReturn(new MockIBundleProvider<>(Collections.singletonList(patient), 10, 1));
 		
 		IBundleProvider results = resourceProvider.searchPatients(null, null, null, null, null, null, deathDateParam, null,
-		    null, null, null, null, null);
+		    null, null, null, null, null, null);
 		List<IBaseResource> resources = getResources(results);
 		
 		assertThat(resources, notNullValue());
@@ -258,11 +269,11 @@ public class PatientFhirResourceProviderTest extends BaseFhirProvenanceResourceT
 	public void searchForPatients_shouldReturnMatchingBundleOfPatientsByDeceased() {
 		TokenAndListParam deceasedParam = new TokenAndListParam().addAnd(new TokenOrListParam().add("true"));
 		when(patientService.searchForPatients(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    argThat(is(deceasedParam)), isNull(), isNull(), isNull(), isNull(), isNull()))
+		    argThat(is(deceasedParam)), isNull(), isNull(), isNull(), isNull(), isNull(), isNull()))
 		            .thenReturn(new MockIBundleProvider<>(Collections.singletonList(patient), 10, 1));
 		
 		IBundleProvider results = resourceProvider.searchPatients(null, null, null, null, null, null, null, deceasedParam,
-		    null, null, null, null, null);
+		    null, null, null, null, null, null);
 		List<IBaseResource> resources = getResources(results);
 		
 		assertThat(resources, notNullValue());
@@ -275,11 +286,11 @@ public class PatientFhirResourceProviderTest extends BaseFhirProvenanceResourceT
 	public void searchForPatients_shouldReturnMatchingBundleOfPatientsByCity() {
 		StringAndListParam cityParam = new StringAndListParam().addAnd(new StringOrListParam().add(new StringParam(CITY)));
 		when(patientService.searchForPatients(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    argThat(is(cityParam)), isNull(), isNull(), isNull(), isNull()))
+		    argThat(is(cityParam)), isNull(), isNull(), isNull(), isNull(), isNull()))
 		            .thenReturn(new MockIBundleProvider<>(Collections.singletonList(patient), 10, 1));
 		
 		IBundleProvider results = resourceProvider.searchPatients(null, null, null, null, null, null, null, null, cityParam,
-		    null, null, null, null);
+		    null, null, null, null, null);
 		List<IBaseResource> resources = getResources(results);
 		
 		assertThat(resources, notNullValue());
@@ -292,11 +303,11 @@ public class PatientFhirResourceProviderTest extends BaseFhirProvenanceResourceT
 	public void searchForPatients_shouldReturnMatchingBundleOfPatientsByState() {
 		StringAndListParam stateParam = new StringAndListParam().addAnd(new StringOrListParam().add(new StringParam(STATE)));
 		when(patientService.searchForPatients(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    isNull(), argThat(is(stateParam)), isNull(), isNull(), isNull()))
+		    isNull(), argThat(is(stateParam)), isNull(), isNull(), isNull(), isNull()))
 		            .thenReturn(new MockIBundleProvider<>(Collections.singletonList(patient), 10, 1));
 		
 		IBundleProvider results = resourceProvider.searchPatients(null, null, null, null, null, null, null, null, null,
-		    stateParam, null, null, null);
+		    stateParam, null, null, null, null);
 		List<IBaseResource> resources = getResources(results);
 		
 		assertThat(resources, notNullValue());
@@ -310,11 +321,11 @@ public class PatientFhirResourceProviderTest extends BaseFhirProvenanceResourceT
 		StringAndListParam postalCodeParam = new StringAndListParam()
 		        .addAnd(new StringOrListParam().add(new StringParam(POSTAL_CODE)));
 		when(patientService.searchForPatients(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), argThat(is(postalCodeParam)), isNull(), isNull()))
+		    isNull(), isNull(), argThat(is(postalCodeParam)), isNull(), isNull(), isNull()))
 		            .thenReturn(new MockIBundleProvider<>(Collections.singletonList(patient), 10, 1));
 		
 		IBundleProvider results = resourceProvider.searchPatients(null, null, null, null, null, null, null, null, null, null,
-		    postalCodeParam, null, null);
+		    postalCodeParam, null, null, null);
 		List<IBaseResource> resources = getResources(results);
 		
 		assertThat(resources, notNullValue());
@@ -328,11 +339,11 @@ public class PatientFhirResourceProviderTest extends BaseFhirProvenanceResourceT
 		StringAndListParam countryParam = new StringAndListParam()
 		        .addAnd(new StringOrListParam().add(new StringParam(COUNTRY)));
 		when(patientService.searchForPatients(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), argThat(is(countryParam)), isNull()))
+		    isNull(), isNull(), isNull(), argThat(is(countryParam)), isNull(), isNull()))
 		            .thenReturn(new MockIBundleProvider<>(Collections.singletonList(patient), 10, 1));
 		
 		IBundleProvider results = resourceProvider.searchPatients(null, null, null, null, null, null, null, null, null, null,
-		    null, countryParam, null);
+		    null, countryParam, null, null);
 		List<IBaseResource> resources = getResources(results);
 		
 		assertThat(resources, notNullValue());
@@ -345,24 +356,38 @@ public class PatientFhirResourceProviderTest extends BaseFhirProvenanceResourceT
 	public void getPatientResourceHistory_shouldReturnListOfResource() {
 		IdType id = new IdType();
 		id.setValue(PATIENT_UUID);
-		when(patientService.get(PATIENT_UUID)).thenReturn(patient);
+		when(patientService.getHistory(PATIENT_UUID)).thenReturn(Collections.singletonList(patient));
 		
 		List<Resource> resources = resourceProvider.getPatientResourceHistory(id);
 		assertThat(resources, notNullValue());
 		assertThat(resources, not(empty()));
-		assertThat(resources.size(), equalTo(2));
+		assertThat(resources.size(), equalTo(1));
 	}
 	
 	@Test
-	public void getPatientResourceHistory_shouldReturnProvenanceResources() {
+	public void getPatientResourceHistory_shouldReturnVersionsOfTheResource() {
 		IdType id = new IdType();
 		id.setValue(PATIENT_UUID);
-		when(patientService.get(PATIENT_UUID)).thenReturn(patient);
+		when(patientService.getHistory(PATIENT_UUID)).thenReturn(Collections.singletonList(patient));
 		
 		List<Resource> resources = resourceProvider.getPatientResourceHistory(id);
 		assertThat(resources, not(empty()));
 		assertThat(resources.stream().findAny().isPresent(), is(true));
-		assertThat(resources.stream().findAny().get().getResourceType().name(), equalTo(Provenance.class.getSimpleName()));
+		assertThat(resources.stream().findAny().get().getResourceType().name(), equalTo(Patient.class.getSimpleName()));
+	}
+	
+	@Test
+	public void getPatientResourceHistory_shouldReturnStoredVersions() {
+		IdType id = new IdType();
+		id.setValue(PATIENT_UUID);
+		Patient version = new Patient();
+		version.setId(PATIENT_UUID);
+		when(patientService.getHistory(PATIENT_UUID)).thenReturn(Collections.singletonList(version));
+		
+		List<Resource> resources = resourceProvider.getPatientResourceHistory(id);
+		
+		assertThat(resources, hasSize(1));
+		assertThat(resources.get(0), equalTo(version));
 	}
 	
 	@Test(expected = ResourceNotFoundException.class)
@@ -37,7 +37,6 @@ import org.hl7.fhir.r4.model.Enumerations;
 import org.hl7.fhir.r4.model.HumanName;
 import org.hl7.fhir.r4.model.IdType;
 import org.hl7.fhir.r4.model.Person;
-import org.hl7.fhir.r4.model.Provenance;
 import org.hl7.fhir.r4.model.Resource;
 import org.junit.Before;
 import org.junit.Test;
@@ -141,10 +140,10 @@ public class PersonFhirResourceProviderTest extends BaseFhirProvenanceResourceTe
 		StringAndListParam nameParam = new StringAndListParam()
 		        .addAnd(new StringOrListParam().add(new StringParam(GIVEN_NAME)));
 		when(fhirPersonService.searchForPeople(argThat(is(nameParam)), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    isNull(), isNull()))
+		    isNull(), isNull(), isNull()))
 		            .thenReturn(new MockIBundleProvider<>(Collections.singletonList(person), PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchPeople(nameParam, null, null, null, null, null, null, null);
+		IBundleProvider results = resourceProvider.searchPeople(nameParam, null, null, null, null, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -157,10 +156,10 @@ public class PersonFhirResourceProviderTest extends BaseFhirProvenanceResourceTe
 	public void searchForPeople_shouldReturnMatchingBundleOfPeopleByGender() {
 		TokenAndListParam genderParam = new TokenAndListParam().addAnd(new TokenOrListParam().add(GENDER));
 		when(fhirPersonService.searchForPeople(isNull(), argThat(is(genderParam)), isNull(), isNull(), isNull(), isNull(),
-		    isNull(), isNull()))
+		    isNull(), isNull(), isNull()))
 		            .thenReturn(new MockIBundleProvider<>(Collections.singletonList(person), PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchPeople(null, genderParam, null, null, null, null, null, null);
+		IBundleProvider results = resourceProvider.searchPeople(null, genderParam, null, null, null, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -173,10 +172,10 @@ public class PersonFhirResourceProviderTest extends BaseFhirProvenanceResourceTe
 	public void searchForPeople_shouldReturnMatchingBundleOfPeopleByBirthDate() {
 		DateRangeParam birthDateParam = new DateRangeParam().setLowerBound(BIRTH_DATE).setUpperBound(BIRTH_DATE);
 		when(fhirPersonService.searchForPeople(isNull(), isNull(), argThat(is(birthDateParam)), isNull(), isNull(), isNull(),
-		    isNull(), isNull()))
+		    isNull(), isNull(), isNull()))
 		            .thenReturn(new MockIBundleProvider<>(Collections.singletonList(person), PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchPeople(null, null, birthDateParam, null, null, null, null, null);
+		IBundleProvider results = resourceProvider.searchPeople(null, null, birthDateParam, null, null, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -189,10 +188,10 @@ public class PersonFhirResourceProviderTest extends BaseFhirProvenanceResourceTe
 	public void searchForPeople_shouldReturnMatchingBundleOfPeopleByCity() {
 		StringAndListParam cityParam = new StringAndListParam().addAnd(new StringOrListParam().add(new StringParam(CITY)));
 		when(fhirPersonService.searchForPeople(isNull(), isNull(), isNull(), argThat(is(cityParam)), isNull(), isNull(),
-		    isNull(), isNull()))
+		    isNull(), isNull(), isNull()))
 		            .thenReturn(new MockIBundleProvider<>(Collections.singletonList(person), PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchPeople(null, null, null, cityParam, null, null, null, null);
+		IBundleProvider results = resourceProvider.searchPeople(null, null, null, cityParam, null, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -205,10 +204,10 @@ public class PersonFhirResourceProviderTest extends BaseFhirProvenanceResourceTe
 	public void searchForPeople_shouldReturnMatchingBundleOfPeopleByState() {
 		StringAndListParam stateParam = new StringAndListParam().addAnd(new StringOrListParam().add(new StringParam(STATE)));
 		when(fhirPersonService.searchForPeople(isNull(), isNull(), isNull(), isNull(), argThat(is(stateParam)), isNull(),
-		    isNull(), isNull()))
+		    isNull(), isNull(), isNull()))
 		            .thenReturn(new MockIBundleProvider<>(Collections.singletonList(person), PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchPeople(null, null, null, null, stateParam, null, null, null);
+		IBundleProvider results = resourceProvider.searchPeople(null, null, null, null, stateParam, null, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -222,10 +221,10 @@ public class PersonFhirResourceProviderTest extends BaseFhirProvenanceResourceTe
 		StringAndListParam postalCodeParam = new StringAndListParam()
 		        .addAnd(new StringOrListParam().add(new StringParam(POSTAL_CODE)));
 		when(fhirPersonService.searchForPeople(isNull(), isNull(), isNull(), isNull(), isNull(),
-		    argThat(is(postalCodeParam)), isNull(), isNull()))
+		    argThat(is(postalCodeParam)), isNull(), isNull(), isNull()))
 		            .thenReturn(new MockIBundleProvider<>(Collections.singletonList(person), PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchPeople(null, null, null, null, null, postalCodeParam, null, null);
+		IBundleProvider results = resourceProvider.searchPeople(null, null, null, null, null, postalCodeParam, null, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -239,10 +238,10 @@ public class PersonFhirResourceProviderTest extends BaseFhirProvenanceResourceTe
 		StringAndListParam countryParam = new StringAndListParam()
 		        .addAnd(new StringOrListParam().add(new StringParam(COUNTRY)));
 		when(fhirPersonService.searchForPeople(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    argThat(is(countryParam)), isNull()))
+		    argThat(is(countryParam)), isNull(), isNull()))
 		            .thenReturn(new MockIBundleProvider<>(Collections.singletonList(person), PREFERRED_PAGE_SIZE, COUNT));
 		
-		IBundleProvider results = resourceProvider.searchPeople(null, null, null, null, null, null, countryParam, null);
+		IBundleProvider results = resourceProvider.searchPeople(null, null, null, null, null, null, countryParam, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
@@ -255,24 +254,24 @@ public class PersonFhirResourceProviderTest extends BaseFhirProvenanceResourceTe
 	public void getPatientResourceHistory_shouldReturnListOfResource() {
 		IdType id = new IdType();
 		id.setValue(PERSON_UUID);
-		when(fhirPersonService.get(PERSON_UUID)).thenReturn(person);
+		when(fhirPersonService.getHistory(PERSON_UUID)).thenReturn(Collections.singletonList(person));
 		
 		List<Resource> resources = resourceProvider.getPersonHistoryById(id);
 		assertThat(resources, notNullValue());
 		assertThat(resources, not(empty()));
-		assertThat(resources.size(), equalTo(2));
+		assertThat(resources.size(), equalTo(1));
 	}
 	
 	@Test
-	public void getPatientResourceHistory_shouldReturnProvenanceResources() {
+	public void getPatientResourceHistory_shouldReturnVersionsOfTheResource() {
 		IdType id = new IdType();
 		id.setValue(PERSON_UUID);
-		when(fhirPersonService.get(PERSON_UUID)).thenReturn(person);
+		when(fhirPersonService.getHistory(PERSON_UUID)).thenReturn(Collections.singletonList(person));
 		
 		List<Resource> resources = resourceProvider.getPersonHistoryById(id);
 		assertThat(resources, not(empty()));
 		assertThat(resources.stream().findAny().isPresent(), is(true));
-		assertThat(resources.stream().findAny().get().getResourceType().name(), equalTo(Provenance.class.getSimpleName()));
+		assertThat(resources.stream().findAny().get().getResourceType().name(), equalTo(Person.class.getSimpleName()));
 	}
 	
 	@Test(expected = ResourceNotFoundException.class)
@@ -21,6 +21,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import ca.uhn.fhir.rest.api.MethodOutcome;
@@ -37,7 +38,6 @@ import org.hamcrest.Matchers;
 import org.hl7.fhir.instance.model.api.IBaseResource;
 import org.hl7.fhir.r4.model.IdType;
 import org.hl7.fhir.r4.model.OperationOutcome;
-import org.hl7.fhir.r4.model.Provenance;
 import org.hl7.fhir.r4.model.Resource;
 import org.hl7.fhir.r4.model.Task;
 import org.junit.Before;
@@ -118,25 +118,25 @@ public class TaskFhirResourceProviderTest extends BaseFhirProvenanceResourceTest
 	public void getTaskHistoryById_shouldReturnListOfResource() {
 		IdType id = new IdType();
 		id.setValue(TASK_UUID);
-		when(taskService.get(TASK_UUID)).thenReturn(task);
+		when(taskService.getHistory(TASK_UUID)).thenReturn(Collections.singletonList(task));
 		
 		List<Resource> resources = resourceProvider.getTaskHistoryById(id);
 		assertThat(resources, Matchers.notNullValue());
 		assertThat(resources, not(empty()));
-		assertThat(resources.size(), Matchers.equalTo(2));
+		assertThat(resources.size(), Matchers.equalTo(1));
 	}
 	
 	@Test
-	public void getTaskHistoryById_shouldReturnProvenanceResources() {
+	public void getTaskHistoryById_shouldReturnVersionsOfTheResource() {
 		IdType id = new IdType();
 		id.setValue(TASK_UUID);
-		when(taskService.get(TASK_UUID)).thenReturn(task);
+		when(taskService.getHistory(TASK_UUID)).thenReturn(Collections.singletonList(task));
 		
 		List<Resource> resources = resourceProvider.getTaskHistoryById(id);
 		assertThat(resources, not(empty()));
 		assertThat(resources.stream().findAny().isPresent(), Matchers.is(true));
 		assertThat(resources.stream().findAny().get().getResourceType().name(),
-		    Matchers.equalTo(Provenance.class.getSimpleName()));
+		    Matchers.equalTo(Task.class.getSimpleName()));
 	}
 	
 	@Test(expected = ResourceNotFoundException.class)
@@ -197,14 +197,15 @@ public class TaskFhirResourceProviderTest extends BaseFhirProvenanceResourceTest
 		List<Task> tasks = new ArrayList<>();
 		tasks.add(task);
 		
-		when(taskService.searchForTasks(any(), any(), any(), any())).thenReturn(new MockIBundleProvider<>(tasks, 10, 1));
+		when(taskService.searchForTasks(any(), any(), any(), any(), isNull())).thenReturn(new MockIBundleProvider<>(tasks,
+		    10, 1));
 		
 		TokenAndListParam status = new TokenAndListParam();
 		TokenParam statusToken = new TokenParam();
 		statusToken.setValue("ACCEPTED");
 		status.addAnd(new TokenOrListParam().add(statusToken));
 		
-		IBundleProvider results = resourceProvider.searchTasks(null, null, status, null);
+		IBundleProvider results = resourceProvider.searchTasks(null, null, status, null, null);
 		
 		List<IBaseResource> resultList = get(results);
 		
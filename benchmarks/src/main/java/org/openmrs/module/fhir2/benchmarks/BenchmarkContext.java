@@ -0,0 +1,108 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.benchmarks;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.UUID;
+
+import org.openmrs.test.BaseModuleContextSensitiveTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportResource;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestContextManager;
+
+/**
+ * Starts the module's Spring context against the OpenMRS in-memory test database, loaded with the
+ * standard test dataset. The context is started once per JVM and shared by all benchmarks run in
+ * that JVM.
+ */
+@ContextConfiguration(classes = BenchmarkContext.BenchmarkSpringConfiguration.class, inheritLocations = false)
+public class BenchmarkContext extends BaseModuleContextSensitiveTest {
+	
+	public static final String PATIENT_UUID = "5946f880-b197-400b-9caa-a3c661d23041";
+	
+	public static final String CONCEPT_UUID = "c607c80f-1ea9-4da3-bb88-6276ce8868dd";
+	
+	private static final int PATIENT_ID = 7;
+	
+	private static final int CONCEPT_ID = 5089;
+	
+	private static final int LOCATION_ID = 1;
+	
+	private static final int INSERT_BATCH_SIZE = 500;
+	
+	private static BenchmarkContext instance;
+	
+	private int observationCount = 0;
+	
+	@Configuration
+	@ImportResource({ "classpath:applicationContext-service.xml", "classpath*:moduleApplicationContext.xml" })
+	public static class BenchmarkSpringConfiguration {}
+	
+	public static synchronized BenchmarkContext start() throws Exception {
+		if (instance == null) {
+			BenchmarkContext context = new BenchmarkContext();
+			new TestContextManager(BenchmarkContext.class).prepareTestInstance(context);
+			context.baseSetupWithStandardDataAndAuthentication();
+			instance = context;
+		}
+		
+		return instance;
+	}
+	
+	public <T> T getBean(Class<T> type) {
+		return applicationContext.getBean(type);
+	}
+	
+	/**
+	 * Adds numeric observations for a single patient until there are at least {@code count} generated
+	 * observations in the database. The rows are inserted with JDBC so that large datasets can be
+	 * created quickly.
+	 *
+	 * @param count the number of generated observations needed
+	 */
+	public synchronized void ensureObservations(int count) throws SQLException {
+		if (count <= observationCount) {
+			return;
+		}
+		
+		Connection connection = getConnection();
+		try (PreparedStatement statement = connection.prepareStatement("insert into obs (person_id, concept_id, "
+		        + "obs_datetime, location_id, value_numeric, creator, date_created, voided, status, uuid) "
+		        + "values (?, ?, ?, ?, ?, 1, ?, false, 'FINAL', ?)")) {
+			long now = System.currentTimeMillis();
+			for (int i = observationCount; i < count; i++) {
+				Timestamp timestamp = new Timestamp(now - i * 60_000L);
+				statement.setInt(1, PATIENT_ID);
+				statement.setInt(2, CONCEPT_ID);
+				statement.setTimestamp(3, timestamp);
+				statement.setInt(4, LOCATION_ID);
+				statement.setDouble(5, 50 + i % 50);
+				statement.setTimestamp(6, timestamp);
+				statement.setString(7, UUID.randomUUID().toString());
+				statement.addBatch();
+				
+				if ((i + 1) % INSERT_BATCH_SIZE == 0) {
+					statement.executeBatch();
+				}
+			}
+			statement.executeBatch();
+		}
+		
+		if (!connection.getAutoCommit()) {
+			connection.commit();
+		}
+		
+		observationCount = count;
+	}
+}
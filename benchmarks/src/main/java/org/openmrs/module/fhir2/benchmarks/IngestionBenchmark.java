@@ -0,0 +1,94 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import ca.uhn.fhir.rest.api.MethodOutcome;
+import org.hl7.fhir.r4.model.CodeableConcept;
+import org.hl7.fhir.r4.model.Coding;
+import org.hl7.fhir.r4.model.DateTimeType;
+import org.hl7.fhir.r4.model.Observation;
+import org.hl7.fhir.r4.model.Quantity;
+import org.hl7.fhir.r4.model.Reference;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openmrs.module.fhir2.api.FhirObservationService;
+
+/**
+ * Compares creating observations one at a time through
+ * {@link FhirObservationService#create(org.hl7.fhir.instance.model.api.IAnyResource)} with the bulk
+ * ingestion path of {@link FhirObservationService#createObservations(List)}. Scores are reported
+ * in observations per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class IngestionBenchmark {
+	
+	private static final int OBSERVATIONS = 1000;
+	
+	private FhirObservationService observationService;
+	
+	private List<Observation> observations;
+	
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		observationService = BenchmarkContext.start().getBean(FhirObservationService.class);
+	}
+	
+	@Setup(Level.Invocation)
+	public void createObservations() {
+		observations = new ArrayList<>(OBSERVATIONS);
+		for (int i = 0; i < OBSERVATIONS; i++) {
+			Observation observation = new Observation();
+			observation.setId(UUID.randomUUID().toString());
+			observation.setStatus(Observation.ObservationStatus.FINAL);
+			observation.setSubject(new Reference().setReference("Patient/" + BenchmarkContext.PATIENT_UUID));
+			observation.setCode(new CodeableConcept().addCoding(new Coding().setCode(BenchmarkContext.CONCEPT_UUID)));
+			observation.setEffective(new DateTimeType(new Date()));
+			observation.setValue(new Quantity(i % 200));
+			observations.add(observation);
+		}
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(OBSERVATIONS)
+	public List<Observation> createIndividually() {
+		List<Observation> created = new ArrayList<>(OBSERVATIONS);
+		for (Observation observation : observations) {
+			created.add(observationService.create(observation));
+		}
+		return created;
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(OBSERVATIONS)
+	public List<MethodOutcome> createInBulk() {
+		return observationService.createObservations(observations);
+	}
+}
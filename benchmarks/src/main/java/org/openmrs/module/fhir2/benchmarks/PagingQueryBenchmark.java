@@ -0,0 +1,102 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openmrs.Obs;
+import org.openmrs.module.fhir2.api.dao.FhirObservationDao;
+import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
+
+/**
+ * Compares the two ways a page of search results has been fetched. The uuid list path loads the
+ * uuid of every matching observation, takes the total from the size of that list and then loads
+ * the page with an {@code IN} clause over its slice of the list. The single id query path counts
+ * the matches with a count query and loads the page with {@link FhirObservationDao#searchPage},
+ * which selects only the ids of the page's rows before loading them. Each operation serves one
+ * page to a new search, as a request for a page of a search that is no longer cached would.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PagingQueryBenchmark {
+	
+	@Param({ "1000", "10000" })
+	private int datasetSize;
+	
+	@Param({ "50" })
+	private int pageSize;
+	
+	@Param({ "0", "500" })
+	private int firstResult;
+	
+	private FhirObservationDao observationDao;
+	
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		BenchmarkContext context = BenchmarkContext.start();
+		context.ensureObservations(datasetSize);
+		
+		observationDao = context.getBean(FhirObservationDao.class);
+	}
+	
+	@Benchmark
+	public Page uuidListPath() {
+		SearchParameterMap theParams = new SearchParameterMap();
+		List<String> uuids = observationDao.getResultUuids(theParams);
+		
+		int lastResult = Math.min(uuids.size(), firstResult + pageSize);
+		List<Obs> results = new ArrayList<>(observationDao.search(theParams, uuids, firstResult, lastResult));
+		observationDao.evict(results);
+		return new Page(uuids.size(), results);
+	}
+	
+	@Benchmark
+	public Page singleIdQueryPath() {
+		SearchParameterMap theParams = new SearchParameterMap();
+		int total = observationDao.getSearchResultsCount(theParams);
+		
+		List<Obs> results = observationDao.searchPage(theParams, null, firstResult, pageSize).getResults();
+		observationDao.evict(results);
+		return new Page(total, results);
+	}
+	
+	/**
+	 * The total and results returned for a page, so that neither query can be optimized away
+	 */
+	public static class Page {
+		
+		public final int total;
+		
+		public final List<Obs> results;
+		
+		Page(int total, List<Obs> results) {
+			this.total = total;
+			this.results = results;
+		}
+	}
+}
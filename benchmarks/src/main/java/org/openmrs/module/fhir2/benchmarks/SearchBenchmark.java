@@ -0,0 +1,110 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import ca.uhn.fhir.rest.param.ReferenceAndListParam;
+import ca.uhn.fhir.rest.param.ReferenceOrListParam;
+import ca.uhn.fhir.rest.param.ReferenceParam;
+import ca.uhn.fhir.rest.param.TokenAndListParam;
+import ca.uhn.fhir.rest.param.TokenParam;
+import org.hl7.fhir.r4.model.Observation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openmrs.Obs;
+import org.openmrs.module.fhir2.FhirConstants;
+import org.openmrs.module.fhir2.api.dao.FhirObservationDao;
+import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
+import org.openmrs.module.fhir2.api.translators.ObservationTranslator;
+
+/**
+ * Measures searching for observations through {@link org.openmrs.module.fhir2.api.dao.impl.BaseFhirDao}
+ * against an in-memory database holding {@code datasetSize} generated observations. Each page is
+ * evicted from the session after it has been read, as it is when serving a search request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SearchBenchmark {
+	
+	@Param({ "1000", "10000" })
+	private int datasetSize;
+	
+	@Param({ "50" })
+	private int pageSize;
+	
+	private FhirObservationDao observationDao;
+	
+	private ObservationTranslator observationTranslator;
+	
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		BenchmarkContext context = BenchmarkContext.start();
+		context.ensureObservations(datasetSize);
+		
+		observationDao = context.getBean(FhirObservationDao.class);
+		observationTranslator = context.getBean(ObservationTranslator.class);
+	}
+	
+	@Benchmark
+	public List<Obs> searchFirstPage() {
+		return searchPage(new SearchParameterMap());
+	}
+	
+	@Benchmark
+	public List<Obs> searchByPatientAndCode() {
+		return searchPage(byPatientAndCode());
+	}
+	
+	@Benchmark
+	public int countByPatientAndCode() {
+		return observationDao.getSearchResultsCount(byPatientAndCode());
+	}
+	
+	@Benchmark
+	public List<Observation> searchAndTranslateFirstPage() {
+		List<Obs> results = observationDao.searchPage(new SearchParameterMap(), null, 0, pageSize).getResults();
+		List<Observation> observations = results.stream().map(observationTranslator::toFhirResource)
+		        .collect(Collectors.toList());
+		observationDao.evict(results);
+		return observations;
+	}
+	
+	private List<Obs> searchPage(SearchParameterMap theParams) {
+		List<Obs> results = observationDao.searchPage(theParams, null, 0, pageSize).getResults();
+		observationDao.evict(results);
+		return results;
+	}
+	
+	private SearchParameterMap byPatientAndCode() {
+		ReferenceAndListParam patient = new ReferenceAndListParam()
+		        .addAnd(new ReferenceOrListParam().add(new ReferenceParam().setValue(BenchmarkContext.PATIENT_UUID)));
+		TokenAndListParam code = new TokenAndListParam().addAnd(new TokenParam().setValue("5089"));
+		
+		return new SearchParameterMap().addParameter(FhirConstants.PATIENT_REFERENCE_SEARCH_HANDLER, patient)
+		        .addParameter(FhirConstants.CODED_SEARCH_HANDLER, code);
+	}
+}
@@ -0,0 +1,80 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import ca.uhn.fhir.context.FhirVersionEnum;
+import ca.uhn.fhir.rest.api.server.IBundleProvider;
+import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openmrs.module.fhir2.api.dao.FhirObservationDao;
+import org.openmrs.module.fhir2.api.search.SearchQuery;
+import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
+import org.openmrs.module.fhir2.api.translators.ObservationTranslator;
+import org.openmrs.module.fhir2.api.util.FhirRequestContext;
+
+/**
+ * Compares the throughput of fetching a page of observation search results for R4 and R3 clients.
+ * R3 results are translated to R4 and then converted, so the difference between the two scores is
+ * the cost of the conversion. It has to be run against a real database before the R3 search path
+ * can be said to be within any given distance of R4.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SearchVersionBenchmark {
+	
+	@Param({ "R4", "DSTU3" })
+	private FhirVersionEnum fhirVersion;
+	
+	@Param({ "50" })
+	private int pageSize;
+	
+	private IBundleProvider search;
+	
+	@Setup(Level.Trial)
+	@SuppressWarnings("unchecked")
+	public void setup() throws Exception {
+		BenchmarkContext context = BenchmarkContext.start();
+		context.ensureObservations(1000);
+		
+		FhirRequestContext requestContext = new FhirRequestContext();
+		requestContext.setFhirVersion(fhirVersion);
+		FhirRequestContext.set(requestContext);
+		try {
+			search = context.getBean(SearchQuery.class).getQueryResults(new SearchParameterMap(),
+			        context.getBean(FhirObservationDao.class), context.getBean(ObservationTranslator.class));
+		}
+		finally {
+			FhirRequestContext.clear();
+		}
+	}
+	
+	@Benchmark
+	public List<IBaseResource> searchFirstPage() {
+		return search.getResources(0, pageSize);
+	}
+}
@@ -0,0 +1,92 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hl7.fhir.r4.model.CodeableConcept;
+import org.hl7.fhir.r4.model.Observation;
+import org.hl7.fhir.r4.model.Patient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openmrs.Concept;
+import org.openmrs.Obs;
+import org.openmrs.module.fhir2.api.dao.FhirConceptDao;
+import org.openmrs.module.fhir2.api.dao.FhirObservationDao;
+import org.openmrs.module.fhir2.api.dao.FhirPatientDao;
+import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
+import org.openmrs.module.fhir2.api.translators.ConceptTranslator;
+import org.openmrs.module.fhir2.api.translators.ObservationTranslator;
+import org.openmrs.module.fhir2.api.translators.PatientTranslator;
+
+/**
+ * Measures translating single, already loaded OpenMRS objects into FHIR resources. Lazy
+ * associations are loaded by the first invocation, so these benchmarks measure the translation
+ * itself, including any caches the translators use, rather than database access.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TranslatorBenchmark {
+	
+	private ObservationTranslator observationTranslator;
+	
+	private PatientTranslator patientTranslator;
+	
+	private ConceptTranslator conceptTranslator;
+	
+	private Obs obs;
+	
+	private org.openmrs.Patient patient;
+	
+	private Concept concept;
+	
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		BenchmarkContext context = BenchmarkContext.start();
+		context.ensureObservations(1);
+		
+		observationTranslator = context.getBean(ObservationTranslator.class);
+		patientTranslator = context.getBean(PatientTranslator.class);
+		conceptTranslator = context.getBean(ConceptTranslator.class);
+		
+		obs = context.getBean(FhirObservationDao.class).searchPage(new SearchParameterMap(), null, 0, 1).getResults()
+		        .get(0);
+		patient = context.getBean(FhirPatientDao.class).get(BenchmarkContext.PATIENT_UUID);
+		concept = context.getBean(FhirConceptDao.class).get(BenchmarkContext.CONCEPT_UUID);
+	}
+	
+	@Benchmark
+	public Observation observationToFhir() {
+		return observationTranslator.toFhirResource(obs);
+	}
+	
+	@Benchmark
+	public Patient patientToFhir() {
+		return patientTranslator.toFhirResource(patient);
+	}
+	
+	@Benchmark
+	public CodeableConcept conceptToFhir() {
+		return conceptTranslator.toFhirResource(concept);
+	}
+}
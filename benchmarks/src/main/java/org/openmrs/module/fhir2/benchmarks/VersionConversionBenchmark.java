@@ -0,0 +1,116 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.benchmarks;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.hl7.fhir.convertors.VersionConvertor_30_40;
+import org.hl7.fhir.r4.model.DateTimeType;
+import org.hl7.fhir.r4.model.Enumerations;
+import org.hl7.fhir.r4.model.HumanName;
+import org.hl7.fhir.r4.model.Identifier;
+import org.hl7.fhir.r4.model.Observation;
+import org.hl7.fhir.r4.model.Patient;
+import org.hl7.fhir.r4.model.Quantity;
+import org.hl7.fhir.r4.model.Reference;
+import org.hl7.fhir.r4.model.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openmrs.module.fhir2.providers.util.TaskVersionConverter;
+
+/**
+ * Measures the conversions between R4 and R3 resources done by the R3 resource providers. These do
+ * not need the Spring context.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class VersionConversionBenchmark {
+	
+	private Task task;
+	
+	private Patient patient;
+	
+	private Observation observation;
+	
+	private org.hl7.fhir.dstu3.model.Task r3Task;
+	
+	private org.hl7.fhir.dstu3.model.Patient r3Patient;
+	
+	@Setup(Level.Trial)
+	public void setup() {
+		task = new Task();
+		task.setId("d899333c-5bd4-45cc-b1e7-cca9f6d2a7b9");
+		task.setStatus(Task.TaskStatus.REQUESTED);
+		task.setIntent(Task.TaskIntent.ORDER);
+		task.addBasedOn(new Reference("ServiceRequest/7d96f25c-4949-4f72-9931-d808fbcdb612"));
+		task.setFor(new Reference("Patient/" + BenchmarkContext.PATIENT_UUID));
+		task.setOwner(new Reference("Practitioner/f9badd80-ab76-11e2-9e96-0800200c9a66"));
+		task.setAuthoredOn(new Date());
+		task.setLastModified(new Date());
+		
+		patient = new Patient();
+		patient.setId(BenchmarkContext.PATIENT_UUID);
+		patient.setActive(true);
+		patient.addIdentifier(new Identifier().setSystem("OpenMRS ID").setValue("6TS-4"));
+		patient.addName(new HumanName().setFamily("Chebaskwony").addGiven("Collet"));
+		patient.setGender(Enumerations.AdministrativeGender.FEMALE);
+		patient.setBirthDate(new Date());
+		
+		observation = new Observation();
+		observation.setId("39fb7f47-e80a-4056-9285-bd798be13c63");
+		observation.setStatus(Observation.ObservationStatus.FINAL);
+		observation.getCode().addCoding().setCode(BenchmarkContext.CONCEPT_UUID).setDisplay("WEIGHT (KG)");
+		observation.setSubject(new Reference("Patient/" + BenchmarkContext.PATIENT_UUID));
+		observation.setEffective(new DateTimeType(new Date()));
+		observation.setValue(new Quantity().setValue(70).setUnit("kg"));
+		
+		r3Task = TaskVersionConverter.convertTask(task);
+		r3Patient = (org.hl7.fhir.dstu3.model.Patient) VersionConvertor_30_40.convertResource(patient, false);
+	}
+	
+	@Benchmark
+	public org.hl7.fhir.dstu3.model.Task taskToR3() {
+		return TaskVersionConverter.convertTask(task);
+	}
+	
+	@Benchmark
+	public Task taskToR4() {
+		return TaskVersionConverter.convertTask(r3Task);
+	}
+	
+	@Benchmark
+	public org.hl7.fhir.dstu3.model.Resource patientToR3() {
+		return VersionConvertor_30_40.convertResource(patient, false);
+	}
+	
+	@Benchmark
+	public org.hl7.fhir.r4.model.Resource patientToR4() {
+		return VersionConvertor_30_40.convertResource(r3Patient, false);
+	}
+	
+	@Benchmark
+	public org.hl7.fhir.dstu3.model.Resource observationToR3() {
+		return VersionConvertor_30_40.convertResource(observation, false);
+	}
+}
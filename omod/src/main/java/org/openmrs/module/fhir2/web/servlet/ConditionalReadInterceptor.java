@@ -0,0 +1,111 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.web.servlet;
+
+import javax.servlet.http.HttpServletRequest;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import ca.uhn.fhir.interceptor.api.Hook;
+import ca.uhn.fhir.interceptor.api.Interceptor;
+import ca.uhn.fhir.interceptor.api.Pointcut;
+import ca.uhn.fhir.rest.api.Constants;
+import ca.uhn.fhir.rest.api.RestOperationTypeEnum;
+import ca.uhn.fhir.rest.api.server.RequestDetails;
+import ca.uhn.fhir.rest.server.exceptions.NotModifiedException;
+import org.apache.commons.lang3.StringUtils;
+import org.hl7.fhir.instance.model.api.IIdType;
+import org.openmrs.module.fhir2.api.FhirService;
+import org.openmrs.module.fhir2.api.util.FhirUtils;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.ResolvableType;
+
+/**
+ * Answers reads carrying an {@code If-None-Match} or {@code If-Modified-Since} header with a 304 when
+ * the resource has not changed. Only the last updated time of the resource is fetched to decide this,
+ * so unchanged resources are neither hydrated nor translated. The version compared with the ETag is
+ * the one set by {@link FhirUtils#setLastUpdated}; for resources built from several OpenMRS objects,
+ * such as a patient with its names, addresses and identifiers, both take the latest audit date of
+ * all of them.
+ */
+@Interceptor
+public class ConditionalReadInterceptor {
+	
+	private static final String HEADER_IF_MODIFIED_SINCE = "If-Modified-Since";
+	
+	private final Map<String, FhirService<?>> servicesByType = new HashMap<>();
+	
+	ConditionalReadInterceptor(Collection<? extends FhirService<?>> services) {
+		for (FhirService<?> service : services) {
+			Class<?> resourceClass = ResolvableType.forClass(AopUtils.getTargetClass(service)).as(FhirService.class)
+			        .resolveGeneric(0);
+			if (resourceClass != null) {
+				servicesByType.putIfAbsent(resourceClass.getSimpleName(), service);
+			}
+		}
+	}
+	
+	@Hook(Pointcut.SERVER_INCOMING_REQUEST_POST_PROCESSED)
+	public boolean checkNotModified(RequestDetails theRequestDetails, HttpServletRequest theRequest) {
+		if (theRequestDetails.getRestOperationType() != RestOperationTypeEnum.READ) {
+			return true;
+		}
+		
+		String ifNoneMatch = theRequest.getHeader(Constants.HEADER_IF_NONE_MATCH);
+		long ifModifiedSince;
+		try {
+			ifModifiedSince = theRequest.getDateHeader(HEADER_IF_MODIFIED_SINCE);
+		}
+		catch (IllegalArgumentException e) {
+			ifModifiedSince = -1;
+		}
+		
+		if (ifNoneMatch == null && ifModifiedSince < 0) {
+			return true;
+		}
+		
+		IIdType id = theRequestDetails.getId();
+		FhirService<?> service = servicesByType.get(theRequestDetails.getResourceName());
+		if (id == null || !id.hasIdPart() || id.hasVersionIdPart() || service == null) {
+			return true;
+		}
+		
+		Date lastUpdated = service.getLastUpdated(id.getIdPart());
+		if (lastUpdated == null) {
+			return true;
+		}
+		
+		String versionId = FhirUtils.getVersionId(lastUpdated);
+		// If-None-Match takes precedence over If-Modified-Since, which only has a precision of seconds
+		boolean notModified = ifNoneMatch != null ? matches(ifNoneMatch, versionId)
+		        : lastUpdated.getTime() / 1000 <= ifModifiedSince / 1000;
+		if (notModified) {
+			NotModifiedException notModifiedException = new NotModifiedException("Not Modified");
+			notModifiedException.addResponseHeader(Constants.HEADER_ETAG, "W/\"" + versionId + "\"");
+			throw notModifiedException;
+		}
+		
+		return true;
+	}
+	
+	private boolean matches(String ifNoneMatch, String versionId) {
+		for (String eTag : ifNoneMatch.split(",")) {
+			eTag = StringUtils.removeStart(eTag.trim(), "W/");
+			if (eTag.equals("*") || StringUtils.strip(eTag, "\"").equals(versionId)) {
+				return true;
+			}
+		}
+		
+		return false;
+	}
+}
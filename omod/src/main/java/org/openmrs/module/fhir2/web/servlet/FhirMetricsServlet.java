@@ -0,0 +1,67 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.web.servlet;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import lombok.AccessLevel;
+import lombok.Setter;
+import org.openmrs.api.context.Context;
+import org.openmrs.module.fhir2.api.metrics.FhirMetricsRegistry;
+import org.openmrs.util.PrivilegeConstants;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.context.support.SpringBeanAutowiringSupport;
+
+/**
+ * Exposes the metrics collected for FHIR requests in the Prometheus text exposition format. The
+ * requests are authenticated by the module's authentication filter; as the metrics describe the use
+ * of the whole server, they are only returned to users allowed to view administration functions.
+ */
+@Setter(AccessLevel.PACKAGE)
+public class FhirMetricsServlet extends HttpServlet {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private static final String CONTENT_TYPE = "text/plain; version=0.0.4";
+	
+	@Autowired
+	private transient FhirMetricsRegistry metricsRegistry;
+	
+	@Override
+	public void init() {
+		// ensure properties for this class are properly injected
+		if (metricsRegistry == null) {
+			SpringBeanAutowiringSupport.processInjectionBasedOnServletContext(this, getServletContext());
+		}
+	}
+	
+	@Override
+	protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+		if (!Context.isAuthenticated()) {
+			response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Not authenticated");
+			return;
+		}
+		
+		if (!Context.hasPrivilege(PrivilegeConstants.VIEW_ADMIN_FUNCTIONS)) {
+			response.sendError(HttpServletResponse.SC_FORBIDDEN, "Privilege required: " + PrivilegeConstants.VIEW_ADMIN_FUNCTIONS);
+			return;
+		}
+		
+		response.setStatus(HttpServletResponse.SC_OK);
+		response.setContentType(CONTENT_TYPE);
+		response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+		metricsRegistry.writePrometheus(response.getWriter());
+	}
+}
@@ -9,21 +9,44 @@
  */
 package org.openmrs.module.fhir2.web.servlet;
 
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
+import ca.uhn.fhir.context.BaseRuntimeChildDefinition;
 import ca.uhn.fhir.context.FhirContext;
+import ca.uhn.fhir.context.FhirVersionEnum;
+import ca.uhn.fhir.context.RuntimeResourceDefinition;
 import ca.uhn.fhir.narrative.CustomThymeleafNarrativeGenerator;
+import ca.uhn.fhir.parser.DataFormatException;
+import ca.uhn.fhir.rest.api.Constants;
 import ca.uhn.fhir.rest.api.EncodingEnum;
+import ca.uhn.fhir.rest.api.SearchTotalModeEnum;
 import ca.uhn.fhir.rest.server.FifoMemoryPagingProvider;
+import ca.uhn.fhir.rest.server.IPagingProvider;
 import ca.uhn.fhir.rest.server.IResourceProvider;
 import ca.uhn.fhir.rest.server.IServerAddressStrategy;
 import ca.uhn.fhir.rest.server.RestfulServer;
 import ca.uhn.fhir.rest.server.interceptor.LoggingInterceptor;
 import lombok.AccessLevel;
 import lombok.Setter;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.math.NumberUtils;
 import org.openmrs.module.fhir2.FhirConstants;
 import org.openmrs.module.fhir2.api.FhirGlobalPropertyService;
+import org.openmrs.module.fhir2.api.FhirService;
+import org.openmrs.module.fhir2.api.metrics.FhirMetricsRegistry;
+import org.openmrs.module.fhir2.api.search.PersistentPagingProvider;
+import org.openmrs.module.fhir2.api.util.FhirRequestContext;
+import org.openmrs.module.fhir2.providers.r4.BulkExportProvider;
+import org.openmrs.module.fhir2.providers.r4.ChangesProvider;
+import org.openmrs.module.fhir2.providers.r4.TransactionProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
@@ -35,6 +58,9 @@ public class FhirRestServlet extends RestfulServer {
 	
 	private static final long serialVersionUID = 1L;
 	
+	private static final String[] UNSTREAMABLE_PARAMETERS = { Constants.PARAM_INCLUDE, Constants.PARAM_REVINCLUDE,
+	        Constants.PARAM_ELEMENTS, Constants.PARAM_SUMMARY };
+	
 	@Autowired
 	private FhirGlobalPropertyService globalPropertyService;
 	
@@ -42,6 +68,28 @@ public class FhirRestServlet extends RestfulServer {
 	@Qualifier("hapiLoggingInterceptor")
 	private LoggingInterceptor loggingInterceptor;
 	
+	@Autowired(required = false)
+	private PersistentPagingProvider pagingProvider;
+	
+	@Autowired(required = false)
+	private BulkExportProvider bulkExportProvider;
+	
+	@Autowired(required = false)
+	private TransactionProvider transactionProvider;
+	
+	@Autowired(required = false)
+	private ChangesProvider changesProvider;
+	
+	@Autowired(required = false)
+	private FhirMetricsRegistry metricsRegistry;
+	
+	@Autowired(required = false)
+	private List<FhirService<?>> fhirServices;
+	
+	private boolean streamingSupported;
+	
+	private boolean bulkExportSupported;
+	
 	@Override
 	protected void initialize() {
 		// ensure properties for this class are properly injected
@@ -49,23 +97,219 @@ public class FhirRestServlet extends RestfulServer {
 			SpringBeanAutowiringSupport.processInjectionBasedOnServletContext(this, getServletContext());
 		}
 		
-		int defaultPageSize = NumberUtils
-		        .toInt(globalPropertyService.getGlobalProperty(FhirConstants.OPENMRS_FHIR_DEFAULT_PAGE_SIZE), 10);
-		int maximumPageSize = NumberUtils
-		        .toInt(globalPropertyService.getGlobalProperty(FhirConstants.OPENMRS_FHIR_MAXIMUM_PAGE_SIZE), 100);
-		
-		FifoMemoryPagingProvider pp = new FifoMemoryPagingProvider(defaultPageSize);
-		pp.setDefaultPageSize(defaultPageSize);
-		pp.setMaximumPageSize(maximumPageSize);
+		if (pagingProvider != null) {
+			setPagingProvider(pagingProvider);
+		} else {
+			int defaultPageSize = NumberUtils
+			        .toInt(globalPropertyService.getGlobalProperty(FhirConstants.OPENMRS_FHIR_DEFAULT_PAGE_SIZE), 10);
+			int maximumPageSize = NumberUtils
+			        .toInt(globalPropertyService.getGlobalProperty(FhirConstants.OPENMRS_FHIR_MAXIMUM_PAGE_SIZE), 100);
+			
+			FifoMemoryPagingProvider pp = new FifoMemoryPagingProvider(defaultPageSize);
+			pp.setDefaultPageSize(defaultPageSize);
+			pp.setMaximumPageSize(maximumPageSize);
+			
+			setPagingProvider(pp);
+		}
 		
-		setPagingProvider(pp);
 		setDefaultResponseEncoding(EncodingEnum.JSON);
 		registerInterceptor(loggingInterceptor);
 		
+		// registered before the streaming interceptor, which may write the response itself
+		if (metricsRegistry != null) {
+			registerInterceptor(new MetricsInterceptor(metricsRegistry));
+		}
+		
+		// conditional reads are answered without loading the resource, which needs the service for its type
+		if (fhirServices != null) {
+			registerInterceptor(new ConditionalReadInterceptor(fhirServices));
+		}
+		
+		// R3 responses are converted from R4 resources, so only R4 search results can be streamed
+		streamingSupported = getFhirContext().getVersion().getVersion() == FhirVersionEnum.R4;
+		if (streamingSupported) {
+			registerInterceptor(new StreamingBundleInterceptor());
+		}
+		
+		// bulk exports are written as R4 resources
+		bulkExportSupported = bulkExportProvider != null && getFhirContext().getVersion().getVersion() == FhirVersionEnum.R4;
+		if (bulkExportSupported) {
+			registerProvider(bulkExportProvider);
+		}
+		
+		// batch and transaction Bundles are processed as R4 resources
+		if (transactionProvider != null && getFhirContext().getVersion().getVersion() == FhirVersionEnum.R4) {
+			registerProvider(transactionProvider);
+		}
+		
+		// the change log is returned as an R4 Parameters resource
+		if (changesProvider != null && getFhirContext().getVersion().getVersion() == FhirVersionEnum.R4) {
+			registerProvider(changesProvider);
+		}
+		
 		getFhirContext().setNarrativeGenerator(new CustomThymeleafNarrativeGenerator(
 		        FhirConstants.HAPI_NARRATIVES_PROPERTY_FILE, FhirConstants.OPENMRS_NARRATIVES_PROPERTY_FILE));
 	}
 	
+	@Override
+	protected void service(HttpServletRequest request, HttpServletResponse response)
+	        throws ServletException, IOException {
+		// HAPI does not route DELETE requests to operations, so cancelling a bulk export is handled here
+		if (bulkExportSupported && "DELETE".equals(request.getMethod())
+		        && ("/" + BulkExportProvider.EXPORT_POLL_STATUS).equals(request.getPathInfo())) {
+			bulkExportProvider.cancelExport(request.getParameter(BulkExportProvider.PARAM_JOB_ID), response);
+			return;
+		}
+		
+		FhirRequestContext.set(createRequestContext(request));
+		try {
+			super.service(request, response);
+		}
+		finally {
+			FhirRequestContext.clear();
+		}
+	}
+	
+	/**
+	 * Creates the context through which the API finds out what this request asks for
+	 */
+	protected FhirRequestContext createRequestContext(HttpServletRequest request) {
+		FhirRequestContext requestContext = new FhirRequestContext();
+		
+		String totalMode = request.getParameter(Constants.PARAM_SEARCH_TOTAL_MODE);
+		requestContext.setTotalMode(totalMode == null ? null : SearchTotalModeEnum.fromCode(totalMode));
+		requestContext.setFhirVersion(getFhirContext().getVersion().getVersion());
+		requestContext.setStreaming(isStreamable(request));
+		requestContext.setContainedProvenance(isContainedProvenanceRequested(request));
+		requestContext.setRequestedElements(getRequestedElements(request));
+		return requestContext;
+	}
+	
+	/**
+	 * Determines which top-level elements of the resources returned by this request will be kept by
+	 * HAPI given the {@code _elements} and {@code _summary} parameters, so that the translators can
+	 * skip the others. Mandatory elements, {@code id} and {@code meta} are always included.
+	 *
+	 * @return the names of the requested elements, or null if every element may be returned
+	 */
+	protected Set<String> getRequestedElements(HttpServletRequest request) {
+		if (!"GET".equals(request.getMethod())) {
+			return null;
+		}
+		
+		String[] elements = request.getParameterValues(Constants.PARAM_ELEMENTS);
+		String summary = request.getParameter(Constants.PARAM_SUMMARY);
+		boolean summaryOnly = "true".equals(summary);
+		if (elements == null && !summaryOnly) {
+			return null;
+		}
+		
+		RuntimeResourceDefinition definition = getResourceDefinition(request.getPathInfo());
+		if (definition == null) {
+			return null;
+		}
+		
+		Set<String> requested = new HashSet<>();
+		requested.add("id");
+		requested.add("meta");
+		for (BaseRuntimeChildDefinition child : definition.getChildren()) {
+			if (child.getMin() > 0 || (summaryOnly && child.isSummary())) {
+				requested.add(StringUtils.removeEnd(child.getElementName(), "[x]"));
+			}
+		}
+		
+		if (!summaryOnly) {
+			for (String parameter : elements) {
+				for (String element : parameter.split(",")) {
+					element = element.trim();
+					if (element.equals("*")) {
+						return null;
+					}
+					
+					// elements may be qualified by the resource type, e.g. Observation.code
+					requested.add(element.substring(element.indexOf('.') + 1));
+				}
+			}
+		}
+		
+		return requested;
+	}
+	
+	private RuntimeResourceDefinition getResourceDefinition(String path) {
+		if (path == null) {
+			return null;
+		}
+		
+		String resourceType = StringUtils.substringBefore(StringUtils.removeStart(path, "/"), "/");
+		try {
+			return getFhirContext().getResourceDefinition(resourceType);
+		}
+		catch (DataFormatException e) {
+			return null;
+		}
+	}
+	
+	/**
+	 * Determines whether the contained Provenance resources should be generated for this request, i.e.
+	 * it asks for the history of a resource, for the Provenance targeting the results or explicitly
+	 * for the contained elements
+	 */
+	protected boolean isContainedProvenanceRequested(HttpServletRequest request) {
+		String path = request.getPathInfo();
+		if (path != null && path.contains("/" + Constants.PARAM_HISTORY)) {
+			return true;
+		}
+		
+		String[] revIncludes = request.getParameterValues(Constants.PARAM_REVINCLUDE);
+		if (revIncludes != null) {
+			for (String revInclude : revIncludes) {
+				if (revInclude.startsWith("Provenance:")) {
+					return true;
+				}
+			}
+		}
+		
+		String[] elements = request.getParameterValues(Constants.PARAM_ELEMENTS);
+		if (elements != null) {
+			for (String element : elements) {
+				for (String name : element.split(",")) {
+					if ("contained".equals(name.trim())) {
+						return true;
+					}
+				}
+			}
+		}
+		
+		return false;
+	}
+	
+	/**
+	 * Determines whether the results of this request may be streamed, i.e. it is a read-only request
+	 * for a page larger than a single chunk and does not ask for anything HAPI has to compute from the
+	 * entries of the Bundle
+	 */
+	protected boolean isStreamable(HttpServletRequest request) {
+		if (!streamingSupported || !"GET".equals(request.getMethod())) {
+			return false;
+		}
+		
+		for (String parameter : UNSTREAMABLE_PARAMETERS) {
+			if (request.getParameter(parameter) != null) {
+				return false;
+			}
+		}
+		
+		IPagingProvider pp = getPagingProvider();
+		int pageSize = pp.getDefaultPageSize();
+		String count = request.getParameter(Constants.PARAM_COUNT);
+		if (count != null) {
+			pageSize = Math.min(NumberUtils.toInt(count, pageSize), pp.getMaximumPageSize());
+		}
+		
+		return pageSize > StreamingBundleInterceptor.CHUNK_SIZE && Boolean
+		        .parseBoolean(globalPropertyService.getGlobalProperty(FhirConstants.OPENMRS_FHIR_PAGING_STREAMING, "false"));
+	}
+	
 	@Override
 	protected String createPoweredByHeaderComponentName() {
 		return FhirConstants.OPENMRS_FHIR_SERVER_NAME;
@@ -0,0 +1,92 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.web.servlet;
+
+import java.util.Map;
+
+import ca.uhn.fhir.interceptor.api.Hook;
+import ca.uhn.fhir.interceptor.api.Interceptor;
+import ca.uhn.fhir.interceptor.api.Pointcut;
+import ca.uhn.fhir.rest.api.server.RequestDetails;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import org.openmrs.module.fhir2.api.metrics.FhirMetricsRegistry;
+import org.openmrs.module.fhir2.api.metrics.RequestTimings;
+
+/**
+ * Times each request handled by the servlet and records it with the {@link FhirMetricsRegistry}.
+ * Query, hydration and translation time are recorded by the API through {@link RequestTimings};
+ * serialization time is the remainder of the time between the response being produced and the
+ * request completing. This must be registered before any interceptor that writes the response itself.
+ */
+@Interceptor
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+public class MetricsInterceptor {
+	
+	private static final String START_TIME = MetricsInterceptor.class.getName() + ".startTime";
+	
+	private static final String START_STATEMENTS = MetricsInterceptor.class.getName() + ".startStatements";
+	
+	private static final String RESPONSE_TIME = MetricsInterceptor.class.getName() + ".responseTime";
+	
+	private static final String RESPONSE_RECORDED_TIME = MetricsInterceptor.class.getName() + ".responseRecordedTime";
+	
+	private final FhirMetricsRegistry metricsRegistry;
+	
+	@Hook(Pointcut.SERVER_INCOMING_REQUEST_POST_PROCESSED)
+	public boolean startTiming(RequestDetails theRequestDetails) {
+		RequestTimings.start();
+		
+		Map<Object, Object> userData = theRequestDetails.getUserData();
+		userData.put(START_TIME, System.nanoTime());
+		userData.put(START_STATEMENTS, metricsRegistry.getStatementCount());
+		return true;
+	}
+	
+	@Hook(Pointcut.SERVER_OUTGOING_RESPONSE)
+	public boolean markResponse(RequestDetails theRequestDetails) {
+		RequestTimings.Timings timings = RequestTimings.get();
+		if (timings != null) {
+			theRequestDetails.getUserData().put(RESPONSE_TIME, System.nanoTime());
+			theRequestDetails.getUserData().put(RESPONSE_RECORDED_TIME, timings.getTotalNanos());
+		}
+		return true;
+	}
+	
+	@Hook(Pointcut.SERVER_PROCESSING_COMPLETED_NORMALLY)
+	public void recordRequest(RequestDetails theRequestDetails) {
+		RequestTimings.Timings timings = RequestTimings.get();
+		Map<Object, Object> userData = theRequestDetails.getUserData();
+		Long startTime = (Long) userData.get(START_TIME);
+		if (timings == null || startTime == null) {
+			return;
+		}
+		
+		long now = System.nanoTime();
+		Long responseTime = (Long) userData.get(RESPONSE_TIME);
+		if (responseTime != null) {
+			// results streamed after the response was produced are queried and translated during this time
+			long recordedSinceResponse = timings.getTotalNanos() - (Long) userData.get(RESPONSE_RECORDED_TIME);
+			timings.record(RequestTimings.Phase.SERIALIZATION, Math.max(0, now - responseTime - recordedSinceResponse));
+		}
+		
+		long statements = -1;
+		long startStatements = (Long) userData.get(START_STATEMENTS);
+		if (startStatements >= 0) {
+			long endStatements = metricsRegistry.getStatementCount();
+			statements = endStatements >= startStatements ? endStatements - startStatements : -1;
+		}
+		
+		String operation = theRequestDetails.getRestOperationType() == null ? null
+		        : theRequestDetails.getRestOperationType().getCode();
+		metricsRegistry.recordRequest(theRequestDetails.getResourceName(), operation, now - startTime, timings,
+		    statements);
+	}
+}
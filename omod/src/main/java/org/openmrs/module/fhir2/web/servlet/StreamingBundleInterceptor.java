@@ -0,0 +1,191 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.web.servlet;
+
+import javax.servlet.http.HttpServletResponse;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import ca.uhn.fhir.context.FhirContext;
+import ca.uhn.fhir.interceptor.api.Hook;
+import ca.uhn.fhir.interceptor.api.Interceptor;
+import ca.uhn.fhir.interceptor.api.Pointcut;
+import ca.uhn.fhir.parser.IParser;
+import ca.uhn.fhir.rest.api.Constants;
+import ca.uhn.fhir.rest.api.EncodingEnum;
+import ca.uhn.fhir.rest.api.server.RequestDetails;
+import ca.uhn.fhir.rest.api.server.ResponseDetails;
+import ca.uhn.fhir.rest.server.RestfulServerUtils;
+import ca.uhn.fhir.rest.server.RestfulServerUtils.ResponseEncoding;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringEscapeUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.hl7.fhir.r4.model.Bundle;
+import org.hl7.fhir.r4.model.OperationOutcome;
+import org.hl7.fhir.r4.model.Resource;
+import org.openmrs.module.fhir2.api.search.StreamingSearchHolder;
+
+/**
+ * Writes search result Bundles whose page was deferred by {@link StreamingSearchHolder}. HAPI builds
+ * the Bundle as usual, but without any entries; this interceptor then writes the Bundle to the
+ * response itself, loading and translating the entries one chunk at a time and flushing each chunk
+ * to the client before the next one is loaded. Only compact JSON is streamed; for other encodings,
+ * or if the response is to be pretty-printed, the entries are added to the Bundle and HAPI writes the
+ * response. Streamed responses are gzip-compressed if the client accepts it, as HAPI would do.
+ * <p>
+ * Once the first chunk has been written the response status can no longer be changed, so if a later
+ * chunk fails the Bundle is ended with an entry holding an OperationOutcome that describes the error,
+ * with the search mode {@code outcome}. Clients must check for such an entry to tell a failed search
+ * from a complete one.
+ */
+@Slf4j
+@Interceptor
+public class StreamingBundleInterceptor {
+	
+	/**
+	 * The number of results loaded and translated at a time
+	 */
+	public static final int CHUNK_SIZE = 50;
+	
+	@Hook(Pointcut.SERVER_OUTGOING_RESPONSE)
+	public boolean writeDeferredPage(RequestDetails theRequestDetails, ResponseDetails theResponseDetails,
+	        HttpServletResponse theServletResponse) throws IOException {
+		StreamingSearchHolder.DeferredPage deferredPage = StreamingSearchHolder.take();
+		if (deferredPage == null || !(theResponseDetails.getResponseResource() instanceof Bundle)) {
+			return true;
+		}
+		
+		Bundle bundle = (Bundle) theResponseDetails.getResponseResource();
+		FhirContext fhirContext = theRequestDetails.getFhirContext();
+		String serverBase = StringUtils.removeEnd(theRequestDetails.getFhirServerBase(), "/");
+		
+		ResponseEncoding responseEncoding = RestfulServerUtils.determineResponseEncodingWithDefault(theRequestDetails);
+		if (responseEncoding.getEncoding() != EncodingEnum.JSON
+		        || RestfulServerUtils.prettyPrintResponse(theRequestDetails.getServer(), theRequestDetails)) {
+			deferredPage.stream(CHUNK_SIZE, resources -> resources.forEach(resource -> bundle.addEntry()
+			        .setFullUrl(getFullUrl(fhirContext, serverBase, resource)).setResource((Resource) resource)
+			        .getSearch().setMode(Bundle.SearchEntryMode.MATCH)));
+			return true;
+		}
+		
+		IParser parser = fhirContext.newJsonParser().setServerBaseUrl(serverBase);
+		String encodedBundle = parser.encodeResourceToString(bundle);
+		
+		theServletResponse.setStatus(theResponseDetails.getResponseCode());
+		theServletResponse.setContentType(responseEncoding.getResourceContentType());
+		theServletResponse.setCharacterEncoding(StandardCharsets.UTF_8.name());
+		
+		OutputStream out = theServletResponse.getOutputStream();
+		GZIPOutputStream gzip = null;
+		if (theRequestDetails.isRespondGzip()) {
+			theServletResponse.setHeader(Constants.HEADER_CONTENT_ENCODING, Constants.ENCODING_GZIP);
+			// sync flush, so that each chunk still reaches the client as soon as it is written
+			out = gzip = new GZIPOutputStream(out, true);
+		}
+		
+		Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+		
+		// the Bundle has no entries, so they can be appended before its closing brace
+		writer.write(encodedBundle, 0, encodedBundle.lastIndexOf('}'));
+		
+		EntryWriter entryWriter = new EntryWriter(fhirContext, parser, serverBase, writer);
+		try {
+			deferredPage.stream(CHUNK_SIZE, entryWriter::write);
+		}
+		catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		catch (RuntimeException e) {
+			log.error("Failed to stream the results of the search {}", theRequestDetails.getCompleteUrl(), e);
+			entryWriter.writeOutcome(createOutcome());
+		}
+		
+		writer.write(entryWriter.hasEntries() ? "]}" : "}");
+		writer.flush();
+		if (gzip != null) {
+			gzip.finish();
+		}
+		
+		return false;
+	}
+	
+	private static OperationOutcome createOutcome() {
+		OperationOutcome outcome = new OperationOutcome();
+		outcome.addIssue().setSeverity(OperationOutcome.IssueSeverity.ERROR)
+		        .setCode(OperationOutcome.IssueType.EXCEPTION)
+		        .setDiagnostics("The search failed before all of its results could be returned");
+		return outcome;
+	}
+	
+	private static String getFullUrl(FhirContext fhirContext, String serverBase, IBaseResource resource) {
+		return serverBase + "/" + fhirContext.getResourceType(resource) + "/" + resource.getIdElement().getIdPart();
+	}
+	
+	@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+	private static class EntryWriter {
+		
+		private final FhirContext fhirContext;
+		
+		private final IParser parser;
+		
+		private final String serverBase;
+		
+		private final Writer writer;
+		
+		private boolean hasEntries = false;
+		
+		void write(List<IBaseResource> resources) {
+			try {
+				for (IBaseResource resource : resources) {
+					// encoded before anything is written, so that a failure cannot leave half an entry behind
+					String encodedResource = parser.encodeResourceToString(resource);
+					
+					writer.write(hasEntries ? "," : ",\"entry\":[");
+					hasEntries = true;
+					
+					writer.write("{\"fullUrl\":\"");
+					writer.write(StringEscapeUtils.escapeJson(getFullUrl(fhirContext, serverBase, resource)));
+					writer.write("\",\"resource\":");
+					writer.write(encodedResource);
+					writer.write(",\"search\":{\"mode\":\"match\"}}");
+				}
+				
+				writer.flush();
+			}
+			catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		
+		void writeOutcome(OperationOutcome outcome) throws IOException {
+			writer.write(hasEntries ? "," : ",\"entry\":[");
+			hasEntries = true;
+			
+			writer.write("{\"resource\":");
+			writer.write(parser.encodeResourceToString(outcome));
+			writer.write(",\"search\":{\"mode\":\"outcome\"}}");
+		}
+		
+		boolean hasEntries() {
+			return hasEntries;
+		}
+	}
+}
@@ -214,7 +214,7 @@ public class DiagnosticReportFhirResourceProviderWebTest extends BaseFhirR3Resou
 		verifyUri(String.format("/DiagnosticReport?encounter=%s", ENCOUNTER_UUID));
 		
 		verify(service).searchForDiagnosticReports(referenceAndListParamCaptor.capture(), isNull(), isNull(), isNull(),
-		    isNull());
+		    isNull(), isNull());
 		assertThat(referenceAndListParamCaptor.getValue(), notNullValue());
 		assertThat(referenceAndListParamCaptor.getValue().getValuesAsQueryTokens().get(0).getValuesAsQueryTokens().get(0)
 		        .getValue(),
@@ -229,7 +229,7 @@ public class DiagnosticReportFhirResourceProviderWebTest extends BaseFhirR3Resou
 		verifyUri(String.format("/DiagnosticReport?patient=%s", PATIENT_UUID));
 		
 		verify(service).searchForDiagnosticReports(isNull(), referenceAndListParamCaptor.capture(), isNull(), isNull(),
-		    isNull());
+		    isNull(), isNull());
 		assertThat(referenceAndListParamCaptor.getValue(), notNullValue());
 		assertThat(referenceAndListParamCaptor.getValue().getValuesAsQueryTokens().get(0).getValuesAsQueryTokens().get(0)
 		        .getValue(),
@@ -244,7 +244,7 @@ public class DiagnosticReportFhirResourceProviderWebTest extends BaseFhirR3Resou
 		verifyUri(String.format("/DiagnosticReport?patient.identifier=%s", PATIENT_IDENTIFIER));
 		
 		verify(service).searchForDiagnosticReports(isNull(), referenceAndListParamCaptor.capture(), isNull(), isNull(),
-		    isNull());
+		    isNull(), isNull());
 		assertThat(referenceAndListParamCaptor.getValue(), notNullValue());
 		assertThat(referenceAndListParamCaptor.getValue().getValuesAsQueryTokens().get(0).getValuesAsQueryTokens().get(0)
 		        .getValue(),
@@ -259,7 +259,7 @@ public class DiagnosticReportFhirResourceProviderWebTest extends BaseFhirR3Resou
 		verifyUri(String.format("/DiagnosticReport?patient.name=%s", PATIENT_GIVEN_NAME));
 		
 		verify(service).searchForDiagnosticReports(isNull(), referenceAndListParamCaptor.capture(), isNull(), isNull(),
-		    isNull());
+		    isNull(), isNull());
 		assertThat(referenceAndListParamCaptor.getValue(), notNullValue());
 		assertThat(referenceAndListParamCaptor.getValue().getValuesAsQueryTokens().get(0).getValuesAsQueryTokens().get(0)
 		        .getValue(),
@@ -274,7 +274,7 @@ public class DiagnosticReportFhirResourceProviderWebTest extends BaseFhirR3Resou
 		verifyUri(String.format("/DiagnosticReport?patient.given=%s", PATIENT_GIVEN_NAME));
 		
 		verify(service).searchForDiagnosticReports(isNull(), referenceAndListParamCaptor.capture(), isNull(), isNull(),
-		    isNull());
+		    isNull(), isNull());
 		assertThat(referenceAndListParamCaptor.getValue(), notNullValue());
 		assertThat(referenceAndListParamCaptor.getValue().getValuesAsQueryTokens().get(0).getValuesAsQueryTokens().get(0)
 		        .getValue(),
@@ -289,7 +289,7 @@ public class DiagnosticReportFhirResourceProviderWebTest extends BaseFhirR3Resou
 		verifyUri(String.format("/DiagnosticReport?patient.family=%s", PATIENT_FAMILY_NAME));
 		
 		verify(service).searchForDiagnosticReports(isNull(), referenceAndListParamCaptor.capture(), isNull(), isNull(),
-		    isNull());
+		    isNull(), isNull());
 		assertThat(referenceAndListParamCaptor.getValue(), notNullValue());
 		assertThat(referenceAndListParamCaptor.getValue().getValuesAsQueryTokens().get(0).getValuesAsQueryTokens().get(0)
 		        .getValue(),
@@ -304,7 +304,7 @@ public class DiagnosticReportFhirResourceProviderWebTest extends BaseFhirR3Resou
 		verifyUri(String.format("/DiagnosticReport?code=%s", DIAGNOSTIC_REPORT_CODE));
 		
 		verify(service).searchForDiagnosticReports(isNull(), isNull(), isNull(), tokenAndListParamCaptor.capture(),
-		    isNull());
+		    isNull(), isNull());
 		assertThat(tokenAndListParamCaptor.getValue(), notNullValue());
 		assertThat(
 		    tokenAndListParamCaptor.getValue().getValuesAsQueryTokens().get(0).getValuesAsQueryTokens().get(0).getValue(),
@@ -315,7 +315,7 @@ public class DiagnosticReportFhirResourceProviderWebTest extends BaseFhirR3Resou
 	public void findDiagnosticReports_shouldReturnBundleOfDiagnosticReportsWithMatchingIssueDate() throws Exception {
 		verifyUri("/DiagnosticReport?issued=eq2008-08-18");
 		
-		verify(service).searchForDiagnosticReports(isNull(), isNull(), dateRangeCaptor.capture(), isNull(), isNull());
+		verify(service).searchForDiagnosticReports(isNull(), isNull(), dateRangeCaptor.capture(), isNull(), isNull(), isNull());
 		assertThat(dateRangeCaptor.getValue(), notNullValue());
 		
 		Calendar calendar = Calendar.getInstance();
@@ -332,7 +332,7 @@ public class DiagnosticReportFhirResourceProviderWebTest extends BaseFhirR3Resou
 	        throws Exception {
 		verifyUri("/DiagnosticReport?issued=ge2008-08-18");
 		
-		verify(service).searchForDiagnosticReports(isNull(), isNull(), dateRangeCaptor.capture(), isNull(), isNull());
+		verify(service).searchForDiagnosticReports(isNull(), isNull(), dateRangeCaptor.capture(), isNull(), isNull(), isNull());
 		assertThat(dateRangeCaptor.getValue(), notNullValue());
 		
 		Calendar calendar = Calendar.getInstance();
@@ -347,7 +347,7 @@ public class DiagnosticReportFhirResourceProviderWebTest extends BaseFhirR3Resou
 	public void findDiagnosticReports_shouldReturnBundleOfDiagnosticReportsWithIssueDateGreaterThan() throws Exception {
 		verifyUri("/DiagnosticReport?issued=gt2008-08-18");
 		
-		verify(service).searchForDiagnosticReports(isNull(), isNull(), dateRangeCaptor.capture(), isNull(), isNull());
+		verify(service).searchForDiagnosticReports(isNull(), isNull(), dateRangeCaptor.capture(), isNull(), isNull(), isNull());
 		assertThat(dateRangeCaptor.getValue(), notNullValue());
 		
 		Calendar calendar = Calendar.getInstance();
@@ -363,7 +363,7 @@ public class DiagnosticReportFhirResourceProviderWebTest extends BaseFhirR3Resou
 	        throws Exception {
 		verifyUri("/DiagnosticReport?issued=le2008-08-18");
 		
-		verify(service).searchForDiagnosticReports(isNull(), isNull(), dateRangeCaptor.capture(), isNull(), isNull());
+		verify(service).searchForDiagnosticReports(isNull(), isNull(), dateRangeCaptor.capture(), isNull(), isNull(), isNull());
 		assertThat(dateRangeCaptor.getValue(), notNullValue());
 		
 		Calendar calendar = Calendar.getInstance();
@@ -378,7 +378,7 @@ public class DiagnosticReportFhirResourceProviderWebTest extends BaseFhirR3Resou
 	public void findDiagnosticReports_shouldReturnBundleOfDiagnosticReportsWithIssueDateLessThan() throws Exception {
 		verifyUri("/DiagnosticReport?issued=lt2008-08-18");
 		
-		verify(service).searchForDiagnosticReports(isNull(), isNull(), dateRangeCaptor.capture(), isNull(), isNull());
+		verify(service).searchForDiagnosticReports(isNull(), isNull(), dateRangeCaptor.capture(), isNull(), isNull(), isNull());
 		assertThat(dateRangeCaptor.getValue(), notNullValue());
 		
 		Calendar calendar = Calendar.getInstance();
@@ -393,7 +393,7 @@ public class DiagnosticReportFhirResourceProviderWebTest extends BaseFhirR3Resou
 	public void findDiagnosticReports_shouldReturnBundleWithIssueDateBetween() throws Exception {
 		verifyUri("/DiagnosticReport?issued=ge2008-08-18&issued=le2009-07-21");
 		
-		verify(service).searchForDiagnosticReports(isNull(), isNull(), dateRangeCaptor.capture(), isNull(), isNull());
+		verify(service).searchForDiagnosticReports(isNull(), isNull(), dateRangeCaptor.capture(), isNull(), isNull(), isNull());
 		assertThat(dateRangeCaptor.getValue(), notNullValue());
 		
 		Calendar lowerBound = Calendar.getInstance();
@@ -410,7 +410,7 @@ public class DiagnosticReportFhirResourceProviderWebTest extends BaseFhirR3Resou
 	private void verifyUri(String uri) throws Exception {
 		DiagnosticReport diagnosticReport = new DiagnosticReport();
 		diagnosticReport.setId(DIAGNOSTIC_REPORT_UUID);
-		when(service.searchForDiagnosticReports(any(), any(), any(), any(), any()))
+		when(service.searchForDiagnosticReports(any(), any(), any(), any(), any(), isNull()))
 		        .thenReturn(new MockIBundleProvider<>(Collections.singletonList(diagnosticReport), 10, 1));
 		
 		MockHttpServletResponse response = get(uri).accept(FhirMediaTypes.JSON).go();
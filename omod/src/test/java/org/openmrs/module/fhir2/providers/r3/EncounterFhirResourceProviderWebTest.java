@@ -139,7 +139,8 @@ public class EncounterFhirResourceProviderWebTest extends BaseFhirR3ResourceProv
 	public void shouldGetEncountersBySubjectUuid() throws Exception {
 		verifyUri(String.format("/Encounter?subject:Patient=%s", PATIENT_UUID));
 		
-		verify(encounterService).searchForEncounters(isNull(), isNull(), isNull(), subjectCaptor.capture());
+		verify(encounterService).searchForEncounters(isNull(), isNull(), isNull(), subjectCaptor.capture(), isNull(),
+		    isNull(), isNull());
 		assertThat(subjectCaptor.getValue(), notNullValue());
 		assertThat(subjectCaptor.getAllValues().iterator().next().getValuesAsQueryTokens().iterator().next()
 		        .getValuesAsQueryTokens().iterator().next().getIdPart(),
@@ -150,7 +151,8 @@ public class EncounterFhirResourceProviderWebTest extends BaseFhirR3ResourceProv
 	public void shouldGetEncountersByDate() throws Exception {
 		verifyUri("/Encounter/?date=ge1975-02-02");
 		
-		verify(encounterService).searchForEncounters(dateRangeCaptor.capture(), isNull(), isNull(), isNull());
+		verify(encounterService).searchForEncounters(dateRangeCaptor.capture(), isNull(), isNull(), isNull(), isNull(),
+		    isNull(), isNull());
 		assertThat(dateRangeCaptor.getValue(), notNullValue());
 		
 		Calendar calendar = Calendar.getInstance();
@@ -165,7 +167,8 @@ public class EncounterFhirResourceProviderWebTest extends BaseFhirR3ResourceProv
 	public void shouldGetEncountersByLocationCityVillage() throws Exception {
 		verifyUri(String.format("/Encounter/?location.address-city=%s", ENCOUNTER_ADDRESS_CITY));
 		
-		verify(encounterService).searchForEncounters(isNull(), locationCaptor.capture(), isNull(), isNull());
+		verify(encounterService).searchForEncounters(isNull(), locationCaptor.capture(), isNull(), isNull(), isNull(),
+		    isNull(), isNull());
 		
 		List<ReferenceOrListParam> orListParams = locationCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -179,7 +182,8 @@ public class EncounterFhirResourceProviderWebTest extends BaseFhirR3ResourceProv
 	public void shouldGetEncountersByLocationState() throws Exception {
 		verifyUri(String.format("/Encounter/?location.address-state=%s", ENCOUNTER_ADDRESS_STATE));
 		
-		verify(encounterService).searchForEncounters(isNull(), locationCaptor.capture(), isNull(), isNull());
+		verify(encounterService).searchForEncounters(isNull(), locationCaptor.capture(), isNull(), isNull(), isNull(),
+		    isNull(), isNull());
 		
 		List<ReferenceOrListParam> orListParams = locationCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -193,7 +197,8 @@ public class EncounterFhirResourceProviderWebTest extends BaseFhirR3ResourceProv
 	public void shouldGetEncountersByLocationPostalCode() throws Exception {
 		verifyUri(String.format("/Encounter/?location.address-postalcode=%s", ENCOUNTER_POSTALCODE));
 		
-		verify(encounterService).searchForEncounters(isNull(), locationCaptor.capture(), isNull(), isNull());
+		verify(encounterService).searchForEncounters(isNull(), locationCaptor.capture(), isNull(), isNull(), isNull(),
+		    isNull(), isNull());
 		
 		List<ReferenceOrListParam> orListParams = locationCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -207,7 +212,8 @@ public class EncounterFhirResourceProviderWebTest extends BaseFhirR3ResourceProv
 	public void shouldGetEncountersByLocationCountry() throws Exception {
 		verifyUri(String.format("/Encounter/?location.address-country=%s", ENCOUNTER_ADDRESS_COUNTRY));
 		
-		verify(encounterService).searchForEncounters(isNull(), locationCaptor.capture(), isNull(), isNull());
+		verify(encounterService).searchForEncounters(isNull(), locationCaptor.capture(), isNull(), isNull(), isNull(),
+		    isNull(), isNull());
 		
 		List<ReferenceOrListParam> orListParams = locationCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -221,7 +227,8 @@ public class EncounterFhirResourceProviderWebTest extends BaseFhirR3ResourceProv
 	public void shouldGetEncountersByLocationCountryWithOr() throws Exception {
 		verifyUri(String.format("/Encounter/?location.address-country=%s,%s", ENCOUNTER_ADDRESS_COUNTRY, "USA"));
 		
-		verify(encounterService).searchForEncounters(isNull(), locationCaptor.capture(), isNull(), isNull());
+		verify(encounterService).searchForEncounters(isNull(), locationCaptor.capture(), isNull(), isNull(), isNull(),
+		    isNull(), isNull());
 		
 		List<ReferenceOrListParam> orListParams = locationCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -236,7 +243,8 @@ public class EncounterFhirResourceProviderWebTest extends BaseFhirR3ResourceProv
 	public void shouldGetEncountersByLocationCountryWithAnd() throws Exception {
 		verifyUri("/Encounter/?location.address-country=INDIA&location.address-country=USA");
 		
-		verify(encounterService).searchForEncounters(isNull(), locationCaptor.capture(), isNull(), isNull());
+		verify(encounterService).searchForEncounters(isNull(), locationCaptor.capture(), isNull(), isNull(), isNull(),
+		    isNull(), isNull());
 		
 		List<ReferenceOrListParam> orListParams = locationCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -251,7 +259,8 @@ public class EncounterFhirResourceProviderWebTest extends BaseFhirR3ResourceProv
 	public void shouldGetEncountersByParticipantGivenName() throws Exception {
 		verifyUri(String.format("/Encounter/?participant:Practitioner.given=%s", PARTICIPANT_GIVEN_NAME));
 		
-		verify(encounterService).searchForEncounters(isNull(), isNull(), participantCaptor.capture(), isNull());
+		verify(encounterService).searchForEncounters(isNull(), isNull(), participantCaptor.capture(), isNull(), isNull(),
+		    isNull(), isNull());
 		
 		List<ReferenceOrListParam> orListParams = participantCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -265,7 +274,8 @@ public class EncounterFhirResourceProviderWebTest extends BaseFhirR3ResourceProv
 	public void shouldGetEncountersByParticipantFamilyName() throws Exception {
 		verifyUri(String.format("/Encounter/?participant:Practitioner.family=%s", PARTICIPANT_FAMILY_NAME));
 		
-		verify(encounterService).searchForEncounters(isNull(), isNull(), participantCaptor.capture(), isNull());
+		verify(encounterService).searchForEncounters(isNull(), isNull(), participantCaptor.capture(), isNull(), isNull(),
+		    isNull(), isNull());
 		
 		List<ReferenceOrListParam> orListParams = participantCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -279,7 +289,8 @@ public class EncounterFhirResourceProviderWebTest extends BaseFhirR3ResourceProv
 	public void shouldGetEncountersByParticipantFamilyNameWithOr() throws Exception {
 		verifyUri(String.format("/Encounter/?participant:Practitioner.family=%s,%s", PARTICIPANT_FAMILY_NAME, "Vox"));
 		
-		verify(encounterService).searchForEncounters(isNull(), isNull(), participantCaptor.capture(), isNull());
+		verify(encounterService).searchForEncounters(isNull(), isNull(), participantCaptor.capture(), isNull(), isNull(),
+		    isNull(), isNull());
 		
 		List<ReferenceOrListParam> orListParams = participantCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -295,7 +306,8 @@ public class EncounterFhirResourceProviderWebTest extends BaseFhirR3ResourceProv
 		verifyUri(String.format("/Encounter/?participant:Practitioner.family=%s&participant:Practitioner.family=%s",
 		    PARTICIPANT_FAMILY_NAME, "Vox"));
 		
-		verify(encounterService).searchForEncounters(isNull(), isNull(), participantCaptor.capture(), isNull());
+		verify(encounterService).searchForEncounters(isNull(), isNull(), participantCaptor.capture(), isNull(), isNull(),
+		    isNull(), isNull());
 		
 		List<ReferenceOrListParam> orListParams = participantCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -311,7 +323,8 @@ public class EncounterFhirResourceProviderWebTest extends BaseFhirR3ResourceProv
 		verifyUri(String.format("/Encounter/?participant:Practitioner.identifier=%s,%s", PARTICIPANT_IDENTIFIER,
 		    "op87yh-34fd-34egs-56h34-34f7"));
 		
-		verify(encounterService).searchForEncounters(isNull(), isNull(), participantCaptor.capture(), isNull());
+		verify(encounterService).searchForEncounters(isNull(), isNull(), participantCaptor.capture(), isNull(), isNull(),
+		    isNull(), isNull());
 		
 		List<ReferenceOrListParam> orListParams = participantCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -326,7 +339,8 @@ public class EncounterFhirResourceProviderWebTest extends BaseFhirR3ResourceProv
 	public void shouldGetEncountersBySubjectGivenName() throws Exception {
 		verifyUri(String.format("/Encounter/?subject.given=%s", PATIENT_GIVEN_NAME));
 		
-		verify(encounterService).searchForEncounters(isNull(), isNull(), isNull(), subjectCaptor.capture());
+		verify(encounterService).searchForEncounters(isNull(), isNull(), isNull(), subjectCaptor.capture(), isNull(),
+		    isNull(), isNull());
 		
 		List<ReferenceOrListParam> orListParams = subjectCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -340,7 +354,8 @@ public class EncounterFhirResourceProviderWebTest extends BaseFhirR3ResourceProv
 	public void shouldGetEncountersBySubjectFamilyName() throws Exception {
 		verifyUri(String.format("/Encounter?subject.family=%s", PATIENT_FAMILY_NAME));
 		
-		verify(encounterService).searchForEncounters(isNull(), isNull(), isNull(), subjectCaptor.capture());
+		verify(encounterService).searchForEncounters(isNull(), isNull(), isNull(), subjectCaptor.capture(), isNull(),
+		    isNull(), isNull());
 		
 		List<ReferenceOrListParam> orListParams = subjectCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -354,7 +369,8 @@ public class EncounterFhirResourceProviderWebTest extends BaseFhirR3ResourceProv
 	public void shouldGetEncountersBySubjectIdentifier() throws Exception {
 		verifyUri(String.format("/Encounter?subject.identifier=%s", PATIENT_IDENTIFIER));
 		
-		verify(encounterService).searchForEncounters(isNull(), isNull(), isNull(), subjectCaptor.capture());
+		verify(encounterService).searchForEncounters(isNull(), isNull(), isNull(), subjectCaptor.capture(), isNull(),
+		    isNull(), isNull());
 		
 		List<ReferenceOrListParam> orListParams = subjectCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -368,7 +384,8 @@ public class EncounterFhirResourceProviderWebTest extends BaseFhirR3ResourceProv
 	public void shouldGetEncountersBySubjectGivenNameAndLocationPostalCode() throws Exception {
 		verifyUri("/Encounter?subject.given=Hannibal&location.address-postalcode=248001");
 		
-		verify(encounterService).searchForEncounters(isNull(), locationCaptor.capture(), isNull(), subjectCaptor.capture());
+		verify(encounterService).searchForEncounters(isNull(), locationCaptor.capture(), isNull(), subjectCaptor.capture(),
+		    isNull(), isNull(), isNull());
 		
 		List<ReferenceOrListParam> orListParamsSubject = subjectCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParamSubject = orListParamsSubject.get(0).getValuesAsQueryTokens().get(0);
@@ -388,7 +405,8 @@ public class EncounterFhirResourceProviderWebTest extends BaseFhirR3ResourceProv
 	public void shouldGetEncountersBySubjectGivenNameAndLocationPostalCodeWithOr() throws Exception {
 		verifyUri("/Encounter?subject.given=Hannibal&location.address-postalcode=248001,854796");
 		
-		verify(encounterService).searchForEncounters(isNull(), locationCaptor.capture(), isNull(), subjectCaptor.capture());
+		verify(encounterService).searchForEncounters(isNull(), locationCaptor.capture(), isNull(), subjectCaptor.capture(),
+		    isNull(), isNull(), isNull());
 		
 		List<ReferenceOrListParam> orListParamsSubject = subjectCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParamSubject = orListParamsSubject.get(0).getValuesAsQueryTokens().get(0);
@@ -409,7 +427,8 @@ public class EncounterFhirResourceProviderWebTest extends BaseFhirR3ResourceProv
 	public void shouldGetEncountersBySubjectGivenNameAndLocationPostalCodeWithAnd() throws Exception {
 		verifyUri("/Encounter?subject.given=Hannibal&location.address-postalcode=248001&location.address-postalcode=854796");
 		
-		verify(encounterService).searchForEncounters(isNull(), locationCaptor.capture(), isNull(), subjectCaptor.capture());
+		verify(encounterService).searchForEncounters(isNull(), locationCaptor.capture(), isNull(), subjectCaptor.capture(),
+		    isNull(), isNull(), isNull());
 		
 		List<ReferenceOrListParam> orListParamsSubject = subjectCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParamSubject = orListParamsSubject.get(0).getValuesAsQueryTokens().get(0);
@@ -431,7 +450,7 @@ public class EncounterFhirResourceProviderWebTest extends BaseFhirR3ResourceProv
 		verifyUri("/Encounter?participant:Practitioner.identifier=1000WF&location.address-postalcode=248001");
 		
 		verify(encounterService).searchForEncounters(isNull(), locationCaptor.capture(), participantCaptor.capture(),
-		    isNull());
+		    isNull(), isNull(), isNull(), isNull());
 		
 		List<ReferenceOrListParam> orListParamsParticipant = participantCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParamParticipant = orListParamsParticipant.get(0).getValuesAsQueryTokens().get(0);
@@ -452,7 +471,7 @@ public class EncounterFhirResourceProviderWebTest extends BaseFhirR3ResourceProv
 		verifyUri("/Encounter?participant:Practitioner.identifier=1000WF,670WD&date=ge1975-02-02");
 		
 		verify(encounterService).searchForEncounters(dateRangeCaptor.capture(), isNull(), participantCaptor.capture(),
-		    isNull());
+		    isNull(), isNull(), isNull(), isNull());
 		
 		List<ReferenceOrListParam> orListParamsParticipant = participantCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParamParticipant = orListParamsParticipant.get(0).getValuesAsQueryTokens().get(0);
@@ -473,7 +492,7 @@ public class EncounterFhirResourceProviderWebTest extends BaseFhirR3ResourceProv
 	private void verifyUri(String uri) throws Exception {
 		Encounter encounter = new Encounter();
 		encounter.setId(ENCOUNTER_UUID);
-		when(encounterService.searchForEncounters(any(), any(), any(), any()))
+		when(encounterService.searchForEncounters(any(), any(), any(), any(), any(), any(), isNull()))
 		        .thenReturn(new MockIBundleProvider<>(Collections.singletonList(encounter), 10, 1));
 		
 		MockHttpServletResponse response = get(uri).accept(FhirMediaTypes.JSON).go();
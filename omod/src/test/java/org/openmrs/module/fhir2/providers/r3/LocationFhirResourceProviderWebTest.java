@@ -136,7 +136,7 @@ public class LocationFhirResourceProviderWebTest extends BaseFhirR3ResourceProvi
 		verifyURI(String.format("/Location?name=%s", LOCATION_NAME));
 		
 		verify(locationService).searchForLocations(stringAndListParamCaptor.capture(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull());
 		assertThat(stringAndListParamCaptor.getValue(), notNullValue());
 		assertThat(
 		    stringAndListParamCaptor.getValue().getValuesAsQueryTokens().get(0).getValuesAsQueryTokens().get(0).getValue(),
@@ -148,7 +148,7 @@ public class LocationFhirResourceProviderWebTest extends BaseFhirR3ResourceProvi
 		verifyURI(String.format("/Location?address-city=%s", CITY));
 		
 		verify(locationService).searchForLocations(isNull(), stringAndListParamCaptor.capture(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull());
 		assertThat(stringAndListParamCaptor.getValue(), notNullValue());
 		assertThat(
 		    stringAndListParamCaptor.getValue().getValuesAsQueryTokens().get(0).getValuesAsQueryTokens().get(0).getValue(),
@@ -160,7 +160,7 @@ public class LocationFhirResourceProviderWebTest extends BaseFhirR3ResourceProvi
 		verifyURI(String.format("/Location?address-country=%s", COUNTRY));
 		
 		verify(locationService).searchForLocations(isNull(), isNull(), stringAndListParamCaptor.capture(), isNull(),
-		    isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull());
 		assertThat(stringAndListParamCaptor.getValue(), notNullValue());
 		assertThat(
 		    stringAndListParamCaptor.getValue().getValuesAsQueryTokens().get(0).getValuesAsQueryTokens().get(0).getValue(),
@@ -172,7 +172,7 @@ public class LocationFhirResourceProviderWebTest extends BaseFhirR3ResourceProvi
 		verifyURI(String.format("/Location?address-postalcode=%s", POSTAL_CODE));
 		
 		verify(locationService).searchForLocations(isNull(), isNull(), isNull(), stringAndListParamCaptor.capture(),
-		    isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull());
 		assertThat(stringAndListParamCaptor.getValue(), notNullValue());
 		assertThat(
 		    stringAndListParamCaptor.getValue().getValuesAsQueryTokens().get(0).getValuesAsQueryTokens().get(0).getValue(),
@@ -184,7 +184,7 @@ public class LocationFhirResourceProviderWebTest extends BaseFhirR3ResourceProvi
 		verifyURI(String.format("/Location?address-state=%s", STATE));
 		
 		verify(locationService).searchForLocations(isNull(), isNull(), isNull(), isNull(),
-		    stringAndListParamCaptor.capture(), isNull(), isNull(), isNull());
+		    stringAndListParamCaptor.capture(), isNull(), isNull(), isNull(), isNull());
 		assertThat(stringAndListParamCaptor.getValue(), notNullValue());
 		assertThat(
 		    stringAndListParamCaptor.getValue().getValuesAsQueryTokens().get(0).getValuesAsQueryTokens().get(0).getValue(),
@@ -196,7 +196,7 @@ public class LocationFhirResourceProviderWebTest extends BaseFhirR3ResourceProvi
 		verifyURI(String.format("/Location?_tag=%s", LOGIN_LOCATION_TAG_NAME));
 		
 		verify(locationService).searchForLocations(isNull(), isNull(), isNull(), isNull(), isNull(), tagCaptor.capture(),
-		    isNull(), isNull());
+		    isNull(), isNull(), isNull());
 		assertThat(tagCaptor.getValue(), notNullValue());
 		assertThat(tagCaptor.getValue().getValuesAsQueryTokens().get(0).getValuesAsQueryTokens().get(0).getValue(),
 		    equalTo(LOGIN_LOCATION_TAG_NAME));
@@ -207,7 +207,7 @@ public class LocationFhirResourceProviderWebTest extends BaseFhirR3ResourceProvi
 		verifyURI(String.format("/Location?partof=%s", PARENT_LOCATION_ID));
 		
 		verify(locationService).searchForLocations(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    referenceAndListParamCaptor.capture(), isNull());
+		    referenceAndListParamCaptor.capture(), isNull(), isNull());
 		assertThat(referenceAndListParamCaptor.getValue(), notNullValue());
 		assertThat(referenceAndListParamCaptor.getValue().getValuesAsQueryTokens().get(0).getValuesAsQueryTokens().get(0)
 		        .getValue(),
@@ -219,7 +219,7 @@ public class LocationFhirResourceProviderWebTest extends BaseFhirR3ResourceProvi
 		verifyURI(String.format("/Location?partof.name=%s", PARENT_LOCATION_NAME));
 		
 		verify(locationService).searchForLocations(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    referenceAndListParamCaptor.capture(), isNull());
+		    referenceAndListParamCaptor.capture(), isNull(), isNull());
 		assertThat(referenceAndListParamCaptor.getValue(), notNullValue());
 		assertThat(referenceAndListParamCaptor.getValue().getValuesAsQueryTokens().get(0).getValuesAsQueryTokens().get(0)
 		        .getValue(),
@@ -231,7 +231,7 @@ public class LocationFhirResourceProviderWebTest extends BaseFhirR3ResourceProvi
 		verifyURI(String.format("/Location?partof.address-city=%s", PARENT_LOCATION_CITY));
 		
 		verify(locationService).searchForLocations(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    referenceAndListParamCaptor.capture(), isNull());
+		    referenceAndListParamCaptor.capture(), isNull(), isNull());
 		assertThat(referenceAndListParamCaptor.getValue(), notNullValue());
 		assertThat(referenceAndListParamCaptor.getValue().getValuesAsQueryTokens().get(0).getValuesAsQueryTokens().get(0)
 		        .getValue(),
@@ -243,7 +243,7 @@ public class LocationFhirResourceProviderWebTest extends BaseFhirR3ResourceProvi
 		verifyURI(String.format("/Location?partof.address-country=%s", PARENT_LOCATION_COUNTRY));
 		
 		verify(locationService).searchForLocations(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    referenceAndListParamCaptor.capture(), isNull());
+		    referenceAndListParamCaptor.capture(), isNull(), isNull());
 		assertThat(referenceAndListParamCaptor.getValue(), notNullValue());
 		assertThat(referenceAndListParamCaptor.getValue().getValuesAsQueryTokens().get(0).getValuesAsQueryTokens().get(0)
 		        .getValue(),
@@ -255,7 +255,7 @@ public class LocationFhirResourceProviderWebTest extends BaseFhirR3ResourceProvi
 		verifyURI(String.format("/Location?partof.address-postalcode=%s", PARENT_LOCATION_POSTAL_CODE));
 		
 		verify(locationService).searchForLocations(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    referenceAndListParamCaptor.capture(), isNull());
+		    referenceAndListParamCaptor.capture(), isNull(), isNull());
 		assertThat(referenceAndListParamCaptor.getValue(), notNullValue());
 		assertThat(referenceAndListParamCaptor.getValue().getValuesAsQueryTokens().get(0).getValuesAsQueryTokens().get(0)
 		        .getValue(),
@@ -267,7 +267,7 @@ public class LocationFhirResourceProviderWebTest extends BaseFhirR3ResourceProvi
 		verifyURI(String.format("/Location?partof.address-state=%s", PARENT_LOCATION_STATE));
 		
 		verify(locationService).searchForLocations(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    referenceAndListParamCaptor.capture(), isNull());
+		    referenceAndListParamCaptor.capture(), isNull(), isNull());
 		assertThat(referenceAndListParamCaptor.getValue(), notNullValue());
 		assertThat(referenceAndListParamCaptor.getValue().getValuesAsQueryTokens().get(0).getValuesAsQueryTokens().get(0)
 		        .getValue(),
@@ -279,7 +279,7 @@ public class LocationFhirResourceProviderWebTest extends BaseFhirR3ResourceProvi
 		verifyURI(String.format("/Location?name=%s&partof.address-city=%s", LOCATION_NAME, PARENT_LOCATION_CITY));
 		
 		verify(locationService).searchForLocations(stringAndListParamCaptor.capture(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), referenceAndListParamCaptor.capture(), isNull());
+		    isNull(), isNull(), referenceAndListParamCaptor.capture(), isNull(), isNull());
 		
 		assertThat(stringAndListParamCaptor.getValue(), notNullValue());
 		assertThat(
@@ -369,7 +369,7 @@ public class LocationFhirResourceProviderWebTest extends BaseFhirR3ResourceProvi
 	private void verifyURI(String uri) throws Exception {
 		Location location = new Location();
 		location.setId(LOCATION_UUID);
-		when(locationService.searchForLocations(any(), any(), any(), any(), any(), any(), any(), any()))
+		when(locationService.searchForLocations(any(), any(), any(), any(), any(), any(), any(), any(), isNull()))
 		        .thenReturn(new MockIBundleProvider<>(Collections.singletonList(location), 10, 1));
 		
 		MockHttpServletResponse response = get(uri).accept(FhirMediaTypes.JSON).go();
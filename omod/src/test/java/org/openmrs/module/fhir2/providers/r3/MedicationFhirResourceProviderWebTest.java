@@ -106,7 +106,7 @@ public class MedicationFhirResourceProviderWebTest extends BaseFhirR3ResourcePro
 		verifyUri(String.format("/Medication?code=%s", CODE));
 		
 		verify(fhirMedicationService).searchForMedications(tokenAndListParamArgumentCaptor.capture(), isNull(), isNull(),
-		    isNull());
+		    isNull(), isNull());
 		
 		List<TokenOrListParam> listParams = tokenAndListParamArgumentCaptor.getValue().getValuesAsQueryTokens();
 		TokenParam tokenParam = listParams.get(0).getValuesAsQueryTokens().get(0);
@@ -120,7 +120,7 @@ public class MedicationFhirResourceProviderWebTest extends BaseFhirR3ResourcePro
 		verifyUri(String.format("/Medication?form=%s", CODE));
 		
 		verify(fhirMedicationService).searchForMedications(isNull(), tokenAndListParamArgumentCaptor.capture(), isNull(),
-		    isNull());
+		    isNull(), isNull());
 		
 		List<TokenOrListParam> listParams = tokenAndListParamArgumentCaptor.getValue().getValuesAsQueryTokens();
 		TokenParam tokenParam = listParams.get(0).getValuesAsQueryTokens().get(0);
@@ -134,7 +134,7 @@ public class MedicationFhirResourceProviderWebTest extends BaseFhirR3ResourcePro
 		verifyUri(String.format("/Medication?ingredient-code=%s", CODE));
 		
 		verify(fhirMedicationService).searchForMedications(isNull(), isNull(), tokenAndListParamArgumentCaptor.capture(),
-		    isNull());
+		    isNull(), isNull());
 		
 		List<TokenOrListParam> listParams = tokenAndListParamArgumentCaptor.getValue().getValuesAsQueryTokens();
 		TokenParam tokenParam = listParams.get(0).getValuesAsQueryTokens().get(0);
@@ -148,7 +148,7 @@ public class MedicationFhirResourceProviderWebTest extends BaseFhirR3ResourcePro
 		verifyUri(String.format("/Medication?status=%s", STATUS));
 		
 		verify(fhirMedicationService).searchForMedications(isNull(), isNull(), isNull(),
-		    tokenAndListParamArgumentCaptor.capture());
+		    tokenAndListParamArgumentCaptor.capture(), isNull());
 		assertThat(tokenAndListParamArgumentCaptor.getValue(), notNullValue());
 		assertThat(tokenAndListParamArgumentCaptor.getValue().getValuesAsQueryTokens().get(0).getValuesAsQueryTokens().get(0)
 		        .getValue(),
@@ -165,7 +165,7 @@ public class MedicationFhirResourceProviderWebTest extends BaseFhirR3ResourcePro
 	}
 	
 	private void verifyUri(String uri) throws Exception {
-		when(fhirMedicationService.searchForMedications(any(), any(), any(), any()))
+		when(fhirMedicationService.searchForMedications(any(), any(), any(), any(), isNull()))
 		        .thenReturn(new MockIBundleProvider<>(Collections.singletonList(medication), 10, 1));
 		
 		MockHttpServletResponse response = get(uri).accept(FhirMediaTypes.JSON).go();
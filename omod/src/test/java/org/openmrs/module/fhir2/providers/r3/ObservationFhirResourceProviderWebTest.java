@@ -145,7 +145,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR3ResourcePr
 		verifyUri("/Observation?subject=" + PATIENT_UUID);
 		
 		verify(observationService).searchForObservations(isNull(), patientCaptor.capture(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
 		
 		List<ReferenceOrListParam> orListParams = patientCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -159,7 +159,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR3ResourcePr
 		verifyUri("/Observation?subject:Patient=" + PATIENT_UUID);
 		
 		verify(observationService).searchForObservations(isNull(), patientCaptor.capture(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
 		
 		List<ReferenceOrListParam> orListParams = patientCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -174,7 +174,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR3ResourcePr
 		verifyUri("/Observation?subject.identifier=M4001-1");
 		
 		verify(observationService).searchForObservations(isNull(), patientCaptor.capture(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
 		
 		List<ReferenceOrListParam> orListParams = patientCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -189,7 +189,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR3ResourcePr
 		verifyUri("/Observation?subject.identifier=M4001-1,ABS098,YT56RE,IU23O");
 		
 		verify(observationService).searchForObservations(isNull(), patientCaptor.capture(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
 		
 		List<ReferenceOrListParam> orListParams = patientCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -208,7 +208,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR3ResourcePr
 		    "/Observation?subject.identifier=M4001-1&subject.identifier=ABS098&subject.identifier=YT56RE&subject.identifier=IU23O");
 		
 		verify(observationService).searchForObservations(isNull(), patientCaptor.capture(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
 		
 		List<ReferenceOrListParam> orListParams = patientCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -224,7 +224,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR3ResourcePr
 		verifyUri("/Observation?subject.name=Hannibal Lector");
 		
 		verify(observationService).searchForObservations(isNull(), patientCaptor.capture(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
 		
 		List<ReferenceOrListParam> orListParams = patientCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -239,7 +239,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR3ResourcePr
 		verifyUri("/Observation?subject.given=Hannibal");
 		
 		verify(observationService).searchForObservations(isNull(), patientCaptor.capture(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
 		
 		List<ReferenceOrListParam> orListParams = patientCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -254,7 +254,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR3ResourcePr
 		verifyUri("/Observation?subject.given=Hannibal,Smith");
 		
 		verify(observationService).searchForObservations(isNull(), patientCaptor.capture(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
 		
 		List<ReferenceOrListParam> orListParams = patientCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -270,7 +270,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR3ResourcePr
 		verifyUri("/Observation?subject.given=Hannibal&subject.given=Smith");
 		
 		verify(observationService).searchForObservations(isNull(), patientCaptor.capture(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
 		
 		List<ReferenceOrListParam> orListParams = patientCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -286,7 +286,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR3ResourcePr
 		verifyUri("/Observation?subject.family=Lector");
 		
 		verify(observationService).searchForObservations(isNull(), patientCaptor.capture(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
 		
 		List<ReferenceOrListParam> orListParams = patientCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -301,7 +301,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR3ResourcePr
 		verifyUri("/Observation?subject.family=Lector,Rick,Tom");
 		
 		verify(observationService).searchForObservations(isNull(), patientCaptor.capture(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
 		
 		List<ReferenceOrListParam> orListParams = patientCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -317,7 +317,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR3ResourcePr
 		verifyUri("/Observation?subject.family=Lector&subject.family=Rick&subject.family=Tom");
 		
 		verify(observationService).searchForObservations(isNull(), patientCaptor.capture(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
 		
 		List<ReferenceOrListParam> orListParams = patientCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -333,7 +333,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR3ResourcePr
 		verifyUri("/Observation?encounter=c4aa5682-90cf-48e8-87c9-a6066ffd3a3f");
 		
 		verify(observationService).searchForObservations(encounterCaptor.capture(), isNull(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
 		
 		List<ReferenceOrListParam> orListParams = encounterCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -347,7 +347,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR3ResourcePr
 		verifyUri("/Observation?encounter=c4aa5682-90cf-48e8-87c9-a6066ffd3a3f,c4aa5682-90cf-48e8-87c9-auyt23ffd3a3f");
 		
 		verify(observationService).searchForObservations(encounterCaptor.capture(), isNull(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
 		
 		List<ReferenceOrListParam> orListParams = encounterCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -363,7 +363,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR3ResourcePr
 		    "/Observation?encounter=c4aa5682-90cf-48e8-87c9-a6066ffd3a3f&encounter=c4aa5682-90cf-48e8-87c9-auyt23ffd3a3f");
 		
 		verify(observationService).searchForObservations(encounterCaptor.capture(), isNull(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
 		
 		List<ReferenceOrListParam> orListParams = encounterCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -378,7 +378,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR3ResourcePr
 		verifyUri("/Observation?code=5098");
 		
 		verify(observationService).searchForObservations(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), codeCaptor.capture(), isNull(), isNull());
+		    isNull(), isNull(), codeCaptor.capture(), isNull(), isNull(), isNull(), isNull());
 		assertThat(codeCaptor.getValue(), notNullValue());
 		assertThat(codeCaptor.getValue().getValuesAsQueryTokens(), notNullValue());
 		assertThat(codeCaptor.getValue().getValuesAsQueryTokens().size(), equalTo(1));
@@ -395,7 +395,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR3ResourcePr
 		verifyUri("/Observation?value-concept=5098");
 		
 		verify(observationService).searchForObservations(isNull(), isNull(), isNull(), valueCodeCaptor.capture(), isNull(),
-		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
 		assertThat(valueCodeCaptor.getValue(), notNullValue());
 		assertThat(valueCodeCaptor.getValue().getValuesAsQueryTokens(), notNullValue());
 		assertThat(valueCodeCaptor.getValue().getValuesAsQueryTokens().size(), equalTo(1));
@@ -412,7 +412,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR3ResourcePr
 		verifyUri("/Observation?category=laboratory");
 		
 		verify(observationService).searchForObservations(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), codeCaptor.capture(), isNull());
+		    isNull(), isNull(), isNull(), codeCaptor.capture(), isNull(), isNull(), isNull());
 		assertThat(codeCaptor.getValue(), notNullValue());
 		assertThat(codeCaptor.getValue().getValuesAsQueryTokens(), notNullValue());
 		assertThat(codeCaptor.getValue().getValuesAsQueryTokens().size(), equalTo(1));
@@ -429,7 +429,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR3ResourcePr
 		verifyUri("/Observation?code=" + URL_ENCODED_CIEL_URN + "|5098");
 		
 		verify(observationService).searchForObservations(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), codeCaptor.capture(), isNull(), isNull());
+		    isNull(), isNull(), codeCaptor.capture(), isNull(), isNull(), isNull(), isNull());
 		assertThat(codeCaptor.getValue(), notNullValue());
 		assertThat(codeCaptor.getValue().getValuesAsQueryTokens(), notNullValue());
 		assertThat(codeCaptor.getValue().getValuesAsQueryTokens().size(), equalTo(1));
@@ -446,7 +446,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR3ResourcePr
 		verifyUri("/Observation?code=" + URL_ENCODED_CIEL_URN + "|5098," + URL_ENCODED_CIEL_URN + "|5001");
 		
 		verify(observationService).searchForObservations(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), codeCaptor.capture(), isNull(), isNull());
+		    isNull(), isNull(), codeCaptor.capture(), isNull(), isNull(), isNull(), isNull());
 		assertThat(codeCaptor.getValue(), notNullValue());
 		assertThat(codeCaptor.getValue().getValuesAsQueryTokens(), notNullValue());
 		assertThat(codeCaptor.getValue().getValuesAsQueryTokens().size(), equalTo(1));
@@ -465,7 +465,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR3ResourcePr
 		verifyUri("/Observation?value-concept=" + URL_ENCODED_CIEL_URN + "|5098," + URL_ENCODED_CIEL_URN + "|5001");
 		
 		verify(observationService).searchForObservations(isNull(), isNull(), isNull(), valueCodeCaptor.capture(), isNull(),
-		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
 		assertThat(valueCodeCaptor.getValue(), notNullValue());
 		assertThat(valueCodeCaptor.getValue().getValuesAsQueryTokens(), notNullValue());
 		assertThat(valueCodeCaptor.getValue().getValuesAsQueryTokens().size(), equalTo(1));
@@ -484,7 +484,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR3ResourcePr
 		verifyUri("/Observation?code=" + URL_ENCODED_CIEL_URN + "|5098&subject:Patient=" + PATIENT_UUID);
 		
 		verify(observationService).searchForObservations(isNull(), patientCaptor.capture(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), codeCaptor.capture(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), codeCaptor.capture(), isNull(), isNull(), isNull(), isNull());
 		
 		List<ReferenceOrListParam> orListParams = patientCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -511,7 +511,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR3ResourcePr
 		verifyUri("/Observation?code=" + URL_ENCODED_CIEL_URN + "|5098&related-type=" + MEMBER_UUID);
 		
 		verify(observationService).searchForObservations(isNull(), isNull(), memberCaptor.capture(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), codeCaptor.capture(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), codeCaptor.capture(), isNull(), isNull(), isNull(), isNull());
 		
 		// verify member parameter
 		assertThat(memberCaptor.getValue(), notNullValue());
@@ -534,7 +534,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR3ResourcePr
 		verifyUri("/Observation?related-type.code=5098");
 		
 		verify(observationService).searchForObservations(isNull(), isNull(), memberCaptor.capture(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
 		
 		assertThat(memberCaptor.getValue(), notNullValue());
 		assertThat(memberCaptor.getValue().getChain(), equalTo(Observation.SP_CODE));
@@ -546,7 +546,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR3ResourcePr
 		verifyUri("/Observation?value-date=ge1975-02-02");
 		
 		verify(observationService).searchForObservations(isNull(), isNull(), isNull(), isNull(), valueDateCaptor.capture(),
-		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
 		
 		Calendar calendar = Calendar.getInstance();
 		calendar.set(1975, Calendar.FEBRUARY, 2);
@@ -561,7 +561,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR3ResourcePr
 		verifyUri("/Observation?value-quantity=134.0");
 		
 		verify(observationService).searchForObservations(isNull(), isNull(), isNull(), isNull(), isNull(),
-		    valueQuantityCaptor.capture(), isNull(), isNull(), isNull(), isNull(), isNull());
+		    valueQuantityCaptor.capture(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
 		
 		assertThat(valueQuantityCaptor.getValue(), notNullValue());
 		assertThat(valueQuantityCaptor.getValue().getValuesAsQueryTokens(), not(empty()));
@@ -574,7 +574,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR3ResourcePr
 		verifyUri("/Observation?value-string=AFH56");
 		
 		verify(observationService).searchForObservations(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    stringAndListCaptor.capture(), isNull(), isNull(), isNull(), isNull());
+		    stringAndListCaptor.capture(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
 		
 		assertThat(stringAndListCaptor.getValue(), notNullValue());
 		assertThat(stringAndListCaptor.getValue().getValuesAsQueryTokens(), not(empty()));
@@ -587,7 +587,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR3ResourcePr
 		verifyUri("/Observation?date=ge1975-02-02");
 		
 		verify(observationService).searchForObservations(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    isNull(), dateCaptor.capture(), isNull(), isNull(), isNull());
+		    isNull(), dateCaptor.capture(), isNull(), isNull(), isNull(), isNull(), isNull());
 		
 		Calendar calendar = Calendar.getInstance();
 		calendar.set(1975, Calendar.FEBRUARY, 2);
@@ -601,7 +601,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR3ResourcePr
 		Observation observation = new Observation();
 		observation.setId(OBS_UUID);
 		when(observationService.searchForObservations(any(), any(), any(), any(), any(), any(), any(), any(), any(), any(),
-		    any())).thenReturn(new MockIBundleProvider<>(Collections.singletonList(observation), 10, 1));
+		    any(), any(), isNull())).thenReturn(new MockIBundleProvider<>(Collections.singletonList(observation), 10, 1));
 		
 		MockHttpServletResponse response = get(uri).accept(FhirMediaTypes.JSON).go();
 		
@@ -16,6 +16,7 @@ import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.openmrs.module.fhir2.FhirConstants.AUT;
@@ -121,7 +122,7 @@ public class PractitionerFhirResourceProviderWebTest extends BaseFhirR3ResourceP
 		verifyUri(String.format("/Practitioner?name=%s", NAME));
 		
 		verify(practitionerService).searchForPractitioners(stringAndListParamArgumentCaptor.capture(), any(), any(), any(),
-		    any(), any(), any(), any());
+		    any(), any(), any(), any(), isNull());
 		
 		assertThat(stringAndListParamArgumentCaptor.getValue(), notNullValue());
 		assertThat(stringAndListParamArgumentCaptor.getValue().getValuesAsQueryTokens(), not(empty()));
@@ -135,7 +136,7 @@ public class PractitionerFhirResourceProviderWebTest extends BaseFhirR3ResourceP
 		verifyUri(String.format("/Practitioner?identifier=%s", PRACTITIONER_IDENTIFIER));
 		
 		verify(practitionerService).searchForPractitioners(any(), tokenAndListParamArgumentCaptor.capture(), any(), any(),
-		    any(), any(), any(), any());
+		    any(), any(), any(), any(), isNull());
 		
 		assertThat(tokenAndListParamArgumentCaptor.getValue(), notNullValue());
 		assertThat(tokenAndListParamArgumentCaptor.getValue().getValuesAsQueryTokens(), not(empty()));
@@ -149,7 +150,7 @@ public class PractitionerFhirResourceProviderWebTest extends BaseFhirR3ResourceP
 		verifyUri(String.format("/Practitioner?given=%s", PRACTITIONER_GIVEN_NAME));
 		
 		verify(practitionerService).searchForPractitioners(any(), any(), stringAndListParamArgumentCaptor.capture(), any(),
-		    any(), any(), any(), any());
+		    any(), any(), any(), any(), isNull());
 		
 		assertThat(stringAndListParamArgumentCaptor.getValue(), notNullValue());
 		assertThat(stringAndListParamArgumentCaptor.getValue().getValuesAsQueryTokens(), not(empty()));
@@ -163,7 +164,7 @@ public class PractitionerFhirResourceProviderWebTest extends BaseFhirR3ResourceP
 		verifyUri(String.format("/Practitioner?family=%s", PRACTITIONER_FAMILY_NAME));
 		
 		verify(practitionerService).searchForPractitioners(any(), any(), any(), stringAndListParamArgumentCaptor.capture(),
-		    any(), any(), any(), any());
+		    any(), any(), any(), any(), isNull());
 		
 		assertThat(stringAndListParamArgumentCaptor.getValue(), notNullValue());
 		assertThat(stringAndListParamArgumentCaptor.getValue().getValuesAsQueryTokens(), not(empty()));
@@ -177,7 +178,7 @@ public class PractitionerFhirResourceProviderWebTest extends BaseFhirR3ResourceP
 		verifyUri(String.format("/Practitioner?address-city=%s", CITY));
 		
 		verify(practitionerService).searchForPractitioners(any(), any(), any(), any(),
-		    stringAndListParamArgumentCaptor.capture(), any(), any(), any());
+		    stringAndListParamArgumentCaptor.capture(), any(), any(), any(), isNull());
 		
 		assertThat(stringAndListParamArgumentCaptor.getValue(), notNullValue());
 		assertThat(stringAndListParamArgumentCaptor.getValue().getValuesAsQueryTokens(), not(empty()));
@@ -191,7 +192,7 @@ public class PractitionerFhirResourceProviderWebTest extends BaseFhirR3ResourceP
 		verifyUri(String.format("/Practitioner?address-state=%s", STATE));
 		
 		verify(practitionerService).searchForPractitioners(any(), any(), any(), any(), any(),
-		    stringAndListParamArgumentCaptor.capture(), any(), any());
+		    stringAndListParamArgumentCaptor.capture(), any(), any(), isNull());
 		
 		assertThat(stringAndListParamArgumentCaptor.getValue(), notNullValue());
 		assertThat(stringAndListParamArgumentCaptor.getValue().getValuesAsQueryTokens(), not(empty()));
@@ -205,7 +206,7 @@ public class PractitionerFhirResourceProviderWebTest extends BaseFhirR3ResourceP
 		verifyUri(String.format("/Practitioner?address-postalcode=%s", POSTAL_CODE));
 		
 		verify(practitionerService).searchForPractitioners(any(), any(), any(), any(), any(), any(),
-		    stringAndListParamArgumentCaptor.capture(), any());
+		    stringAndListParamArgumentCaptor.capture(), any(), isNull());
 		
 		assertThat(stringAndListParamArgumentCaptor.getValue(), notNullValue());
 		assertThat(stringAndListParamArgumentCaptor.getValue().getValuesAsQueryTokens(), not(empty()));
@@ -219,7 +220,7 @@ public class PractitionerFhirResourceProviderWebTest extends BaseFhirR3ResourceP
 		verifyUri(String.format("/Practitioner?address-country=%s", COUNTRY));
 		
 		verify(practitionerService).searchForPractitioners(any(), any(), any(), any(), any(), any(), any(),
-		    stringAndListParamArgumentCaptor.capture());
+		    stringAndListParamArgumentCaptor.capture(), isNull());
 		
 		assertThat(stringAndListParamArgumentCaptor.getValue(), notNullValue());
 		assertThat(stringAndListParamArgumentCaptor.getValue().getValuesAsQueryTokens(), not(empty()));
@@ -233,7 +234,7 @@ public class PractitionerFhirResourceProviderWebTest extends BaseFhirR3ResourceP
 		verifyUri(String.format("/Practitioner?identifier=%s&name=%s", PRACTITIONER_IDENTIFIER, NAME));
 		
 		verify(practitionerService).searchForPractitioners(stringAndListParamArgumentCaptor.capture(),
-		    tokenAndListParamArgumentCaptor.capture(), any(), any(), any(), any(), any(), any());
+		    tokenAndListParamArgumentCaptor.capture(), any(), any(), any(), any(), any(), any(), isNull());
 		
 		assertThat(stringAndListParamArgumentCaptor.getValue(), notNullValue());
 		assertThat(stringAndListParamArgumentCaptor.getValue().getValuesAsQueryTokens(), not(empty()));
@@ -317,7 +318,7 @@ public class PractitionerFhirResourceProviderWebTest extends BaseFhirR3ResourceP
 	private void verifyUri(String uri) throws Exception {
 		Practitioner practitioner = new Practitioner();
 		practitioner.setId(PRACTITIONER_UUID);
-		when(practitionerService.searchForPractitioners(any(), any(), any(), any(), any(), any(), any(), any()))
+		when(practitionerService.searchForPractitioners(any(), any(), any(), any(), any(), any(), any(), any(), isNull()))
 		        .thenReturn(new MockIBundleProvider<>(Collections.singletonList(practitioner), 10, 1));
 		
 		MockHttpServletResponse response = get(uri).accept(FhirMediaTypes.JSON).go();
@@ -257,7 +257,8 @@ public class TaskFhirResourceProviderWebTest extends BaseFhirR3ResourceProviderW
 	public void searchForTasks_shouldReturnBundleWithMatchingBasedOnResourceUUID() throws Exception {
 		verifyURI(String.format("/Task?based-on:%s=%s", FhirConstants.SERVICE_REQUEST, BASED_ON_UUID));
 		
-		verify(service).searchForTasks(referenceAndListParamArgumentCaptor.capture(), isNull(), isNull(), isNull());
+		verify(service).searchForTasks(referenceAndListParamArgumentCaptor.capture(), isNull(), isNull(), isNull(),
+		    isNull());
 		
 		assertThat(referenceAndListParamArgumentCaptor.getValue(), notNullValue());
 		assertThat(referenceAndListParamArgumentCaptor.getValue().getValuesAsQueryTokens(), not(empty()));
@@ -276,7 +277,8 @@ public class TaskFhirResourceProviderWebTest extends BaseFhirR3ResourceProviderW
 	public void searchForTasks_shouldReturnBundleWithMatchingOwnerResourceUUID() throws Exception {
 		verifyURI(String.format("/Task?owner:%s=%s", FhirConstants.PRACTITIONER, OWNER_UUID));
 		
-		verify(service).searchForTasks(isNull(), referenceAndListParamArgumentCaptor.capture(), isNull(), isNull());
+		verify(service).searchForTasks(isNull(), referenceAndListParamArgumentCaptor.capture(), isNull(), isNull(),
+		    isNull());
 		
 		assertThat(referenceAndListParamArgumentCaptor.getValue(), notNullValue());
 		assertThat(referenceAndListParamArgumentCaptor.getValue().getValuesAsQueryTokens(), not(empty()));
@@ -295,7 +297,7 @@ public class TaskFhirResourceProviderWebTest extends BaseFhirR3ResourceProviderW
 	public void searchForTasks_shouldReturnBundleWithMatchingStatus() throws Exception {
 		verifyURI(String.format("/Task?status=%s", Task.TaskStatus.ACCEPTED.toString()));
 		
-		verify(service).searchForTasks(isNull(), isNull(), tokenAndListParamArgumentCaptor.capture(), isNull());
+		verify(service).searchForTasks(isNull(), isNull(), tokenAndListParamArgumentCaptor.capture(), isNull(), isNull());
 		
 		assertThat(tokenAndListParamArgumentCaptor.getValue(), notNullValue());
 		assertThat(tokenAndListParamArgumentCaptor.getValue().getValuesAsQueryTokens(), not(empty()));
@@ -310,7 +312,7 @@ public class TaskFhirResourceProviderWebTest extends BaseFhirR3ResourceProviderW
 		    Task.TaskStatus.ACCEPTED.toString()));
 		
 		verify(service).searchForTasks(referenceAndListParamArgumentCaptor.capture(), isNull(),
-		    tokenAndListParamArgumentCaptor.capture(), isNull());
+		    tokenAndListParamArgumentCaptor.capture(), isNull(), isNull());
 		
 		assertThat(referenceAndListParamArgumentCaptor.getValue(), notNullValue());
 		assertThat(referenceAndListParamArgumentCaptor.getValue().getValuesAsQueryTokens(), not(empty()));
@@ -334,7 +336,7 @@ public class TaskFhirResourceProviderWebTest extends BaseFhirR3ResourceProviderW
 	private void verifyURI(String uri) throws Exception {
 		Task condition = new Task();
 		condition.setId(TASK_UUID);
-		when(service.searchForTasks(any(), any(), any(), any()))
+		when(service.searchForTasks(any(), any(), any(), any(), isNull()))
 		        .thenReturn(new MockIBundleProvider<>(Collections.singletonList(condition), 10, 1));
 		
 		MockHttpServletResponse response = get(uri).accept(FhirMediaTypes.JSON).go();
@@ -231,7 +231,7 @@ public class ConditionFhirResourceProviderWebTest extends BaseFhirR4ResourceProv
 		verifyURI(String.format("/Condition?patient=%s", PATIENT_UUID));
 		
 		verify(conditionService).searchConditions(referenceAndListParamArgumentCaptor.capture(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull());
 		
 		assertThat(referenceAndListParamArgumentCaptor.getValue(), notNullValue());
 		assertThat(referenceAndListParamArgumentCaptor.getValue().getValuesAsQueryTokens(), not(empty()));
@@ -248,7 +248,7 @@ public class ConditionFhirResourceProviderWebTest extends BaseFhirR4ResourceProv
 		verifyURI(String.format("/Condition?patient.name=%s", PATIENT_NAME));
 		
 		verify(conditionService).searchConditions(referenceAndListParamArgumentCaptor.capture(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull());
 		
 		assertThat(referenceAndListParamArgumentCaptor.getValue(), notNullValue());
 		assertThat(referenceAndListParamArgumentCaptor.getValue().getValuesAsQueryTokens(), not(empty()));
@@ -265,7 +265,7 @@ public class ConditionFhirResourceProviderWebTest extends BaseFhirR4ResourceProv
 		verifyURI(String.format("/Condition?patient.given=%s", PATIENT_GIVEN_NAME));
 		
 		verify(conditionService).searchConditions(referenceAndListParamArgumentCaptor.capture(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull());
 		
 		assertThat(referenceAndListParamArgumentCaptor.getValue(), notNullValue());
 		assertThat(referenceAndListParamArgumentCaptor.getValue().getValuesAsQueryTokens(), not(empty()));
@@ -282,7 +282,7 @@ public class ConditionFhirResourceProviderWebTest extends BaseFhirR4ResourceProv
 		verifyURI(String.format("/Condition?patient.family=%s", PATIENT_FAMILY_NAME));
 		
 		verify(conditionService).searchConditions(referenceAndListParamArgumentCaptor.capture(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull());
 		
 		assertThat(referenceAndListParamArgumentCaptor.getValue(), notNullValue());
 		assertThat(referenceAndListParamArgumentCaptor.getValue().getValuesAsQueryTokens(), not(empty()));
@@ -299,7 +299,7 @@ public class ConditionFhirResourceProviderWebTest extends BaseFhirR4ResourceProv
 		verifyURI(String.format("/Condition?patient.identifier=%s", PATIENT_IDENTIFIER));
 		
 		verify(conditionService).searchConditions(referenceAndListParamArgumentCaptor.capture(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull());
 		
 		assertThat(referenceAndListParamArgumentCaptor.getValue(), notNullValue());
 		assertThat(referenceAndListParamArgumentCaptor.getValue().getValuesAsQueryTokens(), not(empty()));
@@ -316,7 +316,7 @@ public class ConditionFhirResourceProviderWebTest extends BaseFhirR4ResourceProv
 		verifyURI(String.format("/Condition?code=%s", CONDITION_CODE));
 		
 		verify(conditionService).searchConditions(isNull(), tokenAndListParamArgumentCaptor.capture(), isNull(), isNull(),
-		    isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull());
 		
 		assertThat(tokenAndListParamArgumentCaptor.getValue(), notNullValue());
 		assertThat(tokenAndListParamArgumentCaptor.getValue().getValuesAsQueryTokens(), not(empty()));
@@ -330,7 +330,7 @@ public class ConditionFhirResourceProviderWebTest extends BaseFhirR4ResourceProv
 		verifyURI(String.format("/Condition?clinical-status=%s", CLINICAL_STATUS));
 		
 		verify(conditionService).searchConditions(isNull(), isNull(), tokenAndListParamArgumentCaptor.capture(), isNull(),
-		    isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull());
 		
 		assertThat(tokenAndListParamArgumentCaptor.getValue(), notNullValue());
 		assertThat(tokenAndListParamArgumentCaptor.getValue().getValuesAsQueryTokens(), not(empty()));
@@ -344,7 +344,7 @@ public class ConditionFhirResourceProviderWebTest extends BaseFhirR4ResourceProv
 		verifyURI(String.format("/Condition?recorded-date=%s", RECORDED_DATE));
 		
 		verify(conditionService).searchConditions(isNull(), isNull(), isNull(), isNull(), isNull(),
-		    dateRangeParamArgumentCaptor.capture(), isNull());
+		    dateRangeParamArgumentCaptor.capture(), isNull(), isNull());
 		
 		Calendar calendar = Calendar.getInstance();
 		calendar.set(1978, Calendar.FEBRUARY, 2);
@@ -360,7 +360,7 @@ public class ConditionFhirResourceProviderWebTest extends BaseFhirR4ResourceProv
 		verifyURI(String.format("/Condition?onset-date=%s", ONSET_DATE));
 		
 		verify(conditionService).searchConditions(isNull(), isNull(), isNull(), dateRangeParamArgumentCaptor.capture(),
-		    isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull());
 		
 		Calendar calendar = Calendar.getInstance();
 		calendar.set(1975, Calendar.FEBRUARY, 2);
@@ -370,12 +370,27 @@ public class ConditionFhirResourceProviderWebTest extends BaseFhirR4ResourceProv
 		assertThat(dateRangeParamArgumentCaptor.getValue().getUpperBound(), nullValue());
 	}
 	
+	@Test
+	public void searchForConditions_shouldReturnBundleWithLastUpdatedGreaterThanOrEqualTo() throws Exception {
+		verifyURI("/Condition?_lastUpdated=ge2020-10-17");
+		
+		verify(conditionService).searchConditions(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
+		    dateRangeParamArgumentCaptor.capture());
+		
+		Calendar calendar = Calendar.getInstance();
+		calendar.set(2020, Calendar.OCTOBER, 17);
+		
+		assertThat(dateRangeParamArgumentCaptor.getValue().getLowerBound().getValue(),
+		    equalTo(DateUtils.truncate(calendar.getTime(), Calendar.DATE)));
+		assertThat(dateRangeParamArgumentCaptor.getValue().getUpperBound(), nullValue());
+	}
+	
 	@Test
 	public void searchForConditions_shouldReturnBundleWithOnsetAgeLessThanHour() throws Exception {
 		verifyURI(String.format("/Condition?onset-age=%s", ONSET_AGE));
 		
 		verify(conditionService).searchConditions(isNull(), isNull(), isNull(), isNull(),
-		    quantityAndListParamArgumentCaptor.capture(), isNull(), isNull());
+		    quantityAndListParamArgumentCaptor.capture(), isNull(), isNull(), isNull());
 		
 		assertThat(quantityAndListParamArgumentCaptor.getValue(), notNullValue());
 		assertThat(quantityAndListParamArgumentCaptor.getValue().getValuesAsQueryTokens(), not(empty()));
@@ -396,7 +411,7 @@ public class ConditionFhirResourceProviderWebTest extends BaseFhirR4ResourceProv
 	private void verifyURI(String uri) throws Exception {
 		Condition condition = new Condition();
 		condition.setId(CONDITION_UUID);
-		when(conditionService.searchConditions(any(), any(), any(), any(), any(), any(), any()))
+		when(conditionService.searchConditions(any(), any(), any(), any(), any(), any(), any(), isNull()))
 		        .thenReturn(new MockIBundleProvider<>(Collections.singletonList(condition), 10, 1));
 		
 		MockHttpServletResponse response = get(uri).accept(FhirMediaTypes.JSON).go();
@@ -142,7 +142,8 @@ public class EncounterFhirResourceProviderWebTest extends BaseFhirR4ResourceProv
 	public void shouldGetEncountersBySubjectUuid() throws Exception {
 		verifyUri(String.format("/Encounter?subject:Patient=%s", PATIENT_UUID));
 		
-		verify(encounterService).searchForEncounters(isNull(), isNull(), isNull(), subjectCaptor.capture());
+		verify(encounterService).searchForEncounters(isNull(), isNull(), isNull(), subjectCaptor.capture(), any(), any(),
+		    isNull());
 		assertThat(subjectCaptor.getValue(), notNullValue());
 		assertThat(subjectCaptor.getAllValues().iterator().next().getValuesAsQueryTokens().iterator().next()
 		        .getValuesAsQueryTokens().iterator().next().getIdPart(),
@@ -156,7 +157,8 @@ public class EncounterFhirResourceProviderWebTest extends BaseFhirR4ResourceProv
 	public void shouldGetEncountersByDate() throws Exception {
 		verifyUri("/Encounter/?date=ge1975-02-02");
 		
-		verify(encounterService).searchForEncounters(dateRangeCaptor.capture(), isNull(), isNull(), isNull());
+		verify(encounterService).searchForEncounters(dateRangeCaptor.capture(), isNull(), isNull(), isNull(), any(), any(),
+		    isNull());
 		assertThat(dateRangeCaptor.getValue(), notNullValue());
 		
 		Calendar calendar = Calendar.getInstance();
@@ -171,7 +173,8 @@ public class EncounterFhirResourceProviderWebTest extends BaseFhirR4ResourceProv
 	public void shouldGetEncountersByLocationUUID() throws Exception {
 		verifyUri(String.format("/Encounter/?location=%s", LOCATION_UUID));
 		
-		verify(encounterService).searchForEncounters(isNull(), locationCaptor.capture(), isNull(), isNull());
+		verify(encounterService).searchForEncounters(isNull(), locationCaptor.capture(), isNull(), isNull(), any(), any(),
+		    isNull());
 		
 		List<ReferenceOrListParam> orListParams = locationCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -185,7 +188,8 @@ public class EncounterFhirResourceProviderWebTest extends BaseFhirR4ResourceProv
 	public void shouldGetEncountersByLocationCityVillage() throws Exception {
 		verifyUri(String.format("/Encounter/?location.address-city=%s", ENCOUNTER_ADDRESS_CITY));
 		
-		verify(encounterService).searchForEncounters(isNull(), locationCaptor.capture(), isNull(), isNull());
+		verify(encounterService).searchForEncounters(isNull(), locationCaptor.capture(), isNull(), isNull(), any(), any(),
+		    isNull());
 		
 		List<ReferenceOrListParam> orListParams = locationCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -199,7 +203,8 @@ public class EncounterFhirResourceProviderWebTest extends BaseFhirR4ResourceProv
 	public void shouldGetEncountersByLocationState() throws Exception {
 		verifyUri(String.format("/Encounter/?location.address-state=%s", ENCOUNTER_ADDRESS_STATE));
 		
-		verify(encounterService).searchForEncounters(isNull(), locationCaptor.capture(), isNull(), isNull());
+		verify(encounterService).searchForEncounters(isNull(), locationCaptor.capture(), isNull(), isNull(), any(), any(),
+		    isNull());
 		
 		List<ReferenceOrListParam> orListParams = locationCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -213,7 +218,8 @@ public class EncounterFhirResourceProviderWebTest extends BaseFhirR4ResourceProv
 	public void shouldGetEncountersByLocationPostalCode() throws Exception {
 		verifyUri(String.format("/Encounter/?location.address-postalcode=%s", ENCOUNTER_POSTALCODE));
 		
-		verify(encounterService).searchForEncounters(isNull(), locationCaptor.capture(), isNull(), isNull());
+		verify(encounterService).searchForEncounters(isNull(), locationCaptor.capture(), isNull(), isNull(), any(), any(),
+		    isNull());
 		
 		List<ReferenceOrListParam> orListParams = locationCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -227,7 +233,8 @@ public class EncounterFhirResourceProviderWebTest extends BaseFhirR4ResourceProv
 	public void shouldGetEncountersByLocationCountry() throws Exception {
 		verifyUri(String.format("/Encounter/?location.address-country=%s", ENCOUNTER_ADDRESS_COUNTRY));
 		
-		verify(encounterService).searchForEncounters(isNull(), locationCaptor.capture(), isNull(), isNull());
+		verify(encounterService).searchForEncounters(isNull(), locationCaptor.capture(), isNull(), isNull(), any(), any(),
+		    isNull());
 		
 		List<ReferenceOrListParam> orListParams = locationCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -241,7 +248,8 @@ public class EncounterFhirResourceProviderWebTest extends BaseFhirR4ResourceProv
 	public void shouldGetEncountersByLocationCountryWithOr() throws Exception {
 		verifyUri(String.format("/Encounter/?location.address-country=%s,%s", ENCOUNTER_ADDRESS_COUNTRY, "USA"));
 		
-		verify(encounterService).searchForEncounters(isNull(), locationCaptor.capture(), isNull(), isNull());
+		verify(encounterService).searchForEncounters(isNull(), locationCaptor.capture(), isNull(), isNull(), any(), any(),
+		    isNull());
 		
 		List<ReferenceOrListParam> orListParams = locationCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -256,7 +264,8 @@ public class EncounterFhirResourceProviderWebTest extends BaseFhirR4ResourceProv
 	public void shouldGetEncountersByLocationCountryWithAnd() throws Exception {
 		verifyUri("/Encounter/?location.address-country=INDIA&location.address-country=USA");
 		
-		verify(encounterService).searchForEncounters(isNull(), locationCaptor.capture(), isNull(), isNull());
+		verify(encounterService).searchForEncounters(isNull(), locationCaptor.capture(), isNull(), isNull(), any(), any(),
+		    isNull());
 		
 		List<ReferenceOrListParam> orListParams = locationCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -271,7 +280,8 @@ public class EncounterFhirResourceProviderWebTest extends BaseFhirR4ResourceProv
 	public void shouldGetEncountersByParticipantUUID() throws Exception {
 		verifyUri(String.format("/Encounter/?participant:Practitioner=%s", PARTICIPANT_UUID));
 		
-		verify(encounterService).searchForEncounters(isNull(), isNull(), participantCaptor.capture(), isNull());
+		verify(encounterService).searchForEncounters(isNull(), isNull(), participantCaptor.capture(), isNull(), any(), any(),
+		    isNull());
 		
 		List<ReferenceOrListParam> orListParams = participantCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -285,7 +295,8 @@ public class EncounterFhirResourceProviderWebTest extends BaseFhirR4ResourceProv
 	public void shouldGetEncountersByParticipantGivenName() throws Exception {
 		verifyUri(String.format("/Encounter/?participant:Practitioner.given=%s", PARTICIPANT_GIVEN_NAME));
 		
-		verify(encounterService).searchForEncounters(isNull(), isNull(), participantCaptor.capture(), isNull());
+		verify(encounterService).searchForEncounters(isNull(), isNull(), participantCaptor.capture(), isNull(), any(), any(),
+		    isNull());
 		
 		List<ReferenceOrListParam> orListParams = participantCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -299,7 +310,8 @@ public class EncounterFhirResourceProviderWebTest extends BaseFhirR4ResourceProv
 	public void shouldGetEncountersByParticipantFamilyName() throws Exception {
 		verifyUri(String.format("/Encounter/?participant:Practitioner.family=%s", PARTICIPANT_FAMILY_NAME));
 		
-		verify(encounterService).searchForEncounters(isNull(), isNull(), participantCaptor.capture(), isNull());
+		verify(encounterService).searchForEncounters(isNull(), isNull(), participantCaptor.capture(), isNull(), any(), any(),
+		    isNull());
 		
 		List<ReferenceOrListParam> orListParams = participantCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -313,7 +325,8 @@ public class EncounterFhirResourceProviderWebTest extends BaseFhirR4ResourceProv
 	public void shouldGetEncountersByParticipantFamilyNameWithOr() throws Exception {
 		verifyUri(String.format("/Encounter/?participant:Practitioner.family=%s,%s", PARTICIPANT_FAMILY_NAME, "Vox"));
 		
-		verify(encounterService).searchForEncounters(isNull(), isNull(), participantCaptor.capture(), isNull());
+		verify(encounterService).searchForEncounters(isNull(), isNull(), participantCaptor.capture(), isNull(), any(), any(),
+		    isNull());
 		
 		List<ReferenceOrListParam> orListParams = participantCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -329,7 +342,8 @@ public class EncounterFhirResourceProviderWebTest extends BaseFhirR4ResourceProv
 		verifyUri(String.format("/Encounter/?participant:Practitioner.family=%s&participant:Practitioner.family=%s",
 		    PARTICIPANT_FAMILY_NAME, "Vox"));
 		
-		verify(encounterService).searchForEncounters(isNull(), isNull(), participantCaptor.capture(), isNull());
+		verify(encounterService).searchForEncounters(isNull(), isNull(), participantCaptor.capture(), isNull(), any(), any(),
+		    isNull());
 		
 		List<ReferenceOrListParam> orListParams = participantCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -345,7 +359,8 @@ public class EncounterFhirResourceProviderWebTest extends BaseFhirR4ResourceProv
 		verifyUri(String.format("/Encounter/?participant:Practitioner.identifier=%s,%s", PARTICIPANT_IDENTIFIER,
 		    "op87yh-34fd-34egs-56h34-34f7"));
 		
-		verify(encounterService).searchForEncounters(isNull(), isNull(), participantCaptor.capture(), isNull());
+		verify(encounterService).searchForEncounters(isNull(), isNull(), participantCaptor.capture(), isNull(), any(), any(),
+		    isNull());
 		
 		List<ReferenceOrListParam> orListParams = participantCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -360,7 +375,8 @@ public class EncounterFhirResourceProviderWebTest extends BaseFhirR4ResourceProv
 	public void shouldGetEncountersBySubjectGivenName() throws Exception {
 		verifyUri(String.format("/Encounter/?subject.given=%s", PATIENT_GIVEN_NAME));
 		
-		verify(encounterService).searchForEncounters(isNull(), isNull(), isNull(), subjectCaptor.capture());
+		verify(encounterService).searchForEncounters(isNull(), isNull(), isNull(), subjectCaptor.capture(), any(), any(),
+		    isNull());
 		
 		List<ReferenceOrListParam> orListParams = subjectCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -374,7 +390,8 @@ public class EncounterFhirResourceProviderWebTest extends BaseFhirR4ResourceProv
 	public void shouldGetEncountersBySubjectFamilyName() throws Exception {
 		verifyUri(String.format("/Encounter?subject.family=%s", PATIENT_FAMILY_NAME));
 		
-		verify(encounterService).searchForEncounters(isNull(), isNull(), isNull(), subjectCaptor.capture());
+		verify(encounterService).searchForEncounters(isNull(), isNull(), isNull(), subjectCaptor.capture(), any(), any(),
+		    isNull());
 		
 		List<ReferenceOrListParam> orListParams = subjectCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -388,7 +405,8 @@ public class EncounterFhirResourceProviderWebTest extends BaseFhirR4ResourceProv
 	public void shouldGetEncountersBySubjectIdentifier() throws Exception {
 		verifyUri(String.format("/Encounter?subject.identifier=%s", PATIENT_IDENTIFIER));
 		
-		verify(encounterService).searchForEncounters(isNull(), isNull(), isNull(), subjectCaptor.capture());
+		verify(encounterService).searchForEncounters(isNull(), isNull(), isNull(), subjectCaptor.capture(), any(), any(),
+		    isNull());
 		
 		List<ReferenceOrListParam> orListParams = subjectCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -402,7 +420,8 @@ public class EncounterFhirResourceProviderWebTest extends BaseFhirR4ResourceProv
 	public void shouldGetEncountersBySubjectGivenNameAndLocationPostalCode() throws Exception {
 		verifyUri("/Encounter?subject.given=Hannibal&location.address-postalcode=248001");
 		
-		verify(encounterService).searchForEncounters(isNull(), locationCaptor.capture(), isNull(), subjectCaptor.capture());
+		verify(encounterService).searchForEncounters(isNull(), locationCaptor.capture(), isNull(), subjectCaptor.capture(),
+		    any(), any(), isNull());
 		
 		List<ReferenceOrListParam> orListParamsSubject = subjectCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParamSubject = orListParamsSubject.get(0).getValuesAsQueryTokens().get(0);
@@ -422,7 +441,8 @@ public class EncounterFhirResourceProviderWebTest extends BaseFhirR4ResourceProv
 	public void shouldGetEncountersBySubjectGivenNameAndLocationPostalCodeWithOr() throws Exception {
 		verifyUri("/Encounter?subject.given=Hannibal&location.address-postalcode=248001,854796");
 		
-		verify(encounterService).searchForEncounters(isNull(), locationCaptor.capture(), isNull(), subjectCaptor.capture());
+		verify(encounterService).searchForEncounters(isNull(), locationCaptor.capture(), isNull(), subjectCaptor.capture(),
+		    any(), any(), isNull());
 		
 		List<ReferenceOrListParam> orListParamsSubject = subjectCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParamSubject = orListParamsSubject.get(0).getValuesAsQueryTokens().get(0);
@@ -443,7 +463,8 @@ public class EncounterFhirResourceProviderWebTest extends BaseFhirR4ResourceProv
 	public void shouldGetEncountersBySubjectGivenNameAndLocationPostalCodeWithAnd() throws Exception {
 		verifyUri("/Encounter?subject.given=Hannibal&location.address-postalcode=248001&location.address-postalcode=854796");
 		
-		verify(encounterService).searchForEncounters(isNull(), locationCaptor.capture(), isNull(), subjectCaptor.capture());
+		verify(encounterService).searchForEncounters(isNull(), locationCaptor.capture(), isNull(), subjectCaptor.capture(),
+		    any(), any(), isNull());
 		
 		List<ReferenceOrListParam> orListParamsSubject = subjectCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParamSubject = orListParamsSubject.get(0).getValuesAsQueryTokens().get(0);
@@ -465,7 +486,7 @@ public class EncounterFhirResourceProviderWebTest extends BaseFhirR4ResourceProv
 		verifyUri("/Encounter?participant:Practitioner.identifier=1000WF&location.address-postalcode=248001");
 		
 		verify(encounterService).searchForEncounters(isNull(), locationCaptor.capture(), participantCaptor.capture(),
-		    isNull());
+		    isNull(), any(), any(), isNull());
 		
 		List<ReferenceOrListParam> orListParamsParticipant = participantCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParamParticipant = orListParamsParticipant.get(0).getValuesAsQueryTokens().get(0);
@@ -486,7 +507,7 @@ public class EncounterFhirResourceProviderWebTest extends BaseFhirR4ResourceProv
 		verifyUri("/Encounter?participant:Practitioner.identifier=1000WF,670WD&date=ge1975-02-02");
 		
 		verify(encounterService).searchForEncounters(dateRangeCaptor.capture(), isNull(), participantCaptor.capture(),
-		    isNull());
+		    isNull(), any(), any(), isNull());
 		
 		List<ReferenceOrListParam> orListParamsParticipant = participantCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParamParticipant = orListParamsParticipant.get(0).getValuesAsQueryTokens().get(0);
@@ -507,7 +528,7 @@ public class EncounterFhirResourceProviderWebTest extends BaseFhirR4ResourceProv
 	private void verifyUri(String uri) throws Exception {
 		Encounter encounter = new Encounter();
 		encounter.setId(ENCOUNTER_UUID);
-		when(encounterService.searchForEncounters(any(), any(), any(), any()))
+		when(encounterService.searchForEncounters(any(), any(), any(), any(), any(), any(), isNull()))
 		        .thenReturn(new MockIBundleProvider<>(Collections.singletonList(encounter), 10, 1));
 		
 		MockHttpServletResponse response = get(uri).accept(FhirMediaTypes.JSON).go();
@@ -135,7 +135,7 @@ public class LocationFhirResourceProviderWebTest extends BaseFhirR4ResourceProvi
 		verifyURI(String.format("/Location?name=%s", LOCATION_NAME));
 		
 		verify(locationService).searchForLocations(stringAndListParamCaptor.capture(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull());
 		assertThat(stringAndListParamCaptor.getValue(), notNullValue());
 		assertThat(
 		    stringAndListParamCaptor.getValue().getValuesAsQueryTokens().get(0).getValuesAsQueryTokens().get(0).getValue(),
@@ -147,7 +147,7 @@ public class LocationFhirResourceProviderWebTest extends BaseFhirR4ResourceProvi
 		verifyURI(String.format("/Location?address-city=%s", CITY));
 		
 		verify(locationService).searchForLocations(isNull(), stringAndListParamCaptor.capture(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull());
 		assertThat(stringAndListParamCaptor.getValue(), notNullValue());
 		assertThat(
 		    stringAndListParamCaptor.getValue().getValuesAsQueryTokens().get(0).getValuesAsQueryTokens().get(0).getValue(),
@@ -159,7 +159,7 @@ public class LocationFhirResourceProviderWebTest extends BaseFhirR4ResourceProvi
 		verifyURI(String.format("/Location?address-country=%s", COUNTRY));
 		
 		verify(locationService).searchForLocations(isNull(), isNull(), stringAndListParamCaptor.capture(), isNull(),
-		    isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull());
 		assertThat(stringAndListParamCaptor.getValue(), notNullValue());
 		assertThat(
 		    stringAndListParamCaptor.getValue().getValuesAsQueryTokens().get(0).getValuesAsQueryTokens().get(0).getValue(),
@@ -171,7 +171,7 @@ public class LocationFhirResourceProviderWebTest extends BaseFhirR4ResourceProvi
 		verifyURI(String.format("/Location?address-postalcode=%s", POSTAL_CODE));
 		
 		verify(locationService).searchForLocations(isNull(), isNull(), isNull(), stringAndListParamCaptor.capture(),
-		    isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull());
 		assertThat(stringAndListParamCaptor.getValue(), notNullValue());
 		assertThat(
 		    stringAndListParamCaptor.getValue().getValuesAsQueryTokens().get(0).getValuesAsQueryTokens().get(0).getValue(),
@@ -183,7 +183,7 @@ public class LocationFhirResourceProviderWebTest extends BaseFhirR4ResourceProvi
 		verifyURI(String.format("/Location?address-state=%s", STATE));
 		
 		verify(locationService).searchForLocations(isNull(), isNull(), isNull(), isNull(),
-		    stringAndListParamCaptor.capture(), isNull(), isNull(), isNull());
+		    stringAndListParamCaptor.capture(), isNull(), isNull(), isNull(), isNull());
 		assertThat(stringAndListParamCaptor.getValue(), notNullValue());
 		assertThat(
 		    stringAndListParamCaptor.getValue().getValuesAsQueryTokens().get(0).getValuesAsQueryTokens().get(0).getValue(),
@@ -195,7 +195,7 @@ public class LocationFhirResourceProviderWebTest extends BaseFhirR4ResourceProvi
 		verifyURI(String.format("/Location?_tag=%s", LOGIN_LOCATION_TAG_NAME));
 		
 		verify(locationService).searchForLocations(isNull(), isNull(), isNull(), isNull(), isNull(), tagCaptor.capture(),
-		    isNull(), isNull());
+		    isNull(), isNull(), isNull());
 		assertThat(tagCaptor.getValue(), notNullValue());
 		assertThat(tagCaptor.getValue().getValuesAsQueryTokens().get(0).getValuesAsQueryTokens().get(0).getValue(),
 		    equalTo(LOGIN_LOCATION_TAG_NAME));
@@ -206,7 +206,7 @@ public class LocationFhirResourceProviderWebTest extends BaseFhirR4ResourceProvi
 		verifyURI(String.format("/Location?partof=%s", PARENT_LOCATION_ID));
 		
 		verify(locationService).searchForLocations(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    referenceAndListParamCaptor.capture(), isNull());
+		    referenceAndListParamCaptor.capture(), isNull(), isNull());
 		assertThat(referenceAndListParamCaptor.getValue(), notNullValue());
 		assertThat(referenceAndListParamCaptor.getValue().getValuesAsQueryTokens().get(0).getValuesAsQueryTokens().get(0)
 		        .getValue(),
@@ -221,7 +221,7 @@ public class LocationFhirResourceProviderWebTest extends BaseFhirR4ResourceProvi
 		verifyURI(String.format("/Location?partof.name=%s", PARENT_LOCATION_NAME));
 		
 		verify(locationService).searchForLocations(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    referenceAndListParamCaptor.capture(), isNull());
+		    referenceAndListParamCaptor.capture(), isNull(), isNull());
 		assertThat(referenceAndListParamCaptor.getValue(), notNullValue());
 		assertThat(referenceAndListParamCaptor.getValue().getValuesAsQueryTokens().get(0).getValuesAsQueryTokens().get(0)
 		        .getValue(),
@@ -236,7 +236,7 @@ public class LocationFhirResourceProviderWebTest extends BaseFhirR4ResourceProvi
 		verifyURI(String.format("/Location?partof.address-city=%s", PARENT_LOCATION_CITY));
 		
 		verify(locationService).searchForLocations(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    referenceAndListParamCaptor.capture(), isNull());
+		    referenceAndListParamCaptor.capture(), isNull(), isNull());
 		assertThat(referenceAndListParamCaptor.getValue(), notNullValue());
 		assertThat(referenceAndListParamCaptor.getValue().getValuesAsQueryTokens().get(0).getValuesAsQueryTokens().get(0)
 		        .getValue(),
@@ -251,7 +251,7 @@ public class LocationFhirResourceProviderWebTest extends BaseFhirR4ResourceProvi
 		verifyURI(String.format("/Location?partof.address-country=%s", PARENT_LOCATION_COUNTRY));
 		
 		verify(locationService).searchForLocations(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    referenceAndListParamCaptor.capture(), isNull());
+		    referenceAndListParamCaptor.capture(), isNull(), isNull());
 		assertThat(referenceAndListParamCaptor.getValue(), notNullValue());
 		assertThat(referenceAndListParamCaptor.getValue().getValuesAsQueryTokens().get(0).getValuesAsQueryTokens().get(0)
 		        .getValue(),
@@ -266,7 +266,7 @@ public class LocationFhirResourceProviderWebTest extends BaseFhirR4ResourceProvi
 		verifyURI(String.format("/Location?partof.address-postalcode=%s", PARENT_LOCATION_POSTAL_CODE));
 		
 		verify(locationService).searchForLocations(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    referenceAndListParamCaptor.capture(), isNull());
+		    referenceAndListParamCaptor.capture(), isNull(), isNull());
 		assertThat(referenceAndListParamCaptor.getValue(), notNullValue());
 		assertThat(referenceAndListParamCaptor.getValue().getValuesAsQueryTokens().get(0).getValuesAsQueryTokens().get(0)
 		        .getValue(),
@@ -281,7 +281,7 @@ public class LocationFhirResourceProviderWebTest extends BaseFhirR4ResourceProvi
 		verifyURI(String.format("/Location?partof.address-state=%s", PARENT_LOCATION_STATE));
 		
 		verify(locationService).searchForLocations(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    referenceAndListParamCaptor.capture(), isNull());
+		    referenceAndListParamCaptor.capture(), isNull(), isNull());
 		assertThat(referenceAndListParamCaptor.getValue(), notNullValue());
 		assertThat(referenceAndListParamCaptor.getValue().getValuesAsQueryTokens().get(0).getValuesAsQueryTokens().get(0)
 		        .getValue(),
@@ -296,7 +296,7 @@ public class LocationFhirResourceProviderWebTest extends BaseFhirR4ResourceProvi
 		verifyURI(String.format("/Location?name=%s&partof.address-city=%s", LOCATION_NAME, PARENT_LOCATION_CITY));
 		
 		verify(locationService).searchForLocations(stringAndListParamCaptor.capture(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), referenceAndListParamCaptor.capture(), isNull());
+		    isNull(), isNull(), referenceAndListParamCaptor.capture(), isNull(), isNull());
 		
 		assertThat(stringAndListParamCaptor.getValue(), notNullValue());
 		assertThat(
@@ -389,7 +389,7 @@ public class LocationFhirResourceProviderWebTest extends BaseFhirR4ResourceProvi
 	private void verifyURI(String uri) throws Exception {
 		Location location = new Location();
 		location.setId(LOCATION_UUID);
-		when(locationService.searchForLocations(any(), any(), any(), any(), any(), any(), any(), any()))
+		when(locationService.searchForLocations(any(), any(), any(), any(), any(), any(), any(), any(), isNull()))
 		        .thenReturn(new MockIBundleProvider<>(Collections.singletonList(location), 10, 1));
 		
 		MockHttpServletResponse response = get(uri).accept(FhirMediaTypes.JSON).go();
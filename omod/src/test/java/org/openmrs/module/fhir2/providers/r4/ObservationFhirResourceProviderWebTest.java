@@ -145,7 +145,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR4ResourcePr
 		verifyUri("/Observation?subject=" + PATIENT_UUID);
 		
 		verify(observationService).searchForObservations(isNull(), patientCaptor.capture(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), any(), isNull());
 		
 		List<ReferenceOrListParam> orListParams = patientCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -160,7 +160,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR4ResourcePr
 		verifyUri("/Observation?subject:Patient=" + PATIENT_UUID);
 		
 		verify(observationService).searchForObservations(isNull(), patientCaptor.capture(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), any(), isNull());
 		
 		List<ReferenceOrListParam> orListParams = patientCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -176,7 +176,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR4ResourcePr
 		verifyUri("/Observation?subject.identifier=M4001-1");
 		
 		verify(observationService).searchForObservations(isNull(), patientCaptor.capture(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), any(), isNull());
 		
 		List<ReferenceOrListParam> orListParams = patientCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -191,7 +191,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR4ResourcePr
 		verifyUri("/Observation?subject.identifier=M4001-1,ABS098,YT56RE,IU23O");
 		
 		verify(observationService).searchForObservations(isNull(), patientCaptor.capture(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), any(), isNull());
 		
 		List<ReferenceOrListParam> orListParams = patientCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -210,7 +210,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR4ResourcePr
 		    "/Observation?subject.identifier=M4001-1&subject.identifier=ABS098&subject.identifier=YT56RE&subject.identifier=IU23O");
 		
 		verify(observationService).searchForObservations(isNull(), patientCaptor.capture(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), any(), isNull());
 		
 		List<ReferenceOrListParam> orListParams = patientCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -226,7 +226,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR4ResourcePr
 		verifyUri("/Observation?subject.name=Hannibal Lector");
 		
 		verify(observationService).searchForObservations(isNull(), patientCaptor.capture(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), any(), isNull());
 		
 		List<ReferenceOrListParam> orListParams = patientCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -241,7 +241,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR4ResourcePr
 		verifyUri("/Observation?subject.given=Hannibal");
 		
 		verify(observationService).searchForObservations(isNull(), patientCaptor.capture(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), any(), isNull());
 		
 		List<ReferenceOrListParam> orListParams = patientCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -256,7 +256,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR4ResourcePr
 		verifyUri("/Observation?subject.given=Hannibal,Smith");
 		
 		verify(observationService).searchForObservations(isNull(), patientCaptor.capture(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), any(), isNull());
 		
 		List<ReferenceOrListParam> orListParams = patientCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -272,7 +272,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR4ResourcePr
 		verifyUri("/Observation?subject.given=Hannibal&subject.given=Smith");
 		
 		verify(observationService).searchForObservations(isNull(), patientCaptor.capture(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), any(), isNull());
 		
 		List<ReferenceOrListParam> orListParams = patientCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -288,7 +288,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR4ResourcePr
 		verifyUri("/Observation?subject.family=Lector");
 		
 		verify(observationService).searchForObservations(isNull(), patientCaptor.capture(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), any(), isNull());
 		
 		List<ReferenceOrListParam> orListParams = patientCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -303,7 +303,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR4ResourcePr
 		verifyUri("/Observation?subject.family=Lector,Rick,Tom");
 		
 		verify(observationService).searchForObservations(isNull(), patientCaptor.capture(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), any(), isNull());
 		
 		List<ReferenceOrListParam> orListParams = patientCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -319,7 +319,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR4ResourcePr
 		verifyUri("/Observation?subject.family=Lector&subject.family=Rick&subject.family=Tom");
 		
 		verify(observationService).searchForObservations(isNull(), patientCaptor.capture(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), any(), isNull());
 		
 		List<ReferenceOrListParam> orListParams = patientCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -335,7 +335,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR4ResourcePr
 		verifyUri("/Observation?encounter=c4aa5682-90cf-48e8-87c9-a6066ffd3a3f");
 		
 		verify(observationService).searchForObservations(encounterCaptor.capture(), isNull(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), any(), isNull());
 		
 		List<ReferenceOrListParam> orListParams = encounterCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -350,7 +350,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR4ResourcePr
 		verifyUri("/Observation?encounter=c4aa5682-90cf-48e8-87c9-a6066ffd3a3f,c4aa5682-90cf-48e8-87c9-auyt23ffd3a3f");
 		
 		verify(observationService).searchForObservations(encounterCaptor.capture(), isNull(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), any(), isNull());
 		
 		List<ReferenceOrListParam> orListParams = encounterCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -366,7 +366,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR4ResourcePr
 		    "/Observation?encounter=c4aa5682-90cf-48e8-87c9-a6066ffd3a3f&encounter=c4aa5682-90cf-48e8-87c9-auyt23ffd3a3f");
 		
 		verify(observationService).searchForObservations(encounterCaptor.capture(), isNull(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), any(), isNull());
 		
 		List<ReferenceOrListParam> orListParams = encounterCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -381,7 +381,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR4ResourcePr
 		verifyUri("/Observation?code=5098");
 		
 		verify(observationService).searchForObservations(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), codeCaptor.capture(), isNull(), isNull());
+		    isNull(), isNull(), codeCaptor.capture(), isNull(), isNull(), any(), isNull());
 		assertThat(codeCaptor.getValue(), notNullValue());
 		assertThat(codeCaptor.getValue().getValuesAsQueryTokens(), notNullValue());
 		assertThat(codeCaptor.getValue().getValuesAsQueryTokens().size(), equalTo(1));
@@ -398,7 +398,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR4ResourcePr
 		verifyUri("/Observation?category=laboratory");
 		
 		verify(observationService).searchForObservations(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), codeCaptor.capture(), isNull());
+		    isNull(), isNull(), isNull(), codeCaptor.capture(), isNull(), any(), isNull());
 		assertThat(codeCaptor.getValue(), notNullValue());
 		assertThat(codeCaptor.getValue().getValuesAsQueryTokens(), notNullValue());
 		assertThat(codeCaptor.getValue().getValuesAsQueryTokens().size(), equalTo(1));
@@ -415,7 +415,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR4ResourcePr
 		verifyUri("/Observation?code=" + URL_ENCODED_CIEL_URN + "|5098");
 		
 		verify(observationService).searchForObservations(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), codeCaptor.capture(), isNull(), isNull());
+		    isNull(), isNull(), codeCaptor.capture(), isNull(), isNull(), any(), isNull());
 		assertThat(codeCaptor.getValue(), notNullValue());
 		assertThat(codeCaptor.getValue().getValuesAsQueryTokens(), notNullValue());
 		assertThat(codeCaptor.getValue().getValuesAsQueryTokens().size(), equalTo(1));
@@ -432,7 +432,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR4ResourcePr
 		verifyUri("/Observation?code=" + URL_ENCODED_CIEL_URN + "|5098," + URL_ENCODED_CIEL_URN + "|5001");
 		
 		verify(observationService).searchForObservations(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), codeCaptor.capture(), isNull(), isNull());
+		    isNull(), isNull(), codeCaptor.capture(), isNull(), isNull(), any(), isNull());
 		assertThat(codeCaptor.getValue(), notNullValue());
 		assertThat(codeCaptor.getValue().getValuesAsQueryTokens(), notNullValue());
 		assertThat(codeCaptor.getValue().getValuesAsQueryTokens().size(), equalTo(1));
@@ -451,7 +451,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR4ResourcePr
 		verifyUri("/Observation?code=" + URL_ENCODED_CIEL_URN + "|5098&subject:Patient=" + PATIENT_UUID);
 		
 		verify(observationService).searchForObservations(isNull(), patientCaptor.capture(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), codeCaptor.capture(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), codeCaptor.capture(), isNull(), isNull(), any(), isNull());
 		
 		List<ReferenceOrListParam> orListParams = patientCaptor.getValue().getValuesAsQueryTokens();
 		ReferenceParam referenceParam = orListParams.get(0).getValuesAsQueryTokens().get(0);
@@ -478,7 +478,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR4ResourcePr
 		verifyUri("/Observation?code=" + URL_ENCODED_CIEL_URN + "|5098&has-member=" + MEMBER_UUID);
 		
 		verify(observationService).searchForObservations(isNull(), isNull(), memberCaptor.capture(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), codeCaptor.capture(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), codeCaptor.capture(), isNull(), isNull(), any(), isNull());
 		
 		// verify member parameter
 		assertThat(memberCaptor.getValue(), notNullValue());
@@ -501,7 +501,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR4ResourcePr
 		verifyUri("/Observation?has-member.code=5098");
 		
 		verify(observationService).searchForObservations(isNull(), isNull(), memberCaptor.capture(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), any(), isNull());
 		
 		assertThat(memberCaptor.getValue(), notNullValue());
 		assertThat(memberCaptor.getValue().getChain(), equalTo(Observation.SP_CODE));
@@ -513,7 +513,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR4ResourcePr
 		verifyUri("/Observation?value-date=ge1975-02-02");
 		
 		verify(observationService).searchForObservations(isNull(), isNull(), isNull(), isNull(), valueDateCaptor.capture(),
-		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), any(), isNull());
 		
 		Calendar calendar = Calendar.getInstance();
 		calendar.set(1975, Calendar.FEBRUARY, 2);
@@ -528,7 +528,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR4ResourcePr
 		verifyUri("/Observation?value-quantity=134.0");
 		
 		verify(observationService).searchForObservations(isNull(), isNull(), isNull(), isNull(), isNull(),
-		    valueQuantityCaptor.capture(), isNull(), isNull(), isNull(), isNull(), isNull());
+		    valueQuantityCaptor.capture(), isNull(), isNull(), isNull(), isNull(), isNull(), any(), isNull());
 		
 		assertThat(valueQuantityCaptor.getValue(), notNullValue());
 		assertThat(valueQuantityCaptor.getValue().getValuesAsQueryTokens(), not(empty()));
@@ -541,7 +541,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR4ResourcePr
 		verifyUri("/Observation?value-string=AFH56");
 		
 		verify(observationService).searchForObservations(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    stringAndListCaptor.capture(), isNull(), isNull(), isNull(), isNull());
+		    stringAndListCaptor.capture(), isNull(), isNull(), isNull(), isNull(), any(), isNull());
 		
 		assertThat(stringAndListCaptor.getValue(), notNullValue());
 		assertThat(stringAndListCaptor.getValue().getValuesAsQueryTokens(), not(empty()));
@@ -554,7 +554,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR4ResourcePr
 		verifyUri("/Observation?date=ge1975-02-02");
 		
 		verify(observationService).searchForObservations(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    isNull(), dateCaptor.capture(), isNull(), isNull(), isNull());
+		    isNull(), dateCaptor.capture(), isNull(), isNull(), isNull(), any(), isNull());
 		
 		Calendar calendar = Calendar.getInstance();
 		calendar.set(1975, Calendar.FEBRUARY, 2);
@@ -569,7 +569,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR4ResourcePr
 		verifyUri("/Observation?value-concept=5098");
 		
 		verify(observationService).searchForObservations(isNull(), isNull(), isNull(), valueCodeCaptor.capture(), isNull(),
-		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), any(), isNull());
 		assertThat(valueCodeCaptor.getValue(), notNullValue());
 		assertThat(valueCodeCaptor.getValue().getValuesAsQueryTokens(), notNullValue());
 		assertThat(valueCodeCaptor.getValue().getValuesAsQueryTokens().size(), equalTo(1));
@@ -586,7 +586,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR4ResourcePr
 		verifyUri("/Observation?value-concept=" + URL_ENCODED_CIEL_URN + "|5098," + URL_ENCODED_CIEL_URN + "|5001");
 		
 		verify(observationService).searchForObservations(isNull(), isNull(), isNull(), valueCodeCaptor.capture(), isNull(),
-		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), any(), isNull());
 		assertThat(valueCodeCaptor.getValue(), notNullValue());
 		assertThat(valueCodeCaptor.getValue().getValuesAsQueryTokens(), notNullValue());
 		assertThat(valueCodeCaptor.getValue().getValuesAsQueryTokens().size(), equalTo(1));
@@ -604,7 +604,7 @@ public class ObservationFhirResourceProviderWebTest extends BaseFhirR4ResourcePr
 		Observation observation = new Observation();
 		observation.setId(OBS_UUID);
 		when(observationService.searchForObservations(any(), any(), any(), any(), any(), any(), any(), any(), any(), any(),
-		    any())).thenReturn(new MockIBundleProvider<>(Collections.singletonList(observation), 10, 1));
+		    any(), any(), isNull())).thenReturn(new MockIBundleProvider<>(Collections.singletonList(observation), 10, 1));
 		
 		MockHttpServletResponse response = get(uri).accept(FhirMediaTypes.JSON).go();
 		
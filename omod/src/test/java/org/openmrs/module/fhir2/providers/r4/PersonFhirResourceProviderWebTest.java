@@ -125,7 +125,7 @@ public class PersonFhirResourceProviderWebTest extends BaseFhirR4ResourceProvide
 		verifyUri(String.format("/Person/?name=%s", PERSON_NAME));
 		
 		verify(personService).searchForPeople(stringAndListCaptor.capture(), isNull(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull());
 		
 		assertThat(stringAndListCaptor.getValue(), notNullValue());
 		assertThat(stringAndListCaptor.getValue().getValuesAsQueryTokens(), not(empty()));
@@ -138,7 +138,7 @@ public class PersonFhirResourceProviderWebTest extends BaseFhirR4ResourceProvide
 		verifyUri(String.format("/Person/?gender=%s", PERSON_GENDER));
 		
 		verify(personService).searchForPeople(isNull(), tokenAndListCaptor.capture(), isNull(), isNull(), isNull(), isNull(),
-		    isNull(), isNull());
+		    isNull(), isNull(), isNull());
 		
 		assertThat(tokenAndListCaptor.getValue(), notNullValue());
 		assertThat(tokenAndListCaptor.getValue().getValuesAsQueryTokens(), not(empty()));
@@ -151,7 +151,7 @@ public class PersonFhirResourceProviderWebTest extends BaseFhirR4ResourceProvide
 		verifyUri("/Person/?birthdate=eq1975-02-02");
 		
 		verify(personService).searchForPeople(isNull(), isNull(), dateRangeCaptor.capture(), isNull(), isNull(), isNull(),
-		    isNull(), isNull());
+		    isNull(), isNull(), isNull());
 		assertThat(dateRangeCaptor.getValue(), notNullValue());
 		
 		Calendar calendar = Calendar.getInstance();
@@ -168,7 +168,7 @@ public class PersonFhirResourceProviderWebTest extends BaseFhirR4ResourceProvide
 		verifyUri("/Person/?birthdate=ge1975-02-02");
 		
 		verify(personService).searchForPeople(isNull(), isNull(), dateRangeCaptor.capture(), isNull(), isNull(), isNull(),
-		    isNull(), isNull());
+		    isNull(), isNull(), isNull());
 		assertThat(dateRangeCaptor.getValue(), notNullValue());
 		
 		Calendar calendar = Calendar.getInstance();
@@ -184,7 +184,7 @@ public class PersonFhirResourceProviderWebTest extends BaseFhirR4ResourceProvide
 		verifyUri("/Person/?birthdate=gt1975-02-02");
 		
 		verify(personService).searchForPeople(isNull(), isNull(), dateRangeCaptor.capture(), isNull(), isNull(), isNull(),
-		    isNull(), isNull());
+		    isNull(), isNull(), isNull());
 		assertThat(dateRangeCaptor.getValue(), notNullValue());
 		
 		Calendar calendar = Calendar.getInstance();
@@ -200,7 +200,7 @@ public class PersonFhirResourceProviderWebTest extends BaseFhirR4ResourceProvide
 		verifyUri("/Person/?birthdate=le1975-02-02");
 		
 		verify(personService).searchForPeople(isNull(), isNull(), dateRangeCaptor.capture(), isNull(), isNull(), isNull(),
-		    isNull(), isNull());
+		    isNull(), isNull(), isNull());
 		assertThat(dateRangeCaptor.getValue(), notNullValue());
 		
 		Calendar calendar = Calendar.getInstance();
@@ -216,7 +216,7 @@ public class PersonFhirResourceProviderWebTest extends BaseFhirR4ResourceProvide
 		verifyUri("/Person/?birthdate=lt1975-02-02");
 		
 		verify(personService).searchForPeople(isNull(), isNull(), dateRangeCaptor.capture(), isNull(), isNull(), isNull(),
-		    isNull(), isNull());
+		    isNull(), isNull(), isNull());
 		assertThat(dateRangeCaptor.getValue(), notNullValue());
 		
 		Calendar calendar = Calendar.getInstance();
@@ -232,7 +232,7 @@ public class PersonFhirResourceProviderWebTest extends BaseFhirR4ResourceProvide
 		verifyUri("/Person/?birthdate=ge1975-02-02&birthdate=le1980-02-02");
 		
 		verify(personService).searchForPeople(isNull(), isNull(), dateRangeCaptor.capture(), isNull(), isNull(), isNull(),
-		    isNull(), isNull());
+		    isNull(), isNull(), isNull());
 		
 		Calendar lowerBound = Calendar.getInstance();
 		lowerBound.set(1975, Calendar.FEBRUARY, 2);
@@ -251,7 +251,7 @@ public class PersonFhirResourceProviderWebTest extends BaseFhirR4ResourceProvide
 		verifyUri(String.format("/Person/?address-city=%s", ADDRESS_FIELD));
 		
 		verify(personService).searchForPeople(isNull(), isNull(), isNull(), stringAndListCaptor.capture(), isNull(),
-		    isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull());
 		
 		assertThat(stringAndListCaptor.getValue(), notNullValue());
 		assertThat(stringAndListCaptor.getValue().getValuesAsQueryTokens(), not(empty()));
@@ -264,7 +264,7 @@ public class PersonFhirResourceProviderWebTest extends BaseFhirR4ResourceProvide
 		verifyUri(String.format("/Person/?address-state=%s", ADDRESS_FIELD));
 		
 		verify(personService).searchForPeople(isNull(), isNull(), isNull(), isNull(), stringAndListCaptor.capture(),
-		    isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull());
 		
 		assertThat(stringAndListCaptor.getValue(), notNullValue());
 		assertThat(stringAndListCaptor.getValue().getValuesAsQueryTokens(), not(empty()));
@@ -277,7 +277,7 @@ public class PersonFhirResourceProviderWebTest extends BaseFhirR4ResourceProvide
 		verifyUri(String.format("/Person/?address-postalcode=%s", POSTAL_CODE));
 		
 		verify(personService).searchForPeople(isNull(), isNull(), isNull(), isNull(), isNull(),
-		    stringAndListCaptor.capture(), isNull(), isNull());
+		    stringAndListCaptor.capture(), isNull(), isNull(), isNull());
 		
 		assertThat(stringAndListCaptor.getValue(), notNullValue());
 		assertThat(stringAndListCaptor.getValue().getValuesAsQueryTokens(), not(empty()));
@@ -290,7 +290,7 @@ public class PersonFhirResourceProviderWebTest extends BaseFhirR4ResourceProvide
 		verifyUri(String.format("/Person/?address-country=%s", ADDRESS_FIELD));
 		
 		verify(personService).searchForPeople(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    stringAndListCaptor.capture(), isNull());
+		    stringAndListCaptor.capture(), isNull(), isNull());
 		
 		assertThat(stringAndListCaptor.getValue(), notNullValue());
 		assertThat(stringAndListCaptor.getValue().getValuesAsQueryTokens(), not(empty()));
@@ -303,7 +303,7 @@ public class PersonFhirResourceProviderWebTest extends BaseFhirR4ResourceProvide
 		verifyUri(String.format("/Person/?name=%s&gender=%s&birthdate=eq1975-02-02", PERSON_NAME, PERSON_GENDER));
 		
 		verify(personService).searchForPeople(stringAndListCaptor.capture(), tokenAndListCaptor.capture(),
-		    dateRangeCaptor.capture(), isNull(), isNull(), isNull(), isNull(), isNull());
+		    dateRangeCaptor.capture(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
 		
 		assertThat(stringAndListCaptor.getValue(), notNullValue());
 		assertThat(stringAndListCaptor.getValue().getValuesAsQueryTokens(), not(empty()));
@@ -329,7 +329,7 @@ public class PersonFhirResourceProviderWebTest extends BaseFhirR4ResourceProvide
 	private void verifyUri(String uri) throws Exception {
 		Person person = new Person();
 		person.setId(PERSON_UUID);
-		when(personService.searchForPeople(any(), any(), any(), any(), any(), any(), any(), any()))
+		when(personService.searchForPeople(any(), any(), any(), any(), any(), any(), any(), any(), isNull()))
 		        .thenReturn(new MockIBundleProvider<>(Collections.singletonList(person), 10, 1));
 		
 		MockHttpServletResponse response = get(uri).accept(FhirMediaTypes.JSON).go();
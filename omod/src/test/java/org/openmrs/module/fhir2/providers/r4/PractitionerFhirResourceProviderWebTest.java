@@ -16,6 +16,7 @@ import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.openmrs.module.fhir2.FhirConstants.AUT;
@@ -120,7 +121,7 @@ public class PractitionerFhirResourceProviderWebTest extends BaseFhirR4ResourceP
 		verifyUri(String.format("/Practitioner?name=%s", NAME));
 		
 		verify(practitionerService).searchForPractitioners(stringAndListParamArgumentCaptor.capture(), any(), any(), any(),
-		    any(), any(), any(), any());
+		    any(), any(), any(), any(), isNull());
 		
 		assertThat(stringAndListParamArgumentCaptor.getValue(), notNullValue());
 		assertThat(stringAndListParamArgumentCaptor.getValue().getValuesAsQueryTokens(), not(empty()));
@@ -134,7 +135,7 @@ public class PractitionerFhirResourceProviderWebTest extends BaseFhirR4ResourceP
 		verifyUri(String.format("/Practitioner?identifier=%s", PRACTITIONER_IDENTIFIER));
 		
 		verify(practitionerService).searchForPractitioners(any(), tokenAndListParamArgumentCaptor.capture(), any(), any(),
-		    any(), any(), any(), any());
+		    any(), any(), any(), any(), isNull());
 		
 		assertThat(tokenAndListParamArgumentCaptor.getValue(), notNullValue());
 		assertThat(tokenAndListParamArgumentCaptor.getValue().getValuesAsQueryTokens(), not(empty()));
@@ -148,7 +149,7 @@ public class PractitionerFhirResourceProviderWebTest extends BaseFhirR4ResourceP
 		verifyUri(String.format("/Practitioner?given=%s", PRACTITIONER_GIVEN_NAME));
 		
 		verify(practitionerService).searchForPractitioners(any(), any(), stringAndListParamArgumentCaptor.capture(), any(),
-		    any(), any(), any(), any());
+		    any(), any(), any(), any(), isNull());
 		
 		assertThat(stringAndListParamArgumentCaptor.getValue(), notNullValue());
 		assertThat(stringAndListParamArgumentCaptor.getValue().getValuesAsQueryTokens(), not(empty()));
@@ -162,7 +163,7 @@ public class PractitionerFhirResourceProviderWebTest extends BaseFhirR4ResourceP
 		verifyUri(String.format("/Practitioner?family=%s", PRACTITIONER_FAMILY_NAME));
 		
 		verify(practitionerService).searchForPractitioners(any(), any(), any(), stringAndListParamArgumentCaptor.capture(),
-		    any(), any(), any(), any());
+		    any(), any(), any(), any(), isNull());
 		
 		assertThat(stringAndListParamArgumentCaptor.getValue(), notNullValue());
 		assertThat(stringAndListParamArgumentCaptor.getValue().getValuesAsQueryTokens(), not(empty()));
@@ -176,7 +177,7 @@ public class PractitionerFhirResourceProviderWebTest extends BaseFhirR4ResourceP
 		verifyUri(String.format("/Practitioner?address-city=%s", CITY));
 		
 		verify(practitionerService).searchForPractitioners(any(), any(), any(), any(),
-		    stringAndListParamArgumentCaptor.capture(), any(), any(), any());
+		    stringAndListParamArgumentCaptor.capture(), any(), any(), any(), isNull());
 		
 		assertThat(stringAndListParamArgumentCaptor.getValue(), notNullValue());
 		assertThat(stringAndListParamArgumentCaptor.getValue().getValuesAsQueryTokens(), not(empty()));
@@ -190,7 +191,7 @@ public class PractitionerFhirResourceProviderWebTest extends BaseFhirR4ResourceP
 		verifyUri(String.format("/Practitioner?address-state=%s", STATE));
 		
 		verify(practitionerService).searchForPractitioners(any(), any(), any(), any(), any(),
-		    stringAndListParamArgumentCaptor.capture(), any(), any());
+		    stringAndListParamArgumentCaptor.capture(), any(), any(), isNull());
 		
 		assertThat(stringAndListParamArgumentCaptor.getValue(), notNullValue());
 		assertThat(stringAndListParamArgumentCaptor.getValue().getValuesAsQueryTokens(), not(empty()));
@@ -204,7 +205,7 @@ public class PractitionerFhirResourceProviderWebTest extends BaseFhirR4ResourceP
 		verifyUri(String.format("/Practitioner?address-postalcode=%s", POSTAL_CODE));
 		
 		verify(practitionerService).searchForPractitioners(any(), any(), any(), any(), any(), any(),
-		    stringAndListParamArgumentCaptor.capture(), any());
+		    stringAndListParamArgumentCaptor.capture(), any(), isNull());
 		
 		assertThat(stringAndListParamArgumentCaptor.getValue(), notNullValue());
 		assertThat(stringAndListParamArgumentCaptor.getValue().getValuesAsQueryTokens(), not(empty()));
@@ -218,7 +219,7 @@ public class PractitionerFhirResourceProviderWebTest extends BaseFhirR4ResourceP
 		verifyUri(String.format("/Practitioner?address-country=%s", COUNTRY));
 		
 		verify(practitionerService).searchForPractitioners(any(), any(), any(), any(), any(), any(), any(),
-		    stringAndListParamArgumentCaptor.capture());
+		    stringAndListParamArgumentCaptor.capture(), isNull());
 		
 		assertThat(stringAndListParamArgumentCaptor.getValue(), notNullValue());
 		assertThat(stringAndListParamArgumentCaptor.getValue().getValuesAsQueryTokens(), not(empty()));
@@ -232,7 +233,7 @@ public class PractitionerFhirResourceProviderWebTest extends BaseFhirR4ResourceP
 		verifyUri(String.format("/Practitioner?identifier=%s&name=%s", PRACTITIONER_IDENTIFIER, NAME));
 		
 		verify(practitionerService).searchForPractitioners(stringAndListParamArgumentCaptor.capture(),
-		    tokenAndListParamArgumentCaptor.capture(), any(), any(), any(), any(), any(), any());
+		    tokenAndListParamArgumentCaptor.capture(), any(), any(), any(), any(), any(), any(), isNull());
 		
 		assertThat(stringAndListParamArgumentCaptor.getValue(), notNullValue());
 		assertThat(stringAndListParamArgumentCaptor.getValue().getValuesAsQueryTokens(), not(empty()));
@@ -316,7 +317,7 @@ public class PractitionerFhirResourceProviderWebTest extends BaseFhirR4ResourceP
 	private void verifyUri(String uri) throws Exception {
 		Practitioner practitioner = new Practitioner();
 		practitioner.setId(PRACTITIONER_UUID);
-		when(practitionerService.searchForPractitioners(any(), any(), any(), any(), any(), any(), any(), any()))
+		when(practitionerService.searchForPractitioners(any(), any(), any(), any(), any(), any(), any(), any(), isNull()))
 		        .thenReturn(new MockIBundleProvider<>(Collections.singletonList(practitioner), 10, 1));
 		
 		MockHttpServletResponse response = get(uri).accept(FhirMediaTypes.JSON).go();
@@ -121,7 +121,7 @@ public class RelatedPersonFhirResourceProviderWebTest extends BaseFhirR4Resource
 		verifyUri(String.format("/RelatedPerson/?name=%s", PERSON_NAME));
 		
 		verify(relatedPersonService).searchForRelatedPeople(stringAndListCaptor.capture(), isNull(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull());
 		
 		assertThat(stringAndListCaptor.getValue(), notNullValue());
 		assertThat(stringAndListCaptor.getValue().getValuesAsQueryTokens(), not(empty()));
@@ -134,7 +134,7 @@ public class RelatedPersonFhirResourceProviderWebTest extends BaseFhirR4Resource
 		verifyUri(String.format("/RelatedPerson/?gender=%s", PERSON_GENDER));
 		
 		verify(relatedPersonService).searchForRelatedPeople(isNull(), tokenAndListCaptor.capture(), isNull(), isNull(),
-		    isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull());
 		
 		assertThat(tokenAndListCaptor.getValue(), notNullValue());
 		assertThat(tokenAndListCaptor.getValue().getValuesAsQueryTokens(), not(empty()));
@@ -147,7 +147,7 @@ public class RelatedPersonFhirResourceProviderWebTest extends BaseFhirR4Resource
 		verifyUri("/RelatedPerson/?birthdate=eq1975-02-02");
 		
 		verify(relatedPersonService).searchForRelatedPeople(isNull(), isNull(), dateRangeCaptor.capture(), isNull(),
-		    isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull());
 		assertThat(dateRangeCaptor.getValue(), notNullValue());
 		
 		Calendar calendar = Calendar.getInstance();
@@ -164,7 +164,7 @@ public class RelatedPersonFhirResourceProviderWebTest extends BaseFhirR4Resource
 		verifyUri("/RelatedPerson/?birthdate=ge1975-02-02");
 		
 		verify(relatedPersonService).searchForRelatedPeople(isNull(), isNull(), dateRangeCaptor.capture(), isNull(),
-		    isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull());
 		assertThat(dateRangeCaptor.getValue(), notNullValue());
 		
 		Calendar calendar = Calendar.getInstance();
@@ -180,7 +180,7 @@ public class RelatedPersonFhirResourceProviderWebTest extends BaseFhirR4Resource
 		verifyUri("/RelatedPerson/?birthdate=gt1975-02-02");
 		
 		verify(relatedPersonService).searchForRelatedPeople(isNull(), isNull(), dateRangeCaptor.capture(), isNull(),
-		    isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull());
 		assertThat(dateRangeCaptor.getValue(), notNullValue());
 		
 		Calendar calendar = Calendar.getInstance();
@@ -196,7 +196,7 @@ public class RelatedPersonFhirResourceProviderWebTest extends BaseFhirR4Resource
 		verifyUri("/RelatedPerson/?birthdate=le1975-02-02");
 		
 		verify(relatedPersonService).searchForRelatedPeople(isNull(), isNull(), dateRangeCaptor.capture(), isNull(),
-		    isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull());
 		assertThat(dateRangeCaptor.getValue(), notNullValue());
 		
 		Calendar calendar = Calendar.getInstance();
@@ -212,7 +212,7 @@ public class RelatedPersonFhirResourceProviderWebTest extends BaseFhirR4Resource
 		verifyUri("/RelatedPerson/?birthdate=lt1975-02-02");
 		
 		verify(relatedPersonService).searchForRelatedPeople(isNull(), isNull(), dateRangeCaptor.capture(), isNull(),
-		    isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull());
 		assertThat(dateRangeCaptor.getValue(), notNullValue());
 		
 		Calendar calendar = Calendar.getInstance();
@@ -228,7 +228,7 @@ public class RelatedPersonFhirResourceProviderWebTest extends BaseFhirR4Resource
 		verifyUri("/RelatedPerson/?birthdate=ge1975-02-02&birthdate=le1980-02-02");
 		
 		verify(relatedPersonService).searchForRelatedPeople(isNull(), isNull(), dateRangeCaptor.capture(), isNull(),
-		    isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull());
 		
 		Calendar lowerBound = Calendar.getInstance();
 		lowerBound.set(1975, Calendar.FEBRUARY, 2);
@@ -247,7 +247,7 @@ public class RelatedPersonFhirResourceProviderWebTest extends BaseFhirR4Resource
 		verifyUri(String.format("/RelatedPerson/?address-city=%s", ADDRESS_FIELD));
 		
 		verify(relatedPersonService).searchForRelatedPeople(isNull(), isNull(), isNull(), stringAndListCaptor.capture(),
-		    isNull(), isNull(), isNull(), isNull());
+		    isNull(), isNull(), isNull(), isNull(), isNull());
 		
 		assertThat(stringAndListCaptor.getValue(), notNullValue());
 		assertThat(stringAndListCaptor.getValue().getValuesAsQueryTokens(), not(empty()));
@@ -260,7 +260,7 @@ public class RelatedPersonFhirResourceProviderWebTest extends BaseFhirR4Resource
 		verifyUri(String.format("/RelatedPerson/?address-state=%s", ADDRESS_FIELD));
 		
 		verify(relatedPersonService).searchForRelatedPeople(isNull(), isNull(), isNull(), isNull(),
-		    stringAndListCaptor.capture(), isNull(), isNull(), isNull());
+		    stringAndListCaptor.capture(), isNull(), isNull(), isNull(), isNull());
 		
 		assertThat(stringAndListCaptor.getValue(), notNullValue());
 		assertThat(stringAndListCaptor.getValue().getValuesAsQueryTokens(), not(empty()));
@@ -273,7 +273,7 @@ public class RelatedPersonFhirResourceProviderWebTest extends BaseFhirR4Resource
 		verifyUri(String.format("/RelatedPerson/?address-postalcode=%s", POSTAL_CODE));
 		
 		verify(relatedPersonService).searchForRelatedPeople(isNull(), isNull(), isNull(), isNull(), isNull(),
-		    stringAndListCaptor.capture(), isNull(), isNull());
+		    stringAndListCaptor.capture(), isNull(), isNull(), isNull());
 		
 		assertThat(stringAndListCaptor.getValue(), notNullValue());
 		assertThat(stringAndListCaptor.getValue().getValuesAsQueryTokens(), not(empty()));
@@ -286,7 +286,7 @@ public class RelatedPersonFhirResourceProviderWebTest extends BaseFhirR4Resource
 		verifyUri(String.format("/RelatedPerson/?address-country=%s", ADDRESS_FIELD));
 		
 		verify(relatedPersonService).searchForRelatedPeople(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
-		    stringAndListCaptor.capture(), isNull());
+		    stringAndListCaptor.capture(), isNull(), isNull());
 		
 		assertThat(stringAndListCaptor.getValue(), notNullValue());
 		assertThat(stringAndListCaptor.getValue().getValuesAsQueryTokens(), not(empty()));
@@ -299,7 +299,7 @@ public class RelatedPersonFhirResourceProviderWebTest extends BaseFhirR4Resource
 		verifyUri(String.format("/RelatedPerson/?name=%s&gender=%s&birthdate=eq1975-02-02", PERSON_NAME, PERSON_GENDER));
 		
 		verify(relatedPersonService).searchForRelatedPeople(stringAndListCaptor.capture(), tokenAndListCaptor.capture(),
-		    dateRangeCaptor.capture(), isNull(), isNull(), isNull(), isNull(), isNull());
+		    dateRangeCaptor.capture(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull());
 		
 		assertThat(stringAndListCaptor.getValue(), notNullValue());
 		assertThat(stringAndListCaptor.getValue().getValuesAsQueryTokens(), not(empty()));
@@ -325,7 +325,7 @@ public class RelatedPersonFhirResourceProviderWebTest extends BaseFhirR4Resource
 	private void verifyUri(String uri) throws Exception {
 		RelatedPerson relatedPerson = new RelatedPerson();
 		relatedPerson.setId(RELATED_PERSON_UUID);
-		when(relatedPersonService.searchForRelatedPeople(any(), any(), any(), any(), any(), any(), any(), any()))
+		when(relatedPersonService.searchForRelatedPeople(any(), any(), any(), any(), any(), any(), any(), any(), isNull()))
 		        .thenReturn(new MockIBundleProvider<>(Collections.singletonList(relatedPerson), 10, 1));
 		
 		MockHttpServletResponse response = get(uri).accept(FhirMediaTypes.JSON).go();
@@ -0,0 +1,112 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.web.servlet;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.Date;
+
+import ca.uhn.fhir.rest.api.Constants;
+import ca.uhn.fhir.rest.api.RestOperationTypeEnum;
+import ca.uhn.fhir.rest.api.server.RequestDetails;
+import ca.uhn.fhir.rest.server.exceptions.NotModifiedException;
+import org.hl7.fhir.r4.model.IdType;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.openmrs.module.fhir2.api.FhirPatientService;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ConditionalReadInterceptorTest {
+	
+	private static final String PATIENT_UUID = "a7e04421-525f-442f-8138-05b619d16def";
+	
+	private static final Date LAST_UPDATED = new Date(1590000000000L);
+	
+	@Mock
+	private FhirPatientService patientService;
+	
+	@Mock
+	private RequestDetails requestDetails;
+	
+	private MockHttpServletRequest request;
+	
+	private ConditionalReadInterceptor interceptor;
+	
+	@Before
+	public void setup() {
+		interceptor = new ConditionalReadInterceptor(Collections.singletonList(patientService));
+		request = new MockHttpServletRequest("GET", "/Patient/" + PATIENT_UUID);
+		
+		when(requestDetails.getRestOperationType()).thenReturn(RestOperationTypeEnum.READ);
+	}
+	
+	@Test
+	public void shouldReturnNotModifiedWhenETagMatches() {
+		request.addHeader(Constants.HEADER_IF_NONE_MATCH, "W/\"" + LAST_UPDATED.getTime() + "\"");
+		readPatient();
+		
+		try {
+			interceptor.checkNotModified(requestDetails, request);
+		}
+		catch (NotModifiedException e) {
+			assertThat(e.getResponseHeaders().get(Constants.HEADER_ETAG),
+			    contains("W/\"" + LAST_UPDATED.getTime() + "\""));
+			return;
+		}
+		
+		throw new AssertionError("Expected the read to be answered as not modified");
+	}
+	
+	@Test
+	public void shouldContinueWhenETagDoesNotMatch() {
+		request.addHeader(Constants.HEADER_IF_NONE_MATCH, "W/\"1\"");
+		readPatient();
+		
+		assertThat(interceptor.checkNotModified(requestDetails, request), equalTo(true));
+	}
+	
+	@Test(expected = NotModifiedException.class)
+	public void shouldReturnNotModifiedWhenNotModifiedSince() {
+		request.addHeader("If-Modified-Since", new Date(LAST_UPDATED.getTime() + 1000));
+		readPatient();
+		
+		interceptor.checkNotModified(requestDetails, request);
+	}
+	
+	@Test
+	public void shouldContinueWhenModifiedSince() {
+		request.addHeader("If-Modified-Since", new Date(LAST_UPDATED.getTime() - 1000));
+		readPatient();
+		
+		assertThat(interceptor.checkNotModified(requestDetails, request), equalTo(true));
+	}
+	
+	@Test
+	public void shouldNotProbeResourceWithoutConditionalHeaders() {
+		assertThat(interceptor.checkNotModified(requestDetails, request), equalTo(true));
+		verify(patientService, never()).getLastUpdated(PATIENT_UUID);
+	}
+	
+	private void readPatient() {
+		when(requestDetails.getId()).thenReturn(new IdType("Patient", PATIENT_UUID));
+		when(requestDetails.getResourceName()).thenReturn("Patient");
+		when(patientService.getLastUpdated(PATIENT_UUID)).thenReturn(LAST_UPDATED);
+	}
+}
@@ -0,0 +1,204 @@
+/*
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can
+ * obtain one at http://mozilla.org/MPL/2.0/. OpenMRS is also distributed under
+ * the terms of the Healthcare Disclaimer located at http://openmrs.org/license.
+ *
+ * Copyright (C) OpenMRS Inc. OpenMRS is a registered trademark and the OpenMRS
+ * graphic logo is a trademark of OpenMRS Inc.
+ */
+package org.openmrs.module.fhir2.web.servlet;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+import ca.uhn.fhir.context.FhirContext;
+import ca.uhn.fhir.rest.api.Constants;
+import ca.uhn.fhir.rest.api.server.ResponseDetails;
+import ca.uhn.fhir.rest.server.RestfulServer;
+import ca.uhn.fhir.rest.server.servlet.ServletRequestDetails;
+import org.apache.commons.io.IOUtils;
+import org.hl7.fhir.r4.model.Bundle;
+import org.hl7.fhir.r4.model.Observation;
+import org.hl7.fhir.r4.model.OperationOutcome;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.openmrs.Obs;
+import org.openmrs.module.fhir2.api.dao.FhirObservationDao;
+import org.openmrs.module.fhir2.api.search.KeysetPage;
+import org.openmrs.module.fhir2.api.search.SearchQueryBundleProvider;
+import org.openmrs.module.fhir2.api.search.param.SearchParameterMap;
+import org.openmrs.module.fhir2.api.translators.ObservationTranslator;
+import org.openmrs.module.fhir2.api.util.FhirRequestContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+@RunWith(MockitoJUnitRunner.class)
+public class StreamingBundleInterceptorTest {
+	
+	private static final FhirContext FHIR_CONTEXT = FhirContext.forR4();
+	
+	private static final String SERVER_BASE = "http://localhost:8080/ws/fhir2/R4";
+	
+	private static final String FIRST_OBSERVATION_UUID = "39fb7f47-e80a-4056-9285-bd798be13c63";
+	
+	private static final String SECOND_OBSERVATION_UUID = "6f16bb57-5fd8-4ab4-8b24-dd9d1ae8a9ac";
+	
+	@Mock
+	private FhirObservationDao observationDao;
+	
+	@Mock
+	private ObservationTranslator observationTranslator;
+	
+	private Map<String, String[]> parameters;
+	
+	private ServletRequestDetails requestDetails;
+	
+	private ResponseDetails responseDetails;
+	
+	private Bundle bundle;
+	
+	private Obs second;
+	
+	private MockHttpServletResponse servletResponse;
+	
+	private StreamingBundleInterceptor interceptor;
+	
+	@Before
+	public void setup() {
+		parameters = new HashMap<>();
+		
+		requestDetails = new ServletRequestDetails();
+		requestDetails.setServer(new RestfulServer(FHIR_CONTEXT));
+		requestDetails.setServletRequest(new MockHttpServletRequest("GET", "/ws/fhir2/R4/Observation"));
+		requestDetails.setFhirServerBase(SERVER_BASE);
+		requestDetails.setParameters(parameters);
+		
+		bundle = new Bundle();
+		bundle.setType(Bundle.BundleType.SEARCHSET);
+		responseDetails = new ResponseDetails();
+		responseDetails.setResponseCode(200);
+		responseDetails.setResponseResource(bundle);
+		
+		servletResponse = new MockHttpServletResponse();
+		interceptor = new StreamingBundleInterceptor();
+		
+		Obs first = new Obs(1);
+		second = new Obs(2);
+		when(observationDao.searchPage(any(SearchParameterMap.class), isNull(), eq(0), eq(2)))
+		        .thenReturn(new KeysetPage<>(Arrays.asList(first, second), null));
+		when(observationTranslator.toFhirResource(first)).thenReturn(observation(FIRST_OBSERVATION_UUID));
+		when(observationTranslator.toFhirResource(second)).thenReturn(observation(SECOND_OBSERVATION_UUID));
+		
+		FhirRequestContext requestContext = new FhirRequestContext();
+		requestContext.setStreaming(true);
+		FhirRequestContext.set(requestContext);
+		
+		SearchQueryBundleProvider<Obs, Observation> search = new SearchQueryBundleProvider<>(new SearchParameterMap(),
+		        observationDao, observationTranslator);
+		assertThat(search.getResources(0, 2), empty());
+	}
+	
+	@After
+	public void tearDown() {
+		FhirRequestContext.clear();
+	}
+	
+	@Test
+	public void shouldStreamCompactJsonResponses() throws Exception {
+		boolean handledByHapi = interceptor.writeDeferredPage(requestDetails, responseDetails, servletResponse);
+		
+		assertThat(handledByHapi, equalTo(false));
+		assertThat(servletResponse.getContentType(), startsWith(Constants.CT_FHIR_JSON_NEW));
+		assertThat(getEntryIds((Bundle) FHIR_CONTEXT.newJsonParser().parseResource(servletResponse.getContentAsString())),
+		    contains(FIRST_OBSERVATION_UUID, SECOND_OBSERVATION_UUID));
+	}
+	
+	@Test
+	public void shouldGzipStreamedResponsesIfAccepted() throws Exception {
+		requestDetails.setRespondGzip(true);
+		
+		boolean handledByHapi = interceptor.writeDeferredPage(requestDetails, responseDetails, servletResponse);
+		
+		assertThat(handledByHapi, equalTo(false));
+		assertThat(servletResponse.getHeader(Constants.HEADER_CONTENT_ENCODING), equalTo(Constants.ENCODING_GZIP));
+		
+		String content;
+		try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(servletResponse.getContentAsByteArray()))) {
+			content = IOUtils.toString(in, StandardCharsets.UTF_8);
+		}
+		assertThat(getEntryIds((Bundle) FHIR_CONTEXT.newJsonParser().parseResource(content)),
+		    contains(FIRST_OBSERVATION_UUID, SECOND_OBSERVATION_UUID));
+	}
+	
+	@Test
+	public void shouldEndTheBundleWithAnOutcomeIfTheSearchFails() throws Exception {
+		when(observationTranslator.toFhirResource(second)).thenThrow(new IllegalStateException());
+		
+		boolean handledByHapi = interceptor.writeDeferredPage(requestDetails, responseDetails, servletResponse);
+		
+		assertThat(handledByHapi, equalTo(false));
+		assertThat(servletResponse.getStatus(), equalTo(200));
+		
+		Bundle result = (Bundle) FHIR_CONTEXT.newJsonParser().parseResource(servletResponse.getContentAsString());
+		Bundle.BundleEntryComponent last = result.getEntry().get(result.getEntry().size() - 1);
+		assertThat(last.getResource(), instanceOf(OperationOutcome.class));
+		assertThat(last.getSearch().getMode(), equalTo(Bundle.SearchEntryMode.OUTCOME));
+	}
+	
+	@Test
+	public void shouldLeavePrettyPrintedResponsesToHapi() throws Exception {
+		parameters.put(Constants.PARAM_PRETTY, new String[] { Constants.PARAM_PRETTY_VALUE_TRUE });
+		
+		boolean handledByHapi = interceptor.writeDeferredPage(requestDetails, responseDetails, servletResponse);
+		
+		assertThat(handledByHapi, equalTo(true));
+		assertThat(servletResponse.getContentAsString(), equalTo(""));
+		assertThat(getEntryIds(bundle), contains(FIRST_OBSERVATION_UUID, SECOND_OBSERVATION_UUID));
+	}
+	
+	@Test
+	public void shouldLeaveXmlResponsesToHapi() throws Exception {
+		parameters.put(Constants.PARAM_FORMAT, new String[] { Constants.FORMAT_XML });
+		
+		boolean handledByHapi = interceptor.writeDeferredPage(requestDetails, responseDetails, servletResponse);
+		
+		assertThat(handledByHapi, equalTo(true));
+		assertThat(servletResponse.getContentAsString(), equalTo(""));
+		assertThat(getEntryIds(bundle), contains(FIRST_OBSERVATION_UUID, SECOND_OBSERVATION_UUID));
+	}
+	
+	private static Observation observation(String uuid) {
+		Observation observation = new Observation();
+		observation.setId(uuid);
+		observation.setStatus(Observation.ObservationStatus.FINAL);
+		return observation;
+	}
+	
+	private static List<String> getEntryIds(Bundle bundle) {
+		return bundle.getEntry().stream().map(entry -> entry.getResource().getIdElement().getIdPart())
+		        .collect(Collectors.toList());
+	}
+}